@@ -143,8 +143,7 @@ public interface PendingChangeApi {
             @QueryParam("_filters") @DefaultValue("{}") String filters) throws AuthorizationException;
 
     /**
-     * Clean up all pending changes that are either lingering or are in the FAILED_PERMANENTLY state, or inactive for a
-     * long period of time. The exact criteria on what defines a long period of time depends on the implementation.
+     * Clean up all pending changes that are in the FAILED_PERMANENTLY state.
      *
      * @return A String containing information about the results of the cleanup action meant for user interpretation
      * @throws AuthorizationException when the user is not logged in as an administrator
@@ -154,7 +153,7 @@ public interface PendingChangeApi {
     @Produces(MediaType.TEXT_PLAIN)
     @ApiOperation(nickname = "cleanPendingChanges",
                   value = "Clean PendingChange",
-                  notes = "Clean up all lingering and permanently failed PendingChanges",
+                  notes = "Clean up all permanently failed PendingChanges",
                   authorizations = {@Authorization(value = OrchestratorApi.ADMIN_AUTHENTICATION)})
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Number of PendingChanges cleaned", response = String.class),
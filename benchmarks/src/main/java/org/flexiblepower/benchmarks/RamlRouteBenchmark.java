@@ -0,0 +1,205 @@
+/*-
+ * #%L
+ * dEF-Pi benchmarks
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.benchmarks;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.PUT;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.QueryParam;
+
+import org.flexiblepower.proto.RamlProto.RamlRequest;
+import org.flexiblepower.raml.server.RamlResourceRegistry;
+import org.flexiblepower.raml.server.RamlResourceRequest;
+import org.flexiblepower.service.ConnectionHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long it takes to find the resource method for a RAML request, for a fixed path, a path with
+ * parameters, and a path with query parameters.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RamlRouteBenchmark {
+
+    /**
+     * The resource that requests are routed to
+     */
+    @Path("/devices")
+    public interface Devices {
+
+        /**
+         * @return All devices
+         */
+        @GET
+        List<String> getDevices();
+
+        /**
+         * @param type The type of devices
+         * @return The devices of the type
+         */
+        @GET
+        List<String> getDevicesOfType(@QueryParam("type") String type);
+
+        /**
+         * @param id The id of the device
+         * @return The device
+         */
+        @GET
+        @Path("{id}")
+        String getDevice(@PathParam("id") String id);
+
+        /**
+         * @param id The id of the device
+         * @param value The new setpoint
+         */
+        @PUT
+        @Path("{id}/setpoint/{value}")
+        void setSetpoint(@PathParam("id") String id, @PathParam("value") double value);
+
+    }
+
+    /**
+     * A connection handler that provides the resource
+     */
+    public static class DevicesHandler implements ConnectionHandler {
+
+        /**
+         * @return The resource
+         */
+        @SuppressWarnings("static-method")
+        public Devices getDevices() {
+            return new Devices() {
+
+                @Override
+                public List<String> getDevices() {
+                    return Collections.emptyList();
+                }
+
+                @Override
+                public List<String> getDevicesOfType(final String type) {
+                    return Collections.emptyList();
+                }
+
+                @Override
+                public String getDevice(final String id) {
+                    return id;
+                }
+
+                @Override
+                public void setSetpoint(final String id, final double value) {
+                    // Not used in the benchmark
+                }
+
+            };
+        }
+
+        @Override
+        public void onSuspend() {
+            // Not used in the benchmark
+        }
+
+        @Override
+        public void resumeAfterSuspend() {
+            // Not used in the benchmark
+        }
+
+        @Override
+        public void onInterrupt() {
+            // Not used in the benchmark
+        }
+
+        @Override
+        public void resumeAfterInterrupt() {
+            // Not used in the benchmark
+        }
+
+        @Override
+        public void terminated() {
+            // Not used in the benchmark
+        }
+
+    }
+
+    /**
+     * The kind of route to find
+     */
+    @Param({"fixed", "pathParameters", "queryParameters"})
+    public String route;
+
+    private RamlResourceRegistry registry;
+    private RamlRequest request;
+
+    /**
+     * Build the registry and the request
+     */
+    @Setup
+    public void setup() {
+        this.registry = new RamlResourceRegistry(new DevicesHandler());
+        final RamlRequest.Builder builder = RamlRequest.newBuilder().setId(1);
+        switch (this.route) {
+        case "fixed":
+            builder.setMethod(RamlRequest.Method.GET).setUri("/devices");
+            break;
+        case "pathParameters":
+            builder.setMethod(RamlRequest.Method.PUT).setUri("/devices/heatpump-12/setpoint/21.5");
+            break;
+        case "queryParameters":
+            builder.setMethod(RamlRequest.Method.GET).setUri("/devices?type=battery");
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown route " + this.route);
+        }
+        this.request = builder.build();
+        if (this.registry.getResourceForMessage(this.request) == null) {
+            throw new IllegalStateException("No resource found for " + this.request.getUri());
+        }
+    }
+
+    /**
+     * @return The resource for the request
+     */
+    @Benchmark
+    public RamlResourceRequest getResourceForMessage() {
+        return this.registry.getResourceForMessage(this.request);
+    }
+
+}
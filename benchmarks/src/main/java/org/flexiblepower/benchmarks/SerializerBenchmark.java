@@ -0,0 +1,152 @@
+/*-
+ * #%L
+ * dEF-Pi benchmarks
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.flexiblepower.exceptions.SerializationException;
+import org.flexiblepower.proto.ServiceProto.ErrorMessage;
+import org.flexiblepower.serializers.JavaIOSerializer;
+import org.flexiblepower.serializers.MessageSerializer;
+import org.flexiblepower.serializers.ProtobufMessageSerializer;
+import org.flexiblepower.serializers.XSDMessageSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jakarta.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Measures how long it takes to serialize and deserialize a message with each of the message serializers, for several
+ * sizes of the message.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializerBenchmark {
+
+    /**
+     * The message that is used for the XSD serializer
+     */
+    @XmlRootElement
+    public static class XmlPayload {
+
+        /**
+         * The content of the message
+         */
+        public String data;
+
+    }
+
+    /**
+     * The serializer to measure
+     */
+    @Param({"protobuf", "xsd", "java"})
+    public String serializer;
+
+    /**
+     * The number of characters in the message
+     */
+    @Param({"16", "1024", "65536"})
+    public int payloadSize;
+
+    private MessageSerializer<Object> messageSerializer;
+    private Object message;
+    private byte[] serialized;
+
+    /**
+     * Create the serializer and the message
+     *
+     * @throws SerializationException When the message cannot be serialized
+     */
+    @Setup
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setup() throws SerializationException {
+        final char[] chars = new char[this.payloadSize];
+        Arrays.fill(chars, 'x');
+        final String data = new String(chars);
+
+        switch (this.serializer) {
+        case "protobuf":
+            final ProtobufMessageSerializer protobuf = new ProtobufMessageSerializer();
+            protobuf.addMessageClass(ErrorMessage.class);
+            this.messageSerializer = (MessageSerializer) protobuf;
+            this.message = ErrorMessage.newBuilder().setProcessId("benchmark").setDebugInformation(data).build();
+            break;
+        case "xsd":
+            this.messageSerializer = new XSDMessageSerializer();
+            this.messageSerializer.addMessageClass(XmlPayload.class);
+            final XmlPayload payload = new XmlPayload();
+            payload.data = data;
+            this.message = payload;
+            break;
+        case "java":
+            this.messageSerializer = (MessageSerializer) new JavaIOSerializer();
+            this.message = data;
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown serializer " + this.serializer);
+        }
+        this.serialized = this.messageSerializer.serialize(this.message);
+    }
+
+    /**
+     * @return The serialized message
+     * @throws SerializationException When the message cannot be serialized
+     */
+    @Benchmark
+    public byte[] serialize() throws SerializationException {
+        return this.messageSerializer.serialize(this.message);
+    }
+
+    /**
+     * @return The deserialized message
+     * @throws SerializationException When the message cannot be deserialized
+     */
+    @Benchmark
+    public Object deserialize() throws SerializationException {
+        return this.messageSerializer.deserialize(this.serialized);
+    }
+
+    /**
+     * @return The message after it was serialized and deserialized
+     * @throws SerializationException When the message cannot be serialized or deserialized
+     */
+    @Benchmark
+    public Object roundTrip() throws SerializationException {
+        return this.messageSerializer.deserialize(this.messageSerializer.serialize(this.message));
+    }
+
+}
@@ -0,0 +1,153 @@
+/*-
+ * #%L
+ * dEF-Pi benchmarks
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.benchmarks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.flexiblepower.commons.BufferPool;
+import org.flexiblepower.commons.TCPSocket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput and latency of frames that are sent over a {@link TCPSocket} on the loopback interface. The
+ * server side reads the frames asynchronously, as connections do, so the sender never waits for the benchmark thread.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TCPSocketBenchmark {
+
+    private static final int PORT = 5090;
+    private static final int BATCH = 100;
+
+    /**
+     * The number of bytes in every frame
+     */
+    @Param({"64", "4096", "65536"})
+    public int frameSize;
+
+    private final Semaphore received = new Semaphore(0);
+    private TCPSocket server;
+    private TCPSocket client;
+    private byte[] frame;
+
+    /**
+     * Connect a client to a server socket
+     *
+     * @throws IOException When the sockets are unable to connect
+     * @throws ExecutionException When the server socket is unable to connect
+     * @throws InterruptedException When interrupted while connecting
+     */
+    @Setup
+    public void connect() throws IOException, InterruptedException, ExecutionException {
+        this.frame = new byte[this.frameSize];
+        this.server = TCPSocket.asServer(TCPSocketBenchmark.PORT);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Boolean> serverConnected = executor
+                    .submit(() -> this.server.waitUntilConnected(TimeUnit.SECONDS.toMillis(10)));
+            this.client = TCPSocket.asClient("127.0.0.1", TCPSocketBenchmark.PORT);
+            if (!this.client.waitUntilConnected(TimeUnit.SECONDS.toMillis(10)) || !serverConnected.get()) {
+                throw new IOException("Unable to connect over the loopback interface");
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        this.server.startReading(new TCPSocket.FrameListener() {
+
+            @Override
+            public void onFrame(final ByteBuffer data) {
+                BufferPool.getInstance().release(data);
+                TCPSocketBenchmark.this.received.release();
+            }
+
+            @Override
+            public void onClose() {
+                // The benchmark is finished
+            }
+
+        });
+    }
+
+    /**
+     * Close both sockets
+     */
+    @TearDown
+    public void close() {
+        this.client.close();
+        this.server.close();
+    }
+
+    /**
+     * Send a batch of frames before waiting until they are received
+     *
+     * @throws IOException When sending fails
+     * @throws InterruptedException When interrupted while waiting for the frames
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(TCPSocketBenchmark.BATCH)
+    public void throughput() throws IOException, InterruptedException {
+        for (int i = 0; i < TCPSocketBenchmark.BATCH; i++) {
+            this.client.send(this.frame);
+        }
+        this.received.acquire(TCPSocketBenchmark.BATCH);
+    }
+
+    /**
+     * Send a frame and wait until it is received
+     *
+     * @throws IOException When sending fails
+     * @throws InterruptedException When interrupted while waiting for the frame
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void latency() throws IOException, InterruptedException {
+        this.client.send(this.frame);
+        this.received.acquire();
+    }
+
+}
@@ -0,0 +1,185 @@
+/*-
+ * #%L
+ * dEF-Pi benchmarks
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.flexiblepower.exceptions.SerializationException;
+import org.flexiblepower.proto.ServiceProto.ErrorMessage;
+import org.flexiblepower.serializers.ProtobufMessageSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long it takes a connection to handle a received message: deserializing it, finding the handler
+ * function, and invoking it on the thread of the service. The benchmark is in the package of the service library, so
+ * it can call {@link TCPConnection#handleMessage(ByteBuffer)} directly, without a socket in between.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandleMessageBenchmark {
+
+    private static final int PORT = 5091;
+    private static final String HASH = "eefc3942366e0b12795edb10f5358145694e45a7a6e96144299ff2e1f8f5c252";
+
+    static final CountDownLatch connected = new CountDownLatch(2);
+
+    /**
+     * A connection handler that only counts the messages it receives
+     */
+    @InterfaceInfo(name = "Benchmark",
+                   version = "1",
+                   serializer = ProtobufMessageSerializer.class,
+                   receivesHash = HandleMessageBenchmark.HASH,
+                   receiveTypes = {ErrorMessage.class},
+                   sendsHash = HandleMessageBenchmark.HASH,
+                   sendTypes = {ErrorMessage.class})
+    public static class BenchmarkHandler implements ConnectionHandler {
+
+        /**
+         * The number of messages that were handled
+         */
+        public long handled;
+
+        /**
+         * Creates the handler for the connection
+         */
+        public BenchmarkHandler() {
+            HandleMessageBenchmark.connected.countDown();
+        }
+
+        /**
+         * @param message The received message
+         */
+        public void handleErrorMessageMessage(final ErrorMessage message) {
+            this.handled++;
+        }
+
+        @Override
+        public void onSuspend() {
+            // Not used in the benchmark
+        }
+
+        @Override
+        public void resumeAfterSuspend() {
+            // Not used in the benchmark
+        }
+
+        @Override
+        public void onInterrupt() {
+            // Not used in the benchmark
+        }
+
+        @Override
+        public void resumeAfterInterrupt() {
+            // Not used in the benchmark
+        }
+
+        @Override
+        public void terminated() {
+            // Not used in the benchmark
+        }
+
+    }
+
+    /**
+     * Builds the handlers of the connections
+     */
+    public static class BenchmarkHandlerManager implements ConnectionHandlerManager {
+
+        /**
+         * @param connection The connection to build the handler for
+         * @return A new handler
+         */
+        public static BenchmarkHandler build1(final Connection connection) {
+            return new BenchmarkHandler();
+        }
+
+    }
+
+    private TCPConnection server;
+    private TCPConnection client;
+    private ByteBuffer message;
+
+    /**
+     * Connect two connections to each other, and serialize the message that is handled
+     *
+     * @throws SerializationException When the message cannot be serialized
+     * @throws InterruptedException When interrupted while waiting for the connections
+     */
+    @Setup
+    public void connect() throws SerializationException, InterruptedException {
+        final InterfaceInfo info = BenchmarkHandler.class.getAnnotation(InterfaceInfo.class);
+        ConnectionManager.registerConnectionHandlerFactory(BenchmarkHandler.class, new BenchmarkHandlerManager());
+        this.server = new TCPConnection("benchmark", HandleMessageBenchmark.PORT, "", info, "", "", "", "");
+        this.client = new TCPConnection("benchmark", HandleMessageBenchmark.PORT, "localhost", info, "", "", "", "");
+        if (!HandleMessageBenchmark.connected.await(10, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Connections were not established");
+        }
+
+        final ProtobufMessageSerializer serializer = new ProtobufMessageSerializer();
+        serializer.addMessageClass(ErrorMessage.class);
+        this.message = ByteBuffer.wrap(serializer.serialize(
+                ErrorMessage.newBuilder().setProcessId("benchmark").setDebugInformation("dispatch").build()));
+    }
+
+    /**
+     * Close the connections
+     */
+    @TearDown
+    public void close() {
+        this.client.close();
+        this.server.close();
+        ServiceExecutor.getInstance().shutDown();
+    }
+
+    /**
+     * @throws ExecutionException When the handler function failed
+     * @throws InterruptedException When interrupted while waiting for the handler function
+     */
+    @Benchmark
+    public void handleMessage() throws InterruptedException, ExecutionException {
+        final Future<?> future = this.server.handleMessage(this.message);
+        if (future != null) {
+            future.get();
+        }
+    }
+
+}
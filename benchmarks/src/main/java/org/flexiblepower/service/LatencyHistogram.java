@@ -0,0 +1,104 @@
+/*-
+ * #%L
+ * dEF-Pi benchmarks
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies that is safe to record into from several threads, without allocating. Values are counted
+ * in buckets that are linear within each power of two, so every reported value is within 1/{@value #SUB_BUCKETS} of
+ * the measured value.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << LatencyHistogram.SUB_BUCKET_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(Long.SIZE * LatencyHistogram.SUB_BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param nanos The latency to add to the histogram, negative values are counted as 0
+     */
+    void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+        this.counts.incrementAndGet(LatencyHistogram.indexOf(value));
+        this.count.incrementAndGet();
+        this.max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * @return The number of recorded values
+     */
+    long count() {
+        return this.count.get();
+    }
+
+    /**
+     * @return The largest recorded value
+     */
+    long max() {
+        return this.max.get();
+    }
+
+    /**
+     * @param quantile The fraction of values that is at most the returned value, between 0 and 1
+     * @return The upper bound of the bucket that contains the quantile, or 0 if nothing was recorded
+     */
+    long valueAt(final double quantile) {
+        final long total = this.count.get();
+        if (total == 0) {
+            return 0;
+        }
+        final long target = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < this.counts.length(); i++) {
+            seen += this.counts.get(i);
+            if (seen >= target) {
+                return Math.min(this.max.get(), LatencyHistogram.lowerBoundOf(i + 1) - 1);
+            }
+        }
+        return this.max.get();
+    }
+
+    static int indexOf(final long value) {
+        if (value < LatencyHistogram.SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - LatencyHistogram.SUB_BUCKET_BITS;
+        final int subBucket = (int) (value >>> shift) - LatencyHistogram.SUB_BUCKETS;
+        return ((shift + 1) << LatencyHistogram.SUB_BUCKET_BITS) + subBucket;
+    }
+
+    static long lowerBoundOf(final int index) {
+        final int group = index >>> LatencyHistogram.SUB_BUCKET_BITS;
+        final int subBucket = index & (LatencyHistogram.SUB_BUCKETS - 1);
+        if (group == 0) {
+            return subBucket;
+        }
+        return (long) (LatencyHistogram.SUB_BUCKETS + subBucket) << (group - 1);
+    }
+
+}
@@ -0,0 +1,348 @@
+/*-
+ * #%L
+ * dEF-Pi benchmarks
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.flexiblepower.proto.ConnectionProto.ConnectionMessage;
+import org.flexiblepower.service.exceptions.ConnectionModificationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The LoadGenerator starts two services in one JVM, connects them with a {@link TCPConnection} over the loopback
+ * interface through their {@link ConnectionManager}s, and sends messages from one to the other as fast as possible or
+ * at a fixed rate. No orchestrator or Docker is needed. Afterwards it reports the throughput, the latency percentiles
+ * and the allocation rate of the process.
+ * <p>
+ * The load is configured with <code>key=value</code> arguments:
+ * <ul>
+ * <li><code>format</code>: the message format, <code>protobuf</code> (default) or <code>xsd</code></li>
+ * <li><code>mix</code>: comma separated message sizes in characters, each with an optional weight, e.g.
+ * <code>64:8,4096:2</code> (default <code>256</code>)</li>
+ * <li><code>rate</code>: the total number of messages per second, or 0 to send as fast as possible (default 0)</li>
+ * <li><code>senders</code>: the number of threads that send (default 1)</li>
+ * <li><code>warmup</code> and <code>duration</code>: the seconds before and during measuring (default 5 and 10)</li>
+ * <li><code>port</code>: the loopback port of the connection (default 5095)</li>
+ * <li><code>multiplexed</code>: whether the connection uses a multiplexed link (default false)</li>
+ * </ul>
+ * With a fixed rate, the latency is measured from the moment a message should have been sent, so a sender that falls
+ * behind is visible in the latency rather than hidden by it.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+public final class LoadGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private static final String CONNECTION_ID = "load-generator";
+
+    private final String format;
+    private final String mix;
+    private final int[] sizes;
+    private final long rate;
+    private final int senders;
+    private final long warmupNanos;
+    private final long durationNanos;
+    private final int port;
+    private final boolean multiplexed;
+
+    private final List<LoadHandler> handlers = new ArrayList<>();
+    private final CountDownLatch connected = new CountDownLatch(2);
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder receivedMessages = new LongAdder();
+    private final LongAdder receivedChars = new LongAdder();
+    private final AtomicLong sentMessages = new AtomicLong();
+    private volatile boolean measuring;
+    private volatile boolean running = true;
+
+    private LoadGenerator(final Map<String, String> options) {
+        this.format = options.getOrDefault("format", "protobuf");
+        this.mix = options.getOrDefault("mix", "256");
+        this.sizes = LoadGenerator.parseMix(this.mix);
+        this.rate = Long.parseLong(options.getOrDefault("rate", "0"));
+        this.senders = Math.max(1, Integer.parseInt(options.getOrDefault("senders", "1")));
+        this.warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("warmup", "5")));
+        this.durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("duration", "10")));
+        this.port = Integer.parseInt(options.getOrDefault("port", "5095"));
+        this.multiplexed = Boolean.parseBoolean(options.getOrDefault("multiplexed", "false"));
+        if (!"protobuf".equals(this.format) && !"xsd".equals(this.format)) {
+            throw new IllegalArgumentException("Unknown format " + this.format);
+        }
+    }
+
+    /**
+     * Run the load generator
+     *
+     * @param args The configuration of the load, as <code>key=value</code> arguments
+     * @throws Exception When the services could not be connected
+     */
+    public static void main(final String[] args) throws Exception {
+        final Map<String, String> options = new HashMap<>();
+        for (final String arg : args) {
+            final int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Arguments must be key=value, not " + arg);
+            }
+            options.put(arg.substring(0, separator).trim(), arg.substring(separator + 1).trim());
+        }
+        new LoadGenerator(options).run();
+        System.exit(0);
+    }
+
+    /**
+     * Parse the message mix to a cycle of sizes, in which every size occurs as often as its weight
+     */
+    private static int[] parseMix(final String mix) {
+        final List<Integer> cycle = new ArrayList<>();
+        for (final String entry : mix.split(",")) {
+            final String[] parts = entry.trim().split(":");
+            final int size = Integer.parseInt(parts[0]);
+            final int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            for (int i = 0; i < weight; i++) {
+                cycle.add(size);
+            }
+        }
+        if (cycle.isEmpty()) {
+            throw new IllegalArgumentException("The message mix is empty");
+        }
+        return cycle.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private void run() throws Exception {
+        LoadHandler.generator = this;
+        LoadHandler.register(this.format);
+
+        final ConnectionManager serverService = new ConnectionManager();
+        final ConnectionManager clientService = new ConnectionManager();
+        try {
+            serverService.handleConnectionMessage(this.connectionMessage(""));
+            clientService.handleConnectionMessage(this.connectionMessage("127.0.0.1"));
+            if (!this.connected.await(30, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("The services did not connect within 30 seconds");
+            }
+            LoadGenerator.log.info("Services are connected, sending {} messages with mix {}", this.format, this.mix);
+
+            final List<Thread> threads = new ArrayList<>();
+            final LoadHandler sender;
+            synchronized (this.handlers) {
+                sender = this.handlers.get(0);
+            }
+            for (int i = 0; i < this.senders; i++) {
+                final int senderIndex = i;
+                final Thread thread = new Thread(() -> this.send(sender, senderIndex),
+                        "dEF-Pi load sender " + i);
+                thread.start();
+                threads.add(thread);
+            }
+
+            Thread.sleep(TimeUnit.NANOSECONDS.toMillis(this.warmupNanos));
+            final Snapshot start = new Snapshot();
+            this.measuring = true;
+            Thread.sleep(TimeUnit.NANOSECONDS.toMillis(this.durationNanos));
+            this.measuring = false;
+            final Snapshot end = new Snapshot();
+
+            this.running = false;
+            for (final Thread thread : threads) {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            }
+            this.printReport(start, end);
+        } finally {
+            this.terminate(clientService);
+            this.terminate(serverService);
+            clientService.close();
+            serverService.close();
+            ServiceExecutor.getInstance().shutDown();
+        }
+    }
+
+    private ConnectionMessage connectionMessage(final String targetAddress) {
+        final String hash = LoadHandler.hashOf(this.format);
+        return ConnectionMessage.newBuilder()
+                .setConnectionId(LoadGenerator.CONNECTION_ID)
+                .setMode(ConnectionMessage.ModeType.CREATE)
+                .setListenPort(this.port)
+                .setTargetAddress(targetAddress)
+                .setReceiveHash(hash)
+                .setSendHash(hash)
+                .setMultiplexed(this.multiplexed)
+                .build();
+    }
+
+    private void terminate(final ConnectionManager service) {
+        try {
+            service.handleConnectionMessage(ConnectionMessage.newBuilder()
+                    .setConnectionId(LoadGenerator.CONNECTION_ID)
+                    .setMode(ConnectionMessage.ModeType.TERMINATE)
+                    .build());
+        } catch (final ConnectionModificationException | RuntimeException e) {
+            LoadGenerator.log.debug("Unable to terminate connection: {}", e.getMessage());
+        }
+    }
+
+    private void send(final LoadHandler sender, final int senderIndex) {
+        final String[] payloads = new String[this.sizes.length];
+        for (int i = 0; i < this.sizes.length; i++) {
+            final char[] chars = new char[this.sizes[i]];
+            Arrays.fill(chars, 'x');
+            payloads[i] = new String(chars);
+        }
+
+        // Every sender takes its share of the rate, and starts at a different position in the mix
+        final long intervalNanos = this.rate > 0 ? (TimeUnit.SECONDS.toNanos(1) * this.senders) / this.rate : 0;
+        long next = System.nanoTime();
+        for (long i = senderIndex; this.running; i++) {
+            long sentNanos = System.nanoTime();
+            if (intervalNanos > 0) {
+                next += intervalNanos;
+                while (sentNanos < next) {
+                    LockSupport.parkNanos(next - sentNanos);
+                    sentNanos = System.nanoTime();
+                }
+                sentNanos = next;
+            }
+            try {
+                sender.connection().send(sender.createMessage(sentNanos, payloads[(int) (i % payloads.length)]));
+                this.sentMessages.incrementAndGet();
+            } catch (final Exception e) {
+                if (this.running) {
+                    LoadGenerator.log.warn("Unable to send message: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Called by a handler when its connection is established
+     *
+     * @param handler The handler of the connection
+     */
+    void handlerConnected(final LoadHandler handler) {
+        synchronized (this.handlers) {
+            this.handlers.add(handler);
+        }
+        this.connected.countDown();
+    }
+
+    /**
+     * Called by a handler for every message it receives
+     *
+     * @param sentNanos The time the message was sent
+     * @param chars The number of characters of the payload
+     */
+    void received(final long sentNanos, final int chars) {
+        if (this.measuring) {
+            this.latencies.record(System.nanoTime() - sentNanos);
+            this.receivedMessages.increment();
+            this.receivedChars.add(chars);
+        }
+    }
+
+    /**
+     * Called by a handler when something happens to its connection that should be reported
+     *
+     * @param event The event to report
+     */
+    void report(final String event) {
+        LoadGenerator.log.warn("{} while generating load", event);
+    }
+
+    private void printReport(final Snapshot start, final Snapshot end) {
+        final double seconds = (end.nanos - start.nanos) / 1e9;
+        final long messages = this.receivedMessages.sum();
+        System.out.println("Format:          " + this.format + (this.multiplexed ? " (multiplexed)" : ""));
+        System.out.println("Message mix:     " + this.mix);
+        System.out.println("Target rate:     " + (this.rate > 0 ? this.rate + " msg/s" : "unbounded"));
+        System.out.println("Senders:         " + this.senders);
+        System.out.printf("Throughput:      %.0f msg/s, %.2f MB/s of payload%n",
+                messages / seconds,
+                this.receivedChars.sum() / seconds / 1e6);
+        System.out.printf("Latency:         p50 %s, p99 %s, p999 %s, max %s%n",
+                LoadGenerator.format(this.latencies.valueAt(0.5)),
+                LoadGenerator.format(this.latencies.valueAt(0.99)),
+                LoadGenerator.format(this.latencies.valueAt(0.999)),
+                LoadGenerator.format(this.latencies.max()));
+        if ((start.allocatedBytes >= 0) && (end.allocatedBytes >= 0)) {
+            System.out.printf("Allocation rate: %.1f MB/s, %.0f bytes/msg%n",
+                    (end.allocatedBytes - start.allocatedBytes) / seconds / 1e6,
+                    messages == 0 ? 0.0 : (end.allocatedBytes - start.allocatedBytes) / (double) messages);
+        }
+        System.out.printf("GC:              %d collections, %d ms%n",
+                end.gcCount - start.gcCount,
+                end.gcMillis - start.gcMillis);
+        System.out.println("Messages sent:   " + this.sentMessages.get());
+    }
+
+    private static String format(final long nanos) {
+        if (nanos < 10_000) {
+            return nanos + " ns";
+        } else if (nanos < 10_000_000) {
+            return (nanos / 1000) + " us";
+        }
+        return (nanos / 1_000_000) + " ms";
+    }
+
+    /**
+     * The counters of the JVM at one moment. The allocated bytes are those of the threads that are alive, so threads
+     * that end during the measurement are not counted.
+     */
+    private static final class Snapshot {
+
+        final long nanos = System.nanoTime();
+        final long allocatedBytes;
+        long gcCount;
+        long gcMillis;
+
+        Snapshot() {
+            final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if ((threads instanceof com.sun.management.ThreadMXBean)
+                    && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+                long total = 0;
+                for (final long bytes : ((com.sun.management.ThreadMXBean) threads)
+                        .getThreadAllocatedBytes(threads.getAllThreadIds())) {
+                    total += Math.max(0, bytes);
+                }
+                this.allocatedBytes = total;
+            } else {
+                this.allocatedBytes = -1;
+            }
+            for (final GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                this.gcCount += Math.max(0, gc.getCollectionCount());
+                this.gcMillis += Math.max(0, gc.getCollectionTime());
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,222 @@
+/*-
+ * #%L
+ * dEF-Pi benchmarks
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import org.flexiblepower.proto.ServiceProto.ErrorMessage;
+import org.flexiblepower.serializers.ProtobufMessageSerializer;
+import org.flexiblepower.serializers.XSDMessageSerializer;
+
+import jakarta.xml.bind.annotation.XmlRootElement;
+
+/**
+ * The connection handlers of the {@link LoadGenerator}. Both services use the same interface, so every handler may
+ * send as well as receive. Received messages are reported to the generator that is running.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+abstract class LoadHandler implements ConnectionHandler {
+
+    private static final String PROTOBUF_HASH = "load-generator-protobuf";
+    private static final String XSD_HASH = "load-generator-xsd";
+
+    /**
+     * The generator that receives the reports of the handlers
+     */
+    static volatile LoadGenerator generator;
+
+    private final Connection connection;
+
+    LoadHandler(final Connection connection) {
+        this.connection = connection;
+        LoadHandler.generator.handlerConnected(this);
+    }
+
+    /**
+     * @return The connection of this handler
+     */
+    Connection connection() {
+        return this.connection;
+    }
+
+    /**
+     * Build a message in the format of this handler
+     *
+     * @param sentNanos The time the message is sent, in nanoseconds
+     * @param payload The content of the message
+     * @return The message to send
+     */
+    abstract Object createMessage(long sentNanos, String payload);
+
+    @Override
+    public void onSuspend() {
+        // The load generator does not suspend connections
+    }
+
+    @Override
+    public void resumeAfterSuspend() {
+        // The load generator does not suspend connections
+    }
+
+    @Override
+    public void onInterrupt() {
+        LoadHandler.generator.report("Connection was interrupted");
+    }
+
+    @Override
+    public void resumeAfterInterrupt() {
+        LoadHandler.generator.report("Connection was resumed");
+    }
+
+    @Override
+    public void terminated() {
+        // The generator terminates the connections when it is done
+    }
+
+    /**
+     * @param format The message format, either "protobuf" or "xsd"
+     * @return The interface hash of the handler for the format
+     */
+    static String hashOf(final String format) {
+        return "xsd".equals(format) ? LoadHandler.XSD_HASH : LoadHandler.PROTOBUF_HASH;
+    }
+
+    /**
+     * Register the handler of the format with the connection manager
+     *
+     * @param format The message format, either "protobuf" or "xsd"
+     */
+    static void register(final String format) {
+        if ("xsd".equals(format)) {
+            ConnectionManager.registerConnectionHandlerFactory(XmlLoadHandler.class, new Factory());
+        } else {
+            ConnectionManager.registerConnectionHandlerFactory(ProtobufLoadHandler.class, new Factory());
+        }
+    }
+
+    /**
+     * Builds the handlers for the connections
+     */
+    public static class Factory implements ConnectionHandlerManager {
+
+        /**
+         * @param connection The connection of the handler
+         * @return The handler for a protobuf connection
+         */
+        public static ProtobufLoadHandler buildProtobuf(final Connection connection) {
+            return new ProtobufLoadHandler(connection);
+        }
+
+        /**
+         * @param connection The connection of the handler
+         * @return The handler for an XSD connection
+         */
+        public static XmlLoadHandler buildXsd(final Connection connection) {
+            return new XmlLoadHandler(connection);
+        }
+
+    }
+
+    /**
+     * Sends and receives protobuf messages, with the time they were sent as process id
+     */
+    @InterfaceInfo(name = "Load protobuf",
+                   version = "protobuf",
+                   serializer = ProtobufMessageSerializer.class,
+                   receivesHash = LoadHandler.PROTOBUF_HASH,
+                   receiveTypes = {ErrorMessage.class},
+                   sendsHash = LoadHandler.PROTOBUF_HASH,
+                   sendTypes = {ErrorMessage.class})
+    public static class ProtobufLoadHandler extends LoadHandler {
+
+        ProtobufLoadHandler(final Connection connection) {
+            super(connection);
+        }
+
+        @Override
+        Object createMessage(final long sentNanos, final String payload) {
+            return ErrorMessage.newBuilder()
+                    .setProcessId(Long.toString(sentNanos))
+                    .setDebugInformation(payload)
+                    .build();
+        }
+
+        /**
+         * @param message The received message
+         */
+        public void handleErrorMessageMessage(final ErrorMessage message) {
+            LoadHandler.generator.received(Long.parseLong(message.getProcessId()),
+                    message.getDebugInformation().length());
+        }
+
+    }
+
+    /**
+     * Sends and receives XML messages
+     */
+    @InterfaceInfo(name = "Load XSD",
+                   version = "xsd",
+                   serializer = XSDMessageSerializer.class,
+                   receivesHash = LoadHandler.XSD_HASH,
+                   receiveTypes = {LoadPayload.class},
+                   sendsHash = LoadHandler.XSD_HASH,
+                   sendTypes = {LoadPayload.class})
+    public static class XmlLoadHandler extends LoadHandler {
+
+        XmlLoadHandler(final Connection connection) {
+            super(connection);
+        }
+
+        @Override
+        Object createMessage(final long sentNanos, final String payload) {
+            final LoadPayload message = new LoadPayload();
+            message.sentNanos = sentNanos;
+            message.data = payload;
+            return message;
+        }
+
+        /**
+         * @param message The received message
+         */
+        public void handleLoadPayloadMessage(final LoadPayload message) {
+            LoadHandler.generator.received(message.sentNanos, message.data == null ? 0 : message.data.length());
+        }
+
+    }
+
+    /**
+     * The XML message of the load generator
+     */
+    @XmlRootElement
+    public static class LoadPayload {
+
+        /**
+         * The time the message was sent, in nanoseconds
+         */
+        public long sentNanos;
+
+        /**
+         * The content of the message
+         */
+        public String data;
+
+    }
+
+}
@@ -1,5 +1,5 @@
 // Generated by the protocol buffer compiler.  DO NOT EDIT!
-// source: src/main/resources/Connection.proto
+// source: Connection.proto
 
 package org.flexiblepower.proto;
 
@@ -68,6 +68,8 @@ public final class ConnectionProto {
     }
 
     /**
+     * @param value The numeric wire value of the corresponding enum entry.
+     * @return The enum associated with the given numeric wire value.
      * @deprecated Use {@link #forNumber(int)} instead.
      */
     @java.lang.Deprecated
@@ -75,6 +77,10 @@ public final class ConnectionProto {
       return forNumber(value);
     }
 
+    /**
+     * @param value The numeric wire value of the corresponding enum entry.
+     * @return The enum associated with the given numeric wire value.
+     */
     public static ConnectionState forNumber(int value) {
       switch (value) {
         case 0: return STARTING;
@@ -137,141 +143,192 @@ public final class ConnectionProto {
 
     /**
      * <code>required .connection.ConnectionMessage.ModeType mode = 1;</code>
+     * @return Whether the mode field is set.
      */
     boolean hasMode();
     /**
      * <code>required .connection.ConnectionMessage.ModeType mode = 1;</code>
+     * @return The mode.
      */
     org.flexiblepower.proto.ConnectionProto.ConnectionMessage.ModeType getMode();
 
     /**
      * <code>required string connectionId = 2;</code>
+     * @return Whether the connectionId field is set.
      */
     boolean hasConnectionId();
     /**
      * <code>required string connectionId = 2;</code>
+     * @return The connectionId.
      */
     java.lang.String getConnectionId();
     /**
      * <code>required string connectionId = 2;</code>
+     * @return The bytes for connectionId.
      */
     com.google.protobuf.ByteString
         getConnectionIdBytes();
 
     /**
      * <code>optional string targetAddress = 3;</code>
+     * @return Whether the targetAddress field is set.
      */
     boolean hasTargetAddress();
     /**
      * <code>optional string targetAddress = 3;</code>
+     * @return The targetAddress.
      */
     java.lang.String getTargetAddress();
     /**
      * <code>optional string targetAddress = 3;</code>
+     * @return The bytes for targetAddress.
      */
     com.google.protobuf.ByteString
         getTargetAddressBytes();
 
     /**
      * <code>optional int32 listenPort = 4;</code>
+     * @return Whether the listenPort field is set.
      */
     boolean hasListenPort();
     /**
      * <code>optional int32 listenPort = 4;</code>
+     * @return The listenPort.
      */
     int getListenPort();
 
     /**
      * <code>optional string receiveHash = 5;</code>
+     * @return Whether the receiveHash field is set.
      */
     boolean hasReceiveHash();
     /**
      * <code>optional string receiveHash = 5;</code>
+     * @return The receiveHash.
      */
     java.lang.String getReceiveHash();
     /**
      * <code>optional string receiveHash = 5;</code>
+     * @return The bytes for receiveHash.
      */
     com.google.protobuf.ByteString
         getReceiveHashBytes();
 
     /**
      * <code>optional string sendHash = 6;</code>
+     * @return Whether the sendHash field is set.
      */
     boolean hasSendHash();
     /**
      * <code>optional string sendHash = 6;</code>
+     * @return The sendHash.
      */
     java.lang.String getSendHash();
     /**
      * <code>optional string sendHash = 6;</code>
+     * @return The bytes for sendHash.
      */
     com.google.protobuf.ByteString
         getSendHashBytes();
 
     /**
      * <code>optional string remoteInterfaceId = 7;</code>
+     * @return Whether the remoteInterfaceId field is set.
      */
     boolean hasRemoteInterfaceId();
     /**
      * <code>optional string remoteInterfaceId = 7;</code>
+     * @return The remoteInterfaceId.
      */
     java.lang.String getRemoteInterfaceId();
     /**
      * <code>optional string remoteInterfaceId = 7;</code>
+     * @return The bytes for remoteInterfaceId.
      */
     com.google.protobuf.ByteString
         getRemoteInterfaceIdBytes();
 
     /**
      * <code>optional string remoteProcessId = 8;</code>
+     * @return Whether the remoteProcessId field is set.
      */
     boolean hasRemoteProcessId();
     /**
      * <code>optional string remoteProcessId = 8;</code>
+     * @return The remoteProcessId.
      */
     java.lang.String getRemoteProcessId();
     /**
      * <code>optional string remoteProcessId = 8;</code>
+     * @return The bytes for remoteProcessId.
      */
     com.google.protobuf.ByteString
         getRemoteProcessIdBytes();
 
     /**
      * <code>optional string remoteServiceId = 9;</code>
+     * @return Whether the remoteServiceId field is set.
      */
     boolean hasRemoteServiceId();
     /**
      * <code>optional string remoteServiceId = 9;</code>
+     * @return The remoteServiceId.
      */
     java.lang.String getRemoteServiceId();
     /**
      * <code>optional string remoteServiceId = 9;</code>
+     * @return The bytes for remoteServiceId.
      */
     com.google.protobuf.ByteString
         getRemoteServiceIdBytes();
 
     /**
      * <code>optional string remoteProcessName = 10;</code>
+     * @return Whether the remoteProcessName field is set.
      */
     boolean hasRemoteProcessName();
     /**
      * <code>optional string remoteProcessName = 10;</code>
+     * @return The remoteProcessName.
      */
     java.lang.String getRemoteProcessName();
     /**
      * <code>optional string remoteProcessName = 10;</code>
+     * @return The bytes for remoteProcessName.
      */
     com.google.protobuf.ByteString
         getRemoteProcessNameBytes();
+
+    /**
+     * <code>optional bool multiplexed = 11;</code>
+     * @return Whether the multiplexed field is set.
+     */
+    boolean hasMultiplexed();
+    /**
+     * <code>optional bool multiplexed = 11;</code>
+     * @return The multiplexed.
+     */
+    boolean getMultiplexed();
+
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return Whether the requestId field is set.
+     */
+    boolean hasRequestId();
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return The requestId.
+     */
+    long getRequestId();
   }
   /**
    * Protobuf type {@code connection.ConnectionMessage}
    */
-  public  static final class ConnectionMessage extends
+  public static final class ConnectionMessage extends
       com.google.protobuf.GeneratedMessageV3 implements
       // @@protoc_insertion_point(message_implements:connection.ConnectionMessage)
       ConnectionMessageOrBuilder {
+  private static final long serialVersionUID = 0L;
     // Use ConnectionMessage.newBuilder() to construct.
     private ConnectionMessage(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
       super(builder);
@@ -280,7 +337,6 @@ public final class ConnectionProto {
       mode_ = 0;
       connectionId_ = "";
       targetAddress_ = "";
-      listenPort_ = 0;
       receiveHash_ = "";
       sendHash_ = "";
       remoteInterfaceId_ = "";
@@ -289,6 +345,13 @@ public final class ConnectionProto {
       remoteProcessName_ = "";
     }
 
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new ConnectionMessage();
+    }
+
     @java.lang.Override
     public final com.google.protobuf.UnknownFieldSet
     getUnknownFields() {
@@ -299,6 +362,9 @@ public final class ConnectionProto {
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
       int mutable_bitField0_ = 0;
       com.google.protobuf.UnknownFieldSet.Builder unknownFields =
           com.google.protobuf.UnknownFieldSet.newBuilder();
@@ -310,15 +376,9 @@ public final class ConnectionProto {
             case 0:
               done = true;
               break;
-            default: {
-              if (!parseUnknownField(input, unknownFields,
-                                     extensionRegistry, tag)) {
-                done = true;
-              }
-              break;
-            }
             case 8: {
               int rawValue = input.readEnum();
+                @SuppressWarnings("deprecation")
               org.flexiblepower.proto.ConnectionProto.ConnectionMessage.ModeType value = org.flexiblepower.proto.ConnectionProto.ConnectionMessage.ModeType.valueOf(rawValue);
               if (value == null) {
                 unknownFields.mergeVarintField(1, rawValue);
@@ -381,6 +441,23 @@ public final class ConnectionProto {
               remoteProcessName_ = bs;
               break;
             }
+            case 88: {
+              bitField0_ |= 0x00000400;
+              multiplexed_ = input.readBool();
+              break;
+            }
+            case 120: {
+              bitField0_ |= 0x00000800;
+              requestId_ = input.readInt64();
+              break;
+            }
+            default: {
+              if (!parseUnknownField(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -398,6 +475,7 @@ public final class ConnectionProto {
       return org.flexiblepower.proto.ConnectionProto.internal_static_connection_ConnectionMessage_descriptor;
     }
 
+    @java.lang.Override
     protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
         internalGetFieldAccessorTable() {
       return org.flexiblepower.proto.ConnectionProto.internal_static_connection_ConnectionMessage_fieldAccessorTable
@@ -451,6 +529,8 @@ public final class ConnectionProto {
       }
 
       /**
+       * @param value The numeric wire value of the corresponding enum entry.
+       * @return The enum associated with the given numeric wire value.
        * @deprecated Use {@link #forNumber(int)} instead.
        */
       @java.lang.Deprecated
@@ -458,6 +538,10 @@ public final class ConnectionProto {
         return forNumber(value);
       }
 
+      /**
+       * @param value The numeric wire value of the corresponding enum entry.
+       * @return The enum associated with the given numeric wire value.
+       */
       public static ModeType forNumber(int value) {
         switch (value) {
           case 0: return CREATE;
@@ -518,14 +602,17 @@ public final class ConnectionProto {
     private int mode_;
     /**
      * <code>required .connection.ConnectionMessage.ModeType mode = 1;</code>
+     * @return Whether the mode field is set.
      */
-    public boolean hasMode() {
-      return ((bitField0_ & 0x00000001) == 0x00000001);
+    @java.lang.Override public boolean hasMode() {
+      return ((bitField0_ & 0x00000001) != 0);
     }
     /**
      * <code>required .connection.ConnectionMessage.ModeType mode = 1;</code>
+     * @return The mode.
      */
-    public org.flexiblepower.proto.ConnectionProto.ConnectionMessage.ModeType getMode() {
+    @java.lang.Override public org.flexiblepower.proto.ConnectionProto.ConnectionMessage.ModeType getMode() {
+      @SuppressWarnings("deprecation")
       org.flexiblepower.proto.ConnectionProto.ConnectionMessage.ModeType result = org.flexiblepower.proto.ConnectionProto.ConnectionMessage.ModeType.valueOf(mode_);
       return result == null ? org.flexiblepower.proto.ConnectionProto.ConnectionMessage.ModeType.CREATE : result;
     }
@@ -534,13 +621,17 @@ public final class ConnectionProto {
     private volatile java.lang.Object connectionId_;
     /**
      * <code>required string connectionId = 2;</code>
+     * @return Whether the connectionId field is set.
      */
+    @java.lang.Override
     public boolean hasConnectionId() {
-      return ((bitField0_ & 0x00000002) == 0x00000002);
+      return ((bitField0_ & 0x00000002) != 0);
     }
     /**
      * <code>required string connectionId = 2;</code>
+     * @return The connectionId.
      */
+    @java.lang.Override
     public java.lang.String getConnectionId() {
       java.lang.Object ref = connectionId_;
       if (ref instanceof java.lang.String) {
@@ -557,7 +648,9 @@ public final class ConnectionProto {
     }
     /**
      * <code>required string connectionId = 2;</code>
+     * @return The bytes for connectionId.
      */
+    @java.lang.Override
     public com.google.protobuf.ByteString
         getConnectionIdBytes() {
       java.lang.Object ref = connectionId_;
@@ -576,13 +669,17 @@ public final class ConnectionProto {
     private volatile java.lang.Object targetAddress_;
     /**
      * <code>optional string targetAddress = 3;</code>
+     * @return Whether the targetAddress field is set.
      */
+    @java.lang.Override
     public boolean hasTargetAddress() {
-      return ((bitField0_ & 0x00000004) == 0x00000004);
+      return ((bitField0_ & 0x00000004) != 0);
     }
     /**
      * <code>optional string targetAddress = 3;</code>
+     * @return The targetAddress.
      */
+    @java.lang.Override
     public java.lang.String getTargetAddress() {
       java.lang.Object ref = targetAddress_;
       if (ref instanceof java.lang.String) {
@@ -599,7 +696,9 @@ public final class ConnectionProto {
     }
     /**
      * <code>optional string targetAddress = 3;</code>
+     * @return The bytes for targetAddress.
      */
+    @java.lang.Override
     public com.google.protobuf.ByteString
         getTargetAddressBytes() {
       java.lang.Object ref = targetAddress_;
@@ -618,13 +717,17 @@ public final class ConnectionProto {
     private int listenPort_;
     /**
      * <code>optional int32 listenPort = 4;</code>
+     * @return Whether the listenPort field is set.
      */
+    @java.lang.Override
     public boolean hasListenPort() {
-      return ((bitField0_ & 0x00000008) == 0x00000008);
+      return ((bitField0_ & 0x00000008) != 0);
     }
     /**
      * <code>optional int32 listenPort = 4;</code>
+     * @return The listenPort.
      */
+    @java.lang.Override
     public int getListenPort() {
       return listenPort_;
     }
@@ -633,13 +736,17 @@ public final class ConnectionProto {
     private volatile java.lang.Object receiveHash_;
     /**
      * <code>optional string receiveHash = 5;</code>
+     * @return Whether the receiveHash field is set.
      */
+    @java.lang.Override
     public boolean hasReceiveHash() {
-      return ((bitField0_ & 0x00000010) == 0x00000010);
+      return ((bitField0_ & 0x00000010) != 0);
     }
     /**
      * <code>optional string receiveHash = 5;</code>
+     * @return The receiveHash.
      */
+    @java.lang.Override
     public java.lang.String getReceiveHash() {
       java.lang.Object ref = receiveHash_;
       if (ref instanceof java.lang.String) {
@@ -656,7 +763,9 @@ public final class ConnectionProto {
     }
     /**
      * <code>optional string receiveHash = 5;</code>
+     * @return The bytes for receiveHash.
      */
+    @java.lang.Override
     public com.google.protobuf.ByteString
         getReceiveHashBytes() {
       java.lang.Object ref = receiveHash_;
@@ -675,13 +784,17 @@ public final class ConnectionProto {
     private volatile java.lang.Object sendHash_;
     /**
      * <code>optional string sendHash = 6;</code>
+     * @return Whether the sendHash field is set.
      */
+    @java.lang.Override
     public boolean hasSendHash() {
-      return ((bitField0_ & 0x00000020) == 0x00000020);
+      return ((bitField0_ & 0x00000020) != 0);
     }
     /**
      * <code>optional string sendHash = 6;</code>
+     * @return The sendHash.
      */
+    @java.lang.Override
     public java.lang.String getSendHash() {
       java.lang.Object ref = sendHash_;
       if (ref instanceof java.lang.String) {
@@ -698,7 +811,9 @@ public final class ConnectionProto {
     }
     /**
      * <code>optional string sendHash = 6;</code>
+     * @return The bytes for sendHash.
      */
+    @java.lang.Override
     public com.google.protobuf.ByteString
         getSendHashBytes() {
       java.lang.Object ref = sendHash_;
@@ -717,13 +832,17 @@ public final class ConnectionProto {
     private volatile java.lang.Object remoteInterfaceId_;
     /**
      * <code>optional string remoteInterfaceId = 7;</code>
+     * @return Whether the remoteInterfaceId field is set.
      */
+    @java.lang.Override
     public boolean hasRemoteInterfaceId() {
-      return ((bitField0_ & 0x00000040) == 0x00000040);
+      return ((bitField0_ & 0x00000040) != 0);
     }
     /**
      * <code>optional string remoteInterfaceId = 7;</code>
+     * @return The remoteInterfaceId.
      */
+    @java.lang.Override
     public java.lang.String getRemoteInterfaceId() {
       java.lang.Object ref = remoteInterfaceId_;
       if (ref instanceof java.lang.String) {
@@ -740,7 +859,9 @@ public final class ConnectionProto {
     }
     /**
      * <code>optional string remoteInterfaceId = 7;</code>
+     * @return The bytes for remoteInterfaceId.
      */
+    @java.lang.Override
     public com.google.protobuf.ByteString
         getRemoteInterfaceIdBytes() {
       java.lang.Object ref = remoteInterfaceId_;
@@ -759,13 +880,17 @@ public final class ConnectionProto {
     private volatile java.lang.Object remoteProcessId_;
     /**
      * <code>optional string remoteProcessId = 8;</code>
+     * @return Whether the remoteProcessId field is set.
      */
+    @java.lang.Override
     public boolean hasRemoteProcessId() {
-      return ((bitField0_ & 0x00000080) == 0x00000080);
+      return ((bitField0_ & 0x00000080) != 0);
     }
     /**
      * <code>optional string remoteProcessId = 8;</code>
+     * @return The remoteProcessId.
      */
+    @java.lang.Override
     public java.lang.String getRemoteProcessId() {
       java.lang.Object ref = remoteProcessId_;
       if (ref instanceof java.lang.String) {
@@ -782,7 +907,9 @@ public final class ConnectionProto {
     }
     /**
      * <code>optional string remoteProcessId = 8;</code>
+     * @return The bytes for remoteProcessId.
      */
+    @java.lang.Override
     public com.google.protobuf.ByteString
         getRemoteProcessIdBytes() {
       java.lang.Object ref = remoteProcessId_;
@@ -801,13 +928,17 @@ public final class ConnectionProto {
     private volatile java.lang.Object remoteServiceId_;
     /**
      * <code>optional string remoteServiceId = 9;</code>
+     * @return Whether the remoteServiceId field is set.
      */
+    @java.lang.Override
     public boolean hasRemoteServiceId() {
-      return ((bitField0_ & 0x00000100) == 0x00000100);
+      return ((bitField0_ & 0x00000100) != 0);
     }
     /**
      * <code>optional string remoteServiceId = 9;</code>
+     * @return The remoteServiceId.
      */
+    @java.lang.Override
     public java.lang.String getRemoteServiceId() {
       java.lang.Object ref = remoteServiceId_;
       if (ref instanceof java.lang.String) {
@@ -824,7 +955,9 @@ public final class ConnectionProto {
     }
     /**
      * <code>optional string remoteServiceId = 9;</code>
+     * @return The bytes for remoteServiceId.
      */
+    @java.lang.Override
     public com.google.protobuf.ByteString
         getRemoteServiceIdBytes() {
       java.lang.Object ref = remoteServiceId_;
@@ -843,13 +976,17 @@ public final class ConnectionProto {
     private volatile java.lang.Object remoteProcessName_;
     /**
      * <code>optional string remoteProcessName = 10;</code>
+     * @return Whether the remoteProcessName field is set.
      */
+    @java.lang.Override
     public boolean hasRemoteProcessName() {
-      return ((bitField0_ & 0x00000200) == 0x00000200);
+      return ((bitField0_ & 0x00000200) != 0);
     }
     /**
      * <code>optional string remoteProcessName = 10;</code>
+     * @return The remoteProcessName.
      */
+    @java.lang.Override
     public java.lang.String getRemoteProcessName() {
       java.lang.Object ref = remoteProcessName_;
       if (ref instanceof java.lang.String) {
@@ -866,7 +1003,9 @@ public final class ConnectionProto {
     }
     /**
      * <code>optional string remoteProcessName = 10;</code>
+     * @return The bytes for remoteProcessName.
      */
+    @java.lang.Override
     public com.google.protobuf.ByteString
         getRemoteProcessNameBytes() {
       java.lang.Object ref = remoteProcessName_;
@@ -881,7 +1020,46 @@ public final class ConnectionProto {
       }
     }
 
+    public static final int MULTIPLEXED_FIELD_NUMBER = 11;
+    private boolean multiplexed_;
+    /**
+     * <code>optional bool multiplexed = 11;</code>
+     * @return Whether the multiplexed field is set.
+     */
+    @java.lang.Override
+    public boolean hasMultiplexed() {
+      return ((bitField0_ & 0x00000400) != 0);
+    }
+    /**
+     * <code>optional bool multiplexed = 11;</code>
+     * @return The multiplexed.
+     */
+    @java.lang.Override
+    public boolean getMultiplexed() {
+      return multiplexed_;
+    }
+
+    public static final int REQUESTID_FIELD_NUMBER = 15;
+    private long requestId_;
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return Whether the requestId field is set.
+     */
+    @java.lang.Override
+    public boolean hasRequestId() {
+      return ((bitField0_ & 0x00000800) != 0);
+    }
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return The requestId.
+     */
+    @java.lang.Override
+    public long getRequestId() {
+      return requestId_;
+    }
+
     private byte memoizedIsInitialized = -1;
+    @java.lang.Override
     public final boolean isInitialized() {
       byte isInitialized = memoizedIsInitialized;
       if (isInitialized == 1) return true;
@@ -899,84 +1077,99 @@ public final class ConnectionProto {
       return true;
     }
 
+    @java.lang.Override
     public void writeTo(com.google.protobuf.CodedOutputStream output)
                         throws java.io.IOException {
-      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+      if (((bitField0_ & 0x00000001) != 0)) {
         output.writeEnum(1, mode_);
       }
-      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+      if (((bitField0_ & 0x00000002) != 0)) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 2, connectionId_);
       }
-      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+      if (((bitField0_ & 0x00000004) != 0)) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 3, targetAddress_);
       }
-      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+      if (((bitField0_ & 0x00000008) != 0)) {
         output.writeInt32(4, listenPort_);
       }
-      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+      if (((bitField0_ & 0x00000010) != 0)) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 5, receiveHash_);
       }
-      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+      if (((bitField0_ & 0x00000020) != 0)) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 6, sendHash_);
       }
-      if (((bitField0_ & 0x00000040) == 0x00000040)) {
+      if (((bitField0_ & 0x00000040) != 0)) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 7, remoteInterfaceId_);
       }
-      if (((bitField0_ & 0x00000080) == 0x00000080)) {
+      if (((bitField0_ & 0x00000080) != 0)) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 8, remoteProcessId_);
       }
-      if (((bitField0_ & 0x00000100) == 0x00000100)) {
+      if (((bitField0_ & 0x00000100) != 0)) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 9, remoteServiceId_);
       }
-      if (((bitField0_ & 0x00000200) == 0x00000200)) {
+      if (((bitField0_ & 0x00000200) != 0)) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 10, remoteProcessName_);
       }
+      if (((bitField0_ & 0x00000400) != 0)) {
+        output.writeBool(11, multiplexed_);
+      }
+      if (((bitField0_ & 0x00000800) != 0)) {
+        output.writeInt64(15, requestId_);
+      }
       unknownFields.writeTo(output);
     }
 
+    @java.lang.Override
     public int getSerializedSize() {
       int size = memoizedSize;
       if (size != -1) return size;
 
       size = 0;
-      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+      if (((bitField0_ & 0x00000001) != 0)) {
         size += com.google.protobuf.CodedOutputStream
           .computeEnumSize(1, mode_);
       }
-      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+      if (((bitField0_ & 0x00000002) != 0)) {
         size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, connectionId_);
       }
-      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+      if (((bitField0_ & 0x00000004) != 0)) {
         size += com.google.protobuf.GeneratedMessageV3.computeStringSize(3, targetAddress_);
       }
-      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+      if (((bitField0_ & 0x00000008) != 0)) {
         size += com.google.protobuf.CodedOutputStream
           .computeInt32Size(4, listenPort_);
       }
-      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+      if (((bitField0_ & 0x00000010) != 0)) {
         size += com.google.protobuf.GeneratedMessageV3.computeStringSize(5, receiveHash_);
       }
-      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+      if (((bitField0_ & 0x00000020) != 0)) {
         size += com.google.protobuf.GeneratedMessageV3.computeStringSize(6, sendHash_);
       }
-      if (((bitField0_ & 0x00000040) == 0x00000040)) {
+      if (((bitField0_ & 0x00000040) != 0)) {
         size += com.google.protobuf.GeneratedMessageV3.computeStringSize(7, remoteInterfaceId_);
       }
-      if (((bitField0_ & 0x00000080) == 0x00000080)) {
+      if (((bitField0_ & 0x00000080) != 0)) {
         size += com.google.protobuf.GeneratedMessageV3.computeStringSize(8, remoteProcessId_);
       }
-      if (((bitField0_ & 0x00000100) == 0x00000100)) {
+      if (((bitField0_ & 0x00000100) != 0)) {
         size += com.google.protobuf.GeneratedMessageV3.computeStringSize(9, remoteServiceId_);
       }
-      if (((bitField0_ & 0x00000200) == 0x00000200)) {
+      if (((bitField0_ & 0x00000200) != 0)) {
         size += com.google.protobuf.GeneratedMessageV3.computeStringSize(10, remoteProcessName_);
       }
+      if (((bitField0_ & 0x00000400) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(11, multiplexed_);
+      }
+      if (((bitField0_ & 0x00000800) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(15, requestId_);
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
     }
 
-    private static final long serialVersionUID = 0L;
     @java.lang.Override
     public boolean equals(final java.lang.Object obj) {
       if (obj == this) {
@@ -987,58 +1180,67 @@ public final class ConnectionProto {
       }
       org.flexiblepower.proto.ConnectionProto.ConnectionMessage other = (org.flexiblepower.proto.ConnectionProto.ConnectionMessage) obj;
 
-      boolean result = true;
-      result = result && (hasMode() == other.hasMode());
+      if (hasMode() != other.hasMode()) return false;
       if (hasMode()) {
-        result = result && mode_ == other.mode_;
+        if (mode_ != other.mode_) return false;
       }
-      result = result && (hasConnectionId() == other.hasConnectionId());
+      if (hasConnectionId() != other.hasConnectionId()) return false;
       if (hasConnectionId()) {
-        result = result && getConnectionId()
-            .equals(other.getConnectionId());
+        if (!getConnectionId()
+            .equals(other.getConnectionId())) return false;
       }
-      result = result && (hasTargetAddress() == other.hasTargetAddress());
+      if (hasTargetAddress() != other.hasTargetAddress()) return false;
       if (hasTargetAddress()) {
-        result = result && getTargetAddress()
-            .equals(other.getTargetAddress());
+        if (!getTargetAddress()
+            .equals(other.getTargetAddress())) return false;
       }
-      result = result && (hasListenPort() == other.hasListenPort());
+      if (hasListenPort() != other.hasListenPort()) return false;
       if (hasListenPort()) {
-        result = result && (getListenPort()
-            == other.getListenPort());
+        if (getListenPort()
+            != other.getListenPort()) return false;
       }
-      result = result && (hasReceiveHash() == other.hasReceiveHash());
+      if (hasReceiveHash() != other.hasReceiveHash()) return false;
       if (hasReceiveHash()) {
-        result = result && getReceiveHash()
-            .equals(other.getReceiveHash());
+        if (!getReceiveHash()
+            .equals(other.getReceiveHash())) return false;
       }
-      result = result && (hasSendHash() == other.hasSendHash());
+      if (hasSendHash() != other.hasSendHash()) return false;
       if (hasSendHash()) {
-        result = result && getSendHash()
-            .equals(other.getSendHash());
+        if (!getSendHash()
+            .equals(other.getSendHash())) return false;
       }
-      result = result && (hasRemoteInterfaceId() == other.hasRemoteInterfaceId());
+      if (hasRemoteInterfaceId() != other.hasRemoteInterfaceId()) return false;
       if (hasRemoteInterfaceId()) {
-        result = result && getRemoteInterfaceId()
-            .equals(other.getRemoteInterfaceId());
+        if (!getRemoteInterfaceId()
+            .equals(other.getRemoteInterfaceId())) return false;
       }
-      result = result && (hasRemoteProcessId() == other.hasRemoteProcessId());
+      if (hasRemoteProcessId() != other.hasRemoteProcessId()) return false;
       if (hasRemoteProcessId()) {
-        result = result && getRemoteProcessId()
-            .equals(other.getRemoteProcessId());
+        if (!getRemoteProcessId()
+            .equals(other.getRemoteProcessId())) return false;
       }
-      result = result && (hasRemoteServiceId() == other.hasRemoteServiceId());
+      if (hasRemoteServiceId() != other.hasRemoteServiceId()) return false;
       if (hasRemoteServiceId()) {
-        result = result && getRemoteServiceId()
-            .equals(other.getRemoteServiceId());
+        if (!getRemoteServiceId()
+            .equals(other.getRemoteServiceId())) return false;
       }
-      result = result && (hasRemoteProcessName() == other.hasRemoteProcessName());
+      if (hasRemoteProcessName() != other.hasRemoteProcessName()) return false;
       if (hasRemoteProcessName()) {
-        result = result && getRemoteProcessName()
-            .equals(other.getRemoteProcessName());
+        if (!getRemoteProcessName()
+            .equals(other.getRemoteProcessName())) return false;
+      }
+      if (hasMultiplexed() != other.hasMultiplexed()) return false;
+      if (hasMultiplexed()) {
+        if (getMultiplexed()
+            != other.getMultiplexed()) return false;
+      }
+      if (hasRequestId() != other.hasRequestId()) return false;
+      if (hasRequestId()) {
+        if (getRequestId()
+            != other.getRequestId()) return false;
       }
-      result = result && unknownFields.equals(other.unknownFields);
-      return result;
+      if (!unknownFields.equals(other.unknownFields)) return false;
+      return true;
     }
 
     @java.lang.Override
@@ -1088,6 +1290,16 @@ public final class ConnectionProto {
         hash = (37 * hash) + REMOTEPROCESSNAME_FIELD_NUMBER;
         hash = (53 * hash) + getRemoteProcessName().hashCode();
       }
+      if (hasMultiplexed()) {
+        hash = (37 * hash) + MULTIPLEXED_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
+            getMultiplexed());
+      }
+      if (hasRequestId()) {
+        hash = (37 * hash) + REQUESTID_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getRequestId());
+      }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -1163,6 +1375,7 @@ public final class ConnectionProto {
           .parseWithIOException(PARSER, input, extensionRegistry);
     }
 
+    @java.lang.Override
     public Builder newBuilderForType() { return newBuilder(); }
     public static Builder newBuilder() {
       return DEFAULT_INSTANCE.toBuilder();
@@ -1170,6 +1383,7 @@ public final class ConnectionProto {
     public static Builder newBuilder(org.flexiblepower.proto.ConnectionProto.ConnectionMessage prototype) {
       return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
     }
+    @java.lang.Override
     public Builder toBuilder() {
       return this == DEFAULT_INSTANCE
           ? new Builder() : new Builder().mergeFrom(this);
@@ -1193,6 +1407,7 @@ public final class ConnectionProto {
         return org.flexiblepower.proto.ConnectionProto.internal_static_connection_ConnectionMessage_descriptor;
       }
 
+      @java.lang.Override
       protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
           internalGetFieldAccessorTable() {
         return org.flexiblepower.proto.ConnectionProto.internal_static_connection_ConnectionMessage_fieldAccessorTable
@@ -1215,6 +1430,7 @@ public final class ConnectionProto {
                 .alwaysUseFieldBuilders) {
         }
       }
+      @java.lang.Override
       public Builder clear() {
         super.clear();
         mode_ = 0;
@@ -1237,18 +1453,25 @@ public final class ConnectionProto {
         bitField0_ = (bitField0_ & ~0x00000100);
         remoteProcessName_ = "";
         bitField0_ = (bitField0_ & ~0x00000200);
+        multiplexed_ = false;
+        bitField0_ = (bitField0_ & ~0x00000400);
+        requestId_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000800);
         return this;
       }
 
+      @java.lang.Override
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
         return org.flexiblepower.proto.ConnectionProto.internal_static_connection_ConnectionMessage_descriptor;
       }
 
+      @java.lang.Override
       public org.flexiblepower.proto.ConnectionProto.ConnectionMessage getDefaultInstanceForType() {
         return org.flexiblepower.proto.ConnectionProto.ConnectionMessage.getDefaultInstance();
       }
 
+      @java.lang.Override
       public org.flexiblepower.proto.ConnectionProto.ConnectionMessage build() {
         org.flexiblepower.proto.ConnectionProto.ConnectionMessage result = buildPartial();
         if (!result.isInitialized()) {
@@ -1257,81 +1480,97 @@ public final class ConnectionProto {
         return result;
       }
 
+      @java.lang.Override
       public org.flexiblepower.proto.ConnectionProto.ConnectionMessage buildPartial() {
         org.flexiblepower.proto.ConnectionProto.ConnectionMessage result = new org.flexiblepower.proto.ConnectionProto.ConnectionMessage(this);
         int from_bitField0_ = bitField0_;
         int to_bitField0_ = 0;
-        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+        if (((from_bitField0_ & 0x00000001) != 0)) {
           to_bitField0_ |= 0x00000001;
         }
         result.mode_ = mode_;
-        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+        if (((from_bitField0_ & 0x00000002) != 0)) {
           to_bitField0_ |= 0x00000002;
         }
         result.connectionId_ = connectionId_;
-        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+        if (((from_bitField0_ & 0x00000004) != 0)) {
           to_bitField0_ |= 0x00000004;
         }
         result.targetAddress_ = targetAddress_;
-        if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
+        if (((from_bitField0_ & 0x00000008) != 0)) {
+          result.listenPort_ = listenPort_;
           to_bitField0_ |= 0x00000008;
         }
-        result.listenPort_ = listenPort_;
-        if (((from_bitField0_ & 0x00000010) == 0x00000010)) {
+        if (((from_bitField0_ & 0x00000010) != 0)) {
           to_bitField0_ |= 0x00000010;
         }
         result.receiveHash_ = receiveHash_;
-        if (((from_bitField0_ & 0x00000020) == 0x00000020)) {
+        if (((from_bitField0_ & 0x00000020) != 0)) {
           to_bitField0_ |= 0x00000020;
         }
         result.sendHash_ = sendHash_;
-        if (((from_bitField0_ & 0x00000040) == 0x00000040)) {
+        if (((from_bitField0_ & 0x00000040) != 0)) {
           to_bitField0_ |= 0x00000040;
         }
         result.remoteInterfaceId_ = remoteInterfaceId_;
-        if (((from_bitField0_ & 0x00000080) == 0x00000080)) {
+        if (((from_bitField0_ & 0x00000080) != 0)) {
           to_bitField0_ |= 0x00000080;
         }
         result.remoteProcessId_ = remoteProcessId_;
-        if (((from_bitField0_ & 0x00000100) == 0x00000100)) {
+        if (((from_bitField0_ & 0x00000100) != 0)) {
           to_bitField0_ |= 0x00000100;
         }
         result.remoteServiceId_ = remoteServiceId_;
-        if (((from_bitField0_ & 0x00000200) == 0x00000200)) {
+        if (((from_bitField0_ & 0x00000200) != 0)) {
           to_bitField0_ |= 0x00000200;
         }
         result.remoteProcessName_ = remoteProcessName_;
+        if (((from_bitField0_ & 0x00000400) != 0)) {
+          result.multiplexed_ = multiplexed_;
+          to_bitField0_ |= 0x00000400;
+        }
+        if (((from_bitField0_ & 0x00000800) != 0)) {
+          result.requestId_ = requestId_;
+          to_bitField0_ |= 0x00000800;
+        }
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
       }
 
+      @java.lang.Override
       public Builder clone() {
-        return (Builder) super.clone();
+        return super.clone();
       }
+      @java.lang.Override
       public Builder setField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
-          Object value) {
-        return (Builder) super.setField(field, value);
+          java.lang.Object value) {
+        return super.setField(field, value);
       }
+      @java.lang.Override
       public Builder clearField(
           com.google.protobuf.Descriptors.FieldDescriptor field) {
-        return (Builder) super.clearField(field);
+        return super.clearField(field);
       }
+      @java.lang.Override
       public Builder clearOneof(
           com.google.protobuf.Descriptors.OneofDescriptor oneof) {
-        return (Builder) super.clearOneof(oneof);
+        return super.clearOneof(oneof);
       }
+      @java.lang.Override
       public Builder setRepeatedField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
-          int index, Object value) {
-        return (Builder) super.setRepeatedField(field, index, value);
+          int index, java.lang.Object value) {
+        return super.setRepeatedField(field, index, value);
       }
+      @java.lang.Override
       public Builder addRepeatedField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
-          Object value) {
-        return (Builder) super.addRepeatedField(field, value);
+          java.lang.Object value) {
+        return super.addRepeatedField(field, value);
       }
+      @java.lang.Override
       public Builder mergeFrom(com.google.protobuf.Message other) {
         if (other instanceof org.flexiblepower.proto.ConnectionProto.ConnectionMessage) {
           return mergeFrom((org.flexiblepower.proto.ConnectionProto.ConnectionMessage)other);
@@ -1389,11 +1628,18 @@ public final class ConnectionProto {
           remoteProcessName_ = other.remoteProcessName_;
           onChanged();
         }
+        if (other.hasMultiplexed()) {
+          setMultiplexed(other.getMultiplexed());
+        }
+        if (other.hasRequestId()) {
+          setRequestId(other.getRequestId());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
       }
 
+      @java.lang.Override
       public final boolean isInitialized() {
         if (!hasMode()) {
           return false;
@@ -1404,6 +1650,7 @@ public final class ConnectionProto {
         return true;
       }
 
+      @java.lang.Override
       public Builder mergeFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
@@ -1426,19 +1673,25 @@ public final class ConnectionProto {
       private int mode_ = 0;
       /**
        * <code>required .connection.ConnectionMessage.ModeType mode = 1;</code>
+       * @return Whether the mode field is set.
        */
-      public boolean hasMode() {
-        return ((bitField0_ & 0x00000001) == 0x00000001);
+      @java.lang.Override public boolean hasMode() {
+        return ((bitField0_ & 0x00000001) != 0);
       }
       /**
        * <code>required .connection.ConnectionMessage.ModeType mode = 1;</code>
+       * @return The mode.
        */
+      @java.lang.Override
       public org.flexiblepower.proto.ConnectionProto.ConnectionMessage.ModeType getMode() {
+        @SuppressWarnings("deprecation")
         org.flexiblepower.proto.ConnectionProto.ConnectionMessage.ModeType result = org.flexiblepower.proto.ConnectionProto.ConnectionMessage.ModeType.valueOf(mode_);
         return result == null ? org.flexiblepower.proto.ConnectionProto.ConnectionMessage.ModeType.CREATE : result;
       }
       /**
        * <code>required .connection.ConnectionMessage.ModeType mode = 1;</code>
+       * @param value The mode to set.
+       * @return This builder for chaining.
        */
       public Builder setMode(org.flexiblepower.proto.ConnectionProto.ConnectionMessage.ModeType value) {
         if (value == null) {
@@ -1451,6 +1704,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>required .connection.ConnectionMessage.ModeType mode = 1;</code>
+       * @return This builder for chaining.
        */
       public Builder clearMode() {
         bitField0_ = (bitField0_ & ~0x00000001);
@@ -1462,12 +1716,14 @@ public final class ConnectionProto {
       private java.lang.Object connectionId_ = "";
       /**
        * <code>required string connectionId = 2;</code>
+       * @return Whether the connectionId field is set.
        */
       public boolean hasConnectionId() {
-        return ((bitField0_ & 0x00000002) == 0x00000002);
+        return ((bitField0_ & 0x00000002) != 0);
       }
       /**
        * <code>required string connectionId = 2;</code>
+       * @return The connectionId.
        */
       public java.lang.String getConnectionId() {
         java.lang.Object ref = connectionId_;
@@ -1485,6 +1741,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>required string connectionId = 2;</code>
+       * @return The bytes for connectionId.
        */
       public com.google.protobuf.ByteString
           getConnectionIdBytes() {
@@ -1501,6 +1758,8 @@ public final class ConnectionProto {
       }
       /**
        * <code>required string connectionId = 2;</code>
+       * @param value The connectionId to set.
+       * @return This builder for chaining.
        */
       public Builder setConnectionId(
           java.lang.String value) {
@@ -1514,6 +1773,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>required string connectionId = 2;</code>
+       * @return This builder for chaining.
        */
       public Builder clearConnectionId() {
         bitField0_ = (bitField0_ & ~0x00000002);
@@ -1523,6 +1783,8 @@ public final class ConnectionProto {
       }
       /**
        * <code>required string connectionId = 2;</code>
+       * @param value The bytes for connectionId to set.
+       * @return This builder for chaining.
        */
       public Builder setConnectionIdBytes(
           com.google.protobuf.ByteString value) {
@@ -1538,12 +1800,14 @@ public final class ConnectionProto {
       private java.lang.Object targetAddress_ = "";
       /**
        * <code>optional string targetAddress = 3;</code>
+       * @return Whether the targetAddress field is set.
        */
       public boolean hasTargetAddress() {
-        return ((bitField0_ & 0x00000004) == 0x00000004);
+        return ((bitField0_ & 0x00000004) != 0);
       }
       /**
        * <code>optional string targetAddress = 3;</code>
+       * @return The targetAddress.
        */
       public java.lang.String getTargetAddress() {
         java.lang.Object ref = targetAddress_;
@@ -1561,6 +1825,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string targetAddress = 3;</code>
+       * @return The bytes for targetAddress.
        */
       public com.google.protobuf.ByteString
           getTargetAddressBytes() {
@@ -1577,6 +1842,8 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string targetAddress = 3;</code>
+       * @param value The targetAddress to set.
+       * @return This builder for chaining.
        */
       public Builder setTargetAddress(
           java.lang.String value) {
@@ -1590,6 +1857,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string targetAddress = 3;</code>
+       * @return This builder for chaining.
        */
       public Builder clearTargetAddress() {
         bitField0_ = (bitField0_ & ~0x00000004);
@@ -1599,6 +1867,8 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string targetAddress = 3;</code>
+       * @param value The bytes for targetAddress to set.
+       * @return This builder for chaining.
        */
       public Builder setTargetAddressBytes(
           com.google.protobuf.ByteString value) {
@@ -1614,18 +1884,24 @@ public final class ConnectionProto {
       private int listenPort_ ;
       /**
        * <code>optional int32 listenPort = 4;</code>
+       * @return Whether the listenPort field is set.
        */
+      @java.lang.Override
       public boolean hasListenPort() {
-        return ((bitField0_ & 0x00000008) == 0x00000008);
+        return ((bitField0_ & 0x00000008) != 0);
       }
       /**
        * <code>optional int32 listenPort = 4;</code>
+       * @return The listenPort.
        */
+      @java.lang.Override
       public int getListenPort() {
         return listenPort_;
       }
       /**
        * <code>optional int32 listenPort = 4;</code>
+       * @param value The listenPort to set.
+       * @return This builder for chaining.
        */
       public Builder setListenPort(int value) {
         bitField0_ |= 0x00000008;
@@ -1635,6 +1911,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional int32 listenPort = 4;</code>
+       * @return This builder for chaining.
        */
       public Builder clearListenPort() {
         bitField0_ = (bitField0_ & ~0x00000008);
@@ -1646,12 +1923,14 @@ public final class ConnectionProto {
       private java.lang.Object receiveHash_ = "";
       /**
        * <code>optional string receiveHash = 5;</code>
+       * @return Whether the receiveHash field is set.
        */
       public boolean hasReceiveHash() {
-        return ((bitField0_ & 0x00000010) == 0x00000010);
+        return ((bitField0_ & 0x00000010) != 0);
       }
       /**
        * <code>optional string receiveHash = 5;</code>
+       * @return The receiveHash.
        */
       public java.lang.String getReceiveHash() {
         java.lang.Object ref = receiveHash_;
@@ -1669,6 +1948,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string receiveHash = 5;</code>
+       * @return The bytes for receiveHash.
        */
       public com.google.protobuf.ByteString
           getReceiveHashBytes() {
@@ -1685,6 +1965,8 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string receiveHash = 5;</code>
+       * @param value The receiveHash to set.
+       * @return This builder for chaining.
        */
       public Builder setReceiveHash(
           java.lang.String value) {
@@ -1698,6 +1980,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string receiveHash = 5;</code>
+       * @return This builder for chaining.
        */
       public Builder clearReceiveHash() {
         bitField0_ = (bitField0_ & ~0x00000010);
@@ -1707,6 +1990,8 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string receiveHash = 5;</code>
+       * @param value The bytes for receiveHash to set.
+       * @return This builder for chaining.
        */
       public Builder setReceiveHashBytes(
           com.google.protobuf.ByteString value) {
@@ -1722,12 +2007,14 @@ public final class ConnectionProto {
       private java.lang.Object sendHash_ = "";
       /**
        * <code>optional string sendHash = 6;</code>
+       * @return Whether the sendHash field is set.
        */
       public boolean hasSendHash() {
-        return ((bitField0_ & 0x00000020) == 0x00000020);
+        return ((bitField0_ & 0x00000020) != 0);
       }
       /**
        * <code>optional string sendHash = 6;</code>
+       * @return The sendHash.
        */
       public java.lang.String getSendHash() {
         java.lang.Object ref = sendHash_;
@@ -1745,6 +2032,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string sendHash = 6;</code>
+       * @return The bytes for sendHash.
        */
       public com.google.protobuf.ByteString
           getSendHashBytes() {
@@ -1761,6 +2049,8 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string sendHash = 6;</code>
+       * @param value The sendHash to set.
+       * @return This builder for chaining.
        */
       public Builder setSendHash(
           java.lang.String value) {
@@ -1774,6 +2064,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string sendHash = 6;</code>
+       * @return This builder for chaining.
        */
       public Builder clearSendHash() {
         bitField0_ = (bitField0_ & ~0x00000020);
@@ -1783,6 +2074,8 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string sendHash = 6;</code>
+       * @param value The bytes for sendHash to set.
+       * @return This builder for chaining.
        */
       public Builder setSendHashBytes(
           com.google.protobuf.ByteString value) {
@@ -1798,12 +2091,14 @@ public final class ConnectionProto {
       private java.lang.Object remoteInterfaceId_ = "";
       /**
        * <code>optional string remoteInterfaceId = 7;</code>
+       * @return Whether the remoteInterfaceId field is set.
        */
       public boolean hasRemoteInterfaceId() {
-        return ((bitField0_ & 0x00000040) == 0x00000040);
+        return ((bitField0_ & 0x00000040) != 0);
       }
       /**
        * <code>optional string remoteInterfaceId = 7;</code>
+       * @return The remoteInterfaceId.
        */
       public java.lang.String getRemoteInterfaceId() {
         java.lang.Object ref = remoteInterfaceId_;
@@ -1821,6 +2116,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string remoteInterfaceId = 7;</code>
+       * @return The bytes for remoteInterfaceId.
        */
       public com.google.protobuf.ByteString
           getRemoteInterfaceIdBytes() {
@@ -1837,6 +2133,8 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string remoteInterfaceId = 7;</code>
+       * @param value The remoteInterfaceId to set.
+       * @return This builder for chaining.
        */
       public Builder setRemoteInterfaceId(
           java.lang.String value) {
@@ -1850,6 +2148,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string remoteInterfaceId = 7;</code>
+       * @return This builder for chaining.
        */
       public Builder clearRemoteInterfaceId() {
         bitField0_ = (bitField0_ & ~0x00000040);
@@ -1859,6 +2158,8 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string remoteInterfaceId = 7;</code>
+       * @param value The bytes for remoteInterfaceId to set.
+       * @return This builder for chaining.
        */
       public Builder setRemoteInterfaceIdBytes(
           com.google.protobuf.ByteString value) {
@@ -1874,12 +2175,14 @@ public final class ConnectionProto {
       private java.lang.Object remoteProcessId_ = "";
       /**
        * <code>optional string remoteProcessId = 8;</code>
+       * @return Whether the remoteProcessId field is set.
        */
       public boolean hasRemoteProcessId() {
-        return ((bitField0_ & 0x00000080) == 0x00000080);
+        return ((bitField0_ & 0x00000080) != 0);
       }
       /**
        * <code>optional string remoteProcessId = 8;</code>
+       * @return The remoteProcessId.
        */
       public java.lang.String getRemoteProcessId() {
         java.lang.Object ref = remoteProcessId_;
@@ -1897,6 +2200,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string remoteProcessId = 8;</code>
+       * @return The bytes for remoteProcessId.
        */
       public com.google.protobuf.ByteString
           getRemoteProcessIdBytes() {
@@ -1913,6 +2217,8 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string remoteProcessId = 8;</code>
+       * @param value The remoteProcessId to set.
+       * @return This builder for chaining.
        */
       public Builder setRemoteProcessId(
           java.lang.String value) {
@@ -1926,6 +2232,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string remoteProcessId = 8;</code>
+       * @return This builder for chaining.
        */
       public Builder clearRemoteProcessId() {
         bitField0_ = (bitField0_ & ~0x00000080);
@@ -1935,6 +2242,8 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string remoteProcessId = 8;</code>
+       * @param value The bytes for remoteProcessId to set.
+       * @return This builder for chaining.
        */
       public Builder setRemoteProcessIdBytes(
           com.google.protobuf.ByteString value) {
@@ -1950,12 +2259,14 @@ public final class ConnectionProto {
       private java.lang.Object remoteServiceId_ = "";
       /**
        * <code>optional string remoteServiceId = 9;</code>
+       * @return Whether the remoteServiceId field is set.
        */
       public boolean hasRemoteServiceId() {
-        return ((bitField0_ & 0x00000100) == 0x00000100);
+        return ((bitField0_ & 0x00000100) != 0);
       }
       /**
        * <code>optional string remoteServiceId = 9;</code>
+       * @return The remoteServiceId.
        */
       public java.lang.String getRemoteServiceId() {
         java.lang.Object ref = remoteServiceId_;
@@ -1973,6 +2284,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string remoteServiceId = 9;</code>
+       * @return The bytes for remoteServiceId.
        */
       public com.google.protobuf.ByteString
           getRemoteServiceIdBytes() {
@@ -1989,6 +2301,8 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string remoteServiceId = 9;</code>
+       * @param value The remoteServiceId to set.
+       * @return This builder for chaining.
        */
       public Builder setRemoteServiceId(
           java.lang.String value) {
@@ -2002,6 +2316,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string remoteServiceId = 9;</code>
+       * @return This builder for chaining.
        */
       public Builder clearRemoteServiceId() {
         bitField0_ = (bitField0_ & ~0x00000100);
@@ -2011,6 +2326,8 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string remoteServiceId = 9;</code>
+       * @param value The bytes for remoteServiceId to set.
+       * @return This builder for chaining.
        */
       public Builder setRemoteServiceIdBytes(
           com.google.protobuf.ByteString value) {
@@ -2026,12 +2343,14 @@ public final class ConnectionProto {
       private java.lang.Object remoteProcessName_ = "";
       /**
        * <code>optional string remoteProcessName = 10;</code>
+       * @return Whether the remoteProcessName field is set.
        */
       public boolean hasRemoteProcessName() {
-        return ((bitField0_ & 0x00000200) == 0x00000200);
+        return ((bitField0_ & 0x00000200) != 0);
       }
       /**
        * <code>optional string remoteProcessName = 10;</code>
+       * @return The remoteProcessName.
        */
       public java.lang.String getRemoteProcessName() {
         java.lang.Object ref = remoteProcessName_;
@@ -2049,6 +2368,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string remoteProcessName = 10;</code>
+       * @return The bytes for remoteProcessName.
        */
       public com.google.protobuf.ByteString
           getRemoteProcessNameBytes() {
@@ -2065,6 +2385,8 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string remoteProcessName = 10;</code>
+       * @param value The remoteProcessName to set.
+       * @return This builder for chaining.
        */
       public Builder setRemoteProcessName(
           java.lang.String value) {
@@ -2078,6 +2400,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string remoteProcessName = 10;</code>
+       * @return This builder for chaining.
        */
       public Builder clearRemoteProcessName() {
         bitField0_ = (bitField0_ & ~0x00000200);
@@ -2087,6 +2410,8 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string remoteProcessName = 10;</code>
+       * @param value The bytes for remoteProcessName to set.
+       * @return This builder for chaining.
        */
       public Builder setRemoteProcessNameBytes(
           com.google.protobuf.ByteString value) {
@@ -2098,11 +2423,91 @@ public final class ConnectionProto {
         onChanged();
         return this;
       }
+
+      private boolean multiplexed_ ;
+      /**
+       * <code>optional bool multiplexed = 11;</code>
+       * @return Whether the multiplexed field is set.
+       */
+      @java.lang.Override
+      public boolean hasMultiplexed() {
+        return ((bitField0_ & 0x00000400) != 0);
+      }
+      /**
+       * <code>optional bool multiplexed = 11;</code>
+       * @return The multiplexed.
+       */
+      @java.lang.Override
+      public boolean getMultiplexed() {
+        return multiplexed_;
+      }
+      /**
+       * <code>optional bool multiplexed = 11;</code>
+       * @param value The multiplexed to set.
+       * @return This builder for chaining.
+       */
+      public Builder setMultiplexed(boolean value) {
+        bitField0_ |= 0x00000400;
+        multiplexed_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bool multiplexed = 11;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearMultiplexed() {
+        bitField0_ = (bitField0_ & ~0x00000400);
+        multiplexed_ = false;
+        onChanged();
+        return this;
+      }
+
+      private long requestId_ ;
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return Whether the requestId field is set.
+       */
+      @java.lang.Override
+      public boolean hasRequestId() {
+        return ((bitField0_ & 0x00000800) != 0);
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return The requestId.
+       */
+      @java.lang.Override
+      public long getRequestId() {
+        return requestId_;
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @param value The requestId to set.
+       * @return This builder for chaining.
+       */
+      public Builder setRequestId(long value) {
+        bitField0_ |= 0x00000800;
+        requestId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearRequestId() {
+        bitField0_ = (bitField0_ & ~0x00000800);
+        requestId_ = 0L;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
         return super.setUnknownFields(unknownFields);
       }
 
+      @java.lang.Override
       public final Builder mergeUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
         return super.mergeUnknownFields(unknownFields);
@@ -2124,11 +2529,12 @@ public final class ConnectionProto {
 
     @java.lang.Deprecated public static final com.google.protobuf.Parser<ConnectionMessage>
         PARSER = new com.google.protobuf.AbstractParser<ConnectionMessage>() {
+      @java.lang.Override
       public ConnectionMessage parsePartialFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
-          return new ConnectionMessage(input, extensionRegistry);
+        return new ConnectionMessage(input, extensionRegistry);
       }
     };
 
@@ -2141,6 +2547,7 @@ public final class ConnectionProto {
       return PARSER;
     }
 
+    @java.lang.Override
     public org.flexiblepower.proto.ConnectionProto.ConnectionMessage getDefaultInstanceForType() {
       return DEFAULT_INSTANCE;
     }
@@ -2153,62 +2560,176 @@ public final class ConnectionProto {
 
     /**
      * <code>required .connection.ConnectionState connectionState = 1;</code>
+     * @return Whether the connectionState field is set.
      */
     boolean hasConnectionState();
     /**
      * <code>required .connection.ConnectionState connectionState = 1;</code>
+     * @return The connectionState.
      */
     org.flexiblepower.proto.ConnectionProto.ConnectionState getConnectionState();
 
     /**
      * <code>required string connectionId = 2;</code>
+     * @return Whether the connectionId field is set.
      */
     boolean hasConnectionId();
     /**
      * <code>required string connectionId = 2;</code>
+     * @return The connectionId.
      */
     java.lang.String getConnectionId();
     /**
      * <code>required string connectionId = 2;</code>
+     * @return The bytes for connectionId.
      */
     com.google.protobuf.ByteString
         getConnectionIdBytes();
 
     /**
      * <code>optional string receiveHash = 3;</code>
+     * @return Whether the receiveHash field is set.
      */
     boolean hasReceiveHash();
     /**
      * <code>optional string receiveHash = 3;</code>
+     * @return The receiveHash.
      */
     java.lang.String getReceiveHash();
     /**
      * <code>optional string receiveHash = 3;</code>
+     * @return The bytes for receiveHash.
      */
     com.google.protobuf.ByteString
         getReceiveHashBytes();
 
     /**
      * <code>optional string sendHash = 4;</code>
+     * @return Whether the sendHash field is set.
      */
     boolean hasSendHash();
     /**
      * <code>optional string sendHash = 4;</code>
+     * @return The sendHash.
      */
     java.lang.String getSendHash();
     /**
      * <code>optional string sendHash = 4;</code>
+     * @return The bytes for sendHash.
      */
     com.google.protobuf.ByteString
         getSendHashBytes();
+
+    /**
+     * <code>repeated string compressionCodecs = 5;</code>
+     * @return A list containing the compressionCodecs.
+     */
+    java.util.List<java.lang.String>
+        getCompressionCodecsList();
+    /**
+     * <code>repeated string compressionCodecs = 5;</code>
+     * @return The count of compressionCodecs.
+     */
+    int getCompressionCodecsCount();
+    /**
+     * <code>repeated string compressionCodecs = 5;</code>
+     * @param index The index of the element to return.
+     * @return The compressionCodecs at the given index.
+     */
+    java.lang.String getCompressionCodecs(int index);
+    /**
+     * <code>repeated string compressionCodecs = 5;</code>
+     * @param index The index of the value to return.
+     * @return The bytes of the compressionCodecs at the given index.
+     */
+    com.google.protobuf.ByteString
+        getCompressionCodecsBytes(int index);
+
+    /**
+     * <code>optional int32 compressionThreshold = 6;</code>
+     * @return Whether the compressionThreshold field is set.
+     */
+    boolean hasCompressionThreshold();
+    /**
+     * <code>optional int32 compressionThreshold = 6;</code>
+     * @return The compressionThreshold.
+     */
+    int getCompressionThreshold();
+
+    /**
+     * <code>optional int32 replayCapacity = 7;</code>
+     * @return Whether the replayCapacity field is set.
+     */
+    boolean hasReplayCapacity();
+    /**
+     * <code>optional int32 replayCapacity = 7;</code>
+     * @return The replayCapacity.
+     */
+    int getReplayCapacity();
+
+    /**
+     * <code>optional int64 replaySession = 8;</code>
+     * @return Whether the replaySession field is set.
+     */
+    boolean hasReplaySession();
+    /**
+     * <code>optional int64 replaySession = 8;</code>
+     * @return The replaySession.
+     */
+    long getReplaySession();
+
+    /**
+     * <code>optional int64 receivedSequence = 9;</code>
+     * @return Whether the receivedSequence field is set.
+     */
+    boolean hasReceivedSequence();
+    /**
+     * <code>optional int64 receivedSequence = 9;</code>
+     * @return The receivedSequence.
+     */
+    long getReceivedSequence();
+
+    /**
+     * <code>optional int32 compactTypeTable = 10;</code>
+     * @return Whether the compactTypeTable field is set.
+     */
+    boolean hasCompactTypeTable();
+    /**
+     * <code>optional int32 compactTypeTable = 10;</code>
+     * @return The compactTypeTable.
+     */
+    int getCompactTypeTable();
+
+    /**
+     * <code>optional bool traceHeaders = 11;</code>
+     * @return Whether the traceHeaders field is set.
+     */
+    boolean hasTraceHeaders();
+    /**
+     * <code>optional bool traceHeaders = 11;</code>
+     * @return The traceHeaders.
+     */
+    boolean getTraceHeaders();
+
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return Whether the requestId field is set.
+     */
+    boolean hasRequestId();
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return The requestId.
+     */
+    long getRequestId();
   }
   /**
    * Protobuf type {@code connection.ConnectionHandshake}
    */
-  public  static final class ConnectionHandshake extends
+  public static final class ConnectionHandshake extends
       com.google.protobuf.GeneratedMessageV3 implements
       // @@protoc_insertion_point(message_implements:connection.ConnectionHandshake)
       ConnectionHandshakeOrBuilder {
+  private static final long serialVersionUID = 0L;
     // Use ConnectionHandshake.newBuilder() to construct.
     private ConnectionHandshake(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
       super(builder);
@@ -2218,6 +2739,14 @@ public final class ConnectionProto {
       connectionId_ = "";
       receiveHash_ = "";
       sendHash_ = "";
+      compressionCodecs_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new ConnectionHandshake();
     }
 
     @java.lang.Override
@@ -2230,6 +2759,9 @@ public final class ConnectionProto {
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
       int mutable_bitField0_ = 0;
       com.google.protobuf.UnknownFieldSet.Builder unknownFields =
           com.google.protobuf.UnknownFieldSet.newBuilder();
@@ -2241,15 +2773,9 @@ public final class ConnectionProto {
             case 0:
               done = true;
               break;
-            default: {
-              if (!parseUnknownField(input, unknownFields,
-                                     extensionRegistry, tag)) {
-                done = true;
-              }
-              break;
-            }
             case 8: {
               int rawValue = input.readEnum();
+                @SuppressWarnings("deprecation")
               org.flexiblepower.proto.ConnectionProto.ConnectionState value = org.flexiblepower.proto.ConnectionProto.ConnectionState.valueOf(rawValue);
               if (value == null) {
                 unknownFields.mergeVarintField(1, rawValue);
@@ -2277,6 +2803,57 @@ public final class ConnectionProto {
               sendHash_ = bs;
               break;
             }
+            case 42: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              if (!((mutable_bitField0_ & 0x00000010) != 0)) {
+                compressionCodecs_ = new com.google.protobuf.LazyStringArrayList();
+                mutable_bitField0_ |= 0x00000010;
+              }
+              compressionCodecs_.add(bs);
+              break;
+            }
+            case 48: {
+              bitField0_ |= 0x00000010;
+              compressionThreshold_ = input.readInt32();
+              break;
+            }
+            case 56: {
+              bitField0_ |= 0x00000020;
+              replayCapacity_ = input.readInt32();
+              break;
+            }
+            case 64: {
+              bitField0_ |= 0x00000040;
+              replaySession_ = input.readInt64();
+              break;
+            }
+            case 72: {
+              bitField0_ |= 0x00000080;
+              receivedSequence_ = input.readInt64();
+              break;
+            }
+            case 80: {
+              bitField0_ |= 0x00000100;
+              compactTypeTable_ = input.readInt32();
+              break;
+            }
+            case 88: {
+              bitField0_ |= 0x00000200;
+              traceHeaders_ = input.readBool();
+              break;
+            }
+            case 120: {
+              bitField0_ |= 0x00000400;
+              requestId_ = input.readInt64();
+              break;
+            }
+            default: {
+              if (!parseUnknownField(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -2285,6 +2862,9 @@ public final class ConnectionProto {
         throw new com.google.protobuf.InvalidProtocolBufferException(
             e).setUnfinishedMessage(this);
       } finally {
+        if (((mutable_bitField0_ & 0x00000010) != 0)) {
+          compressionCodecs_ = compressionCodecs_.getUnmodifiableView();
+        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
@@ -2294,6 +2874,7 @@ public final class ConnectionProto {
       return org.flexiblepower.proto.ConnectionProto.internal_static_connection_ConnectionHandshake_descriptor;
     }
 
+    @java.lang.Override
     protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
         internalGetFieldAccessorTable() {
       return org.flexiblepower.proto.ConnectionProto.internal_static_connection_ConnectionHandshake_fieldAccessorTable
@@ -2306,14 +2887,17 @@ public final class ConnectionProto {
     private int connectionState_;
     /**
      * <code>required .connection.ConnectionState connectionState = 1;</code>
+     * @return Whether the connectionState field is set.
      */
-    public boolean hasConnectionState() {
-      return ((bitField0_ & 0x00000001) == 0x00000001);
+    @java.lang.Override public boolean hasConnectionState() {
+      return ((bitField0_ & 0x00000001) != 0);
     }
     /**
      * <code>required .connection.ConnectionState connectionState = 1;</code>
+     * @return The connectionState.
      */
-    public org.flexiblepower.proto.ConnectionProto.ConnectionState getConnectionState() {
+    @java.lang.Override public org.flexiblepower.proto.ConnectionProto.ConnectionState getConnectionState() {
+      @SuppressWarnings("deprecation")
       org.flexiblepower.proto.ConnectionProto.ConnectionState result = org.flexiblepower.proto.ConnectionProto.ConnectionState.valueOf(connectionState_);
       return result == null ? org.flexiblepower.proto.ConnectionProto.ConnectionState.STARTING : result;
     }
@@ -2322,13 +2906,17 @@ public final class ConnectionProto {
     private volatile java.lang.Object connectionId_;
     /**
      * <code>required string connectionId = 2;</code>
+     * @return Whether the connectionId field is set.
      */
+    @java.lang.Override
     public boolean hasConnectionId() {
-      return ((bitField0_ & 0x00000002) == 0x00000002);
+      return ((bitField0_ & 0x00000002) != 0);
     }
     /**
      * <code>required string connectionId = 2;</code>
+     * @return The connectionId.
      */
+    @java.lang.Override
     public java.lang.String getConnectionId() {
       java.lang.Object ref = connectionId_;
       if (ref instanceof java.lang.String) {
@@ -2345,7 +2933,9 @@ public final class ConnectionProto {
     }
     /**
      * <code>required string connectionId = 2;</code>
+     * @return The bytes for connectionId.
      */
+    @java.lang.Override
     public com.google.protobuf.ByteString
         getConnectionIdBytes() {
       java.lang.Object ref = connectionId_;
@@ -2364,13 +2954,17 @@ public final class ConnectionProto {
     private volatile java.lang.Object receiveHash_;
     /**
      * <code>optional string receiveHash = 3;</code>
+     * @return Whether the receiveHash field is set.
      */
+    @java.lang.Override
     public boolean hasReceiveHash() {
-      return ((bitField0_ & 0x00000004) == 0x00000004);
+      return ((bitField0_ & 0x00000004) != 0);
     }
     /**
      * <code>optional string receiveHash = 3;</code>
+     * @return The receiveHash.
      */
+    @java.lang.Override
     public java.lang.String getReceiveHash() {
       java.lang.Object ref = receiveHash_;
       if (ref instanceof java.lang.String) {
@@ -2387,7 +2981,9 @@ public final class ConnectionProto {
     }
     /**
      * <code>optional string receiveHash = 3;</code>
+     * @return The bytes for receiveHash.
      */
+    @java.lang.Override
     public com.google.protobuf.ByteString
         getReceiveHashBytes() {
       java.lang.Object ref = receiveHash_;
@@ -2406,13 +3002,17 @@ public final class ConnectionProto {
     private volatile java.lang.Object sendHash_;
     /**
      * <code>optional string sendHash = 4;</code>
+     * @return Whether the sendHash field is set.
      */
+    @java.lang.Override
     public boolean hasSendHash() {
-      return ((bitField0_ & 0x00000008) == 0x00000008);
+      return ((bitField0_ & 0x00000008) != 0);
     }
     /**
      * <code>optional string sendHash = 4;</code>
+     * @return The sendHash.
      */
+    @java.lang.Override
     public java.lang.String getSendHash() {
       java.lang.Object ref = sendHash_;
       if (ref instanceof java.lang.String) {
@@ -2429,7 +3029,9 @@ public final class ConnectionProto {
     }
     /**
      * <code>optional string sendHash = 4;</code>
+     * @return The bytes for sendHash.
      */
+    @java.lang.Override
     public com.google.protobuf.ByteString
         getSendHashBytes() {
       java.lang.Object ref = sendHash_;
@@ -2444,65 +3046,295 @@ public final class ConnectionProto {
       }
     }
 
-    private byte memoizedIsInitialized = -1;
-    public final boolean isInitialized() {
-      byte isInitialized = memoizedIsInitialized;
-      if (isInitialized == 1) return true;
-      if (isInitialized == 0) return false;
-
-      if (!hasConnectionState()) {
-        memoizedIsInitialized = 0;
-        return false;
-      }
-      if (!hasConnectionId()) {
-        memoizedIsInitialized = 0;
-        return false;
-      }
-      memoizedIsInitialized = 1;
-      return true;
+    public static final int COMPRESSIONCODECS_FIELD_NUMBER = 5;
+    private com.google.protobuf.LazyStringList compressionCodecs_;
+    /**
+     * <code>repeated string compressionCodecs = 5;</code>
+     * @return A list containing the compressionCodecs.
+     */
+    public com.google.protobuf.ProtocolStringList
+        getCompressionCodecsList() {
+      return compressionCodecs_;
+    }
+    /**
+     * <code>repeated string compressionCodecs = 5;</code>
+     * @return The count of compressionCodecs.
+     */
+    public int getCompressionCodecsCount() {
+      return compressionCodecs_.size();
+    }
+    /**
+     * <code>repeated string compressionCodecs = 5;</code>
+     * @param index The index of the element to return.
+     * @return The compressionCodecs at the given index.
+     */
+    public java.lang.String getCompressionCodecs(int index) {
+      return compressionCodecs_.get(index);
+    }
+    /**
+     * <code>repeated string compressionCodecs = 5;</code>
+     * @param index The index of the value to return.
+     * @return The bytes of the compressionCodecs at the given index.
+     */
+    public com.google.protobuf.ByteString
+        getCompressionCodecsBytes(int index) {
+      return compressionCodecs_.getByteString(index);
     }
 
-    public void writeTo(com.google.protobuf.CodedOutputStream output)
+    public static final int COMPRESSIONTHRESHOLD_FIELD_NUMBER = 6;
+    private int compressionThreshold_;
+    /**
+     * <code>optional int32 compressionThreshold = 6;</code>
+     * @return Whether the compressionThreshold field is set.
+     */
+    @java.lang.Override
+    public boolean hasCompressionThreshold() {
+      return ((bitField0_ & 0x00000010) != 0);
+    }
+    /**
+     * <code>optional int32 compressionThreshold = 6;</code>
+     * @return The compressionThreshold.
+     */
+    @java.lang.Override
+    public int getCompressionThreshold() {
+      return compressionThreshold_;
+    }
+
+    public static final int REPLAYCAPACITY_FIELD_NUMBER = 7;
+    private int replayCapacity_;
+    /**
+     * <code>optional int32 replayCapacity = 7;</code>
+     * @return Whether the replayCapacity field is set.
+     */
+    @java.lang.Override
+    public boolean hasReplayCapacity() {
+      return ((bitField0_ & 0x00000020) != 0);
+    }
+    /**
+     * <code>optional int32 replayCapacity = 7;</code>
+     * @return The replayCapacity.
+     */
+    @java.lang.Override
+    public int getReplayCapacity() {
+      return replayCapacity_;
+    }
+
+    public static final int REPLAYSESSION_FIELD_NUMBER = 8;
+    private long replaySession_;
+    /**
+     * <code>optional int64 replaySession = 8;</code>
+     * @return Whether the replaySession field is set.
+     */
+    @java.lang.Override
+    public boolean hasReplaySession() {
+      return ((bitField0_ & 0x00000040) != 0);
+    }
+    /**
+     * <code>optional int64 replaySession = 8;</code>
+     * @return The replaySession.
+     */
+    @java.lang.Override
+    public long getReplaySession() {
+      return replaySession_;
+    }
+
+    public static final int RECEIVEDSEQUENCE_FIELD_NUMBER = 9;
+    private long receivedSequence_;
+    /**
+     * <code>optional int64 receivedSequence = 9;</code>
+     * @return Whether the receivedSequence field is set.
+     */
+    @java.lang.Override
+    public boolean hasReceivedSequence() {
+      return ((bitField0_ & 0x00000080) != 0);
+    }
+    /**
+     * <code>optional int64 receivedSequence = 9;</code>
+     * @return The receivedSequence.
+     */
+    @java.lang.Override
+    public long getReceivedSequence() {
+      return receivedSequence_;
+    }
+
+    public static final int COMPACTTYPETABLE_FIELD_NUMBER = 10;
+    private int compactTypeTable_;
+    /**
+     * <code>optional int32 compactTypeTable = 10;</code>
+     * @return Whether the compactTypeTable field is set.
+     */
+    @java.lang.Override
+    public boolean hasCompactTypeTable() {
+      return ((bitField0_ & 0x00000100) != 0);
+    }
+    /**
+     * <code>optional int32 compactTypeTable = 10;</code>
+     * @return The compactTypeTable.
+     */
+    @java.lang.Override
+    public int getCompactTypeTable() {
+      return compactTypeTable_;
+    }
+
+    public static final int TRACEHEADERS_FIELD_NUMBER = 11;
+    private boolean traceHeaders_;
+    /**
+     * <code>optional bool traceHeaders = 11;</code>
+     * @return Whether the traceHeaders field is set.
+     */
+    @java.lang.Override
+    public boolean hasTraceHeaders() {
+      return ((bitField0_ & 0x00000200) != 0);
+    }
+    /**
+     * <code>optional bool traceHeaders = 11;</code>
+     * @return The traceHeaders.
+     */
+    @java.lang.Override
+    public boolean getTraceHeaders() {
+      return traceHeaders_;
+    }
+
+    public static final int REQUESTID_FIELD_NUMBER = 15;
+    private long requestId_;
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return Whether the requestId field is set.
+     */
+    @java.lang.Override
+    public boolean hasRequestId() {
+      return ((bitField0_ & 0x00000400) != 0);
+    }
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return The requestId.
+     */
+    @java.lang.Override
+    public long getRequestId() {
+      return requestId_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      if (!hasConnectionState()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      if (!hasConnectionId()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
                         throws java.io.IOException {
-      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+      if (((bitField0_ & 0x00000001) != 0)) {
         output.writeEnum(1, connectionState_);
       }
-      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+      if (((bitField0_ & 0x00000002) != 0)) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 2, connectionId_);
       }
-      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+      if (((bitField0_ & 0x00000004) != 0)) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 3, receiveHash_);
       }
-      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+      if (((bitField0_ & 0x00000008) != 0)) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 4, sendHash_);
       }
+      for (int i = 0; i < compressionCodecs_.size(); i++) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 5, compressionCodecs_.getRaw(i));
+      }
+      if (((bitField0_ & 0x00000010) != 0)) {
+        output.writeInt32(6, compressionThreshold_);
+      }
+      if (((bitField0_ & 0x00000020) != 0)) {
+        output.writeInt32(7, replayCapacity_);
+      }
+      if (((bitField0_ & 0x00000040) != 0)) {
+        output.writeInt64(8, replaySession_);
+      }
+      if (((bitField0_ & 0x00000080) != 0)) {
+        output.writeInt64(9, receivedSequence_);
+      }
+      if (((bitField0_ & 0x00000100) != 0)) {
+        output.writeInt32(10, compactTypeTable_);
+      }
+      if (((bitField0_ & 0x00000200) != 0)) {
+        output.writeBool(11, traceHeaders_);
+      }
+      if (((bitField0_ & 0x00000400) != 0)) {
+        output.writeInt64(15, requestId_);
+      }
       unknownFields.writeTo(output);
     }
 
+    @java.lang.Override
     public int getSerializedSize() {
       int size = memoizedSize;
       if (size != -1) return size;
 
       size = 0;
-      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+      if (((bitField0_ & 0x00000001) != 0)) {
         size += com.google.protobuf.CodedOutputStream
           .computeEnumSize(1, connectionState_);
       }
-      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+      if (((bitField0_ & 0x00000002) != 0)) {
         size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, connectionId_);
       }
-      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+      if (((bitField0_ & 0x00000004) != 0)) {
         size += com.google.protobuf.GeneratedMessageV3.computeStringSize(3, receiveHash_);
       }
-      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+      if (((bitField0_ & 0x00000008) != 0)) {
         size += com.google.protobuf.GeneratedMessageV3.computeStringSize(4, sendHash_);
       }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < compressionCodecs_.size(); i++) {
+          dataSize += computeStringSizeNoTag(compressionCodecs_.getRaw(i));
+        }
+        size += dataSize;
+        size += 1 * getCompressionCodecsList().size();
+      }
+      if (((bitField0_ & 0x00000010) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(6, compressionThreshold_);
+      }
+      if (((bitField0_ & 0x00000020) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(7, replayCapacity_);
+      }
+      if (((bitField0_ & 0x00000040) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(8, replaySession_);
+      }
+      if (((bitField0_ & 0x00000080) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(9, receivedSequence_);
+      }
+      if (((bitField0_ & 0x00000100) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(10, compactTypeTable_);
+      }
+      if (((bitField0_ & 0x00000200) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(11, traceHeaders_);
+      }
+      if (((bitField0_ & 0x00000400) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(15, requestId_);
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
     }
 
-    private static final long serialVersionUID = 0L;
     @java.lang.Override
     public boolean equals(final java.lang.Object obj) {
       if (obj == this) {
@@ -2513,28 +3345,64 @@ public final class ConnectionProto {
       }
       org.flexiblepower.proto.ConnectionProto.ConnectionHandshake other = (org.flexiblepower.proto.ConnectionProto.ConnectionHandshake) obj;
 
-      boolean result = true;
-      result = result && (hasConnectionState() == other.hasConnectionState());
+      if (hasConnectionState() != other.hasConnectionState()) return false;
       if (hasConnectionState()) {
-        result = result && connectionState_ == other.connectionState_;
+        if (connectionState_ != other.connectionState_) return false;
       }
-      result = result && (hasConnectionId() == other.hasConnectionId());
+      if (hasConnectionId() != other.hasConnectionId()) return false;
       if (hasConnectionId()) {
-        result = result && getConnectionId()
-            .equals(other.getConnectionId());
+        if (!getConnectionId()
+            .equals(other.getConnectionId())) return false;
       }
-      result = result && (hasReceiveHash() == other.hasReceiveHash());
+      if (hasReceiveHash() != other.hasReceiveHash()) return false;
       if (hasReceiveHash()) {
-        result = result && getReceiveHash()
-            .equals(other.getReceiveHash());
+        if (!getReceiveHash()
+            .equals(other.getReceiveHash())) return false;
       }
-      result = result && (hasSendHash() == other.hasSendHash());
+      if (hasSendHash() != other.hasSendHash()) return false;
       if (hasSendHash()) {
-        result = result && getSendHash()
-            .equals(other.getSendHash());
-      }
-      result = result && unknownFields.equals(other.unknownFields);
-      return result;
+        if (!getSendHash()
+            .equals(other.getSendHash())) return false;
+      }
+      if (!getCompressionCodecsList()
+          .equals(other.getCompressionCodecsList())) return false;
+      if (hasCompressionThreshold() != other.hasCompressionThreshold()) return false;
+      if (hasCompressionThreshold()) {
+        if (getCompressionThreshold()
+            != other.getCompressionThreshold()) return false;
+      }
+      if (hasReplayCapacity() != other.hasReplayCapacity()) return false;
+      if (hasReplayCapacity()) {
+        if (getReplayCapacity()
+            != other.getReplayCapacity()) return false;
+      }
+      if (hasReplaySession() != other.hasReplaySession()) return false;
+      if (hasReplaySession()) {
+        if (getReplaySession()
+            != other.getReplaySession()) return false;
+      }
+      if (hasReceivedSequence() != other.hasReceivedSequence()) return false;
+      if (hasReceivedSequence()) {
+        if (getReceivedSequence()
+            != other.getReceivedSequence()) return false;
+      }
+      if (hasCompactTypeTable() != other.hasCompactTypeTable()) return false;
+      if (hasCompactTypeTable()) {
+        if (getCompactTypeTable()
+            != other.getCompactTypeTable()) return false;
+      }
+      if (hasTraceHeaders() != other.hasTraceHeaders()) return false;
+      if (hasTraceHeaders()) {
+        if (getTraceHeaders()
+            != other.getTraceHeaders()) return false;
+      }
+      if (hasRequestId() != other.hasRequestId()) return false;
+      if (hasRequestId()) {
+        if (getRequestId()
+            != other.getRequestId()) return false;
+      }
+      if (!unknownFields.equals(other.unknownFields)) return false;
+      return true;
     }
 
     @java.lang.Override
@@ -2560,6 +3428,42 @@ public final class ConnectionProto {
         hash = (37 * hash) + SENDHASH_FIELD_NUMBER;
         hash = (53 * hash) + getSendHash().hashCode();
       }
+      if (getCompressionCodecsCount() > 0) {
+        hash = (37 * hash) + COMPRESSIONCODECS_FIELD_NUMBER;
+        hash = (53 * hash) + getCompressionCodecsList().hashCode();
+      }
+      if (hasCompressionThreshold()) {
+        hash = (37 * hash) + COMPRESSIONTHRESHOLD_FIELD_NUMBER;
+        hash = (53 * hash) + getCompressionThreshold();
+      }
+      if (hasReplayCapacity()) {
+        hash = (37 * hash) + REPLAYCAPACITY_FIELD_NUMBER;
+        hash = (53 * hash) + getReplayCapacity();
+      }
+      if (hasReplaySession()) {
+        hash = (37 * hash) + REPLAYSESSION_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getReplaySession());
+      }
+      if (hasReceivedSequence()) {
+        hash = (37 * hash) + RECEIVEDSEQUENCE_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getReceivedSequence());
+      }
+      if (hasCompactTypeTable()) {
+        hash = (37 * hash) + COMPACTTYPETABLE_FIELD_NUMBER;
+        hash = (53 * hash) + getCompactTypeTable();
+      }
+      if (hasTraceHeaders()) {
+        hash = (37 * hash) + TRACEHEADERS_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
+            getTraceHeaders());
+      }
+      if (hasRequestId()) {
+        hash = (37 * hash) + REQUESTID_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getRequestId());
+      }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -2635,6 +3539,7 @@ public final class ConnectionProto {
           .parseWithIOException(PARSER, input, extensionRegistry);
     }
 
+    @java.lang.Override
     public Builder newBuilderForType() { return newBuilder(); }
     public static Builder newBuilder() {
       return DEFAULT_INSTANCE.toBuilder();
@@ -2642,6 +3547,7 @@ public final class ConnectionProto {
     public static Builder newBuilder(org.flexiblepower.proto.ConnectionProto.ConnectionHandshake prototype) {
       return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
     }
+    @java.lang.Override
     public Builder toBuilder() {
       return this == DEFAULT_INSTANCE
           ? new Builder() : new Builder().mergeFrom(this);
@@ -2665,6 +3571,7 @@ public final class ConnectionProto {
         return org.flexiblepower.proto.ConnectionProto.internal_static_connection_ConnectionHandshake_descriptor;
       }
 
+      @java.lang.Override
       protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
           internalGetFieldAccessorTable() {
         return org.flexiblepower.proto.ConnectionProto.internal_static_connection_ConnectionHandshake_fieldAccessorTable
@@ -2687,6 +3594,7 @@ public final class ConnectionProto {
                 .alwaysUseFieldBuilders) {
         }
       }
+      @java.lang.Override
       public Builder clear() {
         super.clear();
         connectionState_ = 0;
@@ -2697,18 +3605,37 @@ public final class ConnectionProto {
         bitField0_ = (bitField0_ & ~0x00000004);
         sendHash_ = "";
         bitField0_ = (bitField0_ & ~0x00000008);
+        compressionCodecs_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000010);
+        compressionThreshold_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000020);
+        replayCapacity_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000040);
+        replaySession_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000080);
+        receivedSequence_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000100);
+        compactTypeTable_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000200);
+        traceHeaders_ = false;
+        bitField0_ = (bitField0_ & ~0x00000400);
+        requestId_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000800);
         return this;
       }
 
+      @java.lang.Override
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
         return org.flexiblepower.proto.ConnectionProto.internal_static_connection_ConnectionHandshake_descriptor;
       }
 
+      @java.lang.Override
       public org.flexiblepower.proto.ConnectionProto.ConnectionHandshake getDefaultInstanceForType() {
         return org.flexiblepower.proto.ConnectionProto.ConnectionHandshake.getDefaultInstance();
       }
 
+      @java.lang.Override
       public org.flexiblepower.proto.ConnectionProto.ConnectionHandshake build() {
         org.flexiblepower.proto.ConnectionProto.ConnectionHandshake result = buildPartial();
         if (!result.isInitialized()) {
@@ -2717,57 +3644,98 @@ public final class ConnectionProto {
         return result;
       }
 
+      @java.lang.Override
       public org.flexiblepower.proto.ConnectionProto.ConnectionHandshake buildPartial() {
         org.flexiblepower.proto.ConnectionProto.ConnectionHandshake result = new org.flexiblepower.proto.ConnectionProto.ConnectionHandshake(this);
         int from_bitField0_ = bitField0_;
         int to_bitField0_ = 0;
-        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+        if (((from_bitField0_ & 0x00000001) != 0)) {
           to_bitField0_ |= 0x00000001;
         }
         result.connectionState_ = connectionState_;
-        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+        if (((from_bitField0_ & 0x00000002) != 0)) {
           to_bitField0_ |= 0x00000002;
         }
         result.connectionId_ = connectionId_;
-        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+        if (((from_bitField0_ & 0x00000004) != 0)) {
           to_bitField0_ |= 0x00000004;
         }
         result.receiveHash_ = receiveHash_;
-        if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
+        if (((from_bitField0_ & 0x00000008) != 0)) {
           to_bitField0_ |= 0x00000008;
         }
         result.sendHash_ = sendHash_;
+        if (((bitField0_ & 0x00000010) != 0)) {
+          compressionCodecs_ = compressionCodecs_.getUnmodifiableView();
+          bitField0_ = (bitField0_ & ~0x00000010);
+        }
+        result.compressionCodecs_ = compressionCodecs_;
+        if (((from_bitField0_ & 0x00000020) != 0)) {
+          result.compressionThreshold_ = compressionThreshold_;
+          to_bitField0_ |= 0x00000010;
+        }
+        if (((from_bitField0_ & 0x00000040) != 0)) {
+          result.replayCapacity_ = replayCapacity_;
+          to_bitField0_ |= 0x00000020;
+        }
+        if (((from_bitField0_ & 0x00000080) != 0)) {
+          result.replaySession_ = replaySession_;
+          to_bitField0_ |= 0x00000040;
+        }
+        if (((from_bitField0_ & 0x00000100) != 0)) {
+          result.receivedSequence_ = receivedSequence_;
+          to_bitField0_ |= 0x00000080;
+        }
+        if (((from_bitField0_ & 0x00000200) != 0)) {
+          result.compactTypeTable_ = compactTypeTable_;
+          to_bitField0_ |= 0x00000100;
+        }
+        if (((from_bitField0_ & 0x00000400) != 0)) {
+          result.traceHeaders_ = traceHeaders_;
+          to_bitField0_ |= 0x00000200;
+        }
+        if (((from_bitField0_ & 0x00000800) != 0)) {
+          result.requestId_ = requestId_;
+          to_bitField0_ |= 0x00000400;
+        }
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
       }
 
+      @java.lang.Override
       public Builder clone() {
-        return (Builder) super.clone();
+        return super.clone();
       }
+      @java.lang.Override
       public Builder setField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
-          Object value) {
-        return (Builder) super.setField(field, value);
+          java.lang.Object value) {
+        return super.setField(field, value);
       }
+      @java.lang.Override
       public Builder clearField(
           com.google.protobuf.Descriptors.FieldDescriptor field) {
-        return (Builder) super.clearField(field);
+        return super.clearField(field);
       }
+      @java.lang.Override
       public Builder clearOneof(
           com.google.protobuf.Descriptors.OneofDescriptor oneof) {
-        return (Builder) super.clearOneof(oneof);
+        return super.clearOneof(oneof);
       }
+      @java.lang.Override
       public Builder setRepeatedField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
-          int index, Object value) {
-        return (Builder) super.setRepeatedField(field, index, value);
+          int index, java.lang.Object value) {
+        return super.setRepeatedField(field, index, value);
       }
+      @java.lang.Override
       public Builder addRepeatedField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
-          Object value) {
-        return (Builder) super.addRepeatedField(field, value);
+          java.lang.Object value) {
+        return super.addRepeatedField(field, value);
       }
+      @java.lang.Override
       public Builder mergeFrom(com.google.protobuf.Message other) {
         if (other instanceof org.flexiblepower.proto.ConnectionProto.ConnectionHandshake) {
           return mergeFrom((org.flexiblepower.proto.ConnectionProto.ConnectionHandshake)other);
@@ -2797,11 +3765,43 @@ public final class ConnectionProto {
           sendHash_ = other.sendHash_;
           onChanged();
         }
+        if (!other.compressionCodecs_.isEmpty()) {
+          if (compressionCodecs_.isEmpty()) {
+            compressionCodecs_ = other.compressionCodecs_;
+            bitField0_ = (bitField0_ & ~0x00000010);
+          } else {
+            ensureCompressionCodecsIsMutable();
+            compressionCodecs_.addAll(other.compressionCodecs_);
+          }
+          onChanged();
+        }
+        if (other.hasCompressionThreshold()) {
+          setCompressionThreshold(other.getCompressionThreshold());
+        }
+        if (other.hasReplayCapacity()) {
+          setReplayCapacity(other.getReplayCapacity());
+        }
+        if (other.hasReplaySession()) {
+          setReplaySession(other.getReplaySession());
+        }
+        if (other.hasReceivedSequence()) {
+          setReceivedSequence(other.getReceivedSequence());
+        }
+        if (other.hasCompactTypeTable()) {
+          setCompactTypeTable(other.getCompactTypeTable());
+        }
+        if (other.hasTraceHeaders()) {
+          setTraceHeaders(other.getTraceHeaders());
+        }
+        if (other.hasRequestId()) {
+          setRequestId(other.getRequestId());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
       }
 
+      @java.lang.Override
       public final boolean isInitialized() {
         if (!hasConnectionState()) {
           return false;
@@ -2812,6 +3812,7 @@ public final class ConnectionProto {
         return true;
       }
 
+      @java.lang.Override
       public Builder mergeFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
@@ -2834,19 +3835,25 @@ public final class ConnectionProto {
       private int connectionState_ = 0;
       /**
        * <code>required .connection.ConnectionState connectionState = 1;</code>
+       * @return Whether the connectionState field is set.
        */
-      public boolean hasConnectionState() {
-        return ((bitField0_ & 0x00000001) == 0x00000001);
+      @java.lang.Override public boolean hasConnectionState() {
+        return ((bitField0_ & 0x00000001) != 0);
       }
       /**
        * <code>required .connection.ConnectionState connectionState = 1;</code>
+       * @return The connectionState.
        */
+      @java.lang.Override
       public org.flexiblepower.proto.ConnectionProto.ConnectionState getConnectionState() {
+        @SuppressWarnings("deprecation")
         org.flexiblepower.proto.ConnectionProto.ConnectionState result = org.flexiblepower.proto.ConnectionProto.ConnectionState.valueOf(connectionState_);
         return result == null ? org.flexiblepower.proto.ConnectionProto.ConnectionState.STARTING : result;
       }
       /**
        * <code>required .connection.ConnectionState connectionState = 1;</code>
+       * @param value The connectionState to set.
+       * @return This builder for chaining.
        */
       public Builder setConnectionState(org.flexiblepower.proto.ConnectionProto.ConnectionState value) {
         if (value == null) {
@@ -2859,6 +3866,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>required .connection.ConnectionState connectionState = 1;</code>
+       * @return This builder for chaining.
        */
       public Builder clearConnectionState() {
         bitField0_ = (bitField0_ & ~0x00000001);
@@ -2870,12 +3878,14 @@ public final class ConnectionProto {
       private java.lang.Object connectionId_ = "";
       /**
        * <code>required string connectionId = 2;</code>
+       * @return Whether the connectionId field is set.
        */
       public boolean hasConnectionId() {
-        return ((bitField0_ & 0x00000002) == 0x00000002);
+        return ((bitField0_ & 0x00000002) != 0);
       }
       /**
        * <code>required string connectionId = 2;</code>
+       * @return The connectionId.
        */
       public java.lang.String getConnectionId() {
         java.lang.Object ref = connectionId_;
@@ -2893,6 +3903,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>required string connectionId = 2;</code>
+       * @return The bytes for connectionId.
        */
       public com.google.protobuf.ByteString
           getConnectionIdBytes() {
@@ -2909,6 +3920,8 @@ public final class ConnectionProto {
       }
       /**
        * <code>required string connectionId = 2;</code>
+       * @param value The connectionId to set.
+       * @return This builder for chaining.
        */
       public Builder setConnectionId(
           java.lang.String value) {
@@ -2922,6 +3935,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>required string connectionId = 2;</code>
+       * @return This builder for chaining.
        */
       public Builder clearConnectionId() {
         bitField0_ = (bitField0_ & ~0x00000002);
@@ -2931,6 +3945,8 @@ public final class ConnectionProto {
       }
       /**
        * <code>required string connectionId = 2;</code>
+       * @param value The bytes for connectionId to set.
+       * @return This builder for chaining.
        */
       public Builder setConnectionIdBytes(
           com.google.protobuf.ByteString value) {
@@ -2946,12 +3962,14 @@ public final class ConnectionProto {
       private java.lang.Object receiveHash_ = "";
       /**
        * <code>optional string receiveHash = 3;</code>
+       * @return Whether the receiveHash field is set.
        */
       public boolean hasReceiveHash() {
-        return ((bitField0_ & 0x00000004) == 0x00000004);
+        return ((bitField0_ & 0x00000004) != 0);
       }
       /**
        * <code>optional string receiveHash = 3;</code>
+       * @return The receiveHash.
        */
       public java.lang.String getReceiveHash() {
         java.lang.Object ref = receiveHash_;
@@ -2969,6 +3987,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string receiveHash = 3;</code>
+       * @return The bytes for receiveHash.
        */
       public com.google.protobuf.ByteString
           getReceiveHashBytes() {
@@ -2985,6 +4004,8 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string receiveHash = 3;</code>
+       * @param value The receiveHash to set.
+       * @return This builder for chaining.
        */
       public Builder setReceiveHash(
           java.lang.String value) {
@@ -2998,6 +4019,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string receiveHash = 3;</code>
+       * @return This builder for chaining.
        */
       public Builder clearReceiveHash() {
         bitField0_ = (bitField0_ & ~0x00000004);
@@ -3007,6 +4029,8 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string receiveHash = 3;</code>
+       * @param value The bytes for receiveHash to set.
+       * @return This builder for chaining.
        */
       public Builder setReceiveHashBytes(
           com.google.protobuf.ByteString value) {
@@ -3022,12 +4046,14 @@ public final class ConnectionProto {
       private java.lang.Object sendHash_ = "";
       /**
        * <code>optional string sendHash = 4;</code>
+       * @return Whether the sendHash field is set.
        */
       public boolean hasSendHash() {
-        return ((bitField0_ & 0x00000008) == 0x00000008);
+        return ((bitField0_ & 0x00000008) != 0);
       }
       /**
        * <code>optional string sendHash = 4;</code>
+       * @return The sendHash.
        */
       public java.lang.String getSendHash() {
         java.lang.Object ref = sendHash_;
@@ -3045,6 +4071,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string sendHash = 4;</code>
+       * @return The bytes for sendHash.
        */
       public com.google.protobuf.ByteString
           getSendHashBytes() {
@@ -3061,6 +4088,8 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string sendHash = 4;</code>
+       * @param value The sendHash to set.
+       * @return This builder for chaining.
        */
       public Builder setSendHash(
           java.lang.String value) {
@@ -3074,6 +4103,7 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string sendHash = 4;</code>
+       * @return This builder for chaining.
        */
       public Builder clearSendHash() {
         bitField0_ = (bitField0_ & ~0x00000008);
@@ -3083,6 +4113,8 @@ public final class ConnectionProto {
       }
       /**
        * <code>optional string sendHash = 4;</code>
+       * @param value The bytes for sendHash to set.
+       * @return This builder for chaining.
        */
       public Builder setSendHashBytes(
           com.google.protobuf.ByteString value) {
@@ -3094,116 +4126,1043 @@ public final class ConnectionProto {
         onChanged();
         return this;
       }
-      public final Builder setUnknownFields(
-          final com.google.protobuf.UnknownFieldSet unknownFields) {
-        return super.setUnknownFields(unknownFields);
-      }
 
-      public final Builder mergeUnknownFields(
-          final com.google.protobuf.UnknownFieldSet unknownFields) {
-        return super.mergeUnknownFields(unknownFields);
+      private com.google.protobuf.LazyStringList compressionCodecs_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureCompressionCodecsIsMutable() {
+        if (!((bitField0_ & 0x00000010) != 0)) {
+          compressionCodecs_ = new com.google.protobuf.LazyStringArrayList(compressionCodecs_);
+          bitField0_ |= 0x00000010;
+         }
       }
-
-
-      // @@protoc_insertion_point(builder_scope:connection.ConnectionHandshake)
-    }
-
-    // @@protoc_insertion_point(class_scope:connection.ConnectionHandshake)
-    private static final org.flexiblepower.proto.ConnectionProto.ConnectionHandshake DEFAULT_INSTANCE;
-    static {
-      DEFAULT_INSTANCE = new org.flexiblepower.proto.ConnectionProto.ConnectionHandshake();
-    }
-
-    public static org.flexiblepower.proto.ConnectionProto.ConnectionHandshake getDefaultInstance() {
-      return DEFAULT_INSTANCE;
-    }
-
-    @java.lang.Deprecated public static final com.google.protobuf.Parser<ConnectionHandshake>
-        PARSER = new com.google.protobuf.AbstractParser<ConnectionHandshake>() {
-      public ConnectionHandshake parsePartialFrom(
-          com.google.protobuf.CodedInputStream input,
-          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-          throws com.google.protobuf.InvalidProtocolBufferException {
-          return new ConnectionHandshake(input, extensionRegistry);
+      /**
+       * <code>repeated string compressionCodecs = 5;</code>
+       * @return A list containing the compressionCodecs.
+       */
+      public com.google.protobuf.ProtocolStringList
+          getCompressionCodecsList() {
+        return compressionCodecs_.getUnmodifiableView();
       }
-    };
-
-    public static com.google.protobuf.Parser<ConnectionHandshake> parser() {
-      return PARSER;
-    }
-
-    @java.lang.Override
-    public com.google.protobuf.Parser<ConnectionHandshake> getParserForType() {
-      return PARSER;
-    }
-
-    public org.flexiblepower.proto.ConnectionProto.ConnectionHandshake getDefaultInstanceForType() {
-      return DEFAULT_INSTANCE;
-    }
-
+      /**
+       * <code>repeated string compressionCodecs = 5;</code>
+       * @return The count of compressionCodecs.
+       */
+      public int getCompressionCodecsCount() {
+        return compressionCodecs_.size();
+      }
+      /**
+       * <code>repeated string compressionCodecs = 5;</code>
+       * @param index The index of the element to return.
+       * @return The compressionCodecs at the given index.
+       */
+      public java.lang.String getCompressionCodecs(int index) {
+        return compressionCodecs_.get(index);
+      }
+      /**
+       * <code>repeated string compressionCodecs = 5;</code>
+       * @param index The index of the value to return.
+       * @return The bytes of the compressionCodecs at the given index.
+       */
+      public com.google.protobuf.ByteString
+          getCompressionCodecsBytes(int index) {
+        return compressionCodecs_.getByteString(index);
+      }
+      /**
+       * <code>repeated string compressionCodecs = 5;</code>
+       * @param index The index to set the value at.
+       * @param value The compressionCodecs to set.
+       * @return This builder for chaining.
+       */
+      public Builder setCompressionCodecs(
+          int index, java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
   }
-
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_connection_ConnectionMessage_descriptor;
-  private static final 
-    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-      internal_static_connection_ConnectionMessage_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_connection_ConnectionHandshake_descriptor;
-  private static final 
-    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-      internal_static_connection_ConnectionHandshake_fieldAccessorTable;
-
-  public static com.google.protobuf.Descriptors.FileDescriptor
-      getDescriptor() {
-    return descriptor;
+  ensureCompressionCodecsIsMutable();
+        compressionCodecs_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string compressionCodecs = 5;</code>
+       * @param value The compressionCodecs to add.
+       * @return This builder for chaining.
+       */
+      public Builder addCompressionCodecs(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
   }
-  private static  com.google.protobuf.Descriptors.FileDescriptor
-      descriptor;
-  static {
-    java.lang.String[] descriptorData = {
-      "\n#src/main/resources/Connection.proto\022\nc" +
-      "onnection\"\331\002\n\021ConnectionMessage\0224\n\004mode\030" +
-      "\001 \002(\0162&.connection.ConnectionMessage.Mod" +
-      "eType\022\024\n\014connectionId\030\002 \002(\t\022\025\n\rtargetAdd" +
-      "ress\030\003 \001(\t\022\022\n\nlistenPort\030\004 \001(\005\022\023\n\013receiv" +
-      "eHash\030\005 \001(\t\022\020\n\010sendHash\030\006 \001(\t\022\031\n\021remoteI" +
-      "nterfaceId\030\007 \001(\t\022\027\n\017remoteProcessId\030\010 \001(" +
-      "\t\022\027\n\017remoteServiceId\030\t \001(\t\022\031\n\021remoteProc" +
-      "essName\030\n \001(\t\">\n\010ModeType\022\n\n\006CREATE\020\000\022\013\n" +
-      "\007SUSPEND\020\001\022\n\n\006RESUME\020\002\022\r\n\tTERMINATE\020\003\"\210\001",
-      "\n\023ConnectionHandshake\0224\n\017connectionState" +
-      "\030\001 \002(\0162\033.connection.ConnectionState\022\024\n\014c" +
-      "onnectionId\030\002 \002(\t\022\023\n\013receiveHash\030\003 \001(\t\022\020" +
-      "\n\010sendHash\030\004 \001(\t*^\n\017ConnectionState\022\014\n\010S" +
-      "TARTING\020\000\022\r\n\tCONNECTED\020\001\022\r\n\tSUSPENDED\020\002\022" +
-      "\017\n\013INTERRUPTED\020\003\022\016\n\nTERMINATED\020\004B*\n\027org." +
-      "flexiblepower.protoB\017ConnectionProto"
-    };
-    com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
-        new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
-          public com.google.protobuf.ExtensionRegistry assignDescriptors(
-              com.google.protobuf.Descriptors.FileDescriptor root) {
-            descriptor = root;
-            return null;
-          }
-        };
-    com.google.protobuf.Descriptors.FileDescriptor
-      .internalBuildGeneratedFileFrom(descriptorData,
-        new com.google.protobuf.Descriptors.FileDescriptor[] {
-        }, assigner);
-    internal_static_connection_ConnectionMessage_descriptor =
-      getDescriptor().getMessageTypes().get(0);
-    internal_static_connection_ConnectionMessage_fieldAccessorTable = new
-      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
-        internal_static_connection_ConnectionMessage_descriptor,
-        new java.lang.String[] { "Mode", "ConnectionId", "TargetAddress", "ListenPort", "ReceiveHash", "SendHash", "RemoteInterfaceId", "RemoteProcessId", "RemoteServiceId", "RemoteProcessName", });
-    internal_static_connection_ConnectionHandshake_descriptor =
-      getDescriptor().getMessageTypes().get(1);
-    internal_static_connection_ConnectionHandshake_fieldAccessorTable = new
-      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
-        internal_static_connection_ConnectionHandshake_descriptor,
-        new java.lang.String[] { "ConnectionState", "ConnectionId", "ReceiveHash", "SendHash", });
+  ensureCompressionCodecsIsMutable();
+        compressionCodecs_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string compressionCodecs = 5;</code>
+       * @param values The compressionCodecs to add.
+       * @return This builder for chaining.
+       */
+      public Builder addAllCompressionCodecs(
+          java.lang.Iterable<java.lang.String> values) {
+        ensureCompressionCodecsIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, compressionCodecs_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string compressionCodecs = 5;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearCompressionCodecs() {
+        compressionCodecs_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000010);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string compressionCodecs = 5;</code>
+       * @param value The bytes of the compressionCodecs to add.
+       * @return This builder for chaining.
+       */
+      public Builder addCompressionCodecsBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureCompressionCodecsIsMutable();
+        compressionCodecs_.add(value);
+        onChanged();
+        return this;
+      }
+
+      private int compressionThreshold_ ;
+      /**
+       * <code>optional int32 compressionThreshold = 6;</code>
+       * @return Whether the compressionThreshold field is set.
+       */
+      @java.lang.Override
+      public boolean hasCompressionThreshold() {
+        return ((bitField0_ & 0x00000020) != 0);
+      }
+      /**
+       * <code>optional int32 compressionThreshold = 6;</code>
+       * @return The compressionThreshold.
+       */
+      @java.lang.Override
+      public int getCompressionThreshold() {
+        return compressionThreshold_;
+      }
+      /**
+       * <code>optional int32 compressionThreshold = 6;</code>
+       * @param value The compressionThreshold to set.
+       * @return This builder for chaining.
+       */
+      public Builder setCompressionThreshold(int value) {
+        bitField0_ |= 0x00000020;
+        compressionThreshold_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int32 compressionThreshold = 6;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearCompressionThreshold() {
+        bitField0_ = (bitField0_ & ~0x00000020);
+        compressionThreshold_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private int replayCapacity_ ;
+      /**
+       * <code>optional int32 replayCapacity = 7;</code>
+       * @return Whether the replayCapacity field is set.
+       */
+      @java.lang.Override
+      public boolean hasReplayCapacity() {
+        return ((bitField0_ & 0x00000040) != 0);
+      }
+      /**
+       * <code>optional int32 replayCapacity = 7;</code>
+       * @return The replayCapacity.
+       */
+      @java.lang.Override
+      public int getReplayCapacity() {
+        return replayCapacity_;
+      }
+      /**
+       * <code>optional int32 replayCapacity = 7;</code>
+       * @param value The replayCapacity to set.
+       * @return This builder for chaining.
+       */
+      public Builder setReplayCapacity(int value) {
+        bitField0_ |= 0x00000040;
+        replayCapacity_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int32 replayCapacity = 7;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearReplayCapacity() {
+        bitField0_ = (bitField0_ & ~0x00000040);
+        replayCapacity_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private long replaySession_ ;
+      /**
+       * <code>optional int64 replaySession = 8;</code>
+       * @return Whether the replaySession field is set.
+       */
+      @java.lang.Override
+      public boolean hasReplaySession() {
+        return ((bitField0_ & 0x00000080) != 0);
+      }
+      /**
+       * <code>optional int64 replaySession = 8;</code>
+       * @return The replaySession.
+       */
+      @java.lang.Override
+      public long getReplaySession() {
+        return replaySession_;
+      }
+      /**
+       * <code>optional int64 replaySession = 8;</code>
+       * @param value The replaySession to set.
+       * @return This builder for chaining.
+       */
+      public Builder setReplaySession(long value) {
+        bitField0_ |= 0x00000080;
+        replaySession_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 replaySession = 8;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearReplaySession() {
+        bitField0_ = (bitField0_ & ~0x00000080);
+        replaySession_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private long receivedSequence_ ;
+      /**
+       * <code>optional int64 receivedSequence = 9;</code>
+       * @return Whether the receivedSequence field is set.
+       */
+      @java.lang.Override
+      public boolean hasReceivedSequence() {
+        return ((bitField0_ & 0x00000100) != 0);
+      }
+      /**
+       * <code>optional int64 receivedSequence = 9;</code>
+       * @return The receivedSequence.
+       */
+      @java.lang.Override
+      public long getReceivedSequence() {
+        return receivedSequence_;
+      }
+      /**
+       * <code>optional int64 receivedSequence = 9;</code>
+       * @param value The receivedSequence to set.
+       * @return This builder for chaining.
+       */
+      public Builder setReceivedSequence(long value) {
+        bitField0_ |= 0x00000100;
+        receivedSequence_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 receivedSequence = 9;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearReceivedSequence() {
+        bitField0_ = (bitField0_ & ~0x00000100);
+        receivedSequence_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private int compactTypeTable_ ;
+      /**
+       * <code>optional int32 compactTypeTable = 10;</code>
+       * @return Whether the compactTypeTable field is set.
+       */
+      @java.lang.Override
+      public boolean hasCompactTypeTable() {
+        return ((bitField0_ & 0x00000200) != 0);
+      }
+      /**
+       * <code>optional int32 compactTypeTable = 10;</code>
+       * @return The compactTypeTable.
+       */
+      @java.lang.Override
+      public int getCompactTypeTable() {
+        return compactTypeTable_;
+      }
+      /**
+       * <code>optional int32 compactTypeTable = 10;</code>
+       * @param value The compactTypeTable to set.
+       * @return This builder for chaining.
+       */
+      public Builder setCompactTypeTable(int value) {
+        bitField0_ |= 0x00000200;
+        compactTypeTable_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int32 compactTypeTable = 10;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearCompactTypeTable() {
+        bitField0_ = (bitField0_ & ~0x00000200);
+        compactTypeTable_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private boolean traceHeaders_ ;
+      /**
+       * <code>optional bool traceHeaders = 11;</code>
+       * @return Whether the traceHeaders field is set.
+       */
+      @java.lang.Override
+      public boolean hasTraceHeaders() {
+        return ((bitField0_ & 0x00000400) != 0);
+      }
+      /**
+       * <code>optional bool traceHeaders = 11;</code>
+       * @return The traceHeaders.
+       */
+      @java.lang.Override
+      public boolean getTraceHeaders() {
+        return traceHeaders_;
+      }
+      /**
+       * <code>optional bool traceHeaders = 11;</code>
+       * @param value The traceHeaders to set.
+       * @return This builder for chaining.
+       */
+      public Builder setTraceHeaders(boolean value) {
+        bitField0_ |= 0x00000400;
+        traceHeaders_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bool traceHeaders = 11;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearTraceHeaders() {
+        bitField0_ = (bitField0_ & ~0x00000400);
+        traceHeaders_ = false;
+        onChanged();
+        return this;
+      }
+
+      private long requestId_ ;
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return Whether the requestId field is set.
+       */
+      @java.lang.Override
+      public boolean hasRequestId() {
+        return ((bitField0_ & 0x00000800) != 0);
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return The requestId.
+       */
+      @java.lang.Override
+      public long getRequestId() {
+        return requestId_;
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @param value The requestId to set.
+       * @return This builder for chaining.
+       */
+      public Builder setRequestId(long value) {
+        bitField0_ |= 0x00000800;
+        requestId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearRequestId() {
+        bitField0_ = (bitField0_ & ~0x00000800);
+        requestId_ = 0L;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:connection.ConnectionHandshake)
+    }
+
+    // @@protoc_insertion_point(class_scope:connection.ConnectionHandshake)
+    private static final org.flexiblepower.proto.ConnectionProto.ConnectionHandshake DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new org.flexiblepower.proto.ConnectionProto.ConnectionHandshake();
+    }
+
+    public static org.flexiblepower.proto.ConnectionProto.ConnectionHandshake getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    @java.lang.Deprecated public static final com.google.protobuf.Parser<ConnectionHandshake>
+        PARSER = new com.google.protobuf.AbstractParser<ConnectionHandshake>() {
+      @java.lang.Override
+      public ConnectionHandshake parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new ConnectionHandshake(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<ConnectionHandshake> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<ConnectionHandshake> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public org.flexiblepower.proto.ConnectionProto.ConnectionHandshake getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface ConnectionAckOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:connection.ConnectionAck)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>required int64 receivedSequence = 1;</code>
+     * @return Whether the receivedSequence field is set.
+     */
+    boolean hasReceivedSequence();
+    /**
+     * <code>required int64 receivedSequence = 1;</code>
+     * @return The receivedSequence.
+     */
+    long getReceivedSequence();
+  }
+  /**
+   * Protobuf type {@code connection.ConnectionAck}
+   */
+  public static final class ConnectionAck extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:connection.ConnectionAck)
+      ConnectionAckOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use ConnectionAck.newBuilder() to construct.
+    private ConnectionAck(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private ConnectionAck() {
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new ConnectionAck();
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private ConnectionAck(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            case 8: {
+              bitField0_ |= 0x00000001;
+              receivedSequence_ = input.readInt64();
+              break;
+            }
+            default: {
+              if (!parseUnknownField(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.flexiblepower.proto.ConnectionProto.internal_static_connection_ConnectionAck_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.flexiblepower.proto.ConnectionProto.internal_static_connection_ConnectionAck_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.flexiblepower.proto.ConnectionProto.ConnectionAck.class, org.flexiblepower.proto.ConnectionProto.ConnectionAck.Builder.class);
+    }
+
+    private int bitField0_;
+    public static final int RECEIVEDSEQUENCE_FIELD_NUMBER = 1;
+    private long receivedSequence_;
+    /**
+     * <code>required int64 receivedSequence = 1;</code>
+     * @return Whether the receivedSequence field is set.
+     */
+    @java.lang.Override
+    public boolean hasReceivedSequence() {
+      return ((bitField0_ & 0x00000001) != 0);
+    }
+    /**
+     * <code>required int64 receivedSequence = 1;</code>
+     * @return The receivedSequence.
+     */
+    @java.lang.Override
+    public long getReceivedSequence() {
+      return receivedSequence_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      if (!hasReceivedSequence()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (((bitField0_ & 0x00000001) != 0)) {
+        output.writeInt64(1, receivedSequence_);
+      }
+      unknownFields.writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(1, receivedSequence_);
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof org.flexiblepower.proto.ConnectionProto.ConnectionAck)) {
+        return super.equals(obj);
+      }
+      org.flexiblepower.proto.ConnectionProto.ConnectionAck other = (org.flexiblepower.proto.ConnectionProto.ConnectionAck) obj;
+
+      if (hasReceivedSequence() != other.hasReceivedSequence()) return false;
+      if (hasReceivedSequence()) {
+        if (getReceivedSequence()
+            != other.getReceivedSequence()) return false;
+      }
+      if (!unknownFields.equals(other.unknownFields)) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      if (hasReceivedSequence()) {
+        hash = (37 * hash) + RECEIVEDSEQUENCE_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getReceivedSequence());
+      }
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static org.flexiblepower.proto.ConnectionProto.ConnectionAck parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.flexiblepower.proto.ConnectionProto.ConnectionAck parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.flexiblepower.proto.ConnectionProto.ConnectionAck parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.flexiblepower.proto.ConnectionProto.ConnectionAck parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.flexiblepower.proto.ConnectionProto.ConnectionAck parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.flexiblepower.proto.ConnectionProto.ConnectionAck parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.flexiblepower.proto.ConnectionProto.ConnectionAck parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.flexiblepower.proto.ConnectionProto.ConnectionAck parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.flexiblepower.proto.ConnectionProto.ConnectionAck parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static org.flexiblepower.proto.ConnectionProto.ConnectionAck parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.flexiblepower.proto.ConnectionProto.ConnectionAck parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.flexiblepower.proto.ConnectionProto.ConnectionAck parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(org.flexiblepower.proto.ConnectionProto.ConnectionAck prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code connection.ConnectionAck}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:connection.ConnectionAck)
+        org.flexiblepower.proto.ConnectionProto.ConnectionAckOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.flexiblepower.proto.ConnectionProto.internal_static_connection_ConnectionAck_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.flexiblepower.proto.ConnectionProto.internal_static_connection_ConnectionAck_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.flexiblepower.proto.ConnectionProto.ConnectionAck.class, org.flexiblepower.proto.ConnectionProto.ConnectionAck.Builder.class);
+      }
+
+      // Construct using org.flexiblepower.proto.ConnectionProto.ConnectionAck.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        receivedSequence_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.flexiblepower.proto.ConnectionProto.internal_static_connection_ConnectionAck_descriptor;
+      }
+
+      @java.lang.Override
+      public org.flexiblepower.proto.ConnectionProto.ConnectionAck getDefaultInstanceForType() {
+        return org.flexiblepower.proto.ConnectionProto.ConnectionAck.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public org.flexiblepower.proto.ConnectionProto.ConnectionAck build() {
+        org.flexiblepower.proto.ConnectionProto.ConnectionAck result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public org.flexiblepower.proto.ConnectionProto.ConnectionAck buildPartial() {
+        org.flexiblepower.proto.ConnectionProto.ConnectionAck result = new org.flexiblepower.proto.ConnectionProto.ConnectionAck(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) != 0)) {
+          result.receivedSequence_ = receivedSequence_;
+          to_bitField0_ |= 0x00000001;
+        }
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      @java.lang.Override
+      public Builder clone() {
+        return super.clone();
+      }
+      @java.lang.Override
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.setField(field, value);
+      }
+      @java.lang.Override
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return super.clearField(field);
+      }
+      @java.lang.Override
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return super.clearOneof(oneof);
+      }
+      @java.lang.Override
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return super.setRepeatedField(field, index, value);
+      }
+      @java.lang.Override
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.addRepeatedField(field, value);
+      }
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.flexiblepower.proto.ConnectionProto.ConnectionAck) {
+          return mergeFrom((org.flexiblepower.proto.ConnectionProto.ConnectionAck)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.flexiblepower.proto.ConnectionProto.ConnectionAck other) {
+        if (other == org.flexiblepower.proto.ConnectionProto.ConnectionAck.getDefaultInstance()) return this;
+        if (other.hasReceivedSequence()) {
+          setReceivedSequence(other.getReceivedSequence());
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        if (!hasReceivedSequence()) {
+          return false;
+        }
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.flexiblepower.proto.ConnectionProto.ConnectionAck parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.flexiblepower.proto.ConnectionProto.ConnectionAck) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private long receivedSequence_ ;
+      /**
+       * <code>required int64 receivedSequence = 1;</code>
+       * @return Whether the receivedSequence field is set.
+       */
+      @java.lang.Override
+      public boolean hasReceivedSequence() {
+        return ((bitField0_ & 0x00000001) != 0);
+      }
+      /**
+       * <code>required int64 receivedSequence = 1;</code>
+       * @return The receivedSequence.
+       */
+      @java.lang.Override
+      public long getReceivedSequence() {
+        return receivedSequence_;
+      }
+      /**
+       * <code>required int64 receivedSequence = 1;</code>
+       * @param value The receivedSequence to set.
+       * @return This builder for chaining.
+       */
+      public Builder setReceivedSequence(long value) {
+        bitField0_ |= 0x00000001;
+        receivedSequence_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required int64 receivedSequence = 1;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearReceivedSequence() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        receivedSequence_ = 0L;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:connection.ConnectionAck)
+    }
+
+    // @@protoc_insertion_point(class_scope:connection.ConnectionAck)
+    private static final org.flexiblepower.proto.ConnectionProto.ConnectionAck DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new org.flexiblepower.proto.ConnectionProto.ConnectionAck();
+    }
+
+    public static org.flexiblepower.proto.ConnectionProto.ConnectionAck getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    @java.lang.Deprecated public static final com.google.protobuf.Parser<ConnectionAck>
+        PARSER = new com.google.protobuf.AbstractParser<ConnectionAck>() {
+      @java.lang.Override
+      public ConnectionAck parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new ConnectionAck(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<ConnectionAck> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<ConnectionAck> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public org.flexiblepower.proto.ConnectionProto.ConnectionAck getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_connection_ConnectionMessage_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_connection_ConnectionMessage_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_connection_ConnectionHandshake_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_connection_ConnectionHandshake_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_connection_ConnectionAck_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_connection_ConnectionAck_fieldAccessorTable;
+
+  public static com.google.protobuf.Descriptors.FileDescriptor
+      getDescriptor() {
+    return descriptor;
+  }
+  private static  com.google.protobuf.Descriptors.FileDescriptor
+      descriptor;
+  static {
+    java.lang.String[] descriptorData = {
+      "\n\020Connection.proto\022\nconnection\"\201\003\n\021Conne" +
+      "ctionMessage\0224\n\004mode\030\001 \002(\0162&.connection." +
+      "ConnectionMessage.ModeType\022\024\n\014connection" +
+      "Id\030\002 \002(\t\022\025\n\rtargetAddress\030\003 \001(\t\022\022\n\nliste" +
+      "nPort\030\004 \001(\005\022\023\n\013receiveHash\030\005 \001(\t\022\020\n\010send" +
+      "Hash\030\006 \001(\t\022\031\n\021remoteInterfaceId\030\007 \001(\t\022\027\n" +
+      "\017remoteProcessId\030\010 \001(\t\022\027\n\017remoteServiceI" +
+      "d\030\t \001(\t\022\031\n\021remoteProcessName\030\n \001(\t\022\023\n\013mu" +
+      "ltiplexed\030\013 \001(\010\022\021\n\trequestId\030\017 \001(\003\">\n\010Mo" +
+      "deType\022\n\n\006CREATE\020\000\022\013\n\007SUSPEND\020\001\022\n\n\006RESUM" +
+      "E\020\002\022\r\n\tTERMINATE\020\003\"\315\002\n\023ConnectionHandsha" +
+      "ke\0224\n\017connectionState\030\001 \002(\0162\033.connection" +
+      ".ConnectionState\022\024\n\014connectionId\030\002 \002(\t\022\023" +
+      "\n\013receiveHash\030\003 \001(\t\022\020\n\010sendHash\030\004 \001(\t\022\031\n" +
+      "\021compressionCodecs\030\005 \003(\t\022\034\n\024compressionT" +
+      "hreshold\030\006 \001(\005\022\026\n\016replayCapacity\030\007 \001(\005\022\025" +
+      "\n\rreplaySession\030\010 \001(\003\022\030\n\020receivedSequenc" +
+      "e\030\t \001(\003\022\030\n\020compactTypeTable\030\n \001(\005\022\024\n\014tra" +
+      "ceHeaders\030\013 \001(\010\022\021\n\trequestId\030\017 \001(\003\")\n\rCo" +
+      "nnectionAck\022\030\n\020receivedSequence\030\001 \002(\003*^\n" +
+      "\017ConnectionState\022\014\n\010STARTING\020\000\022\r\n\tCONNEC" +
+      "TED\020\001\022\r\n\tSUSPENDED\020\002\022\017\n\013INTERRUPTED\020\003\022\016\n" +
+      "\nTERMINATED\020\004B*\n\027org.flexiblepower.proto" +
+      "B\017ConnectionProto"
+    };
+    descriptor = com.google.protobuf.Descriptors.FileDescriptor
+      .internalBuildGeneratedFileFrom(descriptorData,
+        new com.google.protobuf.Descriptors.FileDescriptor[] {
+        });
+    internal_static_connection_ConnectionMessage_descriptor =
+      getDescriptor().getMessageTypes().get(0);
+    internal_static_connection_ConnectionMessage_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_connection_ConnectionMessage_descriptor,
+        new java.lang.String[] { "Mode", "ConnectionId", "TargetAddress", "ListenPort", "ReceiveHash", "SendHash", "RemoteInterfaceId", "RemoteProcessId", "RemoteServiceId", "RemoteProcessName", "Multiplexed", "RequestId", });
+    internal_static_connection_ConnectionHandshake_descriptor =
+      getDescriptor().getMessageTypes().get(1);
+    internal_static_connection_ConnectionHandshake_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_connection_ConnectionHandshake_descriptor,
+        new java.lang.String[] { "ConnectionState", "ConnectionId", "ReceiveHash", "SendHash", "CompressionCodecs", "CompressionThreshold", "ReplayCapacity", "ReplaySession", "ReceivedSequence", "CompactTypeTable", "TraceHeaders", "RequestId", });
+    internal_static_connection_ConnectionAck_descriptor =
+      getDescriptor().getMessageTypes().get(2);
+    internal_static_connection_ConnectionAck_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_connection_ConnectionAck_descriptor,
+        new java.lang.String[] { "ReceivedSequence", });
   }
 
   // @@protoc_insertion_point(outer_class_scope)
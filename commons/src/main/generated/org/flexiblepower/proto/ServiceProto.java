@@ -68,6 +68,8 @@ public final class ServiceProto {
     }
 
     /**
+     * @param value The numeric wire value of the corresponding enum entry.
+     * @return The enum associated with the given numeric wire value.
      * @deprecated Use {@link #forNumber(int)} instead.
      */
     @java.lang.Deprecated
@@ -75,6 +77,10 @@ public final class ServiceProto {
       return forNumber(value);
     }
 
+    /**
+     * @param value The numeric wire value of the corresponding enum entry.
+     * @return The enum associated with the given numeric wire value.
+     */
     public static ProcessState forNumber(int value) {
       switch (value) {
         case 0: return STARTING;
@@ -137,34 +143,51 @@ public final class ServiceProto {
 
     /**
      * <code>required string processId = 1;</code>
+     * @return Whether the processId field is set.
      */
     boolean hasProcessId();
     /**
      * <code>required string processId = 1;</code>
+     * @return The processId.
      */
     java.lang.String getProcessId();
     /**
      * <code>required string processId = 1;</code>
+     * @return The bytes for processId.
      */
     com.google.protobuf.ByteString
         getProcessIdBytes();
 
     /**
      * <code>required .process.ProcessState targetState = 2;</code>
+     * @return Whether the targetState field is set.
      */
     boolean hasTargetState();
     /**
      * <code>required .process.ProcessState targetState = 2;</code>
+     * @return The targetState.
      */
     org.flexiblepower.proto.ServiceProto.ProcessState getTargetState();
+
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return Whether the requestId field is set.
+     */
+    boolean hasRequestId();
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return The requestId.
+     */
+    long getRequestId();
   }
   /**
    * Protobuf type {@code process.GoToProcessStateMessage}
    */
-  public  static final class GoToProcessStateMessage extends
+  public static final class GoToProcessStateMessage extends
       com.google.protobuf.GeneratedMessageV3 implements
       // @@protoc_insertion_point(message_implements:process.GoToProcessStateMessage)
       GoToProcessStateMessageOrBuilder {
+  private static final long serialVersionUID = 0L;
     // Use GoToProcessStateMessage.newBuilder() to construct.
     private GoToProcessStateMessage(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
       super(builder);
@@ -174,6 +197,13 @@ public final class ServiceProto {
       targetState_ = 0;
     }
 
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new GoToProcessStateMessage();
+    }
+
     @java.lang.Override
     public final com.google.protobuf.UnknownFieldSet
     getUnknownFields() {
@@ -184,6 +214,9 @@ public final class ServiceProto {
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
       int mutable_bitField0_ = 0;
       com.google.protobuf.UnknownFieldSet.Builder unknownFields =
           com.google.protobuf.UnknownFieldSet.newBuilder();
@@ -195,13 +228,6 @@ public final class ServiceProto {
             case 0:
               done = true;
               break;
-            default: {
-              if (!parseUnknownField(input, unknownFields,
-                                     extensionRegistry, tag)) {
-                done = true;
-              }
-              break;
-            }
             case 10: {
               com.google.protobuf.ByteString bs = input.readBytes();
               bitField0_ |= 0x00000001;
@@ -210,6 +236,7 @@ public final class ServiceProto {
             }
             case 16: {
               int rawValue = input.readEnum();
+                @SuppressWarnings("deprecation")
               org.flexiblepower.proto.ServiceProto.ProcessState value = org.flexiblepower.proto.ServiceProto.ProcessState.valueOf(rawValue);
               if (value == null) {
                 unknownFields.mergeVarintField(2, rawValue);
@@ -219,6 +246,18 @@ public final class ServiceProto {
               }
               break;
             }
+            case 120: {
+              bitField0_ |= 0x00000004;
+              requestId_ = input.readInt64();
+              break;
+            }
+            default: {
+              if (!parseUnknownField(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -236,6 +275,7 @@ public final class ServiceProto {
       return org.flexiblepower.proto.ServiceProto.internal_static_process_GoToProcessStateMessage_descriptor;
     }
 
+    @java.lang.Override
     protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
         internalGetFieldAccessorTable() {
       return org.flexiblepower.proto.ServiceProto.internal_static_process_GoToProcessStateMessage_fieldAccessorTable
@@ -248,13 +288,17 @@ public final class ServiceProto {
     private volatile java.lang.Object processId_;
     /**
      * <code>required string processId = 1;</code>
+     * @return Whether the processId field is set.
      */
+    @java.lang.Override
     public boolean hasProcessId() {
-      return ((bitField0_ & 0x00000001) == 0x00000001);
+      return ((bitField0_ & 0x00000001) != 0);
     }
     /**
      * <code>required string processId = 1;</code>
+     * @return The processId.
      */
+    @java.lang.Override
     public java.lang.String getProcessId() {
       java.lang.Object ref = processId_;
       if (ref instanceof java.lang.String) {
@@ -271,7 +315,9 @@ public final class ServiceProto {
     }
     /**
      * <code>required string processId = 1;</code>
+     * @return The bytes for processId.
      */
+    @java.lang.Override
     public com.google.protobuf.ByteString
         getProcessIdBytes() {
       java.lang.Object ref = processId_;
@@ -290,19 +336,42 @@ public final class ServiceProto {
     private int targetState_;
     /**
      * <code>required .process.ProcessState targetState = 2;</code>
+     * @return Whether the targetState field is set.
      */
-    public boolean hasTargetState() {
-      return ((bitField0_ & 0x00000002) == 0x00000002);
+    @java.lang.Override public boolean hasTargetState() {
+      return ((bitField0_ & 0x00000002) != 0);
     }
     /**
      * <code>required .process.ProcessState targetState = 2;</code>
+     * @return The targetState.
      */
-    public org.flexiblepower.proto.ServiceProto.ProcessState getTargetState() {
+    @java.lang.Override public org.flexiblepower.proto.ServiceProto.ProcessState getTargetState() {
+      @SuppressWarnings("deprecation")
       org.flexiblepower.proto.ServiceProto.ProcessState result = org.flexiblepower.proto.ServiceProto.ProcessState.valueOf(targetState_);
       return result == null ? org.flexiblepower.proto.ServiceProto.ProcessState.STARTING : result;
     }
 
+    public static final int REQUESTID_FIELD_NUMBER = 15;
+    private long requestId_;
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return Whether the requestId field is set.
+     */
+    @java.lang.Override
+    public boolean hasRequestId() {
+      return ((bitField0_ & 0x00000004) != 0);
+    }
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return The requestId.
+     */
+    @java.lang.Override
+    public long getRequestId() {
+      return requestId_;
+    }
+
     private byte memoizedIsInitialized = -1;
+    @java.lang.Override
     public final boolean isInitialized() {
       byte isInitialized = memoizedIsInitialized;
       if (isInitialized == 1) return true;
@@ -320,35 +389,43 @@ public final class ServiceProto {
       return true;
     }
 
+    @java.lang.Override
     public void writeTo(com.google.protobuf.CodedOutputStream output)
                         throws java.io.IOException {
-      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+      if (((bitField0_ & 0x00000001) != 0)) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 1, processId_);
       }
-      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+      if (((bitField0_ & 0x00000002) != 0)) {
         output.writeEnum(2, targetState_);
       }
+      if (((bitField0_ & 0x00000004) != 0)) {
+        output.writeInt64(15, requestId_);
+      }
       unknownFields.writeTo(output);
     }
 
+    @java.lang.Override
     public int getSerializedSize() {
       int size = memoizedSize;
       if (size != -1) return size;
 
       size = 0;
-      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+      if (((bitField0_ & 0x00000001) != 0)) {
         size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, processId_);
       }
-      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+      if (((bitField0_ & 0x00000002) != 0)) {
         size += com.google.protobuf.CodedOutputStream
           .computeEnumSize(2, targetState_);
       }
+      if (((bitField0_ & 0x00000004) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(15, requestId_);
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
     }
 
-    private static final long serialVersionUID = 0L;
     @java.lang.Override
     public boolean equals(final java.lang.Object obj) {
       if (obj == this) {
@@ -359,18 +436,22 @@ public final class ServiceProto {
       }
       org.flexiblepower.proto.ServiceProto.GoToProcessStateMessage other = (org.flexiblepower.proto.ServiceProto.GoToProcessStateMessage) obj;
 
-      boolean result = true;
-      result = result && (hasProcessId() == other.hasProcessId());
+      if (hasProcessId() != other.hasProcessId()) return false;
       if (hasProcessId()) {
-        result = result && getProcessId()
-            .equals(other.getProcessId());
+        if (!getProcessId()
+            .equals(other.getProcessId())) return false;
       }
-      result = result && (hasTargetState() == other.hasTargetState());
+      if (hasTargetState() != other.hasTargetState()) return false;
       if (hasTargetState()) {
-        result = result && targetState_ == other.targetState_;
+        if (targetState_ != other.targetState_) return false;
       }
-      result = result && unknownFields.equals(other.unknownFields);
-      return result;
+      if (hasRequestId() != other.hasRequestId()) return false;
+      if (hasRequestId()) {
+        if (getRequestId()
+            != other.getRequestId()) return false;
+      }
+      if (!unknownFields.equals(other.unknownFields)) return false;
+      return true;
     }
 
     @java.lang.Override
@@ -388,6 +469,11 @@ public final class ServiceProto {
         hash = (37 * hash) + TARGETSTATE_FIELD_NUMBER;
         hash = (53 * hash) + targetState_;
       }
+      if (hasRequestId()) {
+        hash = (37 * hash) + REQUESTID_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getRequestId());
+      }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -463,6 +549,7 @@ public final class ServiceProto {
           .parseWithIOException(PARSER, input, extensionRegistry);
     }
 
+    @java.lang.Override
     public Builder newBuilderForType() { return newBuilder(); }
     public static Builder newBuilder() {
       return DEFAULT_INSTANCE.toBuilder();
@@ -470,6 +557,7 @@ public final class ServiceProto {
     public static Builder newBuilder(org.flexiblepower.proto.ServiceProto.GoToProcessStateMessage prototype) {
       return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
     }
+    @java.lang.Override
     public Builder toBuilder() {
       return this == DEFAULT_INSTANCE
           ? new Builder() : new Builder().mergeFrom(this);
@@ -493,6 +581,7 @@ public final class ServiceProto {
         return org.flexiblepower.proto.ServiceProto.internal_static_process_GoToProcessStateMessage_descriptor;
       }
 
+      @java.lang.Override
       protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
           internalGetFieldAccessorTable() {
         return org.flexiblepower.proto.ServiceProto.internal_static_process_GoToProcessStateMessage_fieldAccessorTable
@@ -515,24 +604,30 @@ public final class ServiceProto {
                 .alwaysUseFieldBuilders) {
         }
       }
+      @java.lang.Override
       public Builder clear() {
         super.clear();
         processId_ = "";
         bitField0_ = (bitField0_ & ~0x00000001);
         targetState_ = 0;
         bitField0_ = (bitField0_ & ~0x00000002);
+        requestId_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000004);
         return this;
       }
 
+      @java.lang.Override
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
         return org.flexiblepower.proto.ServiceProto.internal_static_process_GoToProcessStateMessage_descriptor;
       }
 
+      @java.lang.Override
       public org.flexiblepower.proto.ServiceProto.GoToProcessStateMessage getDefaultInstanceForType() {
         return org.flexiblepower.proto.ServiceProto.GoToProcessStateMessage.getDefaultInstance();
       }
 
+      @java.lang.Override
       public org.flexiblepower.proto.ServiceProto.GoToProcessStateMessage build() {
         org.flexiblepower.proto.ServiceProto.GoToProcessStateMessage result = buildPartial();
         if (!result.isInitialized()) {
@@ -541,49 +636,61 @@ public final class ServiceProto {
         return result;
       }
 
+      @java.lang.Override
       public org.flexiblepower.proto.ServiceProto.GoToProcessStateMessage buildPartial() {
         org.flexiblepower.proto.ServiceProto.GoToProcessStateMessage result = new org.flexiblepower.proto.ServiceProto.GoToProcessStateMessage(this);
         int from_bitField0_ = bitField0_;
         int to_bitField0_ = 0;
-        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+        if (((from_bitField0_ & 0x00000001) != 0)) {
           to_bitField0_ |= 0x00000001;
         }
         result.processId_ = processId_;
-        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+        if (((from_bitField0_ & 0x00000002) != 0)) {
           to_bitField0_ |= 0x00000002;
         }
         result.targetState_ = targetState_;
+        if (((from_bitField0_ & 0x00000004) != 0)) {
+          result.requestId_ = requestId_;
+          to_bitField0_ |= 0x00000004;
+        }
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
       }
 
+      @java.lang.Override
       public Builder clone() {
-        return (Builder) super.clone();
+        return super.clone();
       }
+      @java.lang.Override
       public Builder setField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
-          Object value) {
-        return (Builder) super.setField(field, value);
+          java.lang.Object value) {
+        return super.setField(field, value);
       }
+      @java.lang.Override
       public Builder clearField(
           com.google.protobuf.Descriptors.FieldDescriptor field) {
-        return (Builder) super.clearField(field);
+        return super.clearField(field);
       }
+      @java.lang.Override
       public Builder clearOneof(
           com.google.protobuf.Descriptors.OneofDescriptor oneof) {
-        return (Builder) super.clearOneof(oneof);
+        return super.clearOneof(oneof);
       }
+      @java.lang.Override
       public Builder setRepeatedField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
-          int index, Object value) {
-        return (Builder) super.setRepeatedField(field, index, value);
+          int index, java.lang.Object value) {
+        return super.setRepeatedField(field, index, value);
       }
+      @java.lang.Override
       public Builder addRepeatedField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
-          Object value) {
-        return (Builder) super.addRepeatedField(field, value);
+          java.lang.Object value) {
+        return super.addRepeatedField(field, value);
       }
+      @java.lang.Override
       public Builder mergeFrom(com.google.protobuf.Message other) {
         if (other instanceof org.flexiblepower.proto.ServiceProto.GoToProcessStateMessage) {
           return mergeFrom((org.flexiblepower.proto.ServiceProto.GoToProcessStateMessage)other);
@@ -603,11 +710,15 @@ public final class ServiceProto {
         if (other.hasTargetState()) {
           setTargetState(other.getTargetState());
         }
+        if (other.hasRequestId()) {
+          setRequestId(other.getRequestId());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
       }
 
+      @java.lang.Override
       public final boolean isInitialized() {
         if (!hasProcessId()) {
           return false;
@@ -618,6 +729,7 @@ public final class ServiceProto {
         return true;
       }
 
+      @java.lang.Override
       public Builder mergeFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
@@ -640,12 +752,14 @@ public final class ServiceProto {
       private java.lang.Object processId_ = "";
       /**
        * <code>required string processId = 1;</code>
+       * @return Whether the processId field is set.
        */
       public boolean hasProcessId() {
-        return ((bitField0_ & 0x00000001) == 0x00000001);
+        return ((bitField0_ & 0x00000001) != 0);
       }
       /**
        * <code>required string processId = 1;</code>
+       * @return The processId.
        */
       public java.lang.String getProcessId() {
         java.lang.Object ref = processId_;
@@ -663,6 +777,7 @@ public final class ServiceProto {
       }
       /**
        * <code>required string processId = 1;</code>
+       * @return The bytes for processId.
        */
       public com.google.protobuf.ByteString
           getProcessIdBytes() {
@@ -679,6 +794,8 @@ public final class ServiceProto {
       }
       /**
        * <code>required string processId = 1;</code>
+       * @param value The processId to set.
+       * @return This builder for chaining.
        */
       public Builder setProcessId(
           java.lang.String value) {
@@ -692,6 +809,7 @@ public final class ServiceProto {
       }
       /**
        * <code>required string processId = 1;</code>
+       * @return This builder for chaining.
        */
       public Builder clearProcessId() {
         bitField0_ = (bitField0_ & ~0x00000001);
@@ -701,6 +819,8 @@ public final class ServiceProto {
       }
       /**
        * <code>required string processId = 1;</code>
+       * @param value The bytes for processId to set.
+       * @return This builder for chaining.
        */
       public Builder setProcessIdBytes(
           com.google.protobuf.ByteString value) {
@@ -716,19 +836,25 @@ public final class ServiceProto {
       private int targetState_ = 0;
       /**
        * <code>required .process.ProcessState targetState = 2;</code>
+       * @return Whether the targetState field is set.
        */
-      public boolean hasTargetState() {
-        return ((bitField0_ & 0x00000002) == 0x00000002);
+      @java.lang.Override public boolean hasTargetState() {
+        return ((bitField0_ & 0x00000002) != 0);
       }
       /**
        * <code>required .process.ProcessState targetState = 2;</code>
+       * @return The targetState.
        */
+      @java.lang.Override
       public org.flexiblepower.proto.ServiceProto.ProcessState getTargetState() {
+        @SuppressWarnings("deprecation")
         org.flexiblepower.proto.ServiceProto.ProcessState result = org.flexiblepower.proto.ServiceProto.ProcessState.valueOf(targetState_);
         return result == null ? org.flexiblepower.proto.ServiceProto.ProcessState.STARTING : result;
       }
       /**
        * <code>required .process.ProcessState targetState = 2;</code>
+       * @param value The targetState to set.
+       * @return This builder for chaining.
        */
       public Builder setTargetState(org.flexiblepower.proto.ServiceProto.ProcessState value) {
         if (value == null) {
@@ -741,6 +867,7 @@ public final class ServiceProto {
       }
       /**
        * <code>required .process.ProcessState targetState = 2;</code>
+       * @return This builder for chaining.
        */
       public Builder clearTargetState() {
         bitField0_ = (bitField0_ & ~0x00000002);
@@ -748,11 +875,52 @@ public final class ServiceProto {
         onChanged();
         return this;
       }
+
+      private long requestId_ ;
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return Whether the requestId field is set.
+       */
+      @java.lang.Override
+      public boolean hasRequestId() {
+        return ((bitField0_ & 0x00000004) != 0);
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return The requestId.
+       */
+      @java.lang.Override
+      public long getRequestId() {
+        return requestId_;
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @param value The requestId to set.
+       * @return This builder for chaining.
+       */
+      public Builder setRequestId(long value) {
+        bitField0_ |= 0x00000004;
+        requestId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearRequestId() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        requestId_ = 0L;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
         return super.setUnknownFields(unknownFields);
       }
 
+      @java.lang.Override
       public final Builder mergeUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
         return super.mergeUnknownFields(unknownFields);
@@ -774,11 +942,12 @@ public final class ServiceProto {
 
     @java.lang.Deprecated public static final com.google.protobuf.Parser<GoToProcessStateMessage>
         PARSER = new com.google.protobuf.AbstractParser<GoToProcessStateMessage>() {
+      @java.lang.Override
       public GoToProcessStateMessage parsePartialFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
-          return new GoToProcessStateMessage(input, extensionRegistry);
+        return new GoToProcessStateMessage(input, extensionRegistry);
       }
     };
 
@@ -791,6 +960,7 @@ public final class ServiceProto {
       return PARSER;
     }
 
+    @java.lang.Override
     public org.flexiblepower.proto.ServiceProto.GoToProcessStateMessage getDefaultInstanceForType() {
       return DEFAULT_INSTANCE;
     }
@@ -803,34 +973,51 @@ public final class ServiceProto {
 
     /**
      * <code>required string processId = 1;</code>
+     * @return Whether the processId field is set.
      */
     boolean hasProcessId();
     /**
      * <code>required string processId = 1;</code>
+     * @return The processId.
      */
     java.lang.String getProcessId();
     /**
      * <code>required string processId = 1;</code>
+     * @return The bytes for processId.
      */
     com.google.protobuf.ByteString
         getProcessIdBytes();
 
     /**
      * <code>required bytes stateData = 2;</code>
+     * @return Whether the stateData field is set.
      */
     boolean hasStateData();
     /**
      * <code>required bytes stateData = 2;</code>
+     * @return The stateData.
      */
     com.google.protobuf.ByteString getStateData();
+
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return Whether the requestId field is set.
+     */
+    boolean hasRequestId();
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return The requestId.
+     */
+    long getRequestId();
   }
   /**
    * Protobuf type {@code process.ResumeProcessMessage}
    */
-  public  static final class ResumeProcessMessage extends
+  public static final class ResumeProcessMessage extends
       com.google.protobuf.GeneratedMessageV3 implements
       // @@protoc_insertion_point(message_implements:process.ResumeProcessMessage)
       ResumeProcessMessageOrBuilder {
+  private static final long serialVersionUID = 0L;
     // Use ResumeProcessMessage.newBuilder() to construct.
     private ResumeProcessMessage(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
       super(builder);
@@ -840,6 +1027,13 @@ public final class ServiceProto {
       stateData_ = com.google.protobuf.ByteString.EMPTY;
     }
 
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new ResumeProcessMessage();
+    }
+
     @java.lang.Override
     public final com.google.protobuf.UnknownFieldSet
     getUnknownFields() {
@@ -850,6 +1044,9 @@ public final class ServiceProto {
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
       int mutable_bitField0_ = 0;
       com.google.protobuf.UnknownFieldSet.Builder unknownFields =
           com.google.protobuf.UnknownFieldSet.newBuilder();
@@ -861,13 +1058,6 @@ public final class ServiceProto {
             case 0:
               done = true;
               break;
-            default: {
-              if (!parseUnknownField(input, unknownFields,
-                                     extensionRegistry, tag)) {
-                done = true;
-              }
-              break;
-            }
             case 10: {
               com.google.protobuf.ByteString bs = input.readBytes();
               bitField0_ |= 0x00000001;
@@ -879,6 +1069,18 @@ public final class ServiceProto {
               stateData_ = input.readBytes();
               break;
             }
+            case 120: {
+              bitField0_ |= 0x00000004;
+              requestId_ = input.readInt64();
+              break;
+            }
+            default: {
+              if (!parseUnknownField(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -896,6 +1098,7 @@ public final class ServiceProto {
       return org.flexiblepower.proto.ServiceProto.internal_static_process_ResumeProcessMessage_descriptor;
     }
 
+    @java.lang.Override
     protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
         internalGetFieldAccessorTable() {
       return org.flexiblepower.proto.ServiceProto.internal_static_process_ResumeProcessMessage_fieldAccessorTable
@@ -908,13 +1111,17 @@ public final class ServiceProto {
     private volatile java.lang.Object processId_;
     /**
      * <code>required string processId = 1;</code>
+     * @return Whether the processId field is set.
      */
+    @java.lang.Override
     public boolean hasProcessId() {
-      return ((bitField0_ & 0x00000001) == 0x00000001);
+      return ((bitField0_ & 0x00000001) != 0);
     }
     /**
      * <code>required string processId = 1;</code>
+     * @return The processId.
      */
+    @java.lang.Override
     public java.lang.String getProcessId() {
       java.lang.Object ref = processId_;
       if (ref instanceof java.lang.String) {
@@ -931,7 +1138,9 @@ public final class ServiceProto {
     }
     /**
      * <code>required string processId = 1;</code>
+     * @return The bytes for processId.
      */
+    @java.lang.Override
     public com.google.protobuf.ByteString
         getProcessIdBytes() {
       java.lang.Object ref = processId_;
@@ -950,18 +1159,42 @@ public final class ServiceProto {
     private com.google.protobuf.ByteString stateData_;
     /**
      * <code>required bytes stateData = 2;</code>
+     * @return Whether the stateData field is set.
      */
+    @java.lang.Override
     public boolean hasStateData() {
-      return ((bitField0_ & 0x00000002) == 0x00000002);
+      return ((bitField0_ & 0x00000002) != 0);
     }
     /**
      * <code>required bytes stateData = 2;</code>
+     * @return The stateData.
      */
+    @java.lang.Override
     public com.google.protobuf.ByteString getStateData() {
       return stateData_;
     }
 
+    public static final int REQUESTID_FIELD_NUMBER = 15;
+    private long requestId_;
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return Whether the requestId field is set.
+     */
+    @java.lang.Override
+    public boolean hasRequestId() {
+      return ((bitField0_ & 0x00000004) != 0);
+    }
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return The requestId.
+     */
+    @java.lang.Override
+    public long getRequestId() {
+      return requestId_;
+    }
+
     private byte memoizedIsInitialized = -1;
+    @java.lang.Override
     public final boolean isInitialized() {
       byte isInitialized = memoizedIsInitialized;
       if (isInitialized == 1) return true;
@@ -979,35 +1212,43 @@ public final class ServiceProto {
       return true;
     }
 
+    @java.lang.Override
     public void writeTo(com.google.protobuf.CodedOutputStream output)
                         throws java.io.IOException {
-      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+      if (((bitField0_ & 0x00000001) != 0)) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 1, processId_);
       }
-      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+      if (((bitField0_ & 0x00000002) != 0)) {
         output.writeBytes(2, stateData_);
       }
+      if (((bitField0_ & 0x00000004) != 0)) {
+        output.writeInt64(15, requestId_);
+      }
       unknownFields.writeTo(output);
     }
 
+    @java.lang.Override
     public int getSerializedSize() {
       int size = memoizedSize;
       if (size != -1) return size;
 
       size = 0;
-      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+      if (((bitField0_ & 0x00000001) != 0)) {
         size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, processId_);
       }
-      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+      if (((bitField0_ & 0x00000002) != 0)) {
         size += com.google.protobuf.CodedOutputStream
           .computeBytesSize(2, stateData_);
       }
+      if (((bitField0_ & 0x00000004) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(15, requestId_);
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
     }
 
-    private static final long serialVersionUID = 0L;
     @java.lang.Override
     public boolean equals(final java.lang.Object obj) {
       if (obj == this) {
@@ -1018,19 +1259,23 @@ public final class ServiceProto {
       }
       org.flexiblepower.proto.ServiceProto.ResumeProcessMessage other = (org.flexiblepower.proto.ServiceProto.ResumeProcessMessage) obj;
 
-      boolean result = true;
-      result = result && (hasProcessId() == other.hasProcessId());
+      if (hasProcessId() != other.hasProcessId()) return false;
       if (hasProcessId()) {
-        result = result && getProcessId()
-            .equals(other.getProcessId());
+        if (!getProcessId()
+            .equals(other.getProcessId())) return false;
       }
-      result = result && (hasStateData() == other.hasStateData());
+      if (hasStateData() != other.hasStateData()) return false;
       if (hasStateData()) {
-        result = result && getStateData()
-            .equals(other.getStateData());
+        if (!getStateData()
+            .equals(other.getStateData())) return false;
       }
-      result = result && unknownFields.equals(other.unknownFields);
-      return result;
+      if (hasRequestId() != other.hasRequestId()) return false;
+      if (hasRequestId()) {
+        if (getRequestId()
+            != other.getRequestId()) return false;
+      }
+      if (!unknownFields.equals(other.unknownFields)) return false;
+      return true;
     }
 
     @java.lang.Override
@@ -1048,6 +1293,11 @@ public final class ServiceProto {
         hash = (37 * hash) + STATEDATA_FIELD_NUMBER;
         hash = (53 * hash) + getStateData().hashCode();
       }
+      if (hasRequestId()) {
+        hash = (37 * hash) + REQUESTID_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getRequestId());
+      }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -1123,6 +1373,7 @@ public final class ServiceProto {
           .parseWithIOException(PARSER, input, extensionRegistry);
     }
 
+    @java.lang.Override
     public Builder newBuilderForType() { return newBuilder(); }
     public static Builder newBuilder() {
       return DEFAULT_INSTANCE.toBuilder();
@@ -1130,6 +1381,7 @@ public final class ServiceProto {
     public static Builder newBuilder(org.flexiblepower.proto.ServiceProto.ResumeProcessMessage prototype) {
       return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
     }
+    @java.lang.Override
     public Builder toBuilder() {
       return this == DEFAULT_INSTANCE
           ? new Builder() : new Builder().mergeFrom(this);
@@ -1153,6 +1405,7 @@ public final class ServiceProto {
         return org.flexiblepower.proto.ServiceProto.internal_static_process_ResumeProcessMessage_descriptor;
       }
 
+      @java.lang.Override
       protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
           internalGetFieldAccessorTable() {
         return org.flexiblepower.proto.ServiceProto.internal_static_process_ResumeProcessMessage_fieldAccessorTable
@@ -1175,24 +1428,30 @@ public final class ServiceProto {
                 .alwaysUseFieldBuilders) {
         }
       }
+      @java.lang.Override
       public Builder clear() {
         super.clear();
         processId_ = "";
         bitField0_ = (bitField0_ & ~0x00000001);
         stateData_ = com.google.protobuf.ByteString.EMPTY;
         bitField0_ = (bitField0_ & ~0x00000002);
+        requestId_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000004);
         return this;
       }
 
+      @java.lang.Override
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
         return org.flexiblepower.proto.ServiceProto.internal_static_process_ResumeProcessMessage_descriptor;
       }
 
+      @java.lang.Override
       public org.flexiblepower.proto.ServiceProto.ResumeProcessMessage getDefaultInstanceForType() {
         return org.flexiblepower.proto.ServiceProto.ResumeProcessMessage.getDefaultInstance();
       }
 
+      @java.lang.Override
       public org.flexiblepower.proto.ServiceProto.ResumeProcessMessage build() {
         org.flexiblepower.proto.ServiceProto.ResumeProcessMessage result = buildPartial();
         if (!result.isInitialized()) {
@@ -1201,49 +1460,61 @@ public final class ServiceProto {
         return result;
       }
 
+      @java.lang.Override
       public org.flexiblepower.proto.ServiceProto.ResumeProcessMessage buildPartial() {
         org.flexiblepower.proto.ServiceProto.ResumeProcessMessage result = new org.flexiblepower.proto.ServiceProto.ResumeProcessMessage(this);
         int from_bitField0_ = bitField0_;
         int to_bitField0_ = 0;
-        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+        if (((from_bitField0_ & 0x00000001) != 0)) {
           to_bitField0_ |= 0x00000001;
         }
         result.processId_ = processId_;
-        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+        if (((from_bitField0_ & 0x00000002) != 0)) {
           to_bitField0_ |= 0x00000002;
         }
         result.stateData_ = stateData_;
+        if (((from_bitField0_ & 0x00000004) != 0)) {
+          result.requestId_ = requestId_;
+          to_bitField0_ |= 0x00000004;
+        }
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
       }
 
+      @java.lang.Override
       public Builder clone() {
-        return (Builder) super.clone();
+        return super.clone();
       }
+      @java.lang.Override
       public Builder setField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
-          Object value) {
-        return (Builder) super.setField(field, value);
+          java.lang.Object value) {
+        return super.setField(field, value);
       }
+      @java.lang.Override
       public Builder clearField(
           com.google.protobuf.Descriptors.FieldDescriptor field) {
-        return (Builder) super.clearField(field);
+        return super.clearField(field);
       }
+      @java.lang.Override
       public Builder clearOneof(
           com.google.protobuf.Descriptors.OneofDescriptor oneof) {
-        return (Builder) super.clearOneof(oneof);
+        return super.clearOneof(oneof);
       }
+      @java.lang.Override
       public Builder setRepeatedField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
-          int index, Object value) {
-        return (Builder) super.setRepeatedField(field, index, value);
+          int index, java.lang.Object value) {
+        return super.setRepeatedField(field, index, value);
       }
+      @java.lang.Override
       public Builder addRepeatedField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
-          Object value) {
-        return (Builder) super.addRepeatedField(field, value);
+          java.lang.Object value) {
+        return super.addRepeatedField(field, value);
       }
+      @java.lang.Override
       public Builder mergeFrom(com.google.protobuf.Message other) {
         if (other instanceof org.flexiblepower.proto.ServiceProto.ResumeProcessMessage) {
           return mergeFrom((org.flexiblepower.proto.ServiceProto.ResumeProcessMessage)other);
@@ -1263,11 +1534,15 @@ public final class ServiceProto {
         if (other.hasStateData()) {
           setStateData(other.getStateData());
         }
+        if (other.hasRequestId()) {
+          setRequestId(other.getRequestId());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
       }
 
+      @java.lang.Override
       public final boolean isInitialized() {
         if (!hasProcessId()) {
           return false;
@@ -1278,6 +1553,7 @@ public final class ServiceProto {
         return true;
       }
 
+      @java.lang.Override
       public Builder mergeFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
@@ -1300,12 +1576,14 @@ public final class ServiceProto {
       private java.lang.Object processId_ = "";
       /**
        * <code>required string processId = 1;</code>
+       * @return Whether the processId field is set.
        */
       public boolean hasProcessId() {
-        return ((bitField0_ & 0x00000001) == 0x00000001);
+        return ((bitField0_ & 0x00000001) != 0);
       }
       /**
        * <code>required string processId = 1;</code>
+       * @return The processId.
        */
       public java.lang.String getProcessId() {
         java.lang.Object ref = processId_;
@@ -1323,6 +1601,7 @@ public final class ServiceProto {
       }
       /**
        * <code>required string processId = 1;</code>
+       * @return The bytes for processId.
        */
       public com.google.protobuf.ByteString
           getProcessIdBytes() {
@@ -1339,6 +1618,8 @@ public final class ServiceProto {
       }
       /**
        * <code>required string processId = 1;</code>
+       * @param value The processId to set.
+       * @return This builder for chaining.
        */
       public Builder setProcessId(
           java.lang.String value) {
@@ -1352,6 +1633,7 @@ public final class ServiceProto {
       }
       /**
        * <code>required string processId = 1;</code>
+       * @return This builder for chaining.
        */
       public Builder clearProcessId() {
         bitField0_ = (bitField0_ & ~0x00000001);
@@ -1361,6 +1643,8 @@ public final class ServiceProto {
       }
       /**
        * <code>required string processId = 1;</code>
+       * @param value The bytes for processId to set.
+       * @return This builder for chaining.
        */
       public Builder setProcessIdBytes(
           com.google.protobuf.ByteString value) {
@@ -1376,18 +1660,24 @@ public final class ServiceProto {
       private com.google.protobuf.ByteString stateData_ = com.google.protobuf.ByteString.EMPTY;
       /**
        * <code>required bytes stateData = 2;</code>
+       * @return Whether the stateData field is set.
        */
+      @java.lang.Override
       public boolean hasStateData() {
-        return ((bitField0_ & 0x00000002) == 0x00000002);
+        return ((bitField0_ & 0x00000002) != 0);
       }
       /**
        * <code>required bytes stateData = 2;</code>
+       * @return The stateData.
        */
+      @java.lang.Override
       public com.google.protobuf.ByteString getStateData() {
         return stateData_;
       }
       /**
        * <code>required bytes stateData = 2;</code>
+       * @param value The stateData to set.
+       * @return This builder for chaining.
        */
       public Builder setStateData(com.google.protobuf.ByteString value) {
         if (value == null) {
@@ -1400,6 +1690,7 @@ public final class ServiceProto {
       }
       /**
        * <code>required bytes stateData = 2;</code>
+       * @return This builder for chaining.
        */
       public Builder clearStateData() {
         bitField0_ = (bitField0_ & ~0x00000002);
@@ -1407,11 +1698,52 @@ public final class ServiceProto {
         onChanged();
         return this;
       }
+
+      private long requestId_ ;
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return Whether the requestId field is set.
+       */
+      @java.lang.Override
+      public boolean hasRequestId() {
+        return ((bitField0_ & 0x00000004) != 0);
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return The requestId.
+       */
+      @java.lang.Override
+      public long getRequestId() {
+        return requestId_;
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @param value The requestId to set.
+       * @return This builder for chaining.
+       */
+      public Builder setRequestId(long value) {
+        bitField0_ |= 0x00000004;
+        requestId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearRequestId() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        requestId_ = 0L;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
         return super.setUnknownFields(unknownFields);
       }
 
+      @java.lang.Override
       public final Builder mergeUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
         return super.mergeUnknownFields(unknownFields);
@@ -1433,11 +1765,12 @@ public final class ServiceProto {
 
     @java.lang.Deprecated public static final com.google.protobuf.Parser<ResumeProcessMessage>
         PARSER = new com.google.protobuf.AbstractParser<ResumeProcessMessage>() {
+      @java.lang.Override
       public ResumeProcessMessage parsePartialFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
-          return new ResumeProcessMessage(input, extensionRegistry);
+        return new ResumeProcessMessage(input, extensionRegistry);
       }
     };
 
@@ -1450,6 +1783,7 @@ public final class ServiceProto {
       return PARSER;
     }
 
+    @java.lang.Override
     public org.flexiblepower.proto.ServiceProto.ResumeProcessMessage getDefaultInstanceForType() {
       return DEFAULT_INSTANCE;
     }
@@ -1462,43 +1796,62 @@ public final class ServiceProto {
 
     /**
      * <code>required string processId = 1;</code>
+     * @return Whether the processId field is set.
      */
     boolean hasProcessId();
     /**
      * <code>required string processId = 1;</code>
+     * @return The processId.
      */
     java.lang.String getProcessId();
     /**
      * <code>required string processId = 1;</code>
+     * @return The bytes for processId.
      */
     com.google.protobuf.ByteString
         getProcessIdBytes();
 
     /**
      * <code>required .process.ProcessState state = 2;</code>
+     * @return Whether the state field is set.
      */
     boolean hasState();
     /**
      * <code>required .process.ProcessState state = 2;</code>
+     * @return The state.
      */
     org.flexiblepower.proto.ServiceProto.ProcessState getState();
 
     /**
      * <code>optional bytes stateData = 3;</code>
+     * @return Whether the stateData field is set.
      */
     boolean hasStateData();
     /**
      * <code>optional bytes stateData = 3;</code>
+     * @return The stateData.
      */
     com.google.protobuf.ByteString getStateData();
+
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return Whether the requestId field is set.
+     */
+    boolean hasRequestId();
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return The requestId.
+     */
+    long getRequestId();
   }
   /**
    * Protobuf type {@code process.ProcessStateUpdateMessage}
    */
-  public  static final class ProcessStateUpdateMessage extends
+  public static final class ProcessStateUpdateMessage extends
       com.google.protobuf.GeneratedMessageV3 implements
       // @@protoc_insertion_point(message_implements:process.ProcessStateUpdateMessage)
       ProcessStateUpdateMessageOrBuilder {
+  private static final long serialVersionUID = 0L;
     // Use ProcessStateUpdateMessage.newBuilder() to construct.
     private ProcessStateUpdateMessage(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
       super(builder);
@@ -1509,6 +1862,13 @@ public final class ServiceProto {
       stateData_ = com.google.protobuf.ByteString.EMPTY;
     }
 
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new ProcessStateUpdateMessage();
+    }
+
     @java.lang.Override
     public final com.google.protobuf.UnknownFieldSet
     getUnknownFields() {
@@ -1519,6 +1879,9 @@ public final class ServiceProto {
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
       int mutable_bitField0_ = 0;
       com.google.protobuf.UnknownFieldSet.Builder unknownFields =
           com.google.protobuf.UnknownFieldSet.newBuilder();
@@ -1530,13 +1893,6 @@ public final class ServiceProto {
             case 0:
               done = true;
               break;
-            default: {
-              if (!parseUnknownField(input, unknownFields,
-                                     extensionRegistry, tag)) {
-                done = true;
-              }
-              break;
-            }
             case 10: {
               com.google.protobuf.ByteString bs = input.readBytes();
               bitField0_ |= 0x00000001;
@@ -1545,6 +1901,7 @@ public final class ServiceProto {
             }
             case 16: {
               int rawValue = input.readEnum();
+                @SuppressWarnings("deprecation")
               org.flexiblepower.proto.ServiceProto.ProcessState value = org.flexiblepower.proto.ServiceProto.ProcessState.valueOf(rawValue);
               if (value == null) {
                 unknownFields.mergeVarintField(2, rawValue);
@@ -1559,6 +1916,18 @@ public final class ServiceProto {
               stateData_ = input.readBytes();
               break;
             }
+            case 120: {
+              bitField0_ |= 0x00000008;
+              requestId_ = input.readInt64();
+              break;
+            }
+            default: {
+              if (!parseUnknownField(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -1576,6 +1945,7 @@ public final class ServiceProto {
       return org.flexiblepower.proto.ServiceProto.internal_static_process_ProcessStateUpdateMessage_descriptor;
     }
 
+    @java.lang.Override
     protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
         internalGetFieldAccessorTable() {
       return org.flexiblepower.proto.ServiceProto.internal_static_process_ProcessStateUpdateMessage_fieldAccessorTable
@@ -1588,13 +1958,17 @@ public final class ServiceProto {
     private volatile java.lang.Object processId_;
     /**
      * <code>required string processId = 1;</code>
+     * @return Whether the processId field is set.
      */
+    @java.lang.Override
     public boolean hasProcessId() {
-      return ((bitField0_ & 0x00000001) == 0x00000001);
+      return ((bitField0_ & 0x00000001) != 0);
     }
     /**
      * <code>required string processId = 1;</code>
+     * @return The processId.
      */
+    @java.lang.Override
     public java.lang.String getProcessId() {
       java.lang.Object ref = processId_;
       if (ref instanceof java.lang.String) {
@@ -1611,7 +1985,9 @@ public final class ServiceProto {
     }
     /**
      * <code>required string processId = 1;</code>
+     * @return The bytes for processId.
      */
+    @java.lang.Override
     public com.google.protobuf.ByteString
         getProcessIdBytes() {
       java.lang.Object ref = processId_;
@@ -1630,14 +2006,17 @@ public final class ServiceProto {
     private int state_;
     /**
      * <code>required .process.ProcessState state = 2;</code>
+     * @return Whether the state field is set.
      */
-    public boolean hasState() {
-      return ((bitField0_ & 0x00000002) == 0x00000002);
+    @java.lang.Override public boolean hasState() {
+      return ((bitField0_ & 0x00000002) != 0);
     }
     /**
      * <code>required .process.ProcessState state = 2;</code>
+     * @return The state.
      */
-    public org.flexiblepower.proto.ServiceProto.ProcessState getState() {
+    @java.lang.Override public org.flexiblepower.proto.ServiceProto.ProcessState getState() {
+      @SuppressWarnings("deprecation")
       org.flexiblepower.proto.ServiceProto.ProcessState result = org.flexiblepower.proto.ServiceProto.ProcessState.valueOf(state_);
       return result == null ? org.flexiblepower.proto.ServiceProto.ProcessState.STARTING : result;
     }
@@ -1646,18 +2025,42 @@ public final class ServiceProto {
     private com.google.protobuf.ByteString stateData_;
     /**
      * <code>optional bytes stateData = 3;</code>
+     * @return Whether the stateData field is set.
      */
+    @java.lang.Override
     public boolean hasStateData() {
-      return ((bitField0_ & 0x00000004) == 0x00000004);
+      return ((bitField0_ & 0x00000004) != 0);
     }
     /**
      * <code>optional bytes stateData = 3;</code>
+     * @return The stateData.
      */
+    @java.lang.Override
     public com.google.protobuf.ByteString getStateData() {
       return stateData_;
     }
 
+    public static final int REQUESTID_FIELD_NUMBER = 15;
+    private long requestId_;
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return Whether the requestId field is set.
+     */
+    @java.lang.Override
+    public boolean hasRequestId() {
+      return ((bitField0_ & 0x00000008) != 0);
+    }
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return The requestId.
+     */
+    @java.lang.Override
+    public long getRequestId() {
+      return requestId_;
+    }
+
     private byte memoizedIsInitialized = -1;
+    @java.lang.Override
     public final boolean isInitialized() {
       byte isInitialized = memoizedIsInitialized;
       if (isInitialized == 1) return true;
@@ -1675,42 +2078,50 @@ public final class ServiceProto {
       return true;
     }
 
+    @java.lang.Override
     public void writeTo(com.google.protobuf.CodedOutputStream output)
                         throws java.io.IOException {
-      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+      if (((bitField0_ & 0x00000001) != 0)) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 1, processId_);
       }
-      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+      if (((bitField0_ & 0x00000002) != 0)) {
         output.writeEnum(2, state_);
       }
-      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+      if (((bitField0_ & 0x00000004) != 0)) {
         output.writeBytes(3, stateData_);
       }
+      if (((bitField0_ & 0x00000008) != 0)) {
+        output.writeInt64(15, requestId_);
+      }
       unknownFields.writeTo(output);
     }
 
+    @java.lang.Override
     public int getSerializedSize() {
       int size = memoizedSize;
       if (size != -1) return size;
 
       size = 0;
-      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+      if (((bitField0_ & 0x00000001) != 0)) {
         size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, processId_);
       }
-      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+      if (((bitField0_ & 0x00000002) != 0)) {
         size += com.google.protobuf.CodedOutputStream
           .computeEnumSize(2, state_);
       }
-      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+      if (((bitField0_ & 0x00000004) != 0)) {
         size += com.google.protobuf.CodedOutputStream
           .computeBytesSize(3, stateData_);
       }
+      if (((bitField0_ & 0x00000008) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(15, requestId_);
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
     }
 
-    private static final long serialVersionUID = 0L;
     @java.lang.Override
     public boolean equals(final java.lang.Object obj) {
       if (obj == this) {
@@ -1721,23 +2132,27 @@ public final class ServiceProto {
       }
       org.flexiblepower.proto.ServiceProto.ProcessStateUpdateMessage other = (org.flexiblepower.proto.ServiceProto.ProcessStateUpdateMessage) obj;
 
-      boolean result = true;
-      result = result && (hasProcessId() == other.hasProcessId());
+      if (hasProcessId() != other.hasProcessId()) return false;
       if (hasProcessId()) {
-        result = result && getProcessId()
-            .equals(other.getProcessId());
+        if (!getProcessId()
+            .equals(other.getProcessId())) return false;
       }
-      result = result && (hasState() == other.hasState());
+      if (hasState() != other.hasState()) return false;
       if (hasState()) {
-        result = result && state_ == other.state_;
+        if (state_ != other.state_) return false;
       }
-      result = result && (hasStateData() == other.hasStateData());
+      if (hasStateData() != other.hasStateData()) return false;
       if (hasStateData()) {
-        result = result && getStateData()
-            .equals(other.getStateData());
+        if (!getStateData()
+            .equals(other.getStateData())) return false;
+      }
+      if (hasRequestId() != other.hasRequestId()) return false;
+      if (hasRequestId()) {
+        if (getRequestId()
+            != other.getRequestId()) return false;
       }
-      result = result && unknownFields.equals(other.unknownFields);
-      return result;
+      if (!unknownFields.equals(other.unknownFields)) return false;
+      return true;
     }
 
     @java.lang.Override
@@ -1759,6 +2174,11 @@ public final class ServiceProto {
         hash = (37 * hash) + STATEDATA_FIELD_NUMBER;
         hash = (53 * hash) + getStateData().hashCode();
       }
+      if (hasRequestId()) {
+        hash = (37 * hash) + REQUESTID_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getRequestId());
+      }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -1834,6 +2254,7 @@ public final class ServiceProto {
           .parseWithIOException(PARSER, input, extensionRegistry);
     }
 
+    @java.lang.Override
     public Builder newBuilderForType() { return newBuilder(); }
     public static Builder newBuilder() {
       return DEFAULT_INSTANCE.toBuilder();
@@ -1841,6 +2262,7 @@ public final class ServiceProto {
     public static Builder newBuilder(org.flexiblepower.proto.ServiceProto.ProcessStateUpdateMessage prototype) {
       return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
     }
+    @java.lang.Override
     public Builder toBuilder() {
       return this == DEFAULT_INSTANCE
           ? new Builder() : new Builder().mergeFrom(this);
@@ -1864,6 +2286,7 @@ public final class ServiceProto {
         return org.flexiblepower.proto.ServiceProto.internal_static_process_ProcessStateUpdateMessage_descriptor;
       }
 
+      @java.lang.Override
       protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
           internalGetFieldAccessorTable() {
         return org.flexiblepower.proto.ServiceProto.internal_static_process_ProcessStateUpdateMessage_fieldAccessorTable
@@ -1886,6 +2309,7 @@ public final class ServiceProto {
                 .alwaysUseFieldBuilders) {
         }
       }
+      @java.lang.Override
       public Builder clear() {
         super.clear();
         processId_ = "";
@@ -1894,18 +2318,23 @@ public final class ServiceProto {
         bitField0_ = (bitField0_ & ~0x00000002);
         stateData_ = com.google.protobuf.ByteString.EMPTY;
         bitField0_ = (bitField0_ & ~0x00000004);
+        requestId_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000008);
         return this;
       }
 
+      @java.lang.Override
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
         return org.flexiblepower.proto.ServiceProto.internal_static_process_ProcessStateUpdateMessage_descriptor;
       }
 
+      @java.lang.Override
       public org.flexiblepower.proto.ServiceProto.ProcessStateUpdateMessage getDefaultInstanceForType() {
         return org.flexiblepower.proto.ServiceProto.ProcessStateUpdateMessage.getDefaultInstance();
       }
 
+      @java.lang.Override
       public org.flexiblepower.proto.ServiceProto.ProcessStateUpdateMessage build() {
         org.flexiblepower.proto.ServiceProto.ProcessStateUpdateMessage result = buildPartial();
         if (!result.isInitialized()) {
@@ -1914,53 +2343,65 @@ public final class ServiceProto {
         return result;
       }
 
+      @java.lang.Override
       public org.flexiblepower.proto.ServiceProto.ProcessStateUpdateMessage buildPartial() {
         org.flexiblepower.proto.ServiceProto.ProcessStateUpdateMessage result = new org.flexiblepower.proto.ServiceProto.ProcessStateUpdateMessage(this);
         int from_bitField0_ = bitField0_;
         int to_bitField0_ = 0;
-        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+        if (((from_bitField0_ & 0x00000001) != 0)) {
           to_bitField0_ |= 0x00000001;
         }
         result.processId_ = processId_;
-        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+        if (((from_bitField0_ & 0x00000002) != 0)) {
           to_bitField0_ |= 0x00000002;
         }
         result.state_ = state_;
-        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+        if (((from_bitField0_ & 0x00000004) != 0)) {
           to_bitField0_ |= 0x00000004;
         }
         result.stateData_ = stateData_;
+        if (((from_bitField0_ & 0x00000008) != 0)) {
+          result.requestId_ = requestId_;
+          to_bitField0_ |= 0x00000008;
+        }
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
       }
 
+      @java.lang.Override
       public Builder clone() {
-        return (Builder) super.clone();
+        return super.clone();
       }
+      @java.lang.Override
       public Builder setField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
-          Object value) {
-        return (Builder) super.setField(field, value);
+          java.lang.Object value) {
+        return super.setField(field, value);
       }
+      @java.lang.Override
       public Builder clearField(
           com.google.protobuf.Descriptors.FieldDescriptor field) {
-        return (Builder) super.clearField(field);
+        return super.clearField(field);
       }
+      @java.lang.Override
       public Builder clearOneof(
           com.google.protobuf.Descriptors.OneofDescriptor oneof) {
-        return (Builder) super.clearOneof(oneof);
+        return super.clearOneof(oneof);
       }
+      @java.lang.Override
       public Builder setRepeatedField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
-          int index, Object value) {
-        return (Builder) super.setRepeatedField(field, index, value);
+          int index, java.lang.Object value) {
+        return super.setRepeatedField(field, index, value);
       }
+      @java.lang.Override
       public Builder addRepeatedField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
-          Object value) {
-        return (Builder) super.addRepeatedField(field, value);
+          java.lang.Object value) {
+        return super.addRepeatedField(field, value);
       }
+      @java.lang.Override
       public Builder mergeFrom(com.google.protobuf.Message other) {
         if (other instanceof org.flexiblepower.proto.ServiceProto.ProcessStateUpdateMessage) {
           return mergeFrom((org.flexiblepower.proto.ServiceProto.ProcessStateUpdateMessage)other);
@@ -1983,11 +2424,15 @@ public final class ServiceProto {
         if (other.hasStateData()) {
           setStateData(other.getStateData());
         }
+        if (other.hasRequestId()) {
+          setRequestId(other.getRequestId());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
       }
 
+      @java.lang.Override
       public final boolean isInitialized() {
         if (!hasProcessId()) {
           return false;
@@ -1998,6 +2443,7 @@ public final class ServiceProto {
         return true;
       }
 
+      @java.lang.Override
       public Builder mergeFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
@@ -2020,12 +2466,14 @@ public final class ServiceProto {
       private java.lang.Object processId_ = "";
       /**
        * <code>required string processId = 1;</code>
+       * @return Whether the processId field is set.
        */
       public boolean hasProcessId() {
-        return ((bitField0_ & 0x00000001) == 0x00000001);
+        return ((bitField0_ & 0x00000001) != 0);
       }
       /**
        * <code>required string processId = 1;</code>
+       * @return The processId.
        */
       public java.lang.String getProcessId() {
         java.lang.Object ref = processId_;
@@ -2043,6 +2491,7 @@ public final class ServiceProto {
       }
       /**
        * <code>required string processId = 1;</code>
+       * @return The bytes for processId.
        */
       public com.google.protobuf.ByteString
           getProcessIdBytes() {
@@ -2059,6 +2508,8 @@ public final class ServiceProto {
       }
       /**
        * <code>required string processId = 1;</code>
+       * @param value The processId to set.
+       * @return This builder for chaining.
        */
       public Builder setProcessId(
           java.lang.String value) {
@@ -2072,6 +2523,7 @@ public final class ServiceProto {
       }
       /**
        * <code>required string processId = 1;</code>
+       * @return This builder for chaining.
        */
       public Builder clearProcessId() {
         bitField0_ = (bitField0_ & ~0x00000001);
@@ -2081,6 +2533,8 @@ public final class ServiceProto {
       }
       /**
        * <code>required string processId = 1;</code>
+       * @param value The bytes for processId to set.
+       * @return This builder for chaining.
        */
       public Builder setProcessIdBytes(
           com.google.protobuf.ByteString value) {
@@ -2096,19 +2550,25 @@ public final class ServiceProto {
       private int state_ = 0;
       /**
        * <code>required .process.ProcessState state = 2;</code>
+       * @return Whether the state field is set.
        */
-      public boolean hasState() {
-        return ((bitField0_ & 0x00000002) == 0x00000002);
+      @java.lang.Override public boolean hasState() {
+        return ((bitField0_ & 0x00000002) != 0);
       }
       /**
        * <code>required .process.ProcessState state = 2;</code>
+       * @return The state.
        */
+      @java.lang.Override
       public org.flexiblepower.proto.ServiceProto.ProcessState getState() {
+        @SuppressWarnings("deprecation")
         org.flexiblepower.proto.ServiceProto.ProcessState result = org.flexiblepower.proto.ServiceProto.ProcessState.valueOf(state_);
         return result == null ? org.flexiblepower.proto.ServiceProto.ProcessState.STARTING : result;
       }
       /**
        * <code>required .process.ProcessState state = 2;</code>
+       * @param value The state to set.
+       * @return This builder for chaining.
        */
       public Builder setState(org.flexiblepower.proto.ServiceProto.ProcessState value) {
         if (value == null) {
@@ -2121,6 +2581,7 @@ public final class ServiceProto {
       }
       /**
        * <code>required .process.ProcessState state = 2;</code>
+       * @return This builder for chaining.
        */
       public Builder clearState() {
         bitField0_ = (bitField0_ & ~0x00000002);
@@ -2132,18 +2593,24 @@ public final class ServiceProto {
       private com.google.protobuf.ByteString stateData_ = com.google.protobuf.ByteString.EMPTY;
       /**
        * <code>optional bytes stateData = 3;</code>
+       * @return Whether the stateData field is set.
        */
+      @java.lang.Override
       public boolean hasStateData() {
-        return ((bitField0_ & 0x00000004) == 0x00000004);
+        return ((bitField0_ & 0x00000004) != 0);
       }
       /**
        * <code>optional bytes stateData = 3;</code>
+       * @return The stateData.
        */
+      @java.lang.Override
       public com.google.protobuf.ByteString getStateData() {
         return stateData_;
       }
       /**
        * <code>optional bytes stateData = 3;</code>
+       * @param value The stateData to set.
+       * @return This builder for chaining.
        */
       public Builder setStateData(com.google.protobuf.ByteString value) {
         if (value == null) {
@@ -2156,6 +2623,7 @@ public final class ServiceProto {
       }
       /**
        * <code>optional bytes stateData = 3;</code>
+       * @return This builder for chaining.
        */
       public Builder clearStateData() {
         bitField0_ = (bitField0_ & ~0x00000004);
@@ -2163,11 +2631,52 @@ public final class ServiceProto {
         onChanged();
         return this;
       }
+
+      private long requestId_ ;
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return Whether the requestId field is set.
+       */
+      @java.lang.Override
+      public boolean hasRequestId() {
+        return ((bitField0_ & 0x00000008) != 0);
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return The requestId.
+       */
+      @java.lang.Override
+      public long getRequestId() {
+        return requestId_;
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @param value The requestId to set.
+       * @return This builder for chaining.
+       */
+      public Builder setRequestId(long value) {
+        bitField0_ |= 0x00000008;
+        requestId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearRequestId() {
+        bitField0_ = (bitField0_ & ~0x00000008);
+        requestId_ = 0L;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
         return super.setUnknownFields(unknownFields);
       }
 
+      @java.lang.Override
       public final Builder mergeUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
         return super.mergeUnknownFields(unknownFields);
@@ -2189,11 +2698,12 @@ public final class ServiceProto {
 
     @java.lang.Deprecated public static final com.google.protobuf.Parser<ProcessStateUpdateMessage>
         PARSER = new com.google.protobuf.AbstractParser<ProcessStateUpdateMessage>() {
+      @java.lang.Override
       public ProcessStateUpdateMessage parsePartialFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
-          return new ProcessStateUpdateMessage(input, extensionRegistry);
+        return new ProcessStateUpdateMessage(input, extensionRegistry);
       }
     };
 
@@ -2206,6 +2716,7 @@ public final class ServiceProto {
       return PARSER;
     }
 
+    @java.lang.Override
     public org.flexiblepower.proto.ServiceProto.ProcessStateUpdateMessage getDefaultInstanceForType() {
       return DEFAULT_INSTANCE;
     }
@@ -2218,24 +2729,29 @@ public final class ServiceProto {
 
     /**
      * <code>required string processId = 1;</code>
+     * @return Whether the processId field is set.
      */
     boolean hasProcessId();
     /**
      * <code>required string processId = 1;</code>
+     * @return The processId.
      */
     java.lang.String getProcessId();
     /**
      * <code>required string processId = 1;</code>
+     * @return The bytes for processId.
      */
     com.google.protobuf.ByteString
         getProcessIdBytes();
 
     /**
      * <code>required bool isUpdate = 2;</code>
+     * @return Whether the isUpdate field is set.
      */
     boolean hasIsUpdate();
     /**
      * <code>required bool isUpdate = 2;</code>
+     * @return The isUpdate.
      */
     boolean getIsUpdate();
 
@@ -2272,21 +2788,39 @@ public final class ServiceProto {
 
     java.lang.String getConfigOrThrow(
         java.lang.String key);
+
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return Whether the requestId field is set.
+     */
+    boolean hasRequestId();
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return The requestId.
+     */
+    long getRequestId();
   }
   /**
    * Protobuf type {@code process.SetConfigMessage}
    */
-  public  static final class SetConfigMessage extends
+  public static final class SetConfigMessage extends
       com.google.protobuf.GeneratedMessageV3 implements
       // @@protoc_insertion_point(message_implements:process.SetConfigMessage)
       SetConfigMessageOrBuilder {
+  private static final long serialVersionUID = 0L;
     // Use SetConfigMessage.newBuilder() to construct.
     private SetConfigMessage(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
       super(builder);
     }
     private SetConfigMessage() {
       processId_ = "";
-      isUpdate_ = false;
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new SetConfigMessage();
     }
 
     @java.lang.Override
@@ -2299,6 +2833,9 @@ public final class ServiceProto {
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
       int mutable_bitField0_ = 0;
       com.google.protobuf.UnknownFieldSet.Builder unknownFields =
           com.google.protobuf.UnknownFieldSet.newBuilder();
@@ -2310,13 +2847,6 @@ public final class ServiceProto {
             case 0:
               done = true;
               break;
-            default: {
-              if (!parseUnknownField(input, unknownFields,
-                                     extensionRegistry, tag)) {
-                done = true;
-              }
-              break;
-            }
             case 10: {
               com.google.protobuf.ByteString bs = input.readBytes();
               bitField0_ |= 0x00000001;
@@ -2329,7 +2859,7 @@ public final class ServiceProto {
               break;
             }
             case 26: {
-              if (!((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+              if (!((mutable_bitField0_ & 0x00000004) != 0)) {
                 config_ = com.google.protobuf.MapField.newMapField(
                     ConfigDefaultEntryHolder.defaultEntry);
                 mutable_bitField0_ |= 0x00000004;
@@ -2341,6 +2871,18 @@ public final class ServiceProto {
                   config__.getKey(), config__.getValue());
               break;
             }
+            case 120: {
+              bitField0_ |= 0x00000004;
+              requestId_ = input.readInt64();
+              break;
+            }
+            default: {
+              if (!parseUnknownField(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -2359,6 +2901,7 @@ public final class ServiceProto {
     }
 
     @SuppressWarnings({"rawtypes"})
+    @java.lang.Override
     protected com.google.protobuf.MapField internalGetMapField(
         int number) {
       switch (number) {
@@ -2369,6 +2912,7 @@ public final class ServiceProto {
               "Invalid map field number: " + number);
       }
     }
+    @java.lang.Override
     protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
         internalGetFieldAccessorTable() {
       return org.flexiblepower.proto.ServiceProto.internal_static_process_SetConfigMessage_fieldAccessorTable
@@ -2381,13 +2925,17 @@ public final class ServiceProto {
     private volatile java.lang.Object processId_;
     /**
      * <code>required string processId = 1;</code>
+     * @return Whether the processId field is set.
      */
+    @java.lang.Override
     public boolean hasProcessId() {
-      return ((bitField0_ & 0x00000001) == 0x00000001);
+      return ((bitField0_ & 0x00000001) != 0);
     }
     /**
      * <code>required string processId = 1;</code>
+     * @return The processId.
      */
+    @java.lang.Override
     public java.lang.String getProcessId() {
       java.lang.Object ref = processId_;
       if (ref instanceof java.lang.String) {
@@ -2404,7 +2952,9 @@ public final class ServiceProto {
     }
     /**
      * <code>required string processId = 1;</code>
+     * @return The bytes for processId.
      */
+    @java.lang.Override
     public com.google.protobuf.ByteString
         getProcessIdBytes() {
       java.lang.Object ref = processId_;
@@ -2423,13 +2973,17 @@ public final class ServiceProto {
     private boolean isUpdate_;
     /**
      * <code>required bool isUpdate = 2;</code>
+     * @return Whether the isUpdate field is set.
      */
+    @java.lang.Override
     public boolean hasIsUpdate() {
-      return ((bitField0_ & 0x00000002) == 0x00000002);
+      return ((bitField0_ & 0x00000002) != 0);
     }
     /**
      * <code>required bool isUpdate = 2;</code>
+     * @return The isUpdate.
      */
+    @java.lang.Override
     public boolean getIsUpdate() {
       return isUpdate_;
     }
@@ -2464,14 +3018,16 @@ public final class ServiceProto {
      * <code>map&lt;string, string&gt; config = 3;</code>
      */
 
+    @java.lang.Override
     public boolean containsConfig(
         java.lang.String key) {
-      if (key == null) { throw new java.lang.NullPointerException(); }
+      if (key == null) { throw new NullPointerException("map key"); }
       return internalGetConfig().getMap().containsKey(key);
     }
     /**
      * Use {@link #getConfigMap()} instead.
      */
+    @java.lang.Override
     @java.lang.Deprecated
     public java.util.Map<java.lang.String, java.lang.String> getConfig() {
       return getConfigMap();
@@ -2479,6 +3035,7 @@ public final class ServiceProto {
     /**
      * <code>map&lt;string, string&gt; config = 3;</code>
      */
+    @java.lang.Override
 
     public java.util.Map<java.lang.String, java.lang.String> getConfigMap() {
       return internalGetConfig().getMap();
@@ -2486,11 +3043,12 @@ public final class ServiceProto {
     /**
      * <code>map&lt;string, string&gt; config = 3;</code>
      */
+    @java.lang.Override
 
     public java.lang.String getConfigOrDefault(
         java.lang.String key,
         java.lang.String defaultValue) {
-      if (key == null) { throw new java.lang.NullPointerException(); }
+      if (key == null) { throw new NullPointerException("map key"); }
       java.util.Map<java.lang.String, java.lang.String> map =
           internalGetConfig().getMap();
       return map.containsKey(key) ? map.get(key) : defaultValue;
@@ -2498,10 +3056,11 @@ public final class ServiceProto {
     /**
      * <code>map&lt;string, string&gt; config = 3;</code>
      */
+    @java.lang.Override
 
     public java.lang.String getConfigOrThrow(
         java.lang.String key) {
-      if (key == null) { throw new java.lang.NullPointerException(); }
+      if (key == null) { throw new NullPointerException("map key"); }
       java.util.Map<java.lang.String, java.lang.String> map =
           internalGetConfig().getMap();
       if (!map.containsKey(key)) {
@@ -2510,7 +3069,27 @@ public final class ServiceProto {
       return map.get(key);
     }
 
+    public static final int REQUESTID_FIELD_NUMBER = 15;
+    private long requestId_;
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return Whether the requestId field is set.
+     */
+    @java.lang.Override
+    public boolean hasRequestId() {
+      return ((bitField0_ & 0x00000004) != 0);
+    }
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return The requestId.
+     */
+    @java.lang.Override
+    public long getRequestId() {
+      return requestId_;
+    }
+
     private byte memoizedIsInitialized = -1;
+    @java.lang.Override
     public final boolean isInitialized() {
       byte isInitialized = memoizedIsInitialized;
       if (isInitialized == 1) return true;
@@ -2528,12 +3107,13 @@ public final class ServiceProto {
       return true;
     }
 
+    @java.lang.Override
     public void writeTo(com.google.protobuf.CodedOutputStream output)
                         throws java.io.IOException {
-      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+      if (((bitField0_ & 0x00000001) != 0)) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 1, processId_);
       }
-      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+      if (((bitField0_ & 0x00000002) != 0)) {
         output.writeBool(2, isUpdate_);
       }
       com.google.protobuf.GeneratedMessageV3
@@ -2542,18 +3122,22 @@ public final class ServiceProto {
           internalGetConfig(),
           ConfigDefaultEntryHolder.defaultEntry,
           3);
+      if (((bitField0_ & 0x00000004) != 0)) {
+        output.writeInt64(15, requestId_);
+      }
       unknownFields.writeTo(output);
     }
 
+    @java.lang.Override
     public int getSerializedSize() {
       int size = memoizedSize;
       if (size != -1) return size;
 
       size = 0;
-      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+      if (((bitField0_ & 0x00000001) != 0)) {
         size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, processId_);
       }
-      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+      if (((bitField0_ & 0x00000002) != 0)) {
         size += com.google.protobuf.CodedOutputStream
           .computeBoolSize(2, isUpdate_);
       }
@@ -2567,12 +3151,15 @@ public final class ServiceProto {
         size += com.google.protobuf.CodedOutputStream
             .computeMessageSize(3, config__);
       }
+      if (((bitField0_ & 0x00000004) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(15, requestId_);
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
     }
 
-    private static final long serialVersionUID = 0L;
     @java.lang.Override
     public boolean equals(final java.lang.Object obj) {
       if (obj == this) {
@@ -2583,21 +3170,25 @@ public final class ServiceProto {
       }
       org.flexiblepower.proto.ServiceProto.SetConfigMessage other = (org.flexiblepower.proto.ServiceProto.SetConfigMessage) obj;
 
-      boolean result = true;
-      result = result && (hasProcessId() == other.hasProcessId());
+      if (hasProcessId() != other.hasProcessId()) return false;
       if (hasProcessId()) {
-        result = result && getProcessId()
-            .equals(other.getProcessId());
+        if (!getProcessId()
+            .equals(other.getProcessId())) return false;
       }
-      result = result && (hasIsUpdate() == other.hasIsUpdate());
+      if (hasIsUpdate() != other.hasIsUpdate()) return false;
       if (hasIsUpdate()) {
-        result = result && (getIsUpdate()
-            == other.getIsUpdate());
+        if (getIsUpdate()
+            != other.getIsUpdate()) return false;
       }
-      result = result && internalGetConfig().equals(
-          other.internalGetConfig());
-      result = result && unknownFields.equals(other.unknownFields);
-      return result;
+      if (!internalGetConfig().equals(
+          other.internalGetConfig())) return false;
+      if (hasRequestId() != other.hasRequestId()) return false;
+      if (hasRequestId()) {
+        if (getRequestId()
+            != other.getRequestId()) return false;
+      }
+      if (!unknownFields.equals(other.unknownFields)) return false;
+      return true;
     }
 
     @java.lang.Override
@@ -2620,6 +3211,11 @@ public final class ServiceProto {
         hash = (37 * hash) + CONFIG_FIELD_NUMBER;
         hash = (53 * hash) + internalGetConfig().hashCode();
       }
+      if (hasRequestId()) {
+        hash = (37 * hash) + REQUESTID_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getRequestId());
+      }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -2695,6 +3291,7 @@ public final class ServiceProto {
           .parseWithIOException(PARSER, input, extensionRegistry);
     }
 
+    @java.lang.Override
     public Builder newBuilderForType() { return newBuilder(); }
     public static Builder newBuilder() {
       return DEFAULT_INSTANCE.toBuilder();
@@ -2702,6 +3299,7 @@ public final class ServiceProto {
     public static Builder newBuilder(org.flexiblepower.proto.ServiceProto.SetConfigMessage prototype) {
       return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
     }
+    @java.lang.Override
     public Builder toBuilder() {
       return this == DEFAULT_INSTANCE
           ? new Builder() : new Builder().mergeFrom(this);
@@ -2747,6 +3345,7 @@ public final class ServiceProto {
                 "Invalid map field number: " + number);
         }
       }
+      @java.lang.Override
       protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
           internalGetFieldAccessorTable() {
         return org.flexiblepower.proto.ServiceProto.internal_static_process_SetConfigMessage_fieldAccessorTable
@@ -2769,6 +3368,7 @@ public final class ServiceProto {
                 .alwaysUseFieldBuilders) {
         }
       }
+      @java.lang.Override
       public Builder clear() {
         super.clear();
         processId_ = "";
@@ -2776,18 +3376,23 @@ public final class ServiceProto {
         isUpdate_ = false;
         bitField0_ = (bitField0_ & ~0x00000002);
         internalGetMutableConfig().clear();
+        requestId_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000008);
         return this;
       }
 
+      @java.lang.Override
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
         return org.flexiblepower.proto.ServiceProto.internal_static_process_SetConfigMessage_descriptor;
       }
 
+      @java.lang.Override
       public org.flexiblepower.proto.ServiceProto.SetConfigMessage getDefaultInstanceForType() {
         return org.flexiblepower.proto.ServiceProto.SetConfigMessage.getDefaultInstance();
       }
 
+      @java.lang.Override
       public org.flexiblepower.proto.ServiceProto.SetConfigMessage build() {
         org.flexiblepower.proto.ServiceProto.SetConfigMessage result = buildPartial();
         if (!result.isInitialized()) {
@@ -2796,51 +3401,63 @@ public final class ServiceProto {
         return result;
       }
 
+      @java.lang.Override
       public org.flexiblepower.proto.ServiceProto.SetConfigMessage buildPartial() {
         org.flexiblepower.proto.ServiceProto.SetConfigMessage result = new org.flexiblepower.proto.ServiceProto.SetConfigMessage(this);
         int from_bitField0_ = bitField0_;
         int to_bitField0_ = 0;
-        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+        if (((from_bitField0_ & 0x00000001) != 0)) {
           to_bitField0_ |= 0x00000001;
         }
         result.processId_ = processId_;
-        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+        if (((from_bitField0_ & 0x00000002) != 0)) {
+          result.isUpdate_ = isUpdate_;
           to_bitField0_ |= 0x00000002;
         }
-        result.isUpdate_ = isUpdate_;
         result.config_ = internalGetConfig();
         result.config_.makeImmutable();
+        if (((from_bitField0_ & 0x00000008) != 0)) {
+          result.requestId_ = requestId_;
+          to_bitField0_ |= 0x00000004;
+        }
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
       }
 
+      @java.lang.Override
       public Builder clone() {
-        return (Builder) super.clone();
+        return super.clone();
       }
+      @java.lang.Override
       public Builder setField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
-          Object value) {
-        return (Builder) super.setField(field, value);
+          java.lang.Object value) {
+        return super.setField(field, value);
       }
+      @java.lang.Override
       public Builder clearField(
           com.google.protobuf.Descriptors.FieldDescriptor field) {
-        return (Builder) super.clearField(field);
+        return super.clearField(field);
       }
+      @java.lang.Override
       public Builder clearOneof(
           com.google.protobuf.Descriptors.OneofDescriptor oneof) {
-        return (Builder) super.clearOneof(oneof);
+        return super.clearOneof(oneof);
       }
+      @java.lang.Override
       public Builder setRepeatedField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
-          int index, Object value) {
-        return (Builder) super.setRepeatedField(field, index, value);
+          int index, java.lang.Object value) {
+        return super.setRepeatedField(field, index, value);
       }
+      @java.lang.Override
       public Builder addRepeatedField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
-          Object value) {
-        return (Builder) super.addRepeatedField(field, value);
+          java.lang.Object value) {
+        return super.addRepeatedField(field, value);
       }
+      @java.lang.Override
       public Builder mergeFrom(com.google.protobuf.Message other) {
         if (other instanceof org.flexiblepower.proto.ServiceProto.SetConfigMessage) {
           return mergeFrom((org.flexiblepower.proto.ServiceProto.SetConfigMessage)other);
@@ -2862,11 +3479,15 @@ public final class ServiceProto {
         }
         internalGetMutableConfig().mergeFrom(
             other.internalGetConfig());
+        if (other.hasRequestId()) {
+          setRequestId(other.getRequestId());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
       }
 
+      @java.lang.Override
       public final boolean isInitialized() {
         if (!hasProcessId()) {
           return false;
@@ -2877,6 +3498,7 @@ public final class ServiceProto {
         return true;
       }
 
+      @java.lang.Override
       public Builder mergeFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
@@ -2899,12 +3521,14 @@ public final class ServiceProto {
       private java.lang.Object processId_ = "";
       /**
        * <code>required string processId = 1;</code>
+       * @return Whether the processId field is set.
        */
       public boolean hasProcessId() {
-        return ((bitField0_ & 0x00000001) == 0x00000001);
+        return ((bitField0_ & 0x00000001) != 0);
       }
       /**
        * <code>required string processId = 1;</code>
+       * @return The processId.
        */
       public java.lang.String getProcessId() {
         java.lang.Object ref = processId_;
@@ -2922,6 +3546,7 @@ public final class ServiceProto {
       }
       /**
        * <code>required string processId = 1;</code>
+       * @return The bytes for processId.
        */
       public com.google.protobuf.ByteString
           getProcessIdBytes() {
@@ -2938,6 +3563,8 @@ public final class ServiceProto {
       }
       /**
        * <code>required string processId = 1;</code>
+       * @param value The processId to set.
+       * @return This builder for chaining.
        */
       public Builder setProcessId(
           java.lang.String value) {
@@ -2951,6 +3578,7 @@ public final class ServiceProto {
       }
       /**
        * <code>required string processId = 1;</code>
+       * @return This builder for chaining.
        */
       public Builder clearProcessId() {
         bitField0_ = (bitField0_ & ~0x00000001);
@@ -2960,6 +3588,8 @@ public final class ServiceProto {
       }
       /**
        * <code>required string processId = 1;</code>
+       * @param value The bytes for processId to set.
+       * @return This builder for chaining.
        */
       public Builder setProcessIdBytes(
           com.google.protobuf.ByteString value) {
@@ -2975,18 +3605,24 @@ public final class ServiceProto {
       private boolean isUpdate_ ;
       /**
        * <code>required bool isUpdate = 2;</code>
+       * @return Whether the isUpdate field is set.
        */
+      @java.lang.Override
       public boolean hasIsUpdate() {
-        return ((bitField0_ & 0x00000002) == 0x00000002);
+        return ((bitField0_ & 0x00000002) != 0);
       }
       /**
        * <code>required bool isUpdate = 2;</code>
+       * @return The isUpdate.
        */
+      @java.lang.Override
       public boolean getIsUpdate() {
         return isUpdate_;
       }
       /**
        * <code>required bool isUpdate = 2;</code>
+       * @param value The isUpdate to set.
+       * @return This builder for chaining.
        */
       public Builder setIsUpdate(boolean value) {
         bitField0_ |= 0x00000002;
@@ -2996,6 +3632,7 @@ public final class ServiceProto {
       }
       /**
        * <code>required bool isUpdate = 2;</code>
+       * @return This builder for chaining.
        */
       public Builder clearIsUpdate() {
         bitField0_ = (bitField0_ & ~0x00000002);
@@ -3034,14 +3671,16 @@ public final class ServiceProto {
        * <code>map&lt;string, string&gt; config = 3;</code>
        */
 
+      @java.lang.Override
       public boolean containsConfig(
           java.lang.String key) {
-        if (key == null) { throw new java.lang.NullPointerException(); }
+        if (key == null) { throw new NullPointerException("map key"); }
         return internalGetConfig().getMap().containsKey(key);
       }
       /**
        * Use {@link #getConfigMap()} instead.
        */
+      @java.lang.Override
       @java.lang.Deprecated
       public java.util.Map<java.lang.String, java.lang.String> getConfig() {
         return getConfigMap();
@@ -3049,6 +3688,7 @@ public final class ServiceProto {
       /**
        * <code>map&lt;string, string&gt; config = 3;</code>
        */
+      @java.lang.Override
 
       public java.util.Map<java.lang.String, java.lang.String> getConfigMap() {
         return internalGetConfig().getMap();
@@ -3056,11 +3696,12 @@ public final class ServiceProto {
       /**
        * <code>map&lt;string, string&gt; config = 3;</code>
        */
+      @java.lang.Override
 
       public java.lang.String getConfigOrDefault(
           java.lang.String key,
           java.lang.String defaultValue) {
-        if (key == null) { throw new java.lang.NullPointerException(); }
+        if (key == null) { throw new NullPointerException("map key"); }
         java.util.Map<java.lang.String, java.lang.String> map =
             internalGetConfig().getMap();
         return map.containsKey(key) ? map.get(key) : defaultValue;
@@ -3068,10 +3709,11 @@ public final class ServiceProto {
       /**
        * <code>map&lt;string, string&gt; config = 3;</code>
        */
+      @java.lang.Override
 
       public java.lang.String getConfigOrThrow(
           java.lang.String key) {
-        if (key == null) { throw new java.lang.NullPointerException(); }
+        if (key == null) { throw new NullPointerException("map key"); }
         java.util.Map<java.lang.String, java.lang.String> map =
             internalGetConfig().getMap();
         if (!map.containsKey(key)) {
@@ -3091,7 +3733,7 @@ public final class ServiceProto {
 
       public Builder removeConfig(
           java.lang.String key) {
-        if (key == null) { throw new java.lang.NullPointerException(); }
+        if (key == null) { throw new NullPointerException("map key"); }
         internalGetMutableConfig().getMutableMap()
             .remove(key);
         return this;
@@ -3110,8 +3752,11 @@ public final class ServiceProto {
       public Builder putConfig(
           java.lang.String key,
           java.lang.String value) {
-        if (key == null) { throw new java.lang.NullPointerException(); }
-        if (value == null) { throw new java.lang.NullPointerException(); }
+        if (key == null) { throw new NullPointerException("map key"); }
+        if (value == null) {
+  throw new NullPointerException("map value");
+}
+
         internalGetMutableConfig().getMutableMap()
             .put(key, value);
         return this;
@@ -3126,11 +3771,52 @@ public final class ServiceProto {
             .putAll(values);
         return this;
       }
+
+      private long requestId_ ;
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return Whether the requestId field is set.
+       */
+      @java.lang.Override
+      public boolean hasRequestId() {
+        return ((bitField0_ & 0x00000008) != 0);
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return The requestId.
+       */
+      @java.lang.Override
+      public long getRequestId() {
+        return requestId_;
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @param value The requestId to set.
+       * @return This builder for chaining.
+       */
+      public Builder setRequestId(long value) {
+        bitField0_ |= 0x00000008;
+        requestId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearRequestId() {
+        bitField0_ = (bitField0_ & ~0x00000008);
+        requestId_ = 0L;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
         return super.setUnknownFields(unknownFields);
       }
 
+      @java.lang.Override
       public final Builder mergeUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
         return super.mergeUnknownFields(unknownFields);
@@ -3152,11 +3838,12 @@ public final class ServiceProto {
 
     @java.lang.Deprecated public static final com.google.protobuf.Parser<SetConfigMessage>
         PARSER = new com.google.protobuf.AbstractParser<SetConfigMessage>() {
+      @java.lang.Override
       public SetConfigMessage parsePartialFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
-          return new SetConfigMessage(input, extensionRegistry);
+        return new SetConfigMessage(input, extensionRegistry);
       }
     };
 
@@ -3169,6 +3856,7 @@ public final class ServiceProto {
       return PARSER;
     }
 
+    @java.lang.Override
     public org.flexiblepower.proto.ServiceProto.SetConfigMessage getDefaultInstanceForType() {
       return DEFAULT_INSTANCE;
     }
@@ -3181,39 +3869,57 @@ public final class ServiceProto {
 
     /**
      * <code>required string processId = 1;</code>
+     * @return Whether the processId field is set.
      */
     boolean hasProcessId();
     /**
      * <code>required string processId = 1;</code>
+     * @return The processId.
      */
     java.lang.String getProcessId();
     /**
      * <code>required string processId = 1;</code>
+     * @return The bytes for processId.
      */
     com.google.protobuf.ByteString
         getProcessIdBytes();
 
     /**
      * <code>required string debugInformation = 2;</code>
+     * @return Whether the debugInformation field is set.
      */
     boolean hasDebugInformation();
     /**
      * <code>required string debugInformation = 2;</code>
+     * @return The debugInformation.
      */
     java.lang.String getDebugInformation();
     /**
      * <code>required string debugInformation = 2;</code>
+     * @return The bytes for debugInformation.
      */
     com.google.protobuf.ByteString
         getDebugInformationBytes();
+
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return Whether the requestId field is set.
+     */
+    boolean hasRequestId();
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return The requestId.
+     */
+    long getRequestId();
   }
   /**
    * Protobuf type {@code process.ErrorMessage}
    */
-  public  static final class ErrorMessage extends
+  public static final class ErrorMessage extends
       com.google.protobuf.GeneratedMessageV3 implements
       // @@protoc_insertion_point(message_implements:process.ErrorMessage)
       ErrorMessageOrBuilder {
+  private static final long serialVersionUID = 0L;
     // Use ErrorMessage.newBuilder() to construct.
     private ErrorMessage(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
       super(builder);
@@ -3223,6 +3929,13 @@ public final class ServiceProto {
       debugInformation_ = "";
     }
 
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new ErrorMessage();
+    }
+
     @java.lang.Override
     public final com.google.protobuf.UnknownFieldSet
     getUnknownFields() {
@@ -3233,6 +3946,9 @@ public final class ServiceProto {
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
       int mutable_bitField0_ = 0;
       com.google.protobuf.UnknownFieldSet.Builder unknownFields =
           com.google.protobuf.UnknownFieldSet.newBuilder();
@@ -3244,13 +3960,6 @@ public final class ServiceProto {
             case 0:
               done = true;
               break;
-            default: {
-              if (!parseUnknownField(input, unknownFields,
-                                     extensionRegistry, tag)) {
-                done = true;
-              }
-              break;
-            }
             case 10: {
               com.google.protobuf.ByteString bs = input.readBytes();
               bitField0_ |= 0x00000001;
@@ -3263,6 +3972,18 @@ public final class ServiceProto {
               debugInformation_ = bs;
               break;
             }
+            case 120: {
+              bitField0_ |= 0x00000004;
+              requestId_ = input.readInt64();
+              break;
+            }
+            default: {
+              if (!parseUnknownField(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -3280,6 +4001,7 @@ public final class ServiceProto {
       return org.flexiblepower.proto.ServiceProto.internal_static_process_ErrorMessage_descriptor;
     }
 
+    @java.lang.Override
     protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
         internalGetFieldAccessorTable() {
       return org.flexiblepower.proto.ServiceProto.internal_static_process_ErrorMessage_fieldAccessorTable
@@ -3292,13 +4014,17 @@ public final class ServiceProto {
     private volatile java.lang.Object processId_;
     /**
      * <code>required string processId = 1;</code>
+     * @return Whether the processId field is set.
      */
+    @java.lang.Override
     public boolean hasProcessId() {
-      return ((bitField0_ & 0x00000001) == 0x00000001);
+      return ((bitField0_ & 0x00000001) != 0);
     }
     /**
      * <code>required string processId = 1;</code>
+     * @return The processId.
      */
+    @java.lang.Override
     public java.lang.String getProcessId() {
       java.lang.Object ref = processId_;
       if (ref instanceof java.lang.String) {
@@ -3315,7 +4041,9 @@ public final class ServiceProto {
     }
     /**
      * <code>required string processId = 1;</code>
+     * @return The bytes for processId.
      */
+    @java.lang.Override
     public com.google.protobuf.ByteString
         getProcessIdBytes() {
       java.lang.Object ref = processId_;
@@ -3334,13 +4062,17 @@ public final class ServiceProto {
     private volatile java.lang.Object debugInformation_;
     /**
      * <code>required string debugInformation = 2;</code>
+     * @return Whether the debugInformation field is set.
      */
+    @java.lang.Override
     public boolean hasDebugInformation() {
-      return ((bitField0_ & 0x00000002) == 0x00000002);
+      return ((bitField0_ & 0x00000002) != 0);
     }
     /**
      * <code>required string debugInformation = 2;</code>
+     * @return The debugInformation.
      */
+    @java.lang.Override
     public java.lang.String getDebugInformation() {
       java.lang.Object ref = debugInformation_;
       if (ref instanceof java.lang.String) {
@@ -3357,7 +4089,9 @@ public final class ServiceProto {
     }
     /**
      * <code>required string debugInformation = 2;</code>
+     * @return The bytes for debugInformation.
      */
+    @java.lang.Override
     public com.google.protobuf.ByteString
         getDebugInformationBytes() {
       java.lang.Object ref = debugInformation_;
@@ -3372,7 +4106,27 @@ public final class ServiceProto {
       }
     }
 
+    public static final int REQUESTID_FIELD_NUMBER = 15;
+    private long requestId_;
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return Whether the requestId field is set.
+     */
+    @java.lang.Override
+    public boolean hasRequestId() {
+      return ((bitField0_ & 0x00000004) != 0);
+    }
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return The requestId.
+     */
+    @java.lang.Override
+    public long getRequestId() {
+      return requestId_;
+    }
+
     private byte memoizedIsInitialized = -1;
+    @java.lang.Override
     public final boolean isInitialized() {
       byte isInitialized = memoizedIsInitialized;
       if (isInitialized == 1) return true;
@@ -3390,34 +4144,42 @@ public final class ServiceProto {
       return true;
     }
 
+    @java.lang.Override
     public void writeTo(com.google.protobuf.CodedOutputStream output)
                         throws java.io.IOException {
-      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+      if (((bitField0_ & 0x00000001) != 0)) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 1, processId_);
       }
-      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+      if (((bitField0_ & 0x00000002) != 0)) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 2, debugInformation_);
       }
+      if (((bitField0_ & 0x00000004) != 0)) {
+        output.writeInt64(15, requestId_);
+      }
       unknownFields.writeTo(output);
     }
 
+    @java.lang.Override
     public int getSerializedSize() {
       int size = memoizedSize;
       if (size != -1) return size;
 
       size = 0;
-      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+      if (((bitField0_ & 0x00000001) != 0)) {
         size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, processId_);
       }
-      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+      if (((bitField0_ & 0x00000002) != 0)) {
         size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, debugInformation_);
       }
+      if (((bitField0_ & 0x00000004) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(15, requestId_);
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
     }
 
-    private static final long serialVersionUID = 0L;
     @java.lang.Override
     public boolean equals(final java.lang.Object obj) {
       if (obj == this) {
@@ -3428,19 +4190,23 @@ public final class ServiceProto {
       }
       org.flexiblepower.proto.ServiceProto.ErrorMessage other = (org.flexiblepower.proto.ServiceProto.ErrorMessage) obj;
 
-      boolean result = true;
-      result = result && (hasProcessId() == other.hasProcessId());
+      if (hasProcessId() != other.hasProcessId()) return false;
       if (hasProcessId()) {
-        result = result && getProcessId()
-            .equals(other.getProcessId());
+        if (!getProcessId()
+            .equals(other.getProcessId())) return false;
       }
-      result = result && (hasDebugInformation() == other.hasDebugInformation());
+      if (hasDebugInformation() != other.hasDebugInformation()) return false;
       if (hasDebugInformation()) {
-        result = result && getDebugInformation()
-            .equals(other.getDebugInformation());
+        if (!getDebugInformation()
+            .equals(other.getDebugInformation())) return false;
       }
-      result = result && unknownFields.equals(other.unknownFields);
-      return result;
+      if (hasRequestId() != other.hasRequestId()) return false;
+      if (hasRequestId()) {
+        if (getRequestId()
+            != other.getRequestId()) return false;
+      }
+      if (!unknownFields.equals(other.unknownFields)) return false;
+      return true;
     }
 
     @java.lang.Override
@@ -3458,6 +4224,11 @@ public final class ServiceProto {
         hash = (37 * hash) + DEBUGINFORMATION_FIELD_NUMBER;
         hash = (53 * hash) + getDebugInformation().hashCode();
       }
+      if (hasRequestId()) {
+        hash = (37 * hash) + REQUESTID_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getRequestId());
+      }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -3533,6 +4304,7 @@ public final class ServiceProto {
           .parseWithIOException(PARSER, input, extensionRegistry);
     }
 
+    @java.lang.Override
     public Builder newBuilderForType() { return newBuilder(); }
     public static Builder newBuilder() {
       return DEFAULT_INSTANCE.toBuilder();
@@ -3540,6 +4312,7 @@ public final class ServiceProto {
     public static Builder newBuilder(org.flexiblepower.proto.ServiceProto.ErrorMessage prototype) {
       return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
     }
+    @java.lang.Override
     public Builder toBuilder() {
       return this == DEFAULT_INSTANCE
           ? new Builder() : new Builder().mergeFrom(this);
@@ -3563,6 +4336,7 @@ public final class ServiceProto {
         return org.flexiblepower.proto.ServiceProto.internal_static_process_ErrorMessage_descriptor;
       }
 
+      @java.lang.Override
       protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
           internalGetFieldAccessorTable() {
         return org.flexiblepower.proto.ServiceProto.internal_static_process_ErrorMessage_fieldAccessorTable
@@ -3585,24 +4359,30 @@ public final class ServiceProto {
                 .alwaysUseFieldBuilders) {
         }
       }
+      @java.lang.Override
       public Builder clear() {
         super.clear();
         processId_ = "";
         bitField0_ = (bitField0_ & ~0x00000001);
         debugInformation_ = "";
         bitField0_ = (bitField0_ & ~0x00000002);
+        requestId_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000004);
         return this;
       }
 
+      @java.lang.Override
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
         return org.flexiblepower.proto.ServiceProto.internal_static_process_ErrorMessage_descriptor;
       }
 
+      @java.lang.Override
       public org.flexiblepower.proto.ServiceProto.ErrorMessage getDefaultInstanceForType() {
         return org.flexiblepower.proto.ServiceProto.ErrorMessage.getDefaultInstance();
       }
 
+      @java.lang.Override
       public org.flexiblepower.proto.ServiceProto.ErrorMessage build() {
         org.flexiblepower.proto.ServiceProto.ErrorMessage result = buildPartial();
         if (!result.isInitialized()) {
@@ -3611,49 +4391,61 @@ public final class ServiceProto {
         return result;
       }
 
+      @java.lang.Override
       public org.flexiblepower.proto.ServiceProto.ErrorMessage buildPartial() {
         org.flexiblepower.proto.ServiceProto.ErrorMessage result = new org.flexiblepower.proto.ServiceProto.ErrorMessage(this);
         int from_bitField0_ = bitField0_;
         int to_bitField0_ = 0;
-        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+        if (((from_bitField0_ & 0x00000001) != 0)) {
           to_bitField0_ |= 0x00000001;
         }
         result.processId_ = processId_;
-        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+        if (((from_bitField0_ & 0x00000002) != 0)) {
           to_bitField0_ |= 0x00000002;
         }
         result.debugInformation_ = debugInformation_;
+        if (((from_bitField0_ & 0x00000004) != 0)) {
+          result.requestId_ = requestId_;
+          to_bitField0_ |= 0x00000004;
+        }
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
       }
 
+      @java.lang.Override
       public Builder clone() {
-        return (Builder) super.clone();
+        return super.clone();
       }
+      @java.lang.Override
       public Builder setField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
-          Object value) {
-        return (Builder) super.setField(field, value);
+          java.lang.Object value) {
+        return super.setField(field, value);
       }
+      @java.lang.Override
       public Builder clearField(
           com.google.protobuf.Descriptors.FieldDescriptor field) {
-        return (Builder) super.clearField(field);
+        return super.clearField(field);
       }
+      @java.lang.Override
       public Builder clearOneof(
           com.google.protobuf.Descriptors.OneofDescriptor oneof) {
-        return (Builder) super.clearOneof(oneof);
+        return super.clearOneof(oneof);
       }
+      @java.lang.Override
       public Builder setRepeatedField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
-          int index, Object value) {
-        return (Builder) super.setRepeatedField(field, index, value);
+          int index, java.lang.Object value) {
+        return super.setRepeatedField(field, index, value);
       }
+      @java.lang.Override
       public Builder addRepeatedField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
-          Object value) {
-        return (Builder) super.addRepeatedField(field, value);
+          java.lang.Object value) {
+        return super.addRepeatedField(field, value);
       }
+      @java.lang.Override
       public Builder mergeFrom(com.google.protobuf.Message other) {
         if (other instanceof org.flexiblepower.proto.ServiceProto.ErrorMessage) {
           return mergeFrom((org.flexiblepower.proto.ServiceProto.ErrorMessage)other);
@@ -3675,11 +4467,15 @@ public final class ServiceProto {
           debugInformation_ = other.debugInformation_;
           onChanged();
         }
+        if (other.hasRequestId()) {
+          setRequestId(other.getRequestId());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
       }
 
+      @java.lang.Override
       public final boolean isInitialized() {
         if (!hasProcessId()) {
           return false;
@@ -3690,6 +4486,7 @@ public final class ServiceProto {
         return true;
       }
 
+      @java.lang.Override
       public Builder mergeFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
@@ -3712,12 +4509,14 @@ public final class ServiceProto {
       private java.lang.Object processId_ = "";
       /**
        * <code>required string processId = 1;</code>
+       * @return Whether the processId field is set.
        */
       public boolean hasProcessId() {
-        return ((bitField0_ & 0x00000001) == 0x00000001);
+        return ((bitField0_ & 0x00000001) != 0);
       }
       /**
        * <code>required string processId = 1;</code>
+       * @return The processId.
        */
       public java.lang.String getProcessId() {
         java.lang.Object ref = processId_;
@@ -3735,6 +4534,7 @@ public final class ServiceProto {
       }
       /**
        * <code>required string processId = 1;</code>
+       * @return The bytes for processId.
        */
       public com.google.protobuf.ByteString
           getProcessIdBytes() {
@@ -3751,6 +4551,8 @@ public final class ServiceProto {
       }
       /**
        * <code>required string processId = 1;</code>
+       * @param value The processId to set.
+       * @return This builder for chaining.
        */
       public Builder setProcessId(
           java.lang.String value) {
@@ -3764,6 +4566,7 @@ public final class ServiceProto {
       }
       /**
        * <code>required string processId = 1;</code>
+       * @return This builder for chaining.
        */
       public Builder clearProcessId() {
         bitField0_ = (bitField0_ & ~0x00000001);
@@ -3773,6 +4576,8 @@ public final class ServiceProto {
       }
       /**
        * <code>required string processId = 1;</code>
+       * @param value The bytes for processId to set.
+       * @return This builder for chaining.
        */
       public Builder setProcessIdBytes(
           com.google.protobuf.ByteString value) {
@@ -3788,12 +4593,14 @@ public final class ServiceProto {
       private java.lang.Object debugInformation_ = "";
       /**
        * <code>required string debugInformation = 2;</code>
+       * @return Whether the debugInformation field is set.
        */
       public boolean hasDebugInformation() {
-        return ((bitField0_ & 0x00000002) == 0x00000002);
+        return ((bitField0_ & 0x00000002) != 0);
       }
       /**
        * <code>required string debugInformation = 2;</code>
+       * @return The debugInformation.
        */
       public java.lang.String getDebugInformation() {
         java.lang.Object ref = debugInformation_;
@@ -3811,6 +4618,7 @@ public final class ServiceProto {
       }
       /**
        * <code>required string debugInformation = 2;</code>
+       * @return The bytes for debugInformation.
        */
       public com.google.protobuf.ByteString
           getDebugInformationBytes() {
@@ -3827,6 +4635,8 @@ public final class ServiceProto {
       }
       /**
        * <code>required string debugInformation = 2;</code>
+       * @param value The debugInformation to set.
+       * @return This builder for chaining.
        */
       public Builder setDebugInformation(
           java.lang.String value) {
@@ -3840,6 +4650,7 @@ public final class ServiceProto {
       }
       /**
        * <code>required string debugInformation = 2;</code>
+       * @return This builder for chaining.
        */
       public Builder clearDebugInformation() {
         bitField0_ = (bitField0_ & ~0x00000002);
@@ -3849,6 +4660,8 @@ public final class ServiceProto {
       }
       /**
        * <code>required string debugInformation = 2;</code>
+       * @param value The bytes for debugInformation to set.
+       * @return This builder for chaining.
        */
       public Builder setDebugInformationBytes(
           com.google.protobuf.ByteString value) {
@@ -3860,11 +4673,52 @@ public final class ServiceProto {
         onChanged();
         return this;
       }
+
+      private long requestId_ ;
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return Whether the requestId field is set.
+       */
+      @java.lang.Override
+      public boolean hasRequestId() {
+        return ((bitField0_ & 0x00000004) != 0);
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return The requestId.
+       */
+      @java.lang.Override
+      public long getRequestId() {
+        return requestId_;
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @param value The requestId to set.
+       * @return This builder for chaining.
+       */
+      public Builder setRequestId(long value) {
+        bitField0_ |= 0x00000004;
+        requestId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearRequestId() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        requestId_ = 0L;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
         return super.setUnknownFields(unknownFields);
       }
 
+      @java.lang.Override
       public final Builder mergeUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
         return super.mergeUnknownFields(unknownFields);
@@ -3886,11 +4740,12 @@ public final class ServiceProto {
 
     @java.lang.Deprecated public static final com.google.protobuf.Parser<ErrorMessage>
         PARSER = new com.google.protobuf.AbstractParser<ErrorMessage>() {
+      @java.lang.Override
       public ErrorMessage parsePartialFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
-          return new ErrorMessage(input, extensionRegistry);
+        return new ErrorMessage(input, extensionRegistry);
       }
     };
 
@@ -3903,116 +4758,3020 @@ public final class ServiceProto {
       return PARSER;
     }
 
+    @java.lang.Override
     public org.flexiblepower.proto.ServiceProto.ErrorMessage getDefaultInstanceForType() {
       return DEFAULT_INSTANCE;
     }
 
   }
 
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_process_GoToProcessStateMessage_descriptor;
-  private static final 
-    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-      internal_static_process_GoToProcessStateMessage_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_process_ResumeProcessMessage_descriptor;
-  private static final 
-    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-      internal_static_process_ResumeProcessMessage_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_process_ProcessStateUpdateMessage_descriptor;
-  private static final 
-    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-      internal_static_process_ProcessStateUpdateMessage_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_process_SetConfigMessage_descriptor;
-  private static final 
-    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-      internal_static_process_SetConfigMessage_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_process_SetConfigMessage_ConfigEntry_descriptor;
-  private static final 
-    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-      internal_static_process_SetConfigMessage_ConfigEntry_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_process_ErrorMessage_descriptor;
-  private static final 
-    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-      internal_static_process_ErrorMessage_fieldAccessorTable;
+  public interface BatchConnectionMessageOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:process.BatchConnectionMessage)
+      com.google.protobuf.MessageOrBuilder {
 
-  public static com.google.protobuf.Descriptors.FileDescriptor
-      getDescriptor() {
-    return descriptor;
+    /**
+     * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+     */
+    java.util.List<org.flexiblepower.proto.ConnectionProto.ConnectionMessage> 
+        getMessagesList();
+    /**
+     * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+     */
+    org.flexiblepower.proto.ConnectionProto.ConnectionMessage getMessages(int index);
+    /**
+     * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+     */
+    int getMessagesCount();
+    /**
+     * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+     */
+    java.util.List<? extends org.flexiblepower.proto.ConnectionProto.ConnectionMessageOrBuilder> 
+        getMessagesOrBuilderList();
+    /**
+     * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+     */
+    org.flexiblepower.proto.ConnectionProto.ConnectionMessageOrBuilder getMessagesOrBuilder(
+        int index);
+
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return Whether the requestId field is set.
+     */
+    boolean hasRequestId();
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return The requestId.
+     */
+    long getRequestId();
   }
-  private static  com.google.protobuf.Descriptors.FileDescriptor
-      descriptor;
-  static {
-    java.lang.String[] descriptorData = {
-      "\n\rService.proto\022\007process\"X\n\027GoToProcessS" +
-      "tateMessage\022\021\n\tprocessId\030\001 \002(\t\022*\n\013target" +
-      "State\030\002 \002(\0162\025.process.ProcessState\"<\n\024Re" +
-      "sumeProcessMessage\022\021\n\tprocessId\030\001 \002(\t\022\021\n" +
-      "\tstateData\030\002 \002(\014\"g\n\031ProcessStateUpdateMe" +
-      "ssage\022\021\n\tprocessId\030\001 \002(\t\022$\n\005state\030\002 \002(\0162" +
-      "\025.process.ProcessState\022\021\n\tstateData\030\003 \001(" +
-      "\014\"\235\001\n\020SetConfigMessage\022\021\n\tprocessId\030\001 \002(" +
-      "\t\022\020\n\010isUpdate\030\002 \002(\010\0225\n\006config\030\003 \003(\0132%.pr" +
-      "ocess.SetConfigMessage.ConfigEntry\032-\n\013Co",
-      "nfigEntry\022\013\n\003key\030\001 \001(\t\022\r\n\005value\030\002 \001(\t:\0028" +
-      "\001\";\n\014ErrorMessage\022\021\n\tprocessId\030\001 \002(\t\022\030\n\020" +
-      "debugInformation\030\002 \002(\t*Z\n\014ProcessState\022\014" +
-      "\n\010STARTING\020\000\022\020\n\014INITIALIZING\020\001\022\013\n\007RUNNIN" +
-      "G\020\002\022\r\n\tSUSPENDED\020\003\022\016\n\nTERMINATED\020\004B\'\n\027or" +
-      "g.flexiblepower.protoB\014ServiceProto"
-    };
-    com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
-        new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
-          public com.google.protobuf.ExtensionRegistry assignDescriptors(
-              com.google.protobuf.Descriptors.FileDescriptor root) {
-            descriptor = root;
-            return null;
-          }
-        };
-    com.google.protobuf.Descriptors.FileDescriptor
-      .internalBuildGeneratedFileFrom(descriptorData,
-        new com.google.protobuf.Descriptors.FileDescriptor[] {
-        }, assigner);
-    internal_static_process_GoToProcessStateMessage_descriptor =
-      getDescriptor().getMessageTypes().get(0);
-    internal_static_process_GoToProcessStateMessage_fieldAccessorTable = new
-      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
-        internal_static_process_GoToProcessStateMessage_descriptor,
-        new java.lang.String[] { "ProcessId", "TargetState", });
-    internal_static_process_ResumeProcessMessage_descriptor =
-      getDescriptor().getMessageTypes().get(1);
-    internal_static_process_ResumeProcessMessage_fieldAccessorTable = new
-      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
-        internal_static_process_ResumeProcessMessage_descriptor,
-        new java.lang.String[] { "ProcessId", "StateData", });
-    internal_static_process_ProcessStateUpdateMessage_descriptor =
-      getDescriptor().getMessageTypes().get(2);
-    internal_static_process_ProcessStateUpdateMessage_fieldAccessorTable = new
-      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
-        internal_static_process_ProcessStateUpdateMessage_descriptor,
-        new java.lang.String[] { "ProcessId", "State", "StateData", });
-    internal_static_process_SetConfigMessage_descriptor =
-      getDescriptor().getMessageTypes().get(3);
-    internal_static_process_SetConfigMessage_fieldAccessorTable = new
-      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
-        internal_static_process_SetConfigMessage_descriptor,
-        new java.lang.String[] { "ProcessId", "IsUpdate", "Config", });
-    internal_static_process_SetConfigMessage_ConfigEntry_descriptor =
-      internal_static_process_SetConfigMessage_descriptor.getNestedTypes().get(0);
-    internal_static_process_SetConfigMessage_ConfigEntry_fieldAccessorTable = new
-      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
-        internal_static_process_SetConfigMessage_ConfigEntry_descriptor,
-        new java.lang.String[] { "Key", "Value", });
-    internal_static_process_ErrorMessage_descriptor =
-      getDescriptor().getMessageTypes().get(4);
-    internal_static_process_ErrorMessage_fieldAccessorTable = new
-      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
-        internal_static_process_ErrorMessage_descriptor,
-        new java.lang.String[] { "ProcessId", "DebugInformation", });
+  /**
+   * Protobuf type {@code process.BatchConnectionMessage}
+   */
+  public static final class BatchConnectionMessage extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:process.BatchConnectionMessage)
+      BatchConnectionMessageOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use BatchConnectionMessage.newBuilder() to construct.
+    private BatchConnectionMessage(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private BatchConnectionMessage() {
+      messages_ = java.util.Collections.emptyList();
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new BatchConnectionMessage();
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private BatchConnectionMessage(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            case 10: {
+              if (!((mutable_bitField0_ & 0x00000001) != 0)) {
+                messages_ = new java.util.ArrayList<org.flexiblepower.proto.ConnectionProto.ConnectionMessage>();
+                mutable_bitField0_ |= 0x00000001;
+              }
+              messages_.add(
+                  input.readMessage(org.flexiblepower.proto.ConnectionProto.ConnectionMessage.PARSER, extensionRegistry));
+              break;
+            }
+            case 120: {
+              bitField0_ |= 0x00000001;
+              requestId_ = input.readInt64();
+              break;
+            }
+            default: {
+              if (!parseUnknownField(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000001) != 0)) {
+          messages_ = java.util.Collections.unmodifiableList(messages_);
+        }
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.flexiblepower.proto.ServiceProto.internal_static_process_BatchConnectionMessage_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.flexiblepower.proto.ServiceProto.internal_static_process_BatchConnectionMessage_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.flexiblepower.proto.ServiceProto.BatchConnectionMessage.class, org.flexiblepower.proto.ServiceProto.BatchConnectionMessage.Builder.class);
+    }
+
+    private int bitField0_;
+    public static final int MESSAGES_FIELD_NUMBER = 1;
+    private java.util.List<org.flexiblepower.proto.ConnectionProto.ConnectionMessage> messages_;
+    /**
+     * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+     */
+    @java.lang.Override
+    public java.util.List<org.flexiblepower.proto.ConnectionProto.ConnectionMessage> getMessagesList() {
+      return messages_;
+    }
+    /**
+     * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+     */
+    @java.lang.Override
+    public java.util.List<? extends org.flexiblepower.proto.ConnectionProto.ConnectionMessageOrBuilder> 
+        getMessagesOrBuilderList() {
+      return messages_;
+    }
+    /**
+     * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+     */
+    @java.lang.Override
+    public int getMessagesCount() {
+      return messages_.size();
+    }
+    /**
+     * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+     */
+    @java.lang.Override
+    public org.flexiblepower.proto.ConnectionProto.ConnectionMessage getMessages(int index) {
+      return messages_.get(index);
+    }
+    /**
+     * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+     */
+    @java.lang.Override
+    public org.flexiblepower.proto.ConnectionProto.ConnectionMessageOrBuilder getMessagesOrBuilder(
+        int index) {
+      return messages_.get(index);
+    }
+
+    public static final int REQUESTID_FIELD_NUMBER = 15;
+    private long requestId_;
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return Whether the requestId field is set.
+     */
+    @java.lang.Override
+    public boolean hasRequestId() {
+      return ((bitField0_ & 0x00000001) != 0);
+    }
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return The requestId.
+     */
+    @java.lang.Override
+    public long getRequestId() {
+      return requestId_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      for (int i = 0; i < getMessagesCount(); i++) {
+        if (!getMessages(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      for (int i = 0; i < messages_.size(); i++) {
+        output.writeMessage(1, messages_.get(i));
+      }
+      if (((bitField0_ & 0x00000001) != 0)) {
+        output.writeInt64(15, requestId_);
+      }
+      unknownFields.writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      for (int i = 0; i < messages_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(1, messages_.get(i));
+      }
+      if (((bitField0_ & 0x00000001) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(15, requestId_);
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof org.flexiblepower.proto.ServiceProto.BatchConnectionMessage)) {
+        return super.equals(obj);
+      }
+      org.flexiblepower.proto.ServiceProto.BatchConnectionMessage other = (org.flexiblepower.proto.ServiceProto.BatchConnectionMessage) obj;
+
+      if (!getMessagesList()
+          .equals(other.getMessagesList())) return false;
+      if (hasRequestId() != other.hasRequestId()) return false;
+      if (hasRequestId()) {
+        if (getRequestId()
+            != other.getRequestId()) return false;
+      }
+      if (!unknownFields.equals(other.unknownFields)) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      if (getMessagesCount() > 0) {
+        hash = (37 * hash) + MESSAGES_FIELD_NUMBER;
+        hash = (53 * hash) + getMessagesList().hashCode();
+      }
+      if (hasRequestId()) {
+        hash = (37 * hash) + REQUESTID_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getRequestId());
+      }
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionMessage parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionMessage parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionMessage parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionMessage parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionMessage parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionMessage parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionMessage parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionMessage parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionMessage parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionMessage parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionMessage parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionMessage parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(org.flexiblepower.proto.ServiceProto.BatchConnectionMessage prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code process.BatchConnectionMessage}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:process.BatchConnectionMessage)
+        org.flexiblepower.proto.ServiceProto.BatchConnectionMessageOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.flexiblepower.proto.ServiceProto.internal_static_process_BatchConnectionMessage_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.flexiblepower.proto.ServiceProto.internal_static_process_BatchConnectionMessage_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.flexiblepower.proto.ServiceProto.BatchConnectionMessage.class, org.flexiblepower.proto.ServiceProto.BatchConnectionMessage.Builder.class);
+      }
+
+      // Construct using org.flexiblepower.proto.ServiceProto.BatchConnectionMessage.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+          getMessagesFieldBuilder();
+        }
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        if (messagesBuilder_ == null) {
+          messages_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+        } else {
+          messagesBuilder_.clear();
+        }
+        requestId_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.flexiblepower.proto.ServiceProto.internal_static_process_BatchConnectionMessage_descriptor;
+      }
+
+      @java.lang.Override
+      public org.flexiblepower.proto.ServiceProto.BatchConnectionMessage getDefaultInstanceForType() {
+        return org.flexiblepower.proto.ServiceProto.BatchConnectionMessage.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public org.flexiblepower.proto.ServiceProto.BatchConnectionMessage build() {
+        org.flexiblepower.proto.ServiceProto.BatchConnectionMessage result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public org.flexiblepower.proto.ServiceProto.BatchConnectionMessage buildPartial() {
+        org.flexiblepower.proto.ServiceProto.BatchConnectionMessage result = new org.flexiblepower.proto.ServiceProto.BatchConnectionMessage(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (messagesBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) != 0)) {
+            messages_ = java.util.Collections.unmodifiableList(messages_);
+            bitField0_ = (bitField0_ & ~0x00000001);
+          }
+          result.messages_ = messages_;
+        } else {
+          result.messages_ = messagesBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000002) != 0)) {
+          result.requestId_ = requestId_;
+          to_bitField0_ |= 0x00000001;
+        }
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      @java.lang.Override
+      public Builder clone() {
+        return super.clone();
+      }
+      @java.lang.Override
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.setField(field, value);
+      }
+      @java.lang.Override
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return super.clearField(field);
+      }
+      @java.lang.Override
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return super.clearOneof(oneof);
+      }
+      @java.lang.Override
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return super.setRepeatedField(field, index, value);
+      }
+      @java.lang.Override
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.addRepeatedField(field, value);
+      }
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.flexiblepower.proto.ServiceProto.BatchConnectionMessage) {
+          return mergeFrom((org.flexiblepower.proto.ServiceProto.BatchConnectionMessage)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.flexiblepower.proto.ServiceProto.BatchConnectionMessage other) {
+        if (other == org.flexiblepower.proto.ServiceProto.BatchConnectionMessage.getDefaultInstance()) return this;
+        if (messagesBuilder_ == null) {
+          if (!other.messages_.isEmpty()) {
+            if (messages_.isEmpty()) {
+              messages_ = other.messages_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+            } else {
+              ensureMessagesIsMutable();
+              messages_.addAll(other.messages_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.messages_.isEmpty()) {
+            if (messagesBuilder_.isEmpty()) {
+              messagesBuilder_.dispose();
+              messagesBuilder_ = null;
+              messages_ = other.messages_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+              messagesBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getMessagesFieldBuilder() : null;
+            } else {
+              messagesBuilder_.addAllMessages(other.messages_);
+            }
+          }
+        }
+        if (other.hasRequestId()) {
+          setRequestId(other.getRequestId());
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        for (int i = 0; i < getMessagesCount(); i++) {
+          if (!getMessages(i).isInitialized()) {
+            return false;
+          }
+        }
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.flexiblepower.proto.ServiceProto.BatchConnectionMessage parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.flexiblepower.proto.ServiceProto.BatchConnectionMessage) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private java.util.List<org.flexiblepower.proto.ConnectionProto.ConnectionMessage> messages_ =
+        java.util.Collections.emptyList();
+      private void ensureMessagesIsMutable() {
+        if (!((bitField0_ & 0x00000001) != 0)) {
+          messages_ = new java.util.ArrayList<org.flexiblepower.proto.ConnectionProto.ConnectionMessage>(messages_);
+          bitField0_ |= 0x00000001;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          org.flexiblepower.proto.ConnectionProto.ConnectionMessage, org.flexiblepower.proto.ConnectionProto.ConnectionMessage.Builder, org.flexiblepower.proto.ConnectionProto.ConnectionMessageOrBuilder> messagesBuilder_;
+
+      /**
+       * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+       */
+      public java.util.List<org.flexiblepower.proto.ConnectionProto.ConnectionMessage> getMessagesList() {
+        if (messagesBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(messages_);
+        } else {
+          return messagesBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+       */
+      public int getMessagesCount() {
+        if (messagesBuilder_ == null) {
+          return messages_.size();
+        } else {
+          return messagesBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+       */
+      public org.flexiblepower.proto.ConnectionProto.ConnectionMessage getMessages(int index) {
+        if (messagesBuilder_ == null) {
+          return messages_.get(index);
+        } else {
+          return messagesBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+       */
+      public Builder setMessages(
+          int index, org.flexiblepower.proto.ConnectionProto.ConnectionMessage value) {
+        if (messagesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureMessagesIsMutable();
+          messages_.set(index, value);
+          onChanged();
+        } else {
+          messagesBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+       */
+      public Builder setMessages(
+          int index, org.flexiblepower.proto.ConnectionProto.ConnectionMessage.Builder builderForValue) {
+        if (messagesBuilder_ == null) {
+          ensureMessagesIsMutable();
+          messages_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          messagesBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+       */
+      public Builder addMessages(org.flexiblepower.proto.ConnectionProto.ConnectionMessage value) {
+        if (messagesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureMessagesIsMutable();
+          messages_.add(value);
+          onChanged();
+        } else {
+          messagesBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+       */
+      public Builder addMessages(
+          int index, org.flexiblepower.proto.ConnectionProto.ConnectionMessage value) {
+        if (messagesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureMessagesIsMutable();
+          messages_.add(index, value);
+          onChanged();
+        } else {
+          messagesBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+       */
+      public Builder addMessages(
+          org.flexiblepower.proto.ConnectionProto.ConnectionMessage.Builder builderForValue) {
+        if (messagesBuilder_ == null) {
+          ensureMessagesIsMutable();
+          messages_.add(builderForValue.build());
+          onChanged();
+        } else {
+          messagesBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+       */
+      public Builder addMessages(
+          int index, org.flexiblepower.proto.ConnectionProto.ConnectionMessage.Builder builderForValue) {
+        if (messagesBuilder_ == null) {
+          ensureMessagesIsMutable();
+          messages_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          messagesBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+       */
+      public Builder addAllMessages(
+          java.lang.Iterable<? extends org.flexiblepower.proto.ConnectionProto.ConnectionMessage> values) {
+        if (messagesBuilder_ == null) {
+          ensureMessagesIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, messages_);
+          onChanged();
+        } else {
+          messagesBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+       */
+      public Builder clearMessages() {
+        if (messagesBuilder_ == null) {
+          messages_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+          onChanged();
+        } else {
+          messagesBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+       */
+      public Builder removeMessages(int index) {
+        if (messagesBuilder_ == null) {
+          ensureMessagesIsMutable();
+          messages_.remove(index);
+          onChanged();
+        } else {
+          messagesBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+       */
+      public org.flexiblepower.proto.ConnectionProto.ConnectionMessage.Builder getMessagesBuilder(
+          int index) {
+        return getMessagesFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+       */
+      public org.flexiblepower.proto.ConnectionProto.ConnectionMessageOrBuilder getMessagesOrBuilder(
+          int index) {
+        if (messagesBuilder_ == null) {
+          return messages_.get(index);  } else {
+          return messagesBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+       */
+      public java.util.List<? extends org.flexiblepower.proto.ConnectionProto.ConnectionMessageOrBuilder> 
+           getMessagesOrBuilderList() {
+        if (messagesBuilder_ != null) {
+          return messagesBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(messages_);
+        }
+      }
+      /**
+       * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+       */
+      public org.flexiblepower.proto.ConnectionProto.ConnectionMessage.Builder addMessagesBuilder() {
+        return getMessagesFieldBuilder().addBuilder(
+            org.flexiblepower.proto.ConnectionProto.ConnectionMessage.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+       */
+      public org.flexiblepower.proto.ConnectionProto.ConnectionMessage.Builder addMessagesBuilder(
+          int index) {
+        return getMessagesFieldBuilder().addBuilder(
+            index, org.flexiblepower.proto.ConnectionProto.ConnectionMessage.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .connection.ConnectionMessage messages = 1;</code>
+       */
+      public java.util.List<org.flexiblepower.proto.ConnectionProto.ConnectionMessage.Builder> 
+           getMessagesBuilderList() {
+        return getMessagesFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          org.flexiblepower.proto.ConnectionProto.ConnectionMessage, org.flexiblepower.proto.ConnectionProto.ConnectionMessage.Builder, org.flexiblepower.proto.ConnectionProto.ConnectionMessageOrBuilder> 
+          getMessagesFieldBuilder() {
+        if (messagesBuilder_ == null) {
+          messagesBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              org.flexiblepower.proto.ConnectionProto.ConnectionMessage, org.flexiblepower.proto.ConnectionProto.ConnectionMessage.Builder, org.flexiblepower.proto.ConnectionProto.ConnectionMessageOrBuilder>(
+                  messages_,
+                  ((bitField0_ & 0x00000001) != 0),
+                  getParentForChildren(),
+                  isClean());
+          messages_ = null;
+        }
+        return messagesBuilder_;
+      }
+
+      private long requestId_ ;
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return Whether the requestId field is set.
+       */
+      @java.lang.Override
+      public boolean hasRequestId() {
+        return ((bitField0_ & 0x00000002) != 0);
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return The requestId.
+       */
+      @java.lang.Override
+      public long getRequestId() {
+        return requestId_;
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @param value The requestId to set.
+       * @return This builder for chaining.
+       */
+      public Builder setRequestId(long value) {
+        bitField0_ |= 0x00000002;
+        requestId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearRequestId() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        requestId_ = 0L;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:process.BatchConnectionMessage)
+    }
+
+    // @@protoc_insertion_point(class_scope:process.BatchConnectionMessage)
+    private static final org.flexiblepower.proto.ServiceProto.BatchConnectionMessage DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new org.flexiblepower.proto.ServiceProto.BatchConnectionMessage();
+    }
+
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionMessage getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    @java.lang.Deprecated public static final com.google.protobuf.Parser<BatchConnectionMessage>
+        PARSER = new com.google.protobuf.AbstractParser<BatchConnectionMessage>() {
+      @java.lang.Override
+      public BatchConnectionMessage parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new BatchConnectionMessage(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<BatchConnectionMessage> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<BatchConnectionMessage> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public org.flexiblepower.proto.ServiceProto.BatchConnectionMessage getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface BatchConnectionResponseOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:process.BatchConnectionResponse)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+     */
+    java.util.List<org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result> 
+        getResultsList();
+    /**
+     * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+     */
+    org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result getResults(int index);
+    /**
+     * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+     */
+    int getResultsCount();
+    /**
+     * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+     */
+    java.util.List<? extends org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.ResultOrBuilder> 
+        getResultsOrBuilderList();
+    /**
+     * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+     */
+    org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.ResultOrBuilder getResultsOrBuilder(
+        int index);
+
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return Whether the requestId field is set.
+     */
+    boolean hasRequestId();
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return The requestId.
+     */
+    long getRequestId();
+  }
+  /**
+   * Protobuf type {@code process.BatchConnectionResponse}
+   */
+  public static final class BatchConnectionResponse extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:process.BatchConnectionResponse)
+      BatchConnectionResponseOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use BatchConnectionResponse.newBuilder() to construct.
+    private BatchConnectionResponse(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private BatchConnectionResponse() {
+      results_ = java.util.Collections.emptyList();
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new BatchConnectionResponse();
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private BatchConnectionResponse(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            case 10: {
+              if (!((mutable_bitField0_ & 0x00000001) != 0)) {
+                results_ = new java.util.ArrayList<org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result>();
+                mutable_bitField0_ |= 0x00000001;
+              }
+              results_.add(
+                  input.readMessage(org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result.PARSER, extensionRegistry));
+              break;
+            }
+            case 120: {
+              bitField0_ |= 0x00000001;
+              requestId_ = input.readInt64();
+              break;
+            }
+            default: {
+              if (!parseUnknownField(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000001) != 0)) {
+          results_ = java.util.Collections.unmodifiableList(results_);
+        }
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.flexiblepower.proto.ServiceProto.internal_static_process_BatchConnectionResponse_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.flexiblepower.proto.ServiceProto.internal_static_process_BatchConnectionResponse_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.class, org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Builder.class);
+    }
+
+    public interface ResultOrBuilder extends
+        // @@protoc_insertion_point(interface_extends:process.BatchConnectionResponse.Result)
+        com.google.protobuf.MessageOrBuilder {
+
+      /**
+       * <code>required string connectionId = 1;</code>
+       * @return Whether the connectionId field is set.
+       */
+      boolean hasConnectionId();
+      /**
+       * <code>required string connectionId = 1;</code>
+       * @return The connectionId.
+       */
+      java.lang.String getConnectionId();
+      /**
+       * <code>required string connectionId = 1;</code>
+       * @return The bytes for connectionId.
+       */
+      com.google.protobuf.ByteString
+          getConnectionIdBytes();
+
+      /**
+       * <code>optional .connection.ConnectionHandshake handshake = 2;</code>
+       * @return Whether the handshake field is set.
+       */
+      boolean hasHandshake();
+      /**
+       * <code>optional .connection.ConnectionHandshake handshake = 2;</code>
+       * @return The handshake.
+       */
+      org.flexiblepower.proto.ConnectionProto.ConnectionHandshake getHandshake();
+      /**
+       * <code>optional .connection.ConnectionHandshake handshake = 2;</code>
+       */
+      org.flexiblepower.proto.ConnectionProto.ConnectionHandshakeOrBuilder getHandshakeOrBuilder();
+
+      /**
+       * <code>optional .process.ErrorMessage error = 3;</code>
+       * @return Whether the error field is set.
+       */
+      boolean hasError();
+      /**
+       * <code>optional .process.ErrorMessage error = 3;</code>
+       * @return The error.
+       */
+      org.flexiblepower.proto.ServiceProto.ErrorMessage getError();
+      /**
+       * <code>optional .process.ErrorMessage error = 3;</code>
+       */
+      org.flexiblepower.proto.ServiceProto.ErrorMessageOrBuilder getErrorOrBuilder();
+    }
+    /**
+     * Protobuf type {@code process.BatchConnectionResponse.Result}
+     */
+    public static final class Result extends
+        com.google.protobuf.GeneratedMessageV3 implements
+        // @@protoc_insertion_point(message_implements:process.BatchConnectionResponse.Result)
+        ResultOrBuilder {
+    private static final long serialVersionUID = 0L;
+      // Use Result.newBuilder() to construct.
+      private Result(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+        super(builder);
+      }
+      private Result() {
+        connectionId_ = "";
+      }
+
+      @java.lang.Override
+      @SuppressWarnings({"unused"})
+      protected java.lang.Object newInstance(
+          UnusedPrivateParameter unused) {
+        return new Result();
+      }
+
+      @java.lang.Override
+      public final com.google.protobuf.UnknownFieldSet
+      getUnknownFields() {
+        return this.unknownFields;
+      }
+      private Result(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        this();
+        if (extensionRegistry == null) {
+          throw new java.lang.NullPointerException();
+        }
+        int mutable_bitField0_ = 0;
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+            com.google.protobuf.UnknownFieldSet.newBuilder();
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              case 10: {
+                com.google.protobuf.ByteString bs = input.readBytes();
+                bitField0_ |= 0x00000001;
+                connectionId_ = bs;
+                break;
+              }
+              case 18: {
+                org.flexiblepower.proto.ConnectionProto.ConnectionHandshake.Builder subBuilder = null;
+                if (((bitField0_ & 0x00000002) != 0)) {
+                  subBuilder = handshake_.toBuilder();
+                }
+                handshake_ = input.readMessage(org.flexiblepower.proto.ConnectionProto.ConnectionHandshake.PARSER, extensionRegistry);
+                if (subBuilder != null) {
+                  subBuilder.mergeFrom(handshake_);
+                  handshake_ = subBuilder.buildPartial();
+                }
+                bitField0_ |= 0x00000002;
+                break;
+              }
+              case 26: {
+                org.flexiblepower.proto.ServiceProto.ErrorMessage.Builder subBuilder = null;
+                if (((bitField0_ & 0x00000004) != 0)) {
+                  subBuilder = error_.toBuilder();
+                }
+                error_ = input.readMessage(org.flexiblepower.proto.ServiceProto.ErrorMessage.PARSER, extensionRegistry);
+                if (subBuilder != null) {
+                  subBuilder.mergeFrom(error_);
+                  error_ = subBuilder.buildPartial();
+                }
+                bitField0_ |= 0x00000004;
+                break;
+              }
+              default: {
+                if (!parseUnknownField(
+                    input, unknownFields, extensionRegistry, tag)) {
+                  done = true;
+                }
+                break;
+              }
+            }
+          }
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(this);
+        } catch (java.io.IOException e) {
+          throw new com.google.protobuf.InvalidProtocolBufferException(
+              e).setUnfinishedMessage(this);
+        } finally {
+          this.unknownFields = unknownFields.build();
+          makeExtensionsImmutable();
+        }
+      }
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.flexiblepower.proto.ServiceProto.internal_static_process_BatchConnectionResponse_Result_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.flexiblepower.proto.ServiceProto.internal_static_process_BatchConnectionResponse_Result_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result.class, org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result.Builder.class);
+      }
+
+      private int bitField0_;
+      public static final int CONNECTIONID_FIELD_NUMBER = 1;
+      private volatile java.lang.Object connectionId_;
+      /**
+       * <code>required string connectionId = 1;</code>
+       * @return Whether the connectionId field is set.
+       */
+      @java.lang.Override
+      public boolean hasConnectionId() {
+        return ((bitField0_ & 0x00000001) != 0);
+      }
+      /**
+       * <code>required string connectionId = 1;</code>
+       * @return The connectionId.
+       */
+      @java.lang.Override
+      public java.lang.String getConnectionId() {
+        java.lang.Object ref = connectionId_;
+        if (ref instanceof java.lang.String) {
+          return (java.lang.String) ref;
+        } else {
+          com.google.protobuf.ByteString bs = 
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            connectionId_ = s;
+          }
+          return s;
+        }
+      }
+      /**
+       * <code>required string connectionId = 1;</code>
+       * @return The bytes for connectionId.
+       */
+      @java.lang.Override
+      public com.google.protobuf.ByteString
+          getConnectionIdBytes() {
+        java.lang.Object ref = connectionId_;
+        if (ref instanceof java.lang.String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          connectionId_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+
+      public static final int HANDSHAKE_FIELD_NUMBER = 2;
+      private org.flexiblepower.proto.ConnectionProto.ConnectionHandshake handshake_;
+      /**
+       * <code>optional .connection.ConnectionHandshake handshake = 2;</code>
+       * @return Whether the handshake field is set.
+       */
+      @java.lang.Override
+      public boolean hasHandshake() {
+        return ((bitField0_ & 0x00000002) != 0);
+      }
+      /**
+       * <code>optional .connection.ConnectionHandshake handshake = 2;</code>
+       * @return The handshake.
+       */
+      @java.lang.Override
+      public org.flexiblepower.proto.ConnectionProto.ConnectionHandshake getHandshake() {
+        return handshake_ == null ? org.flexiblepower.proto.ConnectionProto.ConnectionHandshake.getDefaultInstance() : handshake_;
+      }
+      /**
+       * <code>optional .connection.ConnectionHandshake handshake = 2;</code>
+       */
+      @java.lang.Override
+      public org.flexiblepower.proto.ConnectionProto.ConnectionHandshakeOrBuilder getHandshakeOrBuilder() {
+        return handshake_ == null ? org.flexiblepower.proto.ConnectionProto.ConnectionHandshake.getDefaultInstance() : handshake_;
+      }
+
+      public static final int ERROR_FIELD_NUMBER = 3;
+      private org.flexiblepower.proto.ServiceProto.ErrorMessage error_;
+      /**
+       * <code>optional .process.ErrorMessage error = 3;</code>
+       * @return Whether the error field is set.
+       */
+      @java.lang.Override
+      public boolean hasError() {
+        return ((bitField0_ & 0x00000004) != 0);
+      }
+      /**
+       * <code>optional .process.ErrorMessage error = 3;</code>
+       * @return The error.
+       */
+      @java.lang.Override
+      public org.flexiblepower.proto.ServiceProto.ErrorMessage getError() {
+        return error_ == null ? org.flexiblepower.proto.ServiceProto.ErrorMessage.getDefaultInstance() : error_;
+      }
+      /**
+       * <code>optional .process.ErrorMessage error = 3;</code>
+       */
+      @java.lang.Override
+      public org.flexiblepower.proto.ServiceProto.ErrorMessageOrBuilder getErrorOrBuilder() {
+        return error_ == null ? org.flexiblepower.proto.ServiceProto.ErrorMessage.getDefaultInstance() : error_;
+      }
+
+      private byte memoizedIsInitialized = -1;
+      @java.lang.Override
+      public final boolean isInitialized() {
+        byte isInitialized = memoizedIsInitialized;
+        if (isInitialized == 1) return true;
+        if (isInitialized == 0) return false;
+
+        if (!hasConnectionId()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+        if (hasHandshake()) {
+          if (!getHandshake().isInitialized()) {
+            memoizedIsInitialized = 0;
+            return false;
+          }
+        }
+        if (hasError()) {
+          if (!getError().isInitialized()) {
+            memoizedIsInitialized = 0;
+            return false;
+          }
+        }
+        memoizedIsInitialized = 1;
+        return true;
+      }
+
+      @java.lang.Override
+      public void writeTo(com.google.protobuf.CodedOutputStream output)
+                          throws java.io.IOException {
+        if (((bitField0_ & 0x00000001) != 0)) {
+          com.google.protobuf.GeneratedMessageV3.writeString(output, 1, connectionId_);
+        }
+        if (((bitField0_ & 0x00000002) != 0)) {
+          output.writeMessage(2, getHandshake());
+        }
+        if (((bitField0_ & 0x00000004) != 0)) {
+          output.writeMessage(3, getError());
+        }
+        unknownFields.writeTo(output);
+      }
+
+      @java.lang.Override
+      public int getSerializedSize() {
+        int size = memoizedSize;
+        if (size != -1) return size;
+
+        size = 0;
+        if (((bitField0_ & 0x00000001) != 0)) {
+          size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, connectionId_);
+        }
+        if (((bitField0_ & 0x00000002) != 0)) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeMessageSize(2, getHandshake());
+        }
+        if (((bitField0_ & 0x00000004) != 0)) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeMessageSize(3, getError());
+        }
+        size += unknownFields.getSerializedSize();
+        memoizedSize = size;
+        return size;
+      }
+
+      @java.lang.Override
+      public boolean equals(final java.lang.Object obj) {
+        if (obj == this) {
+         return true;
+        }
+        if (!(obj instanceof org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result)) {
+          return super.equals(obj);
+        }
+        org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result other = (org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result) obj;
+
+        if (hasConnectionId() != other.hasConnectionId()) return false;
+        if (hasConnectionId()) {
+          if (!getConnectionId()
+              .equals(other.getConnectionId())) return false;
+        }
+        if (hasHandshake() != other.hasHandshake()) return false;
+        if (hasHandshake()) {
+          if (!getHandshake()
+              .equals(other.getHandshake())) return false;
+        }
+        if (hasError() != other.hasError()) return false;
+        if (hasError()) {
+          if (!getError()
+              .equals(other.getError())) return false;
+        }
+        if (!unknownFields.equals(other.unknownFields)) return false;
+        return true;
+      }
+
+      @java.lang.Override
+      public int hashCode() {
+        if (memoizedHashCode != 0) {
+          return memoizedHashCode;
+        }
+        int hash = 41;
+        hash = (19 * hash) + getDescriptor().hashCode();
+        if (hasConnectionId()) {
+          hash = (37 * hash) + CONNECTIONID_FIELD_NUMBER;
+          hash = (53 * hash) + getConnectionId().hashCode();
+        }
+        if (hasHandshake()) {
+          hash = (37 * hash) + HANDSHAKE_FIELD_NUMBER;
+          hash = (53 * hash) + getHandshake().hashCode();
+        }
+        if (hasError()) {
+          hash = (37 * hash) + ERROR_FIELD_NUMBER;
+          hash = (53 * hash) + getError().hashCode();
+        }
+        hash = (29 * hash) + unknownFields.hashCode();
+        memoizedHashCode = hash;
+        return hash;
+      }
+
+      public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result parseFrom(
+          java.nio.ByteBuffer data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result parseFrom(
+          java.nio.ByteBuffer data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result parseFrom(
+          com.google.protobuf.ByteString data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result parseFrom(
+          com.google.protobuf.ByteString data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result parseFrom(byte[] data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result parseFrom(
+          byte[] data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result parseFrom(java.io.InputStream input)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input);
+      }
+      public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result parseFrom(
+          java.io.InputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input, extensionRegistry);
+      }
+      public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result parseDelimitedFrom(java.io.InputStream input)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseDelimitedWithIOException(PARSER, input);
+      }
+      public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result parseDelimitedFrom(
+          java.io.InputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+      }
+      public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result parseFrom(
+          com.google.protobuf.CodedInputStream input)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input);
+      }
+      public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result parseFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input, extensionRegistry);
+      }
+
+      @java.lang.Override
+      public Builder newBuilderForType() { return newBuilder(); }
+      public static Builder newBuilder() {
+        return DEFAULT_INSTANCE.toBuilder();
+      }
+      public static Builder newBuilder(org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result prototype) {
+        return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+      }
+      @java.lang.Override
+      public Builder toBuilder() {
+        return this == DEFAULT_INSTANCE
+            ? new Builder() : new Builder().mergeFrom(this);
+      }
+
+      @java.lang.Override
+      protected Builder newBuilderForType(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        Builder builder = new Builder(parent);
+        return builder;
+      }
+      /**
+       * Protobuf type {@code process.BatchConnectionResponse.Result}
+       */
+      public static final class Builder extends
+          com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+          // @@protoc_insertion_point(builder_implements:process.BatchConnectionResponse.Result)
+          org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.ResultOrBuilder {
+        public static final com.google.protobuf.Descriptors.Descriptor
+            getDescriptor() {
+          return org.flexiblepower.proto.ServiceProto.internal_static_process_BatchConnectionResponse_Result_descriptor;
+        }
+
+        @java.lang.Override
+        protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+            internalGetFieldAccessorTable() {
+          return org.flexiblepower.proto.ServiceProto.internal_static_process_BatchConnectionResponse_Result_fieldAccessorTable
+              .ensureFieldAccessorsInitialized(
+                  org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result.class, org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result.Builder.class);
+        }
+
+        // Construct using org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result.newBuilder()
+        private Builder() {
+          maybeForceBuilderInitialization();
+        }
+
+        private Builder(
+            com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+          super(parent);
+          maybeForceBuilderInitialization();
+        }
+        private void maybeForceBuilderInitialization() {
+          if (com.google.protobuf.GeneratedMessageV3
+                  .alwaysUseFieldBuilders) {
+            getHandshakeFieldBuilder();
+            getErrorFieldBuilder();
+          }
+        }
+        @java.lang.Override
+        public Builder clear() {
+          super.clear();
+          connectionId_ = "";
+          bitField0_ = (bitField0_ & ~0x00000001);
+          if (handshakeBuilder_ == null) {
+            handshake_ = null;
+          } else {
+            handshakeBuilder_.clear();
+          }
+          bitField0_ = (bitField0_ & ~0x00000002);
+          if (errorBuilder_ == null) {
+            error_ = null;
+          } else {
+            errorBuilder_.clear();
+          }
+          bitField0_ = (bitField0_ & ~0x00000004);
+          return this;
+        }
+
+        @java.lang.Override
+        public com.google.protobuf.Descriptors.Descriptor
+            getDescriptorForType() {
+          return org.flexiblepower.proto.ServiceProto.internal_static_process_BatchConnectionResponse_Result_descriptor;
+        }
+
+        @java.lang.Override
+        public org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result getDefaultInstanceForType() {
+          return org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result.getDefaultInstance();
+        }
+
+        @java.lang.Override
+        public org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result build() {
+          org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result result = buildPartial();
+          if (!result.isInitialized()) {
+            throw newUninitializedMessageException(result);
+          }
+          return result;
+        }
+
+        @java.lang.Override
+        public org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result buildPartial() {
+          org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result result = new org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result(this);
+          int from_bitField0_ = bitField0_;
+          int to_bitField0_ = 0;
+          if (((from_bitField0_ & 0x00000001) != 0)) {
+            to_bitField0_ |= 0x00000001;
+          }
+          result.connectionId_ = connectionId_;
+          if (((from_bitField0_ & 0x00000002) != 0)) {
+            if (handshakeBuilder_ == null) {
+              result.handshake_ = handshake_;
+            } else {
+              result.handshake_ = handshakeBuilder_.build();
+            }
+            to_bitField0_ |= 0x00000002;
+          }
+          if (((from_bitField0_ & 0x00000004) != 0)) {
+            if (errorBuilder_ == null) {
+              result.error_ = error_;
+            } else {
+              result.error_ = errorBuilder_.build();
+            }
+            to_bitField0_ |= 0x00000004;
+          }
+          result.bitField0_ = to_bitField0_;
+          onBuilt();
+          return result;
+        }
+
+        @java.lang.Override
+        public Builder clone() {
+          return super.clone();
+        }
+        @java.lang.Override
+        public Builder setField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            java.lang.Object value) {
+          return super.setField(field, value);
+        }
+        @java.lang.Override
+        public Builder clearField(
+            com.google.protobuf.Descriptors.FieldDescriptor field) {
+          return super.clearField(field);
+        }
+        @java.lang.Override
+        public Builder clearOneof(
+            com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+          return super.clearOneof(oneof);
+        }
+        @java.lang.Override
+        public Builder setRepeatedField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            int index, java.lang.Object value) {
+          return super.setRepeatedField(field, index, value);
+        }
+        @java.lang.Override
+        public Builder addRepeatedField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            java.lang.Object value) {
+          return super.addRepeatedField(field, value);
+        }
+        @java.lang.Override
+        public Builder mergeFrom(com.google.protobuf.Message other) {
+          if (other instanceof org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result) {
+            return mergeFrom((org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result)other);
+          } else {
+            super.mergeFrom(other);
+            return this;
+          }
+        }
+
+        public Builder mergeFrom(org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result other) {
+          if (other == org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result.getDefaultInstance()) return this;
+          if (other.hasConnectionId()) {
+            bitField0_ |= 0x00000001;
+            connectionId_ = other.connectionId_;
+            onChanged();
+          }
+          if (other.hasHandshake()) {
+            mergeHandshake(other.getHandshake());
+          }
+          if (other.hasError()) {
+            mergeError(other.getError());
+          }
+          this.mergeUnknownFields(other.unknownFields);
+          onChanged();
+          return this;
+        }
+
+        @java.lang.Override
+        public final boolean isInitialized() {
+          if (!hasConnectionId()) {
+            return false;
+          }
+          if (hasHandshake()) {
+            if (!getHandshake().isInitialized()) {
+              return false;
+            }
+          }
+          if (hasError()) {
+            if (!getError().isInitialized()) {
+              return false;
+            }
+          }
+          return true;
+        }
+
+        @java.lang.Override
+        public Builder mergeFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws java.io.IOException {
+          org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result parsedMessage = null;
+          try {
+            parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+          } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+            parsedMessage = (org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result) e.getUnfinishedMessage();
+            throw e.unwrapIOException();
+          } finally {
+            if (parsedMessage != null) {
+              mergeFrom(parsedMessage);
+            }
+          }
+          return this;
+        }
+        private int bitField0_;
+
+        private java.lang.Object connectionId_ = "";
+        /**
+         * <code>required string connectionId = 1;</code>
+         * @return Whether the connectionId field is set.
+         */
+        public boolean hasConnectionId() {
+          return ((bitField0_ & 0x00000001) != 0);
+        }
+        /**
+         * <code>required string connectionId = 1;</code>
+         * @return The connectionId.
+         */
+        public java.lang.String getConnectionId() {
+          java.lang.Object ref = connectionId_;
+          if (!(ref instanceof java.lang.String)) {
+            com.google.protobuf.ByteString bs =
+                (com.google.protobuf.ByteString) ref;
+            java.lang.String s = bs.toStringUtf8();
+            if (bs.isValidUtf8()) {
+              connectionId_ = s;
+            }
+            return s;
+          } else {
+            return (java.lang.String) ref;
+          }
+        }
+        /**
+         * <code>required string connectionId = 1;</code>
+         * @return The bytes for connectionId.
+         */
+        public com.google.protobuf.ByteString
+            getConnectionIdBytes() {
+          java.lang.Object ref = connectionId_;
+          if (ref instanceof String) {
+            com.google.protobuf.ByteString b = 
+                com.google.protobuf.ByteString.copyFromUtf8(
+                    (java.lang.String) ref);
+            connectionId_ = b;
+            return b;
+          } else {
+            return (com.google.protobuf.ByteString) ref;
+          }
+        }
+        /**
+         * <code>required string connectionId = 1;</code>
+         * @param value The connectionId to set.
+         * @return This builder for chaining.
+         */
+        public Builder setConnectionId(
+            java.lang.String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+          connectionId_ = value;
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>required string connectionId = 1;</code>
+         * @return This builder for chaining.
+         */
+        public Builder clearConnectionId() {
+          bitField0_ = (bitField0_ & ~0x00000001);
+          connectionId_ = getDefaultInstance().getConnectionId();
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>required string connectionId = 1;</code>
+         * @param value The bytes for connectionId to set.
+         * @return This builder for chaining.
+         */
+        public Builder setConnectionIdBytes(
+            com.google.protobuf.ByteString value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+          connectionId_ = value;
+          onChanged();
+          return this;
+        }
+
+        private org.flexiblepower.proto.ConnectionProto.ConnectionHandshake handshake_;
+        private com.google.protobuf.SingleFieldBuilderV3<
+            org.flexiblepower.proto.ConnectionProto.ConnectionHandshake, org.flexiblepower.proto.ConnectionProto.ConnectionHandshake.Builder, org.flexiblepower.proto.ConnectionProto.ConnectionHandshakeOrBuilder> handshakeBuilder_;
+        /**
+         * <code>optional .connection.ConnectionHandshake handshake = 2;</code>
+         * @return Whether the handshake field is set.
+         */
+        public boolean hasHandshake() {
+          return ((bitField0_ & 0x00000002) != 0);
+        }
+        /**
+         * <code>optional .connection.ConnectionHandshake handshake = 2;</code>
+         * @return The handshake.
+         */
+        public org.flexiblepower.proto.ConnectionProto.ConnectionHandshake getHandshake() {
+          if (handshakeBuilder_ == null) {
+            return handshake_ == null ? org.flexiblepower.proto.ConnectionProto.ConnectionHandshake.getDefaultInstance() : handshake_;
+          } else {
+            return handshakeBuilder_.getMessage();
+          }
+        }
+        /**
+         * <code>optional .connection.ConnectionHandshake handshake = 2;</code>
+         */
+        public Builder setHandshake(org.flexiblepower.proto.ConnectionProto.ConnectionHandshake value) {
+          if (handshakeBuilder_ == null) {
+            if (value == null) {
+              throw new NullPointerException();
+            }
+            handshake_ = value;
+            onChanged();
+          } else {
+            handshakeBuilder_.setMessage(value);
+          }
+          bitField0_ |= 0x00000002;
+          return this;
+        }
+        /**
+         * <code>optional .connection.ConnectionHandshake handshake = 2;</code>
+         */
+        public Builder setHandshake(
+            org.flexiblepower.proto.ConnectionProto.ConnectionHandshake.Builder builderForValue) {
+          if (handshakeBuilder_ == null) {
+            handshake_ = builderForValue.build();
+            onChanged();
+          } else {
+            handshakeBuilder_.setMessage(builderForValue.build());
+          }
+          bitField0_ |= 0x00000002;
+          return this;
+        }
+        /**
+         * <code>optional .connection.ConnectionHandshake handshake = 2;</code>
+         */
+        public Builder mergeHandshake(org.flexiblepower.proto.ConnectionProto.ConnectionHandshake value) {
+          if (handshakeBuilder_ == null) {
+            if (((bitField0_ & 0x00000002) != 0) &&
+                handshake_ != null &&
+                handshake_ != org.flexiblepower.proto.ConnectionProto.ConnectionHandshake.getDefaultInstance()) {
+              handshake_ =
+                org.flexiblepower.proto.ConnectionProto.ConnectionHandshake.newBuilder(handshake_).mergeFrom(value).buildPartial();
+            } else {
+              handshake_ = value;
+            }
+            onChanged();
+          } else {
+            handshakeBuilder_.mergeFrom(value);
+          }
+          bitField0_ |= 0x00000002;
+          return this;
+        }
+        /**
+         * <code>optional .connection.ConnectionHandshake handshake = 2;</code>
+         */
+        public Builder clearHandshake() {
+          if (handshakeBuilder_ == null) {
+            handshake_ = null;
+            onChanged();
+          } else {
+            handshakeBuilder_.clear();
+          }
+          bitField0_ = (bitField0_ & ~0x00000002);
+          return this;
+        }
+        /**
+         * <code>optional .connection.ConnectionHandshake handshake = 2;</code>
+         */
+        public org.flexiblepower.proto.ConnectionProto.ConnectionHandshake.Builder getHandshakeBuilder() {
+          bitField0_ |= 0x00000002;
+          onChanged();
+          return getHandshakeFieldBuilder().getBuilder();
+        }
+        /**
+         * <code>optional .connection.ConnectionHandshake handshake = 2;</code>
+         */
+        public org.flexiblepower.proto.ConnectionProto.ConnectionHandshakeOrBuilder getHandshakeOrBuilder() {
+          if (handshakeBuilder_ != null) {
+            return handshakeBuilder_.getMessageOrBuilder();
+          } else {
+            return handshake_ == null ?
+                org.flexiblepower.proto.ConnectionProto.ConnectionHandshake.getDefaultInstance() : handshake_;
+          }
+        }
+        /**
+         * <code>optional .connection.ConnectionHandshake handshake = 2;</code>
+         */
+        private com.google.protobuf.SingleFieldBuilderV3<
+            org.flexiblepower.proto.ConnectionProto.ConnectionHandshake, org.flexiblepower.proto.ConnectionProto.ConnectionHandshake.Builder, org.flexiblepower.proto.ConnectionProto.ConnectionHandshakeOrBuilder> 
+            getHandshakeFieldBuilder() {
+          if (handshakeBuilder_ == null) {
+            handshakeBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+                org.flexiblepower.proto.ConnectionProto.ConnectionHandshake, org.flexiblepower.proto.ConnectionProto.ConnectionHandshake.Builder, org.flexiblepower.proto.ConnectionProto.ConnectionHandshakeOrBuilder>(
+                    getHandshake(),
+                    getParentForChildren(),
+                    isClean());
+            handshake_ = null;
+          }
+          return handshakeBuilder_;
+        }
+
+        private org.flexiblepower.proto.ServiceProto.ErrorMessage error_;
+        private com.google.protobuf.SingleFieldBuilderV3<
+            org.flexiblepower.proto.ServiceProto.ErrorMessage, org.flexiblepower.proto.ServiceProto.ErrorMessage.Builder, org.flexiblepower.proto.ServiceProto.ErrorMessageOrBuilder> errorBuilder_;
+        /**
+         * <code>optional .process.ErrorMessage error = 3;</code>
+         * @return Whether the error field is set.
+         */
+        public boolean hasError() {
+          return ((bitField0_ & 0x00000004) != 0);
+        }
+        /**
+         * <code>optional .process.ErrorMessage error = 3;</code>
+         * @return The error.
+         */
+        public org.flexiblepower.proto.ServiceProto.ErrorMessage getError() {
+          if (errorBuilder_ == null) {
+            return error_ == null ? org.flexiblepower.proto.ServiceProto.ErrorMessage.getDefaultInstance() : error_;
+          } else {
+            return errorBuilder_.getMessage();
+          }
+        }
+        /**
+         * <code>optional .process.ErrorMessage error = 3;</code>
+         */
+        public Builder setError(org.flexiblepower.proto.ServiceProto.ErrorMessage value) {
+          if (errorBuilder_ == null) {
+            if (value == null) {
+              throw new NullPointerException();
+            }
+            error_ = value;
+            onChanged();
+          } else {
+            errorBuilder_.setMessage(value);
+          }
+          bitField0_ |= 0x00000004;
+          return this;
+        }
+        /**
+         * <code>optional .process.ErrorMessage error = 3;</code>
+         */
+        public Builder setError(
+            org.flexiblepower.proto.ServiceProto.ErrorMessage.Builder builderForValue) {
+          if (errorBuilder_ == null) {
+            error_ = builderForValue.build();
+            onChanged();
+          } else {
+            errorBuilder_.setMessage(builderForValue.build());
+          }
+          bitField0_ |= 0x00000004;
+          return this;
+        }
+        /**
+         * <code>optional .process.ErrorMessage error = 3;</code>
+         */
+        public Builder mergeError(org.flexiblepower.proto.ServiceProto.ErrorMessage value) {
+          if (errorBuilder_ == null) {
+            if (((bitField0_ & 0x00000004) != 0) &&
+                error_ != null &&
+                error_ != org.flexiblepower.proto.ServiceProto.ErrorMessage.getDefaultInstance()) {
+              error_ =
+                org.flexiblepower.proto.ServiceProto.ErrorMessage.newBuilder(error_).mergeFrom(value).buildPartial();
+            } else {
+              error_ = value;
+            }
+            onChanged();
+          } else {
+            errorBuilder_.mergeFrom(value);
+          }
+          bitField0_ |= 0x00000004;
+          return this;
+        }
+        /**
+         * <code>optional .process.ErrorMessage error = 3;</code>
+         */
+        public Builder clearError() {
+          if (errorBuilder_ == null) {
+            error_ = null;
+            onChanged();
+          } else {
+            errorBuilder_.clear();
+          }
+          bitField0_ = (bitField0_ & ~0x00000004);
+          return this;
+        }
+        /**
+         * <code>optional .process.ErrorMessage error = 3;</code>
+         */
+        public org.flexiblepower.proto.ServiceProto.ErrorMessage.Builder getErrorBuilder() {
+          bitField0_ |= 0x00000004;
+          onChanged();
+          return getErrorFieldBuilder().getBuilder();
+        }
+        /**
+         * <code>optional .process.ErrorMessage error = 3;</code>
+         */
+        public org.flexiblepower.proto.ServiceProto.ErrorMessageOrBuilder getErrorOrBuilder() {
+          if (errorBuilder_ != null) {
+            return errorBuilder_.getMessageOrBuilder();
+          } else {
+            return error_ == null ?
+                org.flexiblepower.proto.ServiceProto.ErrorMessage.getDefaultInstance() : error_;
+          }
+        }
+        /**
+         * <code>optional .process.ErrorMessage error = 3;</code>
+         */
+        private com.google.protobuf.SingleFieldBuilderV3<
+            org.flexiblepower.proto.ServiceProto.ErrorMessage, org.flexiblepower.proto.ServiceProto.ErrorMessage.Builder, org.flexiblepower.proto.ServiceProto.ErrorMessageOrBuilder> 
+            getErrorFieldBuilder() {
+          if (errorBuilder_ == null) {
+            errorBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+                org.flexiblepower.proto.ServiceProto.ErrorMessage, org.flexiblepower.proto.ServiceProto.ErrorMessage.Builder, org.flexiblepower.proto.ServiceProto.ErrorMessageOrBuilder>(
+                    getError(),
+                    getParentForChildren(),
+                    isClean());
+            error_ = null;
+          }
+          return errorBuilder_;
+        }
+        @java.lang.Override
+        public final Builder setUnknownFields(
+            final com.google.protobuf.UnknownFieldSet unknownFields) {
+          return super.setUnknownFields(unknownFields);
+        }
+
+        @java.lang.Override
+        public final Builder mergeUnknownFields(
+            final com.google.protobuf.UnknownFieldSet unknownFields) {
+          return super.mergeUnknownFields(unknownFields);
+        }
+
+
+        // @@protoc_insertion_point(builder_scope:process.BatchConnectionResponse.Result)
+      }
+
+      // @@protoc_insertion_point(class_scope:process.BatchConnectionResponse.Result)
+      private static final org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result DEFAULT_INSTANCE;
+      static {
+        DEFAULT_INSTANCE = new org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result();
+      }
+
+      public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result getDefaultInstance() {
+        return DEFAULT_INSTANCE;
+      }
+
+      @java.lang.Deprecated public static final com.google.protobuf.Parser<Result>
+          PARSER = new com.google.protobuf.AbstractParser<Result>() {
+        @java.lang.Override
+        public Result parsePartialFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws com.google.protobuf.InvalidProtocolBufferException {
+          return new Result(input, extensionRegistry);
+        }
+      };
+
+      public static com.google.protobuf.Parser<Result> parser() {
+        return PARSER;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Parser<Result> getParserForType() {
+        return PARSER;
+      }
+
+      @java.lang.Override
+      public org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result getDefaultInstanceForType() {
+        return DEFAULT_INSTANCE;
+      }
+
+    }
+
+    private int bitField0_;
+    public static final int RESULTS_FIELD_NUMBER = 1;
+    private java.util.List<org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result> results_;
+    /**
+     * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+     */
+    @java.lang.Override
+    public java.util.List<org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result> getResultsList() {
+      return results_;
+    }
+    /**
+     * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+     */
+    @java.lang.Override
+    public java.util.List<? extends org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.ResultOrBuilder> 
+        getResultsOrBuilderList() {
+      return results_;
+    }
+    /**
+     * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+     */
+    @java.lang.Override
+    public int getResultsCount() {
+      return results_.size();
+    }
+    /**
+     * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+     */
+    @java.lang.Override
+    public org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result getResults(int index) {
+      return results_.get(index);
+    }
+    /**
+     * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+     */
+    @java.lang.Override
+    public org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.ResultOrBuilder getResultsOrBuilder(
+        int index) {
+      return results_.get(index);
+    }
+
+    public static final int REQUESTID_FIELD_NUMBER = 15;
+    private long requestId_;
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return Whether the requestId field is set.
+     */
+    @java.lang.Override
+    public boolean hasRequestId() {
+      return ((bitField0_ & 0x00000001) != 0);
+    }
+    /**
+     * <code>optional int64 requestId = 15;</code>
+     * @return The requestId.
+     */
+    @java.lang.Override
+    public long getRequestId() {
+      return requestId_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      for (int i = 0; i < getResultsCount(); i++) {
+        if (!getResults(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      for (int i = 0; i < results_.size(); i++) {
+        output.writeMessage(1, results_.get(i));
+      }
+      if (((bitField0_ & 0x00000001) != 0)) {
+        output.writeInt64(15, requestId_);
+      }
+      unknownFields.writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      for (int i = 0; i < results_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(1, results_.get(i));
+      }
+      if (((bitField0_ & 0x00000001) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(15, requestId_);
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof org.flexiblepower.proto.ServiceProto.BatchConnectionResponse)) {
+        return super.equals(obj);
+      }
+      org.flexiblepower.proto.ServiceProto.BatchConnectionResponse other = (org.flexiblepower.proto.ServiceProto.BatchConnectionResponse) obj;
+
+      if (!getResultsList()
+          .equals(other.getResultsList())) return false;
+      if (hasRequestId() != other.hasRequestId()) return false;
+      if (hasRequestId()) {
+        if (getRequestId()
+            != other.getRequestId()) return false;
+      }
+      if (!unknownFields.equals(other.unknownFields)) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      if (getResultsCount() > 0) {
+        hash = (37 * hash) + RESULTS_FIELD_NUMBER;
+        hash = (53 * hash) + getResultsList().hashCode();
+      }
+      if (hasRequestId()) {
+        hash = (37 * hash) + REQUESTID_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getRequestId());
+      }
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(org.flexiblepower.proto.ServiceProto.BatchConnectionResponse prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code process.BatchConnectionResponse}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:process.BatchConnectionResponse)
+        org.flexiblepower.proto.ServiceProto.BatchConnectionResponseOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.flexiblepower.proto.ServiceProto.internal_static_process_BatchConnectionResponse_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.flexiblepower.proto.ServiceProto.internal_static_process_BatchConnectionResponse_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.class, org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Builder.class);
+      }
+
+      // Construct using org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+          getResultsFieldBuilder();
+        }
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        if (resultsBuilder_ == null) {
+          results_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+        } else {
+          resultsBuilder_.clear();
+        }
+        requestId_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.flexiblepower.proto.ServiceProto.internal_static_process_BatchConnectionResponse_descriptor;
+      }
+
+      @java.lang.Override
+      public org.flexiblepower.proto.ServiceProto.BatchConnectionResponse getDefaultInstanceForType() {
+        return org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public org.flexiblepower.proto.ServiceProto.BatchConnectionResponse build() {
+        org.flexiblepower.proto.ServiceProto.BatchConnectionResponse result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public org.flexiblepower.proto.ServiceProto.BatchConnectionResponse buildPartial() {
+        org.flexiblepower.proto.ServiceProto.BatchConnectionResponse result = new org.flexiblepower.proto.ServiceProto.BatchConnectionResponse(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (resultsBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) != 0)) {
+            results_ = java.util.Collections.unmodifiableList(results_);
+            bitField0_ = (bitField0_ & ~0x00000001);
+          }
+          result.results_ = results_;
+        } else {
+          result.results_ = resultsBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000002) != 0)) {
+          result.requestId_ = requestId_;
+          to_bitField0_ |= 0x00000001;
+        }
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      @java.lang.Override
+      public Builder clone() {
+        return super.clone();
+      }
+      @java.lang.Override
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.setField(field, value);
+      }
+      @java.lang.Override
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return super.clearField(field);
+      }
+      @java.lang.Override
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return super.clearOneof(oneof);
+      }
+      @java.lang.Override
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return super.setRepeatedField(field, index, value);
+      }
+      @java.lang.Override
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.addRepeatedField(field, value);
+      }
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.flexiblepower.proto.ServiceProto.BatchConnectionResponse) {
+          return mergeFrom((org.flexiblepower.proto.ServiceProto.BatchConnectionResponse)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.flexiblepower.proto.ServiceProto.BatchConnectionResponse other) {
+        if (other == org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.getDefaultInstance()) return this;
+        if (resultsBuilder_ == null) {
+          if (!other.results_.isEmpty()) {
+            if (results_.isEmpty()) {
+              results_ = other.results_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+            } else {
+              ensureResultsIsMutable();
+              results_.addAll(other.results_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.results_.isEmpty()) {
+            if (resultsBuilder_.isEmpty()) {
+              resultsBuilder_.dispose();
+              resultsBuilder_ = null;
+              results_ = other.results_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+              resultsBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getResultsFieldBuilder() : null;
+            } else {
+              resultsBuilder_.addAllMessages(other.results_);
+            }
+          }
+        }
+        if (other.hasRequestId()) {
+          setRequestId(other.getRequestId());
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        for (int i = 0; i < getResultsCount(); i++) {
+          if (!getResults(i).isInitialized()) {
+            return false;
+          }
+        }
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.flexiblepower.proto.ServiceProto.BatchConnectionResponse parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.flexiblepower.proto.ServiceProto.BatchConnectionResponse) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private java.util.List<org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result> results_ =
+        java.util.Collections.emptyList();
+      private void ensureResultsIsMutable() {
+        if (!((bitField0_ & 0x00000001) != 0)) {
+          results_ = new java.util.ArrayList<org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result>(results_);
+          bitField0_ |= 0x00000001;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result, org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result.Builder, org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.ResultOrBuilder> resultsBuilder_;
+
+      /**
+       * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+       */
+      public java.util.List<org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result> getResultsList() {
+        if (resultsBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(results_);
+        } else {
+          return resultsBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+       */
+      public int getResultsCount() {
+        if (resultsBuilder_ == null) {
+          return results_.size();
+        } else {
+          return resultsBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+       */
+      public org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result getResults(int index) {
+        if (resultsBuilder_ == null) {
+          return results_.get(index);
+        } else {
+          return resultsBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+       */
+      public Builder setResults(
+          int index, org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result value) {
+        if (resultsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureResultsIsMutable();
+          results_.set(index, value);
+          onChanged();
+        } else {
+          resultsBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+       */
+      public Builder setResults(
+          int index, org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result.Builder builderForValue) {
+        if (resultsBuilder_ == null) {
+          ensureResultsIsMutable();
+          results_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          resultsBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+       */
+      public Builder addResults(org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result value) {
+        if (resultsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureResultsIsMutable();
+          results_.add(value);
+          onChanged();
+        } else {
+          resultsBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+       */
+      public Builder addResults(
+          int index, org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result value) {
+        if (resultsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureResultsIsMutable();
+          results_.add(index, value);
+          onChanged();
+        } else {
+          resultsBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+       */
+      public Builder addResults(
+          org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result.Builder builderForValue) {
+        if (resultsBuilder_ == null) {
+          ensureResultsIsMutable();
+          results_.add(builderForValue.build());
+          onChanged();
+        } else {
+          resultsBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+       */
+      public Builder addResults(
+          int index, org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result.Builder builderForValue) {
+        if (resultsBuilder_ == null) {
+          ensureResultsIsMutable();
+          results_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          resultsBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+       */
+      public Builder addAllResults(
+          java.lang.Iterable<? extends org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result> values) {
+        if (resultsBuilder_ == null) {
+          ensureResultsIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, results_);
+          onChanged();
+        } else {
+          resultsBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+       */
+      public Builder clearResults() {
+        if (resultsBuilder_ == null) {
+          results_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+          onChanged();
+        } else {
+          resultsBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+       */
+      public Builder removeResults(int index) {
+        if (resultsBuilder_ == null) {
+          ensureResultsIsMutable();
+          results_.remove(index);
+          onChanged();
+        } else {
+          resultsBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+       */
+      public org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result.Builder getResultsBuilder(
+          int index) {
+        return getResultsFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+       */
+      public org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.ResultOrBuilder getResultsOrBuilder(
+          int index) {
+        if (resultsBuilder_ == null) {
+          return results_.get(index);  } else {
+          return resultsBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+       */
+      public java.util.List<? extends org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.ResultOrBuilder> 
+           getResultsOrBuilderList() {
+        if (resultsBuilder_ != null) {
+          return resultsBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(results_);
+        }
+      }
+      /**
+       * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+       */
+      public org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result.Builder addResultsBuilder() {
+        return getResultsFieldBuilder().addBuilder(
+            org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+       */
+      public org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result.Builder addResultsBuilder(
+          int index) {
+        return getResultsFieldBuilder().addBuilder(
+            index, org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .process.BatchConnectionResponse.Result results = 1;</code>
+       */
+      public java.util.List<org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result.Builder> 
+           getResultsBuilderList() {
+        return getResultsFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result, org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result.Builder, org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.ResultOrBuilder> 
+          getResultsFieldBuilder() {
+        if (resultsBuilder_ == null) {
+          resultsBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result, org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.Result.Builder, org.flexiblepower.proto.ServiceProto.BatchConnectionResponse.ResultOrBuilder>(
+                  results_,
+                  ((bitField0_ & 0x00000001) != 0),
+                  getParentForChildren(),
+                  isClean());
+          results_ = null;
+        }
+        return resultsBuilder_;
+      }
+
+      private long requestId_ ;
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return Whether the requestId field is set.
+       */
+      @java.lang.Override
+      public boolean hasRequestId() {
+        return ((bitField0_ & 0x00000002) != 0);
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return The requestId.
+       */
+      @java.lang.Override
+      public long getRequestId() {
+        return requestId_;
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @param value The requestId to set.
+       * @return This builder for chaining.
+       */
+      public Builder setRequestId(long value) {
+        bitField0_ |= 0x00000002;
+        requestId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 requestId = 15;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearRequestId() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        requestId_ = 0L;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:process.BatchConnectionResponse)
+    }
+
+    // @@protoc_insertion_point(class_scope:process.BatchConnectionResponse)
+    private static final org.flexiblepower.proto.ServiceProto.BatchConnectionResponse DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new org.flexiblepower.proto.ServiceProto.BatchConnectionResponse();
+    }
+
+    public static org.flexiblepower.proto.ServiceProto.BatchConnectionResponse getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    @java.lang.Deprecated public static final com.google.protobuf.Parser<BatchConnectionResponse>
+        PARSER = new com.google.protobuf.AbstractParser<BatchConnectionResponse>() {
+      @java.lang.Override
+      public BatchConnectionResponse parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new BatchConnectionResponse(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<BatchConnectionResponse> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<BatchConnectionResponse> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public org.flexiblepower.proto.ServiceProto.BatchConnectionResponse getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_process_GoToProcessStateMessage_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_process_GoToProcessStateMessage_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_process_ResumeProcessMessage_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_process_ResumeProcessMessage_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_process_ProcessStateUpdateMessage_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_process_ProcessStateUpdateMessage_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_process_SetConfigMessage_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_process_SetConfigMessage_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_process_SetConfigMessage_ConfigEntry_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_process_SetConfigMessage_ConfigEntry_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_process_ErrorMessage_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_process_ErrorMessage_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_process_BatchConnectionMessage_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_process_BatchConnectionMessage_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_process_BatchConnectionResponse_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_process_BatchConnectionResponse_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_process_BatchConnectionResponse_Result_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_process_BatchConnectionResponse_Result_fieldAccessorTable;
+
+  public static com.google.protobuf.Descriptors.FileDescriptor
+      getDescriptor() {
+    return descriptor;
+  }
+  private static  com.google.protobuf.Descriptors.FileDescriptor
+      descriptor;
+  static {
+    java.lang.String[] descriptorData = {
+      "\n\rService.proto\022\007process\032\020Connection.pro" +
+      "to\"k\n\027GoToProcessStateMessage\022\021\n\tprocess" +
+      "Id\030\001 \002(\t\022*\n\013targetState\030\002 \002(\0162\025.process." +
+      "ProcessState\022\021\n\trequestId\030\017 \001(\003\"O\n\024Resum" +
+      "eProcessMessage\022\021\n\tprocessId\030\001 \002(\t\022\021\n\tst" +
+      "ateData\030\002 \002(\014\022\021\n\trequestId\030\017 \001(\003\"z\n\031Proc" +
+      "essStateUpdateMessage\022\021\n\tprocessId\030\001 \002(\t" +
+      "\022$\n\005state\030\002 \002(\0162\025.process.ProcessState\022\021" +
+      "\n\tstateData\030\003 \001(\014\022\021\n\trequestId\030\017 \001(\003\"\260\001\n" +
+      "\020SetConfigMessage\022\021\n\tprocessId\030\001 \002(\t\022\020\n\010" +
+      "isUpdate\030\002 \002(\010\0225\n\006config\030\003 \003(\0132%.process" +
+      ".SetConfigMessage.ConfigEntry\022\021\n\trequest" +
+      "Id\030\017 \001(\003\032-\n\013ConfigEntry\022\013\n\003key\030\001 \001(\t\022\r\n\005" +
+      "value\030\002 \001(\t:\0028\001\"N\n\014ErrorMessage\022\021\n\tproce" +
+      "ssId\030\001 \002(\t\022\030\n\020debugInformation\030\002 \002(\t\022\021\n\t" +
+      "requestId\030\017 \001(\003\"\\\n\026BatchConnectionMessag" +
+      "e\022/\n\010messages\030\001 \003(\0132\035.connection.Connect" +
+      "ionMessage\022\021\n\trequestId\030\017 \001(\003\"\340\001\n\027BatchC" +
+      "onnectionResponse\0228\n\007results\030\001 \003(\0132\'.pro" +
+      "cess.BatchConnectionResponse.Result\022\021\n\tr" +
+      "equestId\030\017 \001(\003\032x\n\006Result\022\024\n\014connectionId" +
+      "\030\001 \002(\t\0222\n\thandshake\030\002 \001(\0132\037.connection.C" +
+      "onnectionHandshake\022$\n\005error\030\003 \001(\0132\025.proc" +
+      "ess.ErrorMessage*Z\n\014ProcessState\022\014\n\010STAR" +
+      "TING\020\000\022\020\n\014INITIALIZING\020\001\022\013\n\007RUNNING\020\002\022\r\n" +
+      "\tSUSPENDED\020\003\022\016\n\nTERMINATED\020\004B\'\n\027org.flex" +
+      "iblepower.protoB\014ServiceProto"
+    };
+    descriptor = com.google.protobuf.Descriptors.FileDescriptor
+      .internalBuildGeneratedFileFrom(descriptorData,
+        new com.google.protobuf.Descriptors.FileDescriptor[] {
+          org.flexiblepower.proto.ConnectionProto.getDescriptor(),
+        });
+    internal_static_process_GoToProcessStateMessage_descriptor =
+      getDescriptor().getMessageTypes().get(0);
+    internal_static_process_GoToProcessStateMessage_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_process_GoToProcessStateMessage_descriptor,
+        new java.lang.String[] { "ProcessId", "TargetState", "RequestId", });
+    internal_static_process_ResumeProcessMessage_descriptor =
+      getDescriptor().getMessageTypes().get(1);
+    internal_static_process_ResumeProcessMessage_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_process_ResumeProcessMessage_descriptor,
+        new java.lang.String[] { "ProcessId", "StateData", "RequestId", });
+    internal_static_process_ProcessStateUpdateMessage_descriptor =
+      getDescriptor().getMessageTypes().get(2);
+    internal_static_process_ProcessStateUpdateMessage_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_process_ProcessStateUpdateMessage_descriptor,
+        new java.lang.String[] { "ProcessId", "State", "StateData", "RequestId", });
+    internal_static_process_SetConfigMessage_descriptor =
+      getDescriptor().getMessageTypes().get(3);
+    internal_static_process_SetConfigMessage_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_process_SetConfigMessage_descriptor,
+        new java.lang.String[] { "ProcessId", "IsUpdate", "Config", "RequestId", });
+    internal_static_process_SetConfigMessage_ConfigEntry_descriptor =
+      internal_static_process_SetConfigMessage_descriptor.getNestedTypes().get(0);
+    internal_static_process_SetConfigMessage_ConfigEntry_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_process_SetConfigMessage_ConfigEntry_descriptor,
+        new java.lang.String[] { "Key", "Value", });
+    internal_static_process_ErrorMessage_descriptor =
+      getDescriptor().getMessageTypes().get(4);
+    internal_static_process_ErrorMessage_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_process_ErrorMessage_descriptor,
+        new java.lang.String[] { "ProcessId", "DebugInformation", "RequestId", });
+    internal_static_process_BatchConnectionMessage_descriptor =
+      getDescriptor().getMessageTypes().get(5);
+    internal_static_process_BatchConnectionMessage_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_process_BatchConnectionMessage_descriptor,
+        new java.lang.String[] { "Messages", "RequestId", });
+    internal_static_process_BatchConnectionResponse_descriptor =
+      getDescriptor().getMessageTypes().get(6);
+    internal_static_process_BatchConnectionResponse_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_process_BatchConnectionResponse_descriptor,
+        new java.lang.String[] { "Results", "RequestId", });
+    internal_static_process_BatchConnectionResponse_Result_descriptor =
+      internal_static_process_BatchConnectionResponse_descriptor.getNestedTypes().get(0);
+    internal_static_process_BatchConnectionResponse_Result_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_process_BatchConnectionResponse_Result_descriptor,
+        new java.lang.String[] { "ConnectionId", "Handshake", "Error", });
+    org.flexiblepower.proto.ConnectionProto.getDescriptor();
   }
 
   // @@protoc_insertion_point(outer_class_scope)
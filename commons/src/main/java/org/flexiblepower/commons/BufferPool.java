@@ -0,0 +1,194 @@
+/*-
+ * #%L
+ * dEF-Pi commons Library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.commons;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The BufferPool keeps direct ByteBuffers that can be reused for incoming and outgoing frames, so that a socket in
+ * steady state does not need to allocate new memory for every message. Buffers are kept in size classes of powers of
+ * two, from 64 bytes up to 1 MiB. Larger buffers are allocated on the heap and are not pooled.
+ * <p>
+ * Every buffer that is obtained by {@link #acquire(int)} should be given back using {@link #release(ByteBuffer)} as
+ * soon as it is no longer used. Buffers that are not released are simply garbage collected.
+ * <p>
+ * The pool never hands out the buffers it owns, but a fresh view of them, and it remembers which views it lent out.
+ * That way it recognizes the buffers that it may take back: a buffer that was allocated elsewhere, or a view that was
+ * already released, is never put back in the pool, even if it has the same size.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+public final class BufferPool {
+
+    private static final int MIN_SHIFT = 6;
+    private static final int MAX_SHIFT = 20;
+    private static final int MAX_POOLED_PER_CLASS = 64;
+
+    private static BufferPool instance;
+
+    private final SizeClass[] sizeClasses = new SizeClass[(BufferPool.MAX_SHIFT - BufferPool.MIN_SHIFT) + 1];
+
+    /**
+     * @return the process-wide buffer pool
+     */
+    public static synchronized BufferPool getInstance() {
+        if (BufferPool.instance == null) {
+            BufferPool.instance = new BufferPool();
+        }
+        return BufferPool.instance;
+    }
+
+    private BufferPool() {
+        for (int i = 0; i < this.sizeClasses.length; i++) {
+            this.sizeClasses[i] = new SizeClass(1 << (BufferPool.MIN_SHIFT + i));
+        }
+    }
+
+    /**
+     * Obtain a buffer that can hold at least the provided number of bytes. The position of the buffer is 0, and the
+     * limit is set to the requested size.
+     *
+     * @param size The number of bytes the buffer must hold
+     * @return A buffer that may be used until it is released
+     */
+    public ByteBuffer acquire(final int size) {
+        final SizeClass sizeClass = this.sizeClassFor(size);
+        final ByteBuffer buffer = sizeClass == null ? ByteBuffer.allocate(size) : sizeClass.take();
+        ((Buffer) buffer).clear();
+        ((Buffer) buffer).limit(size);
+        return buffer;
+    }
+
+    /**
+     * Give a buffer back to the pool, so it may be reused. The caller must not use the buffer after calling this
+     * function. Buffers that were not obtained from {@link #acquire(int)}, or that were already released, are ignored.
+     *
+     * @param buffer The buffer to release
+     */
+    public void release(final ByteBuffer buffer) {
+        if ((buffer == null) || !buffer.isDirect()) {
+            return;
+        }
+        final SizeClass sizeClass = this.sizeClassFor(buffer.capacity());
+        if ((sizeClass != null) && (sizeClass.bufferSize == buffer.capacity())) {
+            sizeClass.giveBack(buffer);
+        }
+    }
+
+    private SizeClass sizeClassFor(final int size) {
+        if (size > (1 << BufferPool.MAX_SHIFT)) {
+            return null;
+        }
+        final int shift = Math.max(BufferPool.MIN_SHIFT, 32 - Integer.numberOfLeadingZeros(Math.max(0, size - 1)));
+        return this.sizeClasses[shift - BufferPool.MIN_SHIFT];
+    }
+
+    /**
+     * A stack of free buffers of a single size, and the views of them that are lent out
+     */
+    private static final class SizeClass {
+
+        final int bufferSize;
+        private final ByteBuffer[] free = new ByteBuffer[BufferPool.MAX_POOLED_PER_CLASS];
+        private int count;
+        private final Map<Lease, Lease> lent = new HashMap<>();
+        private final ReferenceQueue<ByteBuffer> collected = new ReferenceQueue<>();
+
+        SizeClass(final int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        synchronized ByteBuffer take() {
+            this.expungeCollected();
+            final ByteBuffer buffer;
+            if (this.count == 0) {
+                buffer = ByteBuffer.allocateDirect(this.bufferSize);
+            } else {
+                buffer = this.free[--this.count];
+                this.free[this.count] = null;
+            }
+            final ByteBuffer view = buffer.duplicate();
+            final Lease lease = new Lease(view, buffer, this.collected);
+            this.lent.put(lease, lease);
+            return view;
+        }
+
+        synchronized void giveBack(final ByteBuffer view) {
+            this.expungeCollected();
+            final Lease lease = this.lent.remove(new Lease(view, null, null));
+            if ((lease != null) && (this.count < this.free.length)) {
+                this.free[this.count++] = lease.buffer;
+            }
+        }
+
+        /**
+         * Forget the views that were garbage collected without being released; their buffers are not reused, because
+         * other views of them may still exist
+         */
+        private void expungeCollected() {
+            Reference<? extends ByteBuffer> ref;
+            while ((ref = this.collected.poll()) != null) {
+                this.lent.remove(ref);
+            }
+        }
+
+    }
+
+    /**
+     * A view that is lent out, which is compared by identity and does not keep the view from being garbage collected
+     */
+    private static final class Lease extends WeakReference<ByteBuffer> {
+
+        final ByteBuffer buffer;
+        private final int hash;
+
+        Lease(final ByteBuffer view, final ByteBuffer buffer, final ReferenceQueue<ByteBuffer> queue) {
+            super(view, queue);
+            this.buffer = buffer;
+            this.hash = System.identityHashCode(view);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof Lease)) {
+                return false;
+            }
+            final ByteBuffer view = this.get();
+            return (view != null) && (view == ((Lease) obj).get());
+        }
+
+    }
+
+}
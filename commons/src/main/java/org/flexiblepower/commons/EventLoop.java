@@ -0,0 +1,198 @@
+/*-
+ * #%L
+ * dEF-Pi commons Library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.commons;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The EventLoop is a small, fixed pool of selector threads that serve all asynchronous {@link TCPSocket}s in the
+ * process. Instead of parking a thread in a blocking read for every socket, each registered socket is assigned to one
+ * of the selector threads, which reads and writes for all of its sockets as soon as data is available.
+ * <p>
+ * The number of threads defaults to the number of available processors, with a maximum of 4. It can be overridden by
+ * setting the system property {@value #THREADS_PROPERTY}.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+final class EventLoop {
+
+    private static final Logger log = LoggerFactory.getLogger(EventLoop.class);
+
+    /**
+     * The system property that may be used to override the number of selector threads
+     */
+    static final String THREADS_PROPERTY = "defpi.eventloop.threads";
+
+    private static final int MAX_DEFAULT_THREADS = 4;
+
+    private static EventLoop instance;
+
+    private final Worker[] workers;
+    private final AtomicInteger nextWorker = new AtomicInteger();
+
+    /**
+     * @return the singleton instance of the EventLoop, which is created when it is first requested
+     */
+    static synchronized EventLoop getInstance() {
+        if (EventLoop.instance == null) {
+            EventLoop.instance = new EventLoop(EventLoop.configuredThreads());
+        }
+        return EventLoop.instance;
+    }
+
+    private static int configuredThreads() {
+        final int defaultThreads = Math.max(1,
+                Math.min(EventLoop.MAX_DEFAULT_THREADS, Runtime.getRuntime().availableProcessors()));
+        try {
+            return Math.max(1, Integer.getInteger(EventLoop.THREADS_PROPERTY, defaultThreads));
+        } catch (final SecurityException e) {
+            return defaultThreads;
+        }
+    }
+
+    private EventLoop(final int numThreads) {
+        EventLoop.log.debug("Starting event loop with {} threads", numThreads);
+        this.workers = new Worker[numThreads];
+        for (int i = 0; i < numThreads; i++) {
+            try {
+                this.workers[i] = new Worker(i);
+            } catch (final IOException e) {
+                throw new RuntimeException("Unable to open selector for event loop", e);
+            }
+        }
+    }
+
+    /**
+     * Pick the worker thread that will serve a new channel. Workers are assigned in a round robin fashion.
+     *
+     * @return The worker that should get the next channel
+     */
+    Worker nextWorker() {
+        return this.workers[Math.floorMod(this.nextWorker.getAndIncrement(), this.workers.length)];
+    }
+
+    /**
+     * A Worker is a single selector thread, serving any number of FrameChannels
+     */
+    static final class Worker implements Runnable {
+
+        private final Selector selector;
+        private final Thread thread;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+        Worker(final int index) throws IOException {
+            this.selector = Selector.open();
+            this.thread = new Thread(this, "dEF-Pi ioThread-" + index);
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        /**
+         * @return The selector of this worker, to register new channels with. This may only be used from within the
+         *         worker thread, i.e. in a task that is passed to {@link #execute(Runnable)}.
+         */
+        Selector selector() {
+            return this.selector;
+        }
+
+        /**
+         * @return whether the current thread is this worker's selector thread
+         */
+        boolean inEventLoop() {
+            return Thread.currentThread() == this.thread;
+        }
+
+        /**
+         * Run a task in the selector thread. This is the only safe way to change the registration of channels with
+         * the selector.
+         *
+         * @param task The task to run
+         */
+        void execute(final Runnable task) {
+            this.tasks.add(task);
+            if (!this.inEventLoop()) {
+                this.selector.wakeup();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    this.selector.select();
+                    this.runTasks();
+
+                    final Iterator<SelectionKey> it = this.selector.selectedKeys().iterator();
+                    while (it.hasNext()) {
+                        final SelectionKey key = it.next();
+                        it.remove();
+                        EventLoop.Worker.handleKey(key);
+                    }
+
+                    // Handling the keys may have added tasks, which would otherwise wait for the next wakeup
+                    this.runTasks();
+                } catch (final Exception e) {
+                    EventLoop.log.error("Unexpected exception in event loop: {}", e.getMessage());
+                    EventLoop.log.trace(e.getMessage(), e);
+                }
+            }
+        }
+
+        private void runTasks() {
+            Runnable task;
+            while ((task = this.tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (final Exception e) {
+                    EventLoop.log.error("Exception while running event loop task: {}", e.getMessage());
+                    EventLoop.log.trace(e.getMessage(), e);
+                }
+            }
+        }
+
+        private static void handleKey(final SelectionKey key) {
+            final FrameChannel channel = (FrameChannel) key.attachment();
+            try {
+                if (key.isValid() && key.isReadable()) {
+                    channel.handleRead();
+                }
+                if (key.isValid() && key.isWritable()) {
+                    channel.handleWrite();
+                }
+            } catch (final CancelledKeyException e) {
+                // The channel was closed while we were handling it
+                channel.close();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,279 @@
+/*-
+ * #%L
+ * dEF-Pi commons Library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.commons;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A FrameChannel is the non-blocking counterpart of the blocking read and send functions in the {@link TCPSocket}. It
+ * is served by one of the {@link EventLoop} threads, which decodes the incoming frames using the {@link FrameCodec}
+ * of the socket and hands them to the {@link TCPSocket.FrameListener}.
+ * <p>
+ * Frames that are sent are encoded by the socket, and written directly to the channel with a single gathering write if
+ * possible. When the remote side is not able to keep up, the remainder is copied to a pooled buffer and written by the
+ * event loop as soon as the channel is writable again.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+final class FrameChannel {
+
+    private static final Logger log = LoggerFactory.getLogger(FrameChannel.class);
+
+    private final SocketChannel channel;
+    private final FrameCodec codec;
+    private final TCPSocket.FrameListener listener;
+    private final EventLoop.Worker worker;
+    private final BufferPool pool = BufferPool.getInstance();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(FrameCodec.READ_BUFFER_SIZE);
+    private final Queue<ByteBuffer> writeQueue = new ArrayDeque<>();
+
+    private volatile SelectionKey key;
+    private volatile boolean readPaused;
+
+    /**
+     * Create a FrameChannel for an already connected channel, and register it with the event loop. From this moment
+     * on, every frame that is received is given to the listener.
+     *
+     * @param channel The connected socket channel
+     * @param codec The codec of the socket, which may already contain a partially decoded frame
+     * @param pending Any data that was already read from the channel but not yet decoded, may be null
+     * @param listener The listener that will receive all frames
+     * @throws IOException When the channel could not be put in non-blocking mode
+     */
+    FrameChannel(final SocketChannel channel,
+            final FrameCodec codec,
+            final ByteBuffer pending,
+            final TCPSocket.FrameListener listener) throws IOException {
+        this.channel = channel;
+        this.codec = codec;
+        this.listener = listener;
+        this.worker = EventLoop.getInstance().nextWorker();
+
+        if (pending != null) {
+            this.readBuffer.put(pending);
+        }
+
+        this.channel.configureBlocking(false);
+        this.worker.execute(() -> {
+            try {
+                this.key = this.channel.register(this.worker.selector(), SelectionKey.OP_READ, this);
+                this.updateInterest();
+                if (this.readBuffer.position() > 0) {
+                    this.decode();
+                }
+            } catch (final IOException e) {
+                FrameChannel.log.debug("Unable to register channel: {}", e.getMessage());
+                this.close();
+            }
+        });
+    }
+
+    /**
+     * Write encoded frames to the channel, with a single gathering write. If the channel is not able to accept all data
+     * immediately, the remainder is copied and sent by the event loop, so the buffers may be reused as soon as this
+     * function returns.
+     *
+     * @param data The buffers containing the encoded frames, which are written in order
+     * @throws IOException When the channel is closed, or the data could not be written
+     */
+    void write(final ByteBuffer[] data) throws IOException {
+        if (this.closed.get()) {
+            throw new ClosedChannelException();
+        }
+
+        synchronized (this.writeQueue) {
+            if (this.writeQueue.isEmpty()) {
+                this.channel.write(data);
+            }
+
+            final int remaining = FrameCodec.remaining(data);
+            if (remaining == 0) {
+                return;
+            }
+
+            final ByteBuffer copy = this.pool.acquire(remaining);
+            for (final ByteBuffer buffer : data) {
+                copy.put(buffer);
+            }
+            ((Buffer) copy).flip();
+            this.writeQueue.add(copy);
+        }
+        this.worker.execute(this::updateInterest);
+    }
+
+    /**
+     * Called by the event loop when the channel is writable; will try to empty the write queue.
+     */
+    void handleWrite() {
+        try {
+            synchronized (this.writeQueue) {
+                while (!this.writeQueue.isEmpty()) {
+                    final ByteBuffer buffer = this.writeQueue.peek();
+                    this.channel.write(buffer);
+                    if (buffer.hasRemaining()) {
+                        break;
+                    }
+                    this.pool.release(this.writeQueue.poll());
+                }
+            }
+            this.updateInterest();
+        } catch (final IOException e) {
+            FrameChannel.log.debug("Unable to write to channel: {}", e.getMessage());
+            this.close();
+        }
+    }
+
+    private void updateInterest() {
+        if ((this.key == null) || !this.key.isValid()) {
+            return;
+        }
+        synchronized (this.writeQueue) {
+            final int readOps = this.readPaused ? 0 : SelectionKey.OP_READ;
+            this.key.interestOps(this.writeQueue.isEmpty() ? readOps : readOps | SelectionKey.OP_WRITE);
+        }
+    }
+
+    /**
+     * Stop reading from the channel. No more frames are delivered after the current one, until
+     * {@link #resumeReading()} is called. Data that is not read will eventually fill up the TCP window, so the remote
+     * side stops sending.
+     */
+    void pauseReading() {
+        this.readPaused = true;
+        this.worker.execute(this::updateInterest);
+    }
+
+    /**
+     * Continue reading from the channel, starting with any frames that were already received before reading was paused
+     */
+    void resumeReading() {
+        this.worker.execute(() -> {
+            if (!this.readPaused) {
+                return;
+            }
+            this.readPaused = false;
+            try {
+                this.decode();
+            } catch (final IOException e) {
+                FrameChannel.log.debug("Unable to decode from channel: {}", e.getMessage());
+                this.close();
+                return;
+            }
+            this.updateInterest();
+        });
+    }
+
+    /**
+     * Called by the event loop when the channel is readable; will decode as many frames as are available.
+     */
+    void handleRead() {
+        if (this.readPaused) {
+            return;
+        }
+        try {
+            final int read = this.channel.read(this.readBuffer);
+            if (read < 0) {
+                FrameChannel.log.trace("Reached end of stream");
+                this.close();
+                return;
+            }
+            this.decode();
+        } catch (final IOException e) {
+            FrameChannel.log.debug("Unable to read from channel: {}", e.getMessage());
+            this.close();
+        }
+    }
+
+    private void decode() throws IOException {
+        ((Buffer) this.readBuffer).flip();
+        try {
+            ByteBuffer frame;
+            while (!this.closed.get() && !this.readPaused
+                    && ((frame = this.codec.decode(this.readBuffer)) != null)) {
+                this.deliver(frame);
+            }
+        } finally {
+            this.readBuffer.compact();
+        }
+    }
+
+    private void deliver(final ByteBuffer frame) {
+        try {
+            this.listener.onFrame(frame);
+        } catch (final Exception e) {
+            FrameChannel.log.error("Exception while handling frame: {}", e.getMessage());
+            FrameChannel.log.trace(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return whether the channel has been closed
+     */
+    boolean isClosed() {
+        return this.closed.get();
+    }
+
+    /**
+     * Close the channel, and notify the listener. The listener is only notified the first time this function is
+     * called.
+     */
+    void close() {
+        if (!this.closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        if (this.key != null) {
+            this.key.cancel();
+        }
+        try {
+            this.channel.close();
+        } catch (final IOException e) {
+            FrameChannel.log.warn("Exception while closing channel: {}", e.getMessage());
+        }
+
+        synchronized (this.writeQueue) {
+            while (!this.writeQueue.isEmpty()) {
+                this.pool.release(this.writeQueue.poll());
+            }
+        }
+
+        try {
+            this.listener.onClose();
+        } catch (final Exception e) {
+            FrameChannel.log.error("Exception while handling close: {}", e.getMessage());
+            FrameChannel.log.trace(e.getMessage(), e);
+        }
+    }
+
+}
@@ -0,0 +1,214 @@
+/*-
+ * #%L
+ * dEF-Pi commons Library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.commons;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The FrameCodec translates between payloads and the frames that are sent over a {@link TCPSocket}: four bytes
+ * indicating the length, the payload itself, and an END-OF-MESSAGE byte.
+ * <p>
+ * Encoding does not copy the payload, but returns the header, payload and END-OF-MESSAGE byte as an array of buffers
+ * that can be written with a single gathering write. Decoding is incremental, and fills buffers that are obtained from
+ * the {@link BufferPool}. The header and trailer buffers are reused, so no memory is allocated per frame.
+ * <p>
+ * The encoding and decoding state are independent; the encoding functions must be guarded by the write lock of the
+ * socket, and the decoding functions by the read lock.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+final class FrameCodec {
+
+    private static final Logger log = LoggerFactory.getLogger(FrameCodec.class);
+
+    /**
+     * The number of bytes that is added to every payload to form a frame
+     */
+    static final int FRAME_OVERHEAD = 5;
+
+    /**
+     * The size of the buffers that are used to read from the socket
+     */
+    static final int READ_BUFFER_SIZE = 16 * 1024;
+
+    private final BufferPool pool = BufferPool.getInstance();
+
+    private final ByteBuffer encodeHeader = ByteBuffer.allocateDirect(4);
+    private final ByteBuffer encodeTrailer = ByteBuffer.allocateDirect(1);
+    private final ByteBuffer[] encodedFrame = new ByteBuffer[3];
+    private final ByteBuffer encodeTag = ByteBuffer.allocateDirect(4);
+    private final ByteBuffer[] encodedTaggedFrame = new ByteBuffer[4];
+
+    private final ByteBuffer decodeHeader = ByteBuffer.allocateDirect(4);
+    private ByteBuffer body;
+    private DecoderState state = DecoderState.HEADER;
+
+    private enum DecoderState {
+        HEADER,
+        BODY,
+        EOM,
+        SKIP
+    }
+
+    FrameCodec() {
+        this.encodeTrailer.put(0, (byte) TCPSocket.EOM);
+    }
+
+    /**
+     * Create the frame for a payload. The returned buffers must be written in order, and are only valid until the next
+     * call of this function. The payload buffer itself is part of the frame, and is consumed when the frame is written.
+     *
+     * @param payload The data to send, from its position up to its limit
+     * @return An array of the header, the payload and the trailer of the frame
+     */
+    ByteBuffer[] encode(final ByteBuffer payload) {
+        ((Buffer) this.encodeHeader).clear();
+        this.encodeHeader.putInt(0, payload.remaining());
+        ((Buffer) this.encodeTrailer).clear();
+
+        this.encodedFrame[0] = this.encodeHeader;
+        this.encodedFrame[1] = payload;
+        this.encodedFrame[2] = this.encodeTrailer;
+        return this.encodedFrame;
+    }
+
+    /**
+     * Create the frame for a payload that is preceded by an integer tag. The returned buffers must be written in order,
+     * and are only valid until the next call of this function.
+     *
+     * @param tag The tag to put in front of the payload
+     * @param payload The data to send, from its position up to its limit
+     * @return An array of the header, the tag, the payload and the trailer of the frame
+     * @see #encode(ByteBuffer)
+     */
+    ByteBuffer[] encodeTagged(final int tag, final ByteBuffer payload) {
+        ((Buffer) this.encodeHeader).clear();
+        this.encodeHeader.putInt(0, payload.remaining() + 4);
+        ((Buffer) this.encodeTag).clear();
+        this.encodeTag.putInt(0, tag);
+        ((Buffer) this.encodeTrailer).clear();
+
+        this.encodedTaggedFrame[0] = this.encodeHeader;
+        this.encodedTaggedFrame[1] = this.encodeTag;
+        this.encodedTaggedFrame[2] = payload;
+        this.encodedTaggedFrame[3] = this.encodeTrailer;
+        return this.encodedTaggedFrame;
+    }
+
+    /**
+     * Encode a frame for a payload by copying it into a buffer, after the data that is already in there. This is used
+     * to coalesce multiple frames, so they can be sent with a single write.
+     *
+     * @param payload The data to send, from its position up to its limit. The payload is consumed.
+     * @param out The buffer to write the frame to, which must have at least {@link #FRAME_OVERHEAD} more bytes
+     *            remaining than the payload
+     */
+    static void encodeInto(final ByteBuffer payload, final ByteBuffer out) {
+        out.putInt(payload.remaining()).put(payload).put((byte) TCPSocket.EOM);
+    }
+
+    /**
+     * @param data Buffers, for instance a frame as returned by {@link #encode(ByteBuffer)}
+     * @return The number of bytes of all buffers that still have to be written
+     */
+    static int remaining(final ByteBuffer[] data) {
+        int remaining = 0;
+        for (final ByteBuffer buffer : data) {
+            remaining += buffer.remaining();
+        }
+        return remaining;
+    }
+
+    /**
+     * Decode the next frame from the input. This consumes bytes from the input buffer until either a complete frame has
+     * been read, or the input buffer is empty. Partial frames are kept until the next invocation.
+     * <p>
+     * The returned buffer is obtained from the {@link BufferPool}, and is owned by the caller. It should be released
+     * when it is no longer needed.
+     *
+     * @param in The buffer to read the frame from
+     * @return The payload of the frame, or null when more data is required to complete the frame
+     * @throws IOException When the input contains an invalid frame length
+     */
+    ByteBuffer decode(final ByteBuffer in) throws IOException {
+        while (in.hasRemaining()) {
+            switch (this.state) {
+            case HEADER:
+                while (this.decodeHeader.hasRemaining() && in.hasRemaining()) {
+                    this.decodeHeader.put(in.get());
+                }
+                if (!this.decodeHeader.hasRemaining()) {
+                    final int len = this.decodeHeader.getInt(0);
+                    ((Buffer) this.decodeHeader).clear();
+                    if (len < 0) {
+                        throw new IOException("Reached end of stream");
+                    }
+                    this.body = this.pool.acquire(len);
+                    this.state = DecoderState.BODY;
+                }
+                break;
+            case BODY:
+                if (in.remaining() <= this.body.remaining()) {
+                    this.body.put(in);
+                } else {
+                    final int limit = in.limit();
+                    ((Buffer) in).limit(in.position() + this.body.remaining());
+                    this.body.put(in);
+                    ((Buffer) in).limit(limit);
+                }
+                if (!this.body.hasRemaining()) {
+                    this.state = DecoderState.EOM;
+                }
+                break;
+            case EOM:
+                final int eom = in.get() & 0xFF;
+                if (eom == TCPSocket.EOM) {
+                    return this.completeFrame();
+                }
+                FrameCodec.log.warn("Expected EOM, instead read {}, skipping stream", eom);
+                this.state = DecoderState.SKIP;
+                break;
+            case SKIP:
+                if ((in.get() & 0xFF) == TCPSocket.EOM) {
+                    return this.completeFrame();
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unknown decoder state " + this.state);
+            }
+        }
+        return null;
+    }
+
+    private ByteBuffer completeFrame() {
+        final ByteBuffer frame = this.body;
+        this.body = null;
+        this.state = DecoderState.HEADER;
+        ((Buffer) frame).flip();
+        return frame;
+    }
+
+}
@@ -0,0 +1,455 @@
+/*-
+ * #%L
+ * dEF-Pi commons Library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.commons;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A MultiplexedLink carries any number of logical streams over a single {@link TCPSocket}, so that all connections
+ * between the same two processes share one TCP connection. Every stream behaves as a TCPSocket of its own, that must
+ * be read asynchronously.
+ * <p>
+ * Each frame on the link starts with an integer tag that identifies the stream of the sender. Streams are matched by
+ * name: when a stream is opened on one side it is announced to the other side, and as soon as both sides have opened
+ * a stream with the same name, the stream is connected. Every stream has its own flow control; the receiver grants the
+ * sender a window of {@value #WINDOW_PROPERTY} frames (default 256), and returns credit as the frames are handled. A
+ * stream of which reading is paused therefore only stops the sender of that stream, not the others on the link.
+ * <p>
+ * Besides the user streams, each link has a single heartbeat stream without flow control, so the liveness of all
+ * streams can be checked with a single heartbeat. Closing the heartbeat stream closes the link, and the link is also
+ * closed when its last user stream is closed.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+public final class MultiplexedLink {
+
+    private static final Logger log = LoggerFactory.getLogger(MultiplexedLink.class);
+
+    /**
+     * The system property to set the number of frames a stream may send before the receiver returns credit
+     */
+    public static final String WINDOW_PROPERTY = "defpi.multiplex.window";
+    private static final int DEFAULT_WINDOW = 256;
+
+    /**
+     * The tag of the heartbeat stream, which is the same on both sides
+     */
+    static final int HEARTBEAT_STREAM = 0;
+
+    /**
+     * The tag of the frames that open, close or give credit to streams
+     */
+    static final int CONTROL_STREAM = -1;
+
+    private static final byte OPEN = 1;
+    private static final byte CLOSE = 2;
+    private static final byte CREDIT = 3;
+
+    /**
+     * All links that are not closed, by target address and port. Creating and closing links is guarded by the class
+     * lock.
+     */
+    private static final Map<String, MultiplexedLink> links = new HashMap<>();
+
+    private final String key;
+    private final TCPSocket socket;
+    private final int window;
+    private final MultiplexedStream heartBeatStream;
+    private final AtomicBoolean heartBeatClaimed = new AtomicBoolean(false);
+
+    private final Map<Integer, MultiplexedStream> localStreams = new ConcurrentHashMap<>();
+    private final Map<Integer, MultiplexedStream> remoteStreams = new ConcurrentHashMap<>();
+    private final Map<String, int[]> pendingOpens = new HashMap<>();
+    private int nextStreamId = MultiplexedLink.HEARTBEAT_STREAM + 1;
+
+    private volatile boolean reading;
+    private volatile boolean closed;
+
+    /**
+     * Open a stream to a remote process. If there is already a link to the same target address and port it is used,
+     * otherwise a new link is set up. The stream is connected as soon as the remote process opens a stream with the
+     * same name on its side of the link.
+     *
+     * @param targetAddress The host name of the remote process to connect to, or an empty string to accept a
+     *            connection from the remote process
+     * @param port The port to connect to, or to listen at
+     * @param name The name of the stream, which must be unique for the link
+     * @return The stream, which is a socket that can only be read asynchronously
+     * @see TCPSocket#startReading(TCPSocket.FrameListener)
+     */
+    public static TCPSocket openStream(final String targetAddress, final int port, final String name) {
+        synchronized (MultiplexedLink.class) {
+            final String key = targetAddress + ":" + port;
+            MultiplexedLink link = MultiplexedLink.links.get(key);
+            if (link == null) {
+                link = new MultiplexedLink(key,
+                        targetAddress.isEmpty() ? TCPSocket.asServer(port) : TCPSocket.asClient(targetAddress, port));
+                MultiplexedLink.links.put(key, link);
+            }
+            return link.newStream(name);
+        }
+    }
+
+    /**
+     * Get the heartbeat stream of the link that carries a stream. Only the first caller for each link gets the
+     * heartbeat stream, so that a single monitor checks the link.
+     *
+     * @param stream A stream as returned by {@link #openStream(String, int, String)}
+     * @return The heartbeat stream of the link, or null when it was already claimed or the socket is not a stream
+     */
+    public static TCPSocket claimHeartBeatStream(final TCPSocket stream) {
+        if (!(stream instanceof MultiplexedStream)) {
+            return null;
+        }
+        final MultiplexedLink link = ((MultiplexedStream) stream).link();
+        return link.heartBeatClaimed.compareAndSet(false, true) ? link.heartBeatStream : null;
+    }
+
+    private MultiplexedLink(final String key, final TCPSocket socket) {
+        this.key = key;
+        this.socket = socket;
+        this.window = MultiplexedLink.getWindowProperty();
+        this.heartBeatStream = new MultiplexedStream(this, MultiplexedLink.HEARTBEAT_STREAM, "heartbeat", 0);
+        this.heartBeatStream.bind(MultiplexedLink.HEARTBEAT_STREAM, 0);
+        MultiplexedLink.log.debug("Created multiplexed link {}", key);
+    }
+
+    private static int getWindowProperty() {
+        try {
+            return Math.max(1, Integer.getInteger(MultiplexedLink.WINDOW_PROPERTY, MultiplexedLink.DEFAULT_WINDOW));
+        } catch (final SecurityException e) {
+            return MultiplexedLink.DEFAULT_WINDOW;
+        }
+    }
+
+    private MultiplexedStream newStream(final String name) {
+        boolean failed = false;
+        final MultiplexedStream stream;
+        synchronized (this) {
+            stream = new MultiplexedStream(this, this.nextStreamId++, name, this.window);
+            this.localStreams.put(stream.localId(), stream);
+
+            final int[] pending = this.pendingOpens.remove(name);
+            if (pending != null) {
+                this.bind(stream, pending[0], pending[1]);
+            }
+            if (this.reading) {
+                failed = !this.sendOpen(stream);
+            }
+        }
+        if (failed) {
+            this.closeLater();
+        }
+        return stream;
+    }
+
+    /**
+     * Make sure the link is connected, and its frames are being read. Streams that were opened before are announced
+     * to the remote side before this function returns.
+     *
+     * @param millis the amount of milliseconds to wait, or 0 to wait until connected
+     * @return whether the link is connected
+     * @throws IOException When the link is closed, or the underlying socket failed to connect
+     */
+    boolean connect(final long millis) throws IOException {
+        if (this.closed) {
+            throw new ClosedChannelException();
+        } else if (this.reading) {
+            return true;
+        }
+
+        boolean failed = false;
+        try {
+            if (!this.socket.waitUntilConnected(millis)) {
+                return false;
+            }
+            synchronized (this) {
+                if (!this.reading) {
+                    this.socket.startReading(new Demultiplexer());
+                    this.reading = true;
+                    for (final MultiplexedStream stream : this.localStreams.values()) {
+                        failed |= !this.sendOpen(stream);
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            this.closeLater();
+            throw e;
+        }
+
+        if (failed) {
+            this.closeLater();
+            throw new ClosedChannelException();
+        }
+        return true;
+    }
+
+    /**
+     * @return whether the link is connected and its frames are being read
+     */
+    boolean isConnected() {
+        return !this.closed && this.reading && this.socket.isConnected();
+    }
+
+    /**
+     * Send a frame of a stream. When this fails the link is closed.
+     *
+     * @param localId The id of the stream on this side of the link
+     * @param data The data to send
+     * @throws IOException When the link is closed, or the data could not be sent
+     */
+    void sendData(final int localId, final ByteBuffer data) throws IOException {
+        try {
+            this.socket.sendTagged(localId, data);
+        } catch (final IOException e) {
+            this.closeLater();
+            throw e;
+        }
+    }
+
+    /**
+     * Allow the remote side to send more frames on a stream. When this fails the link is closed.
+     *
+     * @param remoteId The id of the stream on the remote side of the link
+     * @param frames The number of frames that were handled since credit was last returned
+     */
+    void sendCredit(final int remoteId, final int frames) {
+        final ByteBuffer message = ByteBuffer.allocate(9);
+        message.put(MultiplexedLink.CREDIT).putInt(remoteId).putInt(frames);
+        if (!this.sendControl(message)) {
+            this.closeLater();
+        }
+    }
+
+    private boolean sendOpen(final MultiplexedStream stream) {
+        final byte[] name = stream.name().getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer message = ByteBuffer.allocate(9 + name.length);
+        message.put(MultiplexedLink.OPEN).putInt(stream.localId()).putInt(this.window).put(name);
+        return this.sendControl(message);
+    }
+
+    private boolean sendControl(final ByteBuffer message) {
+        ((Buffer) message).flip();
+        try {
+            this.socket.sendTagged(MultiplexedLink.CONTROL_STREAM, message);
+            return true;
+        } catch (final IOException e) {
+            MultiplexedLink.log.debug("Unable to send control message on link {}: {}", this.key, e.getMessage());
+            return false;
+        }
+    }
+
+    private void bind(final MultiplexedStream stream, final int remoteId, final int credit) {
+        MultiplexedLink.log.trace("Bound stream {} on link {} ({} -> {})",
+                stream.name(),
+                this.key,
+                stream.localId(),
+                remoteId);
+        this.remoteStreams.put(remoteId, stream);
+        stream.bind(remoteId, credit);
+    }
+
+    private void handleControl(final ByteBuffer frame) {
+        final byte type = frame.get();
+        final int streamId = frame.getInt();
+        switch (type) {
+        case OPEN:
+            final int credit = frame.getInt();
+            final byte[] name = new byte[frame.remaining()];
+            frame.get(name);
+            this.handleOpen(streamId, credit, new String(name, StandardCharsets.UTF_8));
+            break;
+        case CLOSE:
+            this.handleClose(streamId);
+            break;
+        case CREDIT:
+            final MultiplexedStream stream = this.localStreams.get(streamId);
+            if (stream != null) {
+                stream.grantCredit(frame.getInt());
+            }
+            break;
+        default:
+            MultiplexedLink.log.warn("Unknown control message {} on link {}", type, this.key);
+        }
+    }
+
+    private synchronized void handleOpen(final int remoteId, final int credit, final String name) {
+        // If a stream was closed and reopened, only the newest one may be matched
+        MultiplexedStream match = null;
+        for (final MultiplexedStream stream : this.localStreams.values()) {
+            if (!stream.isBound() && stream.name().equals(name)
+                    && ((match == null) || (stream.localId() > match.localId()))) {
+                match = stream;
+            }
+        }
+
+        if (match == null) {
+            this.pendingOpens.put(name, new int[] {remoteId, credit});
+        } else {
+            this.bind(match, remoteId, credit);
+        }
+    }
+
+    private void handleClose(final int remoteId) {
+        final MultiplexedStream stream;
+        synchronized (this) {
+            this.pendingOpens.values().removeIf(pending -> pending[0] == remoteId);
+            stream = this.remoteStreams.remove(remoteId);
+        }
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    /**
+     * Called by a stream when it is closed. The remote side is told to close its side of the stream, and the link is
+     * closed when this was the heartbeat stream, or the last user stream.
+     *
+     * @param stream The stream that was closed
+     */
+    void streamClosed(final MultiplexedStream stream) {
+        if (stream == this.heartBeatStream) {
+            this.close();
+            return;
+        }
+
+        final boolean last;
+        synchronized (MultiplexedLink.class) {
+            synchronized (this) {
+                this.localStreams.remove(stream.localId());
+                if (stream.isBound()) {
+                    this.remoteStreams.remove(stream.remoteId(), stream);
+                }
+                last = !this.closed && this.localStreams.isEmpty();
+                if (last) {
+                    this.closed = true;
+                    MultiplexedLink.links.remove(this.key, this);
+                }
+            }
+        }
+
+        if (last) {
+            this.shutdown();
+        } else if (this.isConnected()) {
+            final ByteBuffer message = ByteBuffer.allocate(5);
+            message.put(MultiplexedLink.CLOSE).putInt(stream.localId());
+            this.sendControl(message);
+        }
+    }
+
+    /**
+     * Close the link from an event loop thread. This is used when sending or receiving fails, which may happen while
+     * the lock of a stream is held.
+     */
+    private void closeLater() {
+        EventLoop.getInstance().nextWorker().execute(this::close);
+    }
+
+    /**
+     * Close the link, and all its streams
+     */
+    void close() {
+        synchronized (MultiplexedLink.class) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            MultiplexedLink.links.remove(this.key, this);
+        }
+        this.shutdown();
+    }
+
+    private void shutdown() {
+        MultiplexedLink.log.debug("Closing multiplexed link {}", this.key);
+        this.socket.close();
+
+        final List<MultiplexedStream> streams;
+        synchronized (this) {
+            streams = new ArrayList<>(this.localStreams.values());
+            this.localStreams.clear();
+            this.remoteStreams.clear();
+            this.pendingOpens.clear();
+        }
+        streams.forEach(MultiplexedStream::close);
+        this.heartBeatStream.close();
+    }
+
+    /**
+     * The Demultiplexer receives all frames of the link from the event loop, and hands them to the right stream.
+     */
+    private final class Demultiplexer implements TCPSocket.FrameListener {
+
+        Demultiplexer() {
+            // Private constructor for MultiplexedLink
+        }
+
+        @Override
+        public void onFrame(final ByteBuffer frame) {
+            if (frame.remaining() < 4) {
+                BufferPool.getInstance().release(frame);
+                return;
+            }
+
+            final int tag = frame.getInt();
+            if (tag == MultiplexedLink.CONTROL_STREAM) {
+                try {
+                    MultiplexedLink.this.handleControl(frame);
+                } catch (final BufferUnderflowException e) {
+                    MultiplexedLink.log.warn("Invalid control message on link {}", MultiplexedLink.this.key);
+                } finally {
+                    BufferPool.getInstance().release(frame);
+                }
+                return;
+            }
+
+            final MultiplexedStream stream = tag == MultiplexedLink.HEARTBEAT_STREAM
+                    ? MultiplexedLink.this.heartBeatStream
+                    : MultiplexedLink.this.remoteStreams.get(tag);
+            if (stream == null) {
+                // A frame of a stream that was closed in the meantime
+                BufferPool.getInstance().release(frame);
+            } else {
+                stream.deliver(frame);
+            }
+        }
+
+        @Override
+        public void onClose() {
+            MultiplexedLink.this.closeLater();
+        }
+
+    }
+
+}
@@ -0,0 +1,335 @@
+/*-
+ * #%L
+ * dEF-Pi commons Library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.commons;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NotYetConnectedException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A MultiplexedStream is a single logical stream of a {@link MultiplexedLink}. It behaves as a {@link TCPSocket} that
+ * can only be read asynchronously, but instead of a socket of its own it sends and receives its frames through the
+ * link.
+ * <p>
+ * Frames that are received are delivered to the listener by the event loop thread of the link. While reading is paused,
+ * or before reading has started, they are kept in the stream; the remote side can never send more than the window
+ * without receiving credit. Likewise, frames that are sent while the remote side has not returned enough credit are
+ * copied, and sent as soon as credit is returned.
+ * <p>
+ * The link never takes the lock of a stream while holding its own lock, so the stream may call into the link while
+ * holding its lock. Waiting for the stream to be connected uses a separate lock.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+final class MultiplexedStream extends TCPSocket {
+
+    private static final Logger log = LoggerFactory.getLogger(MultiplexedStream.class);
+
+    private final MultiplexedLink link;
+    private final int localId;
+    private final String name;
+    private final int window;
+    private final BufferPool pool = BufferPool.getInstance();
+
+    private final Queue<ByteBuffer> inbound = new ArrayDeque<>();
+    private final Queue<ByteBuffer> outbound = new ArrayDeque<>();
+
+    private final Object connectLock = new Object();
+    private volatile int remoteId;
+    private volatile boolean bound;
+    private int sendCredit;
+    private int handledFrames;
+    private FrameListener listener;
+    private boolean readPaused;
+    private volatile boolean closed;
+
+    /**
+     * @param link The link that carries this stream
+     * @param localId The id of this stream on this side of the link
+     * @param name The name of the stream, to match it with the stream of the remote side
+     * @param window The number of frames the remote side may send before credit is returned, or 0 when this stream
+     *            has no flow control
+     */
+    MultiplexedStream(final MultiplexedLink link, final int localId, final String name, final int window) {
+        this.link = link;
+        this.localId = localId;
+        this.name = name;
+        this.window = window;
+    }
+
+    /**
+     * @return The link that carries this stream
+     */
+    MultiplexedLink link() {
+        return this.link;
+    }
+
+    /**
+     * @return The id of this stream on this side of the link
+     */
+    int localId() {
+        return this.localId;
+    }
+
+    /**
+     * @return The name of the stream
+     */
+    String name() {
+        return this.name;
+    }
+
+    /**
+     * @return The id of this stream on the remote side of the link, only valid when the stream is bound
+     */
+    int remoteId() {
+        return this.remoteId;
+    }
+
+    /**
+     * @return Whether the remote side has opened this stream
+     */
+    boolean isBound() {
+        return this.bound;
+    }
+
+    /**
+     * Connect this stream to the stream of the remote side.
+     *
+     * @param id The id of the stream on the remote side of the link
+     * @param credit The number of frames the remote side allows to be sent before it returns credit
+     */
+    void bind(final int id, final int credit) {
+        // No frames are sent or credited before the stream is bound, so the credit is safely published
+        this.sendCredit = credit;
+        this.remoteId = id;
+        this.bound = true;
+        synchronized (this.connectLock) {
+            this.connectLock.notifyAll();
+        }
+    }
+
+    @Override
+    public boolean isConnected() {
+        return this.isBound() && !this.closed && this.link.isConnected();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    @Override
+    public void waitUntilConnected() throws IOException {
+        this.waitUntilConnected(0);
+    }
+
+    @Override
+    public boolean waitUntilConnected(final long millis) throws IOException {
+        final long t_start = System.currentTimeMillis();
+        if (!this.link.connect(millis)) {
+            return false;
+        }
+
+        synchronized (this.connectLock) {
+            try {
+                while (!this.bound && !this.closed) {
+                    if (millis == 0) {
+                        this.connectLock.wait();
+                    } else {
+                        final long timeLeft = millis - (System.currentTimeMillis() - t_start);
+                        if (timeLeft <= 0) {
+                            return false;
+                        }
+                        this.connectLock.wait(timeLeft);
+                    }
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for stream " + this.name);
+            }
+
+            if (this.closed) {
+                throw new ClosedChannelException();
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public synchronized void startReading(final FrameListener frameListener) throws IOException {
+        if (this.listener != null) {
+            throw new IllegalStateException("Socket is already being read asynchronously");
+        } else if (this.closed) {
+            throw new ClosedChannelException();
+        } else if (!this.bound) {
+            throw new NotYetConnectedException();
+        }
+        this.listener = frameListener;
+        this.drain();
+    }
+
+    @Override
+    public synchronized void pauseReading() {
+        this.readPaused = true;
+    }
+
+    @Override
+    public synchronized void resumeReading() {
+        this.readPaused = false;
+        this.drain();
+    }
+
+    @Override
+    public byte[] read(final long timeout) throws IOException {
+        throw new IllegalStateException("Streams of a multiplexed link can only be read asynchronously");
+    }
+
+    /**
+     * Called by the link for every frame of this stream that is received.
+     *
+     * @param frame The received frame, from the {@link BufferPool}
+     */
+    synchronized void deliver(final ByteBuffer frame) {
+        if (this.closed) {
+            this.pool.release(frame);
+            return;
+        }
+        this.inbound.add(frame);
+        this.drain();
+    }
+
+    /**
+     * Give as many frames as possible to the listener, and return credit to the remote side for the frames that were
+     * handled. Must be called while holding the lock of this stream.
+     */
+    private void drain() {
+        while (!this.readPaused && !this.closed && (this.listener != null) && !this.inbound.isEmpty()) {
+            final ByteBuffer frame = this.inbound.poll();
+            try {
+                this.listener.onFrame(frame);
+            } catch (final Exception e) {
+                MultiplexedStream.log.error("Exception while handling frame: {}", e.getMessage());
+                MultiplexedStream.log.trace(e.getMessage(), e);
+            }
+            this.handledFrames++;
+        }
+
+        // Return credit in batches, long before the remote side runs out
+        if ((this.window > 0) && !this.closed && (this.handledFrames >= Math.max(1, this.window / 2))) {
+            this.link.sendCredit(this.remoteId, this.handledFrames);
+            this.handledFrames = 0;
+        }
+    }
+
+    /**
+     * Called by the link when the remote side has handled frames of this stream, and any frames that were held back
+     * may be sent.
+     *
+     * @param frames The number of frames that may be sent in addition to the current credit
+     */
+    synchronized void grantCredit(final int frames) {
+        this.sendCredit += frames;
+        try {
+            while ((this.sendCredit > 0) && !this.outbound.isEmpty() && !this.closed) {
+                final ByteBuffer frame = this.outbound.poll();
+                this.sendCredit--;
+                try {
+                    this.link.sendData(this.localId, frame);
+                } finally {
+                    this.pool.release(frame);
+                }
+            }
+        } catch (final IOException e) {
+            MultiplexedStream.log.debug("Unable to send held back frames of stream {}: {}", this.name, e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void send(final ByteBuffer data) throws IOException {
+        if (this.closed) {
+            throw new ClosedChannelException();
+        } else if (!this.bound) {
+            throw new NotYetConnectedException();
+        }
+
+        if (this.window == 0) {
+            this.link.sendData(this.localId, data);
+        } else if (this.outbound.isEmpty() && (this.sendCredit > 0)) {
+            this.sendCredit--;
+            this.link.sendData(this.localId, data);
+        } else {
+            final ByteBuffer copy = this.pool.acquire(data.remaining());
+            copy.put(data);
+            ((Buffer) copy).flip();
+            this.outbound.add(copy);
+        }
+    }
+
+    @Override
+    public void send(final ByteBuffer[] data, final int offset, final int length) throws IOException {
+        for (int i = offset; i < (offset + length); i++) {
+            this.send(data[i]);
+        }
+    }
+
+    @Override
+    public void close() {
+        final FrameListener closedListener;
+        final List<ByteBuffer> buffers = new ArrayList<>();
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            closedListener = this.listener;
+            buffers.addAll(this.inbound);
+            buffers.addAll(this.outbound);
+            this.inbound.clear();
+            this.outbound.clear();
+        }
+        synchronized (this.connectLock) {
+            this.connectLock.notifyAll();
+        }
+
+        buffers.forEach(this.pool::release);
+        this.link.streamClosed(this);
+
+        if (closedListener != null) {
+            try {
+                closedListener.onClose();
+            } catch (final Exception e) {
+                MultiplexedStream.log.error("Exception while handling close: {}", e.getMessage());
+                MultiplexedStream.log.trace(e.getMessage(), e);
+            }
+        }
+    }
+
+}
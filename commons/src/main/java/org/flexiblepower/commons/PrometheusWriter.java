@@ -0,0 +1,142 @@
+/*-
+ * #%L
+ * dEF-Pi commons Library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.commons;
+
+import java.io.IOException;
+
+/**
+ * The PrometheusWriter writes metrics in the Prometheus text exposition format. Every metric family starts with a call
+ * to {@link #family(String, String, String)}, followed by the samples of that family. Labels are given as pairs of a
+ * name and a value; the values are escaped, the names must be valid label names.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+public final class PrometheusWriter {
+
+    /**
+     * The content type of the Prometheus text exposition format
+     */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final Appendable out;
+
+    /**
+     * @param out The destination to write to
+     */
+    public PrometheusWriter(final Appendable out) {
+        this.out = out;
+    }
+
+    /**
+     * Write the help text and type of a metric family
+     *
+     * @param name The name of the metric family
+     * @param type The type of the metric family, e.g. "counter", "gauge" or "summary"
+     * @param help The help text, which must not contain line breaks
+     * @return This writer
+     * @throws IOException When writing fails
+     */
+    public PrometheusWriter family(final String name, final String type, final String help) throws IOException {
+        this.out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        this.out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        return this;
+    }
+
+    /**
+     * @param name The name of the sample
+     * @param value The value of the sample
+     * @param labels The names and values of the labels, alternately
+     * @return This writer
+     * @throws IOException When writing fails
+     */
+    public PrometheusWriter sample(final String name, final long value, final String... labels) throws IOException {
+        return this.sample(name, Long.toString(value), labels);
+    }
+
+    /**
+     * @param name The name of the sample
+     * @param value The value of the sample
+     * @param labels The names and values of the labels, alternately
+     * @return This writer
+     * @throws IOException When writing fails
+     */
+    public PrometheusWriter sample(final String name, final double value, final String... labels) throws IOException {
+        return this.sample(name, Double.toString(value), labels);
+    }
+
+    /**
+     * Write the count and the sum of a summary that measures durations. The sum is written in seconds.
+     *
+     * @param name The name of the summary
+     * @param count The number of observations
+     * @param totalNanos The sum of all observations, in nanoseconds
+     * @param labels The names and values of the labels, alternately
+     * @return This writer
+     * @throws IOException When writing fails
+     */
+    public PrometheusWriter summary(final String name, final long count, final long totalNanos, final String... labels)
+            throws IOException {
+        this.sample(name + "_count", count, labels);
+        return this.sample(name + "_sum", totalNanos / PrometheusWriter.NANOS_PER_SECOND, labels);
+    }
+
+    private PrometheusWriter sample(final String name, final String value, final String... labels)
+            throws IOException {
+        if ((labels.length % 2) != 0) {
+            throw new IllegalArgumentException("Labels must be pairs of a name and a value");
+        }
+        this.out.append(name);
+        if (labels.length > 0) {
+            this.out.append('{');
+            for (int i = 0; i < labels.length; i += 2) {
+                if (i > 0) {
+                    this.out.append(',');
+                }
+                this.out.append(labels[i]).append("=\"");
+                this.escape(labels[i + 1]);
+                this.out.append('"');
+            }
+            this.out.append('}');
+        }
+        this.out.append(' ').append(value).append('\n');
+        return this;
+    }
+
+    private void escape(final String label) throws IOException {
+        if (label == null) {
+            return;
+        }
+        for (int i = 0; i < label.length(); i++) {
+            final char c = label.charAt(i);
+            if (c == '\n') {
+                this.out.append("\\n");
+            } else {
+                if ((c == '\\') || (c == '"')) {
+                    this.out.append('\\');
+                }
+                this.out.append(c);
+            }
+        }
+    }
+
+}
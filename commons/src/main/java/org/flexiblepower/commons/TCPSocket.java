@@ -22,13 +22,17 @@ package org.flexiblepower.commons;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.NotYetConnectedException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.UnresolvedAddressException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,6 +45,11 @@ import org.slf4j.LoggerFactory;
  * TCPSockets are meant as disposable, they will function as long as the socket is alive, but when an IOException occurs
  * that is non-recoverable (i.e a remote hangup, end-of-stream) the socket is closed. The only iterative attempts to
  * connect the socket occur when initiating the connection, for example when calling {@linkplain #waitUntilConnected()}.
+ * <p>
+ * Instead of blocking on {@linkplain #read()}, a connected socket may also hand its frames to a {@link FrameListener}
+ * by calling {@linkplain #startReading(FrameListener)}. In that case a small, process-wide pool of selector threads
+ * reads and writes for all sockets, so no thread needs to be parked per socket. The frames are then handed over in
+ * buffers from the {@link BufferPool}, so that no memory needs to be allocated per message.
  *
  * @author Coen van Leeuwen
  * @version 0.3
@@ -54,15 +63,59 @@ public class TCPSocket implements Closeable {
     protected static final Logger log = LoggerFactory.getLogger(TCPSocket.class);
 
     private static final int CONNECT_ON_SEND_TIMEOUT = 10;
-    private static final int EOM = 0xFF;
+
+    /**
+     * The END-OF-MESSAGE byte that is sent after every frame
+     */
+    static final int EOM = 0xFF;
 
     private final SocketConnector connector;
+    private final FrameCodec codec = new FrameCodec();
+    private final BufferPool pool = BufferPool.getInstance();
+    private final Object readLock = new Object();
+    private final Object writeLock = new Object();
+    private final ByteBuffer[] coalescedFrames = new ByteBuffer[1];
+
+    /**
+     * The buffer that holds the data that was read by {@linkplain #read(long)} but not yet decoded
+     */
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(FrameCodec.READ_BUFFER_SIZE);
 
     /**
      * The backing java.net.Socket that this class wraps around
      */
     protected Socket socket;
 
+    /**
+     * The non-blocking channel that serves this socket after {@linkplain #startReading(FrameListener)} was called
+     */
+    private volatile FrameChannel frameChannel;
+
+    /**
+     * A FrameListener receives the frames of a socket that is read asynchronously. All callbacks are invoked from an
+     * event loop thread, and should therefore return quickly and never block.
+     *
+     * @see TCPSocket#startReading(FrameListener)
+     */
+    public interface FrameListener {
+
+        /**
+         * Called for every complete frame that is received through the socket. The buffer is obtained from the
+         * {@link BufferPool}, and from now on owned by the listener. It should be released using
+         * {@linkplain BufferPool#release(ByteBuffer)} as soon as the data is no longer needed.
+         *
+         * @param frame the payload of the frame that was read from the socket, from its position up to its limit
+         */
+        void onFrame(ByteBuffer frame);
+
+        /**
+         * Called exactly once when the socket is closed, either because {@linkplain TCPSocket#close()} was called, or
+         * because the end-of-stream was reached or an exception occurred while reading or sending.
+         */
+        void onClose();
+
+    }
+
     /**
      * Builder function to create a new TCP socket as a client, connecting to a Server socket
      *
@@ -86,12 +139,22 @@ public class TCPSocket implements Closeable {
         return new TCPSocket(port);
     }
 
+    /**
+     * Constructor for sockets that are not backed by a socket of their own, such as the streams of a
+     * {@link MultiplexedLink}. These must override all public functions that use the backing socket.
+     */
+    TCPSocket() {
+        this.connector = null;
+    }
+
     private TCPSocket(final int port) {
         this.connector = new ServerSocketConnector(port);
+        ((Buffer) this.readBuffer).limit(0);
     }
 
     private TCPSocket(final String address, final int port) {
         this.connector = new ClientSocketConnector(address, port);
+        ((Buffer) this.readBuffer).limit(0);
     }
 
     /**
@@ -155,6 +218,66 @@ public class TCPSocket implements Closeable {
         }
     }
 
+    /**
+     * Start reading frames asynchronously. From this moment on the socket is served by the process-wide event loop,
+     * and every received frame is given to the listener. It is not possible to use {@linkplain #read()} after this
+     * function has been called, while {@linkplain #send(byte[])} will no longer block on a slow receiver.
+     * <p>
+     * The socket must be connected before calling this function, for instance by calling
+     * {@linkplain #waitUntilConnected()}.
+     *
+     * @param listener The listener that will receive all frames, and is notified when the socket is closed
+     * @throws NotYetConnectedException when the socket is not yet connected
+     * @throws ClosedChannelException when this socket has been closed
+     * @throws IOException When the underlying channel could not be prepared for non-blocking operation
+     */
+    public synchronized void startReading(final FrameListener listener) throws IOException {
+        if (this.frameChannel != null) {
+            throw new IllegalStateException("Socket is already being read asynchronously");
+        } else if (this.isClosed()) {
+            throw new ClosedChannelException();
+        } else if (!this.isConnected()) {
+            throw new NotYetConnectedException();
+        }
+
+        synchronized (this.readLock) {
+            synchronized (this.writeLock) {
+                // Any data that was already read will be decoded by the channel
+                this.frameChannel = new FrameChannel(this.socket.getChannel(), this.codec, this.readBuffer, listener);
+            }
+        }
+    }
+
+    /**
+     * Temporarily stop reading from a socket that is read asynchronously. No more frames are given to the listener
+     * after the one that is currently being handled, until {@linkplain #resumeReading()} is called. This allows a
+     * listener that cannot keep up to let TCP flow control slow down the remote side.
+     *
+     * @throws IllegalStateException when the socket is not read asynchronously
+     * @see #startReading(FrameListener)
+     */
+    public void pauseReading() {
+        this.asyncChannel().pauseReading();
+    }
+
+    /**
+     * Continue reading from a socket after {@linkplain #pauseReading()} was called. Frames that were received in the
+     * meantime are delivered first.
+     *
+     * @throws IllegalStateException when the socket is not read asynchronously
+     */
+    public void resumeReading() {
+        this.asyncChannel().resumeReading();
+    }
+
+    private FrameChannel asyncChannel() {
+        final FrameChannel channel = this.frameChannel;
+        if (channel == null) {
+            throw new IllegalStateException("Socket is not being read asynchronously");
+        }
+        return channel;
+    }
+
     /**
      * Try to read data from the socket, blocking forever until the data is read, or an exception occurs.
      * <p>
@@ -189,6 +312,8 @@ public class TCPSocket implements Closeable {
     public byte[] read(final long timeout) throws IOException {
         if (this.isClosed()) {
             throw new ClosedChannelException();
+        } else if (this.frameChannel != null) {
+            throw new IllegalStateException("Unable to read from a socket that is read asynchronously");
         }
 
         final long t_start = System.currentTimeMillis();
@@ -201,7 +326,7 @@ public class TCPSocket implements Closeable {
             }
         }
 
-        synchronized (this.socket.getInputStream()) {
+        synchronized (this.readLock) {
             if (timeout == 0) {
                 this.socket.setSoTimeout(0);
             } else {
@@ -209,39 +334,27 @@ public class TCPSocket implements Closeable {
                 this.socket.setSoTimeout(newTimeout);
             }
 
-            // Read 4 bytes that will tell how long the message is
             try {
                 final InputStream is = this.socket.getInputStream();
-                final int len = ByteBuffer
-                        .wrap(new byte[] {(byte) is.read(), (byte) is.read(), (byte) is.read(), (byte) is.read()})
-                        .getInt();
-
-                if (len < 0) {
-                    this.close();
-                    throw new IOException("Reached end of stream");
-                }
-                final byte[] data = new byte[len];
-                int read = 0;
-                while (read < len) {
-                    read += is.read(data, read, len - read);
-                }
-                if (read != len) {
-                    TCPSocket.log.warn("Expected {} bytes, instead received {}", len, read);
-                }
+                while (true) {
+                    final ByteBuffer frame = this.decodeFrame();
+                    if (frame != null) {
+                        final byte[] data = new byte[frame.remaining()];
+                        frame.get(data);
+                        this.pool.release(frame);
+                        return data;
+                    }
 
-                int eof = is.read();
-                if (eof != TCPSocket.EOM) {
-                    TCPSocket.log.warn("Expected EOM, instead read {}, skipping stream", eof);
-                    while (eof != TCPSocket.EOM) {
-                        eof = is.read();
-                        if (eof < 0) {
-                            this.close();
-                            throw new IOException("Reached end of stream");
-                        }
+                    // All buffered data is decoded, read as much as is available at once
+                    ((Buffer) this.readBuffer).clear();
+                    ((Buffer) this.readBuffer).limit(0);
+                    final int read = is.read(this.readBuffer.array(), 0, this.readBuffer.capacity());
+                    if (read < 0) {
+                        this.close();
+                        throw new IOException("Reached end of stream");
                     }
+                    ((Buffer) this.readBuffer).limit(read);
                 }
-
-                return data;
             } catch (final SocketTimeoutException e) {
                 TCPSocket.log.trace("Read timeout while waiting for data");
                 return null;
@@ -249,6 +362,15 @@ public class TCPSocket implements Closeable {
         }
     }
 
+    private ByteBuffer decodeFrame() throws IOException {
+        try {
+            return this.codec.decode(this.readBuffer);
+        } catch (final IOException e) {
+            this.close();
+            throw e;
+        }
+    }
+
     /**
      * Try to send data to the socket.
      * <p>
@@ -263,30 +385,121 @@ public class TCPSocket implements Closeable {
      * @throws IOException When the underlying socket is closed before the data is sent, or while waiting for the data
      */
     public void send(final byte[] data) throws IOException {
+        this.send(ByteBuffer.wrap(data));
+    }
+
+    /**
+     * Try to send the remaining data of a buffer to the socket. The header, the data and the END-OF-MESSAGE byte are
+     * written at once, without copying the data. The buffer may be reused as soon as this function returns.
+     * <p>
+     * It is not necessary to use {@linkplain #waitUntilConnected()} before calling this function; but it is
+     * recommended.
+     * If the socket was not connected before, it will be attempted to connect, but with a very brief timeout, which
+     * will only succeed if the remote socket is already attempting to connect.
+     *
+     * @param data The buffer containing the data to send through the socket, from its position up to its limit
+     * @throws NotYetConnectedException when the socket is not yet connected, and fails to connect immediately
+     * @throws ClosedChannelException when this socket has been closed
+     * @throws IOException When the underlying socket is closed before the data is sent, or while waiting for the data
+     */
+    public void send(final ByteBuffer data) throws IOException {
+        this.ensureConnectedForSend();
+
+        synchronized (this.writeLock) {
+            this.write(this.codec.encode(data));
+        }
+    }
+
+    /**
+     * Try to send the remaining data of multiple buffers to the socket, as separate frames. The frames are coalesced
+     * into a single buffer, which is written at once, so that a burst of small messages does not cost a write for each
+     * message. The buffers may be reused as soon as this function returns.
+     *
+     * @param data The array of buffers containing the data to send, each from its position up to its limit
+     * @param offset The offset in the array of the first buffer to send
+     * @param length The number of buffers to send
+     * @throws NotYetConnectedException when the socket is not yet connected, and fails to connect immediately
+     * @throws ClosedChannelException when this socket has been closed
+     * @throws IOException When the underlying socket is closed before the data is sent, or while waiting for the data
+     * @see #send(ByteBuffer)
+     */
+    public void send(final ByteBuffer[] data, final int offset, final int length) throws IOException {
+        this.ensureConnectedForSend();
+
+        int size = 0;
+        for (int i = offset; i < (offset + length); i++) {
+            size += data[i].remaining() + FrameCodec.FRAME_OVERHEAD;
+        }
+
+        final ByteBuffer frames = this.pool.acquire(size);
+        try {
+            for (int i = offset; i < (offset + length); i++) {
+                FrameCodec.encodeInto(data[i], frames);
+            }
+            ((Buffer) frames).flip();
+
+            synchronized (this.writeLock) {
+                this.coalescedFrames[0] = frames;
+                this.write(this.coalescedFrames);
+            }
+        } finally {
+            this.pool.release(frames);
+        }
+    }
+
+    /**
+     * Send data as a frame that starts with an integer tag, without copying the data. This is used by the
+     * {@link MultiplexedLink} to tell the frames of different streams apart.
+     *
+     * @param tag The tag to put in front of the data
+     * @param data The buffer containing the data to send, from its position up to its limit
+     * @throws IOException When the underlying socket is closed before the data is sent, or while waiting for the data
+     * @see #send(ByteBuffer)
+     */
+    void sendTagged(final int tag, final ByteBuffer data) throws IOException {
+        this.ensureConnectedForSend();
+
+        synchronized (this.writeLock) {
+            this.write(this.codec.encodeTagged(tag, data));
+        }
+    }
+
+    private void ensureConnectedForSend() throws IOException {
         if (!this.waitUntilConnected(TCPSocket.CONNECT_ON_SEND_TIMEOUT)) {
             throw new NotYetConnectedException();
         } else if (this.isClosed()) {
             throw new ClosedChannelException();
         }
+    }
 
-        synchronized (this.socket.getOutputStream()) {
-            try {
-                // We should not close this stream, as it will also close the socket
-                @SuppressWarnings("resource")
-                final OutputStream os = this.socket.getOutputStream();
-                os.write(ByteBuffer.allocate(4).putInt(data.length).array());
-                os.write(data);
-                os.write(TCPSocket.EOM);
-                os.flush();
-            } catch (final IOException e) {
-                this.close();
-                throw e;
+    /**
+     * Write the encoded frames to the socket, either through the event loop or directly. The caller must hold the write
+     * lock.
+     */
+    private void write(final ByteBuffer[] data) throws IOException {
+        try {
+            final FrameChannel channel = this.frameChannel;
+            if (channel != null) {
+                channel.write(data);
+            } else {
+                final SocketChannel out = this.socket.getChannel();
+                while (FrameCodec.remaining(data) > 0) {
+                    out.write(data);
+                }
             }
+        } catch (final IOException e) {
+            this.close();
+            throw e;
         }
     }
 
     @Override
     public void close() {
+        final FrameChannel channel = this.frameChannel;
+        if (channel != null) {
+            channel.close();
+        }
+
         try {
             this.connector.close();
         } catch (final IOException e) {
@@ -365,7 +578,7 @@ public class TCPSocket implements Closeable {
          *
          * @param address the host address to connect to
          * @param port the remote port to connect to
-         * @see java.net.Socket#Socket(String, int)
+         * @see java.nio.channels.SocketChannel#open(java.net.SocketAddress)
          */
         ClientSocketConnector(final String address, final int port) {
             this.targetAddress = address;
@@ -377,10 +590,12 @@ public class TCPSocket implements Closeable {
             final long t_start = System.currentTimeMillis();
             while (this.timeLeft(t_start, millis) > 0) {
                 try {
-                    final Socket client = new Socket(this.targetAddress, this.targetPort);
+                    final Socket client = SocketChannel
+                            .open(new InetSocketAddress(this.targetAddress, this.targetPort))
+                            .socket();
                     TCPSocket.log.info("Initialized client socket to {}", client.getRemoteSocketAddress());
                     return client;
-                } catch (final IOException e) {
+                } catch (final IOException | UnresolvedAddressException e) {
                     TCPSocket.log.trace("Unable to connect ({}), retrying...", e.getMessage());
                     this.increaseBackOffAndWait(this.timeLeft(t_start, millis));
                 }
@@ -399,12 +614,13 @@ public class TCPSocket implements Closeable {
 
         private final int serverPort;
         private ServerSocket serverSocket;
+        private boolean closed;
 
         /**
          * Creates a SocketConnector that will initiate a server socket, binding to the provided port
          *
          * @param port the local port to bind to
-         * @see java.net.ServerSocket#ServerSocket(int)
+         * @see java.nio.channels.ServerSocketChannel#open()
          */
         ServerSocketConnector(final int port) {
             TCPSocket.log.info("Starting server socket at {}", port);
@@ -415,12 +631,23 @@ public class TCPSocket implements Closeable {
         private synchronized boolean bindServerSocket() {
             if (this.serverSocket != null) {
                 return true;
+            } else if (this.closed) {
+                // Never bind again after closing, or the port stays in use by a socket nobody will close
+                return false;
             }
 
             try {
                 TCPSocket.log.trace("Binding to port {}", this.serverPort);
-                this.serverSocket = new ServerSocket(this.serverPort);
-                this.serverSocket.setReuseAddress(true);
+                final ServerSocket server = ServerSocketChannel.open().socket();
+                try {
+                    // Must be set before binding, so a quick re-bind is not refused while the old port is in TIME_WAIT
+                    server.setReuseAddress(true);
+                    server.bind(new InetSocketAddress(this.serverPort));
+                } catch (final IOException e) {
+                    server.close();
+                    throw e;
+                }
+                this.serverSocket = server;
                 return true;
             } catch (final IOException e) {
                 TCPSocket.log.warn("Unable to open server socket at port {}: {}", this.serverPort, e.getMessage());
@@ -435,6 +662,9 @@ public class TCPSocket implements Closeable {
                 if (!this.bindServerSocket()) {
                     this.increaseBackOffAndWait(this.timeLeft(t_start, millis));
                 }
+                if (this.isClosed()) {
+                    throw new ClosedChannelException();
+                }
             }
 
             if (this.serverSocket == null) {
@@ -462,8 +692,13 @@ public class TCPSocket implements Closeable {
             }
         }
 
+        private synchronized boolean isClosed() {
+            return this.closed;
+        }
+
         @Override
-        public void close() throws IOException {
+        public synchronized void close() throws IOException {
+            this.closed = true;
             if (this.serverSocket != null) {
                 this.serverSocket.close();
             }
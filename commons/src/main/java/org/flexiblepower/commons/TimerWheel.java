@@ -0,0 +1,167 @@
+/*-
+ * #%L
+ * dEF-Pi commons Library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.commons;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A hashed timer wheel that holds items until their deadline has passed. Time is divided in ticks, and every item is
+ * put in the slot of the tick its deadline falls in, so scheduling and cancelling take constant time no matter how many
+ * items are waiting. Items with a deadline more than one rotation away share a slot with nearer ones, and stay there
+ * until the wheel reaches their own tick.
+ * <p>
+ * Items expire at the end of the tick their deadline falls in, so at most one tick late. The wheel is not thread safe,
+ * and does not have a thread of its own; it is advanced by calling {@link #advance(long)}.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ * @param <T> The type of items, which are compared by identity
+ */
+public final class TimerWheel<T> {
+
+    private final long tickMs;
+    private final long startMs;
+    private final List<Set<Timeout<T>>> slots;
+    private final int mask;
+    private final Map<T, Timeout<T>> timeouts = new IdentityHashMap<>();
+    private long currentTick;
+
+    private static final class Timeout<T> {
+
+        final T item;
+        final long tick;
+
+        Timeout(final T item, final long tick) {
+            this.item = item;
+            this.tick = tick;
+        }
+
+    }
+
+    /**
+     * @param tickMs The duration of a single tick in milliseconds
+     * @param numSlots The number of slots in the wheel, which is rounded up to a power of two
+     * @param nowMs The current time in milliseconds
+     */
+    public TimerWheel(final long tickMs, final int numSlots, final long nowMs) {
+        this.tickMs = tickMs;
+        this.startMs = nowMs;
+        final int size = Integer.highestOneBit(Math.max(1, numSlots - 1)) << 1;
+        this.slots = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            this.slots.add(new LinkedHashSet<>());
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Schedule an item to expire at its deadline. If it was already scheduled, the previous deadline is replaced.
+     *
+     * @param item The item to schedule
+     * @param deadlineMs The time in milliseconds at which the item expires
+     */
+    public void schedule(final T item, final long deadlineMs) {
+        this.cancel(item);
+        final long deadlineTick = Math.max(this.currentTick + 1,
+                ((deadlineMs - this.startMs) + this.tickMs - 1) / this.tickMs);
+        final Timeout<T> timeout = new Timeout<>(item, deadlineTick);
+        this.timeouts.put(item, timeout);
+        this.slots.get((int) (deadlineTick & this.mask)).add(timeout);
+    }
+
+    /**
+     * @param item The item to cancel
+     * @return Whether the item was scheduled
+     */
+    public boolean cancel(final T item) {
+        final Timeout<T> timeout = this.timeouts.remove(item);
+        if (timeout == null) {
+            return false;
+        }
+        this.slots.get((int) (timeout.tick & this.mask)).remove(timeout);
+        return true;
+    }
+
+    /**
+     * Advance the wheel to the current time, and remove the items of which the deadline has passed
+     *
+     * @param nowMs The current time in milliseconds
+     * @return The items that expired, in no particular order
+     */
+    public List<T> advance(final long nowMs) {
+        final long nowTick = (nowMs - this.startMs) / this.tickMs;
+        final List<T> expired = new ArrayList<>();
+        if (nowTick <= this.currentTick) {
+            return expired;
+        }
+
+        // After a long pause every slot is visited once, otherwise only the ones that passed
+        final long first = Math.max(this.currentTick + 1, (nowTick - this.slots.size()) + 1);
+        for (long tick = first; (tick <= nowTick) && !this.timeouts.isEmpty(); tick++) {
+            final Iterator<Timeout<T>> it = this.slots.get((int) (tick & this.mask)).iterator();
+            while (it.hasNext()) {
+                final Timeout<T> timeout = it.next();
+                if (timeout.tick <= nowTick) {
+                    it.remove();
+                    this.timeouts.remove(timeout.item);
+                    expired.add(timeout.item);
+                }
+            }
+        }
+        this.currentTick = nowTick;
+        return expired;
+    }
+
+    /**
+     * @return The time in milliseconds at which the current tick ends, and items may expire
+     */
+    public long nextTickMs() {
+        return this.startMs + ((this.currentTick + 1) * this.tickMs);
+    }
+
+    /**
+     * @param item The item to look for
+     * @return Whether the item is scheduled
+     */
+    public boolean contains(final T item) {
+        return this.timeouts.containsKey(item);
+    }
+
+    /**
+     * @return Whether no items are scheduled
+     */
+    public boolean isEmpty() {
+        return this.timeouts.isEmpty();
+    }
+
+    /**
+     * @return The number of items that are scheduled
+     */
+    public int size() {
+        return this.timeouts.size();
+    }
+
+}
@@ -0,0 +1,72 @@
+/*-
+ * #%L
+ * dEF-Pi commons Library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.proto;
+
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Message;
+
+/**
+ * RequestIds reads and writes the optional {@code requestId} field of the messages on the management channel between
+ * the orchestrator and a process. The orchestrator puts a unique id in every request, and the process copies it in the
+ * response, so several requests may be outstanding at the same time and the responses may arrive in any order.
+ * <p>
+ * Messages from a peer that does not know about request ids simply do not have the field, in which case the id is 0.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+public final class RequestIds {
+
+    /**
+     * The name of the field in the protobuf messages
+     */
+    private static final String FIELD_NAME = "requestId";
+
+    private RequestIds() {
+        // Utility class
+    }
+
+    /**
+     * @param message The message to get the request id of
+     * @return The request id of the message, or 0 if it does not have one
+     */
+    public static long get(final Message message) {
+        final FieldDescriptor field = message.getDescriptorForType().findFieldByName(RequestIds.FIELD_NAME);
+        if ((field == null) || !message.hasField(field)) {
+            return 0;
+        }
+        return (Long) message.getField(field);
+    }
+
+    /**
+     * @param message The message to add the request id to
+     * @param requestId The request id to add, if it is 0 the message is returned as it is
+     * @return A copy of the message with the request id, or the message itself if it cannot hold a request id
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Message> T with(final T message, final long requestId) {
+        final FieldDescriptor field = message.getDescriptorForType().findFieldByName(RequestIds.FIELD_NAME);
+        if ((field == null) || (requestId == 0)) {
+            return message;
+        }
+        return (T) message.toBuilder().setField(field, requestId).build();
+    }
+
+}
@@ -19,10 +19,17 @@
  */
 package org.flexiblepower.serializers;
 
+import java.nio.ByteBuffer;
+
 import org.flexiblepower.exceptions.SerializationException;
 
 /**
  * MessageSerializer
+ * <p>
+ * A connection serializes the messages it sends and deserializes the messages it receives on different threads, and
+ * several threads may send at the same time. Implementations must therefore allow {@link #serialize(Object)} and
+ * {@link #deserialize(byte[])} to be called concurrently, without the caller holding a lock. Message classes are added
+ * before the connection is used, but implementations must also allow that to happen concurrently.
  *
  * @version 0.1
  * @since May 18, 2017
@@ -77,6 +84,21 @@ public interface MessageSerializer<T> {
      */
     public T deserialize(byte[] data) throws SerializationException;
 
+    /**
+     * Deserialize the remaining data of a buffer to an object of Type T. The position of the buffer is not changed.
+     * Serializers that are able to read directly from a buffer should override this function, by default the data is
+     * copied to a byte array and given to {@link #deserialize(byte[])}.
+     *
+     * @param data the buffer containing the raw data, from its position up to its limit
+     * @return A proper deserialized object
+     * @throws SerializationException When an exception occurs during message (de)serialization
+     */
+    public default T deserialize(final ByteBuffer data) throws SerializationException {
+        final byte[] array = new byte[data.remaining()];
+        data.duplicate().get(array);
+        return this.deserialize(array);
+    }
+
     /**
      * Serialize a an object of Type T into a byte array of raw data. The exact class of the argument type will have to
      * be added using {@link #addMessageClass(Class)} before this function is called.
@@ -19,15 +19,21 @@
  */
 package org.flexiblepower.serializers;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
-import java.util.Arrays;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.flexiblepower.exceptions.SerializationException;
 
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
 import com.google.protobuf.Parser;
@@ -41,63 +47,263 @@ import com.google.protobuf.Parser;
  * encodes the length of the name of the byte array. The following bytes are the
  * String representing the name of the byte array. All data that follows is the
  * ProtoBuf encoded data.
+ * <p>
+ * The parser and the encoded name of every message class are resolved once, when the class is added. Received names
+ * are looked up in a perfect hash table directly from the received bytes, without decoding them to a String.
+ * <p>
+ * When both sides of a connection know the same set of message classes, the name may be replaced by a compact type
+ * id, see {@link #setCompactTypeIds(boolean)}. A compact message starts with a zero byte, followed by the varint
+ * encoded index of the message class in the alphabetically sorted list of registered classes. While compact type ids
+ * are enabled, both forms are accepted when deserializing.
+ * <p>
+ * Protobuf parsers are stateless and the lookup tables are never changed once they are published, so messages can be
+ * serialized and deserialized concurrently without locking.
  */
 public class ProtobufMessageSerializer implements MessageSerializer<Message> {
 
-    private final Map<String, Class<? extends Message>> messageTypes = new HashMap<>();
+    private static final byte COMPACT_MARKER = 0;
+    private static final int MAX_TABLE_SIZE = 1 << 16;
+
+    private final Map<Class<?>, MessageType> messageTypes = new HashMap<>();
     private final DescriptorType type = DescriptorType.PROTOBUF;
 
+    /**
+     * The lookup tables are rebuilt whenever a message class is added, and replaced at once
+     */
+    private volatile LookupTables tables = new LookupTables(Collections.emptyMap(),
+            new MessageType[0],
+            0,
+            new MessageType[0],
+            0);
+    private volatile boolean compactTypeIds;
+
     @Override
     public void addMessageClass(final Class<? extends Message> cls) {
         if (cls.getSimpleName().length() >= 128) {
             throw new IllegalArgumentException("The name of the message must be less than 128 characters");
         }
-        this.messageTypes.put(cls.getSimpleName(), cls);
+        synchronized (this.messageTypes) {
+            if (this.messageTypes.containsKey(cls)) {
+                return;
+            }
+            // The name identifies the type, so a class with the same name replaces the previous one
+            this.messageTypes.values().removeIf(t -> t.name.equals(cls.getSimpleName()));
+            this.messageTypes.put(cls, new MessageType(cls, ProtobufMessageSerializer.resolveParser(cls)));
+            this.rebuildTables();
+        }
+    }
+
+    /**
+     * Replace the message type name by a compact type id when serializing, and accept compact type ids when
+     * deserializing. This should only be enabled when the other side has registered exactly the same message classes,
+     * which is the case when both sides report the same {@link #getTypeTableHash()}.
+     *
+     * @param compact Whether to use compact type ids
+     */
+    public void setCompactTypeIds(final boolean compact) {
+        this.compactTypeIds = compact;
+    }
+
+    /**
+     * @return Whether compact type ids are used when serializing
+     */
+    public boolean isCompactTypeIds() {
+        return this.compactTypeIds;
+    }
+
+    /**
+     * @return A hash of the names of all registered message classes, which is equal for two serializers when they
+     *         assign the same compact type ids
+     */
+    public int getTypeTableHash() {
+        return this.tables.typeTableHash;
     }
 
     @Override
     public byte[] serialize(final Message msg) throws SerializationException {
-        if (msg != null) {
-            final String msgTypeName = msg.getClass().getSimpleName();
-            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            try {
-                baos.write((byte) msgTypeName.length());
-                baos.write(msgTypeName.getBytes());
-                baos.write(msg.toByteArray());
-                // no point closing a ByteArrayOutputStream
-            } catch (final IOException e) {
-                throw new SerializationException(e);
-            }
-            return baos.toByteArray();
+        if (msg == null) {
+            return null;
+        }
+
+        MessageType msgType = this.tables.byClass.get(msg.getClass());
+        if (msgType == null) {
+            // Not registered, so we cannot parse it, but we can still send it
+            msgType = new MessageType(msg.getClass(), null);
         }
-        return null;
+
+        final int bodySize = msg.getSerializedSize();
+        final byte[] header = this.compactTypeIds && (msgType.id >= 0) ? msgType.compactHeader : msgType.nameHeader;
+        final byte[] result = new byte[header.length + bodySize];
+        System.arraycopy(header, 0, result, 0, header.length);
+        final CodedOutputStream output = CodedOutputStream.newInstance(result, header.length, bodySize);
+        try {
+            msg.writeTo(output);
+            output.checkNoSpaceLeft();
+        } catch (final IOException | IllegalStateException e) {
+            throw new SerializationException(e);
+        }
+        return result;
     }
 
     @Override
     public Message deserialize(final byte[] data) throws SerializationException {
-        final int msgTypeNameLength = data[0];
-        if (msgTypeNameLength <= 0) {
-            throw new SerializationException("Received data is not a valid message: " + Arrays.toString(data));
+        return this.deserialize(ByteBuffer.wrap(data));
+    }
+
+    /**
+     * Deserialize the message directly from the buffer, without copying the data to an intermediate byte array.
+     */
+    @Override
+    public Message deserialize(final ByteBuffer data) throws SerializationException {
+        final int start = data.position();
+        if (!data.hasRemaining()) {
+            throw new SerializationException("Received data is not a valid message: " + data);
         }
-        if (data.length < (msgTypeNameLength + 2)) {
-            throw new SerializationException("Received data is not a valid message: " + Arrays.toString(data));
+
+        final int header = data.get(start);
+        final MessageType msgType;
+        final int bodyStart;
+        if ((header == ProtobufMessageSerializer.COMPACT_MARKER) && this.compactTypeIds) {
+            int id = 0;
+            int shift = 0;
+            int offset = start + 1;
+            byte b;
+            do {
+                if ((offset >= data.limit()) || (shift > 28)) {
+                    throw new SerializationException("Received data is not a valid message: " + data);
+                }
+                b = data.get(offset++);
+                id |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+
+            final MessageType[] table = this.tables.byId;
+            if ((id < 0) || (id >= table.length)) {
+                throw new SerializationException("Unable to find parser for message type id " + id);
+            }
+            msgType = table[id];
+            bodyStart = offset;
+        } else {
+            if ((header <= 0) || (data.remaining() < (header + 2))) {
+                throw new SerializationException("Received data is not a valid message: " + data);
+            }
+            msgType = this.lookup(data, start + 1, header);
+            bodyStart = start + 1 + header;
         }
-        final String msgTypeName = new String(data, 1, msgTypeNameLength);
+
+        final ByteBuffer body = data.duplicate();
+        ((Buffer) body).position(bodyStart);
         try {
-            if (!this.messageTypes.containsKey(msgTypeName)) {
-                throw new SerializationException("Unable to find parser for message type '" + msgTypeName
-                        + "', message type was not registered");
+            return msgType.parser.parseFrom(body);
+        } catch (final InvalidProtocolBufferException e) {
+            throw new SerializationException(
+                    "Unable to find parser for message type '" + msgType.name + "', problem during parsing");
+        }
+    }
+
+    /**
+     * Find a message type by its encoded name, without decoding the name
+     *
+     * @param data The buffer containing the name
+     * @param offset The absolute position of the first byte of the name
+     * @param length The number of bytes of the name
+     * @return The registered message type
+     * @throws SerializationException When the message type was not registered
+     */
+    private MessageType lookup(final ByteBuffer data, final int offset, final int length)
+            throws SerializationException {
+        final LookupTables current = this.tables;
+        final MessageType[] table = current.byName;
+        if (table.length > 0) {
+            final MessageType candidate = table[ProtobufMessageSerializer.hash(data, offset, length, current.nameSeed)
+                    & (table.length - 1)];
+            if ((candidate != null) && candidate.hasName(data, offset, length)) {
+                return candidate;
             }
-            final Parser<?> parser = (Parser<?>) this.messageTypes.get(msgTypeName).getMethod("parser").invoke(null);
-            return (Message) parser.parseFrom(data, 1 + msgTypeNameLength, data.length - 1 - msgTypeNameLength);
-        } catch (final InvalidProtocolBufferException
-                | IllegalAccessException
+        }
+
+        final byte[] name = new byte[length];
+        for (int i = 0; i < length; i++) {
+            name[i] = data.get(offset + i);
+        }
+        throw new SerializationException("Unable to find parser for message type '"
+                + new String(name, StandardCharsets.UTF_8) + "', message type was not registered");
+    }
+
+    /**
+     * Build the lookup tables for all registered message types. Must be called while holding the lock of the message
+     * types.
+     */
+    private void rebuildTables() {
+        final List<MessageType> types = new ArrayList<>(this.messageTypes.values());
+        types.sort(Comparator.comparing((final MessageType t) -> t.name).thenComparing(t -> t.cls.getName()));
+
+        // The compact ids are the indices in the sorted list, so both sides assign the same ids to the same classes
+        final MessageType[] byId = new MessageType[types.size()];
+        final StringBuilder names = new StringBuilder();
+        for (int i = 0; i < byId.length; i++) {
+            byId[i] = types.get(i).withId(i);
+            names.append(byId[i].name).append(',');
+        }
+        for (final MessageType t : byId) {
+            this.messageTypes.put(t.cls, t);
+        }
+
+        // Find a table size and seed for which no two names collide
+        final int minSize = Integer.highestOneBit(Math.max(1, byId.length * 2) - 1) << 1;
+        for (int size = minSize; size <= ProtobufMessageSerializer.MAX_TABLE_SIZE; size <<= 1) {
+            for (int seed = 0; seed < 64; seed++) {
+                final MessageType[] table = ProtobufMessageSerializer.buildNameTable(byId, size, seed);
+                if (table != null) {
+                    this.tables = new LookupTables(new HashMap<>(this.messageTypes),
+                            table,
+                            seed,
+                            byId,
+                            names.toString().hashCode());
+                    return;
+                }
+            }
+        }
+        throw new IllegalStateException("Unable to build lookup table for " + byId.length + " message types");
+    }
+
+    private static MessageType[] buildNameTable(final MessageType[] types, final int size, final int seed) {
+        final MessageType[] table = new MessageType[size];
+        for (final MessageType t : types) {
+            final int slot = ProtobufMessageSerializer
+                    .hash(ByteBuffer.wrap(t.nameHeader), 1, t.nameHeader.length - 1, seed) & (size - 1);
+            if (table[slot] != null) {
+                return null;
+            }
+            table[slot] = t;
+        }
+        return table;
+    }
+
+    /**
+     * FNV-1a hash of a range of bytes, with a seed to vary the outcome
+     */
+    private static int hash(final ByteBuffer data, final int offset, final int length, final int seed) {
+        int h = 0x811C9DC5 ^ (seed * 0x9E3779B9);
+        for (int i = offset; i < (offset + length); i++) {
+            h ^= data.get(i) & 0xFF;
+            h *= 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static Parser<? extends Message> resolveParser(final Class<? extends Message> cls) {
+        try {
+            @SuppressWarnings("unchecked")
+            final Parser<? extends Message> parser = (Parser<? extends Message>) cls.getMethod("parser").invoke(null);
+            return parser;
+        } catch (final IllegalAccessException
                 | IllegalArgumentException
                 | InvocationTargetException
                 | NoSuchMethodException
                 | SecurityException e) {
-            throw new SerializationException(
-                    "Unable to find parser for message type '" + msgTypeName + "', problem during parsing");
+            throw new IllegalArgumentException("Unable to find parser for message type '" + cls.getSimpleName() + "'",
+                    e);
         }
     }
 
@@ -106,4 +312,89 @@ public class ProtobufMessageSerializer implements MessageSerializer<Message> {
         return this.type;
     }
 
+    /**
+     * The tables to find a registered message type by its class, its name or its compact type id
+     */
+    private static final class LookupTables {
+
+        final Map<Class<?>, MessageType> byClass;
+        final MessageType[] byName;
+        final int nameSeed;
+        final MessageType[] byId;
+        final int typeTableHash;
+
+        LookupTables(final Map<Class<?>, MessageType> byClass,
+                final MessageType[] byName,
+                final int nameSeed,
+                final MessageType[] byId,
+                final int typeTableHash) {
+            this.byClass = byClass;
+            this.byName = byName;
+            this.nameSeed = nameSeed;
+            this.byId = byId;
+            this.typeTableHash = typeTableHash;
+        }
+
+    }
+
+    /**
+     * The cached information of a registered message class
+     */
+    private static final class MessageType {
+
+        final Class<?> cls;
+        final String name;
+        final Parser<? extends Message> parser;
+        final byte[] nameHeader;
+        final int id;
+        final byte[] compactHeader;
+
+        MessageType(final Class<?> cls, final Parser<? extends Message> parser) {
+            this(cls, parser, -1);
+        }
+
+        private MessageType(final Class<?> cls, final Parser<? extends Message> parser, final int id) {
+            this.cls = cls;
+            this.name = cls.getSimpleName();
+            this.parser = parser;
+            this.id = id;
+
+            final byte[] nameBytes = this.name.getBytes(StandardCharsets.UTF_8);
+            this.nameHeader = new byte[nameBytes.length + 1];
+            this.nameHeader[0] = (byte) nameBytes.length;
+            System.arraycopy(nameBytes, 0, this.nameHeader, 1, nameBytes.length);
+
+            if (id < 0) {
+                this.compactHeader = null;
+            } else {
+                this.compactHeader = new byte[1 + CodedOutputStream.computeUInt32SizeNoTag(id)];
+                this.compactHeader[0] = ProtobufMessageSerializer.COMPACT_MARKER;
+                try {
+                    CodedOutputStream.newInstance(this.compactHeader, 1, this.compactHeader.length - 1)
+                            .writeUInt32NoTag(id);
+                } catch (final IOException e) {
+                    // The array is exactly large enough
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        MessageType withId(final int newId) {
+            return newId == this.id ? this : new MessageType(this.cls, this.parser, newId);
+        }
+
+        boolean hasName(final ByteBuffer data, final int offset, final int length) {
+            if (length != (this.nameHeader.length - 1)) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (data.get(offset + i) != this.nameHeader[i + 1]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
 }
@@ -21,10 +21,22 @@ package org.flexiblepower.serializers;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.util.HashMap;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
 
 import org.flexiblepower.exceptions.SerializationException;
 
@@ -38,51 +50,74 @@ import jakarta.xml.bind.annotation.XmlType;
 
 /**
  * XSDMessageSerializer
+ * <p>
+ * Creating a JAXBContext is expensive, so contexts are shared by all serializers in the process that have registered
+ * the same set of message classes; in practice all connections of one interface. The JAXBContext is safe for
+ * concurrent use, but its marshallers and unmarshallers are not. Therefore every call takes a marshaller or
+ * unmarshaller from a pool of the context, and returns it when it is done, so messages can be serialized and
+ * deserialized by several threads at once.
+ * <p>
+ * Messages are marshalled and unmarshalled through StAX streams. Every pooled marshaller has its own output buffer,
+ * which is reused for the next message, and received messages are read directly from the buffer they arrive in.
  *
  * @version 0.1
  * @since May 18, 2017
  */
 public class XSDMessageSerializer implements MessageSerializer<Object> {
 
-    private final Map<String, Class<?>> classes = new HashMap<>();
+    /**
+     * Output buffers that grew larger than this, for an exceptionally large message, are not kept
+     */
+    private static final int MAX_POOLED_BUFFER = 1 << 20;
+
+    private static final Map<Set<Class<?>>, Context> contexts = new ConcurrentHashMap<>();
+    private static final XMLOutputFactory outputFactory = XMLOutputFactory.newInstance();
+    private static final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+
+    static {
+        // Messages come from other processes, never let them refer to other documents
+        XSDMessageSerializer.inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XSDMessageSerializer.inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private final Map<String, Class<?>> classes = new ConcurrentHashMap<>();
     private final DescriptorType type = DescriptorType.XSD;
-    private Marshaller marshaller;
-    private Unmarshaller unmarshaller;
+    private volatile Context context;
 
     @Override
     public void addMessageClass(final Class<?> cls) {
-        this.classes.put(cls.getName(), cls);
+        synchronized (this.classes) {
+            this.classes.put(cls.getName(), cls);
+            this.context = null;
+        }
     }
 
     @Override
     public byte[] serialize(final Object object) throws SerializationException {
-        if (!this.classes.values().contains(object.getClass())) {
+        final Class<?> cls = this.classes.get(object.getClass().getName());
+        if (!object.getClass().equals(cls)) {
             throw new IllegalArgumentException(
                     "Message type " + object.getClass().getName() + " is not registered with this MessageSerializer");
         }
         try {
-            final Class<?> cls = this.classes.get(object.getClass().getName());
             return this.serialize(object, cls);
-        } catch (final JAXBException e) {
+        } catch (JAXBException | XMLStreamException e) {
             throw new SerializationException(e);
         }
     }
 
     @Override
     public Object deserialize(final byte[] data) throws SerializationException {
-        if (this.unmarshaller == null) {
-            try {
-                this.init();
-            } catch (final JAXBException e) {
-                throw new SerializationException(e);
-            }
-        }
+        return this.deserialize(new ByteArrayInputStream(data));
+    }
 
-        try {
-            return this.unmarshaller.unmarshal(new ByteArrayInputStream(data));
-        } catch (final JAXBException e) {
-            throw new SerializationException("Was not able to deserialize: " + e.getMessage());
+    @Override
+    public Object deserialize(final ByteBuffer data) throws SerializationException {
+        if (!data.hasArray()) {
+            return MessageSerializer.super.deserialize(data);
         }
+        return this.deserialize(
+                new ByteArrayInputStream(data.array(), data.arrayOffset() + data.position(), data.remaining()));
     }
 
     @Override
@@ -90,33 +125,144 @@ public class XSDMessageSerializer implements MessageSerializer<Object> {
         return this.type;
     }
 
-    @SuppressWarnings("unchecked")
-    private <T> byte[] serialize(final Object object, final Class<T> cls) throws JAXBException {
-        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        if (this.marshaller == null) {
-            this.init();
+    private Object deserialize(final InputStream input) throws SerializationException {
+        final Context ctx;
+        final Unmarshaller unmarshaller;
+        try {
+            ctx = this.context();
+            unmarshaller = ctx.acquireUnmarshaller();
+        } catch (final JAXBException e) {
+            throw new SerializationException(e);
         }
 
+        try {
+            final XMLStreamReader reader = XSDMessageSerializer.inputFactory.createXMLStreamReader(input);
+            try {
+                final Object result = unmarshaller.unmarshal(reader);
+                ctx.unmarshallers.offer(unmarshaller);
+                return result;
+            } finally {
+                reader.close();
+            }
+        } catch (JAXBException | XMLStreamException e) {
+            // Do not return the unmarshaller to the pool, it may be left in an inconsistent state
+            throw new SerializationException("Was not able to deserialize: " + e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> byte[] serialize(final Object object, final Class<T> cls) throws JAXBException, XMLStreamException {
+        final Context ctx = this.context();
+        final PooledMarshaller pooled = ctx.acquireMarshaller();
+        pooled.buffer.reset();
+
+        final XMLStreamWriter writer = XSDMessageSerializer.outputFactory.createXMLStreamWriter(pooled.buffer, "UTF-8");
         if (cls.isAnnotationPresent(XmlRootElement.class)) {
-            this.marshaller.marshal(object, baos);
+            pooled.marshaller.marshal(object, writer);
         } else {
-            this.marshaller.marshal(
+            pooled.marshaller.marshal(
                     new JAXBElement<>(new QName("", cls.getAnnotation(XmlType.class).name()), cls, null, (T) object),
-                    baos);
+                    writer);
+        }
+        writer.close();
+
+        final byte[] result = pooled.buffer.toByteArray();
+        if (pooled.buffer.capacity() <= XSDMessageSerializer.MAX_POOLED_BUFFER) {
+            ctx.marshallers.offer(pooled);
         }
-        return baos.toByteArray();
+        return result;
     }
 
     /**
      * Lazy initialization to avoid having the constructor throw an exception
      *
-     * @throws JAXBException If there is any error while instantiating the marshaller or the unmarshaller
+     * @return The context for the message classes that are currently registered
+     * @throws JAXBException If there is any error while instantiating the JAXB context
      */
-    private void init() throws JAXBException {
-        final Class<?>[] array = new Class<?>[this.classes.size()];
-        final JAXBContext ctx = JAXBContext.newInstance(this.classes.values().toArray(array));
-        this.unmarshaller = ctx.createUnmarshaller();
-        this.marshaller = ctx.createMarshaller();
+    private Context context() throws JAXBException {
+        final Context current = this.context;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this.classes) {
+            if (this.context == null) {
+                this.context = XSDMessageSerializer.sharedContext(new HashSet<>(this.classes.values()));
+            }
+            return this.context;
+        }
+    }
+
+    /**
+     * Get the context for a set of message classes, which is only created if no other serializer has created it
+     * before. When two serializers create the same context at the same time, both use the first one that is stored.
+     *
+     * @param classSet The message classes that the context must be able to (un)marshal
+     * @return The shared context for this set of classes
+     * @throws JAXBException If there is any error while instantiating the JAXB context
+     */
+    private static Context sharedContext(final Set<Class<?>> classSet) throws JAXBException {
+        final Context existing = XSDMessageSerializer.contexts.get(classSet);
+        if (existing != null) {
+            return existing;
+        }
+        final Set<Class<?>> key = Collections.unmodifiableSet(classSet);
+        final Context created = new Context(JAXBContext.newInstance(key.toArray(new Class<?>[0])));
+        final Context previous = XSDMessageSerializer.contexts.putIfAbsent(key, created);
+        return previous == null ? created : previous;
+    }
+
+    /**
+     * A JAXB context with the marshallers and unmarshallers that were created from it and are not in use
+     */
+    private static final class Context {
+
+        final JAXBContext jaxbContext;
+        final Queue<PooledMarshaller> marshallers = new ConcurrentLinkedQueue<>();
+        final Queue<Unmarshaller> unmarshallers = new ConcurrentLinkedQueue<>();
+
+        Context(final JAXBContext jaxbContext) {
+            this.jaxbContext = jaxbContext;
+        }
+
+        PooledMarshaller acquireMarshaller() throws JAXBException {
+            final PooledMarshaller marshaller = this.marshallers.poll();
+            return marshaller == null ? new PooledMarshaller(this.jaxbContext.createMarshaller()) : marshaller;
+        }
+
+        Unmarshaller acquireUnmarshaller() throws JAXBException {
+            final Unmarshaller unmarshaller = this.unmarshallers.poll();
+            return unmarshaller == null ? this.jaxbContext.createUnmarshaller() : unmarshaller;
+        }
+
+    }
+
+    /**
+     * A marshaller with the buffer it writes to
+     */
+    private static final class PooledMarshaller {
+
+        final Marshaller marshaller;
+        final OutputBuffer buffer = new OutputBuffer();
+
+        PooledMarshaller(final Marshaller marshaller) {
+            this.marshaller = marshaller;
+        }
+
+    }
+
+    /**
+     * An output stream that tells how much memory it holds on to
+     */
+    private static final class OutputBuffer extends ByteArrayOutputStream {
+
+        OutputBuffer() {
+            super(1024);
+        }
+
+        synchronized int capacity() {
+            return this.buf.length;
+        }
+
     }
 
 }
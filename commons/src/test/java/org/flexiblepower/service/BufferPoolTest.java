@@ -0,0 +1,83 @@
+/*-
+ * #%L
+ * dEF-Pi commons Library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.nio.ByteBuffer;
+
+import org.flexiblepower.commons.BufferPool;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * BufferPoolTest
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+@SuppressWarnings({"static-method", "javadoc"})
+public class BufferPoolTest {
+
+    @Test
+    public void testReuse() {
+        final BufferPool pool = BufferPool.getInstance();
+        final ByteBuffer first = pool.acquire(100);
+        Assertions.assertEquals(100, first.limit());
+        Assertions.assertEquals(128, first.capacity());
+        first.put(0, (byte) 42);
+        pool.release(first);
+
+        // The memory is reused, but every acquire returns a new view
+        final ByteBuffer second = pool.acquire(128);
+        Assertions.assertNotSame(first, second);
+        Assertions.assertEquals(42, second.get(0));
+        pool.release(second);
+    }
+
+    @Test
+    public void testIgnoreForeignBuffers() {
+        final BufferPool pool = BufferPool.getInstance();
+        final ByteBuffer foreign = ByteBuffer.allocateDirect(256);
+        foreign.put(0, (byte) 42);
+        pool.release(foreign);
+
+        final ByteBuffer acquired = pool.acquire(256);
+        acquired.put(0, (byte) 0);
+        Assertions.assertEquals(42, foreign.get(0));
+        pool.release(acquired);
+    }
+
+    @Test
+    public void testIgnoreDoubleRelease() {
+        final BufferPool pool = BufferPool.getInstance();
+        final ByteBuffer buffer = pool.acquire(512);
+        pool.release(buffer);
+        pool.release(buffer);
+
+        // If the buffer was pooled twice, both would share the same memory
+        final ByteBuffer first = pool.acquire(512);
+        final ByteBuffer second = pool.acquire(512);
+        first.put(0, (byte) 1);
+        second.put(0, (byte) 2);
+        Assertions.assertEquals(1, first.get(0));
+        pool.release(first);
+        pool.release(second);
+    }
+
+}
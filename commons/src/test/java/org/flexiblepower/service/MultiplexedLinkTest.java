@@ -0,0 +1,181 @@
+/*-
+ * #%L
+ * dEF-Pi commons Library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.flexiblepower.commons.BufferPool;
+import org.flexiblepower.commons.MultiplexedLink;
+import org.flexiblepower.commons.TCPSocket;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * MultiplexedLinkTest
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+@SuppressWarnings({"static-method", "javadoc"})
+@Timeout(value = 5, unit = TimeUnit.SECONDS)
+public class MultiplexedLinkTest {
+
+    private static final int TEST_PORT = 5002;
+
+    private static final class QueueListener implements TCPSocket.FrameListener {
+
+        final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        final CountDownLatch closed = new CountDownLatch(1);
+
+        QueueListener() {
+            // Private class
+        }
+
+        @Override
+        public void onFrame(final ByteBuffer frame) {
+            final byte[] data = new byte[frame.remaining()];
+            frame.get(data);
+            BufferPool.getInstance().release(frame);
+            this.received.add(new String(data));
+        }
+
+        @Override
+        public void onClose() {
+            this.closed.countDown();
+        }
+
+    }
+
+    private static void connect(final TCPSocket... streams) throws Exception {
+        for (final TCPSocket stream : streams) {
+            // Streams on both sides are connected independently, so give the remote side some time
+            Assertions.assertTrue(stream.waitUntilConnected(1000));
+        }
+    }
+
+    @RepeatedTest(3)
+    public void doMultipleStreams() throws Exception {
+        try (
+                final TCPSocket serverA = MultiplexedLink.openStream("", MultiplexedLinkTest.TEST_PORT, "a");
+                final TCPSocket serverB = MultiplexedLink.openStream("", MultiplexedLinkTest.TEST_PORT, "b");
+                final TCPSocket clientB = MultiplexedLink.openStream("127.0.0.1", MultiplexedLinkTest.TEST_PORT, "b");
+                final TCPSocket clientA = MultiplexedLink
+                        .openStream("127.0.0.1", MultiplexedLinkTest.TEST_PORT, "a")) {
+            final Thread serverThread = new Thread(() -> {
+                try {
+                    MultiplexedLinkTest.connect(serverA, serverB);
+                } catch (final Exception e) {
+                    // The client side will fail to connect
+                }
+            });
+            serverThread.start();
+            MultiplexedLinkTest.connect(clientA, clientB);
+            serverThread.join();
+
+            final QueueListener listenerA = new QueueListener();
+            final QueueListener listenerB = new QueueListener();
+            serverA.startReading(listenerA);
+            serverB.startReading(listenerB);
+            final QueueListener replies = new QueueListener();
+            clientA.startReading(replies);
+
+            for (int i = 0; i < 100; i++) {
+                clientA.send(("A " + i).getBytes());
+                clientB.send(("B " + i).getBytes());
+            }
+            for (int i = 0; i < 100; i++) {
+                Assertions.assertEquals("A " + i, listenerA.received.poll(1, TimeUnit.SECONDS));
+                Assertions.assertEquals("B " + i, listenerB.received.poll(1, TimeUnit.SECONDS));
+            }
+
+            serverA.send("Reply".getBytes());
+            Assertions.assertEquals("Reply", replies.received.poll(1, TimeUnit.SECONDS));
+
+            // Only one monitor per link may have the heartbeat stream
+            Assertions.assertNotNull(MultiplexedLink.claimHeartBeatStream(clientA));
+            Assertions.assertNull(MultiplexedLink.claimHeartBeatStream(clientB));
+
+            // Closing one stream closes the remote side, but not the other streams
+            clientB.close();
+            Assertions.assertTrue(listenerB.closed.await(1, TimeUnit.SECONDS));
+            Assertions.assertTrue(serverA.isConnected());
+            clientA.send("Still there".getBytes());
+            Assertions.assertEquals("Still there", listenerA.received.poll(1, TimeUnit.SECONDS));
+
+            // The link is closed with the last stream
+            clientA.close();
+            Assertions.assertTrue(listenerA.closed.await(1, TimeUnit.SECONDS));
+            Assertions.assertFalse(serverA.isConnected());
+        }
+    }
+
+    @RepeatedTest(3)
+    public void doFlowControl() throws Exception {
+        System.setProperty(MultiplexedLink.WINDOW_PROPERTY, "4");
+        try (
+                final TCPSocket serverA = MultiplexedLink.openStream("", MultiplexedLinkTest.TEST_PORT, "a");
+                final TCPSocket serverB = MultiplexedLink.openStream("", MultiplexedLinkTest.TEST_PORT, "b");
+                final TCPSocket clientA = MultiplexedLink.openStream("127.0.0.1", MultiplexedLinkTest.TEST_PORT, "a");
+                final TCPSocket clientB = MultiplexedLink
+                        .openStream("127.0.0.1", MultiplexedLinkTest.TEST_PORT, "b")) {
+            final Thread serverThread = new Thread(() -> {
+                try {
+                    MultiplexedLinkTest.connect(serverA, serverB);
+                } catch (final Exception e) {
+                    // The client side will fail to connect
+                }
+            });
+            serverThread.start();
+            MultiplexedLinkTest.connect(clientA, clientB);
+            serverThread.join();
+
+            final QueueListener listenerA = new QueueListener();
+            final QueueListener listenerB = new QueueListener();
+            serverA.startReading(listenerA);
+            serverB.startReading(listenerB);
+            serverA.pauseReading();
+
+            // The sender of a paused stream runs out of credit, but the other stream keeps going
+            for (int i = 0; i < 20; i++) {
+                clientA.send(("A " + i).getBytes());
+            }
+            for (int i = 0; i < 20; i++) {
+                clientB.send(("B " + i).getBytes());
+            }
+            for (int i = 0; i < 20; i++) {
+                Assertions.assertEquals("B " + i, listenerB.received.poll(1, TimeUnit.SECONDS));
+            }
+            Assertions.assertTrue(listenerA.received.isEmpty());
+
+            serverA.resumeReading();
+            for (int i = 0; i < 20; i++) {
+                Assertions.assertEquals("A " + i, listenerA.received.poll(1, TimeUnit.SECONDS));
+            }
+        } finally {
+            System.clearProperty(MultiplexedLink.WINDOW_PROPERTY);
+        }
+    }
+
+}
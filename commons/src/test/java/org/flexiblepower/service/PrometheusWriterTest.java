@@ -0,0 +1,58 @@
+/*-
+ * #%L
+ * dEF-Pi commons Library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.io.IOException;
+
+import org.flexiblepower.commons.PrometheusWriter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * PrometheusWriterTest
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+@SuppressWarnings({"static-method", "javadoc"})
+public class PrometheusWriterTest {
+
+    @Test
+    public void testWrite() throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        new PrometheusWriter(sb).family("test_total", "counter", "Test counter")
+                .sample("test_total", 3)
+                .sample("test_total", 4, "a", "x\"y\\z\n", "b", null)
+                .family("test_seconds", "summary", "Test summary")
+                .summary("test_seconds", 2, 1500000000L, "a", "x");
+
+        Assertions.assertEquals("# HELP test_total Test counter\n" + "# TYPE test_total counter\n"
+                + "test_total 3\n" + "test_total{a=\"x\\\"y\\\\z\\n\",b=\"\"} 4\n"
+                + "# HELP test_seconds Test summary\n" + "# TYPE test_seconds summary\n"
+                + "test_seconds_count{a=\"x\"} 2\n" + "test_seconds_sum{a=\"x\"} 1.5\n", sb.toString());
+    }
+
+    @Test
+    public void testOddLabels() {
+        final PrometheusWriter writer = new PrometheusWriter(new StringBuilder());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> writer.sample("test", 1, "a"));
+    }
+
+}
@@ -0,0 +1,152 @@
+/*-
+ * #%L
+ * dEF-Pi commons Library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.flexiblepower.exceptions.SerializationException;
+import org.flexiblepower.proto.ConnectionProto.ConnectionAck;
+import org.flexiblepower.proto.ConnectionProto.ConnectionHandshake;
+import org.flexiblepower.proto.ConnectionProto.ConnectionState;
+import org.flexiblepower.serializers.MessageSerializer;
+import org.flexiblepower.serializers.ProtobufMessageSerializer;
+import org.flexiblepower.serializers.XSDMessageSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import jakarta.xml.bind.annotation.XmlRootElement;
+
+/**
+ * SerializerConcurrencyTest
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+@SuppressWarnings({"static-method", "javadoc"})
+@Timeout(value = 30, unit = TimeUnit.SECONDS)
+public class SerializerConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 500;
+
+    private static ExecutorService executor = Executors.newFixedThreadPool(SerializerConcurrencyTest.THREADS);
+
+    @XmlRootElement
+    public static class Measurement {
+
+        public String sensor;
+        public int value;
+
+    }
+
+    @AfterAll
+    public static void shutdown() {
+        SerializerConcurrencyTest.executor.shutdownNow();
+    }
+
+    private static void runConcurrently(final Callable<Void> task) throws Exception {
+        final List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < SerializerConcurrencyTest.THREADS; i++) {
+            futures.add(SerializerConcurrencyTest.executor.submit(task));
+        }
+        for (final Future<Void> future : futures) {
+            future.get();
+        }
+    }
+
+    @Test
+    public void testXSDConcurrently() throws Exception {
+        final MessageSerializer<Object> serializer = new XSDMessageSerializer();
+        serializer.addMessageClass(Measurement.class);
+
+        SerializerConcurrencyTest.runConcurrently(() -> {
+            final String sensor = Thread.currentThread().getName();
+            for (int i = 0; i < SerializerConcurrencyTest.ROUNDS; i++) {
+                final Measurement measurement = new Measurement();
+                measurement.sensor = sensor;
+                measurement.value = i;
+                final Measurement result = (Measurement) serializer.deserialize(serializer.serialize(measurement));
+                Assertions.assertEquals(sensor, result.sensor);
+                Assertions.assertEquals(i, result.value);
+            }
+            return null;
+        });
+    }
+
+    @Test
+    public void testXSDFromBuffer() throws Exception {
+        final MessageSerializer<Object> sender = new XSDMessageSerializer();
+        sender.addMessageClass(Measurement.class);
+        final MessageSerializer<Object> receiver = new XSDMessageSerializer();
+        receiver.addMessageClass(Measurement.class);
+
+        final Measurement measurement = new Measurement();
+        measurement.sensor = "buffer";
+        measurement.value = 42;
+        final byte[] xml = sender.serialize(measurement);
+
+        // The message is read from its position, and the position is not changed
+        final ByteBuffer frame = ByteBuffer.allocate(xml.length + 8);
+        frame.putLong(7).put(xml);
+        ((Buffer) frame).position(8);
+        final Measurement result = (Measurement) receiver.deserialize(frame);
+        Assertions.assertEquals("buffer", result.sensor);
+        Assertions.assertEquals(42, result.value);
+        Assertions.assertEquals(8, frame.position());
+
+        // Document type declarations are refused
+        final String doctype = "<?xml version=\"1.0\"?><!DOCTYPE measurement [<!ENTITY e \"x\">]>"
+                + "<measurement><sensor>&e;</sensor><value>1</value></measurement>";
+        Assertions.assertThrows(SerializationException.class, () -> receiver.deserialize(doctype.getBytes()));
+    }
+
+    @Test
+    public void testProtobufConcurrently() throws Exception {
+        final ProtobufMessageSerializer serializer = new ProtobufMessageSerializer();
+        serializer.addMessageClass(ConnectionHandshake.class);
+        serializer.addMessageClass(ConnectionAck.class);
+
+        SerializerConcurrencyTest.runConcurrently(() -> {
+            final String id = Thread.currentThread().getName();
+            for (int i = 0; i < SerializerConcurrencyTest.ROUNDS; i++) {
+                final ConnectionHandshake handshake = ConnectionHandshake.newBuilder()
+                        .setConnectionId(id)
+                        .setConnectionState(ConnectionState.CONNECTED)
+                        .setReceivedSequence(i)
+                        .build();
+                final ConnectionAck ack = ConnectionAck.newBuilder().setReceivedSequence(i).build();
+                Assertions.assertEquals(handshake, serializer.deserialize(serializer.serialize(handshake)));
+                Assertions.assertEquals(ack, serializer.deserialize(serializer.serialize(ack)));
+            }
+            return null;
+        });
+    }
+
+}
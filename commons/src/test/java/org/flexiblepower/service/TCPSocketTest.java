@@ -20,10 +20,16 @@
 package org.flexiblepower.service;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.NotYetConnectedException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.flexiblepower.commons.BufferPool;
 import org.flexiblepower.commons.TCPSocket;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.RepeatedTest;
@@ -75,6 +81,127 @@ public class TCPSocketTest {
         }
     }
 
+    @RepeatedTest(3)
+    public void doAsyncRead() throws Exception {
+        final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        final CountDownLatch closed = new CountDownLatch(1);
+
+        try (
+                final TCPSocket client = TCPSocket.asClient("127.0.0.1", TCPSocketTest.TEST_PORT);
+                final TCPSocket server = TCPSocket.asServer(TCPSocketTest.TEST_PORT)) {
+            client.waitUntilConnected(100);
+            server.waitUntilConnected(100);
+            server.startReading(new TCPSocket.FrameListener() {
+
+                @Override
+                public void onFrame(final ByteBuffer frame) {
+                    final byte[] data = new byte[frame.remaining()];
+                    frame.get(data);
+                    BufferPool.getInstance().release(frame);
+                    received.add(new String(data));
+                }
+
+                @Override
+                public void onClose() {
+                    closed.countDown();
+                }
+            });
+
+            try {
+                server.read(100);
+                Assertions.fail("Expected an " + IllegalStateException.class);
+            } catch (final IllegalStateException e) {
+                // Expected, the socket is read asynchronously
+            }
+
+            for (int i = 0; i < 100; i++) {
+                client.send(("Test data " + i).getBytes());
+            }
+            for (int i = 0; i < 100; i++) {
+                Assertions.assertEquals("Test data " + i, received.poll(1, TimeUnit.SECONDS));
+            }
+
+            // Data should also flow the other way
+            server.send("Reply".getBytes());
+            Assertions.assertEquals("Reply", new String(client.read(100)));
+
+            client.close();
+            Assertions.assertTrue(closed.await(1, TimeUnit.SECONDS));
+        }
+    }
+
+    @RepeatedTest(3)
+    public void doPauseReading() throws Exception {
+        final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+
+        try (
+                final TCPSocket client = TCPSocket.asClient("127.0.0.1", TCPSocketTest.TEST_PORT);
+                final TCPSocket server = TCPSocket.asServer(TCPSocketTest.TEST_PORT)) {
+            client.waitUntilConnected(100);
+            server.waitUntilConnected(100);
+            server.startReading(new TCPSocket.FrameListener() {
+
+                @Override
+                public void onFrame(final ByteBuffer frame) {
+                    final byte[] data = new byte[frame.remaining()];
+                    frame.get(data);
+                    BufferPool.getInstance().release(frame);
+                    received.add(new String(data));
+                    // Pause after every frame
+                    server.pauseReading();
+                }
+
+                @Override
+                public void onClose() {
+                    // Not relevant
+                }
+            });
+
+            for (int i = 0; i < 3; i++) {
+                client.send(("Test data " + i).getBytes());
+            }
+            Assertions.assertEquals("Test data 0", received.poll(1, TimeUnit.SECONDS));
+            Assertions.assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+
+            for (int i = 1; i < 3; i++) {
+                server.resumeReading();
+                Assertions.assertEquals("Test data " + i, received.poll(1, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    @RepeatedTest(3)
+    public void doLargeFrames() throws Exception {
+        try (
+                final TCPSocket client = TCPSocket.asClient("127.0.0.1", TCPSocketTest.TEST_PORT);
+                final TCPSocket server = TCPSocket.asServer(TCPSocketTest.TEST_PORT)) {
+            client.waitUntilConnected(100);
+
+            // Frames larger than the read buffer, and larger than the largest pooled buffer
+            for (final int size : new int[] {0, 1, 20 * 1024, 3 * 1024 * 1024}) {
+                final byte[] data = new byte[size];
+                for (int i = 0; i < size; i++) {
+                    data[i] = (byte) i;
+                }
+
+                // Send from another thread, since the frame may not fit in the socket buffers
+                final AtomicReference<IOException> failure = new AtomicReference<>();
+                final Thread sender = new Thread(() -> {
+                    try {
+                        client.send(data);
+                    } catch (final IOException e) {
+                        failure.set(e);
+                    }
+                });
+                sender.start();
+                final byte[] received = server.read(1000);
+                sender.join();
+                Assertions.assertNull(failure.get(), "Unable to send frame of " + size + " bytes");
+                Assertions.assertArrayEquals(data, received);
+            }
+        }
+    }
+
     @RepeatedTest(3)
     public void testTimeout() throws Exception {
         try (
@@ -0,0 +1,84 @@
+/*-
+ * #%L
+ * dEF-Pi commons Library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.flexiblepower.commons.TimerWheel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * TimerWheelTest
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+@SuppressWarnings({"static-method", "javadoc"})
+public class TimerWheelTest {
+
+    @Test
+    public void testExpireAfterDeadline() {
+        final TimerWheel<String> wheel = new TimerWheel<>(10, 8, 0);
+        wheel.schedule("a", 25);
+        wheel.schedule("b", 30);
+        // Further than one rotation, so it shares a slot with "a"
+        wheel.schedule("c", 105);
+        Assertions.assertEquals(3, wheel.size());
+
+        Assertions.assertEquals(Collections.emptyList(), wheel.advance(29));
+        Assertions.assertEquals(Arrays.asList("a", "b"), wheel.advance(30));
+        Assertions.assertEquals(Collections.emptyList(), wheel.advance(100));
+        Assertions.assertEquals(Collections.singletonList("c"), wheel.advance(110));
+        Assertions.assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void testCancelAndReschedule() {
+        final TimerWheel<String> wheel = new TimerWheel<>(10, 8, 0);
+        wheel.schedule("a", 20);
+        wheel.schedule("b", 20);
+        Assertions.assertTrue(wheel.cancel("a"));
+        Assertions.assertFalse(wheel.cancel("a"));
+        wheel.schedule("b", 50);
+        Assertions.assertTrue(wheel.contains("b"));
+
+        Assertions.assertEquals(Collections.emptyList(), wheel.advance(40));
+        Assertions.assertEquals(Collections.singletonList("b"), wheel.advance(50));
+    }
+
+    @Test
+    public void testLongPause() {
+        final TimerWheel<Integer> wheel = new TimerWheel<>(10, 8, 0);
+        for (int i = 0; i < 20; i++) {
+            wheel.schedule(i, i * 25);
+        }
+        // Deadlines in the past expire on the next tick
+        Assertions.assertEquals(Collections.singletonList(0), wheel.advance(10));
+        Assertions.assertEquals(20, wheel.nextTickMs());
+
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12)),
+                new HashSet<>(wheel.advance(300)));
+        Assertions.assertEquals(7, wheel.size());
+    }
+
+}
@@ -0,0 +1,208 @@
+/*-
+ * #%L
+ * dEF-Pi REST Orchestrator
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.connectors;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.bson.types.ObjectId;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A CircuitBreaker keeps track of whether an external dependency of the orchestrator is reachable, such as Docker, the
+ * registry or the management socket of a process. The connectors record the outcome of every call to the dependency.
+ * After {@value #FAILURE_THRESHOLD} consecutive failures the breaker opens, and the pending changes that depend on it
+ * are held back instead of all retrying against a dependency that is down. When the open period is over, a single
+ * trial request is let through: if it succeeds the breaker closes, otherwise it opens again for twice as long, up to
+ * {@link #MAX_OPEN_MS} milliseconds.
+ * <p>
+ * Only failures that say something about the dependency itself should be recorded, such as timeouts, connection errors
+ * and server errors. A "not found" response means the dependency is fine.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+@Slf4j
+public final class CircuitBreaker {
+
+    /**
+     * The name of the circuit breaker of the Docker daemon
+     */
+    public static final String DOCKER = "docker";
+
+    /**
+     * The name of the circuit breaker of the docker registry
+     */
+    public static final String REGISTRY = "registry";
+
+    /**
+     * The number of consecutive failures after which the breaker opens
+     */
+    static final int FAILURE_THRESHOLD = 5;
+
+    /**
+     * The time the breaker stays open the first time it opens
+     */
+    static final long MIN_OPEN_MS = Duration.ofSeconds(5).toMillis();
+
+    /**
+     * The maximum time the breaker stays open
+     */
+    static final long MAX_OPEN_MS = Duration.ofMinutes(5).toMillis();
+
+    private static final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    /**
+     * The states of a circuit breaker
+     */
+    public static enum State {
+        /**
+         * The dependency is working, all requests are let through
+         */
+        CLOSED,
+        /**
+         * The dependency is failing, no requests are let through until the open period is over
+         */
+        OPEN,
+        /**
+         * A single trial request was let through, and the breaker waits for its outcome
+         */
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final LongSupplier clock;
+    private State state = State.CLOSED;
+    private int failures = 0;
+    private long openMs = CircuitBreaker.MIN_OPEN_MS;
+    private long openedAt = 0;
+
+    /**
+     * @param name The name of the dependency
+     * @param clock The source of the current time in milliseconds
+     */
+    CircuitBreaker(final String name, final LongSupplier clock) {
+        this.name = name;
+        this.clock = clock;
+    }
+
+    /**
+     * @param name The name of the dependency, for instance {@link #DOCKER} or the result of
+     *            {@link #process(ObjectId)}
+     * @return The circuit breaker of the dependency, which is created if it did not exist yet
+     */
+    public static CircuitBreaker get(final String name) {
+        return CircuitBreaker.breakers.computeIfAbsent(name, n -> new CircuitBreaker(n, System::currentTimeMillis));
+    }
+
+    /**
+     * Forget the circuit breaker of a dependency that no longer exists, such as a process that was removed
+     *
+     * @param name The name of the dependency
+     */
+    public static void remove(final String name) {
+        CircuitBreaker.breakers.remove(name);
+    }
+
+    /**
+     * @param processId The id of the process
+     * @return The name of the circuit breaker of the management socket of the process
+     */
+    public static String process(final ObjectId processId) {
+        return "process:" + processId;
+    }
+
+    /**
+     * Ask whether a request may be sent to the dependency. When the open period is over, this lets a single trial
+     * request through; if the outcome of the trial is not recorded, another one is let through after the open period.
+     *
+     * @return Whether the request may be sent
+     */
+    public synchronized boolean allowRequest() {
+        if (this.state == State.CLOSED) {
+            return true;
+        }
+        final long now = this.clock.getAsLong();
+        if (now < this.getRetryAt()) {
+            return false;
+        }
+        this.state = State.HALF_OPEN;
+        this.openedAt = now;
+        return true;
+    }
+
+    /**
+     * @return The time in milliseconds at which the breaker will let a request through again, or 0 if it is closed
+     */
+    public synchronized long getRetryAt() {
+        return this.state == State.CLOSED ? 0 : this.openedAt + this.openMs;
+    }
+
+    /**
+     * @return The current state of the breaker
+     */
+    public synchronized State getState() {
+        return this.state;
+    }
+
+    /**
+     * Record that a request to the dependency succeeded, which closes the breaker
+     */
+    public synchronized void recordSuccess() {
+        if (this.state != State.CLOSED) {
+            CircuitBreaker.log.info("Circuit breaker of {} closed", this.name);
+        }
+        this.state = State.CLOSED;
+        this.failures = 0;
+        this.openMs = CircuitBreaker.MIN_OPEN_MS;
+    }
+
+    /**
+     * Record that a request to the dependency failed because the dependency is not reachable or not working
+     */
+    public synchronized void recordFailure() {
+        final long now = this.clock.getAsLong();
+        switch (this.state) {
+        case CLOSED:
+            if (++this.failures >= CircuitBreaker.FAILURE_THRESHOLD) {
+                this.open(now);
+            }
+            break;
+        case HALF_OPEN:
+            this.openMs = Math.min(this.openMs * 2, CircuitBreaker.MAX_OPEN_MS);
+            this.open(now);
+            break;
+        case OPEN:
+        default:
+            // A request that was sent before the breaker opened
+            break;
+        }
+    }
+
+    private void open(final long now) {
+        this.state = State.OPEN;
+        this.openedAt = now;
+        CircuitBreaker.log.warn("Circuit breaker of {} opened for {} ms", this.name, this.openMs);
+    }
+
+}
@@ -57,6 +57,7 @@ import com.spotify.docker.client.DockerClient;
 import com.spotify.docker.client.DockerClient.ListNetworksParam;
 import com.spotify.docker.client.exceptions.DockerCertificateException;
 import com.spotify.docker.client.exceptions.DockerException;
+import com.spotify.docker.client.exceptions.DockerRequestException;
 import com.spotify.docker.client.messages.AttachedNetwork;
 import com.spotify.docker.client.messages.ContainerInfo;
 import com.spotify.docker.client.messages.EndpointConfig;
@@ -677,16 +678,28 @@ public class DockerConnector {
     }
 
     private <T> T runOrTimeout(final Callable<T> callable) throws DockerException, InterruptedException {
+        final CircuitBreaker breaker = CircuitBreaker.get(CircuitBreaker.DOCKER);
         try {
-            return this.executor.submit(callable)
+            final T result = this.executor.submit(callable)
                     .get(DockerConnector.DOCKER_WRITE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            breaker.recordSuccess();
+            return result;
         } catch (final ExecutionException e) {
             if ((e.getCause() != null) && (e.getCause() instanceof DockerException)) {
+                // A request that docker refused, such as for a service that does not exist, means docker is up
+                if ((e.getCause() instanceof DockerRequestException)
+                        && (((DockerRequestException) e.getCause()).status() < 500)) {
+                    breaker.recordSuccess();
+                } else {
+                    breaker.recordFailure();
+                }
                 throw (DockerException) e.getCause();
             } else {
+                breaker.recordFailure();
                 throw new DockerException(e);
             }
         } catch (final TimeoutException e) {
+            breaker.recordFailure();
             throw new DockerException(e);
         }
     }
@@ -0,0 +1,385 @@
+/*-
+ * #%L
+ * dEF-Pi REST Orchestrator
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.connectors;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.bson.BsonDocument;
+import org.bson.types.ObjectId;
+import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.Morphia;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * EntityCache
+ *
+ * A read-through cache of the entities that the orchestrator reads most, so that looking up a process, a connection, a
+ * user or a node does not need a query. The cache holds a snapshot of the stored document of every entity, and every
+ * read returns a new copy, so callers may change the entities they get without affecting the cache, just like entities
+ * that were read from the database. The first time all entities of a type are needed, the whole collection is loaded;
+ * from then on also the lookups by other fields than the id are answered from memory.
+ * <p>
+ * Every entity that is saved or deleted through the {@link MongoDbConnector} is written through to the cache. That is
+ * enough when this is the only orchestrator using the database. Otherwise the cache follows a change stream of the
+ * database (see {@link #watch(MongoDatabase)}), and is bypassed whenever the change stream is not open.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+@Slf4j
+final class EntityCache {
+
+    private static final long WATCH_RETRY_MS = Duration.ofSeconds(30).toMillis();
+
+    /**
+     * The source of the entities when they are not in the cache
+     */
+    static interface Store {
+
+        /**
+         * @param type The type of entity
+         * @param id The id of the entity
+         * @return The stored entity, or null if it does not exist
+         */
+        <T> T get(Class<T> type, ObjectId id);
+
+        /**
+         * @param type The type of entity
+         * @return All stored entities of the type
+         */
+        <T> List<T> list(Class<T> type);
+
+    }
+
+    private static final class Snapshot {
+
+        final DBObject document;
+        final Object view;
+
+        Snapshot(final DBObject document, final Object view) {
+            this.document = document;
+            this.view = view;
+        }
+
+    }
+
+    private static final class TypeCache {
+
+        final Class<?> type;
+        final Map<ObjectId, Snapshot> entities = new LinkedHashMap<>();
+        boolean complete = false;
+        long generation = 0;
+
+        TypeCache(final Class<?> type) {
+            this.type = type;
+        }
+
+    }
+
+    private final Morphia morphia;
+    private final Datastore datastore;
+    private final Store store;
+    private final Map<Class<?>, TypeCache> caches = new HashMap<>();
+    private final Map<String, TypeCache> collections = new HashMap<>();
+    private volatile boolean enabled;
+
+    /**
+     * @param morphia The morphia instance that maps the cached types
+     * @param datastore The datastore to map entities with, may be null if the types do not contain references
+     * @param store The source of the entities when they are not in the cache
+     * @param enabled Whether the cache is used from the start, or only after {@link #watch(MongoDatabase)} opened
+     *            the change stream
+     * @param types The types of entity to cache
+     */
+    EntityCache(final Morphia morphia,
+            final Datastore datastore,
+            final Store store,
+            final boolean enabled,
+            final Class<?>... types) {
+        this.morphia = morphia;
+        this.datastore = datastore;
+        this.store = store;
+        this.enabled = enabled;
+        for (final Class<?> type : types) {
+            final TypeCache cache = new TypeCache(type);
+            this.caches.put(type, cache);
+            this.collections.put(morphia.getMapper().getMappedClass(type).getCollectionName(), cache);
+        }
+    }
+
+    /**
+     * @param type The type of entity
+     * @param id The id of the entity
+     * @return A copy of the entity, or null if it does not exist
+     */
+    <T> T get(final Class<T> type, final ObjectId id) {
+        final TypeCache cache = this.cacheOf(type);
+        if (cache == null) {
+            return this.store.get(type, id);
+        }
+
+        final long generation;
+        synchronized (cache) {
+            final Snapshot snapshot = cache.entities.get(id);
+            if (snapshot != null) {
+                return this.copy(type, snapshot);
+            } else if (cache.complete) {
+                return null;
+            }
+            generation = cache.generation;
+        }
+
+        final T entity = this.store.get(type, id);
+        if (entity != null) {
+            synchronized (cache) {
+                // Only remember it if it was not changed while we were loading it
+                if (cache.generation == generation) {
+                    cache.entities.put(id, this.snapshot(entity));
+                }
+            }
+        }
+        return entity;
+    }
+
+    /**
+     * @param type The type of entity
+     * @return Copies of all entities of the type
+     */
+    <T> List<T> list(final Class<T> type) {
+        return this.find(type, e -> true, () -> this.store.list(type));
+    }
+
+    /**
+     * Find the entities of a type that match a filter. When the type is not cached, the query is used instead, which
+     * should have the same result as the filter.
+     *
+     * @param type The type of entity
+     * @param filter The filter to apply to every cached entity, which must not change the entity
+     * @param query The query to use when the type is not cached
+     * @return Copies of all entities that match the filter
+     */
+    <T> List<T> find(final Class<T> type, final Predicate<? super T> filter, final Supplier<List<T>> query) {
+        final TypeCache cache = this.cacheOf(type);
+        if (cache == null) {
+            return query.get();
+        }
+
+        final long generation;
+        synchronized (cache) {
+            if (cache.complete) {
+                return this.filter(type, cache, filter);
+            }
+            generation = cache.generation;
+        }
+
+        final List<T> all = this.store.list(type);
+        synchronized (cache) {
+            if (cache.generation == generation) {
+                cache.entities.clear();
+                for (final T entity : all) {
+                    cache.entities.put(this.idOf(entity), this.snapshot(entity));
+                }
+                cache.complete = true;
+                return this.filter(type, cache, filter);
+            }
+        }
+
+        // Something changed while loading, so the result may be stale; try again next time
+        return query.get();
+    }
+
+    /**
+     * Write a saved entity through to the cache
+     *
+     * @param entity The entity that was saved in the database
+     */
+    void put(final Object entity) {
+        final TypeCache cache = this.cacheOf(entity.getClass());
+        if (cache != null) {
+            final Snapshot snapshot = this.snapshot(entity);
+            synchronized (cache) {
+                cache.generation++;
+                cache.entities.put(this.idOf(entity), snapshot);
+            }
+        }
+    }
+
+    /**
+     * Remove a deleted entity from the cache
+     *
+     * @param entity The entity that was deleted from the database
+     */
+    void remove(final Object entity) {
+        final TypeCache cache = this.cacheOf(entity.getClass());
+        if (cache != null) {
+            synchronized (cache) {
+                cache.generation++;
+                cache.entities.remove(this.idOf(entity));
+            }
+        }
+    }
+
+    /**
+     * Apply a change to a document in the database, as reported by the change stream
+     *
+     * @param collection The name of the collection of the document
+     * @param id The id of the document
+     * @param document The new document, or null if it was deleted
+     */
+    void onChange(final String collection, final ObjectId id, final DBObject document) {
+        final TypeCache cache = this.collections.get(collection);
+        if (cache == null) {
+            return;
+        }
+        final Snapshot snapshot = document == null ? null
+                : new Snapshot(document, this.morphia.fromDBObject(this.datastore, cache.type, document));
+        synchronized (cache) {
+            cache.generation++;
+            if (snapshot == null) {
+                cache.entities.remove(id);
+            } else {
+                cache.entities.put(id, snapshot);
+            }
+        }
+    }
+
+    /**
+     * Forget all cached entities, after which they are loaded from the database again
+     */
+    void clear() {
+        for (final TypeCache cache : this.caches.values()) {
+            synchronized (cache) {
+                cache.generation++;
+                cache.entities.clear();
+                cache.complete = false;
+            }
+        }
+    }
+
+    /**
+     * @param enabled Whether the cache should be used; the cache starts empty every time it is enabled
+     */
+    void setEnabled(final boolean enabled) {
+        if (enabled != this.enabled) {
+            this.enabled = enabled;
+            this.clear();
+        }
+    }
+
+    /**
+     * Follow the changes that any orchestrator makes to the database, and keep the cache up to date. The cache is only
+     * used while the change stream is open; when it breaks, for instance because the database is not a replica set,
+     * it is opened again after {@value #WATCH_RETRY_MS} milliseconds. This method only returns when the thread is
+     * interrupted.
+     *
+     * @param database The database to watch
+     */
+    void watch(final MongoDatabase database) {
+        while (!Thread.currentThread().isInterrupted()) {
+            try (
+                    final MongoCursor<ChangeStreamDocument<BasicDBObject>> cursor = database
+                            .watch(BasicDBObject.class)
+                            .fullDocument(FullDocument.UPDATE_LOOKUP)
+                            .iterator()) {
+                EntityCache.log.info("Following the changes of database {} to keep the cache up to date",
+                        database.getName());
+                this.setEnabled(true);
+                while (cursor.hasNext()) {
+                    this.onChange(cursor.next());
+                }
+            } catch (final MongoException e) {
+                EntityCache.log.warn("Unable to follow database changes, bypassing the cache: {}", e.getMessage());
+            }
+            this.setEnabled(false);
+
+            try {
+                Thread.sleep(EntityCache.WATCH_RETRY_MS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void onChange(final ChangeStreamDocument<BasicDBObject> change) {
+        final BsonDocument key = change.getDocumentKey();
+        switch (change.getOperationType()) {
+        case INSERT:
+        case UPDATE:
+        case REPLACE:
+        case DELETE:
+            if ((key != null) && key.isObjectId("_id")) {
+                // The full document is null if it was deleted
+                this.onChange(change.getNamespace().getCollectionName(),
+                        key.getObjectId("_id").getValue(),
+                        change.getFullDocument());
+                return;
+            }
+            break;
+        default:
+            break;
+        }
+        // A collection was dropped or renamed, or we don't know what changed
+        this.clear();
+    }
+
+    private TypeCache cacheOf(final Class<?> type) {
+        return this.enabled ? this.caches.get(type) : null;
+    }
+
+    private ObjectId idOf(final Object entity) {
+        return (ObjectId) this.morphia.getMapper().getId(entity);
+    }
+
+    private Snapshot snapshot(final Object entity) {
+        final DBObject document = this.morphia.toDBObject(entity);
+        return new Snapshot(document, this.morphia.fromDBObject(this.datastore, entity.getClass(), document));
+    }
+
+    private <T> T copy(final Class<T> type, final Snapshot snapshot) {
+        return this.morphia.fromDBObject(this.datastore, type, snapshot.document);
+    }
+
+    private <T> List<T> filter(final Class<T> type, final TypeCache cache, final Predicate<? super T> filter) {
+        final List<T> ret = new ArrayList<>();
+        for (final Snapshot snapshot : cache.entities.values()) {
+            if (filter.test(type.cast(snapshot.view))) {
+                ret.add(this.copy(type, snapshot));
+            }
+        }
+        return ret;
+    }
+
+}
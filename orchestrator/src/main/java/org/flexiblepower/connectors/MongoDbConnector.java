@@ -20,18 +20,20 @@
 package org.flexiblepower.connectors;
 
 import java.io.IOException;
-import java.time.Duration;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.regex.Pattern;
 
 import org.bson.types.ObjectId;
 import org.flexiblepower.exceptions.InvalidObjectIdException;
 import org.flexiblepower.model.Connection;
+import org.flexiblepower.model.PrivateNode;
 import org.flexiblepower.model.Process;
+import org.flexiblepower.model.PublicNode;
 import org.flexiblepower.model.UnidentifiedNode;
 import org.flexiblepower.model.User;
 import org.flexiblepower.orchestrator.pendingchange.PendingChange;
@@ -44,6 +46,7 @@ import org.mongodb.morphia.query.UpdateOperations;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mongodb.MongoClient;
+import com.mongodb.client.MongoDatabase;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -78,11 +81,18 @@ public final class MongoDbConnector {
     public final static String MONGO_DATABASE_KEY = "MONGO_DATABASE";
     private final static String MONGO_DATABASE_DFLT = "def-pi";
 
-    private static final long PENDING_CHANGE_TIMEOUT_MS = Duration.ofMinutes(5).toMillis();
+    /**
+     * The key, or system variable name, which holds how the cache of processes, connections, users and nodes is kept
+     * up to date: "local" when this is the only orchestrator using the database, "changestream" to follow the changes
+     * of other orchestrators (which requires a replica set), or "none" to disable the cache.
+     */
+    public final static String MONGO_CACHE_KEY = "MONGO_CACHE";
+    private final static String MONGO_CACHE_DFLT = "local";
 
     private static MongoDbConnector instance = null;
 
     private final Datastore datastore;
+    private final EntityCache cache;
 
     private MongoDbConnector() {
         String mongoHost = System.getenv(MongoDbConnector.MONGO_HOST_KEY);
@@ -97,6 +107,10 @@ public final class MongoDbConnector {
         if (mongoPort == null) {
             mongoPort = MongoDbConnector.MONGO_PORT_DFLT;
         }
+        String cacheMode = System.getenv(MongoDbConnector.MONGO_CACHE_KEY);
+        if (cacheMode == null) {
+            cacheMode = MongoDbConnector.MONGO_CACHE_DFLT;
+        }
 
         MongoDbConnector.log.info("Connecting to MongoDB on {}:{}", mongoHost, mongoPort);
         @SuppressWarnings("resource")
@@ -110,6 +124,32 @@ public final class MongoDbConnector {
         // create the Datastore connecting to the default port on the local host
         this.datastore = morphia.createDatastore(client, mongoDatabase);
         this.datastore.ensureIndexes();
+
+        final EntityCache.Store store = new EntityCache.Store() {
+
+            @Override
+            public <T> T get(final Class<T> type, final ObjectId id) {
+                return MongoDbConnector.this.datastore.get(type, id);
+            }
+
+            @Override
+            public <T> List<T> list(final Class<T> type) {
+                return MongoDbConnector.this.datastore.find(type).asList();
+            }
+
+        };
+        final Class<?>[] cachedTypes = "none".equals(cacheMode) ? new Class<?>[0]
+                : new Class<?>[] {Process.class, Connection.class, User.class, PrivateNode.class, PublicNode.class,
+                        UnidentifiedNode.class};
+        final boolean watch = "changestream".equals(cacheMode);
+        this.cache = new EntityCache(morphia, this.datastore, store, !watch, cachedTypes);
+        if (watch) {
+            final MongoDatabase database = client.getDatabase(mongoDatabase);
+            final Thread watcher = new Thread(() -> this.cache.watch(database), "MongoChangeStream");
+            watcher.setDaemon(true);
+            watcher.start();
+        }
+        MongoDbConnector.log.info("Caching {} entity types, mode {}", cachedTypes.length, cacheMode);
     }
 
     /**
@@ -127,9 +167,23 @@ public final class MongoDbConnector {
      * @return List of processes of a specific user
      */
     public List<Process> listProcessesForUser(final User user) {
-        final Query<Process> query = this.datastore.find(Process.class);
-        query.criteria("userId").equal(user.getId());
-        return query.asList();
+        return this.cache.find(Process.class, p -> user.getId().equals(p.getUserId()), () -> {
+            final Query<Process> query = this.datastore.find(Process.class);
+            query.criteria("userId").equal(user.getId());
+            return query.asList();
+        });
+    }
+
+    /**
+     * @param serviceId The id of the service of which to list the processes
+     * @return List of processes that run the service
+     */
+    public List<Process> listProcessesForService(final String serviceId) {
+        return this.cache.find(Process.class, p -> serviceId.equals(p.getServiceId()), () -> {
+            final Query<Process> query = this.datastore.find(Process.class);
+            query.criteria("serviceId").equal(serviceId);
+            return query.asList();
+        });
     }
 
     /**
@@ -137,10 +191,15 @@ public final class MongoDbConnector {
      * @return a list of all connections that are connected to the process with the provided id
      */
     public List<Connection> getConnectionsForProcess(final Process process) {
-        final Query<Connection> q = this.datastore.find(Connection.class);
-        q.or(q.criteria("endpoint1.processId").equal(process.getId()),
-                q.criteria("endpoint2.processId").equal(process.getId()));
-        return q.asList();
+        return this.cache.find(Connection.class,
+                c -> process.getId().equals(c.getEndpoint1().getProcessId())
+                        || process.getId().equals(c.getEndpoint2().getProcessId()),
+                () -> {
+                    final Query<Connection> q = this.datastore.find(Connection.class);
+                    q.or(q.criteria("endpoint1.processId").equal(process.getId()),
+                            q.criteria("endpoint2.processId").equal(process.getId()));
+                    return q.asList();
+                });
     }
 
     /**
@@ -148,6 +207,15 @@ public final class MongoDbConnector {
      * @return whether the connection already exists or not
      */
     public boolean connectionExists(final Connection connection) {
+        return !this.cache.find(Connection.class,
+                c -> (c.getEndpoint1().equals(connection.getEndpoint1())
+                        && c.getEndpoint2().equals(connection.getEndpoint2()))
+                        || (c.getEndpoint1().equals(connection.getEndpoint2())
+                                && c.getEndpoint2().equals(connection.getEndpoint1())),
+                () -> this.findConnection(connection)).isEmpty();
+    }
+
+    private List<Connection> findConnection(final Connection connection) {
         final Query<Connection> q = this.datastore.find(Connection.class);
         // @formatter:off
         q.or(
@@ -165,7 +233,7 @@ public final class MongoDbConnector {
             )
         );
         // @formatter:on
-        return q.count() > 0;
+        return q.asList(new FindOptions().limit(1));
     }
 
     /**
@@ -218,7 +286,7 @@ public final class MongoDbConnector {
      * @return A list of all objects in the mongo db of the specified type
      */
     public <T> List<T> list(final Class<T> type) {
-        return this.datastore.find(type).asList();
+        return this.cache.list(type);
     }
 
     /**
@@ -230,7 +298,7 @@ public final class MongoDbConnector {
      * @return A list of all objects in the mongo db of the specified type
      */
     public <T> T get(final Class<T> type, final ObjectId id) {
-        return this.datastore.get(type, id);
+        return this.cache.get(type, id);
     }
 
     /**
@@ -288,7 +356,9 @@ public final class MongoDbConnector {
      * @return the new objectId of the stored entity
      */
     public ObjectId save(final Object entity) {
-        return (ObjectId) this.datastore.save(entity).getId();
+        final ObjectId id = (ObjectId) this.datastore.save(entity).getId();
+        this.cache.put(entity);
+        return id;
     }
 
     /**
@@ -296,6 +366,7 @@ public final class MongoDbConnector {
      */
     public void delete(final Object entity) {
         this.datastore.delete(entity);
+        this.cache.remove(entity);
     }
 
     /**
@@ -326,10 +397,15 @@ public final class MongoDbConnector {
             return null;
         }
 
-        final Query<User> query = this.datastore.find(User.class);
-        query.and(query.criteria("username").equal(username),
-                query.criteria("passwordHash").equal(User.computeUserPass(username, password)));
-        return query.get();
+        final String passwordHash = User.computeUserPass(username, password);
+        return MongoDbConnector.first(this.cache.find(User.class,
+                u -> username.equals(u.getUsername()) && passwordHash.equals(u.getPasswordHash()),
+                () -> {
+                    final Query<User> query = this.datastore.find(User.class);
+                    query.and(query.criteria("username").equal(username),
+                            query.criteria("passwordHash").equal(passwordHash));
+                    return MongoDbConnector.asList(query.get());
+                }));
     }
 
     /**
@@ -339,9 +415,12 @@ public final class MongoDbConnector {
      * @return The user with the provided name or null
      */
     public User getUserByUsername(final String username) {
-        final Query<User> q = this.datastore.find(User.class);
-        q.criteria("username").equal(username);
-        return q.get();
+        return MongoDbConnector
+                .first(this.cache.find(User.class, u -> Objects.equals(username, u.getUsername()), () -> {
+                    final Query<User> q = this.datastore.find(User.class);
+                    q.criteria("username").equal(username);
+                    return MongoDbConnector.asList(q.get());
+                }));
     }
 
     /**
@@ -354,9 +433,12 @@ public final class MongoDbConnector {
      */
     @Deprecated
     public User getUserByToken(final String token) {
-        final Query<User> q = this.datastore.find(User.class);
-        q.criteria("authenticationToken").equal(token);
-        return q.get();
+        return MongoDbConnector
+                .first(this.cache.find(User.class, u -> Objects.equals(token, u.getAuthenticationToken()), () -> {
+                    final Query<User> q = this.datastore.find(User.class);
+                    q.criteria("authenticationToken").equal(token);
+                    return MongoDbConnector.asList(q.get());
+                }));
     }
 
     /**
@@ -367,9 +449,11 @@ public final class MongoDbConnector {
      * @return the process that is stored in the database with the corresponding token
      */
     public Process getProcessByToken(final String token) {
-        final Query<Process> q = this.datastore.find(Process.class);
-        q.criteria("token").equal(token);
-        return q.get();
+        return MongoDbConnector.first(this.cache.find(Process.class, p -> Objects.equals(token, p.getToken()), () -> {
+            final Query<Process> q = this.datastore.find(Process.class);
+            q.criteria("token").equal(token);
+            return MongoDbConnector.asList(q.get());
+        }));
     }
 
     /**
@@ -379,9 +463,20 @@ public final class MongoDbConnector {
      * @return The UnidentifiedNode with the provided id, or null
      */
     public UnidentifiedNode getUnidentifiedNodeByDockerId(final String dockerId) {
-        final Query<UnidentifiedNode> q = this.datastore.find(UnidentifiedNode.class);
-        q.criteria("dockerId").equal(dockerId);
-        return q.get();
+        return MongoDbConnector.first(
+                this.cache.find(UnidentifiedNode.class, n -> Objects.equals(dockerId, n.getDockerId()), () -> {
+                    final Query<UnidentifiedNode> q = this.datastore.find(UnidentifiedNode.class);
+                    q.criteria("dockerId").equal(dockerId);
+                    return MongoDbConnector.asList(q.get());
+                }));
+    }
+
+    private static <T> T first(final List<T> list) {
+        return list.isEmpty() ? null : list.get(0);
+    }
+
+    private static <T> List<T> asList(final T entity) {
+        return entity == null ? Collections.emptyList() : Collections.singletonList(entity);
     }
 
     // /**
@@ -397,66 +492,49 @@ public final class MongoDbConnector {
     // }
 
     /**
-     * Retrieve the next PendingChange. It uses the findAndModify option to make sure that no tasks gets taken from the
-     * queue twice.
-     *
-     * See http://www.programcreek.com/java-api-examples/index.php?api=com.google.code.morphia.query.UpdateOperations
-     * for the polymorphism trick.
+     * Claim a PendingChange that has not finished or failed permanently, and that is not owned by a running
+     * orchestrator: either it has no owner, or the owner did not renew its lease in time. It uses the findAndModify
+     * option to make sure that no pending change is claimed by two orchestrators.
      *
-     * @param lockedResources The resources that are "locked" which may not be a resource of the retrieved PendingChange
-     * @return The next unobtained PendingChange, null if there are no pendingChanges
+     * @param owner The id of the orchestrator that claims the pending change
+     * @param leasedUntil The time until which the claim is valid, unless it is renewed
+     * @return The claimed PendingChange, or null if there are no unclaimed pending changes
      */
-    public PendingChange getNextPendingChange(final List<ObjectId> lockedResources) {
-        if (lockedResources.isEmpty()) {
-            return this.getNextPendingChange();
-        }
-
+    public PendingChange claimPendingChange(final String owner, final Date leasedUntil) {
         final Query<PendingChange> query = this.datastore.createQuery(PendingChange.class)
-                .field("obtainedAt")
-                .equal(null) // Must be null
-                .field("resources")
-                .hasNoneOf(lockedResources)
                 .field("state")
                 .notEqual(PendingChange.State.FAILED_PERMANENTLY) // Not failed
-                .field("runAt")
-                .lessThanOrEq(new Date()) // No future task
                 .order("runAt")
                 .disableValidation();
+        query.or(query.criteria("owner").equal(null), query.criteria("leasedUntil").lessThan(new Date()));
         final UpdateOperations<PendingChange> update = this.datastore.createUpdateOperations(PendingChange.class)
-                .set("obtainedAt", new Date());
+                .set("owner", owner)
+                .set("leasedUntil", leasedUntil);
         return this.datastore.findAndModify(query, update);
     }
 
     /**
-     * Retrieve the next PendingChange. It uses the findAndModify option to make sure that no tasks gets taken from the
-     * queue twice.
+     * Renew the lease on all PendingChanges that are owned by an orchestrator, so no other orchestrator claims them
      *
-     * See http://www.programcreek.com/java-api-examples/index.php?api=com.google.code.morphia.query.UpdateOperations
-     * for the polymorphism trick.
-     *
-     * @return The next unobtained PendingChange, null if there are no pendingChanges
+     * @param owner The id of the orchestrator that owns the pending changes
+     * @param leasedUntil The new time until which the claim is valid
+     * @return The number of pending changes of which the lease was renewed
      */
-    public PendingChange getNextPendingChange() {
+    public int renewPendingChanges(final String owner, final Date leasedUntil) {
         final Query<PendingChange> query = this.datastore.createQuery(PendingChange.class)
-                .field("obtainedAt")
-                .equal(null) // Must be null
-                .field("state")
-                .notEqual(PendingChange.State.FAILED_PERMANENTLY) // Not failed
-                .field("runAt")
-                .lessThanOrEq(new Date()) // No future task
-                .order("runAt")
+                .field("owner")
+                .equal(owner)
                 .disableValidation();
         final UpdateOperations<PendingChange> update = this.datastore.createUpdateOperations(PendingChange.class)
-                .set("obtainedAt", new Date());
-        return this.datastore.findAndModify(query, update);
+                .set("leasedUntil", leasedUntil);
+        return this.datastore.update(query, update).getUpdatedCount();
     }
 
     /**
-     * Clean up all pending changes that are either lingering or are in the FAILED_PERMANENTLY state, or inactive for a
-     * long period of time.
+     * Clean up all pending changes that are in the FAILED_PERMANENTLY state.
      *
      * @return A piece of text containing the report of what was updated in the DB. e.g. "Deleted <i>n</i> permanently
-     *         failed, and <i>m</i> lingering pending changes"
+     *         failed pending changes"
      */
     public String cleanPendingChanges() {
         // Remove pending changes that failed permanently
@@ -465,17 +543,7 @@ public final class MongoDbConnector {
                 .equal(PendingChange.State.FAILED_PERMANENTLY);
         final int deletedFailed = this.datastore.delete(failed).getN();
 
-        // Remove any pending changes that haven't been updated for a long time
-        final Query<PendingChange> lingering = this.datastore.createQuery(PendingChange.class)
-                .filter("obtainedAt <",
-                        new Date(System.currentTimeMillis() - MongoDbConnector.PENDING_CHANGE_TIMEOUT_MS));
-        final UpdateOperations<PendingChange> update = this.datastore.createUpdateOperations(PendingChange.class)
-                .unset("obtainedAt");
-        final int deletedLingering = this.datastore.update(lingering, update).getUpdatedCount();
-
-        return String.format("Deleted %d permanently failed, and %d lingering pending changes",
-                deletedFailed,
-                deletedLingering);
+        return String.format("Deleted %d permanently failed pending changes", deletedFailed);
     }
 
 }
@@ -20,11 +20,28 @@
 package org.flexiblepower.connectors;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 import org.bson.types.ObjectId;
+import org.flexiblepower.commons.BufferPool;
 import org.flexiblepower.commons.TCPSocket;
 import org.flexiblepower.exceptions.NotFoundException;
 import org.flexiblepower.exceptions.ProcessNotFoundException;
@@ -39,10 +56,14 @@ import org.flexiblepower.model.Process.ProcessParameter;
 import org.flexiblepower.model.Process.ProcessState;
 import org.flexiblepower.model.Service;
 import org.flexiblepower.orchestrator.ServiceManager;
+import org.flexiblepower.process.ConnectionManager;
 import org.flexiblepower.process.ProcessManager;
 import org.flexiblepower.proto.ConnectionProto.ConnectionHandshake;
 import org.flexiblepower.proto.ConnectionProto.ConnectionMessage;
 import org.flexiblepower.proto.ConnectionProto.ConnectionMessage.ModeType;
+import org.flexiblepower.proto.RequestIds;
+import org.flexiblepower.proto.ServiceProto.BatchConnectionMessage;
+import org.flexiblepower.proto.ServiceProto.BatchConnectionResponse;
 import org.flexiblepower.proto.ServiceProto.ErrorMessage;
 import org.flexiblepower.proto.ServiceProto.GoToProcessStateMessage;
 import org.flexiblepower.proto.ServiceProto.ProcessStateUpdateMessage;
@@ -58,6 +79,12 @@ import com.google.protobuf.Message;
 
 /**
  * ProcessConnector
+ * <p>
+ * The management channel with a process is pipelined: every request gets a request id, and is sent without waiting for
+ * the responses to earlier requests. The responses are matched with the requests by their id, so any number of threads
+ * may use the same process connection at the same time, and the asynchronous functions allow a single thread to set up
+ * many connections of a process in a single round trip. A process that does not copy the request id in its responses
+ * handles one request at a time, so its responses are matched with the oldest outstanding request.
  *
  * @version 0.1
  * @since Apr 19, 2017
@@ -71,6 +98,15 @@ public class ProcessConnector {
 
     private static ProcessConnector instance = null;
 
+    /**
+     * Fails the requests that are not answered in time
+     */
+    private static final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        final Thread t = new Thread(r, "dEF-Pi processConnectorTimer");
+        t.setDaemon(true);
+        return t;
+    });
+
     private final Map<ObjectId, ProcessConnection> connections = new ConcurrentHashMap<>();
 
     private ProcessConnector() {
@@ -106,9 +142,15 @@ public class ProcessConnector {
             final ProcessConnection processConnection = new ProcessConnection(processId);
             if (processConnection.connectWithProcess()) {
                 ProcessConnector.log.debug("Connected with process on address " + processId);
-                this.connections.put(processId, processConnection);
+                final ProcessConnection other = this.connections.putIfAbsent(processId, processConnection);
+                if (other != null) {
+                    // Another thread connected at the same time, use that connection instead
+                    processConnection.closeSocket();
+                    return other;
+                }
             } else {
                 ProcessConnector.log.debug("Unable to connect to process " + processId);
+                CircuitBreaker.get(CircuitBreaker.process(processId)).recordFailure();
                 return null;
             }
         }
@@ -126,16 +168,31 @@ public class ProcessConnector {
      */
     public boolean createConnectionEndpoint(final Connection connection, final Endpoint endpoint)
             throws ProcessNotFoundException {
+        return this.createConnectionEndpointAsync(connection, endpoint).join();
+    }
+
+    /**
+     * Create a connection endpoint without waiting for the process to respond. Several endpoints of the same process
+     * may be created at the same time, and the process sets up the connections concurrently.
+     *
+     * @param connection The connection which contains the endpoint to create
+     * @param endpoint The endpoint to create
+     * @return A future that completes with whether the connection endpoint was successfully created or not
+     * @throws ProcessNotFoundException When the process containing the endpoint cannot be found
+     * @see #createConnectionEndpoint(Connection, Endpoint)
+     */
+    public CompletableFuture<Boolean> createConnectionEndpointAsync(final Connection connection,
+            final Endpoint endpoint) throws ProcessNotFoundException {
         final Process process = ProcessManager.getInstance().getProcess(endpoint.getProcessId());
 
         if (process.getState() != ProcessState.RUNNING) {
             ProcessConnector.log.warn("Not creating connection endpoint because process {} is not (yet) running",
                     process.getId());
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
 
         final ProcessConnection pc = this.getProcessConnection(process.getId());
-        return (pc != null) && pc.setupConnectionEndpoint(connection, endpoint);
+        return pc == null ? CompletableFuture.completedFuture(false) : pc.setupConnectionEndpoint(connection, endpoint);
     }
 
     /**
@@ -149,8 +206,22 @@ public class ProcessConnector {
      */
     public boolean terminateConnectionEndpoint(final Connection connection, final Endpoint endpoint)
             throws ProcessNotFoundException {
+        return this.terminateConnectionEndpointAsync(connection, endpoint).join();
+    }
+
+    /**
+     * Terminate a connection endpoint without waiting for the process to respond.
+     *
+     * @param connection The connection which contains the endpoint to terminate
+     * @param endpoint The endpoint to terminate
+     * @return A future that completes with whether the connection endpoint was successfully terminated or not
+     * @throws ProcessNotFoundException When the process containing the endpoint cannot be found
+     * @see #terminateConnectionEndpoint(Connection, Endpoint)
+     */
+    public CompletableFuture<Boolean> terminateConnectionEndpointAsync(final Connection connection,
+            final Endpoint endpoint) throws ProcessNotFoundException {
         final ProcessConnection pc = this.getProcessConnection(endpoint.getProcessId());
-        return (pc != null) && pc.tearDownConnection(connection.getId());
+        return pc == null ? CompletableFuture.completedFuture(false) : pc.tearDownConnection(connection.getId());
     }
 
     /**
@@ -164,8 +235,22 @@ public class ProcessConnector {
      */
     public boolean suspendConnectionEndpoint(final Connection connection, final Endpoint endpoint)
             throws ProcessNotFoundException {
+        return this.suspendConnectionEndpointAsync(connection, endpoint).join();
+    }
+
+    /**
+     * Suspend a connection endpoint without waiting for the process to respond.
+     *
+     * @param connection The connection which contains the endpoint to suspend
+     * @param endpoint The endpoint to suspend
+     * @return A future that completes with whether the connection endpoint was successfully suspended or not
+     * @throws ProcessNotFoundException When the process containing the endpoint cannot be found
+     * @see #suspendConnectionEndpoint(Connection, Endpoint)
+     */
+    public CompletableFuture<Boolean> suspendConnectionEndpointAsync(final Connection connection,
+            final Endpoint endpoint) throws ProcessNotFoundException {
         final ProcessConnection pc = this.getProcessConnection(endpoint.getProcessId());
-        return (pc != null) && pc.suspendConnection(connection.getId());
+        return pc == null ? CompletableFuture.completedFuture(false) : pc.suspendConnection(connection.getId());
     }
 
     /**
@@ -179,8 +264,65 @@ public class ProcessConnector {
      */
     public boolean resumeConnectionEndpoint(final Connection connection, final Endpoint endpoint)
             throws ProcessNotFoundException {
+        return this.resumeConnectionEndpointAsync(connection, endpoint).join();
+    }
+
+    /**
+     * Resume a connection endpoint without waiting for the process to respond.
+     *
+     * @param connection The connection which contains the endpoint to resume
+     * @param endpoint The endpoint to resume
+     * @return A future that completes with whether the connection endpoint was successfully resumed or not
+     * @throws ProcessNotFoundException When the process containing the endpoint cannot be found
+     * @see #resumeConnectionEndpoint(Connection, Endpoint)
+     */
+    public CompletableFuture<Boolean> resumeConnectionEndpointAsync(final Connection connection,
+            final Endpoint endpoint) throws ProcessNotFoundException {
         final ProcessConnection pc = this.getProcessConnection(endpoint.getProcessId());
-        return (pc != null) && pc.resumeConnectionEndpoint(connection, endpoint);
+        return pc == null ? CompletableFuture.completedFuture(false) : pc.resumeConnectionEndpoint(connection, endpoint);
+    }
+
+    /**
+     * Create several connection endpoints of the same process in a single exchange with the process. This is much
+     * faster than creating them one by one when a process has many connections, for instance when it is restarted.
+     *
+     * @param processId The process that owns all endpoints
+     * @param connections The connections to create the endpoint of
+     * @param endpoints The endpoint of the process for each of the connections
+     * @return Whether each connection endpoint was successfully created, in the same order as the connections
+     * @throws ProcessNotFoundException When the process cannot be found
+     */
+    public List<Boolean> createConnectionEndpoints(final ObjectId processId,
+            final List<Connection> connections,
+            final List<Endpoint> endpoints) throws ProcessNotFoundException {
+        final Process process = ProcessManager.getInstance().getProcess(processId);
+
+        if (process.getState() != ProcessState.RUNNING) {
+            ProcessConnector.log.warn("Not creating connection endpoints because process {} is not (yet) running",
+                    process.getId());
+            return Collections.nCopies(connections.size(), false);
+        }
+
+        final ProcessConnection pc = this.getProcessConnection(processId);
+        return pc == null ? Collections.nCopies(connections.size(), false)
+                : pc.batchConnectionEndpoints(connections, endpoints, ModeType.CREATE).join();
+    }
+
+    /**
+     * Terminate several connection endpoints of the same process in a single exchange with the process.
+     *
+     * @param processId The process that owns all endpoints
+     * @param connections The connections to terminate the endpoint of
+     * @param endpoints The endpoint of the process for each of the connections
+     * @return Whether each connection endpoint was successfully terminated, in the same order as the connections
+     * @throws ProcessNotFoundException When the process cannot be found
+     */
+    public List<Boolean> terminateConnectionEndpoints(final ObjectId processId,
+            final List<Connection> connections,
+            final List<Endpoint> endpoints) throws ProcessNotFoundException {
+        final ProcessConnection pc = this.getProcessConnection(processId);
+        return pc == null ? Collections.nCopies(connections.size(), false)
+                : pc.batchConnectionEndpoints(connections, endpoints, ModeType.TERMINATE).join();
     }
 
     /**
@@ -188,9 +330,9 @@ public class ProcessConnector {
      *
      * @param processId The Id of the process that has terminated
      */
-    void processConnectionTerminated(final ObjectId processId) {
+    void processConnectionTerminated(final ObjectId processId, final ProcessConnection processConnection) {
         // Note that we do not need to close the connection here, instead it is the other way around.
-        this.connections.remove(processId);
+        this.connections.remove(processId, processConnection);
     }
 
     /**
@@ -272,13 +414,15 @@ public class ProcessConnector {
         }
     }
 
-    private static final class ProcessConnection {
+    private static final class ProcessConnection implements TCPSocket.FrameListener {
 
         private static final int IO_TIMEOUT = 10000;
         private static final int MANAGEMENT_PORT = 4999;
 
         private final ProtobufMessageSerializer serializer = new ProtobufMessageSerializer();
-        private TCPSocket socket = null;
+        private final AtomicLong nextRequestId = new AtomicLong();
+        private final ConcurrentSkipListMap<Long, CompletableFuture<Message>> pending = new ConcurrentSkipListMap<>();
+        private volatile TCPSocket socket = null;
         private final ObjectId processId;
 
         ProcessConnection(final ObjectId processId) {
@@ -291,6 +435,8 @@ public class ProcessConnector {
             this.serializer.addMessageClass(ConnectionHandshake.class);
             this.serializer.addMessageClass(ConnectionMessage.class);
             this.serializer.addMessageClass(ErrorMessage.class);
+            this.serializer.addMessageClass(BatchConnectionMessage.class);
+            this.serializer.addMessageClass(BatchConnectionResponse.class);
         }
 
         synchronized boolean connectWithProcess() {
@@ -307,7 +453,11 @@ public class ProcessConnector {
                 }
 
                 this.socket = TCPSocket.asClient(process.getId().toString(), ProcessConnection.MANAGEMENT_PORT);
-                return this.socket.waitUntilConnected(ProcessConnection.IO_TIMEOUT);
+                if (!this.socket.waitUntilConnected(ProcessConnection.IO_TIMEOUT)) {
+                    return false;
+                }
+                this.socket.startReading(this);
+                return true;
             } catch (final Exception e) {
                 if (this.socket != null) {
                     this.socket.close();
@@ -320,16 +470,26 @@ public class ProcessConnector {
             }
         }
 
-        boolean setupConnectionEndpoint(final Connection connection, final Endpoint endpoint) {
+        CompletableFuture<Boolean> setupConnectionEndpoint(final Connection connection, final Endpoint endpoint) {
             return this.createOrResumeEndpoint(connection, endpoint, ModeType.CREATE);
         }
 
-        boolean resumeConnectionEndpoint(final Connection connection, final Endpoint endpoint) {
+        CompletableFuture<Boolean> resumeConnectionEndpoint(final Connection connection, final Endpoint endpoint) {
             return this.createOrResumeEndpoint(connection, endpoint, ModeType.RESUME);
         }
 
-        private boolean
+        private CompletableFuture<Boolean>
                 createOrResumeEndpoint(final Connection connection, final Endpoint endpoint, final ModeType type) {
+            final ConnectionMessage connectionMessage = this.createEndpointMessage(connection, endpoint, type);
+            return connectionMessage == null ? CompletableFuture.completedFuture(false)
+                    : this.sendConnectionMessage(connectionMessage);
+        }
+
+        /**
+         * @return The message to create or resume the endpoint, or null if the message cannot be created
+         */
+        private ConnectionMessage
+                createEndpointMessage(final Connection connection, final Endpoint endpoint, final ModeType type) {
             final Endpoint otherEndpoint = connection.getOtherEndpoint(endpoint);
             String remoteServiceId;
             String remoteProcessName;
@@ -353,12 +513,12 @@ public class ProcessConnector {
                 interfaceVersion = intface.getInterfaceVersionByName(endpoint.getInterfaceVersionName());
             } catch (final NotFoundException e) {
                 ProcessConnector.log.debug("Exception while preparing connection message: {}", e.getMessage());
-                return false;
+                return null;
             }
 
             if (interfaceVersion == null) {
                 ProcessConnector.log.debug("Unable to determine interface version fo create / resume");
-                return false;
+                return null;
             }
 
             // Decide if this endpoint will be server or client
@@ -366,7 +526,7 @@ public class ProcessConnector {
                     ? otherEndpoint.getProcessId().toString()
                     : "");
 
-            final ConnectionMessage connectionMessage = ConnectionMessage.newBuilder()
+            return ConnectionMessage.newBuilder()
                     .setConnectionId(connection.getId().toString())
                     .setMode(type)
                     .setTargetAddress(targetAddress)
@@ -377,48 +537,121 @@ public class ProcessConnector {
                     .setRemoteInterfaceId(otherEndpoint.getInterfaceId())
                     .setRemoteServiceId(remoteServiceId)
                     .setRemoteProcessName(remoteProcessName)
+                    .setMultiplexed(ConnectionManager.isMultiplexing())
                     .build();
+        }
 
-            final ConnectionHandshake response = this.send(connectionMessage, ConnectionHandshake.class);
-            if (response != null) {
-                ProcessConnector.log
-                        .debug("Connection " + connection.getId() + " status: " + response.getConnectionState().name());
-                return true;
+        /**
+         * Send the connection messages for several endpoints of this process in a single BatchConnectionMessage. If the
+         * process does not understand batches, the messages are sent one by one instead.
+         *
+         * @param connections The connections to change the endpoint of
+         * @param endpoints The endpoint of this process for each of the connections
+         * @param type The change to make to all endpoints
+         * @return A future that completes with whether each endpoint was successfully changed, in the same order
+         */
+        CompletableFuture<List<Boolean>> batchConnectionEndpoints(final List<Connection> connections,
+                final List<Endpoint> endpoints,
+                final ModeType type) {
+            final ConnectionMessage[] messages = new ConnectionMessage[connections.size()];
+            final BatchConnectionMessage.Builder batch = BatchConnectionMessage.newBuilder();
+            for (int i = 0; i < messages.length; i++) {
+                if ((type == ModeType.CREATE) || (type == ModeType.RESUME)) {
+                    messages[i] = this.createEndpointMessage(connections.get(i), endpoints.get(i), type);
+                } else {
+                    messages[i] = ConnectionMessage.newBuilder()
+                            .setConnectionId(connections.get(i).getId().toString())
+                            .setMode(type)
+                            .build();
+                }
+                if (messages[i] != null) {
+                    batch.addMessages(messages[i]);
+                }
+            }
+
+            final CompletableFuture<Map<String, Boolean>> results;
+            if (batch.getMessagesCount() == 0) {
+                results = CompletableFuture.completedFuture(Collections.emptyMap());
             } else {
-                return false;
+                results = this.sendAsync(batch.build(), BatchConnectionResponse.class)
+                        .thenApply(this::checkBatchResponse)
+                        .handle((r, t) -> (r != null) || this.socket.isClosed() ? CompletableFuture.completedFuture(r)
+                                : this.sendConnectionMessages(batch.getMessagesList()))
+                        .thenCompose(Function.identity());
+            }
+
+            return results.thenApply(r -> {
+                final List<Boolean> ret = new ArrayList<>(messages.length);
+                for (final ConnectionMessage message : messages) {
+                    ret.add((r != null) && (message != null)
+                            && r.getOrDefault(message.getConnectionId(), Boolean.FALSE));
+                }
+                return ret;
+            });
+        }
+
+        private Map<String, Boolean> checkBatchResponse(final BatchConnectionResponse response) {
+            final Map<String, Boolean> ret = new HashMap<>();
+            for (final BatchConnectionResponse.Result result : response.getResultsList()) {
+                if (result.hasHandshake()) {
+                    ProcessConnector.log.debug("Connection " + result.getConnectionId() + " status: "
+                            + result.getHandshake().getConnectionState().name());
+                    ret.put(result.getConnectionId(), true);
+                } else {
+                    ProcessConnector.log.error("Received Error message from Process " + this.processId.toString()
+                            + " for connection " + result.getConnectionId() + ". Message: "
+                            + result.getError().getDebugInformation());
+                    ret.put(result.getConnectionId(), false);
+                }
+            }
+            return ret;
+        }
+
+        /**
+         * Send connection messages one by one, to a process that does not support batches
+         */
+        private CompletableFuture<Map<String, Boolean>>
+                sendConnectionMessages(final List<ConnectionMessage> connectionMessages) {
+            ProcessConnector.log.debug("Process {} does not support batches, sending {} connection messages",
+                    this.processId,
+                    connectionMessages.size());
+            final Map<String, Boolean> ret = new ConcurrentHashMap<>();
+            final CompletableFuture<?>[] futures = new CompletableFuture<?>[connectionMessages.size()];
+            for (int i = 0; i < futures.length; i++) {
+                final String connectionId = connectionMessages.get(i).getConnectionId();
+                futures[i] = this.sendConnectionMessage(connectionMessages.get(i))
+                        .thenAccept(success -> ret.put(connectionId, success));
             }
+            return CompletableFuture.allOf(futures).thenApply(v -> ret);
         }
 
-        boolean tearDownConnection(final ObjectId connectionId) {
+        CompletableFuture<Boolean> tearDownConnection(final ObjectId connectionId) {
             final ConnectionMessage connectionMessage = ConnectionMessage.newBuilder()
                     .setConnectionId(connectionId.toString())
                     .setMode(ConnectionMessage.ModeType.TERMINATE)
                     .build();
 
-            final ConnectionHandshake response = this.send(connectionMessage, ConnectionHandshake.class);
-            if (response != null) {
-                ProcessConnector.log
-                        .debug("Connection " + connectionId + " status: " + response.getConnectionState().name());
-                return true;
-            } else {
-                return false;
-            }
+            return this.sendConnectionMessage(connectionMessage);
         }
 
-        boolean suspendConnection(final ObjectId connectionId) {
+        CompletableFuture<Boolean> suspendConnection(final ObjectId connectionId) {
             final ConnectionMessage connectionMessage = ConnectionMessage.newBuilder()
                     .setConnectionId(connectionId.toString())
                     .setMode(ConnectionMessage.ModeType.SUSPEND)
                     .build();
 
-            final ConnectionHandshake response = this.send(connectionMessage, ConnectionHandshake.class);
-            if (response != null) {
-                ProcessConnector.log
-                        .debug("Connection " + connectionId + " status: " + response.getConnectionState().name());
+            return this.sendConnectionMessage(connectionMessage);
+        }
+
+        private CompletableFuture<Boolean> sendConnectionMessage(final ConnectionMessage connectionMessage) {
+            return this.sendAsync(connectionMessage, ConnectionHandshake.class).handle((response, t) -> {
+                if (response == null) {
+                    return false;
+                }
+                ProcessConnector.log.debug("Connection " + connectionMessage.getConnectionId() + " status: "
+                        + response.getConnectionState().name());
                 return true;
-            } else {
-                return false;
-            }
+            });
         }
 
         boolean startProcess() throws ProcessNotFoundException {
@@ -510,9 +743,57 @@ public class ProcessConnector {
 
         synchronized void close() {
             ProcessConnector.log.debug("Terminating connection with process " + this.processId);
-            // Terminate connection with process
-            this.socket.close();
-            ProcessConnector.getInstance().processConnectionTerminated(this.processId);
+            // Terminate connection with process, which fails all outstanding requests
+            this.closeSocket();
+            ProcessConnector.getInstance().processConnectionTerminated(this.processId, this);
+        }
+
+        void closeSocket() {
+            final TCPSocket s = this.socket;
+            if (s != null) {
+                s.close();
+            }
+        }
+
+        @Override
+        public void onFrame(final ByteBuffer frame) {
+            final Message m;
+            try {
+                m = this.serializer.deserialize(frame);
+            } catch (final SerializationException e) {
+                ProcessConnector.log.error("Received invalid message from Process " + this.processId.toString());
+                return;
+            } finally {
+                BufferPool.getInstance().release(frame);
+            }
+
+            final long requestId = RequestIds.get(m);
+            CompletableFuture<Message> response;
+            if (requestId != 0) {
+                response = this.pending.remove(requestId);
+            } else {
+                // The process does not support request ids, and answers requests in the order they were sent
+                final Map.Entry<Long, CompletableFuture<Message>> oldest = this.pending.pollFirstEntry();
+                response = oldest == null ? null : oldest.getValue();
+            }
+
+            if (response == null) {
+                ProcessConnector.log.warn("Received unexpected {} from Process {}",
+                        m.getClass().getSimpleName(),
+                        this.processId);
+            } else {
+                response.complete(m);
+            }
+        }
+
+        @Override
+        public void onClose() {
+            final ClosedChannelException cause = new ClosedChannelException();
+            Map.Entry<Long, CompletableFuture<Message>> entry;
+            while ((entry = this.pending.pollFirstEntry()) != null) {
+                entry.getValue().completeExceptionally(cause);
+            }
+            ProcessConnector.getInstance().processConnectionTerminated(this.processId, this);
         }
 
         private SetConfigMessage createSetConfigMessage(final List<ProcessParameter> configuration,
@@ -531,62 +812,91 @@ public class ProcessConnector {
             return builder.build();
         }
 
-        // Only one thread is allowed to do a send/receive at the time for each connection
-        synchronized private <T> T send(final Message msg, final Class<T> expected) {
+        /**
+         * Send a message and wait for the response.
+         *
+         * @param msg The message to send
+         * @param expected The type of the response
+         * @return The response, or null if no valid response was received in time
+         */
+        private <T extends Message> T send(final Message msg, final Class<T> expected) {
+            try {
+                return this.sendAsync(msg, expected).get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (final ExecutionException e) {
+                // The reason is already logged
+                return null;
+            }
+        }
+
+        /**
+         * Send a message without waiting for the response. Any number of messages may be outstanding at the same time.
+         * If the response does not arrive within {@value #IO_TIMEOUT} milliseconds, the connection is closed.
+         *
+         * @param msg The message to send
+         * @param expected The type of the response
+         * @return A future that completes with the response, or exceptionally if no valid response was received
+         */
+        private <T extends Message> CompletableFuture<T> sendAsync(final Message msg, final Class<T> expected) {
+            final long requestId = this.nextRequestId.incrementAndGet();
+            final CompletableFuture<Message> response = new CompletableFuture<>();
+
             byte[] data;
             try {
-                data = this.serializer.serialize(msg);
+                data = this.serializer.serialize(RequestIds.with(msg, requestId));
             } catch (final SerializationException e) {
                 ProcessConnector.log.error("Could not serialize message", e);
-                return null;
+                response.completeExceptionally(e);
+                return response.thenApply(expected::cast);
             }
 
+            // Register the request before sending it, the response may arrive at any time
+            this.pending.put(requestId, response);
+            final ScheduledFuture<?> timeout = ProcessConnector.timer.schedule(() -> {
+                if (response.completeExceptionally(new TimeoutException("No response to request " + requestId))) {
+                    ProcessConnector.log.warn("Did not receive a response from process, close and try again");
+                    this.close();
+                }
+            }, ProcessConnection.IO_TIMEOUT, TimeUnit.MILLISECONDS);
+            response.whenComplete((m, t) -> {
+                timeout.cancel(false);
+                this.pending.remove(requestId);
+                // Any response shows the process is reachable, only a timeout or a broken socket counts as failure
+                final CircuitBreaker breaker = CircuitBreaker.get(CircuitBreaker.process(this.processId));
+                if (t == null) {
+                    breaker.recordSuccess();
+                } else {
+                    breaker.recordFailure();
+                }
+            });
+
             try {
                 this.socket.send(data);
             } catch (final IOException e) {
                 ProcessConnector.log.warn("Exception while sending message to Process ({}), try to resend.",
                         e.getMessage());
+                response.completeExceptionally(e);
                 this.close();
-                return null;
-            }
-
-            byte[] recv; // = null;
-            try {
-                recv = this.socket.read(ProcessConnection.IO_TIMEOUT);
-            } catch (final IOException e) {
-                ProcessConnector.log.warn("Exception while reading from socket ({}): {}", e.getClass(), e.getMessage());
-                ProcessConnector.log.trace(e.getMessage(), e);
-                this.close();
-                return null;
             }
 
-            if (recv == null) {
-                ProcessConnector.log.warn("Did not receive a response from process, close and try again");
-                this.close();
-                return null;
-            }
+            return response.thenApply(m -> this.checkResponse(m, expected));
+        }
 
-            try {
-                final Message m = this.serializer.deserialize(recv);
-                if (expected.isInstance(m)) {
-                    @SuppressWarnings("unchecked")
-                    final T ret = (T) m;
-                    return ret;
-                } else if (m instanceof ErrorMessage) {
-                    ProcessConnector.log.error("Received Error message from Process " + this.processId.toString()
-                            + ". Expected " + expected.getSimpleName() + ". Message: "
-                            + ((ErrorMessage) m).getDebugInformation());
-                    return null;
-                } else {
-                    ProcessConnector.log.error("Received invalid message from Process " + this.processId.toString()
-                            + ". Expected " + expected.getSimpleName() + ", got " + m.getClass().getSimpleName());
-                    return null;
-                }
-            } catch (final SerializationException e) {
+        private <T extends Message> T checkResponse(final Message m, final Class<T> expected) {
+            if (expected.isInstance(m)) {
+                return expected.cast(m);
+            } else if (m instanceof ErrorMessage) {
+                ProcessConnector.log.error("Received Error message from Process " + this.processId.toString()
+                        + ". Expected " + expected.getSimpleName() + ". Message: "
+                        + ((ErrorMessage) m).getDebugInformation());
+            } else {
                 ProcessConnector.log.error("Received invalid message from Process " + this.processId.toString()
-                        + ". Expected " + expected.getSimpleName() + ".");
-                return null;
+                        + ". Expected " + expected.getSimpleName() + ", got " + m.getClass().getSimpleName());
             }
+            throw new CompletionException(
+                    new IOException("Unexpected response " + m.getClass().getSimpleName() + " from process"));
         }
 
         private void updateProcessStateInDb(final org.flexiblepower.proto.ServiceProto.ProcessState processState) {
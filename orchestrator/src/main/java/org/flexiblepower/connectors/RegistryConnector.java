@@ -43,6 +43,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import javax.ws.rs.ProcessingException;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
@@ -469,9 +470,19 @@ public class RegistryConnector {
     private static String queryRegistry(final URI uri) throws ServiceNotFoundException {
         RegistryConnector.log.debug("Requesting {}", uri);
 
+        final CircuitBreaker breaker = CircuitBreaker.get(CircuitBreaker.REGISTRY);
         try (Response response = ClientBuilder.newClient().target(uri).request().get()) {
+            if (response.getStatusInfo().getFamily() == Status.Family.SERVER_ERROR) {
+                breaker.recordFailure();
+            } else {
+                breaker.recordSuccess();
+            }
             RegistryConnector.validateResponse(response);
             return response.readEntity(String.class);
+        } catch (final ProcessingException e) {
+            // The registry could not be reached at all
+            breaker.recordFailure();
+            throw e;
         }
     }
 
@@ -19,11 +19,13 @@
  */
 package org.flexiblepower.orchestrator.pendingchange;
 
-import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
 import org.bson.types.ObjectId;
+import org.flexiblepower.connectors.CircuitBreaker;
 import org.mongodb.morphia.annotations.Entity;
 import org.mongodb.morphia.annotations.Field;
 import org.mongodb.morphia.annotations.Id;
@@ -40,12 +42,9 @@ import lombok.Setter;
  * @since Aug 7, 2017
  */
 @Entity("PendingChange") // All subclasses must have the exact same annotation!
-@Indexes({@Index(fields = @Field("state")), @Index(fields = @Field("runAt")), @Index(fields = @Field("obtainedAt"))})
+@Indexes({@Index(fields = @Field("state")), @Index(fields = @Field("runAt")), @Index(fields = @Field("owner"))})
 public abstract class PendingChange {
 
-    private static final long DEFAULT_MINIMUM_RETRY_INTERVAL_MILLISECONDS = Duration.ofSeconds(5).toMillis();
-    private static final long DEFAULT_MAXIMUM_RETRY_INTERVAL_MILLISECONDS = Duration.ofHours(36).toMillis();
-    private static final int DEFAULT_MAX_RETRY_COUNT = 1000;
     private static final int DEFAULT_DELAY_MILLISECONDS = 0;
 
     /**
@@ -107,6 +106,23 @@ public abstract class PendingChange {
     @Getter
     protected List<ObjectId> resources;
 
+    /**
+     * Pending changes of the same type with the same batch key may be executed together, by a single call to
+     * {@link #executeBatch(List)}. It typically refers to the process the pending change communicates with. If it is
+     * null, the pending change is always executed on its own.
+     */
+    @Getter
+    protected ObjectId batchKey;
+
+    /**
+     * Pending changes with the same coalescing key have the same purpose and target, such as sending the configuration
+     * to a particular process. When a pending change is submitted while another one with the same key is still waiting,
+     * the newer of the two may make the older one redundant, see {@link #coalesce(PendingChange)}. If it is null, the
+     * pending change is never coalesced.
+     */
+    @Getter
+    protected String coalescingKey;
+
     @Getter
     private Date created;
 
@@ -115,14 +131,15 @@ public abstract class PendingChange {
     private Date runAt;
 
     /**
-     * This field is used as a flag that some thread has obtained this pending change, and is working on executing it.
-     * Other threads should not pick it up until it is released.
+     * The id of the orchestrator that scheduled this pending change, and that is the only one to execute it as long as
+     * it keeps renewing the lease
      */
-    /*
-     * TODO This is redundant with the implementation of the resource locks, and breaks when an orchestrator container
-     * is restarted while one pending change was in a deadlock. i.e. the deadlock survives even a orchestrator restart.
+    String owner;
+
+    /**
+     * The time until which the owner has claimed this pending change. After that, another orchestrator may claim it.
      */
-    Date obtainedAt;
+    Date leasedUntil;
 
     @Getter
     private ObjectId userId;
@@ -130,6 +147,11 @@ public abstract class PendingChange {
     @Getter
     private int count;
 
+    /**
+     * The time waited before the latest retry, from which the retry policy computes the next interval
+     */
+    private long lastRetryIntervalMs;
+
     @Getter
     @Setter
     private State state;
@@ -150,7 +172,6 @@ public abstract class PendingChange {
         final long now = System.currentTimeMillis();
         this.created = new Date(now);
         this.runAt = new Date(now + this.delayMs());
-        this.obtainedAt = null;
         this.state = State.NEW;
         this.userId = userId;
         this.count = 0;
@@ -173,25 +194,54 @@ public abstract class PendingChange {
     }
 
     /**
-     * Time to wait before retrying after a temporary failure. Default value is 5000, overwrite if it should be
-     * different.
+     * The policy that determines how long to wait before retrying after a temporary failure, and how many times to
+     * retry. Default is {@link RetryPolicy#DEFAULT}, overwrite if it should be different for this type of pending
+     * change.
+     *
+     * @return The retry policy of the pending change
+     */
+    @SuppressWarnings("static-method")
+    protected RetryPolicy retryPolicy() {
+        return RetryPolicy.DEFAULT;
+    }
+
+    /**
+     * Time to wait before retrying after a temporary failure. By default it grows exponentially with random jitter,
+     * according to the {@link #retryPolicy()}.
      *
      * @return Time to wait before retrying in milliseconds.
      */
     protected long retryIntervalMs() {
-        return Math.min(PendingChange.DEFAULT_MINIMUM_RETRY_INTERVAL_MILLISECONDS + (long) Math.pow(2, this.getCount()),
-                PendingChange.DEFAULT_MAXIMUM_RETRY_INTERVAL_MILLISECONDS);
+        return this.retryPolicy().nextIntervalMs(this.lastRetryIntervalMs);
     }
 
     /**
      * The number of times the PendingChange should be attempted before being marked as failed permanently. Default
-     * value is 1000, overwrite if it should be changed.
+     * is the maximum of the {@link #retryPolicy()}.
      *
      * @return Number of times to try before failing permanently.
      */
-    @SuppressWarnings("static-method")
     protected int maxRetryCount() {
-        return PendingChange.DEFAULT_MAX_RETRY_COUNT;
+        return this.retryPolicy().getMaxRetryCount();
+    }
+
+    /**
+     * The external dependencies this pending change calls, by the names of their {@link CircuitBreaker}s. While the
+     * breaker of one of them is open, the pending change is held back. By default a pending change has no dependencies.
+     *
+     * @return The names of the circuit breakers of the dependencies
+     */
+    @SuppressWarnings("static-method")
+    public List<String> dependencies() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * @return The time to wait before the next retry in milliseconds, which is remembered to compute the one after
+     */
+    long nextRetryIntervalMs() {
+        this.lastRetryIntervalMs = this.retryIntervalMs();
+        return this.lastRetryIntervalMs;
     }
 
     /**
@@ -202,6 +252,48 @@ public abstract class PendingChange {
      */
     public abstract Result execute();
 
+    /**
+     * Execute this pending change together with other pending changes of the same type that have the same
+     * {@link #batchKey}. Subclasses that set a batch key should override this function to execute the batch more
+     * efficiently than one at a time, which is what the default implementation does.
+     *
+     * @param batch The pending changes to execute, starting with this one
+     * @return The result of each pending change in the batch, in the same order
+     */
+    public List<Result> executeBatch(final List<PendingChange> batch) {
+        final List<Result> results = new ArrayList<>(batch.size());
+        for (final PendingChange pc : batch) {
+            results.add(pc.execute());
+        }
+        return results;
+    }
+
+    /**
+     * Decide whether this pending change makes an older one with the same {@link #coalescingKey} redundant, in which
+     * case the older one is dropped without being executed. Before returning true, the pending change may take over
+     * anything it still needs from the older one. The default implementation always supersedes the older pending
+     * change.
+     *
+     * @param older The older pending change, which has not started yet
+     * @return Whether the older pending change should be dropped
+     */
+    @SuppressWarnings({"static-method", "unused"})
+    public boolean coalesce(final PendingChange older) {
+        return true;
+    }
+
+    /**
+     * @param other The pending change to compare to
+     * @return Whether this pending change was created after the other one
+     */
+    boolean isNewerThan(final PendingChange other) {
+        final int byCreated = this.created.compareTo(other.created);
+        if ((byCreated != 0) || (this.id == null) || (other.id == null)) {
+            return byCreated > 0;
+        }
+        return this.id.compareTo(other.id) > 0;
+    }
+
     /**
      * Increment the number of tries of the pending change. Should be called immediately after execution by the pending
      * change manager.
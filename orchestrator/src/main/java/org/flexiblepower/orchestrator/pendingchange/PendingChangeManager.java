@@ -19,10 +19,17 @@
  */
 package org.flexiblepower.orchestrator.pendingchange;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.Date;
-import java.util.LinkedList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.bson.types.ObjectId;
 import org.flexiblepower.connectors.MongoDbConnector;
@@ -33,6 +40,22 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * PendingChangeManager
+ * <p>
+ * Every pending change is stored in the database before it is scheduled, so it survives a restart of the orchestrator.
+ * Which pending change runs next is decided in memory by the {@link PendingChangeScheduler}; when the manager starts,
+ * it recovers all pending changes that did not finish or fail permanently from the database.
+ * <p>
+ * Several orchestrators may use the same database. Every pending change is owned by the orchestrator that scheduled
+ * it, which renews its lease on its pending changes every {@value #RENEW_INTERVAL_MS} milliseconds. Pending changes
+ * are claimed atomically in the database, and only when they have no owner or the lease of the owner expired, for
+ * instance because it stopped. That way a pending change is never executed by two orchestrators at the same time, as
+ * long as the owner can reach the database.
+ * <p>
+ * The pending changes are executed by a fixed pool of runners, of which the size is configured by the
+ * {@value #THREADS_KEY} environment variable. Because most pending changes block on Docker or on a process, the number
+ * of pending changes of the same type that run at the same time is limited by {@value #TYPE_LIMIT_KEY}, and may be set
+ * per type in {@value #TYPE_LIMITS_KEY}, e.g. {@code RemoveDockerService=2,SendConfiguration=8}. The types are the
+ * simple class names of the pending changes.
  *
  * @version 0.1
  * @since Aug 7, 2017
@@ -41,60 +64,197 @@ import lombok.extern.slf4j.Slf4j;
 @SuppressWarnings("static-method")
 public class PendingChangeManager {
 
-    private static final int NUM_THREADS = 16;
+    /**
+     * The environment variable to set the number of runner threads
+     */
+    public static final String THREADS_KEY = "PENDING_CHANGE_THREADS";
+    private static final int THREADS_DFLT = 16;
+
+    /**
+     * The environment variable to set the maximum number of pending changes of a single type that run at the same time,
+     * which is by default half the number of runner threads
+     */
+    public static final String TYPE_LIMIT_KEY = "PENDING_CHANGE_TYPE_LIMIT";
+
+    /**
+     * The environment variable to set the maximum number of pending changes that run at the same time for specific
+     * types, as a comma separated list of type=limit pairs
+     */
+    public static final String TYPE_LIMITS_KEY = "PENDING_CHANGE_TYPE_LIMITS";
+
+    /**
+     * The time for which an orchestrator owns the pending changes it claimed, unless it renews the lease
+     */
+    static final long LEASE_MS = Duration.ofMinutes(1).toMillis();
+    private static final long RENEW_INTERVAL_MS = PendingChangeManager.LEASE_MS / 4;
+
     private static PendingChangeManager instance;
 
     /**
-     * The wait lock is used to wait for new incoming pending changes if there are no pending changes found.
+     * The id of this orchestrator as the owner of pending changes
      */
-    final Object waitLock = new Object();
+    private final String owner = new ObjectId().toHexString();
+
+    private final PendingChangeMetrics metrics = new PendingChangeMetrics();
 
     /**
-     * The locked resources are the resources that are currently "in use", so that no other pending changes with that
-     * resource will be used.
+     * The scheduler decides which pending changes may run, based on their runAt time, the resources they use and the
+     * concurrency limit of their type.
      */
-    final List<ObjectId> lockedResources = new LinkedList<>();
+    final PendingChangeScheduler scheduler;
+
+    private final ExecutorService executor;
+    private final ScheduledExecutorService leaseExecutor;
 
     /*
      * A private constructor as part of the singleton design pattern
      */
     private PendingChangeManager() {
-        for (int i = 0; i < PendingChangeManager.NUM_THREADS; i++) {
-            new Thread(new PendingChangeRunner()).start();
+        final int threads = PendingChangeManager.getIntFromEnv(PendingChangeManager.THREADS_KEY,
+                PendingChangeManager.THREADS_DFLT);
+        final int typeLimit = PendingChangeManager.getIntFromEnv(PendingChangeManager.TYPE_LIMIT_KEY,
+                Math.max(1, threads / 2));
+        this.scheduler = new PendingChangeScheduler(this.metrics,
+                typeLimit,
+                PendingChangeManager.parseTypeLimits(System.getenv(PendingChangeManager.TYPE_LIMITS_KEY)));
+
+        final int recovered = this.claimPendingChanges();
+        PendingChangeManager.log.info("Recovered {} pending changes as owner {}", recovered, this.owner);
+
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads,
+                r -> new Thread(r, "PendingChangeRunner-" + threadCount.incrementAndGet()));
+        for (int i = 0; i < threads; i++) {
+            this.executor.execute(new PendingChangeRunner());
+        }
+        PendingChangeManager.log.info("Started {} pending change runners, at most {} per type", threads, typeLimit);
+
+        this.leaseExecutor = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "PendingChangeLease"));
+        this.leaseExecutor.scheduleWithFixedDelay(this::renewLease,
+                PendingChangeManager.RENEW_INTERVAL_MS,
+                PendingChangeManager.RENEW_INTERVAL_MS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private Date leaseExpiry() {
+        return new Date(System.currentTimeMillis() + PendingChangeManager.LEASE_MS);
+    }
+
+    /**
+     * Claim the pending changes that have no owner, or of which the owner stopped renewing its lease, and schedule them
+     *
+     * @return The number of pending changes that were claimed
+     */
+    private int claimPendingChanges() {
+        int claimed = 0;
+        PendingChange pc;
+        while ((pc = MongoDbConnector.getInstance().claimPendingChange(this.owner, this.leaseExpiry())) != null) {
+            // We may have lost the lease on our own pending change when the database was not reachable
+            if (!this.scheduler.contains(pc.getId())) {
+                this.drop(this.scheduler.add(pc));
+                claimed++;
+            }
+        }
+        return claimed;
+    }
+
+    private void renewLease() {
+        try {
+            MongoDbConnector.getInstance().renewPendingChanges(this.owner, this.leaseExpiry());
+            final int claimed = this.claimPendingChanges();
+            if (claimed > 0) {
+                PendingChangeManager.log.info("Took over {} pending changes of which the lease expired", claimed);
+            }
+        } catch (final RuntimeException e) {
+            PendingChangeManager.log.warn("Unable to renew the lease on pending changes: {}", e.getMessage());
+        }
+    }
+
+    private static int getIntFromEnv(final String key, final int dflt) {
+        final String fromEnv = System.getenv(key);
+        if (fromEnv == null) {
+            return dflt;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(fromEnv.trim()));
+        } catch (final NumberFormatException e) {
+            PendingChangeManager.log.warn("Invalid value {} for {}, using {}", fromEnv, key, dflt);
+            return dflt;
         }
     }
 
+    /**
+     * @param value A comma separated list of type=limit pairs, or null
+     * @return The limit per type of pending change
+     */
+    static Map<String, Integer> parseTypeLimits(final String value) {
+        final Map<String, Integer> limits = new HashMap<>();
+        if (value == null) {
+            return limits;
+        }
+        for (final String pair : value.split(",")) {
+            if (pair.trim().isEmpty()) {
+                continue;
+            }
+            final String[] parts = pair.split("=", 2);
+            try {
+                limits.put(parts[0].trim(), Math.max(1, Integer.parseInt(parts[1].trim())));
+            } catch (final NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                PendingChangeManager.log.warn("Ignoring invalid pending change type limit {}", pair);
+            }
+        }
+        return limits;
+    }
+
     /**
      * @return The singleton instance of the pending change manager
      */
-    public static PendingChangeManager getInstance() {
+    public static synchronized PendingChangeManager getInstance() {
         if (PendingChangeManager.instance == null) {
             PendingChangeManager.instance = new PendingChangeManager();
         }
         return PendingChangeManager.instance;
     }
 
+    /**
+     * @return The queue wait and execution metrics per type of pending change
+     */
+    public PendingChangeMetrics getMetrics() {
+        return this.metrics;
+    }
+
     /**
      * Submit a pending change to the backend, so that it will be executed at some point in the future. At some point it
-     * will be picked up by a runner and be attempted, until it eventually succeeds, or permanently fails.
+     * will be picked up by a runner and be attempted, until it eventually succeeds, or permanently fails. If it has the
+     * same coalescing key as a pending change that is still waiting, the newer of the two may supersede the other,
+     * which is then deleted without being executed.
      *
      * @param pendingChange The pending change to execute
      */
     public void submit(final PendingChange pendingChange) {
+        this.save(pendingChange);
+        this.drop(this.scheduler.add(pendingChange));
+    }
+
+    private void save(final PendingChange pendingChange) {
+        // Saving overwrites the lease, so make sure it is current
+        pendingChange.owner = this.owner;
+        pendingChange.leasedUntil = this.leaseExpiry();
         MongoDbConnector.getInstance().save(pendingChange);
-        synchronized (this.waitLock) {
-            this.waitLock.notify();
+    }
+
+    private void drop(final PendingChange superseded) {
+        if (superseded != null) {
+            PendingChangeManager.log.debug("Dropping superseded PendingChange: {}", superseded.description());
+            MongoDbConnector.getInstance().delete(superseded);
         }
     }
 
     private void release(final PendingChange pendingChange) {
-        pendingChange.obtainedAt = null;
-        synchronized (this.lockedResources) {
-            this.lockedResources.removeAll(pendingChange.getResources());
-        }
+        this.scheduler.complete(pendingChange);
         switch (pendingChange.getState()) {
         case FAILED_PERMANENTLY:
-            MongoDbConnector.getInstance().save(pendingChange);
+            this.save(pendingChange);
             break;
         case FAILED_TEMPORARY:
             this.submit(pendingChange);
@@ -130,6 +290,66 @@ public class PendingChangeManager {
                     + pc.getClass().getSimpleName() + ", marking it as failed permanently", e);
             result = Result.FAILED_PERMANENTLY;
         }
+        this.finishPendingChanges(Collections.singletonList(pc), Collections.singletonList(result));
+    }
+
+    /**
+     * Execute a batch of pending changes of the same type and with the same batch key. Like
+     * {@link #runPendingChange(PendingChange)}, every pending change in the batch is updated and released afterwards.
+     *
+     * @param batch The pending changes to execute together
+     */
+    void runPendingChanges(final List<PendingChange> batch) {
+        if (batch.size() == 1) {
+            this.runPendingChange(batch.get(0));
+            return;
+        }
+
+        final PendingChange first = batch.get(0);
+        PendingChangeManager.log.debug("Running batch of {} PendingChanges of type {}",
+                batch.size(),
+                first.getClass().getSimpleName());
+
+        List<Result> results;
+        try {
+            results = first.executeBatch(batch);
+        } catch (final Throwable e) {
+            PendingChangeManager.log.error("Error while executing batch of PendingChanges of type "
+                    + first.getClass().getSimpleName() + ", marking them as failed permanently", e);
+            results = Collections.nCopies(batch.size(), Result.FAILED_PERMANENTLY);
+        }
+        if ((results == null) || (results.size() != batch.size())) {
+            PendingChangeManager.log.error("Batch of {} PendingChanges of type {} returned {} results",
+                    batch.size(),
+                    first.getClass().getSimpleName(),
+                    results == null ? null : results.size());
+            if (results == null) {
+                results = Collections.emptyList();
+            }
+        }
+        this.finishPendingChanges(batch, results);
+    }
+
+    private void finishPendingChanges(final List<PendingChange> batch, final List<Result> results) {
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                // Without a result we don't know what happened, so try again later
+                final Result result = i < results.size() ? results.get(i) : Result.FAILED_TEMPORARY;
+                try {
+                    this.finishPendingChange(batch.get(i), result);
+                } catch (final RuntimeException e) {
+                    PendingChangeManager.log.error("Error while finishing PendingChange " + batch.get(i).getId(), e);
+                }
+            }
+        } finally {
+            // Never keep the resources locked, also not when the database is unreachable
+            for (final PendingChange pc : batch) {
+                this.scheduler.complete(pc);
+            }
+        }
+    }
+
+    private void finishPendingChange(final PendingChange pc, final Result result) {
         pc.incrementCount();
         switch (result) {
         case FAILED_PERMANENTLY:
@@ -138,7 +358,7 @@ public class PendingChangeManager {
         case FAILED_TEMPORARY:
             if (pc.getCount() <= pc.maxRetryCount()) {
                 pc.setState(State.FAILED_TEMPORARY);
-                pc.setRunAt(new Date(System.currentTimeMillis() + pc.retryIntervalMs()));
+                pc.setRunAt(new Date(System.currentTimeMillis() + pc.nextRetryIntervalMs()));
             } else {
                 pc.setState(State.FAILED_PERMANENTLY);
             }
@@ -166,6 +386,7 @@ public class PendingChangeManager {
      * @param pendingChange the pending change to delete from the database
      */
     public void deletePendingChange(final PendingChange pendingChange) {
+        this.scheduler.remove(pendingChange.getId());
         MongoDbConnector.getInstance().delete(pendingChange);
     }
 
@@ -180,16 +401,15 @@ public class PendingChangeManager {
     }
 
     /**
-     * Clean up all pending changes that are either lingering or are in the FAILED_PERMANENTLY state, or inactive for a
-     * long period of time. Also clean up all locked resources, so that pending changes that are held back because they
-     * are in use, will be released.
+     * Clean up all pending changes that are in the FAILED_PERMANENTLY state. Resources that are in use are released by
+     * the scheduler as soon as the pending change that uses them is finished, and pending changes of an orchestrator
+     * that stopped are claimed by another one when their lease expires, so they do not need to be cleaned up.
      *
      * @return A String containing information about the results of the cleanup action meant for user interpretation
      */
     public String cleanPendingChanges() {
         final String ret = MongoDbConnector.getInstance().cleanPendingChanges();
         PendingChangeManager.log.info(ret);
-        this.lockedResources.clear();
         return ret;
     }
 
@@ -208,27 +428,25 @@ public class PendingChangeManager {
          */
         @Override
         public void run() {
-            final MongoDbConnector db = MongoDbConnector.getInstance();
             while (true) {
-                PendingChange pc;
-                synchronized (PendingChangeManager.this.lockedResources) {
-                    pc = db.getNextPendingChange(PendingChangeManager.this.lockedResources);
-                    if (pc != null) {
-                        PendingChangeManager.this.lockedResources.addAll(pc.getResources());
-                    }
+                final List<PendingChange> batch;
+                try {
+                    batch = PendingChangeManager.this.scheduler.take();
+                } catch (final InterruptedException e) {
+                    // Don't care
+                    continue;
                 }
 
-                if (pc == null) {
-                    // Nothing to do, take a break...
-                    synchronized (PendingChangeManager.this.waitLock) {
-                        try {
-                            PendingChangeManager.this.waitLock.wait(5000);
-                        } catch (final InterruptedException e) {
-                            // Don't care
-                        }
-                    }
-                } else {
-                    PendingChangeManager.this.runPendingChange(pc);
+                final String type = PendingChangeMetrics.typeOf(batch.get(0));
+                final long start = System.nanoTime();
+                PendingChangeManager.this.metrics.startExecution(type);
+                try {
+                    PendingChangeManager.this.runPendingChanges(batch);
+                } catch (final RuntimeException e) {
+                    // Keep the runner alive, the scheduler has already released the pending changes
+                    PendingChangeManager.log.error("Error while finishing PendingChanges of type " + type, e);
+                } finally {
+                    PendingChangeManager.this.metrics.finishExecution(type, System.nanoTime() - start);
                 }
             }
         }
@@ -0,0 +1,187 @@
+/*-
+ * #%L
+ * dEF-Pi REST Orchestrator
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.orchestrator.pendingchange;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.flexiblepower.commons.PrometheusWriter;
+
+/**
+ * PendingChangeMetrics keeps track of the pending changes per type, where the type is the simple name of the class of
+ * the pending change. For every type it counts how long pending changes waited in the queue between being due and being
+ * dispatched, how long their execution took, how many are running, and how many were dropped because a newer pending
+ * change with the same coalescing key superseded them. A batch of pending changes that is executed together counts as a
+ * single execution.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+public final class PendingChangeMetrics {
+
+    private static final String PREFIX = "defpi_pending_change_";
+
+    private final Map<String, TypeMetrics> types = new ConcurrentHashMap<>();
+
+    /**
+     * The metrics of a single type of pending change
+     */
+    public static final class TypeMetrics {
+
+        private final LongAdder queueWaitCount = new LongAdder();
+        private final LongAdder queueWaitNanos = new LongAdder();
+        private final LongAdder executionCount = new LongAdder();
+        private final LongAdder executionNanos = new LongAdder();
+        private final AtomicInteger running = new AtomicInteger();
+        private final LongAdder superseded = new LongAdder();
+
+        /**
+         * @return The number of pending changes that were dispatched
+         */
+        public long getQueueWaitCount() {
+            return this.queueWaitCount.sum();
+        }
+
+        /**
+         * @return The total time pending changes waited between being due and being dispatched, in nanoseconds
+         */
+        public long getQueueWaitNanos() {
+            return this.queueWaitNanos.sum();
+        }
+
+        /**
+         * @return The number of executions, where a batch counts as one
+         */
+        public long getExecutionCount() {
+            return this.executionCount.sum();
+        }
+
+        /**
+         * @return The total time spent executing, in nanoseconds
+         */
+        public long getExecutionNanos() {
+            return this.executionNanos.sum();
+        }
+
+        /**
+         * @return The number of executions that are currently running
+         */
+        public int getRunning() {
+            return this.running.get();
+        }
+
+        /**
+         * @return The number of pending changes that were dropped because a newer one superseded them
+         */
+        public long getSuperseded() {
+            return this.superseded.sum();
+        }
+
+    }
+
+    /**
+     * @param pendingChange The pending change to get the type of
+     * @return The type of the pending change, as it is used in the metrics and to configure the concurrency limits
+     */
+    static String typeOf(final PendingChange pendingChange) {
+        return pendingChange.getClass().getSimpleName();
+    }
+
+    /**
+     * @param type The type of pending change
+     * @return The metrics of the type, which are created if they did not exist yet
+     */
+    public TypeMetrics get(final String type) {
+        return this.types.computeIfAbsent(type, t -> new TypeMetrics());
+    }
+
+    void recordQueueWait(final String type, final long nanos) {
+        final TypeMetrics metrics = this.get(type);
+        metrics.queueWaitCount.increment();
+        metrics.queueWaitNanos.add(nanos);
+    }
+
+    void recordSuperseded(final String type) {
+        this.get(type).superseded.increment();
+    }
+
+    void startExecution(final String type) {
+        this.get(type).running.incrementAndGet();
+    }
+
+    void finishExecution(final String type, final long nanos) {
+        final TypeMetrics metrics = this.get(type);
+        metrics.running.decrementAndGet();
+        metrics.executionCount.increment();
+        metrics.executionNanos.add(nanos);
+    }
+
+    /**
+     * Write the metrics of all types of pending changes in the Prometheus text exposition format
+     *
+     * @param out The destination to write to
+     * @throws IOException When writing fails
+     */
+    public void writePrometheus(final Appendable out) throws IOException {
+        final Map<String, TypeMetrics> snapshot = new TreeMap<>(this.types);
+        final PrometheusWriter writer = new PrometheusWriter(out);
+
+        // Type names are Java identifiers, so they never need to be escaped
+        writer.family(PendingChangeMetrics.PREFIX + "queue_wait_seconds",
+                "summary",
+                "Time waited between being due and running");
+        for (final Map.Entry<String, TypeMetrics> e : snapshot.entrySet()) {
+            writer.summary(PendingChangeMetrics.PREFIX + "queue_wait_seconds",
+                    e.getValue().getQueueWaitCount(),
+                    e.getValue().getQueueWaitNanos(),
+                    "type",
+                    e.getKey());
+        }
+
+        writer.family(PendingChangeMetrics.PREFIX + "execution_seconds", "summary", "Time spent executing");
+        for (final Map.Entry<String, TypeMetrics> e : snapshot.entrySet()) {
+            writer.summary(PendingChangeMetrics.PREFIX + "execution_seconds",
+                    e.getValue().getExecutionCount(),
+                    e.getValue().getExecutionNanos(),
+                    "type",
+                    e.getKey());
+        }
+
+        writer.family(PendingChangeMetrics.PREFIX + "running", "gauge", "Executions currently running");
+        for (final Map.Entry<String, TypeMetrics> e : snapshot.entrySet()) {
+            writer.sample(PendingChangeMetrics.PREFIX + "running", e.getValue().getRunning(), "type", e.getKey());
+        }
+
+        writer.family(PendingChangeMetrics.PREFIX + "superseded_total",
+                "counter",
+                "Pending changes dropped by coalescing");
+        for (final Map.Entry<String, TypeMetrics> e : snapshot.entrySet()) {
+            writer.sample(PendingChangeMetrics.PREFIX + "superseded_total",
+                    e.getValue().getSuperseded(),
+                    "type",
+                    e.getKey());
+        }
+    }
+
+}
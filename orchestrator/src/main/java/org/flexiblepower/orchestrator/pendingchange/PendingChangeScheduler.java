@@ -0,0 +1,471 @@
+/*-
+ * #%L
+ * dEF-Pi REST Orchestrator
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.orchestrator.pendingchange;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.bson.types.ObjectId;
+import org.flexiblepower.commons.TimerWheel;
+import org.flexiblepower.connectors.CircuitBreaker;
+
+/**
+ * The PendingChangeScheduler decides in memory which pending changes may be executed, so the runners do not have to
+ * poll the database. Pending changes that should run in the future wait in a {@link TimerWheel} until their
+ * {@code runAt} time. When they are due, they are appended to a FIFO lane for every resource they use. A pending change
+ * is dispatched when it is at the head of all of its lanes, which means no other pending change is using any of its
+ * resources, and no older pending change is waiting for one of them.
+ * <p>
+ * A pending change that is about to be dispatched while the {@link CircuitBreaker} of one of its dependencies is open
+ * is parked in the timer wheel until the breaker lets a request through again. It keeps its place in its lanes, so
+ * pending changes for the same resources do not overtake it.
+ * <p>
+ * The number of pending changes of the same type that run at the same time may be limited, so a flood of slow pending
+ * changes of one type cannot occupy all runners. Pending changes of a type that reached its limit stay ready, and other
+ * types are dispatched first.
+ * <p>
+ * Of two waiting pending changes with the same coalescing key, the newer one may supersede the older one, which is then
+ * dropped. The newer pending change takes its own place in the lanes, so it runs after everything that was added before
+ * it.
+ * <p>
+ * All functions are synchronized on the scheduler, and take O(log n) time, except for removing a pending change that is
+ * not at the head of its lanes. Waiting runners wake up once per tick of the timer wheel while pending changes wait in
+ * it; only one of them waits for the tick, the others wait until they are notified.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+class PendingChangeScheduler {
+
+    /**
+     * The maximum number of pending changes that are dispatched together in a single batch
+     */
+    static final int MAX_BATCH_SIZE = 100;
+
+    private static final long TICK_MS = 100;
+    private static final int WHEEL_SLOTS = 512;
+
+    private static final Comparator<Entry> ORDER = Comparator.<Entry> comparingLong(e -> e.runAt)
+            .thenComparingLong(e -> e.sequence);
+
+    private final Map<ObjectId, Entry> entries = new HashMap<>();
+    private final TimerWheel<Entry> timers = new TimerWheel<>(PendingChangeScheduler.TICK_MS,
+            PendingChangeScheduler.WHEEL_SLOTS,
+            System.currentTimeMillis());
+    private final Map<String, PriorityQueue<Entry>> ready = new HashMap<>();
+    private final Map<String, Integer> running = new HashMap<>();
+    private final Map<ObjectId, ArrayDeque<Entry>> lanes = new HashMap<>();
+    private final Map<String, Entry> waitingByKey = new HashMap<>();
+    private final PendingChangeMetrics metrics;
+    private final int defaultLimit;
+    private final Map<String, Integer> limits;
+    private long nextSequence = 0;
+    private boolean tickWaiter = false;
+
+    /**
+     * A pending change with the state the scheduler keeps for it
+     */
+    private static final class Entry {
+
+        final PendingChange pendingChange;
+        final String type;
+        final Set<ObjectId> resources = new LinkedHashSet<>();
+        final long runAt;
+        final long sequence;
+        long queuedAt;
+        boolean queued;
+        boolean parked;
+        boolean ready;
+        boolean running;
+        boolean holdsSlot;
+
+        Entry(final PendingChange pendingChange, final long sequence) {
+            this.pendingChange = pendingChange;
+            this.type = PendingChangeMetrics.typeOf(pendingChange);
+            this.runAt = pendingChange.getRunAt() == null ? 0 : pendingChange.getRunAt().getTime();
+            this.sequence = sequence;
+            if (pendingChange.getResources() != null) {
+                for (final ObjectId resource : pendingChange.getResources()) {
+                    if (resource != null) {
+                        this.resources.add(resource);
+                    }
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Create a scheduler that does not limit the number of pending changes of the same type that run together
+     */
+    PendingChangeScheduler() {
+        this(new PendingChangeMetrics(), Integer.MAX_VALUE, Collections.emptyMap());
+    }
+
+    /**
+     * @param metrics The metrics to record the time pending changes wait in the queue in
+     * @param defaultLimit The maximum number of pending changes of a single type that may run together
+     * @param limits The maximum number of pending changes that may run together for specific types, overriding the
+     *            default limit
+     */
+    PendingChangeScheduler(final PendingChangeMetrics metrics,
+            final int defaultLimit,
+            final Map<String, Integer> limits) {
+        this.metrics = metrics;
+        this.defaultLimit = defaultLimit;
+        this.limits = limits;
+    }
+
+    /**
+     * Add a pending change, so it will be dispatched when it is due and all of its resources are free. If a pending
+     * change with the same id was already added but is not running, it is replaced.
+     * <p>
+     * If another pending change with the same coalescing key is waiting, the newer of the two is asked whether it
+     * supersedes the older one. The superseded pending change, which may be the one that is added, is dropped and
+     * returned, so it can be removed from the database.
+     *
+     * @param pendingChange The pending change to add
+     * @return The pending change that was superseded, or null if none was
+     */
+    synchronized PendingChange add(final PendingChange pendingChange) {
+        final Entry old = this.entries.get(pendingChange.getId());
+        if (old != null) {
+            if (old.running) {
+                throw new IllegalStateException("Pending change " + pendingChange.getId() + " is already running");
+            }
+            this.removeEntry(old);
+        }
+
+        PendingChange superseded = null;
+        final String key = pendingChange.getCoalescingKey();
+        final Entry waiting = key == null ? null : this.waitingByKey.get(key);
+        if (waiting != null) {
+            if (waiting.pendingChange.isNewerThan(pendingChange)) {
+                if (waiting.pendingChange.coalesce(pendingChange)) {
+                    this.metrics.recordSuperseded(PendingChangeMetrics.typeOf(pendingChange));
+                    return pendingChange;
+                }
+            } else if (pendingChange.coalesce(waiting.pendingChange)) {
+                this.removeEntry(waiting);
+                this.metrics.recordSuperseded(waiting.type);
+                superseded = waiting.pendingChange;
+            }
+        }
+
+        final Entry entry = new Entry(pendingChange, this.nextSequence++);
+        this.entries.put(pendingChange.getId(), entry);
+        if (key != null) {
+            this.waitingByKey.putIfAbsent(key, entry);
+        }
+        if (entry.runAt > System.currentTimeMillis()) {
+            this.timers.schedule(entry, entry.runAt);
+        } else {
+            this.enqueue(entry);
+        }
+        this.notifyAll();
+        return superseded;
+    }
+
+    /**
+     * Wait until a pending change can be executed, and mark it as running. Pending changes with the same type and batch
+     * key that are waiting directly behind it are returned in the same batch, as long as they are not waiting for any
+     * other pending change. The batch counts as one running pending change towards the limit of its type, until the
+     * first pending change of the batch is completed.
+     *
+     * @return The pending changes to execute, which has at least one element
+     * @throws InterruptedException When the thread is interrupted while waiting
+     */
+    synchronized List<PendingChange> take() throws InterruptedException {
+        while (true) {
+            final List<PendingChange> batch = this.poll();
+            if (batch != null) {
+                if (!this.timers.isEmpty() && !this.tickWaiter) {
+                    // Let another runner wait for the next tick instead
+                    this.notify();
+                }
+                return batch;
+            } else if (this.timers.isEmpty() || this.tickWaiter) {
+                this.wait();
+            } else {
+                this.tickWaiter = true;
+                try {
+                    this.wait(Math.max(1, this.timers.nextTickMs() - System.currentTimeMillis()));
+                } finally {
+                    this.tickWaiter = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Take a pending change that can be executed right now, like {@link #take()} but without waiting.
+     *
+     * @return The pending changes to execute, or null if no pending change can be executed
+     */
+    synchronized List<PendingChange> poll() {
+        final List<Entry> expired = this.timers.advance(System.currentTimeMillis());
+        expired.sort(PendingChangeScheduler.ORDER);
+        for (final Entry entry : expired) {
+            if (entry.queued) {
+                entry.parked = false;
+                this.checkReady(entry);
+            } else {
+                this.enqueue(entry);
+            }
+        }
+
+        while (true) {
+            // Take the oldest ready pending change of a type that did not reach its limit
+            PriorityQueue<Entry> next = null;
+            for (final Map.Entry<String, PriorityQueue<Entry>> e : this.ready.entrySet()) {
+                if (this.running.getOrDefault(e.getKey(), 0) >= this.limitOf(e.getKey())) {
+                    continue;
+                }
+                if ((next == null) || (PendingChangeScheduler.ORDER.compare(e.getValue().peek(), next.peek()) < 0)) {
+                    next = e.getValue();
+                }
+            }
+            if (next == null) {
+                return null;
+            }
+
+            final Entry first = next.poll();
+            if (next.isEmpty()) {
+                this.ready.remove(first.type);
+            }
+            first.ready = false;
+
+            final long retryAt = PendingChangeScheduler.blockedUntil(first);
+            if (retryAt > 0) {
+                first.parked = true;
+                this.timers.schedule(first, retryAt);
+                continue;
+            }
+
+            first.holdsSlot = true;
+            this.running.merge(first.type, 1, Integer::sum);
+            return this.dispatch(first);
+        }
+    }
+
+    /**
+     * @return The time until which one of the dependencies of the pending change does not accept requests, or 0 if it
+     *         may be executed now
+     */
+    private static long blockedUntil(final Entry entry) {
+        for (final String dependency : entry.pendingChange.dependencies()) {
+            final CircuitBreaker breaker = CircuitBreaker.get(dependency);
+            if (!breaker.allowRequest()) {
+                return breaker.getRetryAt();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Mark a pending change that was running as finished, so its resources are freed for the next pending change. It
+     * does nothing if the pending change is not running, for instance because it was completed and added again.
+     *
+     * @param pendingChange The pending change that was taken from the scheduler earlier
+     */
+    synchronized void complete(final PendingChange pendingChange) {
+        final Entry entry = this.entries.get(pendingChange.getId());
+        if ((entry != null) && entry.running) {
+            if (entry.holdsSlot) {
+                this.running.computeIfPresent(entry.type, (t, n) -> n > 1 ? n - 1 : null);
+                this.notifyAll();
+            }
+            this.removeEntry(entry);
+        }
+    }
+
+    /**
+     * @param pendingChangeId The id of the pending change to look for
+     * @return Whether the pending change is waiting or running
+     */
+    synchronized boolean contains(final ObjectId pendingChangeId) {
+        return this.entries.containsKey(pendingChangeId);
+    }
+
+    /**
+     * Remove a pending change that is waiting to be executed.
+     *
+     * @param pendingChangeId The id of the pending change to remove
+     * @return Whether the pending change was removed, which is not the case if it is not known or running
+     */
+    synchronized boolean remove(final ObjectId pendingChangeId) {
+        final Entry entry = this.entries.get(pendingChangeId);
+        if ((entry == null) || entry.running) {
+            return false;
+        }
+        this.removeEntry(entry);
+        return true;
+    }
+
+    /**
+     * @return The number of pending changes that are waiting or running
+     */
+    synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * @param type The type of pending change
+     * @return The maximum number of pending changes of the type that may run together
+     */
+    int limitOf(final String type) {
+        return this.limits.getOrDefault(type, this.defaultLimit);
+    }
+
+    /**
+     * Append a pending change that is due to the lanes of its resources
+     */
+    private void enqueue(final Entry entry) {
+        entry.queued = true;
+        entry.queuedAt = System.nanoTime();
+        for (final ObjectId resource : entry.resources) {
+            this.lanes.computeIfAbsent(resource, r -> new ArrayDeque<>()).addLast(entry);
+        }
+        this.checkReady(entry);
+    }
+
+    /**
+     * Mark a pending change as ready when it is at the head of all of its lanes
+     */
+    private void checkReady(final Entry entry) {
+        if (!entry.queued || entry.parked || entry.ready || entry.running) {
+            return;
+        }
+        for (final ObjectId resource : entry.resources) {
+            if (this.lanes.get(resource).peekFirst() != entry) {
+                return;
+            }
+        }
+        entry.ready = true;
+        this.ready.computeIfAbsent(entry.type, t -> new PriorityQueue<>(PendingChangeScheduler.ORDER)).add(entry);
+        this.notifyAll();
+    }
+
+    private List<PendingChange> dispatch(final Entry first) {
+        final long now = System.nanoTime();
+        this.markRunning(first, now);
+        final List<PendingChange> batch = new ArrayList<>();
+        batch.add(first.pendingChange);
+
+        final ObjectId batchKey = first.pendingChange.getBatchKey();
+        final ArrayDeque<Entry> lane = batchKey == null ? null : this.lanes.get(batchKey);
+        if ((lane == null) || !first.resources.contains(batchKey)) {
+            return batch;
+        }
+
+        // Take the pending changes of the same batch directly behind the first one, if nothing else is in their way
+        final Set<Entry> members = new HashSet<>();
+        members.add(first);
+        for (final Entry candidate : lane) {
+            if (candidate == first) {
+                continue;
+            }
+            if ((batch.size() >= PendingChangeScheduler.MAX_BATCH_SIZE) || candidate.running
+                    || !candidate.pendingChange.getClass().equals(first.pendingChange.getClass())
+                    || !batchKey.equals(candidate.pendingChange.getBatchKey()) || !this.isBehind(candidate, members)) {
+                break;
+            }
+            this.markRunning(candidate, now);
+            members.add(candidate);
+            batch.add(candidate.pendingChange);
+        }
+        return batch;
+    }
+
+    /**
+     * Mark a pending change as running, after which it can no longer be superseded
+     */
+    private void markRunning(final Entry entry, final long now) {
+        entry.running = true;
+        this.metrics.recordQueueWait(entry.type, now - entry.queuedAt);
+        this.forgetKey(entry);
+    }
+
+    private void forgetKey(final Entry entry) {
+        final String key = entry.pendingChange.getCoalescingKey();
+        if (key != null) {
+            this.waitingByKey.remove(key, entry);
+        }
+    }
+
+    /**
+     * @return Whether the pending change only waits for the given pending changes in all of its lanes
+     */
+    private boolean isBehind(final Entry entry, final Set<Entry> members) {
+        for (final ObjectId resource : entry.resources) {
+            for (final Entry ahead : this.lanes.get(resource)) {
+                if (ahead == entry) {
+                    break;
+                } else if (!members.contains(ahead)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void removeEntry(final Entry entry) {
+        this.entries.remove(entry.pendingChange.getId());
+        this.forgetKey(entry);
+        if (entry.ready) {
+            final PriorityQueue<Entry> queue = this.ready.get(entry.type);
+            queue.remove(entry);
+            if (queue.isEmpty()) {
+                this.ready.remove(entry.type);
+            }
+            entry.ready = false;
+        }
+        this.timers.cancel(entry);
+        entry.parked = false;
+        if (!entry.queued) {
+            return;
+        }
+
+        entry.queued = false;
+        for (final ObjectId resource : entry.resources) {
+            final ArrayDeque<Entry> lane = this.lanes.get(resource);
+            if (lane.peekFirst() == entry) {
+                lane.pollFirst();
+            } else {
+                lane.remove(entry);
+            }
+            if (lane.isEmpty()) {
+                this.lanes.remove(resource);
+            } else {
+                this.checkReady(lane.peekFirst());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+/*-
+ * #%L
+ * dEF-Pi REST Orchestrator
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.orchestrator.pendingchange;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import lombok.Getter;
+
+/**
+ * A RetryPolicy decides how long a pending change waits before it is attempted again after a temporary failure, and
+ * how often it is attempted. The interval grows exponentially with "decorrelated jitter": every interval is picked at
+ * random between the base interval and three times the previous interval, and is capped at a maximum. The randomness
+ * spreads out the retries of pending changes that failed at the same time, for instance because Docker was down, so
+ * they do not all hit the dependency again at the same moment.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+@Getter
+public final class RetryPolicy {
+
+    /**
+     * The policy that is used by pending changes that do not specify their own
+     */
+    public static final RetryPolicy DEFAULT = new RetryPolicy(Duration.ofSeconds(5).toMillis(),
+            Duration.ofHours(1).toMillis(),
+            1000);
+
+    private final long baseIntervalMs;
+    private final long maxIntervalMs;
+    private final int maxRetryCount;
+
+    /**
+     * @param baseIntervalMs The minimum time to wait before retrying, in milliseconds
+     * @param maxIntervalMs The maximum time to wait before retrying, in milliseconds
+     * @param maxRetryCount The number of times to retry before failing permanently
+     */
+    public RetryPolicy(final long baseIntervalMs, final long maxIntervalMs, final int maxRetryCount) {
+        if ((baseIntervalMs <= 0) || (maxIntervalMs < baseIntervalMs)) {
+            throw new IllegalArgumentException("Invalid retry intervals " + baseIntervalMs + ", " + maxIntervalMs);
+        }
+        this.baseIntervalMs = baseIntervalMs;
+        this.maxIntervalMs = maxIntervalMs;
+        this.maxRetryCount = maxRetryCount;
+    }
+
+    /**
+     * @param previousIntervalMs The interval that was used before the previous attempt, or 0 if there was none
+     * @return The time to wait before the next attempt, in milliseconds
+     */
+    public long nextIntervalMs(final long previousIntervalMs) {
+        final long upper = Math.min(this.maxIntervalMs, Math.max(this.baseIntervalMs, previousIntervalMs) * 3);
+        if (upper <= this.baseIntervalMs) {
+            return this.baseIntervalMs;
+        }
+        return ThreadLocalRandom.current().nextLong(this.baseIntervalMs, upper + 1);
+    }
+
+}
@@ -22,6 +22,7 @@ package org.flexiblepower.process;
 import java.util.Collections;
 import java.util.List;
 
+import org.flexiblepower.connectors.CircuitBreaker;
 import org.flexiblepower.connectors.MongoDbConnector;
 import org.flexiblepower.connectors.ProcessConnector;
 import org.flexiblepower.exceptions.ProcessNotFoundException;
@@ -60,10 +61,17 @@ class ChangeProcessConfiguration extends PendingChange {
     ChangeProcessConfiguration(final Process process, final List<ProcessParameter> newConfiguration) {
         super(process.getUserId());
         this.resources = Collections.singletonList(process.getId());
+        // The new configuration replaces the complete configuration, so an older update that did not start is redundant
+        this.coalescingKey = "ChangeProcessConfiguration:" + process.getId();
         this.process = process;
         this.newConfiguration = newConfiguration;
     }
 
+    @Override
+    public List<String> dependencies() {
+        return Collections.singletonList(CircuitBreaker.process(this.process.getId()));
+    }
+
     @Override
     public String description() {
         return "Update configuration of process " + this.process.getId();
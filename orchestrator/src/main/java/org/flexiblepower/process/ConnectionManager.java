@@ -21,8 +21,10 @@ package org.flexiblepower.process;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 
 import org.bson.types.ObjectId;
 import org.flexiblepower.connectors.MongoDbConnector;
@@ -51,7 +53,18 @@ import lombok.extern.slf4j.Slf4j;
 @SuppressWarnings("static-method")
 public class ConnectionManager {
 
+    /**
+     * The key, or system variable name, which holds a boolean that decides whether all connections between the same
+     * two processes share a single TCP link.
+     */
+    public static final String CONNECTION_MULTIPLEXING_KEY = "CONNECTION_MULTIPLEXING";
+    private static final boolean CONNECTION_MULTIPLEXING_DFLT = false;
+
+    private static final int MIN_PORT = 5000;
+    private static final int PORT_RANGE = 5000;
+
     private static ConnectionManager instance;
+    private static final Random random = new Random();
 
     private ConnectionManager() {
         // Private constructor
@@ -67,6 +80,16 @@ public class ConnectionManager {
         return ConnectionManager.instance;
     }
 
+    /**
+     * @return whether connections between the same two processes should share a single TCP link, as configured by the
+     *         {@value #CONNECTION_MULTIPLEXING_KEY} environment variable
+     */
+    public static boolean isMultiplexing() {
+        final String multiplexingFromEnv = System.getenv(ConnectionManager.CONNECTION_MULTIPLEXING_KEY);
+        return (multiplexingFromEnv != null ? Boolean.parseBoolean(multiplexingFromEnv)
+                : ConnectionManager.CONNECTION_MULTIPLEXING_DFLT);
+    }
+
     /**
      * @return a list of all connections that are stored in the database
      */
@@ -167,8 +190,36 @@ public class ConnectionManager {
         connection.getEndpoint2().setInterfaceVersionName(best2);
     }
 
-    private static void setPort(final Connection connection) {
-        connection.setPort(5000 + new Random().nextInt(5000));
+    /**
+     * Pick the port for a new connection. The port is not used by any other connection of either process, unless
+     * connections are multiplexed and there is already a connection between the same two processes; in that case the
+     * new connection shares its port, and hence its TCP link.
+     */
+    private static void setPort(final Connection connection) throws ProcessNotFoundException {
+        final Process process1 = ProcessManager.getInstance().getProcess(connection.getEndpoint1().getProcessId());
+        final Process process2 = ProcessManager.getInstance().getProcess(connection.getEndpoint2().getProcessId());
+        final boolean multiplexing = ConnectionManager.isMultiplexing();
+
+        final Set<Integer> usedPorts = new HashSet<>();
+        for (final Connection c : ConnectionManager.getInstance().getConnectionsForProcess(process1)) {
+            if (multiplexing
+                    && c.getOtherEndpoint(c.getEndpointForProcess(process1)).getProcessId().equals(process2.getId())) {
+                connection.setPort(c.getPort());
+                return;
+            }
+            usedPorts.add(c.getPort());
+        }
+        for (final Connection c : ConnectionManager.getInstance().getConnectionsForProcess(process2)) {
+            usedPorts.add(c.getPort());
+        }
+
+        // Start at a random offset, and take the first port that is free
+        final int offset = ConnectionManager.random.nextInt(ConnectionManager.PORT_RANGE);
+        int port = ConnectionManager.MIN_PORT + offset;
+        for (int i = 1; (i < ConnectionManager.PORT_RANGE) && usedPorts.contains(port); i++) {
+            port = ConnectionManager.MIN_PORT + ((offset + i) % ConnectionManager.PORT_RANGE);
+        }
+        connection.setPort(port);
     }
 
     private static void validateConnection(final Connection c) {
@@ -19,10 +19,13 @@
  */
 package org.flexiblepower.process;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import org.bson.types.ObjectId;
+import org.flexiblepower.connectors.CircuitBreaker;
 import org.flexiblepower.connectors.ProcessConnector;
 import org.flexiblepower.exceptions.ProcessNotFoundException;
 import org.flexiblepower.model.Connection;
@@ -67,10 +70,17 @@ class CreateConnectionEndpoint extends PendingChange {
                 endpoint.getProcessId(),
                 this.getUserId(),
                 connection.getOtherEndpoint(endpoint).getProcessId()));
+        this.batchKey = endpoint.getProcessId();
+        this.coalescingKey = "CreateConnectionEndpoint:" + connection.getId() + ":" + endpoint.getProcessId();
         this.connection = connection;
         this.endpoint = endpoint;
     }
 
+    @Override
+    public List<String> dependencies() {
+        return Collections.singletonList(CircuitBreaker.process(this.endpoint.getProcessId()));
+    }
+
     @Override
     public String description() {
         return "Creating connection for Process " + this.endpoint.getProcessId() + " with interface "
@@ -100,4 +110,37 @@ class CreateConnectionEndpoint extends PendingChange {
         }
     }
 
+    /**
+     * Signal the process to create all connection endpoints in the batch in a single exchange
+     */
+    @Override
+    public List<Result> executeBatch(final List<PendingChange> batch) {
+        final List<Connection> connections = new ArrayList<>(batch.size());
+        final List<Endpoint> endpoints = new ArrayList<>(batch.size());
+        for (final PendingChange pc : batch) {
+            connections.add(((CreateConnectionEndpoint) pc).connection);
+            endpoints.add(((CreateConnectionEndpoint) pc).endpoint);
+        }
+
+        try {
+            final List<Boolean> created = ProcessConnector.getInstance()
+                    .createConnectionEndpoints(this.endpoint.getProcessId(), connections, endpoints);
+            final List<Result> results = new ArrayList<>(batch.size());
+            for (final Boolean success : created) {
+                results.add(success ? Result.SUCCESS : Result.FAILED_TEMPORARY);
+            }
+            CreateConnectionEndpoint.log.info("Signaled process {} to create {} connections, {} succeeded",
+                    this.endpoint.getProcessId(),
+                    batch.size(),
+                    Collections.frequency(results, Result.SUCCESS));
+            return results;
+        } catch (final ProcessNotFoundException e) {
+            CreateConnectionEndpoint.log.error("Could not signal process {} to create {} connections ({})",
+                    this.endpoint.getProcessId(),
+                    batch.size(),
+                    e.getMessage());
+            return Collections.nCopies(batch.size(), Result.FAILED_PERMANENTLY);
+        }
+    }
+
 }
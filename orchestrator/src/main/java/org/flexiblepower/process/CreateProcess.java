@@ -21,7 +21,9 @@ package org.flexiblepower.process;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
+import org.flexiblepower.connectors.CircuitBreaker;
 import org.flexiblepower.connectors.DockerConnector;
 import org.flexiblepower.connectors.MongoDbConnector;
 import org.flexiblepower.connectors.ProcessConnector;
@@ -71,6 +73,11 @@ class CreateProcess {
             this.process = process;
         }
 
+        @Override
+        public List<String> dependencies() {
+            return Arrays.asList(CircuitBreaker.DOCKER, CircuitBreaker.REGISTRY);
+        }
+
         @Override
         public String description() {
             return "Create Docker Service for process " + this.process.getId();
@@ -130,9 +137,16 @@ class CreateProcess {
         SendConfiguration(final Process process) {
             super(process.getUserId());
             this.resources = Collections.singletonList(process.getId());
+            // Only the latest configuration has to be sent if the process is triggered several times
+            this.coalescingKey = "SendConfiguration:" + process.getId();
             this.process = process;
         }
 
+        @Override
+        public List<String> dependencies() {
+            return Collections.singletonList(CircuitBreaker.process(this.process.getId()));
+        }
+
         @Override
         public String description() {
             return "Initializing process " + this.process.getId();
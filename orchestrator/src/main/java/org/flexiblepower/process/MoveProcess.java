@@ -21,8 +21,10 @@ package org.flexiblepower.process;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import org.bson.types.ObjectId;
+import org.flexiblepower.connectors.CircuitBreaker;
 import org.flexiblepower.connectors.DockerConnector;
 import org.flexiblepower.connectors.MongoDbConnector;
 import org.flexiblepower.connectors.ProcessConnector;
@@ -34,6 +36,7 @@ import org.flexiblepower.model.Process;
 import org.flexiblepower.model.Process.ProcessState;
 import org.flexiblepower.orchestrator.pendingchange.PendingChange;
 import org.flexiblepower.orchestrator.pendingchange.PendingChangeManager;
+import org.flexiblepower.orchestrator.pendingchange.RetryPolicy;
 import org.mongodb.morphia.annotations.Entity;
 
 import lombok.extern.slf4j.Slf4j;
@@ -79,6 +82,11 @@ class MoveProcess {
             this.endpoint = endpoint;
         }
 
+        @Override
+        public List<String> dependencies() {
+            return Collections.singletonList(CircuitBreaker.process(this.endpoint.getProcessId()));
+        }
+
         @Override
         public String description() {
             return "Suspending connection for Process " + this.endpoint.getProcessId() + " with interface "
@@ -117,6 +125,8 @@ class MoveProcess {
     @Slf4j
     static class SuspendProcess extends PendingChange {
 
+        private static final RetryPolicy RETRY_POLICY = new RetryPolicy(1000, 30000, 1000);
+
         private Process process;
         private ObjectId nodePoolId;
         private ObjectId privateNodeId;
@@ -147,6 +157,11 @@ class MoveProcess {
 
         }
 
+        @Override
+        public List<String> dependencies() {
+            return Collections.singletonList(CircuitBreaker.process(this.process.getId()));
+        }
+
         @Override
         public String description() {
             return "Suspend process " + this.process.getId();
@@ -159,8 +174,8 @@ class MoveProcess {
         }
 
         @Override
-        protected long retryIntervalMs() {
-            return 1000;
+        protected RetryPolicy retryPolicy() {
+            return SuspendProcess.RETRY_POLICY;
         }
 
         @Override
@@ -251,6 +266,11 @@ class MoveProcess {
             this.suspendState = suspendState;
         }
 
+        @Override
+        public List<String> dependencies() {
+            return Collections.singletonList(CircuitBreaker.DOCKER);
+        }
+
         @Override
         public String description() {
             return "Remove Docker Service for process " + this.process.getId() + " while moving process";
@@ -332,6 +352,11 @@ class MoveProcess {
             }
         }
 
+        @Override
+        public List<String> dependencies() {
+            return Arrays.asList(CircuitBreaker.DOCKER, CircuitBreaker.REGISTRY);
+        }
+
         @Override
         public String description() {
             return "Create Docker Service for process " + this.process.getId() + " while moving process";
@@ -400,6 +425,11 @@ class MoveProcess {
             this.suspendState = suspendState;
         }
 
+        @Override
+        public List<String> dependencies() {
+            return Collections.singletonList(CircuitBreaker.process(this.process.getId()));
+        }
+
         @Override
         public String description() {
             return "Resume Process " + this.process.getId() + " after moving process";
@@ -465,6 +495,11 @@ class MoveProcess {
             this.endpoint = endpoint;
         }
 
+        @Override
+        public List<String> dependencies() {
+            return Collections.singletonList(CircuitBreaker.process(this.endpoint.getProcessId()));
+        }
+
         @Override
         public String description() {
             return "Resuming connection for Process " + this.endpoint.getProcessId() + " with interface "
@@ -204,12 +204,9 @@ public class ProcessManager {
      * @return The process with the service id specified in the {@value #DASHBOARD_GATEWAY_SERVICE_ID_KEY}
      */
     public Process getDashboardGateway() {
-        for (final Process p : this.listProcesses()) {
-            if (p.getServiceId().equals(ProcessManager.getDashboardGatewayServiceId())) {
-                return p;
-            }
-        }
-        return null;
+        final List<Process> gateways = this.mongoDbConnector
+                .listProcessesForService(ProcessManager.getDashboardGatewayServiceId());
+        return gateways.isEmpty() ? null : gateways.get(0);
     }
 
     /**
@@ -19,10 +19,13 @@
  */
 package org.flexiblepower.process;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import org.bson.types.ObjectId;
+import org.flexiblepower.connectors.CircuitBreaker;
 import org.flexiblepower.connectors.ProcessConnector;
 import org.flexiblepower.exceptions.ProcessNotFoundException;
 import org.flexiblepower.model.Connection;
@@ -64,10 +67,16 @@ class TerminateConnection extends PendingChange {
                 endpoint.getProcessId(),
                 this.getUserId(),
                 connection.getOtherEndpoint(endpoint).getProcessId()));
+        this.batchKey = endpoint.getProcessId();
         this.connection = connection;
         this.endpoint = endpoint;
     }
 
+    @Override
+    public List<String> dependencies() {
+        return Collections.singletonList(CircuitBreaker.process(this.endpoint.getProcessId()));
+    }
+
     @Override
     public String description() {
         return "Removing connection for Process " + this.endpoint.getProcessId() + " with interface "
@@ -95,4 +104,37 @@ class TerminateConnection extends PendingChange {
         }
     }
 
+    /**
+     * Signal the process to terminate all connection endpoints in the batch in a single exchange
+     */
+    @Override
+    public List<Result> executeBatch(final List<PendingChange> batch) {
+        final List<Connection> connections = new ArrayList<>(batch.size());
+        final List<Endpoint> endpoints = new ArrayList<>(batch.size());
+        for (final PendingChange pc : batch) {
+            connections.add(((TerminateConnection) pc).connection);
+            endpoints.add(((TerminateConnection) pc).endpoint);
+        }
+
+        try {
+            final List<Boolean> terminated = ProcessConnector.getInstance()
+                    .terminateConnectionEndpoints(this.endpoint.getProcessId(), connections, endpoints);
+            final List<Result> results = new ArrayList<>(batch.size());
+            for (final Boolean success : terminated) {
+                results.add(success ? Result.SUCCESS : Result.FAILED_TEMPORARY);
+            }
+            TerminateConnection.log.info("Signaled process {} to terminate {} connections, {} succeeded",
+                    this.endpoint.getProcessId(),
+                    batch.size(),
+                    Collections.frequency(results, Result.SUCCESS));
+            return results;
+        } catch (final ProcessNotFoundException e) {
+            TerminateConnection.log.error("Could not signal process {} to terminate {} connections ({})",
+                    this.endpoint.getProcessId(),
+                    batch.size(),
+                    e.getMessage());
+            return Collections.nCopies(batch.size(), Result.FAILED_PERMANENTLY);
+        }
+    }
+
 }
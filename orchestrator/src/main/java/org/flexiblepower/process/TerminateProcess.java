@@ -20,13 +20,16 @@
 package org.flexiblepower.process;
 
 import java.util.Collections;
+import java.util.List;
 
+import org.flexiblepower.connectors.CircuitBreaker;
 import org.flexiblepower.connectors.DockerConnector;
 import org.flexiblepower.connectors.MongoDbConnector;
 import org.flexiblepower.connectors.ProcessConnector;
 import org.flexiblepower.exceptions.ProcessNotFoundException;
 import org.flexiblepower.model.Process;
 import org.flexiblepower.orchestrator.pendingchange.PendingChange;
+import org.flexiblepower.orchestrator.pendingchange.RetryPolicy;
 import org.mongodb.morphia.annotations.Entity;
 
 import lombok.extern.slf4j.Slf4j;
@@ -49,6 +52,8 @@ class TerminateProcess {
     @Entity("PendingChange")
     static class SendTerminateSignal extends PendingChange {
 
+        private static final RetryPolicy RETRY_POLICY = new RetryPolicy(1000, 4000, 3);
+
         private Process process;
 
         @Override
@@ -74,20 +79,19 @@ class TerminateProcess {
         }
 
         @Override
-        public String description() {
-            return "Send terminate signal to process " + this.process.getId();
+        public List<String> dependencies() {
+            return Collections.singletonList(CircuitBreaker.process(this.process.getId()));
         }
 
         @Override
-        protected int maxRetryCount() {
-            // This one does not get that many changes
-            return 3;
+        public String description() {
+            return "Send terminate signal to process " + this.process.getId();
         }
 
         @Override
-        protected long retryIntervalMs() {
+        protected RetryPolicy retryPolicy() {
             // This one does not get that many changes
-            return 1000;
+            return SendTerminateSignal.RETRY_POLICY;
         }
 
         @Override
@@ -141,6 +145,11 @@ class TerminateProcess {
             this.process = process;
         }
 
+        @Override
+        public List<String> dependencies() {
+            return Collections.singletonList(CircuitBreaker.DOCKER);
+        }
+
         @Override
         public String description() {
             return "Removing Docker Service for process " + this.process.getId();
@@ -167,6 +176,7 @@ class TerminateProcess {
                 RemoveDockerService.log
                         .debug("Removing Docker service for process " + this.process.getId() + " was successful");
                 MongoDbConnector.getInstance().delete(this.process);
+                CircuitBreaker.remove(CircuitBreaker.process(this.process.getId()));
                 return Result.SUCCESS;
             } else {
                 RemoveDockerService.log
@@ -19,6 +19,8 @@
  */
 package org.flexiblepower.rest;
 
+import java.io.IOException;
+
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
@@ -26,8 +28,10 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 
+import org.flexiblepower.commons.PrometheusWriter;
 import org.flexiblepower.connectors.DockerConnector;
 import org.flexiblepower.exceptions.AuthorizationException;
+import org.flexiblepower.orchestrator.pendingchange.PendingChangeManager;
 
 /**
  * UtilApi contains some utilities for the running server. These are not published via swagger or the WADL, but are
@@ -72,4 +76,18 @@ public class UtilApi extends BaseApi {
         return DockerConnector.getInstance().getServiceHealth();
     }
 
+    /**
+     * @return The metrics of the pending changes in the Prometheus text format. They do not require authorization, so
+     *         they can be scraped, and only contain the types of pending changes and timings.
+     * @throws IOException When the metrics cannot be written
+     */
+    @GET
+    @Path("metrics")
+    @Produces(PrometheusWriter.CONTENT_TYPE)
+    public String getMetrics() throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        PendingChangeManager.getInstance().getMetrics().writePrometheus(sb);
+        return sb.toString();
+    }
+
 }
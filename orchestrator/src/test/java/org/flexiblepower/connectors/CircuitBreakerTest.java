@@ -0,0 +1,94 @@
+/*-
+ * #%L
+ * dEF-Pi REST Orchestrator
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.connectors;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.flexiblepower.connectors.CircuitBreaker.State;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * CircuitBreakerTest
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+@SuppressWarnings({"static-method", "javadoc"})
+public class CircuitBreakerTest {
+
+    @Test
+    public void testOpenAndClose() {
+        final AtomicLong now = new AtomicLong(1000);
+        final CircuitBreaker breaker = new CircuitBreaker("test", now::get);
+
+        for (int i = 1; i < CircuitBreaker.FAILURE_THRESHOLD; i++) {
+            breaker.recordFailure();
+            Assertions.assertTrue(breaker.allowRequest());
+        }
+        // A success resets the count
+        breaker.recordSuccess();
+        for (int i = 1; i < CircuitBreaker.FAILURE_THRESHOLD; i++) {
+            breaker.recordFailure();
+        }
+        Assertions.assertEquals(State.CLOSED, breaker.getState());
+        breaker.recordFailure();
+        Assertions.assertEquals(State.OPEN, breaker.getState());
+        Assertions.assertFalse(breaker.allowRequest());
+        Assertions.assertEquals(1000 + CircuitBreaker.MIN_OPEN_MS, breaker.getRetryAt());
+
+        // Only a single trial is let through when the open period is over
+        now.set(breaker.getRetryAt());
+        Assertions.assertTrue(breaker.allowRequest());
+        Assertions.assertEquals(State.HALF_OPEN, breaker.getState());
+        Assertions.assertFalse(breaker.allowRequest());
+
+        breaker.recordSuccess();
+        Assertions.assertEquals(State.CLOSED, breaker.getState());
+        Assertions.assertTrue(breaker.allowRequest());
+        Assertions.assertEquals(0, breaker.getRetryAt());
+    }
+
+    @Test
+    public void testFailedTrialDoublesOpenPeriod() {
+        final AtomicLong now = new AtomicLong(0);
+        final CircuitBreaker breaker = new CircuitBreaker("test", now::get);
+        for (int i = 0; i < CircuitBreaker.FAILURE_THRESHOLD; i++) {
+            breaker.recordFailure();
+        }
+
+        long openMs = CircuitBreaker.MIN_OPEN_MS;
+        for (int i = 0; i < 10; i++) {
+            now.set(breaker.getRetryAt());
+            Assertions.assertTrue(breaker.allowRequest());
+            breaker.recordFailure();
+            openMs = Math.min(openMs * 2, CircuitBreaker.MAX_OPEN_MS);
+            Assertions.assertEquals(now.get() + openMs, breaker.getRetryAt());
+        }
+        Assertions.assertEquals(CircuitBreaker.MAX_OPEN_MS, openMs);
+
+        // A trial of which the outcome is never recorded does not keep the breaker half open forever
+        now.set(breaker.getRetryAt());
+        Assertions.assertTrue(breaker.allowRequest());
+        now.set(breaker.getRetryAt());
+        Assertions.assertTrue(breaker.allowRequest());
+    }
+
+}
@@ -0,0 +1,183 @@
+/*-
+ * #%L
+ * dEF-Pi REST Orchestrator
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.connectors;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.types.ObjectId;
+import org.flexiblepower.model.Process;
+import org.flexiblepower.model.User;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mongodb.morphia.Morphia;
+
+/**
+ * EntityCacheTest
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+@SuppressWarnings({"static-method", "javadoc"})
+public class EntityCacheTest {
+
+    private static final Morphia morphia = new Morphia().map(Process.class, User.class);
+
+    private static class TestStore implements EntityCache.Store {
+
+        final Map<ObjectId, Object> entities = new LinkedHashMap<>();
+        int queries = 0;
+
+        void save(final Object entity) {
+            this.entities.put((ObjectId) EntityCacheTest.morphia.getMapper().getId(entity), entity);
+        }
+
+        @Override
+        public <T> T get(final Class<T> type, final ObjectId id) {
+            this.queries++;
+            final Object entity = this.entities.get(id);
+            return type.isInstance(entity) ? type.cast(entity) : null;
+        }
+
+        @Override
+        public <T> List<T> list(final Class<T> type) {
+            this.queries++;
+            final List<T> ret = new ArrayList<>();
+            for (final Object entity : this.entities.values()) {
+                if (type.isInstance(entity)) {
+                    ret.add(type.cast(entity));
+                }
+            }
+            return ret;
+        }
+
+    }
+
+    private static Process process(final String name) {
+        final Process process = new Process();
+        process.setId(new ObjectId());
+        process.setName(name);
+        process.setToken(name + "-token");
+        return process;
+    }
+
+    @Test
+    public void testReadThrough() {
+        final TestStore store = new TestStore();
+        final Process stored = EntityCacheTest.process("p1");
+        store.save(stored);
+
+        final EntityCache cache = new EntityCache(EntityCacheTest.morphia, null, store, true, Process.class);
+        Assertions.assertEquals("p1", cache.get(Process.class, stored.getId()).getName());
+        final Process copy = cache.get(Process.class, stored.getId());
+        Assertions.assertEquals(1, store.queries);
+
+        // Changing a copy does not change the cache
+        copy.setName("changed");
+        Assertions.assertEquals("p1", cache.get(Process.class, stored.getId()).getName());
+        Assertions.assertNotSame(copy, cache.get(Process.class, stored.getId()));
+
+        // Uncached types always go to the store
+        Assertions.assertNull(cache.get(User.class, new ObjectId()));
+        Assertions.assertNull(cache.get(User.class, new ObjectId()));
+        Assertions.assertEquals(3, store.queries);
+    }
+
+    @Test
+    public void testFindAfterList() {
+        final TestStore store = new TestStore();
+        final Process p1 = EntityCacheTest.process("p1");
+        final Process p2 = EntityCacheTest.process("p2");
+        store.save(p1);
+        store.save(p2);
+
+        final EntityCache cache = new EntityCache(EntityCacheTest.morphia, null, store, true, Process.class);
+        Assertions.assertEquals(2, cache.list(Process.class).size());
+        Assertions.assertEquals(1, store.queries);
+
+        // Once the collection is loaded, lookups by other fields and of unknown ids do not need a query
+        final List<Process> found = cache.find(Process.class,
+                p -> "p2-token".equals(p.getToken()),
+                () -> Assertions.fail("Should not query"));
+        Assertions.assertEquals(1, found.size());
+        Assertions.assertEquals(p2.getId(), found.get(0).getId());
+        Assertions.assertNull(cache.get(Process.class, new ObjectId()));
+        Assertions.assertEquals(1, store.queries);
+    }
+
+    @Test
+    public void testWriteThrough() {
+        final TestStore store = new TestStore();
+        final EntityCache cache = new EntityCache(EntityCacheTest.morphia, null, store, true, Process.class);
+        Assertions.assertTrue(cache.list(Process.class).isEmpty());
+
+        final Process process = EntityCacheTest.process("p1");
+        store.save(process);
+        cache.put(process);
+        process.setName("renamed");
+        cache.put(process);
+        Assertions.assertEquals("renamed", cache.get(Process.class, process.getId()).getName());
+
+        cache.remove(process);
+        Assertions.assertNull(cache.get(Process.class, process.getId()));
+        Assertions.assertEquals(1, store.queries);
+    }
+
+    @Test
+    public void testChangeStream() {
+        final TestStore store = new TestStore();
+        final Process process = EntityCacheTest.process("p1");
+        store.save(process);
+
+        // Until the change stream is open, the cache is bypassed
+        final EntityCache cache = new EntityCache(EntityCacheTest.morphia, null, store, false, Process.class);
+        cache.list(Process.class);
+        cache.list(Process.class);
+        Assertions.assertEquals(2, store.queries);
+
+        cache.setEnabled(true);
+        cache.list(Process.class);
+        Assertions.assertEquals(3, store.queries);
+
+        // Another orchestrator renames the process
+        final Process renamed = EntityCacheTest.process("p1");
+        renamed.setId(process.getId());
+        renamed.setName("renamed");
+        cache.onChange("Process", process.getId(), EntityCacheTest.morphia.toDBObject(renamed));
+        Assertions.assertEquals("renamed", cache.get(Process.class, process.getId()).getName());
+
+        // Another orchestrator creates a process, and changes to unknown collections are ignored
+        final Process created = EntityCacheTest.process("p2");
+        cache.onChange("Process", created.getId(), EntityCacheTest.morphia.toDBObject(created));
+        cache.onChange("PendingChange", new ObjectId(), null);
+        Assertions.assertEquals(2, cache.list(Process.class).size());
+
+        cache.onChange("Process", process.getId(), null);
+        Assertions.assertNull(cache.get(Process.class, process.getId()));
+        Assertions.assertEquals(3, store.queries);
+
+        cache.clear();
+        cache.list(Process.class);
+        Assertions.assertEquals(4, store.queries);
+    }
+
+}
@@ -0,0 +1,313 @@
+/*-
+ * #%L
+ * dEF-Pi REST Orchestrator
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.orchestrator.pendingchange;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.types.ObjectId;
+import org.flexiblepower.connectors.CircuitBreaker;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * PendingChangeSchedulerTest
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+@SuppressWarnings({"static-method", "javadoc"})
+public class PendingChangeSchedulerTest {
+
+    private static class TestChange extends PendingChange {
+
+        TestChange(final ObjectId batchKey, final ObjectId... resources) {
+            super(new ObjectId());
+            this.id = new ObjectId();
+            this.batchKey = batchKey;
+            this.resources = Arrays.asList(resources);
+        }
+
+        @Override
+        public String description() {
+            return "Test change " + this.id;
+        }
+
+        @Override
+        public Result execute() {
+            return Result.SUCCESS;
+        }
+
+    }
+
+    private static class OtherChange extends TestChange {
+
+        OtherChange(final ObjectId batchKey, final ObjectId... resources) {
+            super(batchKey, resources);
+        }
+
+    }
+
+    @Test
+    public void testResourceLanes() {
+        final ObjectId r1 = new ObjectId();
+        final ObjectId r2 = new ObjectId();
+        final PendingChange a = new TestChange(null, r1);
+        final PendingChange b = new TestChange(null, r1, r2);
+        final PendingChange c = new TestChange(null, r2);
+        final PendingChange d = new TestChange(null, new ObjectId());
+
+        final PendingChangeScheduler scheduler = new PendingChangeScheduler();
+        for (final PendingChange pc : Arrays.asList(a, b, c, d)) {
+            scheduler.add(pc);
+        }
+
+        // b waits for a, and c waits for b even though its resource is free
+        Assertions.assertEquals(Collections.singletonList(a), scheduler.poll());
+        Assertions.assertEquals(Collections.singletonList(d), scheduler.poll());
+        Assertions.assertNull(scheduler.poll());
+
+        scheduler.complete(a);
+        Assertions.assertEquals(Collections.singletonList(b), scheduler.poll());
+        Assertions.assertNull(scheduler.poll());
+
+        scheduler.complete(b);
+        Assertions.assertEquals(Collections.singletonList(c), scheduler.poll());
+        scheduler.complete(c);
+        scheduler.complete(d);
+        Assertions.assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    public void testDelayed() throws Exception {
+        final ObjectId r1 = new ObjectId();
+        final PendingChange later = new TestChange(null, r1);
+        later.setRunAt(new Date(System.currentTimeMillis() + 200));
+        final PendingChange now = new TestChange(null, r1);
+
+        final PendingChangeScheduler scheduler = new PendingChangeScheduler();
+        scheduler.add(later);
+        scheduler.add(now);
+
+        // A delayed pending change does not hold its resources until it is due
+        Assertions.assertEquals(Collections.singletonList(now), scheduler.take());
+        Assertions.assertNull(scheduler.poll());
+        scheduler.complete(now);
+
+        final long start = System.currentTimeMillis();
+        Assertions.assertEquals(Collections.singletonList(later), scheduler.take());
+        Assertions.assertTrue((System.currentTimeMillis() - start) >= 100);
+    }
+
+    @Test
+    public void testBatch() {
+        final ObjectId process = new ObjectId();
+        final ObjectId busy = new ObjectId();
+        final PendingChange other = new TestChange(null, busy);
+        final PendingChange first = new TestChange(process, process, new ObjectId());
+        final PendingChange second = new TestChange(process, process, new ObjectId());
+        final PendingChange blocked = new TestChange(process, process, busy);
+        final PendingChange third = new TestChange(process, process, new ObjectId());
+
+        final PendingChangeScheduler scheduler = new PendingChangeScheduler();
+        for (final PendingChange pc : Arrays.asList(other, first, second, blocked, third)) {
+            scheduler.add(pc);
+        }
+
+        Assertions.assertEquals(Collections.singletonList(other), scheduler.poll());
+
+        // The batch stops at the first pending change that waits for something else
+        final List<PendingChange> batch = scheduler.poll();
+        Assertions.assertEquals(Arrays.asList(first, second), batch);
+        Assertions.assertNull(scheduler.poll());
+
+        scheduler.complete(other);
+        scheduler.complete(first);
+        Assertions.assertNull(scheduler.poll());
+        scheduler.complete(second);
+        Assertions.assertEquals(Arrays.asList(blocked, third), scheduler.poll());
+    }
+
+    @Test
+    public void testBatchSameTypeOnly() {
+        final ObjectId process = new ObjectId();
+        final PendingChange first = new TestChange(process, process);
+        final PendingChange different = new OtherChange(process, process);
+        final PendingChange last = new TestChange(process, process);
+
+        final PendingChangeScheduler scheduler = new PendingChangeScheduler();
+        for (final PendingChange pc : Arrays.asList(first, different, last)) {
+            scheduler.add(pc);
+        }
+
+        Assertions.assertEquals(Collections.singletonList(first), scheduler.poll());
+        scheduler.complete(first);
+        Assertions.assertEquals(Collections.singletonList(different), scheduler.poll());
+        scheduler.complete(different);
+        Assertions.assertEquals(Collections.singletonList(last), scheduler.poll());
+    }
+
+    @Test
+    public void testTypeLimit() throws Exception {
+        final PendingChangeMetrics metrics = new PendingChangeMetrics();
+        final PendingChangeScheduler scheduler = new PendingChangeScheduler(metrics,
+                2,
+                PendingChangeManager.parseTypeLimits("OtherChange=1, invalid"));
+        final PendingChange slow1 = new OtherChange(null, new ObjectId());
+        final PendingChange slow2 = new OtherChange(null, new ObjectId());
+        final PendingChange fast1 = new TestChange(null, new ObjectId());
+        final PendingChange fast2 = new TestChange(null, new ObjectId());
+        final PendingChange fast3 = new TestChange(null, new ObjectId());
+        for (final PendingChange pc : Arrays.asList(slow1, slow2, fast1, fast2, fast3)) {
+            scheduler.add(pc);
+        }
+
+        // The older slow change has to wait, because its type reached its limit
+        Assertions.assertEquals(Collections.singletonList(slow1), scheduler.poll());
+        Assertions.assertEquals(Collections.singletonList(fast1), scheduler.poll());
+        Assertions.assertEquals(Collections.singletonList(fast2), scheduler.poll());
+        Assertions.assertNull(scheduler.poll());
+
+        scheduler.complete(slow1);
+        Assertions.assertEquals(Collections.singletonList(slow2), scheduler.poll());
+        scheduler.complete(fast1);
+        Assertions.assertEquals(Collections.singletonList(fast3), scheduler.poll());
+
+        Assertions.assertEquals(2, metrics.get("OtherChange").getQueueWaitCount());
+        Assertions.assertEquals(3, metrics.get("TestChange").getQueueWaitCount());
+        final StringBuilder sb = new StringBuilder();
+        metrics.writePrometheus(sb);
+        Assertions.assertTrue(
+                sb.toString().contains("defpi_pending_change_queue_wait_seconds_count{type=\"TestChange\"} 3"));
+    }
+
+    @Test
+    public void testCoalesce() throws Exception {
+        final ObjectId process = new ObjectId();
+        final PendingChange older = new TestChange(null, process);
+        older.coalescingKey = "config:" + process;
+        Thread.sleep(2);
+        final PendingChange newer = new TestChange(null, process);
+        newer.coalescingKey = "config:" + process;
+        Thread.sleep(2);
+        final PendingChange newest = new TestChange(null, process);
+        newest.coalescingKey = "config:" + process;
+
+        final PendingChangeScheduler scheduler = new PendingChangeScheduler();
+        Assertions.assertNull(scheduler.add(older));
+        Assertions.assertSame(older, scheduler.add(newer));
+        Assertions.assertEquals(1, scheduler.size());
+
+        // A stale pending change that is added again, like after a temporary failure, is superseded by the newer one
+        Assertions.assertSame(older, scheduler.add(older));
+        Assertions.assertEquals(1, scheduler.size());
+
+        // A running pending change is never superseded
+        Assertions.assertEquals(Collections.singletonList(newer), scheduler.poll());
+        Assertions.assertNull(scheduler.add(newest));
+        Assertions.assertNull(scheduler.poll());
+        scheduler.complete(newer);
+        Assertions.assertEquals(Collections.singletonList(newest), scheduler.poll());
+    }
+
+    @Test
+    public void testParkWhileBreakerIsOpen() {
+        final String dependency = "test:" + new ObjectId();
+        final ObjectId r1 = new ObjectId();
+        final PendingChange blocked = new TestChange(null, r1) {
+
+            @Override
+            public List<String> dependencies() {
+                return Collections.singletonList(dependency);
+            }
+
+        };
+        final PendingChange behind = new TestChange(null, r1);
+        final PendingChange other = new TestChange(null, new ObjectId());
+
+        final CircuitBreaker breaker = CircuitBreaker.get(dependency);
+        try {
+            while (breaker.getState() != CircuitBreaker.State.OPEN) {
+                breaker.recordFailure();
+            }
+
+            final PendingChangeScheduler scheduler = new PendingChangeScheduler();
+            scheduler.add(blocked);
+            scheduler.add(behind);
+            scheduler.add(other);
+
+            // The blocked pending change keeps its place, so the one behind it has to wait as well
+            Assertions.assertEquals(Collections.singletonList(other), scheduler.poll());
+            Assertions.assertNull(scheduler.poll());
+
+            scheduler.remove(blocked.getId());
+            Assertions.assertEquals(Collections.singletonList(behind), scheduler.poll());
+        } finally {
+            CircuitBreaker.remove(dependency);
+        }
+    }
+
+    @Test
+    public void testRemoveAndReplace() {
+        final ObjectId r1 = new ObjectId();
+        final PendingChange a = new TestChange(null, r1);
+        final PendingChange b = new TestChange(null, r1);
+        final PendingChange c = new TestChange(null, r1);
+
+        final PendingChangeScheduler scheduler = new PendingChangeScheduler();
+        scheduler.add(a);
+        scheduler.add(b);
+        scheduler.add(c);
+
+        Assertions.assertEquals(Collections.singletonList(a), scheduler.poll());
+        Assertions.assertFalse(scheduler.remove(a.getId()));
+        Assertions.assertTrue(scheduler.remove(b.getId()));
+        Assertions.assertTrue(scheduler.contains(a.getId()));
+        Assertions.assertFalse(scheduler.contains(b.getId()));
+
+        // Adding a waiting pending change again moves it to the back
+        scheduler.complete(a);
+        scheduler.add(a);
+        Assertions.assertEquals(Collections.singletonList(c), scheduler.poll());
+        scheduler.complete(c);
+        Assertions.assertEquals(Collections.singletonList(a), scheduler.poll());
+        Assertions.assertEquals(1, scheduler.size());
+    }
+
+    @Test
+    public void testRetryPolicy() {
+        final RetryPolicy policy = new RetryPolicy(100, 1000, 5);
+        long interval = 0;
+        for (int i = 0; i < 100; i++) {
+            final long next = policy.nextIntervalMs(interval);
+            Assertions.assertTrue(next >= 100);
+            Assertions.assertTrue(next <= Math.min(1000, Math.max(100, interval) * 3));
+            interval = next;
+        }
+        Assertions.assertEquals(100, new RetryPolicy(100, 100, 5).nextIntervalMs(100));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(100, 50, 5));
+    }
+
+}
@@ -21,16 +21,14 @@ package org.flexiblepower.process;
 
 import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Date;
 import java.util.Map;
 
 import org.bson.types.ObjectId;
 import org.flexiblepower.connectors.MongoDbConnector;
-import org.flexiblepower.model.Connection;
 import org.flexiblepower.model.Process;
 import org.flexiblepower.model.User;
 import org.flexiblepower.orchestrator.UserManager;
-import org.flexiblepower.orchestrator.pendingchange.PendingChange;
 import org.flexiblepower.process.CreateProcess.CreateDockerService;
 import org.flexiblepower.process.TerminateProcess.RemoveDockerService;
 import org.flexiblepower.process.TerminateProcess.SendTerminateSignal;
@@ -54,12 +52,17 @@ public class MongoConnectorTest {
     private static final String TEST_USER = "TEST_USER";
     private static final String TEST_PASS = "123456";
     private static final String TEST_SERVICE = "Tester";
+    private static final String TEST_OWNER = "TEST_OWNER";
+
+    private static Date leaseExpiry() {
+        return new Date(System.currentTimeMillis() + Duration.ofMinutes(1).toMillis());
+    }
 
     @BeforeAll
     public static void assumeMongo() {
         try {
             final MongoDbConnector mongo = MongoDbConnector.getInstance();
-            while (mongo.getNextPendingChange() != null) {
+            while (mongo.claimPendingChange(MongoConnectorTest.TEST_OWNER, MongoConnectorTest.leaseExpiry()) != null) {
                 // Do nothing
             }
         } catch (final Exception e) {
@@ -76,13 +79,7 @@ public class MongoConnectorTest {
     }
 
     @Test
-    public void getNextPendingChange() {
-        final MongoDbConnector mongo = MongoDbConnector.getInstance();
-        System.out.println(mongo.getNextPendingChange());
-    }
-
-    @Test
-    public void nextPendingChangeTest() throws InterruptedException {
+    public void claimPendingChangeTest() {
         final User testUser = UserManager.getInstance().getUser(MongoConnectorTest.TEST_USER);
         final ObjectId userId = testUser == null
                 ? UserManager.getInstance()
@@ -96,91 +93,25 @@ public class MongoConnectorTest {
         mongo.save(new RemoveDockerService(testProcess)); // Has a 5s delay
         mongo.save(new ChangeProcessConfiguration(testProcess, new ArrayList<>()));
 
-        Thread.sleep(Duration.ofSeconds(6).toMillis());
-
+        // Pending changes are claimed in the order of their runAt, and only once while the lease is valid
+        final String owner = new ObjectId().toHexString();
         Assertions.assertEquals(CreateDockerService.class,
-                MongoDbConnector.getInstance().getNextPendingChange().getClass());
-        Assertions.assertEquals(ChangeProcessConfiguration.class,
-                MongoDbConnector.getInstance().getNextPendingChange().getClass());
-        Assertions.assertEquals(SendTerminateSignal.class,
-                MongoDbConnector.getInstance().getNextPendingChange().getClass());
-        Assertions.assertEquals(RemoveDockerService.class,
-                MongoDbConnector.getInstance().getNextPendingChange().getClass());
-    }
-
-    @Test
-    public void lockedPendingChangeTest() throws InterruptedException {
-        final User testUser = UserManager.getInstance().getUser(MongoConnectorTest.TEST_USER);
-
-        final ObjectId userId = testUser == null
-                ? UserManager.getInstance()
-                        .saveUser(new User(MongoConnectorTest.TEST_USER, MongoConnectorTest.TEST_PASS))
-                : testUser.getId();
-
-        final Process testProcess1 = Process.builder()
-                .id(new ObjectId())
-                .userId(userId)
-                .serviceId(MongoConnectorTest.TEST_SERVICE)
-                .build();
-
-        final Process testProcess2 = Process.builder()
-                .id(new ObjectId())
-                .userId(userId)
-                .serviceId(MongoConnectorTest.TEST_SERVICE)
-                .build();
-
-        final Connection testConnection = new Connection(new ObjectId(),
-                new Connection.Endpoint(testProcess1.getId(), "Something"),
-                new Connection.Endpoint(testProcess2.getId(), "Something"));
-
-        final MongoDbConnector mongo = MongoDbConnector.getInstance();
-        mongo.save(new SendTerminateSignal(testProcess1)); // Has as 2s delay
-        mongo.save(new CreateDockerService(testProcess2));
-        mongo.save(new RemoveDockerService(testProcess2)); // Has a 5s delay
-        mongo.save(new ChangeProcessConfiguration(testProcess1, new ArrayList<>()));
-        mongo.save(new CreateConnectionEndpoint(userId, testConnection, testConnection.getEndpoint1()));
-        mongo.save(new CreateConnectionEndpoint(userId, testConnection, testConnection.getEndpoint2()));
-
-        Thread.sleep(Duration.ofSeconds(6).toMillis());
-
+                mongo.claimPendingChange(owner, MongoConnectorTest.leaseExpiry()).getClass());
         Assertions.assertEquals(ChangeProcessConfiguration.class,
-                MongoDbConnector.getInstance()
-                        .getNextPendingChange(Arrays.asList(testConnection.getId(), testProcess2.getId()))
-                        .getClass());
-
+                mongo.claimPendingChange(owner, MongoConnectorTest.leaseExpiry()).getClass());
         Assertions.assertEquals(SendTerminateSignal.class,
-                MongoDbConnector.getInstance()
-                        .getNextPendingChange(Arrays.asList(testConnection.getId(), testProcess2.getId()))
-                        .getClass());
-
-        Assertions.assertNull(MongoDbConnector.getInstance()
-                .getNextPendingChange(Arrays.asList(testConnection.getId(), testProcess2.getId())));
-
-        PendingChange pc = MongoDbConnector.getInstance().getNextPendingChange(Arrays.asList(testProcess2.getId()));
-        Assertions.assertEquals(CreateConnectionEndpoint.class, pc.getClass());
-        Assertions.assertEquals(
-                "Creating connection for Process " + testProcess1.getId() + " with interface Something to process "
-                        + testProcess2.getId() + " with connection Something",
-                ((CreateConnectionEndpoint) pc).description());
-
-        Assertions.assertEquals(CreateDockerService.class,
-                MongoDbConnector.getInstance().getNextPendingChange().getClass());
-        pc = MongoDbConnector.getInstance().getNextPendingChange();
-        Assertions.assertEquals(CreateConnectionEndpoint.class, pc.getClass());
-        Assertions.assertEquals(
-                "Creating connection for Process " + testProcess2.getId() + " with interface Something to process "
-                        + testProcess1.getId() + " with connection Something",
-                ((CreateConnectionEndpoint) pc).description());
+                mongo.claimPendingChange(owner, MongoConnectorTest.leaseExpiry()).getClass());
         Assertions.assertEquals(RemoveDockerService.class,
-                MongoDbConnector.getInstance().getNextPendingChange().getClass());
-
+                mongo.claimPendingChange(owner, MongoConnectorTest.leaseExpiry()).getClass());
+        Assertions.assertNull(mongo.claimPendingChange("OTHER_OWNER", MongoConnectorTest.leaseExpiry()));
+        Assertions.assertEquals(4, mongo.renewPendingChanges(owner, MongoConnectorTest.leaseExpiry()));
     }
 
     @AfterEach
     public void cleanup() {
         try {
             final MongoDbConnector mongo = MongoDbConnector.getInstance();
-            while (mongo.getNextPendingChange() != null) {
+            while (mongo.claimPendingChange(MongoConnectorTest.TEST_OWNER, MongoConnectorTest.leaseExpiry()) != null) {
                 // Do nothing
             }
         } catch (final Exception e) {
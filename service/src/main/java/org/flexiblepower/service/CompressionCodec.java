@@ -0,0 +1,127 @@
+/*-
+ * #%L
+ * dEF-Pi service managing library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The CompressionCodec enumerates the codecs that may be used to compress the user messages of a connection. Both sides
+ * of a connection advertise the codecs they support in their handshake, and the first codec in this enumeration that
+ * both sides support is used.
+ * <p>
+ * The codecs to advertise are set with the system property {@value #CODECS_PROPERTY}, as a comma separated list. By
+ * default no compression is used.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ * @see FrameCompressor
+ */
+enum CompressionCodec {
+
+    /**
+     * The deflate algorithm from java.util.zip
+     */
+    DEFLATE("deflate"),
+
+    /**
+     * Messages are not compressed
+     */
+    NONE("none");
+
+    /**
+     * The system property to set the comma separated list of codecs this process supports
+     */
+    static final String CODECS_PROPERTY = "defpi.compression.codecs";
+
+    /**
+     * The system property to set the number of bytes from which messages are compressed
+     */
+    static final String THRESHOLD_PROPERTY = "defpi.compression.threshold";
+
+    private static final int DEFAULT_THRESHOLD = 1024;
+
+    private final String id;
+
+    private CompressionCodec(final String id) {
+        this.id = id;
+    }
+
+    /**
+     * @return The identifier of the codec in the handshake
+     */
+    String id() {
+        return this.id;
+    }
+
+    /**
+     * Find the codec that two sides of a connection will use
+     *
+     * @param local The identifiers of the codecs that are supported locally
+     * @param remote The identifiers of the codecs that are supported by the remote side
+     * @return The preferred codec that both sides support, or {@link #NONE}
+     */
+    static CompressionCodec negotiate(final Collection<String> local, final Collection<String> remote) {
+        for (final CompressionCodec codec : CompressionCodec.values()) {
+            if (local.contains(codec.id) && remote.contains(codec.id)) {
+                return codec;
+            }
+        }
+        return CompressionCodec.NONE;
+    }
+
+    /**
+     * @return The identifiers of the codecs this process supports, as configured by the system property
+     */
+    static List<String> configuredCodecs() {
+        final String property;
+        try {
+            property = System.getProperty(CompressionCodec.CODECS_PROPERTY);
+        } catch (final SecurityException e) {
+            return Collections.emptyList();
+        }
+        if (property == null) {
+            return Collections.emptyList();
+        }
+
+        final List<String> result = new ArrayList<>();
+        for (final String id : property.split(",")) {
+            if (!id.trim().isEmpty()) {
+                result.add(id.trim().toLowerCase());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return The minimum number of bytes of a message to compress it, as configured by the system property
+     */
+    static int configuredThreshold() {
+        try {
+            return Math.max(0,
+                    Integer.getInteger(CompressionCodec.THRESHOLD_PROPERTY, CompressionCodec.DEFAULT_THRESHOLD));
+        } catch (final SecurityException e) {
+            return CompressionCodec.DEFAULT_THRESHOLD;
+        }
+    }
+
+}
@@ -20,6 +20,7 @@
 package org.flexiblepower.service;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 import org.flexiblepower.proto.ConnectionProto.ConnectionState;
 
@@ -39,6 +40,28 @@ public interface Connection {
      */
     public void send(Object message) throws IOException;
 
+    /**
+     * Sends Object message over the connection to the other process, without waiting for it to be written. This allows
+     * the connection to coalesce messages that are sent in quick succession. Messages are delivered in the order in
+     * which they are sent, regardless of whether {@link #send(Object)} or this function is used.
+     * <p>
+     * The default implementation simply calls {@link #send(Object)}.
+     *
+     * @param message the object to be send over the connection.
+     * @return A future that completes when the message is sent, or completes exceptionally with an IOException when the
+     *         state is not connected, or if the connection back end fails to send the message
+     */
+    public default CompletableFuture<Void> sendAsync(final Object message) {
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+        try {
+            this.send(message);
+            result.complete(null);
+        } catch (final IOException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
     /**
      * Indicates whether or not the connection is connected to the other process.
      *
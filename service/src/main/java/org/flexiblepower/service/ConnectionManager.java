@@ -23,6 +23,7 @@ import java.io.Closeable;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.flexiblepower.proto.ConnectionProto.ConnectionHandshake;
 import org.flexiblepower.proto.ConnectionProto.ConnectionMessage;
@@ -35,7 +36,8 @@ import com.google.protobuf.Message;
 
 /**
  * The connection manager is the object that is responsible for maintaining all connections to and from a process. It is
- * used by the ServiceManager to handler all ConnectionMessages.
+ * used by the ServiceManager to handler all ConnectionMessages. Messages for different connections may be handled
+ * concurrently, messages for the same connection are handled one at a time.
  *
  * @version 0.1
  * @since May 10, 2017
@@ -45,9 +47,9 @@ public final class ConnectionManager implements Closeable {
     private static final Logger log = LoggerFactory.getLogger(ConnectionManager.class);
     private static final Map<String, ConnectionHandlerManager> connectionBuilders = new HashMap<>();
     private static final Map<String, InterfaceInfo> interfaceInfo = new HashMap<>();
-    private static final Map<ConnectionHandler, Connection> handlerConnectionMap = new HashMap<>();
+    private static final Map<ConnectionHandler, Connection> handlerConnectionMap = new ConcurrentHashMap<>();
 
-    private final Map<String, TCPConnection> connections = new HashMap<>();
+    private final Map<String, TCPConnection> connections = new ConcurrentHashMap<>();
 
     /**
      * Handles the connection message to either create, resume, suspend or terminate a connection.
@@ -124,7 +126,8 @@ public final class ConnectionManager implements Closeable {
                     message.getRemoteProcessId(),
                     message.getRemoteProcessName(),
                     message.getRemoteServiceId(),
-                    message.getRemoteInterfaceId());
+                    message.getRemoteInterfaceId(),
+                    message.getMultiplexed());
             this.connections.put(message.getConnectionId(), conn);
         }
         return ConnectionHandshake.newBuilder()
@@ -156,6 +159,8 @@ public final class ConnectionManager implements Closeable {
             final Method buildMethod = chf.getClass().getMethod(methodName, Connection.class);
             final ConnectionHandler handler = (ConnectionHandler) buildMethod.invoke(chf, c);
             ConnectionManager.handlerConnectionMap.put(handler, c);
+            // Build the dispatch table for incoming messages now, instead of when the first message arrives
+            MessageDispatcher.forHandlerClass(handler.getClass());
             return handler;
         } catch (final Exception e) {
             throw new RuntimeException("Error building connection handler: " + e.getMessage(), e);
@@ -0,0 +1,272 @@
+/*-
+ * #%L
+ * dEF-Pi service managing library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * The ConnectionMetrics keep track of the traffic and timing of a single connection. The counters only ever increase
+ * during the lifetime of the connection, so rates are obtained by sampling them periodically, as is done by Prometheus
+ * or a Micrometer {@code FunctionCounter}. All values may be read from any thread at any time.
+ * <p>
+ * The heartbeat round trip time is only measured when a PING is sent, which is only the case when the connection did
+ * not receive any data during the last heartbeat period.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ * @see ServiceMetrics
+ */
+public final class ConnectionMetrics {
+
+    private final String connectionId;
+    private final String remoteProcessId;
+    private final String remoteInterfaceId;
+
+    private final LongAdder messagesReceived = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder messagesSent = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder interrupts = new LongAdder();
+    private final LongAdder reconnects = new LongAdder();
+
+    private final Summary serializeTime = new Summary();
+    private final Summary deserializeTime = new Summary();
+    private final Summary handlerTime = new Summary();
+    private final Summary heartBeatRoundTrip = new Summary();
+
+    private final IntSupplier receiveQueueDepth;
+    private final IntSupplier replayBacklog;
+    private final LongSupplier droppedMessages;
+
+    /**
+     * A Summary counts events and adds up their durations, from which the average duration can be derived
+     */
+    public static final class Summary {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+
+        Summary() {
+            // Only created by the connection metrics
+        }
+
+        /**
+         * @param nanos The duration of the event in nanoseconds
+         */
+        void record(final long nanos) {
+            this.count.increment();
+            this.totalNanos.add(nanos);
+        }
+
+        /**
+         * @return The number of recorded events
+         */
+        public long getCount() {
+            return this.count.sum();
+        }
+
+        /**
+         * @return The total duration of the recorded events in nanoseconds
+         */
+        public long getTotalNanos() {
+            return this.totalNanos.sum();
+        }
+
+    }
+
+    /**
+     * @param connectionId The id of the connection
+     * @param remoteProcessId The id of the process on the remote side of the connection
+     * @param remoteInterfaceId The id of the interface on the remote side of the connection
+     * @param receiveQueueDepth Provides the number of received messages that are waiting to be handled
+     * @param replayBacklog Provides the number of sent messages that are not yet acknowledged
+     * @param droppedMessages Provides the number of received messages that were dropped
+     */
+    ConnectionMetrics(final String connectionId,
+            final String remoteProcessId,
+            final String remoteInterfaceId,
+            final IntSupplier receiveQueueDepth,
+            final IntSupplier replayBacklog,
+            final LongSupplier droppedMessages) {
+        this.connectionId = connectionId;
+        this.remoteProcessId = remoteProcessId;
+        this.remoteInterfaceId = remoteInterfaceId;
+        this.receiveQueueDepth = receiveQueueDepth;
+        this.replayBacklog = replayBacklog;
+        this.droppedMessages = droppedMessages;
+    }
+
+    /**
+     * @param bytes The size of the serialized message
+     * @param nanos The time it took to deserialize the message
+     */
+    void messageReceived(final int bytes, final long nanos) {
+        this.messagesReceived.increment();
+        this.bytesReceived.add(bytes);
+        this.deserializeTime.record(nanos);
+    }
+
+    /**
+     * @param bytes The size of the serialized message
+     * @param nanos The time it took to serialize the message
+     */
+    void messageSent(final int bytes, final long nanos) {
+        this.messagesSent.increment();
+        this.bytesSent.add(bytes);
+        this.serializeTime.record(nanos);
+    }
+
+    /**
+     * @param nanos The time the user handler took to handle a message
+     */
+    void messageHandled(final long nanos) {
+        this.handlerTime.record(nanos);
+    }
+
+    /**
+     * @param nanos The time between sending a PING and receiving the PONG
+     */
+    void heartBeatAnswered(final long nanos) {
+        this.heartBeatRoundTrip.record(nanos);
+    }
+
+    void interrupted() {
+        this.interrupts.increment();
+    }
+
+    void reconnected() {
+        this.reconnects.increment();
+    }
+
+    /**
+     * @return The id of the connection
+     */
+    public String getConnectionId() {
+        return this.connectionId;
+    }
+
+    /**
+     * @return The id of the process on the remote side of the connection
+     */
+    public String getRemoteProcessId() {
+        return this.remoteProcessId;
+    }
+
+    /**
+     * @return The id of the interface on the remote side of the connection
+     */
+    public String getRemoteInterfaceId() {
+        return this.remoteInterfaceId;
+    }
+
+    /**
+     * @return The number of user messages that were received
+     */
+    public long getMessagesReceived() {
+        return this.messagesReceived.sum();
+    }
+
+    /**
+     * @return The number of bytes of the serialized user messages that were received, before decompression
+     */
+    public long getBytesReceived() {
+        return this.bytesReceived.sum();
+    }
+
+    /**
+     * @return The number of user messages that were sent
+     */
+    public long getMessagesSent() {
+        return this.messagesSent.sum();
+    }
+
+    /**
+     * @return The number of bytes of the serialized user messages that were sent, before compression
+     */
+    public long getBytesSent() {
+        return this.bytesSent.sum();
+    }
+
+    /**
+     * @return The number of times the connection was interrupted
+     */
+    public long getInterrupts() {
+        return this.interrupts.sum();
+    }
+
+    /**
+     * @return The number of times the connection was restored after it was interrupted or suspended
+     */
+    public long getReconnects() {
+        return this.reconnects.sum();
+    }
+
+    /**
+     * @return The time spent serializing the messages that were sent
+     */
+    public Summary getSerializeTime() {
+        return this.serializeTime;
+    }
+
+    /**
+     * @return The time spent deserializing the messages that were received
+     */
+    public Summary getDeserializeTime() {
+        return this.deserializeTime;
+    }
+
+    /**
+     * @return The time the user handlers spent handling the received messages
+     */
+    public Summary getHandlerTime() {
+        return this.handlerTime;
+    }
+
+    /**
+     * @return The round trip time of the heartbeats that were answered
+     */
+    public Summary getHeartBeatRoundTrip() {
+        return this.heartBeatRoundTrip;
+    }
+
+    /**
+     * @return The number of received messages that are waiting to be handled
+     */
+    public int getReceiveQueueDepth() {
+        return this.receiveQueueDepth.getAsInt();
+    }
+
+    /**
+     * @return The number of sent messages that are kept until the remote side acknowledges them
+     */
+    public int getReplayBacklog() {
+        return this.replayBacklog.getAsInt();
+    }
+
+    /**
+     * @return The number of received messages that were dropped because the receive queue was full
+     */
+    public long getDroppedMessages() {
+        return this.droppedMessages.getAsLong();
+    }
+
+}
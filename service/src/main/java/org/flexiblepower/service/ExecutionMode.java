@@ -0,0 +1,43 @@
+/*-
+ * #%L
+ * dEF-Pi service managing library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+/**
+ * The ExecutionMode determines how the {@link ServiceExecutor} runs the user code of a service.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ * @see ServiceExecution
+ */
+public enum ExecutionMode {
+
+    /**
+     * All user code, of the service and of all connection handlers, runs in one single thread. This is the default.
+     */
+    SERIAL,
+
+    /**
+     * The user code of different connections runs in parallel on a pool of threads. The messages and events of a
+     * single connection are still handled one at a time, and in order. The functions of the {@link Service} itself are
+     * also run one at a time, but may run in parallel with connection handlers.
+     */
+    PARALLEL
+
+}
@@ -0,0 +1,246 @@
+/*-
+ * #%L
+ * dEF-Pi service managing library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.flexiblepower.commons.BufferPool;
+
+/**
+ * The FrameCompressor compresses the user messages that are sent over a socket, and decompresses the ones that are
+ * received, according to the {@link CompressionCodec} that was negotiated in the handshake.
+ * <p>
+ * When a codec other than {@link CompressionCodec#NONE} is used, every user message starts with a single byte
+ * indicating whether it is compressed. A compressed message continues with four bytes for the original length, followed
+ * by the compressed data. Messages that are smaller than the threshold, or that do not become smaller by compressing,
+ * are sent as is.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+final class FrameCompressor {
+
+    private static final byte UNCOMPRESSED = 0;
+    private static final byte COMPRESSED = 1;
+    private static final int HEADER_LENGTH = 5;
+
+    /**
+     * Deflate cannot compress data more than about 1032 times, so a larger ratio means the frame is not valid. This
+     * keeps a peer from making us allocate far more memory than it sent.
+     */
+    private static final int MAX_RATIO = 1032;
+
+    /**
+     * The compressor for connections that do not use compression, which leaves all messages untouched
+     */
+    static final FrameCompressor NONE = new FrameCompressor(CompressionCodec.NONE, 0, new Statistics());
+
+    private final CompressionCodec codec;
+    private final int threshold;
+    private final Statistics statistics;
+
+    private final Deflater deflater;
+    private final Inflater inflater;
+    private byte[] inputBuffer = new byte[0];
+    private boolean closed = false;
+
+    /**
+     * The Statistics keep track of the effect of compression on a connection
+     */
+    static final class Statistics {
+
+        private final AtomicLong bytesSaved = new AtomicLong();
+        private final AtomicLong codecNanos = new AtomicLong();
+
+        /**
+         * @return The number of bytes that were not sent or received because of compression
+         */
+        long getBytesSaved() {
+            return this.bytesSaved.get();
+        }
+
+        /**
+         * @return The total time in nanoseconds spent compressing and decompressing
+         */
+        long getCodecNanos() {
+            return this.codecNanos.get();
+        }
+
+    }
+
+    /**
+     * @param codec The negotiated codec
+     * @param threshold The minimum number of bytes of a message to compress it
+     * @param statistics The statistics to update, typically shared by all compressors of a connection
+     */
+    FrameCompressor(final CompressionCodec codec, final int threshold, final Statistics statistics) {
+        this.codec = codec;
+        this.threshold = threshold;
+        this.statistics = statistics;
+        this.deflater = codec == CompressionCodec.DEFLATE ? new Deflater(Deflater.BEST_SPEED) : null;
+        this.inflater = codec == CompressionCodec.DEFLATE ? new Inflater() : null;
+    }
+
+    /**
+     * @return The codec that is used
+     */
+    CompressionCodec codec() {
+        return this.codec;
+    }
+
+    /**
+     * Prepare a serialized message to be sent
+     *
+     * @param data The serialized message
+     * @return The data to send, which may be the same array
+     */
+    byte[] encode(final byte[] data) {
+        if (this.codec == CompressionCodec.NONE) {
+            return data;
+        }
+
+        if ((data.length >= this.threshold) && (data.length > FrameCompressor.HEADER_LENGTH)) {
+            final long start = System.nanoTime();
+            final byte[] compressed = this.compress(data);
+            this.statistics.codecNanos.addAndGet(System.nanoTime() - start);
+            if (compressed != null) {
+                this.statistics.bytesSaved.addAndGet(data.length - compressed.length);
+                return compressed;
+            }
+        }
+
+        final byte[] result = new byte[data.length + 1];
+        result[0] = FrameCompressor.UNCOMPRESSED;
+        System.arraycopy(data, 0, result, 1, data.length);
+        return result;
+    }
+
+    private synchronized byte[] compress(final byte[] data) {
+        if (this.closed) {
+            // Replaced by another compressor; the uncompressed message is still valid
+            return null;
+        }
+
+        // Only worth it if the result is smaller than the original
+        final byte[] result = new byte[data.length];
+        this.deflater.reset();
+        this.deflater.setInput(data);
+        this.deflater.finish();
+        final int length = this.deflater.deflate(result,
+                FrameCompressor.HEADER_LENGTH,
+                result.length - FrameCompressor.HEADER_LENGTH);
+        if (!this.deflater.finished()) {
+            return null;
+        }
+
+        ByteBuffer.wrap(result).put(FrameCompressor.COMPRESSED).putInt(data.length);
+        final byte[] compressed = new byte[FrameCompressor.HEADER_LENGTH + length];
+        System.arraycopy(result, 0, compressed, 0, compressed.length);
+        return compressed;
+    }
+
+    /**
+     * Restore a received message. If the message was compressed, the buffer is released and a new buffer is returned.
+     *
+     * @param frame The received frame, from the {@link BufferPool}
+     * @return The buffer containing the original message, which should be released when it is no longer used
+     * @throws IOException When the frame is not valid for the codec
+     */
+    ByteBuffer decode(final ByteBuffer frame) throws IOException {
+        if (this.codec == CompressionCodec.NONE) {
+            return frame;
+        }
+
+        if (!frame.hasRemaining()) {
+            throw new IOException("Missing compression header");
+        }
+        final byte header = frame.get();
+        if (header == FrameCompressor.UNCOMPRESSED) {
+            return frame;
+        } else if ((header != FrameCompressor.COMPRESSED) || (frame.remaining() < 4)) {
+            throw new IOException("Invalid compression header " + header);
+        }
+
+        final int length = frame.getInt();
+        final int compressedLength = frame.remaining();
+        if ((length < 0) || (length > ((long) compressedLength * FrameCompressor.MAX_RATIO))) {
+            throw new IOException("Invalid decompressed length " + length + " of " + compressedLength + " bytes");
+        }
+
+        final long start = System.nanoTime();
+        final byte[] result = this.decompress(frame, length);
+        this.statistics.codecNanos.addAndGet(System.nanoTime() - start);
+        this.statistics.bytesSaved.addAndGet(length - compressedLength);
+
+        BufferPool.getInstance().release(frame);
+        return ByteBuffer.wrap(result);
+    }
+
+    private synchronized byte[] decompress(final ByteBuffer frame, final int length) throws IOException {
+        if (this.closed) {
+            throw new IOException("Compressor is closed");
+        }
+
+        final int compressedLength = frame.remaining();
+        if (this.inputBuffer.length < compressedLength) {
+            this.inputBuffer = new byte[compressedLength];
+        }
+        frame.get(this.inputBuffer, 0, compressedLength);
+
+        final byte[] result = new byte[length];
+        this.inflater.reset();
+        this.inflater.setInput(this.inputBuffer, 0, compressedLength);
+        try {
+            int offset = 0;
+            while ((offset < length) && !this.inflater.finished()) {
+                final int n = this.inflater.inflate(result, offset, length - offset);
+                if ((n == 0) && (this.inflater.needsInput() || this.inflater.needsDictionary())) {
+                    break;
+                }
+                offset += n;
+            }
+            if ((offset != length) || !this.inflater.finished()) {
+                throw new IOException("Compressed message is truncated");
+            }
+        } catch (final DataFormatException e) {
+            throw new IOException("Invalid compressed message: " + e.getMessage(), e);
+        }
+        return result;
+    }
+
+    /**
+     * Release the native memory of the compressor. After this messages are no longer compressed, and compressed
+     * messages can no longer be decoded.
+     */
+    synchronized void close() {
+        if ((this.deflater == null) || this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.deflater.end();
+        this.inflater.end();
+    }
+
+}
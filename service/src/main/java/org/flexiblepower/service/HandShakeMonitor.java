@@ -21,11 +21,16 @@ package org.flexiblepower.service;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.flexiblepower.commons.TCPSocket;
 import org.flexiblepower.exceptions.SerializationException;
+import org.flexiblepower.proto.ConnectionProto.ConnectionAck;
 import org.flexiblepower.proto.ConnectionProto.ConnectionHandshake;
 import org.flexiblepower.proto.ConnectionProto.ConnectionState;
+import org.flexiblepower.serializers.MessageSerializer;
 import org.flexiblepower.serializers.ProtobufMessageSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +43,16 @@ import org.slf4j.LoggerFactory;
  * When both sides acknowledge that they were able to receive and send handshakes, and that both connections are in
  * the {@link ConnectionState#CONNECTED} state, the waitLock is released and the handshake monitor is considered to be
  * finished.
+ * <p>
+ * The handshakes also contain the compression codecs that each side supports, which are used to decide on the
+ * {@link FrameCompressor} for the user messages on this socket. When both sides keep a {@link ReplayBuffer}, the
+ * handshakes tell which user messages were received, and the acknowledgements of received messages are sent as
+ * {@link ConnectionAck} messages.
+ * <p>
+ * When the system property {@value #COMPACT_TYPES_PROPERTY} is set, and the user messages are serialized with a
+ * {@link ProtobufMessageSerializer}, the handshakes also tell if both sides know the same message types. In that case
+ * the user messages use compact type ids instead of type names. Likewise, when both sides trace messages with the
+ * {@link MessageTracer}, the user messages start with a trace header.
  *
  * @version 0.1
  * @since Aug 23, 2017
@@ -46,9 +61,24 @@ final class HandShakeMonitor implements Closeable {
 
     private static final Logger log = LoggerFactory.getLogger(HandShakeMonitor.class);
 
+    /**
+     * The system property that enables compact type ids for user messages that are serialized with protobuf
+     */
+    static final String COMPACT_TYPES_PROPERTY = "defpi.serializer.compact";
+
     private final String connectionId;
     private final TCPSocket socket;
     private final ProtobufMessageSerializer serializer;
+    private final List<String> compressionCodecs = CompressionCodec.configuredCodecs();
+    private final int compressionThreshold = CompressionCodec.configuredThreshold();
+    private final FrameCompressor.Statistics compressionStatistics;
+    private volatile FrameCompressor compressor = FrameCompressor.NONE;
+    private final ReplayBuffer replayBuffer;
+    private volatile long remoteReceivedSequence;
+    private volatile int acknowledgeInterval = 1;
+    private final ProtobufMessageSerializer compactTypeSerializer;
+    private final boolean tracing = MessageTracer.getInstance().isEnabled();
+    private final AtomicBoolean traceHeaders;
 
     private final Object waitLock = new Object();
     private boolean ready;
@@ -58,15 +88,33 @@ final class HandShakeMonitor implements Closeable {
      *
      * @param socket The socket to perform the handshake on
      * @param connectionId The id of the connection to identify the connection
+     * @param compressionStatistics The statistics to be updated by the compressor of this socket
+     * @param replayBuffer The replay buffer of the connection
+     * @param userMessageSerializer The serializer of the user messages of the connection
+     * @param traceHeaders Set to whether the user messages of the connection start with a trace header, which is kept
+     *            when the socket is set up again so messages that are still queued are read the same way
      */
-    HandShakeMonitor(final TCPSocket socket, final String connectionId) {
+    HandShakeMonitor(final TCPSocket socket,
+            final String connectionId,
+            final FrameCompressor.Statistics compressionStatistics,
+            final ReplayBuffer replayBuffer,
+            final MessageSerializer<?> userMessageSerializer,
+            final AtomicBoolean traceHeaders) {
         this.socket = socket;
+        this.traceHeaders = traceHeaders;
         this.connectionId = connectionId;
+        this.compressionStatistics = compressionStatistics;
+        this.replayBuffer = replayBuffer;
+        this.compactTypeSerializer = HandShakeMonitor.compactTypesEnabled()
+                && (userMessageSerializer instanceof ProtobufMessageSerializer)
+                        ? (ProtobufMessageSerializer) userMessageSerializer
+                        : null;
         this.ready = false;
 
         // Add Protobuf serializer for ConnectionHandshake messages
         this.serializer = new ProtobufMessageSerializer();
         this.serializer.addMessageClass(ConnectionHandshake.class);
+        this.serializer.addMessageClass(ConnectionAck.class);
     }
 
     /**
@@ -77,10 +125,25 @@ final class HandShakeMonitor implements Closeable {
      */
     void sendHandshake(final ConnectionState currentState) {
         // Send the handshake
-        final ConnectionHandshake initHandshakeMessage = ConnectionHandshake.newBuilder()
+        final ConnectionHandshake.Builder builder = ConnectionHandshake.newBuilder()
                 .setConnectionId(this.connectionId)
-                .setConnectionState(currentState)
-                .build();
+                .setConnectionState(currentState);
+        if (!this.compressionCodecs.isEmpty()) {
+            builder.addAllCompressionCodecs(this.compressionCodecs)
+                    .setCompressionThreshold(this.compressionThreshold);
+        }
+        if (this.replayBuffer.capacity() > 0) {
+            builder.setReplayCapacity(this.replayBuffer.capacity())
+                    .setReplaySession(this.replayBuffer.session())
+                    .setReceivedSequence(this.replayBuffer.receivedSequence());
+        }
+        if (this.compactTypeSerializer != null) {
+            builder.setCompactTypeTable(this.compactTypeSerializer.getTypeTableHash());
+        }
+        if (this.tracing) {
+            builder.setTraceHeaders(true);
+        }
+        final ConnectionHandshake initHandshakeMessage = builder.build();
         HandShakeMonitor.log.trace("[{}] - Sending handshake {}", this.connectionId, currentState);
         try {
             this.socket.send(this.serializer.serialize(initHandshakeMessage));
@@ -93,18 +156,43 @@ final class HandShakeMonitor implements Closeable {
     }
 
     /**
-     * Interpret a byte array as a incoming handshake object. This object might be a response to a handshake this
-     * monitor sent earlier; if so, this function will return true, and false otherwise.
+     * Acknowledge the user messages that were received
+     *
+     * @param sequence The sequence number of the last received message
+     */
+    void sendAck(final long sequence) {
+        try {
+            this.socket.send(this.serializer
+                    .serialize(ConnectionAck.newBuilder().setReceivedSequence(sequence).build()));
+        } catch (final SerializationException e) {
+            // This should not happen
+            throw new RuntimeException("Exception while serializing acknowledgement", e);
+        } catch (final IOException e) {
+            // The messages will be acknowledged by the next handshake
+            HandShakeMonitor.log.debug("[{}] - Unable to send acknowledgement: {}", this.connectionId, e.getMessage());
+        }
+    }
+
+    /**
+     * Interpret a received frame as a incoming handshake object. This object might be a response to a handshake this
+     * monitor sent earlier; if so, this function will return true, and false otherwise. Acknowledgements of user
+     * messages are handled here as well.
      *
-     * @param recvData incoming byte array that may or may not be a response to our handshake
+     * @param recvData incoming buffer that may or may not be a response to our handshake, the position of the buffer is
+     *            not changed
      * @return true iff the byte array is a valid response
      */
-    boolean handleHandShake(final byte[] recvData) {
+    boolean handleHandShake(final ByteBuffer recvData) {
         // Receive the HandShake
         ConnectionHandshake handShakeMessage = null;
 
         try {
-            handShakeMessage = (ConnectionHandshake) this.serializer.deserialize(recvData);
+            final Object message = this.serializer.deserialize(recvData);
+            if (message instanceof ConnectionAck) {
+                this.replayBuffer.acknowledge(((ConnectionAck) message).getReceivedSequence());
+                return true;
+            }
+            handShakeMessage = (ConnectionHandshake) message;
         } catch (final SerializationException e) {
             // It is not a handshake
             return false;
@@ -114,6 +202,11 @@ final class HandShakeMonitor implements Closeable {
             HandShakeMonitor.log.debug("[{}] - Received acknowledgement: {}",
                     this.connectionId,
                     handShakeMessage.getConnectionState());
+            this.negotiateCompression(handShakeMessage);
+            this.negotiateReplay(handShakeMessage);
+            this.negotiateCompactTypes(handShakeMessage);
+            this.traceHeaders.set(this.tracing && handShakeMessage.getTraceHeaders());
+
             // Success! Send response back, or we are finished
             if (!this.ready || !handShakeMessage.getConnectionState().equals(ConnectionState.CONNECTED)) {
                 // This is the handshake that will make the other guy READY
@@ -139,6 +232,83 @@ final class HandShakeMonitor implements Closeable {
 
     }
 
+    private void negotiateCompression(final ConnectionHandshake handShakeMessage) {
+        final CompressionCodec codec = CompressionCodec.negotiate(this.compressionCodecs,
+                handShakeMessage.getCompressionCodecsList());
+        if (codec == this.compressor.codec()) {
+            return;
+        }
+
+        // Either side may raise the threshold
+        final int threshold = Math.max(this.compressionThreshold, handShakeMessage.getCompressionThreshold());
+        HandShakeMonitor.log.debug("[{}] - Using {} compression from {} bytes", this.connectionId, codec, threshold);
+        final FrameCompressor previous = this.compressor;
+        this.compressor = new FrameCompressor(codec, threshold, this.compressionStatistics);
+        previous.close();
+    }
+
+    private void negotiateReplay(final ConnectionHandshake handShakeMessage) {
+        if (!handShakeMessage.hasReplaySession() || (handShakeMessage.getReplayCapacity() <= 0)) {
+            this.replayBuffer.connectTo(null);
+            return;
+        }
+
+        this.replayBuffer.connectTo(handShakeMessage.getReplaySession());
+        this.remoteReceivedSequence = handShakeMessage.getReceivedSequence();
+        // Acknowledge long before the replay buffer of the remote side is full
+        this.acknowledgeInterval = Math.max(1, handShakeMessage.getReplayCapacity() / 2);
+    }
+
+    private void negotiateCompactTypes(final ConnectionHandshake handShakeMessage) {
+        if (this.compactTypeSerializer == null) {
+            return;
+        }
+
+        // Only when both sides assign the same ids to the same types
+        final boolean compact = handShakeMessage.hasCompactTypeTable()
+                && (handShakeMessage.getCompactTypeTable() == this.compactTypeSerializer.getTypeTableHash());
+        if (compact != this.compactTypeSerializer.isCompactTypeIds()) {
+            HandShakeMonitor.log.debug("[{}] - Using compact type ids: {}", this.connectionId, compact);
+            this.compactTypeSerializer.setCompactTypeIds(compact);
+        }
+    }
+
+    private static boolean compactTypesEnabled() {
+        try {
+            return Boolean.getBoolean(HandShakeMonitor.COMPACT_TYPES_PROPERTY);
+        } catch (final SecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return Whether the user messages on this socket are numbered, as negotiated in the handshake
+     */
+    boolean sequenced() {
+        return this.replayBuffer.isSequenced();
+    }
+
+    /**
+     * @return The sequence number of the last user message the remote side received, according to its handshake
+     */
+    long remoteReceivedSequence() {
+        return this.remoteReceivedSequence;
+    }
+
+    /**
+     * @return The number of received user messages after which they should be acknowledged
+     */
+    int acknowledgeInterval() {
+        return this.acknowledgeInterval;
+    }
+
+    /**
+     * @return The compressor for the user messages on this socket, as negotiated in the handshake
+     */
+    FrameCompressor compressor() {
+        return this.compressor;
+    }
+
     /**
      * @return Whether this monitor object has acknowledged the remote side of the connection is instantiated.
      */
@@ -155,8 +325,8 @@ final class HandShakeMonitor implements Closeable {
      * @see #close()
      */
     void waitUntilFinished() throws InterruptedException {
-        if (!this.ready()) {
-            synchronized (this.waitLock) {
+        synchronized (this.waitLock) {
+            if (!this.ready()) {
                 this.waitLock.wait();
             }
         }
@@ -176,6 +346,7 @@ final class HandShakeMonitor implements Closeable {
     public void close() {
         this.releaseWaitLock();
         this.socket.close();
+        this.compressor.close();
     }
 
 }
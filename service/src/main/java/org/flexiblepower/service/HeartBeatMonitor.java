@@ -21,15 +21,10 @@ package org.flexiblepower.service;
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ThreadFactory;
+import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
 
 import org.flexiblepower.commons.TCPSocket;
-import org.flexiblepower.proto.ConnectionProto.ConnectionState;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,6 +32,12 @@ import org.slf4j.LoggerFactory;
  * The heartbeat monitor adds functionality to a socket by periodically sending a heartbeat PING byte. A remote socket
  * with a heartbeat monitor will respond to it with a PONG byte. This PONG signifies that the connection is still alive,
  * and hence multiple missed PONGs will lead to the monitor to conclude that the connection is interrupted.
+ * <p>
+ * Any frame that is received proves that the remote side is alive, so no PING is sent on a connection that received
+ * data during the last heartbeat period. The heartbeats of all connections are driven by the shared
+ * {@link WheelTimer}, so the monitor does not need a thread of its own.
+ * <p>
+ * The round trip time of every answered PING is recorded in the {@link ConnectionMetrics} of the connection.
  *
  * @version 0.1
  * @since Aug 23, 2017
@@ -45,58 +46,129 @@ final class HeartBeatMonitor implements Closeable {
 
     private final static Logger log = LoggerFactory.getLogger(HeartBeatMonitor.class);
 
-    private static final long HEARTBEAT_PERIOD_IN_SECONDS = 10;
-    private static final long HEARTBEAT_INITIAL_DELAY = 1;
-    private static final TimeUnit HEARTBEAT_TIMING_UNIT = TimeUnit.SECONDS;
-
     private static final byte[] PING = new byte[] {(byte) 0xA};
     private static final byte[] PONG = new byte[] {(byte) 0xB};
 
-    private static final int MAX_MISSED_HEARTBEATS = 2;
-
-    private static int threadCount = 0;
-
     private final TCPSocket socket;
     private final String connectionId;
-    private final ScheduledExecutorService executor;
+    private final Timing timing;
+    private final ConnectionMetrics metrics;
+    private final WheelTimer timer = WheelTimer.getInstance();
 
-    private ScheduledFuture<?> heartBeatFuture;
-    private boolean receivedPong;
+    private volatile WheelTimer.Timeout heartBeatTimeout;
+    private volatile int generation;
+    private volatile boolean receivedData;
+    private volatile long pingSentNanos;
+    private boolean pingOutstanding;
     private int missedHeartBeats;
 
+    /**
+     * The Timing of a heartbeat monitor determines how often the remote side is checked, and when it is considered
+     * lost. The default timing can be changed with the system properties {@value #PERIOD_PROPERTY},
+     * {@value #INITIAL_DELAY_PROPERTY} and {@value #MAX_MISSED_PROPERTY}.
+     */
+    static final class Timing {
+
+        /**
+         * The system property to set the default heartbeat period in milliseconds
+         */
+        static final String PERIOD_PROPERTY = "defpi.heartbeat.period";
+
+        /**
+         * The system property to set the default delay in milliseconds before the first heartbeat
+         */
+        static final String INITIAL_DELAY_PROPERTY = "defpi.heartbeat.delay";
+
+        /**
+         * The system property to set the default number of heartbeats that may be missed before the connection is
+         * closed
+         */
+        static final String MAX_MISSED_PROPERTY = "defpi.heartbeat.missed";
+
+        private static final long DEFAULT_PERIOD_MILLIS = 10000;
+        private static final long DEFAULT_INITIAL_DELAY_MILLIS = 1000;
+        private static final int DEFAULT_MAX_MISSED_HEARTBEATS = 2;
+
+        final long periodMillis;
+        final long initialDelayMillis;
+        final int maxMissedHeartBeats;
+
+        /**
+         * @param periodMillis The time between two heartbeats in milliseconds
+         * @param initialDelayMillis The time before the first heartbeat in milliseconds
+         * @param maxMissedHeartBeats The number of consecutive heartbeats that may be missed before the socket is closed
+         */
+        Timing(final long periodMillis, final long initialDelayMillis, final int maxMissedHeartBeats) {
+            if (periodMillis <= 0) {
+                throw new IllegalArgumentException("Heartbeat period must be positive");
+            }
+            this.periodMillis = periodMillis;
+            this.initialDelayMillis = Math.max(0, initialDelayMillis);
+            this.maxMissedHeartBeats = Math.max(0, maxMissedHeartBeats);
+        }
+
+        /**
+         * @return The timing as configured by the system properties, or the defaults
+         */
+        static Timing fromSystemProperties() {
+            try {
+                return new Timing(Long.getLong(Timing.PERIOD_PROPERTY, Timing.DEFAULT_PERIOD_MILLIS),
+                        Long.getLong(Timing.INITIAL_DELAY_PROPERTY, Timing.DEFAULT_INITIAL_DELAY_MILLIS),
+                        Integer.getInteger(Timing.MAX_MISSED_PROPERTY, Timing.DEFAULT_MAX_MISSED_HEARTBEATS));
+            } catch (final IllegalArgumentException | SecurityException e) {
+                HeartBeatMonitor.log.warn("Invalid heartbeat configuration, using defaults: {}", e.getMessage());
+                return new Timing(Timing.DEFAULT_PERIOD_MILLIS,
+                        Timing.DEFAULT_INITIAL_DELAY_MILLIS,
+                        Timing.DEFAULT_MAX_MISSED_HEARTBEATS);
+            }
+        }
+
+    }
+
     /**
      * Create a HeartBeatMonitor for the specified socket.
      *
      * @param socket The socket to perform the heartbeat on
      * @param connectionId The id of the connection, mostly used for logging.
+     * @param timing The heartbeat period and thresholds to use
+     * @param metrics The metrics to record the round trip time of the heartbeats with
      */
-    HeartBeatMonitor(final TCPSocket socket, final String connectionId) {
-        final ThreadFactory threadFactory = r -> new Thread(r, "dEF-Pi hbMonThread-" + HeartBeatMonitor.threadCount++);
-        this.executor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    HeartBeatMonitor(final TCPSocket socket,
+            final String connectionId,
+            final Timing timing,
+            final ConnectionMetrics metrics) {
         this.socket = socket;
         this.connectionId = connectionId;
+        this.timing = timing;
+        this.metrics = metrics;
     }
 
     /**
-     * Handle a byte array to see if it is a heartbeat. If it is a ping, it will send back a pong, if it was a pong it
-     * will take note that the other side of the connection is alive.
+     * Handle a received frame to see if it is a heartbeat. If it is a ping, it will send back a pong, if it was a pong
+     * it will take note that the other side of the connection is alive. Any other frame also shows the remote side is
+     * alive, so no PING is needed for the current period.
      *
-     * @param data The byte array to handle as a heartbeat
+     * @param data The buffer to handle as a heartbeat, the position of the buffer is not changed
      * @return whether the data was actually a heartbeat or not
      */
-    boolean handleMessage(final byte[] data) {
-        if (data.length != HeartBeatMonitor.PING.length) {
+    boolean handleMessage(final ByteBuffer data) {
+        this.receivedData = true;
+        if (data.remaining() != HeartBeatMonitor.PING.length) {
             return false;
         }
 
         // If message is only 1 byte long, it is probably a heartbeat
-        if (Arrays.equals(data, HeartBeatMonitor.PONG)) {
+        final byte b = data.get(data.position());
+        if (b == HeartBeatMonitor.PONG[0]) {
             // If ponged, it is a response to our ping
             // HeartBeatMonitor.log.trace("[{}] - -> PONG", this.connectionId);
-            this.receivedPong = true;
-            this.missedHeartBeats = 0;
+            final long sent = this.pingSentNanos;
+            if (sent != 0) {
+                this.pingSentNanos = 0;
+                this.metrics.heartBeatAnswered(System.nanoTime() - sent);
+            }
             return true;
-        } else if (Arrays.equals(data, HeartBeatMonitor.PING)) {
+        } else if (b == HeartBeatMonitor.PING[0]) {
             // If pinged, respond with a pong
             // HeartBeatMonitor.log.trace("[{}] - PING -> PONG", this.connectionId);
             try {
@@ -113,52 +185,74 @@ final class HeartBeatMonitor implements Closeable {
     }
 
     /**
-     * Start the heartbeat thread that will periodically send a ping, and check if it has received a pong before the
-     * next cycle.
+     * Start the heartbeat, that will periodically check if anything was received from the remote side, and send a ping
+     * if not.
      */
     void start() {
-        if (this.heartBeatFuture != null) {
-            this.heartBeatFuture.cancel(true);
+        final int currentGeneration;
+        synchronized (this) {
+            this.cancelTimeout();
+            currentGeneration = ++this.generation;
+            this.receivedData = true;
+            this.pingOutstanding = false;
+            this.missedHeartBeats = 0;
         }
+        this.schedule(currentGeneration, this.timing.initialDelayMillis);
+    }
 
-        this.receivedPong = true;
-        this.missedHeartBeats = 0;
-        this.heartBeatFuture = this.executor.scheduleAtFixedRate(() -> {
-            try {
-                if (!this.socket.isConnected()) {
-                    this.close();
-                    return;
-                }
+    private void schedule(final int scheduledGeneration, final long delayMillis) {
+        this.heartBeatTimeout = this.timer
+                .schedule(() -> this.beat(scheduledGeneration), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void beat(final int scheduledGeneration) {
+        if (scheduledGeneration != this.generation) {
+            // The monitor was stopped or restarted in the meantime
+            return;
+        }
 
-                if (!this.receivedPong) {
-                    // If no PONG was received since the last PING, assume connection was interrupted!
-                    HeartBeatMonitor.log
-                            .warn("[{}] - Missed a heartbeat...", this.connectionId, ConnectionState.INTERRUPTED);
-                    if (++this.missedHeartBeats > HeartBeatMonitor.MAX_MISSED_HEARTBEATS) {
+        try {
+            if (!this.socket.isConnected()) {
+                this.close();
+                return;
+            }
+
+            if (this.receivedData) {
+                // The remote side is alive, no need to ping
+                this.receivedData = false;
+                this.pingOutstanding = false;
+                this.missedHeartBeats = 0;
+            } else {
+                if (this.pingOutstanding) {
+                    // If nothing was received since the last PING, assume connection was interrupted!
+                    HeartBeatMonitor.log.warn("[{}] - Missed a heartbeat...", this.connectionId);
+                    if (++this.missedHeartBeats > this.timing.maxMissedHeartBeats) {
                         HeartBeatMonitor.log.warn("[{}] - Missed more than {} heartbeats, closing socket",
                                 this.connectionId,
-                                HeartBeatMonitor.MAX_MISSED_HEARTBEATS);
+                                this.timing.maxMissedHeartBeats);
                         this.close();
+                        return;
                     }
                 }
 
                 try {
-                    this.receivedPong = false;
                     // HeartBeatMonitor.log.trace("[{}] - PING ->", this.connectionId);
+                    this.pingOutstanding = true;
+                    this.pingSentNanos = System.nanoTime();
                     this.socket.send(HeartBeatMonitor.PING);
                 } catch (final IOException e) {
                     HeartBeatMonitor.log.warn("[{}] - Unable to send heartbeat, closing socket", this.connectionId);
                     this.close();
+                    return;
                 }
-            } catch (final Exception e) {
-                HeartBeatMonitor.log.error("[{}] - Error while sending heartbeat", this.connectionId, e);
-                this.close();
             }
-        },
-                HeartBeatMonitor.HEARTBEAT_INITIAL_DELAY,
-                HeartBeatMonitor.HEARTBEAT_PERIOD_IN_SECONDS,
-                HeartBeatMonitor.HEARTBEAT_TIMING_UNIT);
+        } catch (final Exception e) {
+            HeartBeatMonitor.log.error("[{}] - Error while sending heartbeat", this.connectionId, e);
+            this.close();
+            return;
+        }
 
+        this.schedule(scheduledGeneration, this.timing.periodMillis);
     }
 
     @Override
@@ -171,13 +265,17 @@ final class HeartBeatMonitor implements Closeable {
      * Stops the monitor from sending bytes or responding in the future. This would be desireable for example when the
      * connection is suspended.
      */
-    void stop() {
-        if (this.heartBeatFuture != null) {
-            this.heartBeatFuture.cancel(true);
-            this.heartBeatFuture = null;
-        }
+    synchronized void stop() {
+        this.generation++;
+        this.cancelTimeout();
+    }
 
-        this.executor.shutdown();
+    private void cancelTimeout() {
+        final WheelTimer.Timeout timeout = this.heartBeatTimeout;
+        if (timeout != null) {
+            timeout.cancel();
+            this.heartBeatTimeout = null;
+        }
     }
 
 }
@@ -0,0 +1,144 @@
+/*-
+ * #%L
+ * dEF-Pi service managing library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The MessageDispatcher maps the type of a received message to the function of a {@link ConnectionHandler} that should
+ * handle it. These are the public functions that take a single parameter of exactly that type, and of which the name
+ * starts with "handle" and ends with "Message".
+ * <p>
+ * The dispatch table is built only once for every handler class, when the first handler of that class is created.
+ * After that, finding the handler function is a single map lookup, and it is called through a prebound
+ * {@link MethodHandle} instead of reflection.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+final class MessageDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageDispatcher.class);
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final Map<Class<?>, MessageDispatcher> dispatchers = new ConcurrentHashMap<>();
+
+    private final Class<?> handlerClass;
+    private final Map<Class<?>, Invoker> invokers = new HashMap<>();
+    private final Set<Class<?>> reportedTypes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Get the dispatcher for a type of connection handler, and build it if it was not built before.
+     *
+     * @param handlerClass The class of the connection handler
+     * @return The dispatcher for the class
+     */
+    static MessageDispatcher forHandlerClass(final Class<?> handlerClass) {
+        return MessageDispatcher.dispatchers.computeIfAbsent(handlerClass, MessageDispatcher::new);
+    }
+
+    private MessageDispatcher(final Class<?> handlerClass) {
+        this.handlerClass = handlerClass;
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (final Method method : handlerClass.getMethods()) {
+            if (!method.getName().startsWith("handle") || !method.getName().endsWith("Message")
+                    || (method.getParameterCount() != 1)) {
+                continue;
+            }
+
+            try {
+                // Needed when the handler class itself is not public
+                method.setAccessible(true);
+            } catch (final SecurityException e) {
+                MessageDispatcher.log.trace("Unable to make {} accessible: {}", method, e.getMessage());
+            }
+
+            try {
+                final MethodHandle handle = lookup.unreflect(method).asType(MessageDispatcher.INVOKER_TYPE);
+                this.invokers.putIfAbsent(method.getParameterTypes()[0], new Invoker(method.getName(), handle));
+            } catch (final IllegalAccessException e) {
+                MessageDispatcher.log.error("Message handling method {} is not accessible", method.getName(), e);
+            }
+        }
+        MessageDispatcher.log.debug("Built dispatch table for {} with {} message types",
+                handlerClass.getSimpleName(),
+                this.invokers.size());
+    }
+
+    /**
+     * Find the function that handles a type of message. If there is no such function, this is logged the first time
+     * this type of message is encountered.
+     *
+     * @param messageType The type of the received message
+     * @return The invoker for the handler function, or null if the handler class has no function for this type
+     */
+    Invoker invokerFor(final Class<?> messageType) {
+        final Invoker invoker = this.invokers.get(messageType);
+        if ((invoker == null) && this.reportedTypes.add(messageType)) {
+            MessageDispatcher.log.error("Unable to find handler method for message of type {} in {}",
+                    messageType.getSimpleName(),
+                    this.handlerClass.getSimpleName());
+        }
+        return invoker;
+    }
+
+    /**
+     * An Invoker calls a single handler function
+     */
+    static final class Invoker {
+
+        private final String name;
+        private final MethodHandle handle;
+
+        Invoker(final String name, final MethodHandle handle) {
+            this.name = name;
+            this.handle = handle;
+        }
+
+        /**
+         * @return The name of the handler function
+         */
+        String name() {
+            return this.name;
+        }
+
+        /**
+         * Call the handler function
+         *
+         * @param handler The handler object to call the function on
+         * @param message The message to pass as argument
+         * @throws Throwable Any exception that is thrown by the handler function
+         */
+        void invoke(final Object handler, final Object message) throws Throwable {
+            this.handle.invokeExact(handler, message);
+        }
+
+    }
+
+}
@@ -0,0 +1,442 @@
+/*-
+ * #%L
+ * dEF-Pi service managing library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.flexiblepower.proto.DefPiParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The MessageTracer follows user messages as they travel from service to service. A sampled message gets a trace id
+ * when it is sent, and every service that sends a message while handling it passes the trace id on. Each hop records a
+ * span for sending the message, and a span for receiving and handling it, so the time spent in serialization, in
+ * transit, waiting in the queue and in the user handler can be told apart.
+ * <p>
+ * Tracing is enabled by setting the system property {@value #SAMPLE_PROPERTY} to the fraction of messages that start a
+ * new trace, for instance 0.01. With 0 the service only continues traces that were started by other services. When
+ * both sides of a connection enable tracing, which is agreed upon in the handshake, every user message starts with a
+ * single byte telling whether it is traced. A traced message continues with the trace id, the id of the span that
+ * sent it, and the time it was sent.
+ * <p>
+ * Spans are recorded in a {@link SpanBuffer} of {@value #CAPACITY_PROPERTY} spans (default 8192) without allocating,
+ * and are exported in the OTLP/JSON layout of OpenTelemetry, either with {@link #writeOtlpJson(Appendable)} or
+ * through the {@code /traces} path of the endpoint of the {@link ServiceMetrics}.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+public final class MessageTracer {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageTracer.class);
+
+    /**
+     * The system property to set the fraction of sent messages that start a new trace
+     */
+    public static final String SAMPLE_PROPERTY = "defpi.trace.sample";
+
+    /**
+     * The system property to set the number of spans that are kept until they are exported
+     */
+    public static final String CAPACITY_PROPERTY = "defpi.trace.capacity";
+
+    private static final int DEFAULT_CAPACITY = 8192;
+
+    private static final byte NOT_TRACED = 0;
+    private static final byte TRACED = 1;
+    private static final int HEADER_LENGTH = 1 + (4 * Long.BYTES);
+
+    private static final int SPAN_KIND_CONSUMER = 5;
+    private static final int SPAN_KIND_PRODUCER = 4;
+
+    private static MessageTracer instance;
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final SpanBuffer spans;
+    private final String processId;
+    private final long epochOffsetNanos;
+
+    /**
+     * The trace of the message that is being handled by the current thread, so that messages sent by the handler
+     * continue the same trace
+     */
+    private final ThreadLocal<Scope> scope = ThreadLocal.withInitial(Scope::new);
+
+    /**
+     * The trace of a received message, until it is handled
+     */
+    static final class TraceContext {
+
+        final long traceIdHigh;
+        final long traceIdLow;
+        final long parentSpanId;
+        final long spanId;
+        final long sentNanos;
+
+        TraceContext(final long traceIdHigh,
+                final long traceIdLow,
+                final long parentSpanId,
+                final long spanId,
+                final long sentNanos) {
+            this.traceIdHigh = traceIdHigh;
+            this.traceIdLow = traceIdLow;
+            this.parentSpanId = parentSpanId;
+            this.spanId = spanId;
+            this.sentNanos = sentNanos;
+        }
+
+    }
+
+    private static final class Scope {
+
+        boolean active;
+        long traceIdHigh;
+        long traceIdLow;
+        long spanId;
+
+        Scope() {
+            // One per thread
+        }
+
+    }
+
+    /**
+     * @return the singleton instance of the MessageTracer
+     */
+    public synchronized static MessageTracer getInstance() {
+        if (MessageTracer.instance == null) {
+            MessageTracer.instance = new MessageTracer(MessageTracer.configuredSampleRate(),
+                    MessageTracer.configuredCapacity());
+        }
+        return MessageTracer.instance;
+    }
+
+    /**
+     * @param sampleRate The fraction of sent messages that start a new trace, or a negative number to disable tracing
+     * @param capacity The number of spans that are kept until they are exported
+     */
+    MessageTracer(final double sampleRate, final int capacity) {
+        this.enabled = sampleRate >= 0;
+        this.sampleRate = Math.min(1, sampleRate);
+        this.spans = new SpanBuffer(this.enabled ? capacity : 2);
+        this.processId = MessageTracer.getEnv(DefPiParams.PROCESS_ID.name());
+        this.epochOffsetNanos = (System.currentTimeMillis() * 1000000) - System.nanoTime();
+    }
+
+    private static double configuredSampleRate() {
+        try {
+            final String rate = System.getProperty(MessageTracer.SAMPLE_PROPERTY);
+            return rate == null ? -1 : Math.max(0, Double.parseDouble(rate.trim()));
+        } catch (final NumberFormatException | SecurityException e) {
+            MessageTracer.log.warn("Invalid trace sample rate, tracing is disabled");
+            return -1;
+        }
+    }
+
+    private static int configuredCapacity() {
+        try {
+            return Math.max(2, Integer.getInteger(MessageTracer.CAPACITY_PROPERTY, MessageTracer.DEFAULT_CAPACITY));
+        } catch (final SecurityException e) {
+            return MessageTracer.DEFAULT_CAPACITY;
+        }
+    }
+
+    private static String getEnv(final String name) {
+        try {
+            return System.getenv(name);
+        } catch (final SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return Whether messages are traced
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    private long epochNanos(final long nanoTime) {
+        return this.epochOffsetNanos + nanoTime;
+    }
+
+    private static long newId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return id;
+    }
+
+    /**
+     * Decide if a message that was just serialized is traced, record the span of sending it, and add the trace header
+     * if the remote side supports it. A message is traced when it is sent while handling a traced message, or when it
+     * is sampled to start a new trace.
+     *
+     * @param connectionId The id of the connection the message is sent on
+     * @param messageType The type of the message
+     * @param data The serialized message
+     * @param startNanos The {@link System#nanoTime()} at which sending the message started
+     * @param withHeader Whether the remote side expects the trace header
+     * @return The data to send, which is the same array if no header is added
+     */
+    byte[] send(final String connectionId,
+            final Class<?> messageType,
+            final byte[] data,
+            final long startNanos,
+            final boolean withHeader) {
+        if (!this.enabled) {
+            return data;
+        }
+
+        final Scope current = this.scope.get();
+        final long traceIdHigh;
+        final long traceIdLow;
+        final long parentSpanId;
+        if (current.active) {
+            traceIdHigh = current.traceIdHigh;
+            traceIdLow = current.traceIdLow;
+            parentSpanId = current.spanId;
+        } else if ((this.sampleRate > 0) && (ThreadLocalRandom.current().nextDouble() < this.sampleRate)) {
+            traceIdHigh = MessageTracer.newId();
+            traceIdLow = ThreadLocalRandom.current().nextLong();
+            parentSpanId = 0;
+        } else {
+            return withHeader ? MessageTracer.withHeader(data, MessageTracer.NOT_TRACED) : data;
+        }
+
+        final long spanId = MessageTracer.newId();
+        final long now = this.epochNanos(System.nanoTime());
+        this.spans.record(traceIdHigh,
+                traceIdLow,
+                spanId,
+                parentSpanId,
+                SpanBuffer.KIND_SEND,
+                this.epochNanos(startNanos),
+                now,
+                0,
+                0,
+                connectionId,
+                messageType);
+
+        if (!withHeader) {
+            return data;
+        }
+        final byte[] result = MessageTracer.withHeader(data, MessageTracer.TRACED);
+        ByteBuffer.wrap(result, 1, MessageTracer.HEADER_LENGTH - 1)
+                .putLong(traceIdHigh)
+                .putLong(traceIdLow)
+                .putLong(spanId)
+                .putLong(now);
+        return result;
+    }
+
+    private static byte[] withHeader(final byte[] data, final byte flag) {
+        final int headerLength = flag == MessageTracer.TRACED ? MessageTracer.HEADER_LENGTH : 1;
+        final byte[] result = new byte[headerLength + data.length];
+        result[0] = flag;
+        System.arraycopy(data, 0, result, headerLength, data.length);
+        return result;
+    }
+
+    /**
+     * Read the trace header of a received message.
+     *
+     * @param message The received message, of which the position is moved past the header
+     * @return The trace of the message, or null if the message is not traced
+     * @throws IOException When the header is not valid
+     */
+    TraceContext receive(final ByteBuffer message) throws IOException {
+        if (!message.hasRemaining()) {
+            throw new IOException("Missing trace header");
+        }
+        final byte flag = message.get();
+        if (flag == MessageTracer.NOT_TRACED) {
+            return null;
+        } else if ((flag != MessageTracer.TRACED) || (message.remaining() < (MessageTracer.HEADER_LENGTH - 1))) {
+            throw new IOException("Invalid trace header " + flag);
+        }
+        return new TraceContext(message.getLong(),
+                message.getLong(),
+                message.getLong(),
+                MessageTracer.newId(),
+                message.getLong());
+    }
+
+    /**
+     * Make the messages that are sent by the current thread part of the trace of a received message, until
+     * {@link #exit(TraceContext, String, Class, long, long)} is called.
+     *
+     * @param trace The trace of the message that is about to be handled
+     */
+    void enter(final TraceContext trace) {
+        final Scope current = this.scope.get();
+        current.traceIdHigh = trace.traceIdHigh;
+        current.traceIdLow = trace.traceIdLow;
+        current.spanId = trace.spanId;
+        current.active = true;
+    }
+
+    /**
+     * Record the span of receiving and handling a message, and stop tracing the messages that are sent by the current
+     * thread.
+     *
+     * @param trace The trace of the message that was handled
+     * @param connectionId The id of the connection the message was received on
+     * @param messageType The type of the message
+     * @param startNanos The {@link System#nanoTime()} at which the message was taken from the receive queue
+     * @param handlerNanos The {@link System#nanoTime()} at which the user handler started
+     */
+    void exit(final TraceContext trace,
+            final String connectionId,
+            final Class<?> messageType,
+            final long startNanos,
+            final long handlerNanos) {
+        this.scope.get().active = false;
+        this.spans.record(trace.traceIdHigh,
+                trace.traceIdLow,
+                trace.spanId,
+                trace.parentSpanId,
+                SpanBuffer.KIND_HANDLE,
+                this.epochNanos(startNanos),
+                this.epochNanos(System.nanoTime()),
+                trace.sentNanos,
+                this.epochNanos(handlerNanos),
+                connectionId,
+                messageType);
+    }
+
+    /**
+     * Write the spans that were recorded since the previous export as an OTLP/JSON {@code ExportTraceServiceRequest}.
+     * Spans that were overwritten because the buffer was full are lost.
+     *
+     * @param out The destination to write to
+     * @throws IOException When writing fails
+     */
+    public void writeOtlpJson(final Appendable out) throws IOException {
+        out.append("{\"resourceSpans\":[{\"resource\":{\"attributes\":[");
+        if (this.processId != null) {
+            out.append("{\"key\":\"service.instance.id\",\"value\":{\"stringValue\":\"");
+            MessageTracer.escape(out, this.processId);
+            out.append("\"}}");
+        }
+        out.append("]},\"scopeSpans\":[{\"scope\":{\"name\":\"").append(MessageTracer.class.getPackage().getName());
+        out.append("\"},\"spans\":[");
+
+        final IOException[] failure = new IOException[1];
+        final boolean[] first = {true};
+        this.spans.drain((traceIdHigh,
+                traceIdLow,
+                spanId,
+                parentSpanId,
+                kind,
+                startNanos,
+                endNanos,
+                sentNanos,
+                handlerNanos,
+                connectionId,
+                messageType) -> {
+            if (failure[0] != null) {
+                return;
+            }
+            try {
+                if (!first[0]) {
+                    out.append(',');
+                }
+                first[0] = false;
+                final boolean send = kind == SpanBuffer.KIND_SEND;
+                out.append("{\"traceId\":\"")
+                        .append(MessageTracer.hex(traceIdHigh))
+                        .append(MessageTracer.hex(traceIdLow))
+                        .append("\",\"spanId\":\"")
+                        .append(MessageTracer.hex(spanId));
+                if (parentSpanId != 0) {
+                    out.append("\",\"parentSpanId\":\"").append(MessageTracer.hex(parentSpanId));
+                }
+                out.append("\",\"name\":\"")
+                        .append(send ? "send " : "handle ")
+                        .append(messageType.getSimpleName())
+                        .append("\",\"kind\":")
+                        .append(Integer.toString(send ? MessageTracer.SPAN_KIND_PRODUCER
+                                : MessageTracer.SPAN_KIND_CONSUMER))
+                        .append(",\"startTimeUnixNano\":\"")
+                        .append(Long.toString(startNanos))
+                        .append("\",\"endTimeUnixNano\":\"")
+                        .append(Long.toString(endNanos))
+                        .append("\",\"attributes\":[");
+                MessageTracer.attribute(out, "defpi.connection.id", connectionId).append(',');
+                MessageTracer.attribute(out, "defpi.message.type", messageType.getName());
+                if (!send) {
+                    out.append(',');
+                    MessageTracer.attribute(out, "defpi.message.sent_unix_nano", sentNanos).append(',');
+                    MessageTracer.attribute(out, "defpi.handler.start_unix_nano", handlerNanos);
+                }
+                out.append("]}");
+            } catch (final IOException e) {
+                failure[0] = e;
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        out.append("]}]}]}");
+    }
+
+    private static String hex(final long value) {
+        final String digits = Long.toHexString(value);
+        return "0000000000000000".substring(digits.length()) + digits;
+    }
+
+    private static Appendable attribute(final Appendable out, final String key, final String value)
+            throws IOException {
+        out.append("{\"key\":\"").append(key).append("\",\"value\":{\"stringValue\":\"");
+        MessageTracer.escape(out, value);
+        return out.append("\"}}");
+    }
+
+    private static Appendable attribute(final Appendable out, final String key, final long value) throws IOException {
+        return out.append("{\"key\":\"")
+                .append(key)
+                .append("\",\"value\":{\"intValue\":\"")
+                .append(Long.toString(value))
+                .append("\"}}");
+    }
+
+    private static void escape(final Appendable out, final String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if ((c == '"') || (c == '\\')) {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,345 @@
+/*-
+ * #%L
+ * dEF-Pi service managing library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The ReplayBuffer makes the user messages of a connection survive an interruption. When both sides advertise a replay
+ * capacity in their handshake, every user message is prefixed with an eight byte sequence number, and kept by the
+ * sender until the receiver acknowledges it. After an interruption the handshake tells which messages the remote side
+ * has received, and only the missing ones are sent again. The receiver ignores messages it has already received.
+ * <p>
+ * While the connection is interrupted, messages that are sent are kept until the connection is restored, so sending
+ * only fails when the buffer is full. When the buffer is full while connected, the oldest message that was already
+ * written is discarded, and can no longer be sent again if the connection is interrupted.
+ * <p>
+ * The capacity is set with the system property {@value #CAPACITY_PROPERTY}, where 0 disables numbering messages.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+final class ReplayBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplayBuffer.class);
+
+    /**
+     * The system property to set the number of unacknowledged messages that are kept
+     */
+    static final String CAPACITY_PROPERTY = "defpi.replay.capacity";
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final int SEQUENCE_LENGTH = 8;
+
+    private final String connectionId;
+    private final int capacity;
+    private final long session = ThreadLocalRandom.current().nextLong();
+
+    /**
+     * The send side is guarded by the lock of this object, which is also held while writing, so the messages are
+     * written in the order of their sequence numbers. The event loop must never wait for this lock, since a writing
+     * thread may wait for the event loop; acknowledgements and interruptions are therefore recorded without it.
+     */
+    private final Queue<Entry> unacknowledged = new ArrayDeque<>();
+    private final AtomicLong remoteReceived = new AtomicLong();
+    private long sentSequence;
+    private volatile Long remoteSession;
+    private volatile boolean sequenced;
+    private volatile boolean live;
+    private boolean overflowReported;
+
+    /**
+     * The receive side has a lock of its own, so the event loop never waits for a writing thread
+     */
+    private final Object receiveLock = new Object();
+    private long receivedSequence;
+    private long acknowledgedSequence;
+
+    /**
+     * A function that writes a numbered message to the socket
+     */
+    @FunctionalInterface
+    interface Writer {
+
+        /**
+         * @param sequence The sequence number of the message
+         * @param data The serialized message
+         * @throws IOException When the message could not be written
+         */
+        void write(long sequence, byte[] data) throws IOException;
+
+    }
+
+    /**
+     * @param connectionId The id of the connection, for logging
+     * @param capacity The maximum number of unacknowledged messages that are kept, or 0 to disable numbering messages
+     */
+    ReplayBuffer(final String connectionId, final int capacity) {
+        this.connectionId = connectionId;
+        this.capacity = Math.max(0, capacity);
+    }
+
+    /**
+     * @return The capacity as configured by the system property, or the default
+     */
+    static int configuredCapacity() {
+        try {
+            return Math.max(0, Integer.getInteger(ReplayBuffer.CAPACITY_PROPERTY, ReplayBuffer.DEFAULT_CAPACITY));
+        } catch (final SecurityException e) {
+            return ReplayBuffer.DEFAULT_CAPACITY;
+        }
+    }
+
+    /**
+     * Build the frame of a numbered message
+     *
+     * @param sequence The sequence number of the message
+     * @param payload The message as it should be written
+     * @return The buffer to write
+     */
+    static ByteBuffer frame(final long sequence, final byte[] payload) {
+        final ByteBuffer frame = ByteBuffer.allocate(ReplayBuffer.SEQUENCE_LENGTH + payload.length);
+        frame.putLong(sequence).put(payload);
+        ((Buffer) frame).flip();
+        return frame;
+    }
+
+    /**
+     * @return The maximum number of unacknowledged messages, or 0 if messages are not numbered
+     */
+    int capacity() {
+        return this.capacity;
+    }
+
+    /**
+     * @return The random identifier of this side of the connection, to recognize a remote side that was restarted
+     */
+    long session() {
+        return this.session;
+    }
+
+    /**
+     * @return Whether the messages are numbered, because the remote side supported it in the last handshake
+     */
+    boolean isSequenced() {
+        return this.sequenced;
+    }
+
+    /**
+     * @return Whether numbered messages should be written immediately, or kept until the connection is restored
+     */
+    boolean isLive() {
+        return this.live;
+    }
+
+    /**
+     * @return The number of messages that were sent, but not yet acknowledged by the remote side
+     */
+    synchronized int backlog() {
+        this.trim();
+        return this.unacknowledged.size();
+    }
+
+    /**
+     * Number a message, and keep it until it is acknowledged.
+     *
+     * @param data The serialized message
+     * @return The sequence number of the message
+     * @throws ClosedChannelException When the buffer is full while the connection is interrupted
+     */
+    synchronized long append(final byte[] data) throws ClosedChannelException {
+        this.trim();
+        if ((this.unacknowledged.size() >= this.capacity) && !this.unacknowledged.isEmpty()) {
+            if (!this.live) {
+                ReplayBuffer.log.warn("[{}] - Replay buffer is full, unable to send while disconnected",
+                        this.connectionId);
+                throw new ClosedChannelException();
+            }
+            this.unacknowledged.poll();
+            if (!this.overflowReported) {
+                this.overflowReported = true;
+                ReplayBuffer.log.warn("[{}] - Replay buffer is full, unacknowledged messages are discarded",
+                        this.connectionId);
+            }
+        }
+        final long sequence = ++this.sentSequence;
+        this.unacknowledged.add(new Entry(sequence, data));
+        return sequence;
+    }
+
+    /**
+     * Forget the messages the remote side has received.
+     *
+     * @param sequence The sequence number of the last message the remote side received
+     */
+    void acknowledge(final long sequence) {
+        this.remoteReceived.accumulateAndGet(sequence, Math::max);
+    }
+
+    /**
+     * Remove the messages that were acknowledged. Must be called while holding the lock of this object.
+     */
+    private void trim() {
+        this.trim(this.remoteReceived.get());
+    }
+
+    private void trim(final long received) {
+        while (!this.unacknowledged.isEmpty() && (this.unacknowledged.peek().sequence <= received)) {
+            this.unacknowledged.poll();
+        }
+    }
+
+    /**
+     * Keep any messages that are sent from now on, until the connection is restored
+     */
+    void pause() {
+        this.live = false;
+    }
+
+    /**
+     * Called when the handshake shows which side of the connection is on the other end. If it is a different one than
+     * before, for instance because the remote process was restarted, the messages for the previous one are discarded,
+     * and the numbering starts over.
+     *
+     * @param remote The session of the remote side, or null if the remote side does not number messages
+     */
+    void connectTo(final Long remote) {
+        this.sequenced = (remote != null) && (this.capacity > 0);
+        if (!this.sequenced || remote.equals(this.remoteSession)) {
+            return;
+        }
+
+        // Only the first handshake of a socket can change the session, which is before any message is written
+        synchronized (this) {
+            if (this.remoteSession != null) {
+                ReplayBuffer.log.info("[{}] - Remote side was restarted, discarding {} unacknowledged messages",
+                        this.connectionId,
+                        this.unacknowledged.size());
+            }
+            this.remoteSession = remote;
+            this.unacknowledged.clear();
+            this.remoteReceived.set(0);
+            this.sentSequence = 0;
+        }
+        synchronized (this.receiveLock) {
+            this.receivedSequence = 0;
+            this.acknowledgedSequence = 0;
+        }
+    }
+
+    /**
+     * Write the messages the remote side has not received, and write any new messages immediately from now on. Messages
+     * that are sent in the meantime wait until this function has finished.
+     *
+     * @param remoteReceived The sequence number of the last message the remote side received
+     * @param writer The function that writes the messages to the new socket
+     * @throws IOException When writing fails, in which case new messages are still kept
+     */
+    synchronized void resume(final long remoteReceived, final Writer writer) throws IOException {
+        this.trim();
+        this.trim(remoteReceived);
+        if (!this.unacknowledged.isEmpty()) {
+            ReplayBuffer.log.debug("[{}] - Sending {} unacknowledged messages again",
+                    this.connectionId,
+                    this.unacknowledged.size());
+        }
+        for (final Entry entry : this.unacknowledged) {
+            writer.write(entry.sequence, entry.data);
+        }
+        this.live = true;
+    }
+
+    /**
+     * @return The sequence number of the last message that was received
+     */
+    long receivedSequence() {
+        synchronized (this.receiveLock) {
+            return this.receivedSequence;
+        }
+    }
+
+    /**
+     * Read the sequence number of a received message, and check if it was not received before.
+     *
+     * @param frame The received frame, of which the position is moved past the sequence number
+     * @return Whether the message should be handled, or false if it is a duplicate
+     * @throws IOException When the frame is too short to contain a sequence number
+     */
+    boolean receive(final ByteBuffer frame) throws IOException {
+        if (frame.remaining() < ReplayBuffer.SEQUENCE_LENGTH) {
+            throw new IOException("Missing sequence number");
+        }
+        final long sequence = frame.getLong();
+        synchronized (this.receiveLock) {
+            if (sequence <= this.receivedSequence) {
+                return false;
+            } else if (sequence > (this.receivedSequence + 1)) {
+                ReplayBuffer.log.warn("[{}] - Missed messages {} to {}",
+                        this.connectionId,
+                        this.receivedSequence + 1,
+                        sequence - 1);
+            }
+            this.receivedSequence = sequence;
+            return true;
+        }
+    }
+
+    /**
+     * Check if enough messages were received to acknowledge them.
+     *
+     * @param interval The number of messages after which they should be acknowledged
+     * @return The sequence number to acknowledge, or 0 if it is not yet time to acknowledge
+     */
+    long acknowledgement(final int interval) {
+        synchronized (this.receiveLock) {
+            if ((this.receivedSequence - this.acknowledgedSequence) < interval) {
+                return 0;
+            }
+            this.acknowledgedSequence = this.receivedSequence;
+            return this.receivedSequence;
+        }
+    }
+
+    /**
+     * A message that was sent, but not yet acknowledged
+     */
+    private static final class Entry {
+
+        final long sequence;
+        final byte[] data;
+
+        Entry(final long sequence, final byte[] data) {
+            this.sequence = sequence;
+            this.data = data;
+        }
+
+    }
+
+}
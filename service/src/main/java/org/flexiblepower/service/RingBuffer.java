@@ -0,0 +1,106 @@
+/*-
+ * #%L
+ * dEF-Pi service managing library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, preallocated ring buffer for a single producer. Elements are added without locking by the producer, and
+ * may be taken without locking by the consumer. Adding elements must not be done by multiple threads at the same time,
+ * but because the producer may also take the oldest element to make room for a new one, taking elements is safe from
+ * multiple threads.
+ *
+ * @param <T> The type of the elements in the ring buffer
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+final class RingBuffer<T> {
+
+    private final AtomicReferenceArray<T> elements;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * @param minimumCapacity The minimum number of elements the ring buffer must hold. The capacity is rounded up to
+     *            the next power of two.
+     */
+    RingBuffer(final int minimumCapacity) {
+        if (minimumCapacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        final int capacity = Integer.highestOneBit(minimumCapacity - 1) << 1;
+        this.elements = new AtomicReferenceArray<>(Math.max(1, capacity));
+        this.mask = this.elements.length() - 1;
+    }
+
+    /**
+     * @return The maximum number of elements in the ring buffer
+     */
+    int capacity() {
+        return this.elements.length();
+    }
+
+    /**
+     * @return The number of elements currently in the ring buffer
+     */
+    int size() {
+        final long currentHead = this.head.get();
+        return (int) Math.max(0, this.tail.get() - currentHead);
+    }
+
+    /**
+     * Add an element at the end of the ring buffer. This may only be called by one thread at a time.
+     *
+     * @param element The element to add
+     * @return true if the element was added, or false if the ring buffer is full
+     */
+    boolean offer(final T element) {
+        final long currentTail = this.tail.get();
+        if ((currentTail - this.head.get()) >= this.elements.length()) {
+            return false;
+        }
+        this.elements.set((int) currentTail & this.mask, element);
+        this.tail.set(currentTail + 1);
+        return true;
+    }
+
+    /**
+     * Take the oldest element from the ring buffer.
+     *
+     * @return The oldest element, or null if the ring buffer is empty
+     */
+    T poll() {
+        while (true) {
+            final long currentHead = this.head.get();
+            if (currentHead >= this.tail.get()) {
+                return null;
+            }
+            final T element = this.elements.get((int) currentHead & this.mask);
+            if (this.head.compareAndSet(currentHead, currentHead + 1)) {
+                // Clear the slot unless the producer already reused it
+                this.elements.compareAndSet((int) currentHead & this.mask, element, null);
+                return element;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+/*-
+ * #%L
+ * dEF-Pi service managing library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotate the {@link Service} implementation with ServiceExecution to choose how its user code is run. Services
+ * without this annotation run all user code in a single thread. The annotation can be overruled when starting the
+ * service by setting the system property {@value ServiceExecutor#MODE_PROPERTY}.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+@Inherited
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ServiceExecution {
+
+    /**
+     * @return The mode in which the user code of the service runs
+     */
+    public ExecutionMode value() default ExecutionMode.SERIAL;
+
+    /**
+     * @return The number of threads to use in {@link ExecutionMode#PARALLEL} mode, or 0 to use the number of available
+     *         processors
+     */
+    public int threads() default 0;
+
+}
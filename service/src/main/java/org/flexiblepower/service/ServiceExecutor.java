@@ -19,10 +19,16 @@
  */
 package org.flexiblepower.service;
 
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
@@ -30,8 +36,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * ServiceExecutor is singleton object that the service library will use to schedule user code. This makes sure that all
- * user code is initially run in one single thread, unless the user specifically creates another thread.
+ * ServiceExecutor is singleton object that the service library will use to schedule user code. By default this makes
+ * sure that all user code is run in one single thread, unless the user specifically creates another thread.
+ * <p>
+ * A service may choose to run the user code of different connections in parallel, using the {@link ServiceExecution}
+ * annotation or the system property {@value #MODE_PROPERTY}. In that case tasks are submitted with a key, typically the
+ * connection ID, and tasks with the same key are still run one at a time in the order they were submitted.
  * <p>
  * Besides being a singleton object, it also provides functionality to make sure all exceptions in user code are caught
  * and logged, but do not interfere with the functionality of the service library.
@@ -42,13 +52,36 @@ import org.slf4j.LoggerFactory;
 final class ServiceExecutor {
 
     private static final Logger log = LoggerFactory.getLogger(ServiceExecutor.class);
+
+    /**
+     * The system property that may be used to override the {@link ExecutionMode} of the service
+     */
+    static final String MODE_PROPERTY = "defpi.executor.mode";
+
+    /**
+     * The system property that may be used to override the number of threads in {@link ExecutionMode#PARALLEL} mode
+     */
+    static final String THREADS_PROPERTY = "defpi.executor.threads";
+
+    /**
+     * The key of tasks that are submitted without a key, such as the functions of the service itself
+     */
+    private static final Object SERVICE_KEY = new Object();
+
+    /**
+     * The maximum number of tasks a serial queue runs before giving its thread to another queue
+     */
+    private static final int MAX_TASKS_PER_TURN = 16;
+
     private static ServiceExecutor instance;
-    private final ExecutorService executor;
+    private volatile ExecutorService executor;
+    private volatile ExecutionMode mode = ExecutionMode.SERIAL;
+    private final Map<Object, SerialQueue> queues = new ConcurrentHashMap<>();
 
     /**
-     * This is used to keep track of the threads created by the ServiceExecutor. It is incremented when a new thread is
-     * created, which by design should only occur once! However, by keeping this counter we can show that this was
-     * indeed the case by looking in the logs
+     * This is used to keep track of the threads created by the ServiceExecutor. In serial mode it is incremented when a
+     * new thread is created, which by design should only occur once! However, by keeping this counter we can show that
+     * this was indeed the case by looking in the logs
      */
     private static int threadCount = 0;
 
@@ -63,8 +96,59 @@ final class ServiceExecutor {
     }
 
     private ServiceExecutor() {
-        final ThreadFactory threadFactory = r -> new Thread(r, "dEF-Pi userThread " + ServiceExecutor.threadCount++);
-        this.executor = Executors.newSingleThreadExecutor(threadFactory);
+        this.executor = Executors.newSingleThreadExecutor(ServiceExecutor.threadFactory());
+    }
+
+    private static ThreadFactory threadFactory() {
+        return r -> new Thread(r, "dEF-Pi userThread " + ServiceExecutor.threadCount++);
+    }
+
+    /**
+     * Configure the execution mode for a service, based on its {@link ServiceExecution} annotation and the system
+     * properties. This should be done before any user code is submitted.
+     *
+     * @param serviceClass The type of the service implementation
+     */
+    synchronized void configure(final Class<?> serviceClass) {
+        final ServiceExecution annotation = serviceClass.getAnnotation(ServiceExecution.class);
+        ExecutionMode newMode = annotation == null ? ExecutionMode.SERIAL : annotation.value();
+        int threads = annotation == null ? 0 : annotation.threads();
+
+        try {
+            final String modeProperty = System.getProperty(ServiceExecutor.MODE_PROPERTY);
+            if (modeProperty != null) {
+                newMode = ExecutionMode.valueOf(modeProperty.trim().toUpperCase());
+            }
+            threads = Integer.getInteger(ServiceExecutor.THREADS_PROPERTY, threads);
+        } catch (final IllegalArgumentException | SecurityException e) {
+            ServiceExecutor.log.warn("Invalid executor configuration, using {}: {}", newMode, e.getMessage());
+        }
+
+        if (newMode == this.mode) {
+            return;
+        }
+
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        ServiceExecutor.log.info("Running user code in {} mode with {} threads",
+                newMode,
+                newMode == ExecutionMode.SERIAL ? 1 : threads);
+
+        final ExecutorService oldExecutor = this.executor;
+        this.executor = newMode == ExecutionMode.SERIAL
+                ? Executors.newSingleThreadExecutor(ServiceExecutor.threadFactory())
+                : Executors.newFixedThreadPool(threads, ServiceExecutor.threadFactory());
+        this.mode = newMode;
+        // Tasks that were already submitted will still be finished
+        oldExecutor.shutdown();
+    }
+
+    /**
+     * @return The mode in which the user code is run
+     */
+    ExecutionMode getMode() {
+        return this.mode;
     }
 
     /**
@@ -74,14 +158,25 @@ final class ServiceExecutor {
      * @see ExecutorService#submit(Runnable)
      */
     void submit(final Runnable task) {
-        this.executor.submit(() -> {
+        this.submit(ServiceExecutor.SERVICE_KEY, task);
+    }
+
+    /**
+     * Submit a Task to run as soon as possible, after all tasks that were submitted earlier with the same key.
+     *
+     * @param key the key of the task, typically the connection ID
+     * @param task the task to run.
+     * @see ExecutorService#submit(Runnable)
+     */
+    void submit(final Object key, final Runnable task) {
+        this.execute(key, new FutureTask<>(() -> {
             try {
                 task.run();
             } catch (final Exception e) {
                 ServiceExecutor.log.error("Error occured while executing user code: {}", e.getMessage());
                 ServiceExecutor.log.trace(e.getMessage(), e);
             }
-        });
+        }, null));
     }
 
     /**
@@ -92,7 +187,20 @@ final class ServiceExecutor {
      * @see ExecutorService#submit(Callable)
      */
     <T> Future<T> submit(final Callable<T> task) {
-        return this.executor.submit(() -> {
+        return this.submit(ServiceExecutor.SERVICE_KEY, task);
+    }
+
+    /**
+     * Submit a value-returning task to run as soon as possible, after all tasks that were submitted earlier with the
+     * same key.
+     *
+     * @param key the key of the task, typically the connection ID
+     * @param task the Callable task to run.
+     * @return a Future that may be used to obtain the result of the Callable object.
+     * @see ExecutorService#submit(Callable)
+     */
+    <T> Future<T> submit(final Object key, final Callable<T> task) {
+        final FutureTask<T> future = new FutureTask<>(() -> {
             try {
                 return task.call();
             } catch (final Exception e) {
@@ -101,6 +209,29 @@ final class ServiceExecutor {
                 throw e;
             }
         });
+        this.execute(key, future);
+        return future;
+    }
+
+    private void execute(final Object key, final Runnable task) {
+        if (this.mode == ExecutionMode.SERIAL) {
+            this.executor.execute(task);
+            return;
+        }
+
+        while (!this.queues.computeIfAbsent(key, SerialQueue::new).add(task)) {
+            // The queue was just released, try again with a new one
+        }
+    }
+
+    /**
+     * Forget the serial queue of a key, for instance because the connection is terminated. If tasks are still waiting
+     * for this key, the queue is removed as soon as they are done.
+     *
+     * @param key the key that will no longer be used
+     */
+    void release(final Object key) {
+        this.queues.computeIfPresent(key, (k, queue) -> queue.retireWhenIdle() ? null : queue);
     }
 
     /**
@@ -114,7 +245,90 @@ final class ServiceExecutor {
         } catch (final InterruptedException e) {
             this.executor.shutdownNow();
         }
+        this.queues.clear();
         ServiceExecutor.instance = null;
     }
 
+    /**
+     * A SerialQueue runs the tasks of a single key one at a time on the thread pool. It only occupies a thread while it
+     * has tasks to run, and gives the thread to other queues after a number of tasks, so one busy connection cannot
+     * starve the others.
+     */
+    private final class SerialQueue implements Runnable {
+
+        private final Object key;
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private boolean scheduled;
+        private boolean retiring;
+        private boolean retired;
+
+        SerialQueue(final Object key) {
+            this.key = key;
+        }
+
+        /**
+         * @param task the task to run
+         * @return false if the queue was retired, and the task must be added to a new queue
+         */
+        boolean add(final Runnable task) {
+            synchronized (this) {
+                if (this.retired) {
+                    return false;
+                }
+                this.tasks.add(task);
+                if (this.scheduled) {
+                    return true;
+                }
+                this.scheduled = true;
+            }
+            this.schedule();
+            return true;
+        }
+
+        /**
+         * @return true if the queue is retired immediately, or false if it will remove itself when it is idle
+         */
+        synchronized boolean retireWhenIdle() {
+            this.retiring = true;
+            if (!this.scheduled) {
+                this.retired = true;
+            }
+            return this.retired;
+        }
+
+        private void schedule() {
+            try {
+                ServiceExecutor.this.executor.execute(this);
+            } catch (final RejectedExecutionException e) {
+                ServiceExecutor.log.warn("Unable to run user code for {}, executor is shut down", this.key);
+                synchronized (this) {
+                    this.tasks.clear();
+                    this.scheduled = false;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < ServiceExecutor.MAX_TASKS_PER_TURN; i++) {
+                final Runnable task;
+                synchronized (this) {
+                    task = this.tasks.poll();
+                    if (task == null) {
+                        this.scheduled = false;
+                        if (this.retiring) {
+                            this.retired = true;
+                            ServiceExecutor.this.queues.remove(this.key, this);
+                        }
+                        return;
+                    }
+                }
+                task.run();
+            }
+            // There may be more work, but let other queues go first
+            this.schedule();
+        }
+
+    }
+
 }
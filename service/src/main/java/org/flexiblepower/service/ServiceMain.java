@@ -61,6 +61,7 @@ public final class ServiceMain {
             final Class<? extends Service<T>> serviceClass = (Class<? extends Service<T>>) ServiceMain
                     .getServiceClass();
             ServiceMain.log.debug("Found {} as service type", serviceClass);
+            ServiceExecutor.getInstance().configure(serviceClass);
 
             // Call the constructor in the user thread.
             final Constructor<? extends Service<T>> c = serviceClass.getConstructor();
@@ -28,22 +28,34 @@ import java.lang.reflect.Method;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.flexiblepower.commons.TCPSocket;
 import org.flexiblepower.exceptions.SerializationException;
+import org.flexiblepower.proto.ConnectionProto.ConnectionHandshake;
 import org.flexiblepower.proto.ConnectionProto.ConnectionMessage;
 import org.flexiblepower.proto.DefPiParams;
+import org.flexiblepower.proto.RequestIds;
+import org.flexiblepower.proto.ServiceProto.BatchConnectionMessage;
+import org.flexiblepower.proto.ServiceProto.BatchConnectionResponse;
 import org.flexiblepower.proto.ServiceProto.ErrorMessage;
 import org.flexiblepower.proto.ServiceProto.GoToProcessStateMessage;
 import org.flexiblepower.proto.ServiceProto.ProcessState;
 import org.flexiblepower.proto.ServiceProto.ProcessStateUpdateMessage;
 import org.flexiblepower.proto.ServiceProto.ResumeProcessMessage;
 import org.flexiblepower.proto.ServiceProto.SetConfigMessage;
-import org.flexiblepower.serializers.JavaIOSerializer;
 import org.flexiblepower.serializers.ProtobufMessageSerializer;
 import org.flexiblepower.service.exceptions.ConnectionModificationException;
 import org.flexiblepower.service.exceptions.ServiceInvocationException;
@@ -56,6 +68,15 @@ import com.google.protobuf.Message;
 
 /**
  * ServiceManager
+ * <p>
+ * When the orchestrator puts a request id in a ConnectionMessage, it may send the next message before receiving the
+ * response. These messages are handled by a small pool of threads, so independent connections are set up at the same
+ * time. Messages for the same connection are still handled in the order they were received, and any other message is
+ * only handled after all connection messages before it are finished. The request id is copied in the response, so the
+ * orchestrator can match it with the request.
+ * <p>
+ * A BatchConnectionMessage contains many connection messages, which are handled in the same way. The results are sent
+ * back in a single BatchConnectionResponse, so setting up all connections of a process takes a single exchange.
  *
  * @version 0.1
  * @param <T> The type of service this manager will maintain
@@ -74,17 +95,27 @@ final class ServiceManager<T> implements Closeable {
      */
     private static final long SOCKET_READ_TIMEOUT_MILLIS = Duration.ofMinutes(5).toMillis();
     private static final long SERVICE_IMPL_TIMEOUT_MILLIS = Duration.ofSeconds(5).toMillis();
+
+    /**
+     * The system property to set the number of threads that handle connection messages concurrently
+     */
+    static final String THREADS_PROPERTY = "defpi.management.threads";
+    private static final int DEFAULT_THREADS = 4;
+
     private static final Logger log = LoggerFactory.getLogger(ServiceManager.class);
     private static int threadCount = 0;
 
     private final ServiceExecutor serviceExecutor;
     private final Thread managerThread;
     private final ConnectionManager connectionManager;
-    private final JavaIOSerializer javaIoSerializer = new JavaIOSerializer();
+    private final StateSnapshots stateSnapshots = new StateSnapshots();
     private final ProtobufMessageSerializer pbSerializer = new ProtobufMessageSerializer();
     private final DefPiParameters defPiParams;
+    private final ExecutorService connectionExecutor;
+    private final Map<String, CompletableFuture<Message>> connectionLanes = new ConcurrentHashMap<>();
+    private final Set<CompletableFuture<Void>> pendingResponses = ConcurrentHashMap.newKeySet();
 
-    private TCPSocket managementSocket;
+    private volatile TCPSocket managementSocket;
     private Service<T> managedService;
     private Class<T> configClass;
     private boolean configured;
@@ -106,6 +137,12 @@ final class ServiceManager<T> implements Closeable {
         this.managementSocket = TCPSocket.asServer(ServiceManager.MANAGEMENT_PORT);
 
         this.defPiParams = ServiceManager.generateDefPiParameters();
+        ServiceMetrics.getInstance().startEndpoint();
+        this.connectionExecutor = Executors.newFixedThreadPool(ServiceManager.getThreads(), r -> {
+            final Thread t = new Thread(r, "dEF-Pi srvManWorker-" + ServiceManager.threadCount++);
+            t.setDaemon(true);
+            return t;
+        });
 
         // Initializer the ProtoBufe message serializer
         this.pbSerializer.addMessageClass(GoToProcessStateMessage.class);
@@ -113,6 +150,7 @@ final class ServiceManager<T> implements Closeable {
         this.pbSerializer.addMessageClass(ProcessStateUpdateMessage.class);
         this.pbSerializer.addMessageClass(ResumeProcessMessage.class);
         this.pbSerializer.addMessageClass(ConnectionMessage.class);
+        this.pbSerializer.addMessageClass(BatchConnectionMessage.class);
 
         // Because when this exists, it is initializing
         this.configured = false;
@@ -144,34 +182,29 @@ final class ServiceManager<T> implements Closeable {
                 }
 
                 // Handle the message
-                Message response;
+                Message msg = null;
+                Message response = null;
                 try {
-                    final Message msg = this.pbSerializer.deserialize(messageArray);
-                    response = this.handleServiceMessage(msg);
-                } catch (final Exception e) {
-                    ServiceManager.log.error("Exception handling message: {}", e.getMessage());
-                    ServiceManager.log.trace(e.getMessage(), e);
-                    final StringWriter sw = new StringWriter();
-                    final PrintWriter pw = new PrintWriter(sw);
-                    e.printStackTrace(pw);
-                    response = ErrorMessage.newBuilder()
-                            .setProcessId(this.getProcessId())
-                            .setDebugInformation(sw.toString())
-                            .build();
+                    msg = this.pbSerializer.deserialize(messageArray);
+                } catch (final SerializationException e) {
+                    response = this.createErrorMessage(e);
                 }
 
-                byte[] responseArray;
-                try {
-                    responseArray = this.pbSerializer.serialize(response);
-                } catch (final SerializationException e) {
-                    responseArray = "Serialization error in servicemanager".getBytes();
-                    ServiceManager.log
-                            .error("Error during serialization of message type " + response.getClass().getSimpleName());
+                final long requestId = msg == null ? 0 : RequestIds.get(msg);
+                if ((requestId != 0)
+                        && ((msg instanceof ConnectionMessage) || (msg instanceof BatchConnectionMessage))) {
+                    this.handleConcurrently(msg, requestId);
+                    continue;
+                }
+
+                if (response == null) {
+                    this.awaitConnectionLanes();
+                    response = this.handleMessage(msg);
                 }
 
                 // Now try to send the response
                 try {
-                    this.managementSocket.send(responseArray);
+                    this.sendResponse(response, requestId);
                 } catch (final IOException e) {
                     // Socket is closed, we are stopped
                     if (this.keepThreadAlive) {
@@ -187,6 +220,8 @@ final class ServiceManager<T> implements Closeable {
             // When we are here keepAlive is set to false, so we can stop gracefully
             ServiceManager.log.trace("End of thread");
 
+            this.awaitConnectionLanes();
+            this.connectionExecutor.shutdown();
             this.connectionManager.close();
             this.managementSocket.close();
         }, "dEF-Pi srvManThread-" + ServiceManager.threadCount++);
@@ -196,6 +231,139 @@ final class ServiceManager<T> implements Closeable {
         Runtime.getRuntime().addShutdownHook(new Thread(this::close));
     }
 
+    /**
+     * @return The number of threads that handle connection messages, as configured with {@value #THREADS_PROPERTY}
+     */
+    private static int getThreads() {
+        try {
+            return Math.max(1, Integer.getInteger(ServiceManager.THREADS_PROPERTY, ServiceManager.DEFAULT_THREADS));
+        } catch (final SecurityException e) {
+            return ServiceManager.DEFAULT_THREADS;
+        }
+    }
+
+    /**
+     * Handle a connection message, or a batch of them, on the worker threads. The response is sent from the worker
+     * thread as soon as it is available.
+     *
+     * @param message The connection message or batch to handle
+     * @param requestId The request id to put in the response
+     */
+    private void handleConcurrently(final Message message, final long requestId) {
+        final CompletableFuture<? extends Message> response = message instanceof BatchConnectionMessage
+                ? this.handleBatch((BatchConnectionMessage) message)
+                : this.handleInLane((ConnectionMessage) message);
+        final CompletableFuture<Void> sent = response.thenAccept(r -> {
+            try {
+                this.sendResponse(r, requestId);
+            } catch (final IOException e) {
+                // The manager thread will notice the socket is closed and re-open it
+                ServiceManager.log.warn("Unable to send response to request {}: {}", requestId, e.getMessage());
+            }
+        });
+        this.pendingResponses.add(sent);
+        sent.whenComplete((v, t) -> this.pendingResponses.remove(sent));
+    }
+
+    /**
+     * Handle a connection message on one of the worker threads, after all earlier messages for the same connection.
+     *
+     * @param message The connection message to handle
+     * @return A future that completes with the response to the message
+     */
+    private CompletableFuture<Message> handleInLane(final ConnectionMessage message) {
+        final String connectionId = message.getConnectionId();
+        final CompletableFuture<Message> lane = this.connectionLanes.compute(connectionId,
+                (id, previous) -> (previous == null ? CompletableFuture.<Message> completedFuture(null) : previous)
+                        .thenApplyAsync(v -> this.handleMessage(message), this.connectionExecutor));
+        lane.whenComplete((r, t) -> this.connectionLanes.remove(connectionId, lane));
+        return lane;
+    }
+
+    /**
+     * Handle all connection messages of a batch concurrently, and collect the results in a single response. A failure
+     * of one of the messages does not affect the others.
+     *
+     * @param batch The batch of connection messages to handle
+     * @return A future that completes with the result of every message in the batch, in the same order
+     */
+    private CompletableFuture<BatchConnectionResponse> handleBatch(final BatchConnectionMessage batch) {
+        final List<CompletableFuture<Message>> results = new ArrayList<>(batch.getMessagesCount());
+        for (final ConnectionMessage message : batch.getMessagesList()) {
+            results.add(this.handleInLane(message));
+        }
+
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            final BatchConnectionResponse.Builder builder = BatchConnectionResponse.newBuilder();
+            for (int i = 0; i < results.size(); i++) {
+                final Message result = results.get(i).join();
+                final BatchConnectionResponse.Result.Builder item = builder.addResultsBuilder()
+                        .setConnectionId(batch.getMessages(i).getConnectionId());
+                if (result instanceof ConnectionHandshake) {
+                    item.setHandshake((ConnectionHandshake) result);
+                } else if (result instanceof ErrorMessage) {
+                    item.setError((ErrorMessage) result);
+                }
+            }
+            return builder.build();
+        });
+    }
+
+    /**
+     * Wait until all connection messages that are being handled concurrently are finished, and their responses are sent
+     */
+    private void awaitConnectionLanes() {
+        final CompletableFuture<?>[] lanes = this.pendingResponses.toArray(new CompletableFuture<?>[0]);
+        if (lanes.length > 0) {
+            try {
+                CompletableFuture.allOf(lanes).join();
+            } catch (final CompletionException e) {
+                ServiceManager.log.warn("Exception while handling connection message: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @param msg The message to handle
+     * @return The response to the message, which is an ErrorMessage if any exception occurred
+     */
+    private Message handleMessage(final Message msg) {
+        try {
+            return this.handleServiceMessage(msg);
+        } catch (final Exception e) {
+            return this.createErrorMessage(e);
+        }
+    }
+
+    private ErrorMessage createErrorMessage(final Exception e) {
+        ServiceManager.log.error("Exception handling message: {}", e.getMessage());
+        ServiceManager.log.trace(e.getMessage(), e);
+        final StringWriter sw = new StringWriter();
+        final PrintWriter pw = new PrintWriter(sw);
+        e.printStackTrace(pw);
+        return ErrorMessage.newBuilder()
+                .setProcessId(this.getProcessId())
+                .setDebugInformation(sw.toString())
+                .build();
+    }
+
+    /**
+     * @param response The response to send to the orchestrator
+     * @param requestId The id of the request the response belongs to, or 0 if the request did not have one
+     * @throws IOException If the management socket is closed
+     */
+    private void sendResponse(final Message response, final long requestId) throws IOException {
+        byte[] responseArray;
+        try {
+            responseArray = this.pbSerializer.serialize(RequestIds.with(response, requestId));
+        } catch (final SerializationException e) {
+            responseArray = "Serialization error in servicemanager".getBytes();
+            ServiceManager.log
+                    .error("Error during serialization of message type " + response.getClass().getSimpleName());
+        }
+        this.managementSocket.send(responseArray);
+    }
+
     /**
      * @return The string representing the processId of the current service
      */
@@ -292,7 +460,9 @@ final class ServiceManager<T> implements Closeable {
 
         // This is also done by the end of the management thread, but that is okay
         this.connectionManager.close();
+        this.connectionExecutor.shutdown();
         this.serviceExecutor.shutDown();
+        ServiceMetrics.getInstance().stopEndpoint();
 
         this.join();
     }
@@ -327,6 +497,8 @@ final class ServiceManager<T> implements Closeable {
             return this.handleSetConfigMessage((SetConfigMessage) msg);
         } else if (msg instanceof ConnectionMessage) {
             return this.connectionManager.handleConnectionMessage((ConnectionMessage) msg);
+        } else if (msg instanceof BatchConnectionMessage) {
+            return this.handleBatch((BatchConnectionMessage) msg).join();
         }
 
         throw new InvalidProtocolBufferException("Received unknown message, type: " + msg.getClass().getName());
@@ -373,7 +545,7 @@ final class ServiceManager<T> implements Closeable {
                     TimeUnit.MILLISECONDS);
             this.keepThreadAlive = false;
 
-            return this.createProcessStateUpdateMessage(ProcessState.SUSPENDED, this.javaIoSerializer.serialize(state));
+            return this.createProcessStateUpdateMessage(ProcessState.SUSPENDED, this.stateSnapshots.write(state));
         case TERMINATED:
             this.terminateManagedService();
 
@@ -417,7 +589,7 @@ final class ServiceManager<T> implements Closeable {
         }
 
         final Serializable state = msg.getStateData().isEmpty() ? null
-                : this.javaIoSerializer.deserialize(msg.getStateData().toByteArray());
+                : this.stateSnapshots.read(msg.getStateData());
         final Future<ProcessStateUpdateMessage> future = this.serviceExecutor.submit(() -> {
             this.managedService.resumeFrom(state);
             return this.createProcessStateUpdateMessage(ProcessState.RUNNING);
@@ -496,17 +668,11 @@ final class ServiceManager<T> implements Closeable {
     }
 
     private ProcessStateUpdateMessage createProcessStateUpdateMessage(final ProcessState processState,
-            final byte[] data) {
-        ByteString byteString;
-        if ((data == null) || (data.length == 0)) {
-            byteString = ByteString.EMPTY;
-        } else {
-            byteString = ByteString.copyFrom(data);
-        }
+            final ByteString data) {
         return ProcessStateUpdateMessage.newBuilder()
                 .setProcessId(this.getProcessId())
                 .setState(processState)
-                .setStateData(byteString)
+                .setStateData(data == null ? ByteString.EMPTY : data)
                 .build();
     }
 
@@ -0,0 +1,260 @@
+/*-
+ * #%L
+ * dEF-Pi service managing library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import org.flexiblepower.commons.PrometheusWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * The ServiceMetrics is the registry of the {@link ConnectionMetrics} of all open connections of the service. The
+ * metrics can be read directly, for instance to bind them to a Micrometer registry, or written in the Prometheus text
+ * format.
+ * <p>
+ * When the system property {@value #PORT_PROPERTY} is set, the service manager serves the metrics in the Prometheus
+ * text format at {@code http://<host>:<port>/metrics}, so they can be scraped from a running container. The spans of
+ * the {@link MessageTracer} are served at {@code /traces}; every request returns the spans that were recorded since the
+ * previous one.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+public final class ServiceMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(ServiceMetrics.class);
+
+    /**
+     * The system property to set the port of the HTTP endpoint that serves the metrics
+     */
+    public static final String PORT_PROPERTY = "defpi.metrics.port";
+
+    private static final String TRACES_CONTENT_TYPE = "application/json";
+
+    private static final List<Family> FAMILIES = Arrays.asList(
+            Family.counter("messages_received", "User messages received", ConnectionMetrics::getMessagesReceived),
+            Family.counter("bytes_received", "Bytes of user messages received", ConnectionMetrics::getBytesReceived),
+            Family.counter("messages_sent", "User messages sent", ConnectionMetrics::getMessagesSent),
+            Family.counter("bytes_sent", "Bytes of user messages sent", ConnectionMetrics::getBytesSent),
+            Family.counter("dropped_messages", "Received messages dropped", ConnectionMetrics::getDroppedMessages),
+            Family.counter("interrupts", "Times the connection was interrupted", ConnectionMetrics::getInterrupts),
+            Family.counter("reconnects", "Times the connection was restored", ConnectionMetrics::getReconnects),
+            Family.gauge("receive_queue_depth",
+                    "Received messages waiting to be handled",
+                    ConnectionMetrics::getReceiveQueueDepth),
+            Family.gauge("replay_backlog",
+                    "Sent messages waiting to be acknowledged",
+                    ConnectionMetrics::getReplayBacklog),
+            Family.summary("serialize_seconds", "Time spent serializing", ConnectionMetrics::getSerializeTime),
+            Family.summary("deserialize_seconds", "Time spent deserializing", ConnectionMetrics::getDeserializeTime),
+            Family.summary("handler_seconds", "Time spent in message handlers", ConnectionMetrics::getHandlerTime),
+            Family.summary("heartbeat_rtt_seconds",
+                    "Round trip time of heartbeats",
+                    ConnectionMetrics::getHeartBeatRoundTrip));
+
+    private static ServiceMetrics instance;
+
+    private final Set<ConnectionMetrics> connections = ConcurrentHashMap.newKeySet();
+    private HttpServer server;
+
+    /**
+     * @return The singleton instance of the ServiceMetrics
+     */
+    public synchronized static ServiceMetrics getInstance() {
+        if (ServiceMetrics.instance == null) {
+            ServiceMetrics.instance = new ServiceMetrics();
+        }
+        return ServiceMetrics.instance;
+    }
+
+    private ServiceMetrics() {
+        // Singleton
+    }
+
+    /**
+     * @return The metrics of the connections that are currently open
+     */
+    public Collection<ConnectionMetrics> getConnections() {
+        return Collections.unmodifiableSet(this.connections);
+    }
+
+    void register(final ConnectionMetrics metrics) {
+        this.connections.add(metrics);
+    }
+
+    void unregister(final ConnectionMetrics metrics) {
+        this.connections.remove(metrics);
+    }
+
+    /**
+     * Write the metrics of all open connections in the Prometheus text exposition format
+     *
+     * @param out The destination to write to
+     * @throws IOException When writing fails
+     */
+    public void writePrometheus(final Appendable out) throws IOException {
+        final ConnectionMetrics[] snapshot = this.connections.toArray(new ConnectionMetrics[0]);
+        final PrometheusWriter writer = new PrometheusWriter(out);
+        for (final Family family : ServiceMetrics.FAMILIES) {
+            family.write(writer, snapshot);
+        }
+    }
+
+    /**
+     * Start the HTTP endpoint, if a port is configured with the system property {@value #PORT_PROPERTY}
+     */
+    synchronized void startEndpoint() {
+        final int port;
+        try {
+            port = Integer.getInteger(ServiceMetrics.PORT_PROPERTY, 0);
+        } catch (final SecurityException e) {
+            return;
+        }
+        if ((port <= 0) || (this.server != null)) {
+            return;
+        }
+
+        try {
+            this.server = HttpServer.create(new InetSocketAddress(port), 0);
+            this.server.createContext("/metrics",
+                    exchange -> ServiceMetrics.handle(exchange, PrometheusWriter.CONTENT_TYPE, this::writePrometheus));
+            this.server.createContext("/traces",
+                    exchange -> ServiceMetrics.handle(exchange,
+                            ServiceMetrics.TRACES_CONTENT_TYPE,
+                            MessageTracer.getInstance()::writeOtlpJson));
+            this.server.start();
+            ServiceMetrics.log.info("Serving metrics on port {}", port);
+        } catch (final IOException e) {
+            ServiceMetrics.log.warn("Unable to serve metrics on port {}: {}", port, e.getMessage());
+            this.server = null;
+        }
+    }
+
+    /**
+     * Stop the HTTP endpoint, if it was started
+     */
+    synchronized void stopEndpoint() {
+        if (this.server != null) {
+            this.server.stop(0);
+            this.server = null;
+        }
+    }
+
+    private static void handle(final HttpExchange exchange, final String contentType, final Writer writer)
+            throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            final StringBuilder sb = new StringBuilder();
+            writer.write(sb);
+            final byte[] body = sb.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(200, body.length);
+            try (final OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * A function that writes the body of a response
+     */
+    @FunctionalInterface
+    private interface Writer {
+
+        void write(Appendable out) throws IOException;
+
+    }
+
+    /**
+     * A metric that is written for every connection, with the same help text and type
+     */
+    private static final class Family {
+
+        private static final String PREFIX = "defpi_connection_";
+
+        private final String name;
+        private final String type;
+        private final String help;
+        private final ToLongFunction<ConnectionMetrics> value;
+        private final Function<ConnectionMetrics, ConnectionMetrics.Summary> summary;
+
+        private Family(final String name,
+                final String type,
+                final String help,
+                final ToLongFunction<ConnectionMetrics> value,
+                final Function<ConnectionMetrics, ConnectionMetrics.Summary> summary) {
+            this.name = Family.PREFIX + name;
+            this.type = type;
+            this.help = help;
+            this.value = value;
+            this.summary = summary;
+        }
+
+        static Family counter(final String name, final String help, final ToLongFunction<ConnectionMetrics> value) {
+            return new Family(name + "_total", "counter", help, value, null);
+        }
+
+        static Family gauge(final String name, final String help, final ToLongFunction<ConnectionMetrics> value) {
+            return new Family(name, "gauge", help, value, null);
+        }
+
+        static Family summary(final String name,
+                final String help,
+                final Function<ConnectionMetrics, ConnectionMetrics.Summary> summary) {
+            return new Family(name, "summary", help, null, summary);
+        }
+
+        void write(final PrometheusWriter out, final ConnectionMetrics[] connections) throws IOException {
+            out.family(this.name, this.type, this.help);
+            for (final ConnectionMetrics metrics : connections) {
+                final String[] labels = {"connection", metrics.getConnectionId(), "remote_process",
+                        metrics.getRemoteProcessId(), "remote_interface", metrics.getRemoteInterfaceId()};
+                if (this.summary == null) {
+                    out.sample(this.name, this.value.applyAsLong(metrics), labels);
+                } else {
+                    final ConnectionMetrics.Summary s = this.summary.apply(metrics);
+                    out.summary(this.name, s.getCount(), s.getTotalNanos(), labels);
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,204 @@
+/*-
+ * #%L
+ * dEF-Pi service managing library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The SpanBuffer keeps the most recently recorded spans in preallocated arrays, so recording a span does not allocate
+ * any objects. Any number of threads may record spans at the same time; when the buffer is full the oldest spans are
+ * overwritten. The spans are read by a single exporting thread at a time.
+ * <p>
+ * Every slot has a version, which is cleared while the slot is written and set to the ticket of the span when it is
+ * complete. A reader only accepts a slot when the version is the same before and after reading it.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+final class SpanBuffer {
+
+    /**
+     * A span that was recorded when a message was sent
+     */
+    static final byte KIND_SEND = 0;
+
+    /**
+     * A span that was recorded when a message was received and handled
+     */
+    static final byte KIND_HANDLE = 1;
+
+    private final int mask;
+    private final AtomicLong next = new AtomicLong();
+    private final AtomicLongArray versions;
+
+    private final long[] traceIdHigh;
+    private final long[] traceIdLow;
+    private final long[] spanId;
+    private final long[] parentSpanId;
+    private final long[] startNanos;
+    private final long[] endNanos;
+    private final long[] sentNanos;
+    private final long[] handlerNanos;
+    private final byte[] kind;
+    private final String[] connectionId;
+    private final Class<?>[] messageType;
+
+    private long exported;
+
+    /**
+     * A function that receives the spans that are read from the buffer
+     */
+    @FunctionalInterface
+    interface Reader {
+
+        /**
+         * @param traceIdHigh The first half of the trace id
+         * @param traceIdLow The second half of the trace id
+         * @param spanId The id of the span
+         * @param parentSpanId The id of the parent span, or 0 if the span is the root of the trace
+         * @param kind Either {@link SpanBuffer#KIND_SEND} or {@link SpanBuffer#KIND_HANDLE}
+         * @param startNanos The start time of the span in nanoseconds since the epoch
+         * @param endNanos The end time of the span in nanoseconds since the epoch
+         * @param sentNanos The time the remote side sent the message, according to its own clock, or 0
+         * @param handlerNanos The time the user handler started, or 0
+         * @param connectionId The id of the connection the message was sent or received on
+         * @param messageType The type of the message
+         */
+        void span(long traceIdHigh,
+                long traceIdLow,
+                long spanId,
+                long parentSpanId,
+                byte kind,
+                long startNanos,
+                long endNanos,
+                long sentNanos,
+                long handlerNanos,
+                String connectionId,
+                Class<?> messageType);
+
+    }
+
+    /**
+     * @param capacity The minimum number of spans that are kept, which is rounded up to a power of two
+     */
+    SpanBuffer(final int capacity) {
+        final int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.mask = size - 1;
+        this.versions = new AtomicLongArray(size);
+        this.traceIdHigh = new long[size];
+        this.traceIdLow = new long[size];
+        this.spanId = new long[size];
+        this.parentSpanId = new long[size];
+        this.startNanos = new long[size];
+        this.endNanos = new long[size];
+        this.sentNanos = new long[size];
+        this.handlerNanos = new long[size];
+        this.kind = new byte[size];
+        this.connectionId = new String[size];
+        this.messageType = new Class<?>[size];
+    }
+
+    /**
+     * @return The number of spans the buffer can hold
+     */
+    int capacity() {
+        return this.mask + 1;
+    }
+
+    /**
+     * Record a span, overwriting the oldest span if the buffer is full. See {@link Reader} for the arguments.
+     */
+    void record(final long traceHigh,
+            final long traceLow,
+            final long span,
+            final long parentSpan,
+            final byte spanKind,
+            final long start,
+            final long end,
+            final long sent,
+            final long handler,
+            final String connection,
+            final Class<?> type) {
+        final long ticket = this.next.getAndIncrement();
+        final int i = (int) (ticket & this.mask);
+        this.versions.set(i, 0);
+        this.traceIdHigh[i] = traceHigh;
+        this.traceIdLow[i] = traceLow;
+        this.spanId[i] = span;
+        this.parentSpanId[i] = parentSpan;
+        this.kind[i] = spanKind;
+        this.startNanos[i] = start;
+        this.endNanos[i] = end;
+        this.sentNanos[i] = sent;
+        this.handlerNanos[i] = handler;
+        this.connectionId[i] = connection;
+        this.messageType[i] = type;
+        this.versions.set(i, ticket + 1);
+    }
+
+    /**
+     * Read the spans that were recorded since the previous call. Spans that were overwritten before they were read are
+     * skipped.
+     *
+     * @param reader The function to give the spans to
+     * @return The number of spans that were read
+     */
+    synchronized int drain(final Reader reader) {
+        final long end = this.next.get();
+        int count = 0;
+        for (long ticket = Math.max(this.exported, end - this.capacity()); ticket < end; ticket++) {
+            final int i = (int) (ticket & this.mask);
+            if (this.versions.get(i) != (ticket + 1)) {
+                // Still being written, or already overwritten
+                continue;
+            }
+            final long traceHigh = this.traceIdHigh[i];
+            final long traceLow = this.traceIdLow[i];
+            final long span = this.spanId[i];
+            final long parentSpan = this.parentSpanId[i];
+            final byte spanKind = this.kind[i];
+            final long start = this.startNanos[i];
+            final long stop = this.endNanos[i];
+            final long sent = this.sentNanos[i];
+            final long handler = this.handlerNanos[i];
+            final String connection = this.connectionId[i];
+            final Class<?> type = this.messageType[i];
+            if (this.versions.get(i) != (ticket + 1)) {
+                continue;
+            }
+            reader.span(traceHigh,
+                    traceLow,
+                    span,
+                    parentSpan,
+                    spanKind,
+                    start,
+                    stop,
+                    sent,
+                    handler,
+                    connection,
+                    type);
+            count++;
+        }
+        this.exported = end;
+        return count;
+    }
+
+}
@@ -0,0 +1,73 @@
+/*-
+ * #%L
+ * dEF-Pi service managing library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+
+/**
+ * A StateSerializer writes the state that a service returns from {@link Service#suspend()}, so that it can be given to
+ * {@link Service#resumeFrom(Serializable)} of the process that takes over, possibly on another node.
+ * <p>
+ * Implementations are found with the {@link java.util.ServiceLoader}, by listing them in the file
+ * <code>META-INF/services/org.flexiblepower.service.StateSerializer</code>. When a service is suspended, the first
+ * serializer that accepts the state is used, and its name is stored with the snapshot so the same serializer is used to
+ * restore it. The serializers found this way take precedence over the built-in ones, which handle protobuf messages and
+ * byte arrays. Any other state is written with Java serialization.
+ * <p>
+ * The streams are written and read in chunks, so the state does not have to be copied into a single array.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+public interface StateSerializer {
+
+    /**
+     * @return The name that identifies this serializer in a snapshot, which must be the same in every process
+     */
+    String getName();
+
+    /**
+     * @param state The state that a service returned when it was suspended, which is never null
+     * @return Whether this serializer is able to write the state
+     */
+    boolean canSerialize(Serializable state);
+
+    /**
+     * Write the state to a stream. The stream should not be closed.
+     *
+     * @param state The state to write, for which {@link #canSerialize(Serializable)} returned true
+     * @param output The stream to write the state to
+     * @throws IOException When the state could not be written
+     */
+    void serialize(Serializable state, OutputStream output) throws IOException;
+
+    /**
+     * Read the state that was written by {@link #serialize(Serializable, OutputStream)} in another process.
+     *
+     * @param input The stream to read the state from, which ends where the state ends
+     * @return The restored state
+     * @throws IOException When the state could not be read
+     */
+    Serializable deserialize(InputStream input) throws IOException;
+
+}
@@ -0,0 +1,256 @@
+/*-
+ * #%L
+ * dEF-Pi service managing library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+import org.flexiblepower.exceptions.SerializationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
+
+/**
+ * StateSnapshots converts the state of a suspended service to the snapshot that is sent to the orchestrator, and back.
+ * <p>
+ * A snapshot starts with the byte {@value #SNAPSHOT_MARKER}, followed by the name of the {@link StateSerializer} that
+ * wrote it, and then the state itself. State that no serializer accepts is written with plain Java serialization,
+ * without any header, so snapshots of earlier versions can still be restored; these always start with the magic number
+ * of Java serialization, which can never be mistaken for the marker.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+final class StateSnapshots {
+
+    private static final Logger log = LoggerFactory.getLogger(StateSnapshots.class);
+
+    private static final int SNAPSHOT_MARKER = 1;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final List<StateSerializer> serializers;
+
+    /**
+     * Create the snapshots with the serializers that are found by the {@link ServiceLoader}, and the built-in ones
+     */
+    StateSnapshots() {
+        this(StateSnapshots.loadSerializers());
+    }
+
+    /**
+     * @param providedSerializers The serializers to use before the built-in ones
+     */
+    StateSnapshots(final List<StateSerializer> providedSerializers) {
+        final List<StateSerializer> all = new ArrayList<>(providedSerializers);
+        all.add(new ProtobufStateSerializer());
+        all.add(new ByteArrayStateSerializer());
+        this.serializers = Collections.unmodifiableList(all);
+    }
+
+    private static List<StateSerializer> loadSerializers() {
+        final List<StateSerializer> found = new ArrayList<>();
+        try {
+            for (final StateSerializer serializer : ServiceLoader.load(StateSerializer.class)) {
+                StateSnapshots.log.debug("Using state serializer {}", serializer.getName());
+                found.add(serializer);
+            }
+        } catch (final ServiceConfigurationError e) {
+            StateSnapshots.log.warn("Unable to load state serializers: {}", e.getMessage());
+        }
+        return found;
+    }
+
+    /**
+     * Write the state of a suspended service
+     *
+     * @param state The state that the service returned
+     * @return The snapshot of the state
+     * @throws SerializationException When the state could not be written
+     */
+    ByteString write(final Serializable state) throws SerializationException {
+        final ByteString.Output output = ByteString.newOutput(StateSnapshots.BUFFER_SIZE);
+        try {
+            final StateSerializer serializer = this.serializerFor(state);
+            if (serializer == null) {
+                try (final ObjectOutputStream oos = new ObjectOutputStream(
+                        new BufferedOutputStream(output, StateSnapshots.BUFFER_SIZE))) {
+                    oos.writeObject(state);
+                }
+            } else {
+                final BufferedOutputStream buffered = new BufferedOutputStream(output, StateSnapshots.BUFFER_SIZE);
+                buffered.write(StateSnapshots.SNAPSHOT_MARKER);
+                final byte[] name = serializer.getName().getBytes(StandardCharsets.UTF_8);
+                if (name.length > 255) {
+                    throw new SerializationException("The name of state serializer " + serializer.getName()
+                            + " must be less than 256 bytes");
+                }
+                buffered.write(name.length);
+                buffered.write(name);
+                serializer.serialize(state, buffered);
+                buffered.flush();
+            }
+        } catch (final IOException | RuntimeException e) {
+            throw new SerializationException(e);
+        }
+        return output.toByteString();
+    }
+
+    /**
+     * Read the state of a service that was suspended
+     *
+     * @param snapshot The snapshot that was written when the service was suspended, which is not empty
+     * @return The state to resume the service from
+     * @throws SerializationException When the state could not be read
+     */
+    Serializable read(final ByteString snapshot) throws SerializationException {
+        try (final InputStream input = new BufferedInputStream(snapshot.newInput(), StateSnapshots.BUFFER_SIZE)) {
+            input.mark(1);
+            if (input.read() != StateSnapshots.SNAPSHOT_MARKER) {
+                input.reset();
+                try (final ObjectInputStream ois = new ObjectInputStream(input)) {
+                    return (Serializable) ois.readObject();
+                }
+            }
+
+            final int length = input.read();
+            final byte[] name = new byte[Math.max(0, length)];
+            if ((length < 0) || (input.read(name) != length)) {
+                throw new SerializationException("Truncated state snapshot");
+            }
+            final StateSerializer serializer = this.serializerNamed(new String(name, StandardCharsets.UTF_8));
+            return serializer.deserialize(input);
+        } catch (final IOException | ClassNotFoundException | RuntimeException e) {
+            throw new SerializationException(e);
+        }
+    }
+
+    private StateSerializer serializerFor(final Serializable state) {
+        if (state == null) {
+            return null;
+        }
+        for (final StateSerializer serializer : this.serializers) {
+            if (serializer.canSerialize(state)) {
+                return serializer;
+            }
+        }
+        return null;
+    }
+
+    private StateSerializer serializerNamed(final String name) throws SerializationException {
+        for (final StateSerializer serializer : this.serializers) {
+            if (serializer.getName().equals(name)) {
+                return serializer;
+            }
+        }
+        throw new SerializationException("No state serializer available with name " + name);
+    }
+
+    private static ClassLoader classLoader() {
+        final ClassLoader contextLoader = Thread.currentThread().getContextClassLoader();
+        return contextLoader == null ? StateSnapshots.class.getClassLoader() : contextLoader;
+    }
+
+    /**
+     * Writes protobuf messages with their own encoding, preceded by the name of their class
+     */
+    static final class ProtobufStateSerializer implements StateSerializer {
+
+        @Override
+        public String getName() {
+            return "protobuf";
+        }
+
+        @Override
+        public boolean canSerialize(final Serializable state) {
+            return state instanceof Message;
+        }
+
+        @Override
+        public void serialize(final Serializable state, final OutputStream output) throws IOException {
+            final Message message = (Message) state;
+            final CodedOutputStream coded = CodedOutputStream.newInstance(output, StateSnapshots.BUFFER_SIZE);
+            coded.writeStringNoTag(message.getClass().getName());
+            message.writeTo(coded);
+            coded.flush();
+        }
+
+        @Override
+        public Serializable deserialize(final InputStream input) throws IOException {
+            final CodedInputStream coded = CodedInputStream.newInstance(input, StateSnapshots.BUFFER_SIZE);
+            coded.setSizeLimit(Integer.MAX_VALUE);
+            final String className = coded.readString();
+            try {
+                final Class<?> cls = Class.forName(className, true, StateSnapshots.classLoader());
+                final Method parserMethod = cls.getMethod("parser");
+                final Parser<?> parser = (Parser<?>) parserMethod.invoke(null);
+                return (Serializable) parser.parseFrom(coded);
+            } catch (final ReflectiveOperationException | ClassCastException e) {
+                throw new IOException("Unable to parse state of type " + className, e);
+            }
+        }
+
+    }
+
+    /**
+     * Writes byte arrays as they are, for services that encode their own state
+     */
+    static final class ByteArrayStateSerializer implements StateSerializer {
+
+        @Override
+        public String getName() {
+            return "bytes";
+        }
+
+        @Override
+        public boolean canSerialize(final Serializable state) {
+            return state instanceof byte[];
+        }
+
+        @Override
+        public void serialize(final Serializable state, final OutputStream output) throws IOException {
+            output.write((byte[]) state);
+        }
+
+        @Override
+        public Serializable deserialize(final InputStream input) throws IOException {
+            return ByteString.readFrom(input).toByteArray();
+        }
+
+    }
+
+}
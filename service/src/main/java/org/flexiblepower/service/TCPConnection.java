@@ -21,18 +21,28 @@ package org.flexiblepower.service;
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
 import java.util.Arrays;
-import java.util.concurrent.BlockingQueue;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 import javax.activation.UnsupportedDataTypeException;
 
+import org.flexiblepower.commons.BufferPool;
+import org.flexiblepower.commons.MultiplexedLink;
 import org.flexiblepower.commons.TCPSocket;
 import org.flexiblepower.exceptions.SerializationException;
 import org.flexiblepower.proto.ConnectionProto.ConnectionState;
@@ -44,6 +54,30 @@ import org.slf4j.LoggerFactory;
  * The TCPConnection implements the Connection interface with a TCPSocket as the underlying mechanism to send and
  * receive the raw byte arrays. It utilizes a {@link HeartBeatMonitor} and a {@link HandShakeMonitor} to ensure the
  * health status of the connection.
+ * <p>
+ * By default every message is written to the socket as soon as it is sent. Services that send many small messages may
+ * enable batching by setting the system property {@value #BATCH_LATENCY_PROPERTY} to the maximum number of
+ * milliseconds a message may be held back. Outgoing messages are then collected, and written with a single write when
+ * either the latency has passed, or {@value #BATCH_BYTES_PROPERTY} bytes (default 64 KiB) are waiting.
+ * <p>
+ * Incoming messages are kept in a bounded queue of {@value #RECEIVE_QUEUE_CAPACITY_PROPERTY} messages (default 1024)
+ * until the user handler has processed them. The system property {@value #RECEIVE_QUEUE_POLICY_PROPERTY} determines
+ * what happens when the queue is full, see {@link OverflowPolicy}.
+ * <p>
+ * Messages are compressed when both sides of the connection support a common {@link CompressionCodec}. This is agreed
+ * upon in the handshake, and is disabled unless the codecs are listed in the system property
+ * {@value CompressionCodec#CODECS_PROPERTY}.
+ * <p>
+ * When the orchestrator asks for a multiplexed connection, the connection does not get a TCP socket of its own, but a
+ * stream of the {@link MultiplexedLink} that is shared by all multiplexed connections to the same remote process. In
+ * that case the connection sends no heartbeats of its own; a single heartbeat monitor checks the whole link.
+ * <p>
+ * User messages are numbered and kept in a {@link ReplayBuffer} until the remote side acknowledges them. When the
+ * connection is interrupted, messages that are sent are kept as well, and after reconnecting only the messages the
+ * remote side did not receive are sent again.
+ * <p>
+ * Sampled messages are followed from service to service by the {@link MessageTracer}, which records a span for every
+ * message that is sent or handled.
  *
  * @version 0.1
  * @since May 12, 2017
@@ -59,7 +93,58 @@ final class TCPConnection implements Connection, Closeable {
      */
     private static int threadCounter;
 
+    /**
+     * The system property that enables batching of outgoing messages, by setting the maximum time in milliseconds that
+     * a message may be held back to be coalesced with other messages
+     */
+    static final String BATCH_LATENCY_PROPERTY = "defpi.send.batch.latency";
+
+    /**
+     * The system property that sets the number of bytes of pending messages after which a batch is written immediately
+     */
+    static final String BATCH_BYTES_PROPERTY = "defpi.send.batch.bytes";
+
+    private static final int DEFAULT_BATCH_BYTES = 64 * 1024;
+
+    /**
+     * The system property that sets the maximum number of received messages that wait to be handled
+     */
+    static final String RECEIVE_QUEUE_CAPACITY_PROPERTY = "defpi.receive.queue.capacity";
+
+    /**
+     * The system property that sets the {@link OverflowPolicy} of the receive queue
+     */
+    static final String RECEIVE_QUEUE_POLICY_PROPERTY = "defpi.receive.queue.policy";
+
+    private static final int DEFAULT_RECEIVE_QUEUE_CAPACITY = 1024;
+
+    /**
+     * Determines what happens with a received message when the receive queue is full
+     */
+    enum OverflowPolicy {
+        /**
+         * Stop reading from the socket until there is room in the queue, so TCP flow control slows down the sender.
+         * Note that heartbeats are not read either, so a handler that blocks for too long will cause the connection to
+         * be interrupted.
+         */
+        BLOCK,
+        /**
+         * Discard the oldest message in the queue to make room for the new one
+         */
+        DROP_OLDEST,
+        /**
+         * Discard the new message
+         */
+        DROP_NEWEST
+    }
+
+    /**
+     * The scheduler that flushes the batches of all connections when their latency has passed
+     */
+    private static ScheduledExecutorService flushScheduler;
+
     private final ServiceExecutor serviceExecutor = ServiceExecutor.getInstance();
+    private final MessageTracer tracer = MessageTracer.getInstance();
     private final SocketReader socketReader = new SocketReader();
     private final MessageSerializer<Object> userMessageSerializer;
     private final InterfaceInfo info;
@@ -74,7 +159,13 @@ final class TCPConnection implements Connection, Closeable {
     /**
      * A runnable object that will make sure the messages in the queue are given to the responsible ConnectionHandler
      */
-    protected final MessageQueue messageQueue = new MessageQueue();
+    protected final MessageQueue messageQueue;
+
+    /**
+     * The queue that collects outgoing messages when batching is enabled, or null when every message is written
+     * immediately
+     */
+    private final OutboundQueue outboundQueue;
 
     /**
      * A wait/lock object to make sure various functions in the Connection will wait until the connection is
@@ -82,6 +173,11 @@ final class TCPConnection implements Connection, Closeable {
      */
     protected final Object connectionLock = new Object();
 
+    /**
+     * A lock object to make sure no new socket is created by the socket reader while the connection is being closed
+     */
+    protected final Object socketLock = new Object();
+
     /**
      * A string uniquely identifying this specific connection.
      */
@@ -90,7 +186,13 @@ final class TCPConnection implements Connection, Closeable {
     /**
      * The handler object from user code that handles all incoming messages
      */
-    private ConnectionHandler serviceHandler;
+    private volatile ConnectionHandler serviceHandler;
+
+    /**
+     * The dispatch table of the handler class, to find the function that handles a type of message. It is always set
+     * before the service handler.
+     */
+    private volatile MessageDispatcher messageDispatcher;
 
     /**
      * The port to listen or target remotely (depending on if {@link #targetAddress} is set
@@ -102,6 +204,11 @@ final class TCPConnection implements Connection, Closeable {
      */
     protected String targetAddress;
 
+    /**
+     * Whether the socket is a stream of a shared {@link MultiplexedLink}
+     */
+    private final boolean multiplexed;
+
     /**
      * The socket that provides the underlying message carrying mechanism. This may be closed and reinitialized as the
      * Connection is interrupted, suspended, or any transient intermediate state
@@ -113,6 +220,33 @@ final class TCPConnection implements Connection, Closeable {
      */
     protected HeartBeatMonitor heartBeatMonitor;
 
+    /**
+     * The effect of compression on all sockets of this connection
+     */
+    private final FrameCompressor.Statistics compressionStatistics = new FrameCompressor.Statistics();
+
+    /**
+     * The user messages that were sent but not yet acknowledged, and the sequence numbers of the received messages
+     */
+    private final ReplayBuffer replayBuffer;
+
+    /**
+     * The traffic and timing of this connection, which are registered with the {@link ServiceMetrics} while the
+     * connection is open
+     */
+    private final ConnectionMetrics metrics;
+
+    /**
+     * Whether the user messages start with a trace header of the {@link MessageTracer}, as negotiated in the last
+     * handshake
+     */
+    private final AtomicBoolean traceHeaders = new AtomicBoolean();
+
+    /**
+     * The timing of the heartbeat monitor, which is used whenever a new socket is set up
+     */
+    private volatile HeartBeatMonitor.Timing heartBeatTiming = HeartBeatMonitor.Timing.fromSystemProperties();
+
     /**
      * The handshake monitor is an external object to make sure the remote side is also initialized and has the correct
      * protocol, and thus remote ConnectionHAndler
@@ -137,7 +271,6 @@ final class TCPConnection implements Connection, Closeable {
      * @param remoteServiceId The service ID of the remote process as specified by the orchestrator
      * @param remoteInterfaceId The interface ID of the remote service
      */
-    @SuppressWarnings("unchecked")
     TCPConnection(final String connectionId,
             final int port,
             final String targetAddress,
@@ -146,6 +279,42 @@ final class TCPConnection implements Connection, Closeable {
             final String remoteProcessName,
             final String remoteServiceId,
             final String remoteInterfaceId) {
+        this(connectionId,
+                port,
+                targetAddress,
+                info,
+                remoteProcessId,
+                remoteProcessName,
+                remoteServiceId,
+                remoteInterfaceId,
+                false);
+    }
+
+    /**
+     * @param connectionId The unique id if this connection, as specified by the orchestrator
+     * @param port the TCP port to attach to when this endpoint will act as server, or the remote address to
+     *            connect to.
+     * @param targetAddress The host name of the remote endpoint to connect to when this endpoint should act as a
+     *            client, or an empty string when it should act as a server.
+     * @param info the InterfaceInfo the appropriate ConnectionHandler is annotated with.
+     * @param remoteProcessId The process ID of the remote endpoint as specified by the orchestrator
+     * @param remoteProcessName The process name of the remote endpoint as specified by the orchestrator
+     * @param remoteServiceId The service ID of the remote process as specified by the orchestrator
+     * @param remoteInterfaceId The interface ID of the remote service
+     * @param multiplexed Whether the connection should share the TCP link with other connections to the same remote
+     *            process
+     */
+    @SuppressWarnings("unchecked")
+    TCPConnection(final String connectionId,
+            final int port,
+            final String targetAddress,
+            final InterfaceInfo info,
+            final String remoteProcessId,
+            final String remoteProcessName,
+            final String remoteServiceId,
+            final String remoteInterfaceId,
+            final boolean multiplexed) {
+        this.multiplexed = multiplexed;
         this.state = ConnectionState.STARTING;
         this.connectionId = connectionId;
         this.port = port;
@@ -155,6 +324,7 @@ final class TCPConnection implements Connection, Closeable {
         this.remoteProcessName = remoteProcessName;
         this.remoteServiceId = remoteServiceId;
         this.remoteInterfaceId = remoteInterfaceId;
+        this.replayBuffer = new ReplayBuffer(connectionId, ReplayBuffer.configuredCapacity());
 
         // Add serializer to the connection for user-defined messages
         try {
@@ -167,6 +337,28 @@ final class TCPConnection implements Connection, Closeable {
         Arrays.asList(info.sendTypes()).forEach(this.userMessageSerializer::addMessageClass);
         Arrays.asList(info.receiveTypes()).forEach(this.userMessageSerializer::addMessageClass);
 
+        this.messageQueue = new MessageQueue(
+                (int) TCPConnection.getLongProperty(TCPConnection.RECEIVE_QUEUE_CAPACITY_PROPERTY,
+                        TCPConnection.DEFAULT_RECEIVE_QUEUE_CAPACITY),
+                TCPConnection.getOverflowPolicy());
+
+        final long batchLatency = TCPConnection.getLongProperty(TCPConnection.BATCH_LATENCY_PROPERTY, -1);
+        if (batchLatency < 0) {
+            this.outboundQueue = null;
+        } else {
+            this.outboundQueue = new OutboundQueue(batchLatency,
+                    (int) TCPConnection.getLongProperty(TCPConnection.BATCH_BYTES_PROPERTY,
+                            TCPConnection.DEFAULT_BATCH_BYTES));
+        }
+
+        this.metrics = new ConnectionMetrics(connectionId,
+                remoteProcessId,
+                remoteInterfaceId,
+                this.messageQueue::depth,
+                this.replayBuffer::backlog,
+                this.messageQueue.dropped::get);
+        ServiceMetrics.getInstance().register(this.metrics);
+
         this.connectionExecutor.submit(this.messageQueue);
         this.connectionExecutor.submit(this.socketReader);
     }
@@ -192,13 +384,65 @@ final class TCPConnection implements Connection, Closeable {
      */
     @Override
     public void send(final Object message) throws IOException {
+        final byte[] data = this.serialize(message);
+        if (data == null) {
+            return;
+        }
+
+        if (this.outboundQueue == null) {
+            this.writeToSocket(data);
+        } else {
+            // Write any pending messages first, so the order of messages is maintained
+            this.outboundQueue.sendNow(data);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When batching is enabled the message is added to the batch, and the returned future completes when the batch is
+     * written. Otherwise the message is written immediately.
+     */
+    @Override
+    public CompletableFuture<Void> sendAsync(final Object message) {
+        try {
+            final byte[] data = this.serialize(message);
+            if (data == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            if (this.outboundQueue == null) {
+                this.writeToSocket(data);
+                return CompletableFuture.completedFuture(null);
+            }
+            return this.outboundQueue.add(data);
+        } catch (final IOException e) {
+            final CompletableFuture<Void> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+    }
+
+    /**
+     * Check if a message may be sent, and serialize it.
+     *
+     * @param message The message to send
+     * @return The serialized message, or null if the message is null and should be ignored
+     * @throws ClosedChannelException when the state is not connected.
+     * @throws UnsupportedDataTypeException when the type of object is not registered with the serializer or if the
+     *             serialization fails
+     */
+    private byte[] serialize(final Object message) throws IOException {
         if (message == null) {
             TCPConnection.log.warn("[{}] - Send(Object message) method was called with null message, ignoring...",
                     this.connectionId);
-            return;
+            return null;
         }
 
-        if (!this.isConnected()) {
+        // While interrupted the message is kept until the connection is restored
+        final boolean keepUntilResumed = (this.state == ConnectionState.INTERRUPTED)
+                && this.replayBuffer.isSequenced();
+        if (!this.isConnected() && !keepUntilResumed) {
             TCPConnection.log.warn("[{}] - Unable to send when connection state is {}!", this.connectionId, this.state);
             throw new ClosedChannelException();
         }
@@ -208,28 +452,121 @@ final class TCPConnection implements Connection, Closeable {
                     + " was not registered to be sent with this interface.");
         }
 
-        final byte[] data;
         try {
-            synchronized (this.userMessageSerializer) {
-                data = this.userMessageSerializer.serialize(message);
-            }
+            final long t_start = System.nanoTime();
+            final byte[] data = this.userMessageSerializer.serialize(message);
+            this.metrics.messageSent(data.length, System.nanoTime() - t_start);
+            return this.tracer.send(this.connectionId, message.getClass(), data, t_start, this.traceHeaders.get());
         } catch (final SerializationException e) {
             TCPConnection.log
                     .error("[{}] - Error while serializing message, not sending message.", this.connectionId, e);
             throw new UnsupportedDataTypeException("Error serializing message: " + e.getMessage());
         }
+    }
+
+    private FrameCompressor compressor() {
+        final HandShakeMonitor monitor = this.handShakeMonitor;
+        return monitor == null ? FrameCompressor.NONE : monitor.compressor();
+    }
+
+    private void writeToSocket(final byte[] data) throws IOException {
+        if (this.replayBuffer.isSequenced()) {
+            synchronized (this.replayBuffer) {
+                final long sequence = this.replayBuffer.append(data);
+                if (this.replayBuffer.isLive()) {
+                    this.writeSequenced(sequence, data);
+                }
+            }
+            return;
+        }
 
         try {
-            this.socket.send(data);
+            this.socket.send(this.compressor().encode(data));
         } catch (final IOException e) {
-            TCPConnection.log.warn("[{}] - Failed to send message through socket, goto {}",
-                    this.connectionId,
-                    ConnectionState.INTERRUPTED);
-            this.goToInterruptedState();
+            this.handleSendFailure();
             throw e;
         }
     }
 
+    /**
+     * Write a numbered message. When this fails the connection is interrupted, and the message is sent again when the
+     * connection is restored. Must be called while holding the lock of the replay buffer.
+     *
+     * @param sequence The sequence number of the message
+     * @param data The serialized message
+     */
+    private void writeSequenced(final long sequence, final byte[] data) {
+        final TCPSocket currentSocket = this.socket;
+        try {
+            if (currentSocket == null) {
+                throw new ClosedChannelException();
+            }
+            currentSocket.send(ReplayBuffer.frame(sequence, this.compressor().encode(data)));
+        } catch (final IOException e) {
+            this.replayBuffer.pause();
+            this.handleSendFailure();
+        }
+    }
+
+    private void handleSendFailure() {
+        TCPConnection.log.warn("[{}] - Failed to send message through socket, goto {}",
+                this.connectionId,
+                ConnectionState.INTERRUPTED);
+        this.goToInterruptedState();
+    }
+
+    /**
+     * Change the heartbeat timing of this connection. This takes effect when the socket is set up again, i.e. when the
+     * connection is resumed or recovers from an interruption.
+     *
+     * @param timing The heartbeat period and thresholds to use
+     */
+    void setHeartBeatTiming(final HeartBeatMonitor.Timing timing) {
+        this.heartBeatTiming = timing;
+    }
+
+    /**
+     * @return The traffic and timing of this connection
+     */
+    ConnectionMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * @return The number of bytes that were not sent or received because of compression
+     */
+    long getCompressionBytesSaved() {
+        return this.compressionStatistics.getBytesSaved();
+    }
+
+    /**
+     * @return The total time in nanoseconds spent compressing and decompressing messages
+     */
+    long getCompressionNanos() {
+        return this.compressionStatistics.getCodecNanos();
+    }
+
+    /**
+     * @return The number of sent messages that are kept until the remote side acknowledges them
+     */
+    int getReplayBacklog() {
+        return this.replayBuffer.backlog();
+    }
+
+    /**
+     * @return The number of received messages that are waiting to be handled
+     */
+    int getReceiveQueueDepth() {
+        return this.messageQueue.depth();
+    }
+
+    /**
+     * @return The number of received messages that were dropped because the receive queue was full
+     */
+    long getDroppedMessageCount() {
+        return this.messageQueue.dropped.get();
+    }
+
     @Override
     public String remoteProcessId() {
         return this.remoteProcessId;
@@ -257,9 +594,11 @@ final class TCPConnection implements Connection, Closeable {
      * If this function is called before the connection is instantiated (for instance because the remote side sent a
      * message before the handshake was confirmed, this function will block untill the connection is established.
      *
-     * @param msg the byte array that was received by the underlying transport socket.
+     * @param msg the buffer that was received by the underlying transport socket. The position of the buffer is not
+     *            changed, and it is no longer used after this function returns.
+     * @return A future that completes when the handler function has finished, or null if no handler is called
      */
-    void handleMessage(final byte[] msg) {
+    Future<?> handleMessage(final ByteBuffer msg) {
         // It can only be a user-defined process message!
         try {
             synchronized (this.connectionLock) {
@@ -267,7 +606,7 @@ final class TCPConnection implements Connection, Closeable {
                     try {
                         TCPConnection.log.warn("[{}] - Received message {} before connection is established. Hold...",
                                 this.connectionId,
-                                new String(msg).replaceAll("\0", "\\0"));
+                                TCPConnection.asString(msg).replaceAll("\0", "\\0"));
                         this.connectionLock.wait();
                         TCPConnection.log.trace("[{}] - continue...", this.connectionId);
                     } catch (final InterruptedException e) {
@@ -276,41 +615,83 @@ final class TCPConnection implements Connection, Closeable {
                 }
             }
 
-            final Object message;
-            synchronized (this.userMessageSerializer) {
-                message = this.userMessageSerializer.deserialize(msg);
-            }
+            final long t_start = System.nanoTime();
+            final MessageTracer.TraceContext trace = this.traceHeaders.get() ? this.tracer.receive(msg) : null;
+            final int length = msg.remaining();
+            final Object message = this.userMessageSerializer.deserialize(msg);
+            this.metrics.messageReceived(length, System.nanoTime() - t_start);
 
             final Class<?> messageType = message.getClass();
-            final Method[] allMethods = this.serviceHandler.getClass().getMethods();
-            for (final Method method : allMethods) {
-                if ((method.getName().startsWith("handle")) && (method.getName().endsWith("Message"))
-                        && (method.getParameterCount() == 1) && method.getParameterTypes()[0].equals(messageType)) {
-                    this.serviceExecutor.submit(() -> {
-                        try {
-                            method.invoke(this.serviceHandler, message);
-                        } catch (IllegalAccessException | IllegalArgumentException e) {
-                            TCPConnection.log.error("[{}] - Message handling method is not properly formatted",
-                                    this.connectionId,
-                                    e);
-                        } catch (final InvocationTargetException e) {
-                            TCPConnection.log.error("[{}] - Exception while invoking {} ({})",
-                                    this.connectionId,
-                                    method.getName(),
-                                    messageType.getSimpleName(),
-                                    e.getTargetException());
-                        }
-                    });
-                    return;
-                }
+            final MessageDispatcher.Invoker invoker = this.messageDispatcher.invokerFor(messageType);
+            if (invoker == null) {
+                return null;
             }
-            TCPConnection.log.error("[{}] - Unable to find handler method for message of type {}",
-                    messageType.getSimpleName());
+            return this.serviceExecutor.submit(this.connectionId, () -> {
+                final long t_handle = System.nanoTime();
+                if (trace != null) {
+                    this.tracer.enter(trace);
+                }
+                try {
+                    invoker.invoke(this.serviceHandler, message);
+                } catch (final Throwable t) {
+                    TCPConnection.log.error("[{}] - Exception while invoking {} ({})",
+                            this.connectionId,
+                            invoker.name(),
+                            messageType.getSimpleName(),
+                            t);
+                } finally {
+                    if (trace != null) {
+                        this.tracer.exit(trace, this.connectionId, messageType, t_start, t_handle);
+                    }
+                }
+                this.metrics.messageHandled(System.nanoTime() - t_handle);
+                return null;
+            });
+        } catch (final IOException e) {
+            TCPConnection.log.warn("[{}] - Received message with {}. Ignoring...", this.connectionId, e.getMessage());
         } catch (final SerializationException e) {
             // Not a user-defined message, so ignore with grace!
             TCPConnection.log
-                    .warn("[{}] - Received unknown message: {}. Ignoring...", this.connectionId, new String(msg));
+                    .warn("[{}] - Received unknown message: {}. Ignoring...",
+                            this.connectionId,
+                            TCPConnection.asString(msg));
         }
+        return null;
+    }
+
+    private static String asString(final ByteBuffer msg) {
+        final byte[] data = new byte[msg.remaining()];
+        msg.duplicate().get(data);
+        return new String(data);
+    }
+
+    private static long getLongProperty(final String key, final long defaultValue) {
+        try {
+            return Long.getLong(key, defaultValue);
+        } catch (final SecurityException e) {
+            return defaultValue;
+        }
+    }
+
+    private static OverflowPolicy getOverflowPolicy() {
+        try {
+            final String policy = System.getProperty(TCPConnection.RECEIVE_QUEUE_POLICY_PROPERTY);
+            return policy == null ? OverflowPolicy.BLOCK : OverflowPolicy.valueOf(policy.trim().toUpperCase());
+        } catch (final IllegalArgumentException | SecurityException e) {
+            TCPConnection.log.warn("Invalid receive queue policy, using {}", OverflowPolicy.BLOCK);
+            return OverflowPolicy.BLOCK;
+        }
+    }
+
+    private static synchronized ScheduledExecutorService getFlushScheduler() {
+        if (TCPConnection.flushScheduler == null) {
+            TCPConnection.flushScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                final Thread t = new Thread(r, "dEF-Pi flushThread");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return TCPConnection.flushScheduler;
     }
 
     private void releaseWaitLock() {
@@ -362,23 +743,27 @@ final class TCPConnection implements Connection, Closeable {
             TCPConnection.log.debug("[{}] - Ignoring goToConnected, already connected...", this.connectionId);
             return;
         case STARTING:
-            this.serviceExecutor.submit(() -> {
-                this.serviceHandler = ConnectionManager.buildHandlerForConnection(this, this.info);
+            this.serviceExecutor.submit(this.connectionId, () -> {
+                final ConnectionHandler handler = ConnectionManager.buildHandlerForConnection(this, this.info);
+                this.messageDispatcher = MessageDispatcher.forHandlerClass(handler.getClass());
+                this.serviceHandler = handler;
                 // this.releaseWaitLock();
             });
             break;
         case INTERRUPTED:
-            this.serviceExecutor.submit(this.serviceHandler::resumeAfterInterrupt);
+            this.metrics.reconnected();
+            this.serviceExecutor.submit(this.connectionId, this.serviceHandler::resumeAfterInterrupt);
             break;
         case SUSPENDED:
-            this.serviceExecutor.submit(this.serviceHandler::resumeAfterSuspend);
+            this.metrics.reconnected();
+            this.serviceExecutor.submit(this.connectionId, this.serviceHandler::resumeAfterSuspend);
             break;
         case TERMINATED:
         default:
             TCPConnection.log.error("[{}] - Unexpected previous state: {}", this.connectionId, this.state);
         }
         // Make sure it runs AFTER user constructor
-        this.serviceExecutor.submit(this::releaseWaitLock);
+        this.serviceExecutor.submit(this.connectionId, this::releaseWaitLock);
     }
 
     /**
@@ -402,9 +787,10 @@ final class TCPConnection implements Connection, Closeable {
 
         // Update the state
         this.state = ConnectionState.SUSPENDED;
+        this.replayBuffer.pause();
         this.heartBeatMonitor.stop();
 
-        this.serviceExecutor.submit(this.serviceHandler::onSuspend);
+        this.serviceExecutor.submit(this.connectionId, this.serviceHandler::onSuspend);
     }
 
     /**
@@ -432,9 +818,9 @@ final class TCPConnection implements Connection, Closeable {
         this.port = newListenPort;
         this.targetAddress = newTargetAddress;
 
-        // Have the socket reader reinstatiate the socket one
+        // Close the old socket, and have the socket reader reinstatiate it with the new details
         this.socket.close();
-        this.socket = null;
+        this.socketReader.retry();
     }
 
     /**
@@ -452,8 +838,10 @@ final class TCPConnection implements Connection, Closeable {
         }
 
         this.state = ConnectionState.INTERRUPTED;
+        this.replayBuffer.pause();
+        this.metrics.interrupted();
         if (this.serviceHandler != null) {
-            this.serviceExecutor.submit(() -> {
+            this.serviceExecutor.submit(this.connectionId, () -> {
                 // It could be that in the meantime we were terminated, which means do NOT call interrupt
                 if (this.state != ConnectionState.TERMINATED) {
                     this.serviceHandler.onInterrupt();
@@ -481,7 +869,7 @@ final class TCPConnection implements Connection, Closeable {
             this.state = ConnectionState.TERMINATED;
 
             if (this.serviceHandler != null) {
-                this.serviceExecutor.submit(this.serviceHandler::terminated);
+                this.serviceExecutor.submit(this.connectionId, this.serviceHandler::terminated);
                 ConnectionManager.removeConnectionHandler(this.serviceHandler);
             }
         }
@@ -492,9 +880,19 @@ final class TCPConnection implements Connection, Closeable {
 
         this.messageQueue.stop();
 
-        if (this.socket != null) {
-            this.socket.close();
-            this.socket = null;
+        if (this.outboundQueue != null) {
+            this.outboundQueue.close();
+        }
+
+        synchronized (this.socketLock) {
+            if (this.socket != null) {
+                this.socket.close();
+                this.socket = null;
+            }
+        }
+
+        if (this.handShakeMonitor != null) {
+            this.handShakeMonitor.close();
         }
 
         this.connectionExecutor.shutdownNow();
@@ -504,11 +902,23 @@ final class TCPConnection implements Connection, Closeable {
             TCPConnection.log.error("[{}] - Interrupted while awaiting termination", TCPConnection.this.connectionId);
         }
 
+        // Only releases the serial queue when the last callbacks have been run
+        this.serviceExecutor.release(this.connectionId);
+        ServiceMetrics.getInstance().unregister(this.metrics);
+
         this.releaseWaitLock();
     }
 
+    /**
+     * The SocketReader sets up the socket, and registers it with the event loop of the TCPSocket. As soon as the socket
+     * is closed, for instance because the connection was interrupted or resumed with a different address, it will set
+     * up a new socket by resubmitting itself to the connection executor. This means no thread is occupied while the
+     * connection is up and running.
+     */
     private final class SocketReader implements Runnable {
 
+        private static final long CONNECT_POLL_MS = 500;
+
         private volatile boolean keepRunning = true;
 
         /**
@@ -520,166 +930,694 @@ final class TCPConnection implements Connection, Closeable {
 
         @Override
         public void run() {
-            while (this.keepRunning) {
-                if (TCPConnection.this.socket != null) {
-                    TCPConnection.log.debug("[{}] - Closing old socket", TCPConnection.this.connectionId);
-                    TCPConnection.this.socket.close();
+            if (!this.keepRunning) {
+                return;
+            }
 
-                    if (TCPConnection.this.handShakeMonitor != null) {
-                        TCPConnection.this.handShakeMonitor.close();
-                    }
+            if (TCPConnection.this.socket != null) {
+                TCPConnection.log.debug("[{}] - Closing old socket", TCPConnection.this.connectionId);
+                TCPConnection.this.replayBuffer.pause();
+                TCPConnection.this.socket.close();
 
-                    if (TCPConnection.this.heartBeatMonitor != null) {
-                        TCPConnection.this.heartBeatMonitor.close();
-                    }
+                if (TCPConnection.this.handShakeMonitor != null) {
+                    TCPConnection.this.handShakeMonitor.close();
+                }
+
+                if (TCPConnection.this.heartBeatMonitor != null) {
+                    TCPConnection.this.heartBeatMonitor.close();
+                }
+            }
+
+            final TCPSocket newSocket;
+            synchronized (TCPConnection.this.socketLock) {
+                // Make sure we do not create a socket while, or after the connection is closed
+                if (!this.keepRunning) {
+                    return;
                 }
 
                 TCPConnection.log.info("[{}] - Building TCPConnection", TCPConnection.this.connectionId);
-                if (TCPConnection.this.targetAddress.isEmpty()) {
-                    TCPConnection.this.socket = TCPSocket.asServer(TCPConnection.this.port);
+                if (TCPConnection.this.multiplexed) {
+                    newSocket = MultiplexedLink.openStream(TCPConnection.this.targetAddress,
+                            TCPConnection.this.port,
+                            TCPConnection.this.connectionId);
+                } else if (TCPConnection.this.targetAddress.isEmpty()) {
+                    newSocket = TCPSocket.asServer(TCPConnection.this.port);
                 } else {
-                    TCPConnection.this.socket = TCPSocket.asClient(TCPConnection.this.targetAddress,
-                            TCPConnection.this.port);
+                    newSocket = TCPSocket.asClient(TCPConnection.this.targetAddress, TCPConnection.this.port);
                 }
+                TCPConnection.this.socket = newSocket;
+            }
 
-                try {
-                    TCPConnection.this.socket.waitUntilConnected();
-                } catch (final Exception e) {
-                    if (this.keepRunning) {
-                        TCPConnection.log.warn("[{}] - Interrupted while waiting for connection to establish",
-                                TCPConnection.this.connectionId);
-                        continue;
-                    } else {
-                        break;
+            try {
+                // Wait in steps, so we notice when the connection is closed in the meantime
+                while (!newSocket.waitUntilConnected(SocketReader.CONNECT_POLL_MS)) {
+                    if (!this.keepRunning || (newSocket != TCPConnection.this.socket)) {
+                        newSocket.close();
+                        return;
                     }
                 }
-
-                try {
-                    // Create the monitors
-                    TCPConnection.log.debug("[{}] - Creating connection monitors", TCPConnection.this.connectionId);
-                    TCPConnection.this.handShakeMonitor = new HandShakeMonitor(TCPConnection.this.socket,
+            } catch (final Exception e) {
+                if (this.keepRunning) {
+                    TCPConnection.log.warn("[{}] - Interrupted while waiting for connection to establish",
                             TCPConnection.this.connectionId);
-                    TCPConnection.this.heartBeatMonitor = new HeartBeatMonitor(TCPConnection.this.socket,
+                    this.retry();
+                }
+                return;
+            }
+
+            try {
+                // Create the monitors
+                TCPConnection.log.debug("[{}] - Creating connection monitors", TCPConnection.this.connectionId);
+                TCPConnection.this.handShakeMonitor = new HandShakeMonitor(newSocket,
+                        TCPConnection.this.connectionId,
+                        TCPConnection.this.compressionStatistics,
+                        TCPConnection.this.replayBuffer,
+                        TCPConnection.this.userMessageSerializer,
+                        TCPConnection.this.traceHeaders);
+                TCPConnection.this.heartBeatMonitor = new HeartBeatMonitor(newSocket,
+                        TCPConnection.this.connectionId,
+                        TCPConnection.this.heartBeatTiming,
+                        TCPConnection.this.metrics);
+            } catch (final Exception e) {
+                if (this.keepRunning) {
+                    TCPConnection.log.warn("[{}] - Exception while instantiating connection monitors. Aborting setup",
                             TCPConnection.this.connectionId);
-                } catch (final Exception e) {
-                    if (this.keepRunning) {
-                        TCPConnection.log.warn(
-                                "[{}] - Exception while instantiating connection monitors. Aborting setup",
-                                TCPConnection.this.connectionId);
-                        continue;
-                    } else {
-                        break;
-                    }
+                    this.retry();
                 }
+                return;
+            }
 
-                // Now we have a functioning socket, make sure that as soon as there is a handshake, go connected
-                TCPConnection.this.connectionExecutor.submit(() -> {
-                    try {
-                        TCPConnection.log.debug("[{}] - Initiating handshake", TCPConnection.this.connectionId);
-                        TCPConnection.this.handShakeMonitor.sendHandshake(TCPConnection.this.getState());
-                        TCPConnection.this.handShakeMonitor.waitUntilFinished();
-                        TCPConnection.log.debug("[{}] - Handshake confirmed, starting heartbeat",
-                                TCPConnection.this.connectionId);
+            try {
+                newSocket.startReading(new SocketListener(newSocket));
+            } catch (final IOException e) {
+                if (this.keepRunning) {
+                    TCPConnection.log.warn("[{}] - Unable to start reading from socket: {}",
+                            TCPConnection.this.connectionId,
+                            e.getMessage());
+                    this.retry();
+                }
+                return;
+            }
+
+            // Now we have a functioning socket, make sure that as soon as there is a handshake, go connected
+            try {
+                TCPConnection.log.debug("[{}] - Initiating handshake", TCPConnection.this.connectionId);
+                TCPConnection.this.handShakeMonitor.sendHandshake(TCPConnection.this.getState());
+                TCPConnection.this.handShakeMonitor.waitUntilFinished();
+                if (newSocket.isConnected()) {
+                    TCPConnection.log.debug("[{}] - Handshake confirmed, starting heartbeat",
+                            TCPConnection.this.connectionId);
+                    if (TCPConnection.this.multiplexed) {
+                        TCPConnection.this.monitorLink(newSocket);
+                    } else {
                         TCPConnection.this.heartBeatMonitor.start();
+                    }
+                    if (TCPConnection.this.resumeDelivery(newSocket)) {
                         TCPConnection.this.goToConnectedState();
-                    } catch (final InterruptedException e) {
-                        if (this.keepRunning) {
-                            TCPConnection.log.warn("[{}] - Interrupted while waiting for TCP socket to initialize",
-                                    TCPConnection.this.connectionId);
-                        }
                     }
-                });
+                }
+            } catch (final InterruptedException e) {
+                if (this.keepRunning) {
+                    TCPConnection.log.warn("[{}] - Interrupted while waiting for TCP socket to initialize",
+                            TCPConnection.this.connectionId);
+                }
+            }
+        }
 
-                while (this.keepRunning && (TCPConnection.this.socket != null)) {
-                    try {
-                        final byte[] data = TCPConnection.this.socket.read();
+        /**
+         * Schedule a new attempt to set up the socket, if the connection is not stopped
+         */
+        void retry() {
+            if (!this.keepRunning) {
+                return;
+            }
+            try {
+                TCPConnection.this.connectionExecutor.submit(this);
+            } catch (final RejectedExecutionException e) {
+                TCPConnection.log.trace("[{}] - Not reconnecting, connection is closing",
+                        TCPConnection.this.connectionId);
+            }
+        }
 
-                        if ((data == null) || (data.length == 0)) {
-                            continue;
-                        }
+        void stop() {
+            this.keepRunning = false;
+        }
 
-                        // Check the socket again, since it may have changed since we started read()
-                        if ((TCPConnection.this.socket != null)
-                                && !TCPConnection.this.heartBeatMonitor.handleMessage(data)
-                                && !TCPConnection.this.handShakeMonitor.handleHandShake(data)) {
-                            TCPConnection.this.messageQueue.addMessage(data);
-                        }
-                    } catch (final IOException e) {
-                        // See if this was on purpose
-                        if (TCPConnection.this.isConnected() && this.keepRunning) {
-                            TCPConnection.log.warn("[{}] - IOException while reading from socket: {}",
-                                    TCPConnection.this.connectionId,
-                                    e.getMessage());
-                            TCPConnection.log.trace(e.getMessage(), e);
-                            TCPConnection.this.goToInterruptedState();
-                        }
-                        break;
-                    } catch (final Exception e) {
-                        TCPConnection.log.error("[{}] - Unexpected exception while operating on socket: {}",
-                                TCPConnection.this.connectionId,
-                                e.getMessage());
-                        TCPConnection.log.trace(e.getMessage(), e);
-                        TCPConnection.this.goToInterruptedState();
-                        break;
-                    }
+    }
+
+    /**
+     * Send the messages the remote side did not receive before the connection was interrupted, and from then on write
+     * new messages immediately.
+     *
+     * @param newSocket The socket that was just set up
+     * @return Whether the messages were sent, or false if the socket failed in the meantime
+     */
+    private boolean resumeDelivery(final TCPSocket newSocket) {
+        if (!this.replayBuffer.isSequenced()) {
+            return true;
+        }
+
+        final FrameCompressor compressor = this.handShakeMonitor.compressor();
+        try {
+            this.replayBuffer.resume(this.handShakeMonitor.remoteReceivedSequence(),
+                    (sequence, data) -> newSocket.send(ReplayBuffer.frame(sequence, compressor.encode(data))));
+            return true;
+        } catch (final IOException e) {
+            // The socket listener will set up a new socket
+            TCPConnection.log.warn("[{}] - Unable to send unacknowledged messages: {}",
+                    this.connectionId,
+                    e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Start the heartbeat of the multiplexed link that carries a stream, unless another connection on the same link
+     * already did.
+     *
+     * @param stream The stream of this connection
+     */
+    private void monitorLink(final TCPSocket stream) {
+        final TCPSocket heartBeatStream = MultiplexedLink.claimHeartBeatStream(stream);
+        if (heartBeatStream == null) {
+            return;
+        }
+
+        // The round trip time of the link is recorded with the connection that monitors it
+        final HeartBeatMonitor linkMonitor = new HeartBeatMonitor(heartBeatStream,
+                this.targetAddress + ":" + this.port,
+                this.heartBeatTiming,
+                this.metrics);
+        try {
+            heartBeatStream.startReading(new TCPSocket.FrameListener() {
+
+                @Override
+                public void onFrame(final ByteBuffer frame) {
+                    linkMonitor.handleMessage(frame);
+                    BufferPool.getInstance().release(frame);
                 }
 
-                // Don't hog the thread...
-                try {
-                    Thread.sleep(10);
-                } catch (final InterruptedException e) {
-                    // It's okay
+                @Override
+                public void onClose() {
+                    linkMonitor.stop();
                 }
 
-                // Retry setting up the connection
+            });
+            linkMonitor.start();
+        } catch (final IOException e) {
+            TCPConnection.log.warn("[{}] - Unable to monitor multiplexed link: {}", this.connectionId, e.getMessage());
+            heartBeatStream.close();
+        }
+    }
+
+    /**
+     * The SocketListener receives all frames of a single socket from the event loop, and dispatches them to the
+     * heartbeat monitor, the handshake monitor or the message queue.
+     */
+    private final class SocketListener implements TCPSocket.FrameListener {
+
+        private final TCPSocket listenSocket;
+
+        /**
+         * @param socket The socket that this listener is registered with
+         */
+        SocketListener(final TCPSocket socket) {
+            this.listenSocket = socket;
+        }
+
+        @Override
+        public void onFrame(final ByteBuffer frame) {
+            // Check the socket, since it may have changed since this socket started reading
+            if (frame.hasRemaining() && (TCPConnection.this.socket == this.listenSocket)
+                    && !TCPConnection.this.heartBeatMonitor.handleMessage(frame)
+                    && !TCPConnection.this.handShakeMonitor.handleHandShake(frame)) {
+                final HandShakeMonitor monitor = TCPConnection.this.handShakeMonitor;
+                final ByteBuffer message;
+                try {
+                    if (monitor.sequenced() && !TCPConnection.this.replayBuffer.receive(frame)) {
+                        // Sent again after an interruption, but we already received it
+                        BufferPool.getInstance().release(frame);
+                        return;
+                    }
+                    message = monitor.compressor().decode(frame);
+                } catch (final IOException e) {
+                    TCPConnection.log.warn("[{}] - Unable to decode message: {}",
+                            TCPConnection.this.connectionId,
+                            e.getMessage());
+                    BufferPool.getInstance().release(frame);
+                    return;
+                }
+                // The message queue will release the buffer after the message is handled
+                TCPConnection.this.messageQueue.addMessage(message, this.listenSocket);
+
+                if (monitor.sequenced()) {
+                    final long acknowledgement = TCPConnection.this.replayBuffer
+                            .acknowledgement(monitor.acknowledgeInterval());
+                    if (acknowledgement > 0) {
+                        monitor.sendAck(acknowledgement);
+                    }
+                }
+            } else {
+                BufferPool.getInstance().release(frame);
             }
         }
 
-        void stop() {
-            this.keepRunning = false;
+        @Override
+        public void onClose() {
+            if (TCPConnection.this.socket != this.listenSocket) {
+                // An old socket, we already moved on
+                return;
+            }
+
+            // Keep the messages that are sent from now on, until the connection is restored
+            TCPConnection.this.replayBuffer.pause();
+
+            // See if this was on purpose
+            if (TCPConnection.this.isConnected() && TCPConnection.this.socketReader.keepRunning) {
+                TCPConnection.log.warn("[{}] - Socket was closed unexpectedly", TCPConnection.this.connectionId);
+                TCPConnection.this.goToInterruptedState();
+            }
+
+            // Make sure the handshake does not wait for a socket that will never respond
+            if (TCPConnection.this.handShakeMonitor != null) {
+                TCPConnection.this.handShakeMonitor.close();
+            }
+
+            // Retry setting up the connection, unless we wait for the orchestrator to resume the connection
+            if (TCPConnection.this.state != ConnectionState.SUSPENDED) {
+                TCPConnection.this.socketReader.retry();
+            }
         }
 
     }
 
+    /**
+     * The MessageQueue holds the received messages until they are handled. Messages are added by the event loop thread
+     * of the socket, and taken by a single thread of the connection executor, which is woken up as soon as a message is
+     * added. The next message is only taken when the handler of the previous message has finished, so a slow handler
+     * fills up the queue, after which the {@link OverflowPolicy} applies.
+     */
     private final class MessageQueue implements Runnable {
 
-        private final BlockingQueue<byte[]> internalQueue = new LinkedBlockingQueue<>();
+        private final RingBuffer<ByteBuffer> ring;
+        private final OverflowPolicy policy;
+        private final AtomicLong dropped = new AtomicLong();
         private volatile boolean keepRunning = true;
+        private volatile Thread consumer;
 
         /**
+         * Guards adding messages and the blocked message, so the producer side is not entered by the event loop threads
+         * of an old and a new socket at the same time.
+         */
+        private final Object producerLock = new Object();
+        private volatile ByteBuffer blockedMessage;
+        private TCPSocket blockedSocket;
+
+        /**
+         * @param capacity The maximum number of messages waiting to be handled
+         * @param policy What to do when a message is received while the queue is full
+         */
+        MessageQueue(final int capacity, final OverflowPolicy policy) {
+            this.ring = new RingBuffer<>(capacity);
+            this.policy = policy;
+        }
+
+        /**
+         * Add a message to the queue, or apply the overflow policy when the queue is full
          *
+         * @param msg The received message, which is released when it is handled or dropped
+         * @param source The socket the message was received on, which is paused if the message must wait
          */
-        MessageQueue() {
-            // Protected constructor for TCPConnection
+        void addMessage(final ByteBuffer msg, final TCPSocket source) {
+            synchronized (this.producerLock) {
+                if ((this.blockedMessage == null) && this.ring.offer(msg)) {
+                    this.signal();
+                    return;
+                }
+
+                switch (this.policy) {
+                case BLOCK:
+                    if (this.blockedMessage == null) {
+                        this.blockedMessage = msg;
+                        this.blockedSocket = source;
+                        source.pauseReading();
+                        TCPConnection.log.debug("[{}] - Receive queue is full, pausing socket",
+                                TCPConnection.this.connectionId);
+                    } else {
+                        // Frames of another socket, which should not be delivered anymore
+                        this.drop(msg);
+                    }
+                    break;
+                case DROP_OLDEST:
+                    this.drop(this.ring.poll());
+                    this.ring.offer(msg);
+                    this.signal();
+                    break;
+                case DROP_NEWEST:
+                default:
+                    this.drop(msg);
+                    break;
+                }
+            }
         }
 
-        void addMessage(final byte[] msg) {
-            try {
-                this.internalQueue.put(msg);
-            } catch (final InterruptedException e) {
-                TCPConnection.log.warn("[{}] - Interrupted while adding message to queue",
+        private void drop(final ByteBuffer msg) {
+            if (msg == null) {
+                return;
+            }
+            BufferPool.getInstance().release(msg);
+            if (this.dropped.incrementAndGet() == 1) {
+                TCPConnection.log.warn("[{}] - Receive queue is full, dropping messages",
                         TCPConnection.this.connectionId);
             }
         }
 
+        private void signal() {
+            final Thread waiting = this.consumer;
+            if (waiting != null) {
+                LockSupport.unpark(waiting);
+            }
+        }
+
+        /**
+         * Move the message that was waiting for room to the queue, and continue reading from its socket
+         */
+        private void unblock() {
+            final TCPSocket pausedSocket;
+            synchronized (this.producerLock) {
+                if ((this.blockedMessage == null) || !this.ring.offer(this.blockedMessage)) {
+                    return;
+                }
+                pausedSocket = this.blockedSocket;
+                this.blockedMessage = null;
+                this.blockedSocket = null;
+            }
+            try {
+                pausedSocket.resumeReading();
+            } catch (final IllegalStateException e) {
+                // The socket was closed in the meantime
+            }
+        }
+
+        int depth() {
+            return this.ring.size();
+        }
+
+        private ByteBuffer take() throws InterruptedException {
+            while (this.keepRunning) {
+                ByteBuffer message = this.ring.poll();
+                if (message != null) {
+                    return message;
+                }
+                this.consumer = Thread.currentThread();
+                message = this.ring.poll();
+                if (message == null) {
+                    LockSupport.park(this);
+                }
+                this.consumer = null;
+                if (Thread.interrupted()) {
+                    BufferPool.getInstance().release(message);
+                    throw new InterruptedException();
+                } else if (message != null) {
+                    return message;
+                }
+            }
+            return null;
+        }
+
         @Override
         public void run() {
             while (this.keepRunning) {
                 try {
-                    final byte[] message = this.internalQueue.poll(100, TimeUnit.MILLISECONDS);
-                    if (message != null) {
-                        TCPConnection.this.handleMessage(message);
+                    final ByteBuffer message = this.take();
+                    if (message == null) {
+                        break;
+                    }
+
+                    final Future<?> handled;
+                    try {
+                        handled = TCPConnection.this.handleMessage(message);
+                    } finally {
+                        BufferPool.getInstance().release(message);
+                        if (this.blockedMessage != null) {
+                            this.unblock();
+                        }
                     }
+
+                    if (handled != null) {
+                        // Wait for the handler, so a slow handler will fill up this queue
+                        handled.get();
+                    }
+                } catch (final ExecutionException e) {
+                    // Already logged by the service executor
                 } catch (final InterruptedException e) {
                     TCPConnection.log.trace("[{}] - Message handler interrupted, stopping thread",
                             TCPConnection.this.connectionId);
                     break;
                 }
             }
+
+            // Release any messages that will never be handled
+            ByteBuffer message;
+            while ((message = this.ring.poll()) != null) {
+                BufferPool.getInstance().release(message);
+            }
+            synchronized (this.producerLock) {
+                BufferPool.getInstance().release(this.blockedMessage);
+                this.blockedMessage = null;
+                this.blockedSocket = null;
+            }
         }
 
         void stop() {
             this.keepRunning = false;
+            this.signal();
+        }
+
+    }
+
+    /**
+     * The OutboundQueue collects outgoing messages, and writes them as a single batch when the oldest message has waited
+     * for the maximum latency, or when the batch has reached the maximum number of bytes. Batches are written in the
+     * order they are flushed, so messages are never reordered.
+     */
+    private final class OutboundQueue {
+
+        private final long maxLatency;
+        private final int maxBatchBytes;
+
+        /**
+         * Guards the pending messages. The flush lock is always obtained before this one.
+         */
+        private final Object queueLock = new Object();
+        private final Queue<PendingMessage> pending = new ArrayDeque<>();
+        private int pendingBytes;
+        private boolean flushScheduled;
+        private boolean closed;
+
+        /**
+         * Guards the writing of batches, so that a batch is fully written before the next one starts
+         */
+        private final Object flushLock = new Object();
+        private PendingMessage[] batch = new PendingMessage[16];
+        private ByteBuffer[] batchBuffers = new ByteBuffer[16];
+
+        /**
+         * @param maxLatency The maximum time in milliseconds a message is held back
+         * @param maxBatchBytes The number of bytes after which the batch is written immediately
+         */
+        OutboundQueue(final long maxLatency, final int maxBatchBytes) {
+            this.maxLatency = maxLatency;
+            this.maxBatchBytes = maxBatchBytes;
+        }
+
+        /**
+         * Add a message to the current batch.
+         *
+         * @param data The serialized message
+         * @return A future that completes when the message is written to the socket
+         */
+        CompletableFuture<Void> add(final byte[] data) {
+            final PendingMessage message = new PendingMessage(data);
+            boolean flushNow = false;
+            boolean scheduleFlush = false;
+            synchronized (this.queueLock) {
+                if (this.closed) {
+                    message.future.completeExceptionally(new ClosedChannelException());
+                    return message.future;
+                }
+                this.pending.add(message);
+                this.pendingBytes += data.length;
+                if ((this.pendingBytes >= this.maxBatchBytes) || (this.maxLatency == 0)) {
+                    flushNow = true;
+                } else if (!this.flushScheduled) {
+                    this.flushScheduled = true;
+                    scheduleFlush = true;
+                }
+            }
+
+            if (flushNow) {
+                this.flush();
+            } else if (scheduleFlush) {
+                TCPConnection.getFlushScheduler().schedule(this::flush, this.maxLatency, TimeUnit.MILLISECONDS);
+            }
+            return message.future;
+        }
+
+        /**
+         * Add a message to the current batch, and write the batch immediately.
+         *
+         * @param data The serialized message
+         * @throws IOException When the batch could not be written
+         */
+        void sendNow(final byte[] data) throws IOException {
+            final CompletableFuture<Void> future = this.add(data);
+            this.flush();
+            try {
+                // Since the flush lock was obtained, our message has been written or failed
+                future.join();
+            } catch (final CompletionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException(e.getCause());
+            }
+        }
+
+        /**
+         * Write all pending messages to the socket
+         */
+        void flush() {
+            synchronized (this.flushLock) {
+                final int count = this.drain();
+                if (count == 0) {
+                    return;
+                }
+
+                if (TCPConnection.this.replayBuffer.isSequenced()) {
+                    this.flushSequenced(count);
+                    return;
+                }
+
+                IOException failure = null;
+                final TCPSocket currentSocket = TCPConnection.this.socket;
+                if (currentSocket == null) {
+                    failure = new ClosedChannelException();
+                } else {
+                    final FrameCompressor compressor = TCPConnection.this.compressor();
+                    for (int i = 0; i < count; i++) {
+                        this.batchBuffers[i] = ByteBuffer.wrap(compressor.encode(this.batch[i].data));
+                    }
+                    try {
+                        currentSocket.send(this.batchBuffers, 0, count);
+                    } catch (final IOException e) {
+                        failure = e;
+                    }
+                }
+
+                for (int i = 0; i < count; i++) {
+                    if (failure == null) {
+                        this.batch[i].future.complete(null);
+                    } else {
+                        this.batch[i].future.completeExceptionally(failure);
+                    }
+                    this.batch[i] = null;
+                    this.batchBuffers[i] = null;
+                }
+
+                if ((failure != null) && (currentSocket != null)) {
+                    TCPConnection.this.handleSendFailure();
+                }
+            }
+        }
+
+        /**
+         * Number the messages of the batch and keep them in the replay buffer, and write them if the connection is up.
+         * Must be called while holding the flush lock.
+         *
+         * @param count The number of messages in the batch
+         */
+        private void flushSequenced(final int count) {
+            final ReplayBuffer replayBuffer = TCPConnection.this.replayBuffer;
+            synchronized (replayBuffer) {
+                final FrameCompressor compressor = TCPConnection.this.compressor();
+                final boolean live = replayBuffer.isLive();
+                int written = 0;
+                for (int i = 0; i < count; i++) {
+                    try {
+                        final long sequence = replayBuffer.append(this.batch[i].data);
+                        if (live) {
+                            this.batchBuffers[written++] = ReplayBuffer.frame(sequence,
+                                    compressor.encode(this.batch[i].data));
+                        }
+                        this.batch[i].future.complete(null);
+                    } catch (final IOException e) {
+                        this.batch[i].future.completeExceptionally(e);
+                    }
+                    this.batch[i] = null;
+                }
+
+                final TCPSocket currentSocket = TCPConnection.this.socket;
+                try {
+                    if (written > 0) {
+                        if (currentSocket == null) {
+                            throw new ClosedChannelException();
+                        }
+                        currentSocket.send(this.batchBuffers, 0, written);
+                    }
+                } catch (final IOException e) {
+                    // The messages are sent again when the connection is restored
+                    replayBuffer.pause();
+                    TCPConnection.this.handleSendFailure();
+                } finally {
+                    Arrays.fill(this.batchBuffers, 0, written, null);
+                }
+            }
+        }
+
+        /**
+         * Move the pending messages to the batch. Must be called while holding the flush lock.
+         *
+         * @return The number of messages in the batch
+         */
+        private int drain() {
+            synchronized (this.queueLock) {
+                final int count = this.pending.size();
+                if (count > this.batch.length) {
+                    this.batch = new PendingMessage[Integer.highestOneBit(count) << 1];
+                    this.batchBuffers = new ByteBuffer[this.batch.length];
+                }
+                for (int i = 0; i < count; i++) {
+                    this.batch[i] = this.pending.poll();
+                }
+                this.pendingBytes = 0;
+                this.flushScheduled = false;
+                return count;
+            }
+        }
+
+        /**
+         * Write the messages that are still pending, and refuse any new messages
+         */
+        void close() {
+            synchronized (this.queueLock) {
+                this.closed = true;
+            }
+            this.flush();
+        }
+
+    }
+
+    /**
+     * A serialized message waiting in the outbound queue, and the future to complete when it is written
+     */
+    private static final class PendingMessage {
+
+        final byte[] data;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        PendingMessage(final byte[] data) {
+            this.data = data;
         }
 
     }
@@ -0,0 +1,162 @@
+/*-
+ * #%L
+ * dEF-Pi service managing library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.flexiblepower.commons.TimerWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The WheelTimer runs the timeouts of all connections in the process on a single thread, using a {@link TimerWheel}.
+ * Scheduling and cancelling a timeout is constant time, at the cost of a precision of one tick, which is more than
+ * enough for heartbeats and other deadlines that are measured in seconds.
+ * <p>
+ * The wheel itself is only touched by the timer thread; other threads hand new and cancelled timeouts over through a
+ * queue. Tasks are run on the timer thread, so they should finish quickly and never block.
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+final class WheelTimer implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(WheelTimer.class);
+
+    private static final long TICK_MILLIS = 100;
+    private static final int WHEEL_SIZE = 512;
+
+    private static WheelTimer instance;
+
+    private final long startTime = System.nanoTime();
+    private final TimerWheel<Timeout> wheel = new TimerWheel<>(WheelTimer.TICK_MILLIS, WheelTimer.WHEEL_SIZE, 0);
+    private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @return the process-wide timer, which is started when it is first requested
+     */
+    static synchronized WheelTimer getInstance() {
+        if (WheelTimer.instance == null) {
+            WheelTimer.instance = new WheelTimer();
+            final Thread thread = new Thread(WheelTimer.instance, "dEF-Pi wheelTimer");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return WheelTimer.instance;
+    }
+
+    private WheelTimer() {
+        // Singleton
+    }
+
+    /**
+     * Schedule a task to run once after a delay
+     *
+     * @param task the task to run
+     * @param delay the time to wait before the task is run
+     * @param unit the unit of the delay
+     * @return A handle that can be used to cancel the task
+     */
+    Timeout schedule(final Runnable task, final long delay, final TimeUnit unit) {
+        final Timeout timeout = new Timeout(this, task, this.nowMillis() + unit.toMillis(Math.max(0, delay)));
+        this.newTimeouts.add(timeout);
+        return timeout;
+    }
+
+    @Override
+    public void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            this.waitForNextTick();
+
+            Timeout timeout;
+            while ((timeout = this.newTimeouts.poll()) != null) {
+                if (!timeout.cancelled) {
+                    this.wheel.schedule(timeout, timeout.deadline);
+                }
+            }
+            while ((timeout = this.cancelledTimeouts.poll()) != null) {
+                this.wheel.cancel(timeout);
+            }
+
+            for (final Timeout expired : this.wheel.advance(this.nowMillis())) {
+                if (!expired.cancelled) {
+                    WheelTimer.runTask(expired);
+                }
+            }
+        }
+    }
+
+    private long nowMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.startTime);
+    }
+
+    private void waitForNextTick() {
+        long sleepMillis;
+        while ((sleepMillis = this.wheel.nextTickMs() - this.nowMillis()) > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(sleepMillis);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static void runTask(final Timeout timeout) {
+        try {
+            timeout.task.run();
+        } catch (final Exception e) {
+            WheelTimer.log.error("Exception while running timer task: {}", e.getMessage());
+            WheelTimer.log.trace(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * A Timeout is a handle to a task that is scheduled with the timer
+     */
+    static final class Timeout {
+
+        final WheelTimer timer;
+        final Runnable task;
+        final long deadline;
+        volatile boolean cancelled;
+
+        Timeout(final WheelTimer timer, final Runnable task, final long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Make sure the task is not run, if it has not been run yet
+         */
+        void cancel() {
+            if (!this.cancelled) {
+                this.cancelled = true;
+                this.timer.cancelledTimeouts.add(this);
+            }
+        }
+
+    }
+
+}
@@ -20,13 +20,21 @@
 
 package org.flexiblepower.service;
 
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
+import org.flexiblepower.proto.ServiceProto.ErrorMessage;
 import org.flexiblepower.service.TestHandler.TestHandlerBuilder;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
 @Timeout(value = 5, unit = TimeUnit.SECONDS)
@@ -81,6 +89,251 @@ public class ConnectionIntegrationTest {
         TestHandler.stateQueue.poll(100, TimeUnit.MILLISECONDS);
     }
 
+    @RepeatedTest(3)
+    public void testBatchedSendAsync() throws Exception {
+        final InterfaceInfo info = TestHandler.class.getAnnotation(InterfaceInfo.class);
+        ConnectionManager.registerConnectionHandlerFactory(TestHandler.class, new TestHandlerBuilder());
+
+        System.setProperty(TCPConnection.BATCH_LATENCY_PROPERTY, "20");
+        System.setProperty(TCPConnection.BATCH_BYTES_PROPERTY, "1024");
+        try (
+                final TCPConnection mc1 = new TCPConnection("CIT",
+                        ConnectionIntegrationTest.TEST_PORT,
+                        "",
+                        info,
+                        "",
+                        "",
+                        "",
+                        "");
+                final TCPConnection mc2 = new TCPConnection("CIT",
+                        ConnectionIntegrationTest.TEST_PORT,
+                        "localhost",
+                        info,
+                        "",
+                        "",
+                        "",
+                        "")) {
+            Assertions.assertEquals("connected", TestHandler.stateQueue.take());
+            Assertions.assertEquals("connected", TestHandler.stateQueue.take());
+            Assertions.assertEquals("started", TestHandler.messageQueue.take());
+            Assertions.assertEquals("started", TestHandler.messageQueue.take());
+
+            final int numMessages = 200;
+            final List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < numMessages; i++) {
+                futures.add(mc1.sendAsync(
+                        ErrorMessage.newBuilder().setDebugInformation("batch " + i).setProcessId("p").build()));
+            }
+            // A blocking send must not overtake the messages that are still waiting in the batch
+            mc1.send(ErrorMessage.newBuilder().setDebugInformation("last").setProcessId("p").build());
+
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(1, TimeUnit.SECONDS);
+            for (int i = 0; i < numMessages; i++) {
+                Assertions.assertEquals("batch " + i, TestHandler.messageQueue.take());
+            }
+            Assertions.assertEquals("last", TestHandler.messageQueue.take());
+        } finally {
+            System.clearProperty(TCPConnection.BATCH_LATENCY_PROPERTY);
+            System.clearProperty(TCPConnection.BATCH_BYTES_PROPERTY);
+        }
+        TestHandler.stateQueue.poll(100, TimeUnit.MILLISECONDS);
+        TestHandler.stateQueue.poll(100, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testCompressedConnection() throws Exception {
+        final InterfaceInfo info = TestHandler.class.getAnnotation(InterfaceInfo.class);
+        ConnectionManager.registerConnectionHandlerFactory(TestHandler.class, new TestHandlerBuilder());
+
+        System.setProperty(CompressionCodec.CODECS_PROPERTY, "deflate");
+        System.setProperty(CompressionCodec.THRESHOLD_PROPERTY, "16");
+        try (
+                final TCPConnection mc1 = new TCPConnection("CIT",
+                        ConnectionIntegrationTest.TEST_PORT,
+                        "",
+                        info,
+                        "",
+                        "",
+                        "",
+                        "");
+                final TCPConnection mc2 = new TCPConnection("CIT",
+                        ConnectionIntegrationTest.TEST_PORT,
+                        "localhost",
+                        info,
+                        "",
+                        "",
+                        "",
+                        "")) {
+            Assertions.assertEquals("connected", TestHandler.stateQueue.take());
+            Assertions.assertEquals("connected", TestHandler.stateQueue.take());
+            Assertions.assertEquals("started", TestHandler.messageQueue.take());
+            Assertions.assertEquals("started", TestHandler.messageQueue.take());
+
+            final StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 1000; i++) {
+                sb.append("repetitive ");
+            }
+            final String large = sb.toString();
+            mc1.send(ErrorMessage.newBuilder().setDebugInformation(large).setProcessId("p").build());
+            mc2.send(ErrorMessage.newBuilder().setDebugInformation("short").setProcessId("p").build());
+
+            final List<String> received = new ArrayList<>();
+            received.add(TestHandler.messageQueue.take());
+            received.add(TestHandler.messageQueue.take());
+            Assertions.assertTrue(received.contains(large));
+            Assertions.assertTrue(received.contains("short"));
+            Assertions.assertTrue(mc1.getCompressionBytesSaved() > 0);
+            Assertions.assertTrue(mc2.getCompressionBytesSaved() > 0);
+        } finally {
+            System.clearProperty(CompressionCodec.CODECS_PROPERTY);
+            System.clearProperty(CompressionCodec.THRESHOLD_PROPERTY);
+        }
+        TestHandler.stateQueue.poll(100, TimeUnit.MILLISECONDS);
+        TestHandler.stateQueue.poll(100, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testConnectionMetrics() throws Exception {
+        final InterfaceInfo info = TestHandler.class.getAnnotation(InterfaceInfo.class);
+        ConnectionManager.registerConnectionHandlerFactory(TestHandler.class, new TestHandlerBuilder());
+
+        System.setProperty(ServiceMetrics.PORT_PROPERTY, "5004");
+        try (
+                final TCPConnection mc1 = new TCPConnection("CIT",
+                        ConnectionIntegrationTest.TEST_PORT,
+                        "",
+                        info,
+                        "",
+                        "",
+                        "",
+                        "");
+                final TCPConnection mc2 = new TCPConnection("CIT",
+                        ConnectionIntegrationTest.TEST_PORT,
+                        "localhost",
+                        info,
+                        "remote\"process",
+                        "",
+                        "",
+                        "")) {
+            Assertions.assertEquals("connected", TestHandler.stateQueue.take());
+            Assertions.assertEquals("connected", TestHandler.stateQueue.take());
+            Assertions.assertEquals("started", TestHandler.messageQueue.take());
+            Assertions.assertEquals("started", TestHandler.messageQueue.take());
+
+            final int numMessages = 10;
+            for (int i = 0; i < numMessages; i++) {
+                mc1.send(ErrorMessage.newBuilder().setDebugInformation("metrics " + i).setProcessId("p").build());
+            }
+            for (int i = 0; i < numMessages; i++) {
+                Assertions.assertEquals("metrics " + i, TestHandler.messageQueue.take());
+            }
+
+            // Including the message that is sent when the handler is started
+            final ConnectionMetrics sent = mc1.getMetrics();
+            final ConnectionMetrics received = mc2.getMetrics();
+            while (received.getHandlerTime().getCount() < (numMessages + 1)) {
+                Thread.sleep(10);
+            }
+            Assertions.assertEquals(numMessages + 1, sent.getMessagesSent());
+            Assertions.assertEquals(numMessages + 1, received.getMessagesReceived());
+            Assertions.assertEquals(sent.getBytesSent(), received.getBytesReceived());
+            Assertions.assertEquals(numMessages + 1, received.getDeserializeTime().getCount());
+            Assertions.assertTrue(received.getDeserializeTime().getTotalNanos() > 0);
+            Assertions.assertEquals(0, received.getReceiveQueueDepth());
+            Assertions.assertTrue(ServiceMetrics.getInstance().getConnections().contains(sent));
+
+            final StringBuilder sb = new StringBuilder();
+            ServiceMetrics.getInstance().writePrometheus(sb);
+            Assertions.assertTrue(sb.toString()
+                    .contains("defpi_connection_messages_received_total{connection=\"CIT\","
+                            + "remote_process=\"remote\\\"process\",remote_interface=\"\"} " + (numMessages + 1)));
+
+            ServiceMetrics.getInstance().startEndpoint();
+            final HttpURLConnection http = (HttpURLConnection) new URL("http://localhost:5004/metrics")
+                    .openConnection();
+            try (final Scanner scanner = new Scanner(http.getInputStream(), "UTF-8")) {
+                Assertions.assertEquals(200, http.getResponseCode());
+                Assertions.assertTrue(scanner.useDelimiter("\\A").next().contains("# TYPE "
+                        + "defpi_connection_handler_seconds summary"));
+            }
+            final HttpURLConnection traces = (HttpURLConnection) new URL("http://localhost:5004/traces")
+                    .openConnection();
+            try (final Scanner scanner = new Scanner(traces.getInputStream(), "UTF-8")) {
+                Assertions.assertTrue(scanner.useDelimiter("\\A").next().startsWith("{\"resourceSpans\":["));
+            }
+        } finally {
+            ServiceMetrics.getInstance().stopEndpoint();
+            System.clearProperty(ServiceMetrics.PORT_PROPERTY);
+        }
+        TestHandler.stateQueue.poll(100, TimeUnit.MILLISECONDS);
+        TestHandler.stateQueue.poll(100, TimeUnit.MILLISECONDS);
+    }
+
+    @RepeatedTest(3)
+    public void testMultiplexedConnections() throws Exception {
+        final InterfaceInfo info = TestHandler.class.getAnnotation(InterfaceInfo.class);
+        ConnectionManager.registerConnectionHandlerFactory(TestHandler.class, new TestHandlerBuilder());
+
+        // Two connections between the same two processes share a single link on the same port
+        try (
+                final TCPConnection server1 = new TCPConnection("CIT1",
+                        ConnectionIntegrationTest.TEST_PORT,
+                        "",
+                        info,
+                        "",
+                        "",
+                        "",
+                        "",
+                        true);
+                final TCPConnection server2 = new TCPConnection("CIT2",
+                        ConnectionIntegrationTest.TEST_PORT,
+                        "",
+                        info,
+                        "",
+                        "",
+                        "",
+                        "",
+                        true);
+                final TCPConnection client1 = new TCPConnection("CIT1",
+                        ConnectionIntegrationTest.TEST_PORT,
+                        "localhost",
+                        info,
+                        "",
+                        "",
+                        "",
+                        "",
+                        true);
+                final TCPConnection client2 = new TCPConnection("CIT2",
+                        ConnectionIntegrationTest.TEST_PORT,
+                        "localhost",
+                        info,
+                        "",
+                        "",
+                        "",
+                        "",
+                        true)) {
+            for (int i = 0; i < 4; i++) {
+                Assertions.assertEquals("connected", TestHandler.stateQueue.take());
+            }
+            for (int i = 0; i < 4; i++) {
+                Assertions.assertEquals("started", TestHandler.messageQueue.take());
+            }
+
+            client1.send(ErrorMessage.newBuilder().setDebugInformation("to server 1").setProcessId("p").build());
+            Assertions.assertEquals("to server 1", TestHandler.messageQueue.take());
+            server2.send(ErrorMessage.newBuilder().setDebugInformation("to client 2").setProcessId("p").build());
+            Assertions.assertEquals("to client 2", TestHandler.messageQueue.take());
+
+            // Closing one connection leaves the other one running
+            client1.close();
+            client2.send(ErrorMessage.newBuilder().setDebugInformation("still connected").setProcessId("p").build());
+            Assertions.assertEquals("still connected", TestHandler.messageQueue.take());
+        }
+        while (TestHandler.stateQueue.poll(100, TimeUnit.MILLISECONDS) != null) {
+            // Drain the state changes of closing the connections
+        }
+    }
+
     @RepeatedTest(3)
     public void testSuspendAndResume() throws Exception {
         final InterfaceInfo info = TestHandler.class.getAnnotation(InterfaceInfo.class);
@@ -194,4 +447,63 @@ public class ConnectionIntegrationTest {
         TestHandler.stateQueue.poll(100, TimeUnit.MILLISECONDS);
         TestHandler.stateQueue.poll(100, TimeUnit.MILLISECONDS);
     }
+
+    @RepeatedTest(3)
+    public void testReplayAfterInterrupt() throws Exception {
+        final InterfaceInfo info = TestHandler.class.getAnnotation(InterfaceInfo.class);
+        ConnectionManager.registerConnectionHandlerFactory(TestHandler.class, new TestHandlerBuilder());
+
+        try (
+                final TCPConnection mc1 = new TCPConnection("CIT",
+                        ConnectionIntegrationTest.TEST_PORT,
+                        "",
+                        info,
+                        "",
+                        "",
+                        "",
+                        "");
+                final TCPConnection mc2 = new TCPConnection("CIT",
+                        ConnectionIntegrationTest.TEST_PORT,
+                        "localhost",
+                        info,
+                        "",
+                        "",
+                        "",
+                        "")) {
+            Assertions.assertEquals("connected", TestHandler.stateQueue.take());
+            Assertions.assertEquals("connected", TestHandler.stateQueue.take());
+            Assertions.assertEquals("started", TestHandler.messageQueue.take());
+            Assertions.assertEquals("started", TestHandler.messageQueue.take());
+
+            final int numMessages = 100;
+            for (int i = 0; i < (numMessages / 2); i++) {
+                mc1.send(ErrorMessage.newBuilder().setDebugInformation("replay " + i).setProcessId("p").build());
+            }
+            // Break the socket while messages are in flight, and keep sending during the interruption
+            mc1.socket.close();
+            for (int i = numMessages / 2; i < numMessages; i++) {
+                mc1.send(ErrorMessage.newBuilder().setDebugInformation("replay " + i).setProcessId("p").build());
+            }
+
+            Assertions.assertEquals("interrupted", TestHandler.stateQueue.take());
+            Assertions.assertEquals("interrupted", TestHandler.stateQueue.take());
+            Assertions.assertEquals("resume-interrupted", TestHandler.stateQueue.take());
+            Assertions.assertEquals("resume-interrupted", TestHandler.stateQueue.take());
+
+            // Every message arrives exactly once and in order, next to the messages of the resumed handlers
+            int resumed = 0;
+            int next = 0;
+            while ((next < numMessages) || (resumed < 2)) {
+                final String received = TestHandler.messageQueue.take();
+                if ("resumed from interrupt".equals(received)) {
+                    resumed++;
+                } else {
+                    Assertions.assertEquals("replay " + next++, received);
+                }
+            }
+            Assertions.assertNull(TestHandler.messageQueue.poll(100, TimeUnit.MILLISECONDS));
+        }
+        TestHandler.stateQueue.poll(100, TimeUnit.MILLISECONDS);
+        TestHandler.stateQueue.poll(100, TimeUnit.MILLISECONDS);
+    }
 }
@@ -0,0 +1,86 @@
+/*-
+ * #%L
+ * dEF-Pi service managing library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * FrameCompressorTest
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+@SuppressWarnings({"static-method", "javadoc"})
+public class FrameCompressorTest {
+
+    private static byte[] toArray(final ByteBuffer buffer) {
+        final byte[] ret = new byte[buffer.remaining()];
+        buffer.get(ret);
+        return ret;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final FrameCompressor compressor = new FrameCompressor(CompressionCodec.DEFLATE,
+                16,
+                new FrameCompressor.Statistics());
+        final byte[] data = new byte[4096];
+        Arrays.fill(data, (byte) 'a');
+
+        final byte[] encoded = compressor.encode(data);
+        Assertions.assertTrue(encoded.length < data.length);
+        Assertions.assertArrayEquals(data, FrameCompressorTest.toArray(compressor.decode(ByteBuffer.wrap(encoded))));
+        compressor.close();
+    }
+
+    @Test
+    public void testRejectLargeLength() {
+        final FrameCompressor compressor = new FrameCompressor(CompressionCodec.DEFLATE,
+                16,
+                new FrameCompressor.Statistics());
+
+        // Six bytes that claim to decompress to 2 GiB
+        final ByteBuffer frame = ByteBuffer.allocate(6).put((byte) 1).putInt(Integer.MAX_VALUE).put((byte) 0);
+        frame.flip();
+        Assertions.assertThrows(IOException.class, () -> compressor.decode(frame));
+        compressor.close();
+    }
+
+    @Test
+    public void testClose() throws IOException {
+        final FrameCompressor compressor = new FrameCompressor(CompressionCodec.DEFLATE,
+                16,
+                new FrameCompressor.Statistics());
+        final byte[] data = new byte[4096];
+        final byte[] compressed = compressor.encode(data);
+        compressor.close();
+        compressor.close();
+
+        // A closed compressor still sends valid messages, but no longer compresses them
+        Assertions.assertEquals(data.length + 1, compressor.encode(data).length);
+        Assertions.assertThrows(IOException.class, () -> compressor.decode(ByteBuffer.wrap(compressed)));
+    }
+
+}
@@ -0,0 +1,134 @@
+/*-
+ * #%L
+ * dEF-Pi service managing library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.flexiblepower.proto.ServiceProto.ErrorMessage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * MessageTracerTest
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+@SuppressWarnings({"static-method", "javadoc"})
+public class MessageTracerTest {
+
+    private static final byte[] DATA = new byte[] {1, 2, 3};
+
+    @Test
+    public void testDisabled() throws Exception {
+        final MessageTracer tracer = new MessageTracer(-1, 16);
+        Assertions.assertFalse(tracer.isEnabled());
+        Assertions.assertSame(MessageTracerTest.DATA,
+                tracer.send("c", ErrorMessage.class, MessageTracerTest.DATA, System.nanoTime(), false));
+
+        final StringBuilder sb = new StringBuilder();
+        tracer.writeOtlpJson(sb);
+        Assertions.assertTrue(sb.toString().contains("\"spans\":[]"));
+    }
+
+    @Test
+    public void testNotSampled() throws Exception {
+        final MessageTracer tracer = new MessageTracer(0, 16);
+        final byte[] sent = tracer.send("c", ErrorMessage.class, MessageTracerTest.DATA, System.nanoTime(), true);
+        Assertions.assertEquals(MessageTracerTest.DATA.length + 1, sent.length);
+
+        final ByteBuffer received = ByteBuffer.wrap(sent);
+        Assertions.assertNull(tracer.receive(received));
+        Assertions.assertEquals(MessageTracerTest.DATA.length, received.remaining());
+        Assertions.assertEquals(1, received.get());
+    }
+
+    @Test
+    public void testTraceAcrossHops() throws Exception {
+        final MessageTracer first = new MessageTracer(1, 16);
+        final MessageTracer second = new MessageTracer(0, 16);
+
+        // The first service starts a trace
+        final long start = System.nanoTime();
+        final byte[] sent = first.send("a", ErrorMessage.class, MessageTracerTest.DATA, start, true);
+        final ByteBuffer received = ByteBuffer.wrap(sent);
+        final MessageTracer.TraceContext trace = second.receive(received);
+        Assertions.assertNotNull(trace);
+        Assertions.assertEquals(MessageTracerTest.DATA.length, received.remaining());
+
+        // The second service continues it while handling the message, but not afterwards
+        second.enter(trace);
+        final byte[] forwarded = second.send("b", ErrorMessage.class, MessageTracerTest.DATA, System.nanoTime(), true);
+        second.exit(trace, "a", ErrorMessage.class, start, System.nanoTime());
+        final MessageTracer.TraceContext next = second.receive(ByteBuffer.wrap(forwarded));
+        Assertions.assertEquals(trace.traceIdHigh, next.traceIdHigh);
+        Assertions.assertEquals(trace.traceIdLow, next.traceIdLow);
+        Assertions.assertNull(
+                second.receive(ByteBuffer.wrap(second.send("b", ErrorMessage.class, MessageTracerTest.DATA, 0, true))));
+
+        final StringBuilder json = new StringBuilder();
+        second.writeOtlpJson(json);
+        final String spans = json.toString();
+        Assertions.assertTrue(spans.contains("\"name\":\"handle ErrorMessage\",\"kind\":5"));
+        Assertions.assertTrue(spans.contains("\"name\":\"send ErrorMessage\",\"kind\":4"));
+        Assertions.assertTrue(spans.contains("defpi.message.sent_unix_nano"));
+
+        // The handle span is the child of the first send span, and the parent of the forwarded send span
+        Assertions.assertTrue(spans.contains("\"spanId\":\"" + MessageTracerTest.hex(trace.spanId)
+                + "\",\"parentSpanId\":\"" + MessageTracerTest.hex(trace.parentSpanId) + "\""));
+        Assertions.assertTrue(spans.contains("\"spanId\":\"" + MessageTracerTest.hex(next.parentSpanId)
+                + "\",\"parentSpanId\":\"" + MessageTracerTest.hex(trace.spanId) + "\""));
+
+        // Everything is exported only once
+        final StringBuilder again = new StringBuilder();
+        second.writeOtlpJson(again);
+        Assertions.assertTrue(again.toString().contains("\"spans\":[]"));
+    }
+
+    private static String hex(final long value) {
+        return String.format("%016x", value);
+    }
+
+    @Test
+    public void testSpanBufferOverwritesOldest() {
+        final SpanBuffer buffer = new SpanBuffer(3);
+        Assertions.assertEquals(4, buffer.capacity());
+        for (int i = 1; i <= 10; i++) {
+            buffer.record(1, 1, i, 0, SpanBuffer.KIND_SEND, i, i, 0, 0, "c", ErrorMessage.class);
+        }
+
+        final List<Long> spans = new ArrayList<>();
+        Assertions.assertEquals(4, buffer.drain((h, l, span, p, k, s, e, sent, handler, c, t) -> spans.add(span)));
+        Assertions.assertEquals(Arrays.asList(7L, 8L, 9L, 10L), spans);
+        Assertions.assertEquals(0, buffer.drain((h, l, span, p, k, s, e, sent, handler, c, t) -> spans.add(span)));
+    }
+
+    @Test
+    public void testInvalidHeader() {
+        final MessageTracer tracer = new MessageTracer(1, 16);
+        Assertions.assertThrows(IOException.class, () -> tracer.receive(ByteBuffer.wrap(new byte[] {1, 2})));
+        Assertions.assertThrows(IOException.class, () -> tracer.receive(ByteBuffer.allocate(0)));
+    }
+
+}
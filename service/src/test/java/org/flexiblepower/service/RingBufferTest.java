@@ -0,0 +1,91 @@
+/*-
+ * #%L
+ * dEF-Pi service managing library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * RingBufferTest
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+@SuppressWarnings({"static-method", "javadoc"})
+@Timeout(value = 5, unit = TimeUnit.SECONDS)
+public class RingBufferTest {
+
+    @Test
+    public void testCapacity() {
+        Assertions.assertEquals(1, new RingBuffer<>(1).capacity());
+        Assertions.assertEquals(8, new RingBuffer<>(5).capacity());
+        Assertions.assertEquals(1024, new RingBuffer<>(1024).capacity());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(0));
+    }
+
+    @Test
+    public void testOfferAndPoll() {
+        final RingBuffer<Integer> ring = new RingBuffer<>(4);
+        Assertions.assertNull(ring.poll());
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertTrue(ring.offer(i));
+        }
+        Assertions.assertFalse(ring.offer(4));
+        Assertions.assertEquals(4, ring.size());
+
+        Assertions.assertEquals(0, ring.poll().intValue());
+        Assertions.assertTrue(ring.offer(4));
+        for (int i = 1; i <= 4; i++) {
+            Assertions.assertEquals(i, ring.poll().intValue());
+        }
+        Assertions.assertNull(ring.poll());
+        Assertions.assertEquals(0, ring.size());
+    }
+
+    @Test
+    public void testConcurrentConsumer() throws InterruptedException {
+        final int numElements = 100000;
+        final RingBuffer<Integer> ring = new RingBuffer<>(16);
+        final int[] received = new int[1];
+        final Thread consumer = new Thread(() -> {
+            while (received[0] < numElements) {
+                final Integer i = ring.poll();
+                if (i == null) {
+                    Thread.yield();
+                } else {
+                    Assertions.assertEquals(received[0]++, i.intValue());
+                }
+            }
+        });
+        consumer.start();
+
+        for (int i = 0; i < numElements; i++) {
+            while (!ring.offer(i)) {
+                Thread.yield();
+            }
+        }
+        consumer.join();
+        Assertions.assertEquals(numElements, received[0]);
+    }
+
+}
@@ -27,11 +27,16 @@ import java.util.concurrent.Executors;
 
 import org.flexiblepower.commons.TCPSocket;
 import org.flexiblepower.exceptions.SerializationException;
+import org.flexiblepower.proto.ConnectionProto.ConnectionAck;
+import org.flexiblepower.proto.ConnectionProto.ConnectionHandshake;
 import org.flexiblepower.proto.ConnectionProto.ConnectionMessage;
 import org.flexiblepower.proto.ConnectionProto.ConnectionMessage.ModeType;
+import org.flexiblepower.proto.ConnectionProto.ConnectionState;
+import org.flexiblepower.proto.ServiceProto.ErrorMessage;
 import org.flexiblepower.proto.ServiceProto.ProcessState;
 import org.flexiblepower.proto.ServiceProto.ProcessStateUpdateMessage;
 import org.flexiblepower.serializers.ProtobufMessageSerializer;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -64,6 +69,60 @@ public class SerializationTest {
         }
     }
 
+    @Test
+    public void testProtobufTypeLookup() throws Exception {
+        final ProtobufMessageSerializer serializer = new ProtobufMessageSerializer();
+        serializer.addMessageClass(ConnectionMessage.class);
+        serializer.addMessageClass(ConnectionHandshake.class);
+        serializer.addMessageClass(ConnectionAck.class);
+        serializer.addMessageClass(ErrorMessage.class);
+
+        final ConnectionAck ack = ConnectionAck.newBuilder().setReceivedSequence(42).build();
+        final ErrorMessage error = ErrorMessage.newBuilder().setProcessId("p").setDebugInformation("error").build();
+        Assertions.assertEquals(ack, serializer.deserialize(serializer.serialize(ack)));
+        Assertions.assertEquals(error, serializer.deserialize(serializer.serialize(error)));
+
+        // The format is unchanged: the length of the name, the name and the message
+        final byte[] data = serializer.serialize(ack);
+        Assertions.assertEquals("ConnectionAck".length(), data[0]);
+        Assertions.assertEquals("ConnectionAck", new String(data, 1, data[0]));
+        Assertions.assertEquals(1 + data[0] + ack.getSerializedSize(), data.length);
+
+        final ProtobufMessageSerializer other = new ProtobufMessageSerializer();
+        other.addMessageClass(ConnectionAck.class);
+        Assertions.assertThrows(SerializationException.class, () -> other.deserialize(serializer.serialize(error)));
+    }
+
+    @Test
+    public void testCompactTypeIds() throws Exception {
+        final ProtobufMessageSerializer sender = new ProtobufMessageSerializer();
+        sender.addMessageClass(ConnectionHandshake.class);
+        sender.addMessageClass(ErrorMessage.class);
+        final ProtobufMessageSerializer receiver = new ProtobufMessageSerializer();
+        receiver.addMessageClass(ErrorMessage.class);
+        receiver.addMessageClass(ConnectionHandshake.class);
+        Assertions.assertEquals(sender.getTypeTableHash(), receiver.getTypeTableHash());
+
+        final ConnectionHandshake handshake = ConnectionHandshake.newBuilder()
+                .setConnectionId("id")
+                .setConnectionState(ConnectionState.CONNECTED)
+                .build();
+        final byte[] full = sender.serialize(handshake);
+        sender.setCompactTypeIds(true);
+        final byte[] compact = sender.serialize(handshake);
+        Assertions.assertEquals(handshake.getSerializedSize() + 2, compact.length);
+        Assertions.assertTrue(compact.length < full.length);
+
+        // Compact ids are only accepted when enabled, and then both forms are accepted
+        Assertions.assertThrows(SerializationException.class, () -> receiver.deserialize(compact));
+        receiver.setCompactTypeIds(true);
+        Assertions.assertEquals(handshake, receiver.deserialize(compact));
+        Assertions.assertEquals(handshake, receiver.deserialize(full));
+
+        receiver.addMessageClass(ConnectionAck.class);
+        Assertions.assertNotEquals(sender.getTypeTableHash(), receiver.getTypeTableHash());
+    }
+
     private static byte[] startProcessMessage() throws SerializationException {
         final ProtobufMessageSerializer serializer = new ProtobufMessageSerializer();
         serializer.addMessageClass(ProcessStateUpdateMessage.class);
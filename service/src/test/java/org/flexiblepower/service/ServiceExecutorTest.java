@@ -0,0 +1,93 @@
+/*-
+ * #%L
+ * dEF-Pi service managing library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * ServiceExecutorTest
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+@SuppressWarnings({"static-method", "javadoc"})
+@Timeout(value = 5, unit = TimeUnit.SECONDS)
+public class ServiceExecutorTest {
+
+    @ServiceExecution(value = ExecutionMode.PARALLEL, threads = 2)
+    private static class ParallelService {
+        // Only used for its annotation
+    }
+
+    @AfterEach
+    public void after() {
+        ServiceExecutor.getInstance().shutDown();
+    }
+
+    @Test
+    public void testSerialByDefault() {
+        final ServiceExecutor executor = ServiceExecutor.getInstance();
+        executor.configure(Object.class);
+        Assertions.assertEquals(ExecutionMode.SERIAL, executor.getMode());
+    }
+
+    @Test
+    public void testParallelConnections() throws Exception {
+        final ServiceExecutor executor = ServiceExecutor.getInstance();
+        executor.configure(ParallelService.class);
+        Assertions.assertEquals(ExecutionMode.PARALLEL, executor.getMode());
+
+        // A blocked connection should not stall the other connection
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.submit("slow", () -> {
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        final Future<String> fast = executor.submit("fast", () -> "done");
+        Assertions.assertEquals("done", fast.get(1, TimeUnit.SECONDS));
+        release.countDown();
+
+        // Tasks of a single connection run in order
+        final List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        Future<?> last = null;
+        for (int i = 0; i < 100; i++) {
+            final int n = i;
+            last = executor.submit("ordered", () -> order.add(n));
+        }
+        last.get(1, TimeUnit.SECONDS);
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals(i, order.get(i).intValue());
+        }
+    }
+
+}
@@ -20,9 +20,15 @@
 package org.flexiblepower.service;
 
 import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import org.flexiblepower.commons.TCPSocket;
+import org.flexiblepower.proto.ConnectionProto.ConnectionMessage;
+import org.flexiblepower.proto.RequestIds;
+import org.flexiblepower.proto.ServiceProto.BatchConnectionMessage;
+import org.flexiblepower.proto.ServiceProto.BatchConnectionResponse;
 import org.flexiblepower.proto.ServiceProto.ErrorMessage;
 import org.flexiblepower.proto.ServiceProto.GoToProcessStateMessage;
 import org.flexiblepower.proto.ServiceProto.ProcessState;
@@ -81,6 +87,8 @@ public class ServiceTest {
         this.pbSerializer.addMessageClass(ProcessStateUpdateMessage.class);
         this.pbSerializer.addMessageClass(ResumeProcessMessage.class);
         this.pbSerializer.addMessageClass(ErrorMessage.class);
+        this.pbSerializer.addMessageClass(ConnectionMessage.class);
+        this.pbSerializer.addMessageClass(BatchConnectionResponse.class);
 
     }
 
@@ -125,6 +133,78 @@ public class ServiceTest {
         this.runTerminate();
     }
 
+    @RepeatedTest(3)
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    public void runPipelined() throws Exception {
+        this.runConfigure();
+
+        // Send all connection messages before reading any response
+        final int count = 10;
+        for (int i = 1; i <= count; i++) {
+            this.managementSocket.send(this.pbSerializer.serialize(ConnectionMessage.newBuilder()
+                    .setConnectionId("connection" + i)
+                    .setMode(ConnectionMessage.ModeType.CREATE)
+                    .setReceiveHash("unknown")
+                    .setSendHash("unknown")
+                    .setRequestId(i)
+                    .build()));
+        }
+        this.managementSocket.send(this.pbSerializer.serialize(SetConfigMessage.newBuilder()
+                .setProcessId(ServiceTest.PROCESS_ID)
+                .setIsUpdate(true)
+                .putConfig("key", "othervalue")
+                .setRequestId(count + 1)
+                .build()));
+
+        // The responses to the connection messages may arrive in any order, but before the response to the config
+        final Set<Long> answered = new HashSet<>();
+        for (int i = 1; i <= count; i++) {
+            final Object response = this.pbSerializer.deserialize(this.managementSocket.read());
+            Assertions.assertEquals(ErrorMessage.class, response.getClass());
+            Assertions.assertTrue(answered.add(RequestIds.get((ErrorMessage) response)));
+        }
+        Assertions.assertEquals(count, answered.size());
+        Assertions.assertFalse(answered.contains(0L));
+
+        Assertions.assertArrayEquals(this.pbSerializer.serialize(ProcessStateUpdateMessage.newBuilder()
+                .setProcessId(ServiceTest.PROCESS_ID)
+                .setState(ProcessState.RUNNING)
+                .setStateData(ByteString.EMPTY)
+                .setRequestId(count + 1)
+                .build()), this.managementSocket.read());
+        Assertions.assertEquals("modify", this.testService.stateQueue.take());
+    }
+
+    @RepeatedTest(3)
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    public void runBatch() throws Exception {
+        this.runConfigure();
+
+        final BatchConnectionMessage.Builder batch = BatchConnectionMessage.newBuilder();
+        for (int i = 1; i <= 3; i++) {
+            batch.addMessages(ConnectionMessage.newBuilder()
+                    .setConnectionId("connection" + i)
+                    .setMode(ConnectionMessage.ModeType.CREATE)
+                    .setReceiveHash("unknown")
+                    .setSendHash("unknown"));
+        }
+
+        // With and without a request id, there is one result per connection message, in the same order
+        for (final long requestId : new long[] {0, 42}) {
+            this.managementSocket.send(this.pbSerializer.serialize(batch.setRequestId(requestId).build()));
+            final Object response = this.pbSerializer.deserialize(this.managementSocket.read());
+            Assertions.assertEquals(BatchConnectionResponse.class, response.getClass());
+            final BatchConnectionResponse batchResponse = (BatchConnectionResponse) response;
+            Assertions.assertEquals(requestId, RequestIds.get(batchResponse));
+            Assertions.assertEquals(3, batchResponse.getResultsCount());
+            for (int i = 0; i < 3; i++) {
+                Assertions.assertEquals("connection" + (i + 1), batchResponse.getResults(i).getConnectionId());
+                Assertions.assertFalse(batchResponse.getResults(i).hasHandshake());
+                Assertions.assertTrue(batchResponse.getResults(i).getError().getDebugInformation().contains("unknown"));
+            }
+        }
+    }
+
     public void runResume() throws Exception {
         final byte[] data = this.pbSerializer.serialize(ResumeProcessMessage.newBuilder()
                 .setProcessId(ServiceTest.PROCESS_ID)
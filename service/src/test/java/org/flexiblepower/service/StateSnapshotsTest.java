@@ -0,0 +1,121 @@
+/*-
+ * #%L
+ * dEF-Pi service managing library
+ * %%
+ * Copyright (C) 2017 - 2018 Flexible Power Alliance Network
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.flexiblepower.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.flexiblepower.exceptions.SerializationException;
+import org.flexiblepower.proto.ServiceProto.ProcessState;
+import org.flexiblepower.proto.ServiceProto.ProcessStateUpdateMessage;
+import org.flexiblepower.serializers.JavaIOSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.google.protobuf.ByteString;
+
+/**
+ * StateSnapshotsTest
+ *
+ * @version 0.1
+ * @since Oct 18, 2026
+ */
+@SuppressWarnings({"static-method", "javadoc"})
+public class StateSnapshotsTest {
+
+    /**
+     * A state serializer as a service could provide it
+     */
+    public static final class UpperCaseStateSerializer implements StateSerializer {
+
+        @Override
+        public String getName() {
+            return "upper";
+        }
+
+        @Override
+        public boolean canSerialize(final Serializable state) {
+            return (state instanceof String) && ((String) state).startsWith("custom");
+        }
+
+        @Override
+        public void serialize(final Serializable state, final OutputStream output) throws IOException {
+            output.write(((String) state).toUpperCase().getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public Serializable deserialize(final InputStream input) throws IOException {
+            return ByteString.readFrom(input).toStringUtf8().toLowerCase();
+        }
+
+    }
+
+    private final StateSnapshots snapshots = new StateSnapshots(
+            Collections.singletonList(new UpperCaseStateSerializer()));
+
+    @Test
+    public void testProtobufState() throws Exception {
+        final ProcessStateUpdateMessage state = ProcessStateUpdateMessage.newBuilder()
+                .setProcessId("process")
+                .setState(ProcessState.SUSPENDED)
+                .setStateData(ByteString.copyFrom(new byte[100000]))
+                .build();
+        final ByteString snapshot = this.snapshots.write(state);
+        Assertions.assertTrue(snapshot.size() < new JavaIOSerializer().serialize(state).length);
+        Assertions.assertEquals(state, this.snapshots.read(snapshot));
+    }
+
+    @Test
+    public void testByteArrayState() throws Exception {
+        final byte[] state = new byte[20000];
+        Arrays.fill(state, (byte) 7);
+        final ByteString snapshot = this.snapshots.write(state);
+        Assertions.assertArrayEquals(state, (byte[]) this.snapshots.read(snapshot));
+    }
+
+    @Test
+    public void testCustomSerializer() throws Exception {
+        final ByteString snapshot = this.snapshots.write("custom state");
+        Assertions.assertTrue(snapshot.toStringUtf8().endsWith("CUSTOM STATE"));
+        Assertions.assertEquals("custom state", this.snapshots.read(snapshot));
+    }
+
+    @Test
+    public void testJavaSerializationIsCompatible() throws Exception {
+        final ArrayList<String> state = new ArrayList<>(Arrays.asList("a", "b"));
+        final JavaIOSerializer javaSerializer = new JavaIOSerializer();
+
+        // Other state is written as before, so older snapshots can still be restored
+        final ByteString snapshot = this.snapshots.write(state);
+        Assertions.assertArrayEquals(javaSerializer.serialize(state), snapshot.toByteArray());
+        Assertions.assertEquals(state, this.snapshots.read(ByteString.copyFrom(javaSerializer.serialize(state))));
+        Assertions.assertNull(this.snapshots.read(this.snapshots.write(null)));
+
+        Assertions.assertThrows(SerializationException.class,
+                () -> this.snapshots.read(ByteString.copyFrom(new byte[] {1, 5, 'o', 't', 'h', 'e', 'r'})));
+    }
+
+}